@@ -1,5 +1,7 @@
 package com.ysc.lms.analytics;
 
+import com.ysc.lms.journal.ExecutionJournal;
+import com.ysc.lms.journal.JournalSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
@@ -20,7 +22,7 @@ public class PredictiveAnalyticsService {
 
     private final Map<String, PredictionModel> models = new ConcurrentHashMap<>();
     private final Map<String, List<HistoricalData>> historicalData = new ConcurrentHashMap<>();
-    private final List<Prediction> predictions = Collections.synchronizedList(new ArrayList<>());
+    private final ExecutionJournal executionJournal;
     private final Map<String, ForecastResult> forecastCache = new ConcurrentHashMap<>();
 
     public void initializePredictiveModels() {
@@ -101,6 +103,15 @@ public class PredictiveAnalyticsService {
             .build();
     }
 
+    /**
+     * Generated predictions, newest first
+     *
+     * @param tenantId null for all tenants
+     */
+    public List<Prediction> getPredictions(String tenantId, LocalDateTime from, LocalDateTime to, int limit) {
+        return executionJournal.query(JournalSource.PREDICTION, tenantId, from, to, limit, Prediction.class);
+    }
+
     public CustomerChurnPrediction predictCustomerChurn(String tenantId, String customerId) {
         log.debug("Predicting churn for customer: {}", customerId);
         
@@ -710,13 +721,27 @@ public class PredictiveAnalyticsService {
         
         // Generate various predictions for the tenant
         try {
-            predictRevenue(tenantId, 6);
+            RevenueProjection revenue = predictRevenue(tenantId, 6);
+            recordPrediction(Prediction.builder()
+                .predictionId(UUID.randomUUID().toString())
+                .tenantId(tenantId)
+                .type(PredictionType.REVENUE_PROJECTION)
+                .result(revenue)
+                .confidence(revenue.getConfidence())
+                .validUntil(revenue.getGeneratedAt().plusDays(1))
+                .createdAt(revenue.getGeneratedAt())
+                .build());
             // Additional prediction generation logic
         } catch (Exception e) {
             log.warn("Failed to generate predictions for tenant: {}", tenantId, e);
         }
     }
 
+    private void recordPrediction(Prediction prediction) {
+        executionJournal.record(JournalSource.PREDICTION, prediction.getTenantId(), prediction.getType().name(),
+            null, prediction.getCreatedAt(), prediction);
+    }
+
     private Set<String> getAllTenants() {
         return Set.of("default", "tenant1", "tenant2"); // Mock tenants
     }
@@ -909,6 +934,8 @@ public class PredictiveAnalyticsService {
 
     @lombok.Data
     @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
     public static class Prediction {
         private String predictionId;
         private String tenantId;
@@ -1,5 +1,7 @@
 package com.ysc.lms.anomaly;
 
+import com.ysc.lms.journal.ExecutionJournal;
+import com.ysc.lms.journal.JournalSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
@@ -18,8 +20,8 @@ import java.util.stream.Collectors;
 public class AnomalyDetectionService {
 
     private final Map<String, AnomalyDetectionModel> models = new ConcurrentHashMap<>();
-    private final List<AnomalyEvent> detectedAnomalies = Collections.synchronizedList(new ArrayList<>());
-    private final Map<String, List<DataPoint>> historicalData = new ConcurrentHashMap<>();
+    private final ExecutionJournal executionJournal;
+    private final TimeSeriesStore timeSeriesStore;
     private final Map<String, AlertRule> alertRules = new ConcurrentHashMap<>();
     private final List<SecurityIncident> securityIncidents = Collections.synchronizedList(new ArrayList<>());
 
@@ -51,17 +53,26 @@ public class AnomalyDetectionService {
             return anomalies;
         }
         
-        // Detect anomalies using multiple algorithms
-        anomalies.addAll(detectStatisticalAnomalies(tenantId, dataType, dataPoints));
-        anomalies.addAll(detectPatternAnomalies(tenantId, dataType, dataPoints));
-        anomalies.addAll(detectTimeSeriesAnomalies(tenantId, dataType, dataPoints));
+        // Detect anomalies using multiple algorithms: each point is scored against its series'
+        // running statistics from before the point and then appended, so the cost is O(1) per point
+        TimeSeries series = timeSeriesStore.series(tenantId, dataType);
+        for (DataPoint point : dataPoints) {
+            TimeSeries.Observation observation = series.append(TimeSeriesStore.toMillis(point.getTimestamp()), point.getValue());
+            if (observation == null) {
+                continue; // not newer than the series - already ingested
+            }
+            addIfDetected(anomalies, detectStatisticalAnomaly(tenantId, dataType, point, observation));
+            addIfDetected(anomalies, detectPatternAnomaly(tenantId, dataType, observation));
+            addIfDetected(anomalies, detectTimeSeriesAnomaly(tenantId, dataType, point, observation));
+        }
         
         // Filter and validate anomalies
         anomalies = filterAndValidateAnomalies(anomalies, model);
         
         // Store detected anomalies
         for (AnomalyEvent anomaly : anomalies) {
-            detectedAnomalies.add(anomaly);
+            executionJournal.record(JournalSource.ANOMALY, anomaly.getTenantId(), anomaly.getDataType(),
+                anomaly.getSeverity() != null ? anomaly.getSeverity().name() : null, anomaly.getTimestamp(), anomaly);
             
             // Check if this triggers any alerts
             checkAlertRules(anomaly);
@@ -70,6 +81,22 @@ public class AnomalyDetectionService {
         return anomalies;
     }
 
+    /**
+     * Detected anomalies, newest first
+     *
+     * @param tenantId null for all tenants
+     */
+    public List<AnomalyEvent> getDetectedAnomalies(String tenantId, LocalDateTime from, LocalDateTime to, int limit) {
+        return executionJournal.query(JournalSource.ANOMALY, tenantId, from, to, limit, AnomalyEvent.class);
+    }
+
+    /**
+     * Downsampled history of a series, oldest bucket first
+     */
+    public List<RollupBucket> getSeriesRollup(String tenantId, String dataType, TimeSeriesStore.Resolution resolution) {
+        return timeSeriesStore.rollup(tenantId, dataType, resolution);
+    }
+
     @Async
     public CompletableFuture<List<AnomalyEvent>> detectAnomaliesAsync(String tenantId, String dataType, List<DataPoint> dataPoints) {
         return CompletableFuture.supplyAsync(() -> detectAnomalies(tenantId, dataType, dataPoints));
@@ -238,129 +265,110 @@ public class AnomalyDetectionService {
         
         try {
             trainAnomalyModels();
-            cleanupOldAnomalies();
             log.info("Anomaly detection models retrained successfully");
         } catch (Exception e) {
             log.error("Failed to retrain anomaly detection models", e);
         }
     }
 
-    private List<AnomalyEvent> detectStatisticalAnomalies(String tenantId, String dataType, List<DataPoint> dataPoints) {
-        List<AnomalyEvent> anomalies = new ArrayList<>();
-        
-        if (dataPoints.size() < 3) {
-            return anomalies;
+    private void addIfDetected(List<AnomalyEvent> anomalies, AnomalyEvent anomaly) {
+        if (anomaly != null) {
+            anomalies.add(anomaly);
+        }
+    }
+
+    private AnomalyEvent detectStatisticalAnomaly(String tenantId, String dataType, DataPoint point,
+                                                  TimeSeries.Observation observation) {
+        // Needs some history with spread to score against
+        if (observation.windowSize < 3 || observation.windowStdDev == 0.0) {
+            return null;
         }
         
-        // Calculate statistical properties
-        double[] values = dataPoints.stream().mapToDouble(DataPoint::getValue).toArray();
-        double mean = Arrays.stream(values).average().orElse(0.0);
-        double stdDev = calculateStandardDeviation(values, mean);
+        // Statistical properties of the retained window (running Welford mean/variance)
+        double mean = observation.windowMean;
+        double stdDev = observation.windowStdDev;
         
         // Z-score based anomaly detection
         double threshold = 2.5; // 2.5 standard deviations
+        double zScore = Math.abs((point.getValue() - mean) / stdDev);
         
-        for (int i = 0; i < dataPoints.size(); i++) {
-            DataPoint point = dataPoints.get(i);
-            double zScore = Math.abs((point.getValue() - mean) / stdDev);
-            
-            if (zScore > threshold) {
-                anomalies.add(AnomalyEvent.builder()
-                    .anomalyId(UUID.randomUUID().toString())
-                    .tenantId(tenantId)
-                    .dataType(dataType)
-                    .detectionMethod("STATISTICAL")
-                    .timestamp(point.getTimestamp())
-                    .actualValue(point.getValue())
-                    .expectedValue(mean)
-                    .deviation(zScore)
-                    .severity(calculateSeverity(zScore))
-                    .description(String.format("Statistical anomaly detected: Z-score %.2f", zScore))
-                    .confidence(Math.min(0.95, zScore / 5.0))
-                    .metadata(Map.of("mean", mean, "stdDev", stdDev, "threshold", threshold))
-                    .build());
-            }
+        if (zScore <= threshold) {
+            return null;
         }
         
-        return anomalies;
+        return AnomalyEvent.builder()
+            .anomalyId(UUID.randomUUID().toString())
+            .tenantId(tenantId)
+            .dataType(dataType)
+            .detectionMethod("STATISTICAL")
+            .timestamp(point.getTimestamp())
+            .actualValue(point.getValue())
+            .expectedValue(mean)
+            .deviation(zScore)
+            .severity(calculateSeverity(zScore))
+            .description(String.format("Statistical anomaly detected: Z-score %.2f", zScore))
+            .confidence(Math.min(0.95, zScore / 5.0))
+            .metadata(Map.of("mean", mean, "stdDev", stdDev, "threshold", threshold))
+            .build();
     }
 
-    private List<AnomalyEvent> detectPatternAnomalies(String tenantId, String dataType, List<DataPoint> dataPoints) {
-        List<AnomalyEvent> anomalies = new ArrayList<>();
-        
-        // Detect sudden changes in trend
-        if (dataPoints.size() < 10) {
-            return anomalies;
+    private AnomalyEvent detectPatternAnomaly(String tenantId, String dataType, TimeSeries.Observation observation) {
+        // Detect sudden changes in trend around the pivot that the latest point completed
+        if (!observation.hasPivot) {
+            return null;
         }
         
-        // Simple trend change detection
-        double[] values = dataPoints.stream().mapToDouble(DataPoint::getValue).toArray();
+        double trendChange = Math.abs(observation.afterTrend - observation.beforeTrend);
         
-        for (int i = 5; i < values.length - 5; i++) {
-            double beforeTrend = calculateTrend(Arrays.copyOfRange(values, i - 5, i));
-            double afterTrend = calculateTrend(Arrays.copyOfRange(values, i, i + 5));
-            
-            double trendChange = Math.abs(afterTrend - beforeTrend);
-            
-            if (trendChange > 0.5) { // Significant trend change
-                anomalies.add(AnomalyEvent.builder()
-                    .anomalyId(UUID.randomUUID().toString())
-                    .tenantId(tenantId)
-                    .dataType(dataType)
-                    .detectionMethod("PATTERN")
-                    .timestamp(dataPoints.get(i).getTimestamp())
-                    .actualValue(values[i])
-                    .expectedValue(values[i - 1])
-                    .deviation(trendChange)
-                    .severity(AnomalySeverity.MEDIUM)
-                    .description("Pattern anomaly: Sudden trend change detected")
-                    .confidence(0.8)
-                    .metadata(Map.of("beforeTrend", beforeTrend, "afterTrend", afterTrend))
-                    .build());
-            }
+        if (trendChange <= 0.5) { // Significant trend change
+            return null;
         }
         
-        return anomalies;
+        return AnomalyEvent.builder()
+            .anomalyId(UUID.randomUUID().toString())
+            .tenantId(tenantId)
+            .dataType(dataType)
+            .detectionMethod("PATTERN")
+            .timestamp(TimeSeriesStore.fromMillis(observation.pivotTimestamp))
+            .actualValue(observation.pivotValue)
+            .expectedValue(observation.pivotPreviousValue)
+            .deviation(trendChange)
+            .severity(AnomalySeverity.MEDIUM)
+            .description("Pattern anomaly: Sudden trend change detected")
+            .confidence(0.8)
+            .metadata(Map.of("beforeTrend", observation.beforeTrend, "afterTrend", observation.afterTrend))
+            .build();
     }
 
-    private List<AnomalyEvent> detectTimeSeriesAnomalies(String tenantId, String dataType, List<DataPoint> dataPoints) {
-        List<AnomalyEvent> anomalies = new ArrayList<>();
-        
-        // Simple seasonal decomposition and anomaly detection
-        if (dataPoints.size() < 20) {
-            return anomalies;
+    private AnomalyEvent detectTimeSeriesAnomaly(String tenantId, String dataType, DataPoint point,
+                                                 TimeSeries.Observation observation) {
+        // EWMA needs some warm-up before it is a usable baseline
+        if (observation.seriesCount < 20 || observation.ewmaMean == 0.0) {
+            return null;
         }
         
-        // Moving average based detection
-        int windowSize = Math.min(7, dataPoints.size() / 3);
+        double expected = observation.ewmaMean;
+        double currentValue = point.getValue();
+        double deviation = Math.abs(currentValue - expected) / Math.abs(expected);
         
-        for (int i = windowSize; i < dataPoints.size(); i++) {
-            double movingAvg = dataPoints.subList(i - windowSize, i).stream()
-                .mapToDouble(DataPoint::getValue)
-                .average().orElse(0.0);
-            
-            double currentValue = dataPoints.get(i).getValue();
-            double deviation = Math.abs(currentValue - movingAvg) / movingAvg;
-            
-            if (deviation > 0.3) { // 30% deviation from moving average
-                anomalies.add(AnomalyEvent.builder()
-                    .anomalyId(UUID.randomUUID().toString())
-                    .tenantId(tenantId)
-                    .dataType(dataType)
-                    .detectionMethod("TIME_SERIES")
-                    .timestamp(dataPoints.get(i).getTimestamp())
-                    .actualValue(currentValue)
-                    .expectedValue(movingAvg)
-                    .deviation(deviation)
-                    .severity(deviation > 0.5 ? AnomalySeverity.HIGH : AnomalySeverity.MEDIUM)
-                    .description("Time series anomaly: Deviation from moving average")
-                    .confidence(Math.min(0.9, deviation))
-                    .metadata(Map.of("movingAverage", movingAvg, "windowSize", windowSize))
-                    .build());
-            }
+        if (deviation <= 0.3) { // 30% deviation from the exponentially weighted moving average
+            return null;
         }
         
-        return anomalies;
+        return AnomalyEvent.builder()
+            .anomalyId(UUID.randomUUID().toString())
+            .tenantId(tenantId)
+            .dataType(dataType)
+            .detectionMethod("TIME_SERIES")
+            .timestamp(point.getTimestamp())
+            .actualValue(currentValue)
+            .expectedValue(expected)
+            .deviation(deviation)
+            .severity(deviation > 0.5 ? AnomalySeverity.HIGH : AnomalySeverity.MEDIUM)
+            .description("Time series anomaly: Deviation from moving average")
+            .confidence(Math.min(0.9, deviation))
+            .metadata(Map.of("ewmaMean", expected, "ewmaStdDev", observation.ewmaStdDev))
+            .build();
     }
 
     private List<SecurityAnomaly> detectSuspiciousLogins(List<SecurityEvent> events) {
@@ -582,9 +590,12 @@ public class AnomalyDetectionService {
         
         String[] dataTypes = {"PERFORMANCE", "SECURITY", "BUSINESS", "SYSTEM", "USER_BEHAVIOR"};
         
+        // Baselines seed the default tenant's series (and its daily roll-up)
         for (String dataType : dataTypes) {
-            List<DataPoint> baseline = generateBaselineData(dataType);
-            historicalData.put(dataType, baseline);
+            TimeSeries series = timeSeriesStore.series("default", dataType);
+            for (DataPoint point : generateBaselineData(dataType)) {
+                series.append(TimeSeriesStore.toMillis(point.getTimestamp()), point.getValue());
+            }
         }
     }
 
@@ -684,24 +695,6 @@ public class AnomalyDetectionService {
     }
 
     // Additional helper methods for calculations and mock data generation
-    private double calculateStandardDeviation(double[] values, double mean) {
-        double sumSquaredDiffs = Arrays.stream(values)
-            .map(v -> Math.pow(v - mean, 2))
-            .sum();
-        return Math.sqrt(sumSquaredDiffs / values.length);
-    }
-
-    private double calculateTrend(double[] values) {
-        if (values.length < 2) return 0.0;
-        
-        double sum = 0.0;
-        for (int i = 1; i < values.length; i++) {
-            sum += values[i] - values[i - 1];
-        }
-        
-        return sum / (values.length - 1);
-    }
-
     private AnomalySeverity calculateSeverity(double deviation) {
         if (deviation > 4.0) return AnomalySeverity.CRITICAL;
         if (deviation > 3.0) return AnomalySeverity.HIGH;
@@ -723,16 +716,12 @@ public class AnomalyDetectionService {
         }
     }
 
-    private void cleanupOldAnomalies() {
-        LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
-        detectedAnomalies.removeIf(anomaly -> anomaly.getTimestamp().isBefore(cutoff));
-    }
-
     private void performTenantAnomalyDetection(String tenantId) {
         // Mock real-time detection for a tenant
         log.debug("Performing real-time detection for tenant: {}", tenantId);
         
-        // Generate mock data points and detect anomalies
+        // Generate mock data points and detect anomalies - only points newer than the series are
+        // scored, against the running state kept since the previous run
         List<DataPoint> recentData = generateMockDataPoints("PERFORMANCE", 10);
         detectAnomalies(tenantId, "PERFORMANCE", recentData);
     }
@@ -919,6 +908,8 @@ public class AnomalyDetectionService {
 
     @lombok.Data
     @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
     public static class AnomalyEvent {
         private String anomalyId;
         private String tenantId;
@@ -0,0 +1,26 @@
+package com.ysc.lms.anomaly;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Downsampled aggregate of one hourly/daily bucket of a series
+ */
+@Getter
+public class RollupBucket {
+
+    private final LocalDateTime bucketStart;
+    private final double mean;
+    private final double min;
+    private final double max;
+    private final long count;
+
+    RollupBucket(long bucketStartMillis, double mean, double min, double max, long count) {
+        this.bucketStart = TimeSeriesStore.fromMillis(bucketStartMillis);
+        this.mean = mean;
+        this.min = min;
+        this.max = max;
+        this.count = count;
+    }
+}
@@ -0,0 +1,233 @@
+package com.ysc.lms.anomaly;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded in-memory time series for one tenant/data type.
+ *
+ * Raw points live in primitive ring buffers; hourly and daily roll-ups keep sum/min/max/count per
+ * bucket. Mean/variance over the retained raw window (Welford, with removal of evicted points) and
+ * an EWMA mean/variance are updated on every append, so scoring a point is O(1).
+ * Points must arrive in timestamp order; points at or before the latest timestamp are rejected,
+ * which also makes re-submitting an overlapping batch incremental.
+ */
+final class TimeSeries {
+
+    static final long HOUR_MILLIS = 3_600_000L;
+    static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+
+    // Pattern detection compares the trend of the 5 points before a pivot with the 5 points from it
+    static final int TREND_SPAN = 5;
+
+    private final long[] timestamps;
+    private final double[] values;
+    private final int capacity;
+    private int head;
+    private int size;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private long totalCount;
+
+    // Welford accumulators over the retained raw window
+    private double mean;
+    private double m2;
+
+    private final double ewmaAlpha;
+    private double ewmaMean;
+    private double ewmaVariance;
+
+    private final Rollup hourly;
+    private final Rollup daily;
+
+    TimeSeries(int capacity, double ewmaAlpha, int hourlyBuckets, int dailyBuckets) {
+        this.capacity = Math.max(2 * TREND_SPAN, capacity);
+        this.timestamps = new long[this.capacity];
+        this.values = new double[this.capacity];
+        this.ewmaAlpha = ewmaAlpha;
+        this.hourly = new Rollup(HOUR_MILLIS, hourlyBuckets);
+        this.daily = new Rollup(DAY_MILLIS, dailyBuckets);
+    }
+
+    /**
+     * Appends a point and returns the statistics it should be scored against (state before the point)
+     * plus the pattern pivot that became evaluable with it; null if the point is not newer than the series
+     */
+    synchronized Observation append(long timestamp, double value) {
+        if (timestamp <= lastTimestamp) {
+            return null;
+        }
+        Observation observation = new Observation(totalCount, size, mean, size > 0 ? Math.sqrt(m2 / size) : 0.0,
+            ewmaMean, Math.sqrt(ewmaVariance));
+
+        if (size == capacity) {
+            removeFromWindow(values[head]);
+        }
+        timestamps[head] = timestamp;
+        values[head] = value;
+        head = (head + 1) % capacity;
+        if (size < capacity) {
+            size++;
+        }
+        addToWindow(value);
+        if (head == 0 && size == capacity) {
+            // Re-derive the window statistics once per wrap to cancel floating point drift from removals
+            recomputeWindow();
+        }
+
+        if (totalCount == 0) {
+            ewmaMean = value;
+        } else {
+            double diff = value - ewmaMean;
+            double increment = ewmaAlpha * diff;
+            ewmaMean += increment;
+            ewmaVariance = (1 - ewmaAlpha) * (ewmaVariance + diff * increment);
+        }
+        totalCount++;
+        lastTimestamp = timestamp;
+
+        hourly.add(timestamp, value);
+        daily.add(timestamp, value);
+
+        if (size >= 2 * TREND_SPAN) {
+            // Pivot is the oldest point of the latest TREND_SPAN; the trend of consecutive diffs telescopes to (last - first)
+            int pivot = indexFromNewest(TREND_SPAN - 1);
+            double beforeTrend = (values[indexFromNewest(TREND_SPAN)] - values[indexFromNewest(2 * TREND_SPAN - 1)]) / (TREND_SPAN - 1);
+            double afterTrend = (values[indexFromNewest(0)] - values[pivot]) / (TREND_SPAN - 1);
+            observation.pivot(timestamps[pivot], values[pivot], values[indexFromNewest(TREND_SPAN)], beforeTrend, afterTrend);
+        }
+        return observation;
+    }
+
+    synchronized List<RollupBucket> rollup(boolean daily) {
+        return (daily ? this.daily : this.hourly).snapshot();
+    }
+
+    private int indexFromNewest(int offset) {
+        return Math.floorMod(head - 1 - offset, capacity);
+    }
+
+    private void addToWindow(double value) {
+        int n = size;
+        double delta = value - mean;
+        mean += delta / n;
+        m2 += delta * (value - mean);
+    }
+
+    private void removeFromWindow(double value) {
+        int n = size - 1;
+        if (n <= 0) {
+            mean = 0.0;
+            m2 = 0.0;
+            return;
+        }
+        double delta = value - mean;
+        mean -= delta / n;
+        m2 = Math.max(0.0, m2 - delta * (value - mean));
+    }
+
+    private void recomputeWindow() {
+        double sum = 0.0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        double windowMean = sum / size;
+        double squares = 0.0;
+        for (int i = 0; i < size; i++) {
+            double d = values[i] - windowMean;
+            squares += d * d;
+        }
+        mean = windowMean;
+        m2 = squares;
+    }
+
+    /**
+     * Pre-append statistics for one point
+     */
+    static final class Observation {
+        final long seriesCount;
+        final int windowSize;
+        final double windowMean;
+        final double windowStdDev;
+        final double ewmaMean;
+        final double ewmaStdDev;
+
+        boolean hasPivot;
+        long pivotTimestamp;
+        double pivotValue;
+        double pivotPreviousValue;
+        double beforeTrend;
+        double afterTrend;
+
+        private Observation(long seriesCount, int windowSize, double windowMean, double windowStdDev,
+                            double ewmaMean, double ewmaStdDev) {
+            this.seriesCount = seriesCount;
+            this.windowSize = windowSize;
+            this.windowMean = windowMean;
+            this.windowStdDev = windowStdDev;
+            this.ewmaMean = ewmaMean;
+            this.ewmaStdDev = ewmaStdDev;
+        }
+
+        private void pivot(long timestamp, double value, double previousValue, double beforeTrend, double afterTrend) {
+            this.hasPivot = true;
+            this.pivotTimestamp = timestamp;
+            this.pivotValue = value;
+            this.pivotPreviousValue = previousValue;
+            this.beforeTrend = beforeTrend;
+            this.afterTrend = afterTrend;
+        }
+    }
+
+    /**
+     * Fixed-size ring of aggregate buckets; a new bucket starts whenever a point falls past the current one
+     */
+    private static final class Rollup {
+        private final long bucketMillis;
+        private final long[] starts;
+        private final double[] sums;
+        private final double[] mins;
+        private final double[] maxs;
+        private final long[] counts;
+        private int current = -1;
+        private int size;
+
+        private Rollup(long bucketMillis, int buckets) {
+            int capacity = Math.max(1, buckets);
+            this.bucketMillis = bucketMillis;
+            this.starts = new long[capacity];
+            this.sums = new double[capacity];
+            this.mins = new double[capacity];
+            this.maxs = new double[capacity];
+            this.counts = new long[capacity];
+        }
+
+        private void add(long timestamp, double value) {
+            long start = Math.floorDiv(timestamp, bucketMillis) * bucketMillis;
+            if (current >= 0 && starts[current] == start) {
+                sums[current] += value;
+                mins[current] = Math.min(mins[current], value);
+                maxs[current] = Math.max(maxs[current], value);
+                counts[current]++;
+                return;
+            }
+            current = (current + 1) % starts.length;
+            if (size < starts.length) {
+                size++;
+            }
+            starts[current] = start;
+            sums[current] = value;
+            mins[current] = value;
+            maxs[current] = value;
+            counts[current] = 1;
+        }
+
+        private List<RollupBucket> snapshot() {
+            List<RollupBucket> buckets = new ArrayList<>(size);
+            for (int i = size - 1; i >= 0; i--) {
+                int index = Math.floorMod(current - i, starts.length);
+                buckets.add(new RollupBucket(starts[index], sums[index] / counts[index], mins[index], maxs[index], counts[index]));
+            }
+            return buckets;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ysc.lms.anomaly;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Per tenant/data type time series used by the anomaly detectors.
+ *
+ * Every series has fixed-size buffers, and the number of series is capped (least recently
+ * used series are dropped), so memory stays bounded regardless of how many points arrive.
+ */
+@Component
+public class TimeSeriesStore {
+
+    public enum Resolution {
+        HOURLY, DAILY
+    }
+
+    private final Cache<String, TimeSeries> series;
+    private final int capacity;
+    private final double ewmaAlpha;
+    private final int hourlyBuckets;
+    private final int dailyBuckets;
+
+    public TimeSeriesStore(@Value("${app.anomaly.series.capacity:1024}") int capacity,
+                           @Value("${app.anomaly.series.ewma-span:7}") int ewmaSpan,
+                           @Value("${app.anomaly.series.hourly-buckets:168}") int hourlyBuckets,
+                           @Value("${app.anomaly.series.daily-buckets:400}") int dailyBuckets,
+                           @Value("${app.anomaly.series.max-series:1000}") long maxSeries) {
+        this.capacity = capacity;
+        // Span-equivalent smoothing factor (an EWMA with span N has the same center of mass as an N-point moving average)
+        this.ewmaAlpha = 2.0 / (Math.max(1, ewmaSpan) + 1);
+        this.hourlyBuckets = hourlyBuckets;
+        this.dailyBuckets = dailyBuckets;
+        this.series = Caffeine.newBuilder()
+            .maximumSize(maxSeries)
+            .build();
+    }
+
+    TimeSeries series(String tenantId, String dataType) {
+        return series.get(key(tenantId, dataType), key -> new TimeSeries(capacity, ewmaAlpha, hourlyBuckets, dailyBuckets));
+    }
+
+    /**
+     * Downsampled history, oldest bucket first; empty if the series is unknown
+     */
+    public List<RollupBucket> rollup(String tenantId, String dataType, Resolution resolution) {
+        TimeSeries existing = series.getIfPresent(key(tenantId, dataType));
+        return existing != null ? existing.rollup(resolution == Resolution.DAILY) : List.of();
+    }
+
+    public long seriesCount() {
+        return series.estimatedSize();
+    }
+
+    static long toMillis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private static String key(String tenantId, String dataType) {
+        return tenantId + ":" + dataType;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ysc.lms.archiving;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * archive_locks 임대 획득/연장/반납
+ *
+ * 문장 하나로 판정하는 조건부 UPDATE/INSERT 라 노드 간 경합에서도 한 노드만 성공한다.
+ * 시각은 각 노드 시계를 쓰므로 임대 기간은 노드 간 시계 차이보다 충분히 길게 둔다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArchiveLockDao {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 비어 있거나 만료된 임대, 또는 자신이 가진 임대면 owner 로 가져온다
+     */
+    public boolean tryAcquire(String policyId, String owner, LocalDateTime now, LocalDateTime until) {
+        int updated = jdbcTemplate.update(
+            "UPDATE archive_locks SET locked_by = ?, locked_until = ? WHERE policy_id = ? AND (locked_until < ? OR locked_by = ?)",
+            owner, Timestamp.valueOf(until), policyId, Timestamp.valueOf(now), owner);
+        if (updated > 0) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO archive_locks (policy_id, locked_by, locked_until) VALUES (?, ?, ?)",
+                policyId, owner, Timestamp.valueOf(until));
+            return true;
+        } catch (DuplicateKeyException e) {
+            // 다른 노드가 유효한 임대를 가지고 있음
+            return false;
+        }
+    }
+
+    /**
+     * 아직 만료되지 않은 자신의 임대만 연장 - false 면 임대를 잃은 것
+     */
+    public boolean renew(String policyId, String owner, LocalDateTime now, LocalDateTime until) {
+        return jdbcTemplate.update(
+            "UPDATE archive_locks SET locked_until = ? WHERE policy_id = ? AND locked_by = ? AND locked_until >= ?",
+            Timestamp.valueOf(until), policyId, owner, Timestamp.valueOf(now)) > 0;
+    }
+
+    public void release(String policyId, String owner) {
+        jdbcTemplate.update("DELETE FROM archive_locks WHERE policy_id = ? AND locked_by = ?", policyId, owner);
+    }
+}
@@ -0,0 +1,118 @@
+package com.ysc.lms.archiving;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.Base64;
+
+/**
+ * JDBC 값 ↔ 세그먼트 JSON 값 변환
+ * 날짜/시간은 ISO 문자열, DECIMAL 은 정밀도 손실이 없도록 문자열로 쓰고 복원 시 컬럼 타입(java.sql.Types)으로 되돌린다
+ */
+final class ArchiveRowCodec {
+
+    private ArchiveRowCodec() {
+    }
+
+    static Object encode(Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean
+            || value instanceof Long || value instanceof Integer || value instanceof Short) {
+            return value;
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate().toString();
+        }
+        if (value instanceof Time time) {
+            return time.toLocalTime().toString();
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof byte[] bytes) {
+            return Base64.getEncoder().encodeToString(bytes);
+        }
+        if (value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+        return value.toString();
+    }
+
+    static Object decode(JsonNode node, int sqlType) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        String text = node.asText();
+        switch (sqlType) {
+            case Types.BIGINT:
+                return node.asLong();
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+                return node.asInt();
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return node.isBoolean() ? node.booleanValue() : Boolean.valueOf("1".equals(text) || "true".equalsIgnoreCase(text));
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+            case Types.DOUBLE:
+            case Types.FLOAT:
+            case Types.REAL:
+                return new BigDecimal(text);
+            case Types.TIMESTAMP:
+                return Timestamp.valueOf(parseTime(text));
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return OffsetDateTime.parse(text);
+            case Types.DATE:
+                return Date.valueOf(LocalDate.parse(text));
+            case Types.TIME:
+                return Time.valueOf(LocalTime.parse(text));
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return Base64.getDecoder().decode(text);
+            default:
+                return text;
+        }
+    }
+
+    /**
+     * 세그먼트 시간 범위 기록용 (timestamptz 는 드라이버에 따라 Timestamp 또는 OffsetDateTime)
+     */
+    static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toLocalDateTime();
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime;
+        }
+        return null;
+    }
+
+    static LocalDateTime parseTime(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            return OffsetDateTime.parse(text).toLocalDateTime();
+        }
+    }
+}
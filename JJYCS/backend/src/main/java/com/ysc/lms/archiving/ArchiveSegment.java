@@ -0,0 +1,40 @@
+package com.ysc.lms.archiving;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 아카이브 세그먼트 매니페스트 항목
+ *
+ * 세그먼트 파일은 gzip 압축 NDJSON (한 줄 = 한 행, 컬럼명 → 값), 같은 이름의 .idx 파일에 lookup 키를 정렬해 둔다.
+ * 검색/복원은 키 범위·시간 범위·.idx 로 세그먼트를 먼저 거른 뒤 남은 세그먼트만 압축을 풀어 읽는다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveSegment {
+    private String fileName;
+    private String indexFileName;
+    private String table;
+    private String keyColumn;
+    private String timeColumn;
+    private String lookupColumn;
+    private List<String> columns;
+    /** java.sql.Types - 복원 시 값 변환용 */
+    private List<Integer> columnTypes;
+    private int recordCount;
+    private long minKey;
+    private long maxKey;
+    private LocalDateTime minTime;
+    private LocalDateTime maxTime;
+    private long rawSizeBytes;
+    private long compressedSizeBytes;
+    private String sha256;
+    private int deletedRecords;
+}
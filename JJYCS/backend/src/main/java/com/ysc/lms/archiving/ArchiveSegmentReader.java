@@ -0,0 +1,71 @@
+package com.ysc.lms.archiving;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 세그먼트 읽기 - 체크섬 검증, lookup 키 인덱스 조회, NDJSON 줄 단위 스트리밍
+ */
+final class ArchiveSegmentReader {
+
+    private ArchiveSegmentReader() {
+    }
+
+    static boolean verify(Path file, String expectedSha256) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024), digest)) {
+            byte[] buffer = new byte[64 * 1024];
+            while (in.read(buffer) != -1) {
+                // 읽으면서 digest 갱신
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest()).equalsIgnoreCase(expectedSha256);
+    }
+
+    static boolean indexContains(Path indexFile, long key) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            long[] keys = new long[in.readInt()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = in.readLong();
+            }
+            return Arrays.binarySearch(keys, key) >= 0;
+        }
+    }
+
+    /**
+     * @param consumer false 를 돌려주면 읽기를 멈춘다
+     */
+    static void forEachLine(Path file, Predicate<String> consumer) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            new GZIPInputStream(Files.newInputStream(file), 64 * 1024), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty() && !consumer.test(line)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
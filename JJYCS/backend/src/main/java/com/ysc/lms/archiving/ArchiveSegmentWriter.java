@@ -0,0 +1,165 @@
+package com.ysc.lms.archiving;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 세그먼트 한 개 쓰기 (gzip NDJSON + SHA-256 + lookup 키 인덱스)
+ *
+ * 체크섬은 압축된 파일 바이트 기준이다. seal() 에서 파일과 인덱스를 디스크에 강제 기록(fsync)한 뒤에만
+ * 매니페스트 항목을 돌려주므로, 호출 측은 그 이후에 운영 테이블 행을 지운다.
+ */
+final class ArchiveSegmentWriter implements AutoCloseable {
+
+    private final ObjectMapper objectMapper;
+    private final ArchiveTarget target;
+    private final Path file;
+    private final Path indexFile;
+    private final List<String> columns;
+    private final List<Integer> columnTypes;
+    private final int keyIndex;
+    private final int timeIndex;
+    private final int lookupIndex;
+
+    private final FileOutputStream fileOut;
+    private final MessageDigest digest;
+    private final GZIPOutputStream gzip;
+
+    private long[] lookupKeys = new long[1024];
+    private int lookupCount;
+    private int recordCount;
+    private long rawBytes;
+    private long minKey = Long.MAX_VALUE;
+    private long maxKey = Long.MIN_VALUE;
+    private LocalDateTime minTime;
+    private LocalDateTime maxTime;
+
+    ArchiveSegmentWriter(ObjectMapper objectMapper, ArchiveTarget target, Path file,
+                         List<String> columns, List<Integer> columnTypes) throws IOException {
+        this.objectMapper = objectMapper;
+        this.target = target;
+        this.file = file;
+        this.indexFile = file.resolveSibling(file.getFileName() + ".idx");
+        this.columns = columns;
+        this.columnTypes = columnTypes;
+        this.keyIndex = columns.indexOf("id");
+        this.timeIndex = columns.indexOf(target.getTimeColumn());
+        this.lookupIndex = columns.indexOf(target.getLookupColumn());
+        if (keyIndex < 0 || timeIndex < 0) {
+            throw new IllegalStateException("Archive target " + target.getTable() + " has no id/" + target.getTimeColumn() + " column");
+        }
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        this.fileOut = new FileOutputStream(file.toFile());
+        OutputStream hashed = new DigestOutputStream(new BufferedOutputStream(fileOut, 64 * 1024), digest);
+        this.gzip = new GZIPOutputStream(hashed, 64 * 1024);
+    }
+
+    /**
+     * @return 기록한 행의 id
+     */
+    long append(Object[] row) throws IOException {
+        Map<String, Object> values = new LinkedHashMap<>(columns.size() * 2);
+        for (int i = 0; i < row.length; i++) {
+            values.put(columns.get(i), ArchiveRowCodec.encode(row[i]));
+        }
+        byte[] line = objectMapper.writeValueAsBytes(values);
+        gzip.write(line);
+        gzip.write('\n');
+        rawBytes += line.length + 1;
+        recordCount++;
+
+        long key = ((Number) row[keyIndex]).longValue();
+        minKey = Math.min(minKey, key);
+        maxKey = Math.max(maxKey, key);
+        LocalDateTime time = ArchiveRowCodec.toLocalDateTime(row[timeIndex]);
+        if (time != null) {
+            minTime = minTime == null || time.isBefore(minTime) ? time : minTime;
+            maxTime = maxTime == null || time.isAfter(maxTime) ? time : maxTime;
+        }
+        if (lookupIndex >= 0 && row[lookupIndex] instanceof Number lookup) {
+            if (lookupCount == lookupKeys.length) {
+                lookupKeys = Arrays.copyOf(lookupKeys, lookupCount * 2);
+            }
+            lookupKeys[lookupCount++] = lookup.longValue();
+        }
+        return key;
+    }
+
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    ArchiveSegment seal() throws IOException {
+        gzip.finish();
+        gzip.flush();
+        fileOut.getChannel().force(true);
+        gzip.close();
+
+        long[] keys = distinctSorted(lookupKeys, lookupCount);
+        try (FileOutputStream indexOut = new FileOutputStream(indexFile.toFile());
+             DataOutputStream data = new DataOutputStream(new BufferedOutputStream(indexOut))) {
+            data.writeInt(keys.length);
+            for (long key : keys) {
+                data.writeLong(key);
+            }
+            data.flush();
+            indexOut.getChannel().force(true);
+        }
+
+        return ArchiveSegment.builder()
+            .fileName(file.getFileName().toString())
+            .indexFileName(indexFile.getFileName().toString())
+            .table(target.getTable())
+            .keyColumn("id")
+            .timeColumn(target.getTimeColumn())
+            .lookupColumn(lookupIndex >= 0 ? target.getLookupColumn() : null)
+            .columns(columns)
+            .columnTypes(columnTypes)
+            .recordCount(recordCount)
+            .minKey(minKey)
+            .maxKey(maxKey)
+            .minTime(minTime)
+            .maxTime(maxTime)
+            .rawSizeBytes(rawBytes)
+            .compressedSizeBytes(file.toFile().length())
+            .sha256(HexFormat.of().formatHex(digest.digest()))
+            .build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        gzip.close();
+    }
+
+    private static long[] distinctSorted(long[] values, int count) {
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+}
@@ -0,0 +1,142 @@
+package com.ysc.lms.archiving;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 아카이빙 대상 테이블 JDBC 접근
+ *
+ * 트랜잭션 없이 문장 단위(auto-commit)로 실행해 운영 테이블 잠금은 한 페이지 조회 / 한 배치 삭제 동안만 유지된다.
+ * 페이지 조회는 PK 키셋(id > afterKey ORDER BY id LIMIT n)이라 OFFSET 없이 오래된 행부터 순서대로 읽는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArchiveTableDao {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long countOlderThan(ArchiveTarget target, LocalDateTime cutoff) {
+        Long count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + target.getTable() + " WHERE " + where(target), Long.class,
+            Timestamp.valueOf(cutoff));
+        return count != null ? count : 0;
+    }
+
+    public long countAll(ArchiveTarget target) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + target.getTable(), Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * cutoff 이전 행 중 id 가 afterKey 보다 큰 행 limit 건 (id 오름차순)
+     *
+     * @param notBefore 시간 컬럼 하한 (포함, 없으면 null) - 사본만 남기는 테이블에서 이전 아카이브가 다룬 구간 제외
+     */
+    public Page fetchPage(ArchiveTarget target, LocalDateTime cutoff, LocalDateTime notBefore, long afterKey, int limit) {
+        String sql = "SELECT * FROM " + target.getTable() + " WHERE " + where(target)
+            + (notBefore != null ? " AND " + target.getTimeColumn() + " >= ?" : "")
+            + " AND id > ? ORDER BY id LIMIT ?";
+        Object[] args = notBefore != null
+            ? new Object[]{Timestamp.valueOf(cutoff), Timestamp.valueOf(notBefore), afterKey, limit}
+            : new Object[]{Timestamp.valueOf(cutoff), afterKey, limit};
+        Page page = new Page();
+        jdbcTemplate.query(sql, rs -> {
+            if (page.columns == null) {
+                ResultSetMetaData meta = rs.getMetaData();
+                page.columns = new ArrayList<>(meta.getColumnCount());
+                page.columnTypes = new ArrayList<>(meta.getColumnCount());
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    page.columns.add(meta.getColumnLabel(i).toLowerCase());
+                    page.columnTypes.add(meta.getColumnType(i));
+                }
+            }
+            Object[] row = new Object[page.columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            page.rows.add(row);
+        }, args);
+        return page;
+    }
+
+    /**
+     * 세그먼트에 기록된 id 만 삭제 - cutoff 조건을 다시 걸어 그 사이 갱신된 행은 남긴다
+     */
+    public int deleteBatch(ArchiveTarget target, LocalDateTime cutoff, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String sql = "DELETE FROM " + target.getTable() + " WHERE id IN (" + placeholders(ids.size()) + ") AND "
+            + where(target);
+        Object[] args = new Object[ids.size() + 1];
+        for (int i = 0; i < ids.size(); i++) {
+            args[i] = ids.get(i);
+        }
+        args[ids.size()] = Timestamp.valueOf(cutoff);
+        return jdbcTemplate.update(sql, args);
+    }
+
+    /**
+     * 운영 테이블에 없는 id 만 다시 INSERT
+     *
+     * @param rows columns 순서의 값 (id 는 columns 의 keyIndex 위치)
+     */
+    public int insertMissing(String table, List<String> columns, List<Integer> columnTypes, int keyIndex,
+                             List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Object> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add(row[keyIndex]);
+        }
+        Set<Long> existing = new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT id FROM " + table + " WHERE id IN (" + placeholders(ids.size()) + ")", Long.class, ids.toArray()));
+
+        List<Object[]> missing = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            if (!existing.contains(((Number) row[keyIndex]).longValue())) {
+                missing.add(row);
+            }
+        }
+        if (missing.isEmpty()) {
+            return 0;
+        }
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+            + placeholders(columns.size()) + ")";
+        jdbcTemplate.batchUpdate(sql, missing, missing.size(), (ps, row) -> {
+            for (int i = 0; i < row.length; i++) {
+                StatementCreatorUtils.setParameterValue(ps, i + 1, columnTypes.get(i), row[i]);
+            }
+        });
+        return missing.size();
+    }
+
+    private static String where(ArchiveTarget target) {
+        String where = target.getTimeColumn() + " < ?";
+        return target.getFilter() != null ? where + " AND " + target.getFilter() : where;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    @Getter
+    public static class Page {
+        private List<String> columns;
+        private List<Integer> columnTypes;
+        private final List<Object[]> rows = new ArrayList<>();
+    }
+}
@@ -0,0 +1,39 @@
+package com.ysc.lms.archiving;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 보존 정책별 아카이빙 대상 테이블
+ *
+ * timeColumn 이 cutoff 보다 오래된 행을 id 키셋 순서로 읽어 세그먼트에 쓴다.
+ * lookupColumn 은 세그먼트 인덱스(.idx)에 모아 두는 조회 키 (주문 이벤트는 order_id, 감사 로그는 entity_id).
+ * deleteArchived=false 인 테이블은 다른 테이블이 FK 로 참조하므로 사본만 남기고 운영 테이블에서 지우지 않는다.
+ */
+@Getter
+@AllArgsConstructor
+public final class ArchiveTarget {
+
+    static final List<ArchiveTarget> DEFAULTS = List.of(
+        new ArchiveTarget("ORDER_DATA", "order_tracking", "event_time", "order_id", null, true),
+        new ArchiveTarget("ORDER_DATA", "scan_events", "created_at", "order_id", null, true),
+        // 청구/인보이스/HBL 등이 orders 를 참조 - 종료 상태 주문의 사본만 보관
+        new ArchiveTarget("ORDER_DATA", "orders", "updated_at", "id",
+            "status IN ('DELIVERED', 'COMPLETED', 'CANCELLED')", false),
+        new ArchiveTarget("AUDIT_LOGS", "audit_logs", "created_at", "entity_id", null, true)
+    );
+
+    private final String policyId;
+    private final String table;
+    private final String timeColumn;
+    private final String lookupColumn;
+    /** 추가 WHERE 조건 (고정 SQL 조각, 없으면 null) */
+    private final String filter;
+    private final boolean deleteArchived;
+
+    static List<ArchiveTarget> forPolicy(String policyId) {
+        return DEFAULTS.stream().filter(target -> target.policyId.equals(policyId)).toList();
+    }
+}
@@ -1,6 +1,9 @@
 package com.ysc.lms.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -27,9 +30,22 @@ public class RestTemplateConfig {
     @Value("${carrier.api.read-timeout:10000}")
     private int readTimeout;
     
+    @Value("${carrier.api.max-connections-per-route:32}")
+    private int maxConnectionsPerRoute;
+    
+    @Value("${carrier.api.max-connections-total:128}")
+    private int maxConnectionsTotal;
+    
     @Bean
     public RestTemplate restTemplate() {
-        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory();
+        // 커넥션 풀 - 기본값(호스트당 5개)이면 택배사별 동시 조회 수가 풀에서 막힌다
+        CloseableHttpClient httpClient = HttpClients.custom()
+            .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setMaxConnTotal(maxConnectionsTotal)
+                .build())
+            .build();
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
         
         // 타임아웃 설정
         factory.setConnectTimeout(connectionTimeout);
@@ -3,6 +3,8 @@ package com.ysc.lms.controller;
 import com.ysc.lms.entity.Order;
 import com.ysc.lms.entity.User;
 import com.ysc.lms.entity.Notification;
+import com.ysc.lms.entity.StatCounter.CounterGroup;
+import com.ysc.lms.notification.FanoutJob;
 import com.ysc.lms.repository.OrderRepository;
 import com.ysc.lms.repository.UserRepository;
 import com.ysc.lms.repository.NotificationRepository;
@@ -11,6 +13,8 @@ import com.ysc.lms.service.OrderService;
 import com.ysc.lms.service.UserService;
 import com.ysc.lms.service.NotificationService;
 import com.ysc.lms.config.PerformanceMonitoringInterceptor;
+import com.ysc.lms.statistics.StatisticsRecorder;
+import com.ysc.lms.statistics.StatisticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -39,6 +43,8 @@ public class AdminController {
     private final NotificationRepository notificationRepository;
     private final NotificationService notificationService;
     private final PerformanceMonitoringInterceptor performanceMonitoringInterceptor;
+    private final StatisticsRecorder statisticsRecorder;
+    private final StatisticsService statisticsService;
     
     @GetMapping("/users/pending")
     @PreAuthorize("hasRole('ADMIN')")
@@ -140,6 +146,7 @@ public class AdminController {
             }
             
             userRepository.save(user);
+            statisticsRecorder.userStatusChanged(user.getUserType(), User.UserStatus.PENDING, User.UserStatus.ACTIVE);
             
             // 통합 알림 발송 (이메일 + DB 알림)
             try {
@@ -187,6 +194,7 @@ public class AdminController {
             user.setRejectionReason(request.get("reason"));
             
             userRepository.save(user);
+            statisticsRecorder.userStatusChanged(user.getUserType(), User.UserStatus.PENDING, User.UserStatus.REJECTED);
             
             // 통합 알림 발송 (이메일 + DB 알림)
             try {
@@ -320,6 +328,7 @@ public class AdminController {
                 order.setUpdatedAt(LocalDateTime.now());
                 
                 Order savedOrder = orderRepository.save(order);
+                statisticsRecorder.orderStatusChanged(savedOrder, currentStatus);
                 
                 log.info("Order status updated - ID: {}, from: {} to: {}", orderId, currentStatus, orderStatus);
                 
@@ -387,54 +396,58 @@ public class AdminController {
     public ResponseEntity<Map<String, Object>> getAdminStats() {
         try {
             LocalDateTime now = LocalDateTime.now();
-            LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
-            LocalDateTime startOfWeek = now.minusDays(now.getDayOfWeek().getValue() - 1).toLocalDate().atStartOfDay();
-            LocalDateTime startOfMonth = now.withDayOfMonth(1).toLocalDate().atStartOfDay();
+            java.time.LocalDate today = now.toLocalDate();
+            java.time.LocalDate startOfWeek = today.minusDays(today.getDayOfWeek().getValue() - 1);
+            java.time.LocalDate startOfMonth = today.withDayOfMonth(1);
+            
+            // 통계는 stat_counters 집계 행에서 조회 (원본 테이블 COUNT 없음)
+            Map<String, Long> userCounts = statisticsService.getCounts(CounterGroup.USER_TYPE_STATUS);
+            Map<String, Long> orderStatusCounts = statisticsService.getCounts(CounterGroup.ORDER_STATUS);
+            Map<String, Long> shippingTypeCounts = statisticsService.getCounts(CounterGroup.ORDER_SHIPPING_TYPE);
+            Map<String, Long> userTypeCounts = StatisticsService.sumByPart(userCounts, 0);
+            Map<String, Long> userStatusCounts = StatisticsService.sumByPart(userCounts, 1);
             
             // 기본 통계
-            long totalUsers = userRepository.count();
-            long totalOrders = orderRepository.count();
-            long pendingApprovals = userRepository.countByStatus(User.UserStatus.PENDING);
-            long activePartners = userRepository.countByStatusAndUserType(User.UserStatus.ACTIVE, User.UserType.PARTNER);
+            long totalUsers = StatisticsService.sum(userCounts);
+            long totalOrders = StatisticsService.sum(orderStatusCounts);
+            long pendingApprovals = userStatusCounts.getOrDefault(User.UserStatus.PENDING.name(), 0L);
+            long activePartners = userCounts.getOrDefault(
+                User.UserType.PARTNER.name() + ":" + User.UserStatus.ACTIVE.name(), 0L);
             
             // 주문 상태별 통계
-            Map<String, Long> orderStatusStats = Map.of(
-                "PENDING", orderRepository.countByStatus(Order.OrderStatus.PENDING),
-                "CONFIRMED", orderRepository.countByStatus(Order.OrderStatus.CONFIRMED),
-                "IN_WAREHOUSE", orderRepository.countByStatus(Order.OrderStatus.IN_WAREHOUSE),
-                "PROCESSING", orderRepository.countByStatus(Order.OrderStatus.PROCESSING),
-                "SHIPPED", orderRepository.countByStatus(Order.OrderStatus.SHIPPED),
-                "DELIVERED", orderRepository.countByStatus(Order.OrderStatus.DELIVERED),
-                "CANCELLED", orderRepository.countByStatus(Order.OrderStatus.CANCELLED),
-                "HOLD", orderRepository.countByStatus(Order.OrderStatus.HOLD)
-            );
+            Map<String, Long> orderStatusStats = new HashMap<>();
+            for (Order.OrderStatus status : new Order.OrderStatus[] {
+                    Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED, Order.OrderStatus.IN_WAREHOUSE,
+                    Order.OrderStatus.PROCESSING, Order.OrderStatus.SHIPPED, Order.OrderStatus.DELIVERED,
+                    Order.OrderStatus.CANCELLED, Order.OrderStatus.HOLD}) {
+                orderStatusStats.put(status.name(), orderStatusCounts.getOrDefault(status.name(), 0L));
+            }
             
             // 사용자 타입별 통계
-            Map<String, Long> userTypeStats = Map.of(
-                "GENERAL", userRepository.countByUserType(User.UserType.GENERAL),
-                "CORPORATE", userRepository.countByUserType(User.UserType.CORPORATE),
-                "PARTNER", userRepository.countByUserType(User.UserType.PARTNER),
-                "WAREHOUSE", userRepository.countByUserType(User.UserType.WAREHOUSE)
-            );
+            Map<String, Long> userTypeStats = new HashMap<>();
+            for (User.UserType type : new User.UserType[] {
+                    User.UserType.GENERAL, User.UserType.CORPORATE, User.UserType.PARTNER, User.UserType.WAREHOUSE}) {
+                userTypeStats.put(type.name(), userTypeCounts.getOrDefault(type.name(), 0L));
+            }
             
             // 배송 타입별 통계
             Map<String, Long> orderTypeStats = Map.of(
-                "AIR", orderRepository.countByShippingType(Order.ShippingType.AIR),
-                "SEA", orderRepository.countByShippingType(Order.ShippingType.SEA)
+                "AIR", shippingTypeCounts.getOrDefault(Order.ShippingType.AIR.name(), 0L),
+                "SEA", shippingTypeCounts.getOrDefault(Order.ShippingType.SEA.name(), 0L)
             );
             
             // 시간별 신규 주문 (오늘, 이번주, 이번달)
             Map<String, Long> newOrderStats = Map.of(
-                "today", orderRepository.countByCreatedAtAfter(startOfDay),
-                "thisWeek", orderRepository.countByCreatedAtAfter(startOfWeek),
-                "thisMonth", orderRepository.countByCreatedAtAfter(startOfMonth)
+                "today", StatisticsService.sum(statisticsService.getDailyCounts(CounterGroup.ORDER_CREATED_DAILY, today, today)),
+                "thisWeek", StatisticsService.sum(statisticsService.getDailyCounts(CounterGroup.ORDER_CREATED_DAILY, startOfWeek, today)),
+                "thisMonth", StatisticsService.sum(statisticsService.getDailyCounts(CounterGroup.ORDER_CREATED_DAILY, startOfMonth, today))
             );
             
             // 신규 사용자 등록 (오늘, 이번주, 이번달)
             Map<String, Long> newUserStats = Map.of(
-                "today", userRepository.countByCreatedAtAfter(startOfDay),
-                "thisWeek", userRepository.countByCreatedAtAfter(startOfWeek),
-                "thisMonth", userRepository.countByCreatedAtAfter(startOfMonth)
+                "today", StatisticsService.sum(statisticsService.getDailyCounts(CounterGroup.USER_CREATED_DAILY, today, today)),
+                "thisWeek", StatisticsService.sum(statisticsService.getDailyCounts(CounterGroup.USER_CREATED_DAILY, startOfWeek, today)),
+                "thisMonth", StatisticsService.sum(statisticsService.getDailyCounts(CounterGroup.USER_CREATED_DAILY, startOfMonth, today))
             );
             
             return ResponseEntity.ok(Map.of(
@@ -549,24 +562,18 @@ public class AdminController {
                     .body(Map.of("success", false, "error", "제목과 메시지가 필요합니다."));
             }
             
-            java.util.List<User> targetUsers;
+            User.UserType userType = "ALL".equals(targetType) ? null : User.UserType.valueOf(targetType.toUpperCase());
             
-            if ("ALL".equals(targetType)) {
-                targetUsers = userRepository.findByStatus(User.UserStatus.ACTIVE);
-            } else {
-                User.UserType userType = User.UserType.valueOf(targetType.toUpperCase());
-                targetUsers = userRepository.findByStatusAndUserType(User.UserStatus.ACTIVE, userType);
-            }
+            // NotificationService를 통한 일괄 알림 적재 (백그라운드 진행, jobId로 진행 상황 조회)
+            FanoutJob job = notificationService.broadcastSystemNotification(title, message, User.UserStatus.ACTIVE, userType);
             
-            // NotificationService를 통한 통합 알림 발송
-            notificationService.broadcastSystemNotification(title, message, targetUsers);
-            
-            log.info("Broadcast notification initiated for {} users", targetUsers.size());
+            log.info("Broadcast notification {} initiated for {} users", job.getJobId(), job.getExpectedRecipients());
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
-                "message", "알림이 성공적으로 전송되었습니다.",
-                "recipientCount", targetUsers.size(),
+                "message", "알림 발송이 시작되었습니다.",
+                "jobId", job.getJobId(),
+                "recipientCount", job.getExpectedRecipients(),
                 "targetType", targetType
             ));
         } catch (Exception e) {
@@ -576,6 +583,23 @@ public class AdminController {
         }
     }
     
+    /**
+     * 시스템 알림 브로드캐스트 진행 상황
+     */
+    @GetMapping("/broadcast-notification/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getBroadcastProgress(@PathVariable String jobId) {
+        Optional<FanoutJob> job = notificationService.getBroadcastJob(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "job", job.get()
+        ));
+    }
+    
     @PostMapping("/test/create-notifications")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> createTestNotifications() {
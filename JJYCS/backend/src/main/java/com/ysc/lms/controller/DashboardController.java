@@ -1,5 +1,7 @@
 package com.ysc.lms.controller;
 
+import com.ysc.lms.dashboard.UserDashboardService;
+import com.ysc.lms.dashboard.UserDashboardSummary;
 import com.ysc.lms.entity.Order;
 import com.ysc.lms.entity.Notification;
 import com.ysc.lms.entity.User;
@@ -29,6 +31,7 @@ public class DashboardController {
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final NotificationRepository notificationRepository;
+    private final UserDashboardService userDashboardService;
 
     /**
      * 사용자 대시보드 데이터 조회
@@ -46,27 +49,18 @@ public class DashboardController {
                 ));
             }
 
-            // 사용자의 주문 목록 조회
-            List<Order> userOrders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
-            log.info("Found {} orders for user {}", userOrders.size(), userId);
-
-            // 통계 계산
-            long totalOrders = userOrders.size();
-            long pendingOrders = userOrders.stream()
-                .filter(order -> isPendingStatus(order.getStatus()))
-                .count();
-            long completedOrders = userOrders.stream()
-                .filter(order -> isCompletedStatus(order.getStatus()))
-                .count();
+            // 요약 통계 (사용자 요약 프로젝션) + 최근 주문 10건
+            UserDashboardSummary summary = userDashboardService.getSummary(userId);
+            List<Order> recentOrders = orderRepository.findTop10ByUserIdOrderByCreatedAtDesc(userId);
 
             // 대시보드 응답 구성
             Map<String, Object> dashboardData = new HashMap<>();
             dashboardData.put("statusCounts", Map.of(
-                "total", totalOrders,
-                "pending", pendingOrders,
-                "completed", completedOrders
+                "total", summary.getTotalOrders(),
+                "pending", summary.getPendingOrders(),
+                "completed", summary.getCompletedOrders()
             ));
-            dashboardData.put("recentOrders", userOrders.subList(0, Math.min(10, userOrders.size())));
+            dashboardData.put("recentOrders", recentOrders);
             dashboardData.put("paymentInfo", Map.of(
                 "totalPaid", 0,
                 "pendingAmount", 0
@@ -94,12 +88,12 @@ public class DashboardController {
         try {
             log.info("Getting stats for userId: {}", userId);
             
-            List<Order> userOrders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
+            UserDashboardSummary summary = userDashboardService.getSummary(userId);
             
             Map<String, Object> stats = new HashMap<>();
-            stats.put("totalOrders", userOrders.size());
-            stats.put("pendingOrders", userOrders.stream().filter(order -> isPendingStatus(order.getStatus())).count());
-            stats.put("completedOrders", userOrders.stream().filter(order -> isCompletedStatus(order.getStatus())).count());
+            stats.put("totalOrders", summary.getTotalOrders());
+            stats.put("pendingOrders", summary.getPendingOrders());
+            stats.put("completedOrders", summary.getCompletedOrders());
             stats.put("success", true);
 
             return ResponseEntity.ok(stats);
@@ -121,19 +115,13 @@ public class DashboardController {
         try {
             log.info("Getting summary for userId: {}", userId);
             
-            List<Order> userOrders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
-            
-            // 최근 30일 주문
-            LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-            long recentOrders = userOrders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(thirtyDaysAgo))
-                .count();
+            UserDashboardSummary userSummary = userDashboardService.getSummary(userId);
 
             Map<String, Object> summary = new HashMap<>();
-            summary.put("totalOrders", userOrders.size());
-            summary.put("recentOrders", recentOrders);
-            summary.put("warehouseItems", userOrders.stream().filter(order -> 
-                Order.OrderStatus.ARRIVED.equals(order.getStatus()) || Order.OrderStatus.REPACKING.equals(order.getStatus())).count());
+            summary.put("totalOrders", userSummary.getTotalOrders());
+            summary.put("recentOrders", userSummary.getRecentOrders()); // 최근 30일 주문
+            summary.put("warehouseItems", userSummary.getWarehouseItems());
+            summary.put("lastActivityAt", userSummary.getLastActivityAt());
             summary.put("success", true);
 
             return ResponseEntity.ok(summary);
@@ -203,8 +191,8 @@ public class DashboardController {
     @GetMapping("/user/{userId}/recent-activity")
     public ResponseEntity<?> getRecentActivity(@PathVariable Long userId) {
         try {
-            List<Order> recentOrders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId)
-                .subList(0, Math.min(5, orderRepository.findByUserIdOrderByCreatedAtDesc(userId).size()));
+            List<Order> latestOrders = orderRepository.findTop10ByUserIdOrderByCreatedAtDesc(userId);
+            List<Order> recentOrders = latestOrders.subList(0, Math.min(5, latestOrders.size()));
 
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -220,17 +208,6 @@ public class DashboardController {
         }
     }
 
-    private boolean isPendingStatus(Order.OrderStatus status) {
-        return List.of(Order.OrderStatus.RECEIVED, Order.OrderStatus.ARRIVED, Order.OrderStatus.REPACKING, 
-                      Order.OrderStatus.SHIPPING, Order.OrderStatus.BILLING, Order.OrderStatus.PAYMENT_PENDING)
-            .contains(status);
-    }
-
-    private boolean isCompletedStatus(Order.OrderStatus status) {
-        return List.of(Order.OrderStatus.DELIVERED, Order.OrderStatus.COMPLETED, Order.OrderStatus.PAYMENT_CONFIRMED)
-            .contains(status);
-    }
-
     @PostMapping("/test/create-notifications")
     public ResponseEntity<?> createTestNotifications() {
         try {
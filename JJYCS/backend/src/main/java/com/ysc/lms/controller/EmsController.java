@@ -79,7 +79,7 @@ public class EmsController {
     @GetMapping("/hscode")
     @Operation(
         summary = "HS 코드 검색 (폴백)", 
-        description = "HD API 실패 시 EMS API를 통한 HS 코드 검색"
+        description = "HD API 실패 시 HS 코드 검색 - 오프라인 관세율표 색인 우선, 색인에 없으면 EMS API"
     )
     public ResponseEntity<Map<String, Object>> searchHsCode(
             @Parameter(description = "검색 키워드")
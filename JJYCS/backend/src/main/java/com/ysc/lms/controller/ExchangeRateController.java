@@ -4,9 +4,11 @@ import com.ysc.lms.service.ExchangeRateService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -114,6 +116,33 @@ public class ExchangeRateController {
         }
     }
     
+    /**
+     * 수동 환율 기록 (관리자용) - 외부 환율 피드가 꺼져 있을 때 고시 환율을 이력에 입력
+     */
+    @PostMapping("/manual")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> recordManualRates(@RequestBody ManualRateRequest request) {
+        try {
+            LocalDate rateDate = request.getRateDate() != null ? request.getRateDate() : LocalDate.now();
+            exchangeRateService.recordManualRates(request.getRates(), rateDate);
+            
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "rateDate", rateDate,
+                "recorded", request.getRates().size(),
+                "message", "환율이 기록되었습니다."
+            ));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to record manual exchange rates", e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of("success", false, "error", "환율 기록에 실패했습니다."));
+        }
+    }
+    
     /**
      * 통화 변환 요청 DTO
      */
@@ -132,4 +161,19 @@ public class ExchangeRateController {
         public String getToCurrency() { return toCurrency; }
         public void setToCurrency(String toCurrency) { this.toCurrency = toCurrency; }
     }
+    
+    /**
+     * 수동 환율 기록 요청 DTO (rates: 통화코드 -> 1 단위당 KRW, rateDate 생략 시 오늘)
+     */
+    public static class ManualRateRequest {
+        private LocalDate rateDate;
+        private Map<String, BigDecimal> rates;
+        
+        // Getters and Setters
+        public LocalDate getRateDate() { return rateDate; }
+        public void setRateDate(LocalDate rateDate) { this.rateDate = rateDate; }
+        
+        public Map<String, BigDecimal> getRates() { return rates; }
+        public void setRates(Map<String, BigDecimal> rates) { this.rates = rates; }
+    }
 }
\ No newline at end of file
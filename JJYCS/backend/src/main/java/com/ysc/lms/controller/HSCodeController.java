@@ -1,5 +1,7 @@
 package com.ysc.lms.controller;
 
+import com.ysc.lms.hscode.HsCodeIndexService;
+import com.ysc.lms.hscode.HsCodeMatch;
 import com.ysc.lms.service.HSCodeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,7 +9,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/hscode")
@@ -17,6 +22,7 @@ import java.util.Map;
 public class HsCodeController {
 
     private final HSCodeService hsCodeService;
+    private final HsCodeIndexService hsCodeIndexService;
 
     /**
      * 테스트용 간단한 엔드포인트
@@ -259,6 +265,53 @@ public class HsCodeController {
         return response;
     }
 
+    /**
+     * HS 코드 자동완성 (오프라인 관세율표 색인 - 세번 접두사 또는 한글/영문 품목명)
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<Map<String, Object>> autocomplete(@RequestParam String q,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            if (q == null || q.trim().isEmpty()) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "error", "검색어를 입력해주세요."));
+            }
+
+            List<Map<String, Object>> items = hsCodeIndexService.search(q.trim(), limit).stream()
+                .map(this::toAutocompleteItem)
+                .collect(Collectors.toList());
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "data", items,
+                "count", items.size()
+            ));
+        } catch (Exception e) {
+            log.error("Error in HS code autocomplete: {}", q, e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of("success", false, "error", "HS 코드 검색 중 오류가 발생했습니다."));
+        }
+    }
+
+    /**
+     * 관세율표 색인 재적재 (관리자 전용)
+     */
+    @PostMapping("/index/reload")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> reloadIndex() {
+        try {
+            int size = hsCodeIndexService.reload();
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "관세율표 색인을 다시 불러왔습니다.",
+                "size", size
+            ));
+        } catch (Exception e) {
+            log.error("Error reloading HS code index", e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of("success", false, "error", "관세율표 색인 재적재 중 오류가 발생했습니다."));
+        }
+    }
+
     /**
      * 캐시 통계 조회 (관리자 전용)
      */
@@ -316,6 +369,18 @@ public class HsCodeController {
         }
     }
 
+    private Map<String, Object> toAutocompleteItem(HsCodeMatch match) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("hsCode", match.getEntry().getCode());
+        item.put("koreanName", match.getEntry().getKoreanName());
+        item.put("englishName", match.getEntry().getEnglishName());
+        item.put("unit", match.getEntry().getUnit());
+        item.put("basicRate", match.getEntry().getBasicRate());
+        item.put("matchType", match.getMatchType());
+        item.put("score", Math.round(match.getScore() * 1000) / 1000.0);
+        return item;
+    }
+
     // Fallback data methods for external API failures
     private Map<String, Object> createFallbackHSCodeResponse(String productName) {
         return Map.of(
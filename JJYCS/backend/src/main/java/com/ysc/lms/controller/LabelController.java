@@ -1,14 +1,20 @@
 package com.ysc.lms.controller;
 
 import com.ysc.lms.entity.Order;
+import com.ysc.lms.label.LabelRenderingEngine;
+import com.ysc.lms.label.LabelSpec;
+import com.ysc.lms.label.SheetFormat;
 import com.ysc.lms.repository.OrderRepository;
 import com.ysc.lms.service.LabelService;
 import com.ysc.lms.service.QrCodeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -23,6 +29,7 @@ public class LabelController {
     private final OrderRepository orderRepository;
     private final LabelService labelService;
     private final QrCodeService qrCodeService;
+    private final LabelRenderingEngine labelRenderingEngine;
 
     /**
      * 주문 라벨 생성
@@ -140,21 +147,16 @@ public class LabelController {
     }
 
     /**
-     * 라벨 다운로드
+     * 라벨 다운로드 - 주문 라벨과 전체 박스 라벨을 PDF 한 파일(라벨당 한 페이지)로 스트리밍
+     * 예전에는 다운로드 URL 만 돌려줬지만 이제 수취인 이름/주소가 찍힌 라벨 자체를 내려주므로,
+     * 같은 라벨을 만드는 주문 라벨 생성(POST /order/{orderNumber})과 동일하게 관리자/창고 사용자로 제한한다
      */
     @GetMapping("/download/{orderNumber}.pdf")
-    public ResponseEntity<Map<String, Object>> downloadLabel(@PathVariable String orderNumber) {
+    @PreAuthorize("hasRole('ADMIN') or hasRole('WAREHOUSE')")
+    public ResponseEntity<?> downloadLabel(@PathVariable String orderNumber) {
         try {
             log.info("Label download requested for order: {}", orderNumber);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "라벨 PDF가 준비되었습니다.");
-            response.put("orderNumber", orderNumber);
-            response.put("downloadUrl", "/api/labels/download/" + orderNumber + ".pdf");
-            
-            return ResponseEntity.ok(response);
-            
+            return sheetResponse(labelService.getOrderSheetSpecs(orderNumber), SheetFormat.PDF, orderNumber);
         } catch (Exception e) {
             log.error("Failed to download label for order: {}", orderNumber, e);
             return ResponseEntity.badRequest()
@@ -162,6 +164,35 @@ public class LabelController {
         }
     }
 
+    /**
+     * 박스 라벨 일괄 출력 (pdf: 박스당 한 페이지, png: 세로로 이어 붙인 한 장)
+     */
+    @GetMapping("/order/{orderNumber}/boxes.{format}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('WAREHOUSE')")
+    public ResponseEntity<?> printBoxLabels(@PathVariable String orderNumber, @PathVariable String format) {
+        try {
+            SheetFormat sheetFormat = SheetFormat.fromExtension(format);
+            List<LabelSpec> specs = labelService.getBoxSheetSpecs(orderNumber);
+            log.info("Printing {} box labels for order: {} as {}", specs.size(), orderNumber, sheetFormat);
+            return sheetResponse(specs, sheetFormat, orderNumber + "-boxes");
+        } catch (Exception e) {
+            log.error("Failed to print box labels for order: {}", orderNumber, e);
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "error", "박스 라벨 출력에 실패했습니다: " + e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> sheetResponse(List<LabelSpec> specs, SheetFormat format, String fileName) {
+        StreamingResponseBody body = outputStream -> labelRenderingEngine.writeSheet(specs, format, outputStream);
+        return ResponseEntity.ok()
+            .contentType(format.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(fileName + "." + format.getExtension())
+                .build()
+                .toString())
+            .body(body);
+    }
+
     /**
      * QR 코드 스캔 처리
      */
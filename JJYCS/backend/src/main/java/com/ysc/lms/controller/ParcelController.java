@@ -1,16 +1,24 @@
 package com.ysc.lms.controller;
 
+import com.ysc.lms.entity.Order;
 import com.ysc.lms.entity.Parcel;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.service.OrderService;
 import com.ysc.lms.service.ParcelTrackingService;
 import com.ysc.lms.repository.ParcelRepository;
+import com.ysc.lms.repository.UserRepository;
+import com.ysc.lms.tracking.TrackingLookupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * 택배/송장 관리 API
@@ -23,6 +31,9 @@ public class ParcelController {
     
     private final ParcelTrackingService parcelTrackingService;
     private final ParcelRepository parcelRepository;
+    private final TrackingLookupService trackingLookupService;
+    private final OrderService orderService;
+    private final UserRepository userRepository;
     
     /**
      * 송장번호 유효성 확인 (주문폼에서 사용)
@@ -65,6 +76,58 @@ public class ParcelController {
         }
     }
     
+    /**
+     * 송장 추적 조회 (고객 주문 화면) - 동일 송장 동시 조회는 택배사 요청 1건으로 합쳐지고 캐시 결과를 우선 응답
+     */
+    @GetMapping("/tracking")
+    public Mono<ResponseEntity<Map<String, Object>>> getTracking(@RequestParam String carrier,
+                                                                 @RequestParam String trackingNumber) {
+        if (!TrackingLookupService.isValidRequest(carrier, trackingNumber)) {
+            return Mono.just(ResponseEntity.badRequest()
+                .body(Map.of("success", false, "message", "택배사 또는 송장번호 형식이 올바르지 않습니다.")));
+        }
+        return trackingLookupService.lookup(carrier, trackingNumber)
+            .map(view -> ResponseEntity.ok(Map.<String, Object>of(
+                "success", true,
+                "tracking", view
+            )))
+            .onErrorResume(e -> {
+                log.error("Error looking up tracking: {} for carrier: {}", trackingNumber, carrier, e);
+                return Mono.just(ResponseEntity.internalServerError()
+                    .body(Map.of("success", false, "message", "배송 조회 중 오류가 발생했습니다.")));
+            });
+    }
+    
+    /**
+     * 주문의 전체 송장 추적 조회 - 주문 소유자, 관리자, 창고 사용자만 가능
+     */
+    @GetMapping("/order/{orderId}/tracking")
+    @PreAuthorize("isAuthenticated()")
+    public Mono<ResponseEntity<Map<String, Object>>> getOrderTracking(@PathVariable Long orderId,
+                                                                      Authentication authentication) {
+        Optional<Order> order = orderService.findById(orderId);
+        if (order.isEmpty()) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        User user = userRepository.findByEmail(authentication.getName()).orElse(null);
+        if (!orderService.isOrderAccessible(order.get(), user)) {
+            return Mono.just(ResponseEntity.status(403)
+                .body(Map.of("success", false, "message", "해당 주문을 조회할 권한이 없습니다.")));
+        }
+        return trackingLookupService.lookupOrder(orderId)
+            .map(views -> ResponseEntity.ok(Map.<String, Object>of(
+                "success", true,
+                "orderId", orderId,
+                "trackings", views,
+                "count", views.size()
+            )))
+            .onErrorResume(e -> {
+                log.error("Error looking up tracking for order: {}", orderId, e);
+                return Mono.just(ResponseEntity.internalServerError()
+                    .body(Map.of("success", false, "message", "배송 조회 중 오류가 발생했습니다.")));
+            });
+    }
+    
     /**
      * 입고 스캔 매칭 (창고에서 사용)
      */
@@ -3,6 +3,7 @@ package com.ysc.lms.controller;
 import com.ysc.lms.service.EnhancedQrCodeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -59,6 +60,26 @@ public class QrCodeController {
         }
     }
     
+    /**
+     * QR 코드/바코드 PNG 바이트 (data 를 그대로 인코딩, Base64 변환 없이 응답 본문으로 바로 전송)
+     */
+    @PostMapping("/generate.png")
+    @PreAuthorize("hasAnyRole('USER', 'CORPORATE', 'PARTNER', 'WAREHOUSE', 'ADMIN')")
+    public ResponseEntity<?> generateQrCodePng(@RequestBody QrCodeRequest request) {
+        try {
+            String labelText = "LABEL".equalsIgnoreCase(request.getType()) ? request.getLabelText() : null;
+            byte[] png = qrCodeService.renderPng(request.getType(), request.getData(), labelText);
+            return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .body(png);
+        } catch (Exception e) {
+            log.error("Failed to generate QR code PNG: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     /**
      * QR 코드 스캔 (디코딩)
      */
@@ -2,6 +2,7 @@ package com.ysc.lms.controller;
 
 import com.ysc.lms.constants.ErrorCodes;
 import com.ysc.lms.dto.ApiResponse;
+import com.ysc.lms.dto.BulkOrderResult;
 import com.ysc.lms.dto.OrderResponse;
 import com.ysc.lms.dto.SimpleCreateOrderRequest;
 import com.ysc.lms.entity.Order;
@@ -9,6 +10,8 @@ import com.ysc.lms.entity.User;
 import com.ysc.lms.exception.BusinessRuleViolationException;
 import com.ysc.lms.exception.ForbiddenException;
 import com.ysc.lms.exception.ResourceNotFoundException;
+import com.ysc.lms.service.BulkOrderService;
+import com.ysc.lms.service.OrderService.CreateOrderRequest;
 import com.ysc.lms.service.SimpleOrderService;
 import com.ysc.lms.service.UserService;
 import jakarta.validation.Valid;
@@ -36,6 +39,7 @@ import java.util.List;
 public class SimpleOrderController {
     
     private final SimpleOrderService simpleOrderService;
+    private final BulkOrderService bulkOrderService;
     private final UserService userService;
     
     /**
@@ -92,6 +96,55 @@ public class SimpleOrderController {
         }
     }
     
+    /**
+     * 대량 주문 생성 - POST /api/orders/bulk (B2B 일괄 접수, 주문별 결과 반환)
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('CORPORATE') or hasRole('PARTNER')")
+    public ResponseEntity<ApiResponse<BulkOrderResult>> createOrders(
+            @RequestBody List<CreateOrderRequest> requests,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        
+        try {
+            User user = userService.findByEmail(userDetails.getUsername())
+                    .orElseThrow(() -> new ResourceNotFoundException("사용자를 찾을 수 없습니다."));
+            
+            if (user.getStatus() != User.UserStatus.ACTIVE) {
+                throw new ForbiddenException(ErrorCodes.FORBIDDEN_NOT_APPROVED,
+                    "승인된 계정만 주문을 생성할 수 있습니다.");
+            }
+            
+            for (CreateOrderRequest request : requests) {
+                if (request != null) {
+                    request.setUserId(user.getId());
+                }
+            }
+            
+            BulkOrderResult result = bulkOrderService.createOrders(requests);
+            
+            log.info("대량 주문 생성 완료: 사용자={}, 요청={}, 성공={}, 실패={}",
+                    user.getEmail(), result.getRequested(), result.getSucceeded(), result.getFailed());
+            
+            return ResponseEntity.ok(ApiResponse.success(result,
+                    String.format("%d건 중 %d건의 주문이 생성되었습니다.", result.getRequested(), result.getSucceeded())));
+            
+        } catch (ForbiddenException e) {
+            log.warn("대량 주문 생성 권한 오류: {}", e.getMessage());
+            return ResponseEntity.status(403)
+                    .body(ApiResponse.error(e.getErrorCode(), e.getMessage()));
+                    
+        } catch (IllegalArgumentException e) {
+            log.warn("대량 주문 생성 요청 오류: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(ErrorCodes.VALIDATION_ERROR, e.getMessage()));
+                    
+        } catch (Exception e) {
+            log.error("대량 주문 생성 중 오류 발생", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error(ErrorCodes.INTERNAL_ERROR, "대량 주문 생성 중 오류가 발생했습니다."));
+        }
+    }
+    
     /**
      * 주문 제출 - PATCH /api/orders/{id}/submit
      */
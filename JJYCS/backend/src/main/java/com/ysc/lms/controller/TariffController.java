@@ -1,6 +1,7 @@
 package com.ysc.lms.controller;
 
 import com.ysc.lms.service.TariffCalculationService;
+import com.ysc.lms.service.TariffCalculationService.TariffBatchQuote;
 import com.ysc.lms.service.TariffCalculationService.TariffCalculationRequest;
 import com.ysc.lms.service.TariffCalculationService.TariffCalculationResult;
 import lombok.RequiredArgsConstructor;
@@ -53,30 +54,27 @@ public class TariffController {
     }
     
     /**
-     * 일괄 관세 계산 (여러 품목)
+     * 일괄 관세 계산 (여러 품목) - 품목 순서대로 줄별 결과와 합계
      */
     @PostMapping("/calculate-batch")
     public ResponseEntity<Map<String, Object>> calculateTariffBatch(@RequestBody BatchCalculationRequest request) {
         try {
-            Map<String, TariffCalculationResult> results = new HashMap<>();
-            
-            for (TariffCalculationRequest item : request.getItems()) {
-                if (item.getCurrency() == null || item.getCurrency().isEmpty()) {
-                    item.setCurrency(request.getDefaultCurrency() != null ? request.getDefaultCurrency() : "USD");
-                }
-                
-                TariffCalculationResult result = tariffCalculationService.calculateTariff(item);
-                results.put(item.getHsCode() + "_" + System.currentTimeMillis(), result);
-            }
+            TariffBatchQuote quote = tariffCalculationService.quoteBatch(request.getItems(), request.getDefaultCurrency());
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("results", results);
-            response.put("itemCount", results.size());
+            response.put("result", quote);
+            response.put("itemCount", quote.getItemCount());
             response.put("message", "일괄 관세 계산이 완료되었습니다.");
             
             return ResponseEntity.ok(response);
             
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of(
+                    "success", false, 
+                    "error", e.getMessage()
+                ));
         } catch (Exception e) {
             log.error("Failed to calculate batch tariff", e);
             return ResponseEntity.internalServerError()
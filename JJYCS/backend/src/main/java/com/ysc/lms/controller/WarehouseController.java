@@ -1,19 +1,40 @@
 package com.ysc.lms.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysc.lms.dto.warehouse.InventoryStatusRow;
+import com.ysc.lms.dto.warehouse.LoadPlanRequest;
+import com.ysc.lms.dto.warehouse.PickWaveRequest;
+import com.ysc.lms.dto.warehouse.PutAwayRequest;
+import com.ysc.lms.dto.warehouse.ScanBatchRequest;
+import com.ysc.lms.entity.Order;
 import com.ysc.lms.entity.ScanEvent;
+import com.ysc.lms.entity.StorageLocation;
+import com.ysc.lms.scan.ScanIngestionPipeline;
+import com.ysc.lms.scan.ScanSubmitResult;
+import com.ysc.lms.loadplan.LoadPlan;
+import com.ysc.lms.loadplan.LoadPlanningService;
+import com.ysc.lms.picking.PickPathService;
+import com.ysc.lms.picking.PickWavePlan;
 import com.ysc.lms.service.WarehouseService;
+import com.ysc.lms.slotting.LocationSlot;
+import com.ysc.lms.slotting.SlottingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/warehouse")
@@ -22,7 +43,14 @@ import java.util.ArrayList;
 @Slf4j
 public class WarehouseController {
     
+    private static final String NDJSON = "application/x-ndjson";
+    
     private final WarehouseService warehouseService;
+    private final ScanIngestionPipeline scanIngestionPipeline;
+    private final SlottingService slottingService;
+    private final PickPathService pickPathService;
+    private final LoadPlanningService loadPlanningService;
+    private final ObjectMapper objectMapper;
 
     /**
      * 창고 스캔 - 입고
@@ -133,6 +161,43 @@ public class WarehouseController {
         }
     }
 
+    /**
+     * 스캐너 단말기 스캔 배치 수집 (비동기 반영 - 202 응답 후 수 초 내 스캔 이력에 나타남)
+     * 대기열이 가득 차면 429 + Retry-After, 같은 scanId 재전송은 duplicates 로 집계되고 다시 반영되지 않는다
+     */
+    @PostMapping("/scan/ingest")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('WAREHOUSE')")
+    public ResponseEntity<?> ingestScans(@RequestBody ScanBatchRequest request, Authentication authentication) {
+        try {
+            ScanSubmitResult result = scanIngestionPipeline.submit(request, authentication.getName());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("deviceId", request.getDeviceId());
+            response.put("queueDepth", result.getQueueDepth());
+            if (result.isOverloaded()) {
+                response.put("success", false);
+                response.put("error", "스캔 처리 대기열이 가득 찼습니다. 잠시 후 다시 전송해 주세요.");
+                response.put("retryAfterSeconds", result.getRetryAfterSeconds());
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(result.getRetryAfterSeconds()))
+                    .body(response);
+            }
+            response.put("success", true);
+            response.put("accepted", result.getAccepted());
+            response.put("duplicates", result.getDuplicates());
+            response.put("message", "스캔이 접수되었습니다.");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Scan ingest error", e);
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "error", "스캔 접수 중 오류가 발생했습니다."));
+        }
+    }
+
     /**
      * 일괄 처리
      */
@@ -173,16 +238,18 @@ public class WarehouseController {
     }
 
     /**
-     * 재고 조회
+     * 재고 조회 (keyset 페이지: 응답의 nextCursor 를 afterId 로 전달)
      */
     @GetMapping("/{warehouseId}/inventory")
     @PreAuthorize("hasRole('ADMIN') or hasRole('WAREHOUSE')")
     public ResponseEntity<?> getInventory(@PathVariable String warehouseId, 
-                                        @RequestParam(required = false) String status) {
+                                        @RequestParam(required = false) String status,
+                                        @RequestParam(required = false) Long afterId,
+                                        @RequestParam(defaultValue = "" + WarehouseService.DEFAULT_INVENTORY_PAGE_SIZE) int size) {
         try {
-            log.info("Getting inventory for warehouse: {}, status: {}", warehouseId, status);
+            log.info("Getting inventory for warehouse: {}, status: {}, afterId: {}", warehouseId, status, afterId);
             
-            Map<String, Object> inventoryData = warehouseService.getInventoryStatus(warehouseId, status);
+            Map<String, Object> inventoryData = warehouseService.getInventoryStatus(warehouseId, status, afterId, size);
             
             return ResponseEntity.ok(inventoryData);
             
@@ -193,6 +260,48 @@ public class WarehouseController {
         }
     }
 
+    /**
+     * 재고 전체 스트리밍 (NDJSON - 한 줄에 한 주문)
+     * 페이지 단위로 조회/전송하므로 주문 수와 무관하게 메모리 사용량이 일정함
+     * 응답이 시작되면 상태 코드를 바꿀 수 없으므로 상태 필터는 스트리밍 전에 검사해 400 으로 돌려줌
+     */
+    @GetMapping(value = "/{warehouseId}/inventory/stream", produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('WAREHOUSE')")
+    public ResponseEntity<?> streamInventory(@PathVariable String warehouseId,
+                                             @RequestParam(required = false) String status) {
+        log.info("Streaming inventory for warehouse: {}, status: {}", warehouseId, status);
+        
+        String statusFilter;
+        try {
+            Order.OrderStatus orderStatus = WarehouseService.parseInventoryStatus(status);
+            statusFilter = orderStatus != null ? orderStatus.name() : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("success", false, "error", e.getMessage()));
+        }
+        
+        StreamingResponseBody body = outputStream -> {
+            Long cursor = null;
+            List<InventoryStatusRow> page;
+            do {
+                page = warehouseService.getInventoryPage(statusFilter, cursor, WarehouseService.DEFAULT_INVENTORY_PAGE_SIZE);
+                for (InventoryStatusRow row : page) {
+                    outputStream.write(objectMapper.writeValueAsBytes(row));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+                if (!page.isEmpty()) {
+                    cursor = page.get(page.size() - 1).getOrderId();
+                }
+            } while (page.size() == WarehouseService.DEFAULT_INVENTORY_PAGE_SIZE);
+        };
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(NDJSON))
+            .body(body);
+    }
+
     /**
      * 창고 위치 조회
      */
@@ -253,6 +362,129 @@ public class WarehouseController {
         }
     }
     
+    /**
+     * 적치 위치 추천 - 상자가 들어가는 위치를 잔여 부피가 작은 순으로
+     */
+    @PostMapping("/slotting/suggest")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('WAREHOUSE')")
+    public ResponseEntity<?> suggestPutAway(@RequestBody PutAwayRequest request) {
+        try {
+            List<LocationSlot> candidates = slottingService.suggest(request);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("candidates", candidates);
+            response.put("count", candidates.size());
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Put-away suggestion error", e);
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "error", "적치 위치 추천 중 오류가 발생했습니다."));
+        }
+    }
+    
+    /**
+     * 추천 위치 중 가장 알맞은 곳 예약
+     */
+    @PostMapping("/slotting/reserve")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('WAREHOUSE')")
+    public ResponseEntity<?> reservePutAway(@RequestBody PutAwayRequest request, Authentication authentication) {
+        try {
+            if (request.getReservedBy() == null || request.getReservedBy().isBlank()) {
+                request.setReservedBy(authentication.getName());
+            }
+            Optional<StorageLocation> reserved = slottingService.reserveBest(request);
+            if (reserved.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("success", false, "error", "적치 가능한 위치가 없습니다."));
+            }
+            
+            StorageLocation location = reserved.get();
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("locationId", location.getId());
+            response.put("locationCode", location.getLocationCode());
+            response.put("reservedBy", location.getReservedBy());
+            response.put("reservedUntil", location.getReservedUntil());
+            response.put("message", "적치 위치가 예약되었습니다.");
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Put-away reservation error", e);
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "error", "적치 위치 예약 중 오류가 발생했습니다."));
+        }
+    }
+    
+    /**
+     * 웨이브 피킹 경로 - 주문 묶음을 피커별로 나눠 위치 좌표 기준 최단에 가까운 순서로 정렬
+     */
+    @PostMapping("/picking/wave")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('WAREHOUSE')")
+    public ResponseEntity<?> planPickWave(@RequestBody PickWaveRequest request) {
+        try {
+            PickWavePlan plan = pickPathService.planWave(request.getOrderNumbers(), request.getPickers());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("routes", plan.getRoutes());
+            response.put("lineCount", plan.getLineCount());
+            response.put("stopCount", plan.getStopCount());
+            response.put("totalDistance", plan.getTotalDistance());
+            response.put("baselineDistance", plan.getBaselineDistance());
+            response.put("savingRatio", plan.getSavingRatio());
+            response.put("unlocatedOrders", plan.getUnlocatedOrders());
+            response.put("computeMillis", plan.getComputeMillis());
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Pick wave planning error", e);
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "error", "피킹 경로 계산 중 오류가 발생했습니다."));
+        }
+    }
+    
+    /**
+     * 합포장 컨테이너 적재 계획 - 박스별 적재 좌표와 컨테이너별 이용률
+     */
+    @PostMapping("/load-plan")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('WAREHOUSE')")
+    public ResponseEntity<?> planContainerLoad(@RequestBody LoadPlanRequest request) {
+        try {
+            LoadPlan plan = loadPlanningService.plan(request.getOrderNumbers(), request.getProfile(), request.getMaxContainers());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("profile", plan.getProfile());
+            response.put("containers", plan.getContainers());
+            response.put("containerCount", plan.getContainers().size());
+            response.put("unplaced", plan.getUnplaced());
+            response.put("totalCbm", plan.getTotalCbm());
+            response.put("volumeOnlyEstimate", plan.getVolumeOnlyEstimate());
+            response.put("volumeUtilisation", plan.getVolumeUtilisation());
+            response.put("computeMillis", plan.getComputeMillis());
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Container load planning error", e);
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "error", "적재 계획 계산 중 오류가 발생했습니다."));
+        }
+    }
+    
     /**
      * 스캔 히스토리 조회
      */
@@ -0,0 +1,45 @@
+package com.ysc.lms.dashboard;
+
+import com.ysc.lms.entity.Order;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 사용자 대시보드 주문 상태 구분 (진행중/완료/창고 보관중)
+ * 창고 보관중은 진행중에 포함되는 하위 구분이다
+ */
+public final class OrderStatusBuckets {
+
+    private static final Set<Order.OrderStatus> PENDING = EnumSet.of(
+        Order.OrderStatus.RECEIVED, Order.OrderStatus.ARRIVED, Order.OrderStatus.REPACKING,
+        Order.OrderStatus.SHIPPING, Order.OrderStatus.BILLING, Order.OrderStatus.PAYMENT_PENDING);
+
+    private static final Set<Order.OrderStatus> COMPLETED = EnumSet.of(
+        Order.OrderStatus.DELIVERED, Order.OrderStatus.COMPLETED, Order.OrderStatus.PAYMENT_CONFIRMED);
+
+    private static final Set<Order.OrderStatus> WAREHOUSE = EnumSet.of(
+        Order.OrderStatus.ARRIVED, Order.OrderStatus.REPACKING);
+
+    private OrderStatusBuckets() {
+    }
+
+    public static boolean isPending(Order.OrderStatus status) {
+        return status != null && PENDING.contains(status);
+    }
+
+    public static boolean isCompleted(Order.OrderStatus status) {
+        return status != null && COMPLETED.contains(status);
+    }
+
+    public static boolean isWarehouse(Order.OrderStatus status) {
+        return status != null && WAREHOUSE.contains(status);
+    }
+
+    /**
+     * 상태 전환에 따른 구분별 증감 (1, 0, -1)
+     */
+    static long delta(boolean before, boolean after) {
+        return (after ? 1 : 0) - (before ? 1 : 0);
+    }
+}
@@ -0,0 +1,128 @@
+package com.ysc.lms.dashboard;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ysc.lms.entity.UserOrderSummary;
+import com.ysc.lms.repository.OrderRepository;
+import com.ysc.lms.repository.UserOrderSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 사용자 대시보드 요약 조회
+ * user_order_summaries 프로젝션 + 최근 30일 인덱스 COUNT 를 크기 제한 캐시에 담아 제공하고,
+ * 주문 생성/상태 전환 이벤트가 커밋되면 프로젝션을 갱신하고 해당 사용자 캐시를 무효화한다
+ */
+@Service
+@Slf4j
+public class UserDashboardService {
+
+    private static final int RECENT_DAYS = 30;
+
+    private final UserOrderSummaryRepository userOrderSummaryRepository;
+    private final UserOrderSummaryWriter userOrderSummaryWriter;
+    private final OrderRepository orderRepository;
+    private final Cache<Long, UserDashboardSummary> summaryCache;
+    private volatile LocalDateTime lastReconciledAt = LocalDateTime.now().minusDays(1);
+
+    public UserDashboardService(UserOrderSummaryRepository userOrderSummaryRepository,
+                                UserOrderSummaryWriter userOrderSummaryWriter,
+                                OrderRepository orderRepository,
+                                @Value("${app.dashboard.summary-cache.maximum-size:10000}") long maximumSize,
+                                @Value("${app.dashboard.summary-cache.expire-after-write-seconds:300}") long expireAfterWriteSeconds) {
+        this.userOrderSummaryRepository = userOrderSummaryRepository;
+        this.userOrderSummaryWriter = userOrderSummaryWriter;
+        this.orderRepository = orderRepository;
+        // 만료 시간은 최근 30일 집계 구간이 시간 경과로 밀리는 것을 반영하기 위한 상한
+        this.summaryCache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+            .build();
+    }
+
+    public UserDashboardSummary getSummary(Long userId) {
+        return summaryCache.get(userId, this::loadSummary);
+    }
+
+    public void invalidate(Long userId) {
+        summaryCache.invalidate(userId);
+    }
+
+    private UserDashboardSummary loadSummary(Long userId) {
+        UserOrderSummary summary = userOrderSummaryRepository.findById(userId)
+            .orElseGet(() -> rebuild(userId));
+        long recentOrders = orderRepository.countByUserIdCreatedAfter(userId, LocalDateTime.now().minusDays(RECENT_DAYS));
+
+        return new UserDashboardSummary(
+            summary.getTotalOrders(),
+            summary.getPendingOrders(),
+            summary.getCompletedOrders(),
+            summary.getWarehouseItems(),
+            recentOrders,
+            summary.getLastActivityAt());
+    }
+
+    private UserOrderSummary rebuild(Long userId) {
+        try {
+            return userOrderSummaryWriter.rebuild(userId);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 같은 사용자 요약 행을 먼저 생성한 경우
+            return userOrderSummaryRepository.findById(userId).orElseThrow(() -> e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserOrderActivity(UserOrderActivity activity) {
+        if (activity.getUserId() == null) {
+            return;
+        }
+        try {
+            userOrderSummaryWriter.apply(activity);
+        } catch (DataIntegrityViolationException e) {
+            retry(activity);
+        } catch (Exception e) {
+            log.warn("Failed to apply dashboard summary change for user {}, will be corrected by reconciliation: {}",
+                activity.getUserId(), e.getMessage());
+        } finally {
+            summaryCache.invalidate(activity.getUserId());
+        }
+    }
+
+    private void retry(UserOrderActivity activity) {
+        try {
+            userOrderSummaryWriter.apply(activity);
+        } catch (Exception e) {
+            log.warn("Retry of dashboard summary change for user {} failed: {}", activity.getUserId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 보정 - 마지막 보정 이후 주문 변경이 있었던 사용자만 orders 집계로 재구성
+     * (이벤트 유실, 훅이 없는 쓰기 경로로 인한 오차 보정)
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.summary-reconcile-interval-ms:900000}",
+               initialDelayString = "${app.dashboard.summary-reconcile-initial-delay-ms:60000}")
+    public void reconcile() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            List<Long> userIds = orderRepository.findUserIdsWithOrderActivitySince(lastReconciledAt);
+            for (Long userId : userIds) {
+                rebuild(userId);
+                summaryCache.invalidate(userId);
+            }
+            lastReconciledAt = startedAt;
+            log.info("Dashboard summaries reconciled for {} users", userIds.size());
+        } catch (Exception e) {
+            log.error("Dashboard summary reconciliation failed", e);
+        }
+    }
+}
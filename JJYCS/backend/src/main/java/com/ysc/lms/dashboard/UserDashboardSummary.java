@@ -0,0 +1,21 @@
+package com.ysc.lms.dashboard;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자 대시보드 요약 (캐시 값, 불변)
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserDashboardSummary {
+
+    private final long totalOrders;
+    private final long pendingOrders;
+    private final long completedOrders;
+    private final long warehouseItems;
+    private final long recentOrders; // 최근 30일
+    private final LocalDateTime lastActivityAt;
+}
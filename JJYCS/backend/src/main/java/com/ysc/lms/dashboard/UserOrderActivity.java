@@ -0,0 +1,38 @@
+package com.ysc.lms.dashboard;
+
+import com.ysc.lms.entity.Order;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자 주문 생성/상태 전환 이벤트 (previousStatus 가 null 이면 신규 주문)
+ * count 는 같은 전환을 거친 주문 수 (대량 주문 생성 시 사용자별로 묶어 1건으로 발행)
+ */
+@Getter
+public class UserOrderActivity {
+
+    private final Long userId;
+    private final Order.OrderStatus previousStatus;
+    private final Order.OrderStatus newStatus;
+    private final LocalDateTime occurredAt;
+    private final int count;
+
+    public UserOrderActivity(Long userId, Order.OrderStatus previousStatus, Order.OrderStatus newStatus,
+                             LocalDateTime occurredAt) {
+        this(userId, previousStatus, newStatus, occurredAt, 1);
+    }
+
+    public UserOrderActivity(Long userId, Order.OrderStatus previousStatus, Order.OrderStatus newStatus,
+                             LocalDateTime occurredAt, int count) {
+        this.userId = userId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.occurredAt = occurredAt;
+        this.count = count;
+    }
+
+    public boolean isCreated() {
+        return previousStatus == null;
+    }
+}
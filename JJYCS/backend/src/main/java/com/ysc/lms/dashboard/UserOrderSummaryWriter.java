@@ -0,0 +1,97 @@
+package com.ysc.lms.dashboard;
+
+import com.ysc.lms.entity.Order;
+import com.ysc.lms.entity.UserOrderSummary;
+import com.ysc.lms.repository.OrderRepository;
+import com.ysc.lms.repository.UserOrderSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * user_order_summaries 반영 (호출자와 분리된 새 트랜잭션)
+ */
+@Component
+@RequiredArgsConstructor
+public class UserOrderSummaryWriter {
+
+    private final UserOrderSummaryRepository userOrderSummaryRepository;
+    private final OrderRepository orderRepository;
+
+    /**
+     * 주문 생성/상태 전환 증감 반영, 요약 행이 아직 없으면 orders 집계로 생성
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void apply(UserOrderActivity activity) {
+        Order.OrderStatus before = activity.getPreviousStatus();
+        Order.OrderStatus after = activity.getNewStatus();
+        long count = activity.getCount();
+
+        int updated = userOrderSummaryRepository.applyDelta(
+            activity.getUserId(),
+            activity.isCreated() ? count : 0,
+            count * OrderStatusBuckets.delta(OrderStatusBuckets.isPending(before), OrderStatusBuckets.isPending(after)),
+            count * OrderStatusBuckets.delta(OrderStatusBuckets.isCompleted(before), OrderStatusBuckets.isCompleted(after)),
+            count * OrderStatusBuckets.delta(OrderStatusBuckets.isWarehouse(before), OrderStatusBuckets.isWarehouse(after)),
+            activity.getOccurredAt(),
+            LocalDateTime.now());
+
+        if (updated == 0) {
+            rebuildSummary(activity.getUserId());
+        }
+    }
+
+    /**
+     * orders 상태별 집계로 요약 행 재구성 (사용자 주문 인덱스 범위만 읽음)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public UserOrderSummary rebuild(Long userId) {
+        return rebuildSummary(userId);
+    }
+
+    private UserOrderSummary rebuildSummary(Long userId) {
+        UserOrderSummary summary = userOrderSummaryRepository.findById(userId)
+            .orElseGet(() -> new UserOrderSummary(userId));
+
+        long total = 0;
+        long pending = 0;
+        long completed = 0;
+        long warehouse = 0;
+        LocalDateTime lastActivityAt = null;
+
+        for (Object[] row : orderRepository.getStatusSummaryByUserId(userId)) {
+            Order.OrderStatus status = (Order.OrderStatus) row[0];
+            long count = ((Number) row[1]).longValue();
+            total += count;
+            if (OrderStatusBuckets.isPending(status)) {
+                pending += count;
+            }
+            if (OrderStatusBuckets.isCompleted(status)) {
+                completed += count;
+            }
+            if (OrderStatusBuckets.isWarehouse(status)) {
+                warehouse += count;
+            }
+            lastActivityAt = latest(lastActivityAt, (LocalDateTime) row[2]);
+            lastActivityAt = latest(lastActivityAt, (LocalDateTime) row[3]);
+        }
+
+        summary.setTotalOrders(total);
+        summary.setPendingOrders(pending);
+        summary.setCompletedOrders(completed);
+        summary.setWarehouseItems(warehouse);
+        summary.setLastActivityAt(lastActivityAt);
+        summary.setUpdatedAt(LocalDateTime.now());
+        return userOrderSummaryRepository.saveAndFlush(summary);
+    }
+
+    private static LocalDateTime latest(LocalDateTime current, LocalDateTime candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null || candidate.isAfter(current) ? candidate : current;
+    }
+}
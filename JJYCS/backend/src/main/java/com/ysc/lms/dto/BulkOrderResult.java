@@ -0,0 +1,57 @@
+package com.ysc.lms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 대량 주문 생성 결과 - 요청 순서(index)와 동일한 순서의 주문별 성공/실패
+ */
+public class BulkOrderResult {
+
+    private final Entry[] entries;
+    private int succeeded;
+    private int failed;
+
+    public BulkOrderResult(int requested) {
+        this.entries = new Entry[requested];
+    }
+
+    public void succeeded(int index, Long orderId, String orderNumber) {
+        entries[index] = new Entry(index, true, orderId, orderNumber, null);
+        succeeded++;
+    }
+
+    public void failed(int index, String error) {
+        entries[index] = new Entry(index, false, null, null, error);
+        failed++;
+    }
+
+    public int getRequested() {
+        return entries.length;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<Entry> getResults() {
+        return Arrays.asList(entries);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final int index;
+        private final boolean success;
+        private final Long orderId;
+        private final String orderNumber;
+        private final String error;
+    }
+}
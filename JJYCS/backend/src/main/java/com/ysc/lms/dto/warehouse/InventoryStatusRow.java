@@ -0,0 +1,43 @@
+package com.ysc.lms.dto.warehouse;
+
+import com.ysc.lms.entity.Order;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재고 현황 한 행 (Order 엔티티 대신 필요한 컬럼만 조회하는 프로젝션)
+ * 마지막 스캔 정보는 페이지 단위 일괄 조회 결과로 채워진다
+ */
+@Data
+@NoArgsConstructor
+public class InventoryStatusRow {
+
+    private Long orderId;
+    private String orderNumber;
+    private Order.OrderStatus status;
+    private Order.ShippingType orderType;
+    private String recipientName;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // 최근 스캔 이벤트
+    private String lastScanType;
+    private String lastScanLocation;
+    private LocalDateTime lastScannedAt;
+    private String lastScannedBy;
+
+    // JPQL constructor expression 용
+    public InventoryStatusRow(Long orderId, String orderNumber, Order.OrderStatus status,
+                              Order.ShippingType orderType, String recipientName,
+                              LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.status = status;
+        this.orderType = orderType;
+        this.recipientName = recipientName;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
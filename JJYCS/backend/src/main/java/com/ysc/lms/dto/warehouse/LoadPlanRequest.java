@@ -0,0 +1,16 @@
+package com.ysc.lms.dto.warehouse;
+
+import com.ysc.lms.loadplan.ContainerProfile;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 컨테이너 적재 계획 요청 - 합포장(콘솔) 대상 주문번호와 컨테이너 규격
+ */
+@Data
+public class LoadPlanRequest {
+    private List<String> orderNumbers;
+    private ContainerProfile profile = ContainerProfile.CONTAINER_20FT;
+    private Integer maxContainers;
+}
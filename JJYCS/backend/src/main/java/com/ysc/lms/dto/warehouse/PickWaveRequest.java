@@ -0,0 +1,14 @@
+package com.ysc.lms.dto.warehouse;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 웨이브 피킹 경로 요청 - 주문번호 목록과 투입 피커 수
+ */
+@Data
+public class PickWaveRequest {
+    private List<String> orderNumbers;
+    private Integer pickers;
+}
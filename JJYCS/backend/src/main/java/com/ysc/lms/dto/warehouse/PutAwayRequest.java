@@ -0,0 +1,20 @@
+package com.ysc.lms.dto.warehouse;
+
+import com.ysc.lms.entity.StorageLocation;
+import lombok.Data;
+
+/**
+ * 적치 위치 추천 요청 - 상자 치수(cm)와 중량(kg)
+ */
+@Data
+public class PutAwayRequest {
+    private Double widthCm;
+    private Double heightCm;
+    private Double depthCm;
+    private Double weightKg;
+    private StorageLocation.TemperatureZone temperatureZone = StorageLocation.TemperatureZone.NORMAL;
+    private StorageLocation.AccessType accessType; // null 이면 접근 방식 무관
+    private Integer limit;
+    private String reservedBy; // 예약 요청 시
+    private Integer reserveMinutes;
+}
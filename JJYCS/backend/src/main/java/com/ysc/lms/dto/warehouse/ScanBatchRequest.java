@@ -0,0 +1,28 @@
+package com.ysc.lms.dto.warehouse;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 스캐너 단말기 스캔 배치 업로드
+ * scanId 는 단말기 안에서 유일해야 하며 재전송 시 같은 값을 보낸다 (deviceId 와 합쳐 멱등 키로 사용)
+ */
+@Data
+public class ScanBatchRequest {
+    private String deviceId;
+    private String location; // 스캔별 location 이 없을 때 사용
+    private List<ScanItem> scans;
+
+    @Data
+    public static class ScanItem {
+        private String scanId;
+        private Long sequence; // 단말기 스캔 순번 - 있으면 이 순서로 처리
+        private String scanCode;
+        private String scanType;
+        private String location;
+        private String notes;
+        private LocalDateTime scannedAt; // 단말기 스캔 시각
+    }
+}
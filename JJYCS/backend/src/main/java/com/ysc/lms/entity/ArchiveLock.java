@@ -0,0 +1,30 @@
+package com.ysc.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아카이빙 정책별 실행 임대(lease) - 여러 노드 중 한 노드만 같은 정책을 아카이빙하도록 한다
+ * locked_until 이 지난 행은 다른 노드가 가져갈 수 있다 (노드가 죽어도 임대 만료 후 회수)
+ */
+@Entity
+@Table(name = "archive_locks")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchiveLock {
+
+    @Id
+    @Column(name = "policy_id", length = 64)
+    private String policyId;
+
+    @Column(name = "locked_by", nullable = false, length = 100)
+    private String lockedBy;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+}
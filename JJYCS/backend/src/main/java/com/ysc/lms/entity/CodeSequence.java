@@ -0,0 +1,44 @@
+package com.ysc.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 코드 시퀀스 (회원코드/주문코드/HBL 번호 prefix별 채번 상태)
+ * next_value 는 아직 어느 노드에도 예약되지 않은 다음 번호(high-water mark)
+ */
+@Entity
+@Table(name = "code_sequences")
+@Getter
+@Setter
+@NoArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class CodeSequence {
+
+    @Id
+    @Column(name = "prefix", length = 64)
+    private String prefix; // 예: MEMBER:KP, ORDER:AKP001, HBL:HBL241017
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public CodeSequence(String prefix, long nextValue) {
+        this.prefix = prefix;
+        this.nextValue = nextValue;
+    }
+}
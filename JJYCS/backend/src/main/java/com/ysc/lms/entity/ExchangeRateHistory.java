@@ -0,0 +1,52 @@
+package com.ysc.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 일별 환율 이력 (통화별 1일 1행)
+ * 환율은 1 통화 단위당 KRW - 발표가 없는 날(주말/휴일)은 행이 없고 조회 시 직전 발표값을 쓴다
+ */
+@Entity
+@Table(name = "exchange_rate_history", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_exchange_rate_history_currency_date", columnNames = {"currency", "rate_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ExchangeRateHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "rate_date", nullable = false)
+    private LocalDate rateDate;
+
+    @Column(nullable = false, precision = 18, scale = 6)
+    private BigDecimal rate;
+
+    @Column(nullable = false, length = 20)
+    private String source; // API, NAVER, MANUAL
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public ExchangeRateHistory(String currency, LocalDate rateDate) {
+        this.currency = currency;
+        this.rateDate = rateDate;
+        this.createdAt = LocalDateTime.now();
+    }
+}
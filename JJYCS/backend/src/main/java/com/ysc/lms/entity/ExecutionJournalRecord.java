@@ -0,0 +1,53 @@
+package com.ysc.lms.entity;
+
+import com.ysc.lms.journal.JournalSource;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 실행 저널 영속 레코드 (payload 는 출처별 DTO 의 JSON)
+ * 적재는 ExecutionJournal 의 배치 flush 로만 수행한다
+ */
+@Entity
+@Table(name = "execution_journal", indexes = {
+    @Index(name = "idx_execution_journal_source_time", columnList = "source, occurred_at"),
+    @Index(name = "idx_execution_journal_source_tenant_time", columnList = "source, tenant_id, occurred_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ExecutionJournalRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entry_id", nullable = false, unique = true, length = 36)
+    private String entryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false, length = 40)
+    private JournalSource source;
+
+    @Column(name = "tenant_id", length = 100)
+    private String tenantId;
+
+    @Column(name = "entry_key", length = 150)
+    private String entryKey; // 예: ruleId, reportId, dataType, 예측 유형
+
+    @Column(name = "status", length = 40)
+    private String status; // 예: PASSED/FAILED, COMPLETED, 이상 심각도
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -9,8 +9,15 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
+/**
+ * 알림 발송 큐 - NotificationDispatcher 가 (type, status, scheduled_at) 기준으로 배치 선점(PROCESSING + lease_until)해 발송한다
+ * 재시도 대기 건은 PENDING 상태로 scheduled_at 이 다음 시도 시각이다
+ */
 @Entity
-@Table(name = "notification_queue")
+@Table(name = "notification_queue", indexes = {
+    @Index(name = "idx_notification_queue_claim", columnList = "type, status, scheduled_at"),
+    @Index(name = "idx_notification_queue_lease", columnList = "status, lease_until")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -60,6 +67,12 @@ public class NotificationQueue {
     @Column(name = "error_message", length = 500)
     private String errorMessage;
     
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+    
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+    
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -88,6 +101,9 @@ public class NotificationQueue {
     }
     
     public enum SendStatus {
-        PENDING, SENT, FAILED
+        PENDING,    // 발송 대기 (scheduled_at 이후 선점 가능)
+        PROCESSING, // 디스패처가 선점 (lease_until 이 지나면 PENDING 으로 복구)
+        SENT,
+        FAILED      // 재시도 소진 또는 영구 실패
     }
 }
\ No newline at end of file
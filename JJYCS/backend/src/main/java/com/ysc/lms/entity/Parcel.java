@@ -54,6 +54,12 @@ public class Parcel {
     @Column
     private LocalDateTime lastValidatedAt; // 마지막 검증 시간
 
+    @Column
+    private LocalDateTime lastStatusChangedAt; // 마지막으로 택배 상태가 바뀐 시간
+
+    @Column
+    private LocalDateTime nextTrackingCheckAt; // 다음 추적 조회 예정 시간 (null 이면 즉시 대상)
+
     @Column
     private LocalDateTime inboundScanAt; // 입고 스캔 시간
 
@@ -44,6 +44,12 @@ public class ScanEvent {
     @Column(name = "processed")
     private Boolean processed = false; // 처리 완료 여부
     
+    @Column(name = "device_id", length = 64)
+    private String deviceId; // 스캔 단말기 (배치 수집 경로)
+    
+    @Column(name = "idempotency_key", length = 160, unique = true)
+    private String idempotencyKey; // 단말기ID:스캔ID - 단말기 재전송 중복 방지
+    
     public enum ScanType {
         INBOUND,    // 입고
         OUTBOUND,   // 출고  
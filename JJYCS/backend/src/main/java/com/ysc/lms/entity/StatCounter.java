@@ -0,0 +1,67 @@
+package com.ysc.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 대시보드 통계 카운터 (주문 상태/배송 타입/회원 유형/일별 스캔 등)
+ * 쓰기 경로에서 증감하고 주기적 재집계로 보정한다
+ */
+@Entity
+@Table(name = "stat_counters", indexes = {
+    @Index(name = "idx_stat_counters_group_date", columnList = "counter_group, bucket_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class StatCounter {
+
+    @Id
+    @Column(name = "counter_key", length = 150)
+    private String counterKey; // counterGroup:dimension[:bucketDate]
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "counter_group", nullable = false, length = 40)
+    private CounterGroup counterGroup;
+
+    @Column(name = "dimension", nullable = false, length = 80)
+    private String dimension; // 예: RECEIVED, AIR, PARTNER:ACTIVE, INBOUND
+
+    @Column(name = "bucket_date")
+    private LocalDate bucketDate; // 일별 카운터만 사용 (누적 카운터는 null)
+
+    @Column(name = "count_value", nullable = false)
+    private Long countValue = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum CounterGroup {
+        ORDER_STATUS,        // 주문 상태별 누적
+        ORDER_SHIPPING_TYPE, // 배송 타입별 누적
+        ORDER_CREATED_DAILY, // 일별 신규 주문
+        USER_TYPE_STATUS,    // 회원 유형:상태별 누적
+        USER_CREATED_DAILY,  // 일별 신규 회원
+        SCAN_TYPE_DAILY      // 일별 스캔 타입
+    }
+
+    public StatCounter(CounterGroup counterGroup, String dimension, LocalDate bucketDate, long countValue) {
+        this.counterKey = keyOf(counterGroup, dimension, bucketDate);
+        this.counterGroup = counterGroup;
+        this.dimension = dimension;
+        this.bucketDate = bucketDate;
+        this.countValue = countValue;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public static String keyOf(CounterGroup counterGroup, String dimension, LocalDate bucketDate) {
+        return bucketDate == null
+            ? counterGroup.name() + ":" + dimension
+            : counterGroup.name() + ":" + dimension + ":" + bucketDate;
+    }
+}
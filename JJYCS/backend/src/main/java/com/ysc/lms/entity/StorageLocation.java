@@ -1,6 +1,7 @@
 package com.ysc.lms.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.ysc.lms.slotting.StorageLocationSlotListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -23,7 +24,7 @@ import java.util.List;
 @Getter
 @Setter
 @NoArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, StorageLocationSlotListener.class})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class StorageLocation {
 
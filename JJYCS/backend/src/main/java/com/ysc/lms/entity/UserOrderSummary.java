@@ -0,0 +1,47 @@
+package com.ysc.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자 대시보드 주문 요약 (사용자당 1행)
+ * 주문 생성/상태 전환 시 커밋 후 증감하고, 행이 없거나 보정이 필요하면 orders 집계로 재구성한다
+ */
+@Entity
+@Table(name = "user_order_summaries")
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserOrderSummary {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "total_orders", nullable = false)
+    private Long totalOrders = 0L;
+
+    @Column(name = "pending_orders", nullable = false)
+    private Long pendingOrders = 0L; // 진행중 (접수~결제대기)
+
+    @Column(name = "completed_orders", nullable = false)
+    private Long completedOrders = 0L; // 완료 (배송완료/완료/결제완료)
+
+    @Column(name = "warehouse_items", nullable = false)
+    private Long warehouseItems = 0L; // 창고 보관중 (창고도착/리패킹)
+
+    @Column(name = "last_activity_at")
+    private LocalDateTime lastActivityAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public UserOrderSummary(Long userId) {
+        this.userId = userId;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,58 @@
+package com.ysc.lms.entity;
+
+import com.ysc.lms.workflow.WorkflowEngine.WorkflowStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 워크플로우 인스턴스 (진행 상태/컨텍스트)
+ * 노드 실행은 인스턴스 행을 잠근 뒤 수행하므로 병렬 분기와 여러 앱 노드에서도 컨텍스트 갱신이 직렬화된다
+ */
+@Entity
+@Table(name = "workflow_instances", indexes = {
+    @Index(name = "idx_workflow_instances_tenant_workflow_status", columnList = "tenant_id, workflow_id, status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class WorkflowInstanceRecord {
+
+    @Id
+    @Column(name = "instance_id", length = 36)
+    private String instanceId;
+
+    @Column(name = "workflow_id", nullable = false, length = 100)
+    private String workflowId;
+
+    @Column(name = "tenant_id", nullable = false, length = 100)
+    private String tenantId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private WorkflowStatus status;
+
+    @Column(name = "current_node", length = 100)
+    private String currentNode;
+
+    @Column(name = "context", columnDefinition = "TEXT")
+    private String context; // 컨텍스트 맵 JSON
+
+    @Column(name = "started_by", length = 100)
+    private String startedBy;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "last_updated", nullable = false)
+    private LocalDateTime lastUpdated;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+}
@@ -0,0 +1,70 @@
+package com.ysc.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 워크플로우 노드 실행 작업 큐
+ * (status, due_at) 인덱스가 즉시 실행 작업과 타이머 작업(due_at 이 미래)을 함께 처리하는 due-index 역할을 한다
+ * 워커는 SELECT ... FOR UPDATE SKIP LOCKED 로 작업을 선점한다
+ */
+@Entity
+@Table(name = "workflow_jobs", indexes = {
+    @Index(name = "idx_workflow_jobs_status_due", columnList = "status, due_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class WorkflowJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "instance_id", nullable = false, length = 36)
+    private String instanceId;
+
+    @Column(name = "node_id", nullable = false, length = 100)
+    private String nodeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Status {
+        PENDING, // 실행 대기 (due_at 이후 선점 가능)
+        RUNNING, // 워커가 선점 (claimed_at 기준 임대 만료 시 PENDING 으로 복구)
+        FAILED   // 재시도 소진
+    }
+
+    public WorkflowJob(String instanceId, String nodeId, LocalDateTime dueAt) {
+        LocalDateTime now = LocalDateTime.now();
+        this.instanceId = instanceId;
+        this.nodeId = nodeId;
+        this.status = Status.PENDING;
+        this.dueAt = dueAt != null ? dueAt : now;
+        this.createdAt = now;
+    }
+}
@@ -0,0 +1,75 @@
+package com.ysc.lms.entity;
+
+import com.ysc.lms.workflow.WorkflowEngine.TaskStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 워크플로우 사용자 태스크
+ * 후보자는 별도 테이블(user_id 인덱스)로 두어 사용자별 태스크 조회가 인덱스를 탄다
+ */
+@Entity
+@Table(name = "workflow_tasks", indexes = {
+    @Index(name = "idx_workflow_tasks_tenant_assignee_status", columnList = "tenant_id, assigned_to, status"),
+    @Index(name = "idx_workflow_tasks_instance", columnList = "instance_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class WorkflowTaskRecord {
+
+    @Id
+    @Column(name = "task_id", length = 36)
+    private String taskId;
+
+    @Column(name = "instance_id", nullable = false, length = 36)
+    private String instanceId;
+
+    @Column(name = "tenant_id", nullable = false, length = 100)
+    private String tenantId;
+
+    @Column(name = "node_id", nullable = false, length = 100)
+    private String nodeId;
+
+    @Column(name = "name", length = 200)
+    private String name;
+
+    @Column(name = "description", length = 1000)
+    private String description;
+
+    @Column(name = "assigned_to", length = 100)
+    private String assignedTo;
+
+    @ElementCollection
+    @CollectionTable(name = "workflow_task_candidates", joinColumns = @JoinColumn(name = "task_id"),
+        indexes = @Index(name = "idx_workflow_task_candidates_user", columnList = "user_id"))
+    @Column(name = "user_id", length = 100)
+    @BatchSize(size = 100)
+    private List<String> candidateUsers = new ArrayList<>();
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private TaskStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+
+    @Column(name = "completed_by", length = 100)
+    private String completedBy;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "result", columnDefinition = "TEXT")
+    private String result; // 완료 결과 맵 JSON
+}
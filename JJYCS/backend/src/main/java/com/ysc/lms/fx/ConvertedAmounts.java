@@ -0,0 +1,22 @@
+package com.ysc.lms.fx;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 일괄 환산 결과 - 모든 금액이 같은 스냅샷의 같은 환율로 환산된다
+ */
+@Getter
+@AllArgsConstructor
+public class ConvertedAmounts {
+
+    private final String fromCurrency;
+    private final String toCurrency;
+    private final RateQuote fromRate;
+    private final RateQuote toRate;
+    /** 입력 순서 그대로 (null 금액은 null) */
+    private final List<BigDecimal> amounts;
+}
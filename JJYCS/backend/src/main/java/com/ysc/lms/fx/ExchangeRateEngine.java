@@ -0,0 +1,238 @@
+package com.ysc.lms.fx;
+
+import com.ysc.lms.entity.ExchangeRateHistory;
+import com.ysc.lms.repository.ExchangeRateHistoryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 다중 통화 환율 엔진
+ *
+ * exchange_rate_history 의 최근 history-days 일치를 통화별 RateTable 로 만들어 불변 Map 스냅샷으로 들고 있다.
+ * 조회는 volatile 스냅샷 한 번 읽고 배열 인덱스로 끝나며 잠금이 없다. 새 환율 기록(커밋 후)/재적재는 새 스냅샷을
+ * 만들어 통째로 교체하므로 일괄 환산 중에도 한 스냅샷의 환율만 쓴다. 보관 기간보다 오래된 날짜만 DB 로 조회한다.
+ * 다른 인스턴스가 기록한 환율은 reload-ms 주기 재적재와, 스냅샷에 없는 환율 조회 시의 재적재(miss-reload-interval-ms 에
+ * 한 번)로 따라간다. 직전 발표가 max-stale-business-days 영업일보다 오래된 환율은 응답하지 않는다.
+ */
+@Service
+@Slf4j
+public class ExchangeRateEngine {
+
+    public static final String BASE_CURRENCY = "KRW";
+
+    private final ExchangeRateHistoryRepository exchangeRateHistoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int historyDays;
+    private final int maxStaleBusinessDays;
+    private final long missReloadIntervalMillis;
+    private final AtomicLong lastReloadMillis = new AtomicLong();
+    private final Object writeLock = new Object();
+    private volatile Map<String, RateTable> snapshot = Map.of();
+
+    public ExchangeRateEngine(ExchangeRateHistoryRepository exchangeRateHistoryRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.exchange-rate.history-days:730}") int historyDays,
+                              @Value("${app.exchange-rate.max-stale-business-days:3}") int maxStaleBusinessDays,
+                              @Value("${app.exchange-rate.miss-reload-interval-ms:60000}") long missReloadIntervalMillis) {
+        this.exchangeRateHistoryRepository = exchangeRateHistoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.historyDays = historyDays;
+        this.maxStaleBusinessDays = maxStaleBusinessDays;
+        this.missReloadIntervalMillis = missReloadIntervalMillis;
+        Gauge.builder("lms.fx.currencies", this, engine -> engine.snapshot.size())
+            .description("환율 스냅샷 통화 수")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.exchange-rate.reload-ms:600000}",
+               initialDelayString = "${app.exchange-rate.reload-ms:600000}")
+    public void scheduledReload() {
+        reload();
+    }
+
+    /**
+     * DB 이력으로 스냅샷 재구성 - 실패하면 기존 스냅샷 유지
+     */
+    public void reload() {
+        lastReloadMillis.set(System.currentTimeMillis());
+        long started = System.nanoTime();
+        try {
+            Map<String, NavigableMap<LocalDate, RateTable.Published>> byCurrency = new HashMap<>();
+            int rows = 0;
+            for (Object[] row : exchangeRateHistoryRepository.findRatesSince(LocalDate.now().minusDays(historyDays))) {
+                byCurrency.computeIfAbsent((String) row[0], k -> new TreeMap<>())
+                    .put((LocalDate) row[1], new RateTable.Published(RateTable.toMicros((BigDecimal) row[2]), (String) row[3]));
+                rows++;
+            }
+            Map<String, RateTable> tables = new HashMap<>();
+            byCurrency.forEach((currency, published) -> tables.put(currency, RateTable.of(published)));
+            synchronized (writeLock) {
+                snapshot = Map.copyOf(tables);
+            }
+            log.info("Exchange rate snapshot loaded: {} currencies, {} daily rates in {} ms",
+                tables.size(), rows, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Exchange rate snapshot reload failed, keeping {} currencies", snapshot.size(), e);
+        }
+    }
+
+    /**
+     * D일 환율 (1 통화 단위당 KRW) - D일 발표가 없으면 직전 발표값, 이력이 없거나 직전 발표가 너무 오래되었으면 empty
+     */
+    public Optional<RateQuote> quote(String currency, LocalDate date) {
+        String code = normalize(currency);
+        RateQuote quote = resolve(snapshot, code, date);
+        if (quote == null && reloadOnMiss()) {
+            quote = resolve(snapshot, code, date);
+        }
+        return Optional.ofNullable(quote);
+    }
+
+    public boolean hasRates(String currency) {
+        return snapshot.containsKey(normalize(currency));
+    }
+
+    /**
+     * 청구서 한 장의 금액들을 한 번에 환산 - 모든 금액에 같은 환율 적용
+     *
+     * @param scale 환산 금액 소수 자리수
+     * @return 두 통화 중 하나라도 해당일 환율이 없으면 empty
+     */
+    public Optional<ConvertedAmounts> convertAll(List<BigDecimal> amounts, String fromCurrency, String toCurrency,
+                                                 LocalDate date, int scale) {
+        Map<String, RateTable> current = snapshot;
+        String from = normalize(fromCurrency);
+        String to = normalize(toCurrency);
+        RateQuote fromRate = resolve(current, from, date);
+        RateQuote toRate = resolve(current, to, date);
+        if ((fromRate == null || toRate == null) && reloadOnMiss()) {
+            current = snapshot;
+            fromRate = resolve(current, from, date);
+            toRate = resolve(current, to, date);
+        }
+        if (fromRate == null || toRate == null) {
+            return Optional.empty();
+        }
+        List<BigDecimal> converted = new ArrayList<>(amounts.size());
+        for (BigDecimal amount : amounts) {
+            converted.add(amount == null ? null : from.equals(to)
+                ? amount.setScale(scale, RoundingMode.HALF_UP)
+                : amount.multiply(fromRate.getRate()).divide(toRate.getRate(), scale, RoundingMode.HALF_UP));
+        }
+        return Optional.of(new ConvertedAmounts(from, to, fromRate, toRate, converted));
+    }
+
+    /**
+     * 하루치 환율 기록 (같은 통화/날짜는 덮어씀) - 스냅샷은 커밋 후 교체
+     */
+    @Transactional
+    public void record(Map<String, BigDecimal> rates, LocalDate date, String source) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, BigDecimal> normalized = new HashMap<>();
+        rates.forEach((currency, rate) -> {
+            if (rate == null || rate.signum() <= 0) {
+                throw new IllegalArgumentException("환율은 0보다 커야 합니다: " + currency);
+            }
+            normalized.put(normalize(currency), rate);
+        });
+        normalized.forEach((currency, rate) -> {
+            ExchangeRateHistory history = exchangeRateHistoryRepository.findByCurrencyAndRateDate(currency, date)
+                .orElseGet(() -> new ExchangeRateHistory(currency, date));
+            history.setRate(rate);
+            history.setSource(source);
+            history.setUpdatedAt(now);
+            exchangeRateHistoryRepository.save(history);
+        });
+
+        eventPublisher.publishEvent(new ExchangeRatesRecorded(normalized, date, source));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExchangeRatesRecorded(ExchangeRatesRecorded recorded) {
+        synchronized (writeLock) {
+            Map<String, RateTable> next = new HashMap<>(snapshot);
+            recorded.getRates().forEach((currency, rate) -> {
+                RateTable table = next.get(currency);
+                next.put(currency, table != null
+                    ? table.with(recorded.getRateDate(), rate, recorded.getSource())
+                    : RateTable.single(recorded.getRateDate(), rate, recorded.getSource()));
+            });
+            snapshot = Map.copyOf(next);
+        }
+    }
+
+    /**
+     * 스냅샷에 없는 환율 조회 시 DB 에서 다시 적재 - 조회마다 DB 로 가지 않도록 miss-reload-interval 에 한 번만
+     *
+     * @return 이번 호출이 재적재했으면 true
+     */
+    private boolean reloadOnMiss() {
+        long now = System.currentTimeMillis();
+        long last = lastReloadMillis.get();
+        if (now - last < missReloadIntervalMillis || !lastReloadMillis.compareAndSet(last, now)) {
+            return false;
+        }
+        reload();
+        return true;
+    }
+
+    /**
+     * 스냅샷 우선, 보관 기간 이전 날짜는 DB 의 직전 발표값
+     */
+    private RateQuote resolve(Map<String, RateTable> tables, String currency, LocalDate date) {
+        RateQuote quote = quote(tables, currency, date);
+        if (quote == null && date.isBefore(LocalDate.now().minusDays(historyDays))) {
+            quote = exchangeRateHistoryRepository
+                .findFirstByCurrencyAndRateDateLessThanEqualOrderByRateDateDesc(currency, date)
+                .filter(history -> RateTable.businessDaysBetween(history.getRateDate(), date) <= maxStaleBusinessDays)
+                .map(history -> new RateQuote(currency, history.getRate(), history.getRateDate(), history.getSource()))
+                .orElse(null);
+        }
+        return quote;
+    }
+
+    private RateQuote quote(Map<String, RateTable> tables, String currency, LocalDate date) {
+        if (BASE_CURRENCY.equals(currency)) {
+            return new RateQuote(BASE_CURRENCY, BigDecimal.ONE, date, "BASE");
+        }
+        RateTable table = tables.get(currency);
+        return table != null ? table.quote(currency, date, maxStaleBusinessDays) : null;
+    }
+
+    private static String normalize(String currency) {
+        if (currency == null || currency.isBlank()) {
+            throw new IllegalArgumentException("통화 코드가 필요합니다.");
+        }
+        return currency.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,20 @@
+package com.ysc.lms.fx;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * 하루치 환율 기록 - 커밋 후 스냅샷에 반영
+ */
+@Getter
+@AllArgsConstructor
+public class ExchangeRatesRecorded {
+
+    private final Map<String, BigDecimal> rates;
+    private final LocalDate rateDate;
+    private final String source;
+}
@@ -0,0 +1,21 @@
+package com.ysc.lms.fx;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 환율 조회 결과 (1 통화 단위당 KRW)
+ */
+@Getter
+@AllArgsConstructor
+public class RateQuote {
+
+    private final String currency;
+    private final BigDecimal rate;
+    /** 실제 발표일 - 조회일에 발표가 없으면 직전 발표일 */
+    private final LocalDate rateDate;
+    private final String source;
+}
@@ -0,0 +1,132 @@
+package com.ysc.lms.fx;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 통화 하나의 일별 환율표 (불변)
+ *
+ * 첫 발표일부터 마지막 발표일까지 하루 한 칸인 long 배열(소수 6자리 고정소수점)에 발표가 없는 날은 직전 값을
+ * 채워 두므로 "D일 환율" 조회는 배열 인덱스 한 번이다. 마지막 발표일 이후는 마지막 값을 쓴다.
+ * 직전 발표가 조회일보다 지정한 영업일 수 넘게 오래되었으면 채운 값을 쓰지 않는다 (주말만 제외, 공휴일은 영업일로 센다).
+ */
+final class RateTable {
+
+    static final int SCALE = 6;
+
+    private final long firstDay;
+    private final long[] rates;
+    private final int[] publishedIndex;
+    private final String[] sources;
+
+    private RateTable(long firstDay, long[] rates, int[] publishedIndex, String[] sources) {
+        this.firstDay = firstDay;
+        this.rates = rates;
+        this.publishedIndex = publishedIndex;
+        this.sources = sources;
+    }
+
+    /**
+     * @param published 발표일 → (환율, 출처), 비어 있으면 안 된다
+     */
+    static RateTable of(NavigableMap<LocalDate, Published> published) {
+        long firstDay = published.firstKey().toEpochDay();
+        int length = (int) (published.lastKey().toEpochDay() - firstDay + 1);
+        long[] rates = new long[length];
+        int[] publishedIndex = new int[length];
+        String[] sources = new String[length];
+
+        int current = -1;
+        for (int i = 0; i < length; i++) {
+            Published point = published.get(LocalDate.ofEpochDay(firstDay + i));
+            if (point != null) {
+                current = i;
+                rates[i] = point.micros;
+                sources[i] = point.source;
+            } else {
+                rates[i] = rates[current];
+            }
+            publishedIndex[i] = current;
+        }
+        return new RateTable(firstDay, rates, publishedIndex, sources);
+    }
+
+    /**
+     * @param maxStaleBusinessDays 직전 발표일부터 조회일까지 허용하는 영업일 수
+     * @return 첫 발표일 이전이거나 직전 발표가 허용 영업일보다 오래되었으면 null
+     */
+    RateQuote quote(String currency, LocalDate date, int maxStaleBusinessDays) {
+        long index = date.toEpochDay() - firstDay;
+        if (index < 0) {
+            return null;
+        }
+        int day = (int) Math.min(index, rates.length - 1);
+        int published = publishedIndex[day];
+        LocalDate publishedDate = LocalDate.ofEpochDay(firstDay + published);
+        if (businessDaysBetween(publishedDate, date) > maxStaleBusinessDays) {
+            return null;
+        }
+        return new RateQuote(currency, BigDecimal.valueOf(rates[day], SCALE), publishedDate, sources[published]);
+    }
+
+
+    /**
+     * 발표값 하나를 바꾼 새 표 (copy-on-write)
+     */
+    RateTable with(LocalDate date, BigDecimal rate, String source) {
+        NavigableMap<LocalDate, Published> published = published();
+        published.put(date, new Published(toMicros(rate), source));
+        return of(published);
+    }
+
+    NavigableMap<LocalDate, Published> published() {
+        NavigableMap<LocalDate, Published> published = new TreeMap<>();
+        for (int i = 0; i < rates.length; i++) {
+            if (publishedIndex[i] == i) {
+                published.put(LocalDate.ofEpochDay(firstDay + i), new Published(rates[i], sources[i]));
+            }
+        }
+        return published;
+    }
+
+    static RateTable single(LocalDate date, BigDecimal rate, String source) {
+        return of(new TreeMap<>(Map.of(date, new Published(toMicros(rate), source))));
+    }
+
+    /**
+     * from 다음 날부터 to 까지의 평일 수 (to 가 from 이전이면 0)
+     */
+    static long businessDaysBetween(LocalDate from, LocalDate to) {
+        long days = to.toEpochDay() - from.toEpochDay();
+        if (days <= 0) {
+            return 0;
+        }
+        long count = days / 7 * 5;
+        int dayOfWeek = from.getDayOfWeek().getValue();
+        for (long i = 0; i < days % 7; i++) {
+            dayOfWeek = dayOfWeek % 7 + 1;
+            if (dayOfWeek <= 5) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static long toMicros(BigDecimal rate) {
+        return rate.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static final class Published {
+        final long micros;
+        final String source;
+
+        Published(long micros, String source) {
+            this.micros = micros;
+            this.source = source;
+        }
+    }
+}
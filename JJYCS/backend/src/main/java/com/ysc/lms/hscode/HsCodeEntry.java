@@ -0,0 +1,22 @@
+package com.ysc.lms.hscode;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * 관세율표 한 줄 (호/소호/10단위 세번)
+ */
+@Getter
+@AllArgsConstructor
+public class HsCodeEntry {
+
+    /** 숫자만 (4~10자리) */
+    private final String code;
+    private final String koreanName;
+    private final String englishName;
+    private final String unit;
+    /** 기본세율 (%) - 없으면 null */
+    private final BigDecimal basicRate;
+}
@@ -0,0 +1,173 @@
+package com.ysc.lms.hscode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * 오프라인 HS 코드 색인 (불변)
+ *
+ * 숫자 질의는 코드 trie 로 정확/접두사 일치를, 그 외 질의는 한글/영문 품목명 n-gram 역색인으로 유사도 검색한다.
+ * 관세율표 파일 형식은 탭 구분 "세번 / 한글품명 / 영문품명 / 단위 / 기본세율" 이며 # 으로 시작하는 줄은 주석이다.
+ */
+public final class HsCodeIndex {
+
+    private static final double MIN_NAME_COVERAGE = 0.4;
+    private static final double CONTAINS_BONUS = 0.25;
+    private static final Comparator<HsCodeMatch> RANKING = Comparator.comparingDouble(HsCodeMatch::getScore).reversed()
+        .thenComparing(match -> match.getEntry().getCode());
+
+    private final List<HsCodeEntry> entries;
+    private final List<String> normalizedNames;
+    private final HsCodeTrie trie;
+    private final NGramIndex names;
+
+    private HsCodeIndex(List<HsCodeEntry> entries) {
+        this.entries = List.copyOf(entries);
+        List<String> codes = new ArrayList<>(entries.size());
+        List<String> documents = new ArrayList<>(entries.size());
+        for (HsCodeEntry entry : entries) {
+            codes.add(entry.getCode());
+            documents.add(entry.getKoreanName() + " " + (entry.getEnglishName() != null ? entry.getEnglishName() : ""));
+        }
+        this.normalizedNames = documents.stream().map(NGramIndex::normalize).toList();
+        this.trie = new HsCodeTrie(codes);
+        this.names = new NGramIndex(documents);
+    }
+
+    public static HsCodeIndex empty() {
+        return new HsCodeIndex(List.of());
+    }
+
+    /**
+     * 같은 세번이 여러 번 나오면 마지막 줄을 쓴다
+     */
+    public static HsCodeIndex of(List<HsCodeEntry> entries) {
+        Map<String, HsCodeEntry> byCode = new TreeMap<>();
+        for (HsCodeEntry entry : entries) {
+            byCode.put(entry.getCode(), entry);
+        }
+        return new HsCodeIndex(new ArrayList<>(byCode.values()));
+    }
+
+    public static HsCodeIndex read(Reader reader) throws IOException {
+        List<HsCodeEntry> entries = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split("\t", -1);
+            String code = digits(columns[0]);
+            if (code == null || code.length() < 4 || columns.length < 2 || columns[1].isBlank()) {
+                throw new IOException("관세율표 " + lineNumber + "번째 줄 형식이 올바르지 않습니다: " + line);
+            }
+            entries.add(new HsCodeEntry(code, columns[1].trim(),
+                column(columns, 2), column(columns, 3),
+                column(columns, 4) != null ? new BigDecimal(column(columns, 4)) : null));
+        }
+        return of(entries);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Optional<HsCodeEntry> find(String code) {
+        String digits = digits(code);
+        int id = digits != null ? trie.exact(digits) : -1;
+        return id >= 0 ? Optional.of(entries.get(id)) : Optional.empty();
+    }
+
+    /**
+     * 관세율표에 있는 세번이거나 그 상위 호/소호면 true (예: 8471.60 → 8471.60-xxxx 가 있으면 유효)
+     */
+    public boolean contains(String code) {
+        String digits = digits(code);
+        return digits != null && trie.prefixRange(digits) != null;
+    }
+
+    /**
+     * 숫자(점/하이픈/공백 허용)면 코드 정확/접두사 일치, 아니면 품목명 유사도 순
+     */
+    public List<HsCodeMatch> search(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        String digits = digits(query);
+        return digits != null ? searchCode(digits, limit) : searchName(query, limit);
+    }
+
+    private List<HsCodeMatch> searchCode(String digits, int limit) {
+        List<HsCodeMatch> matches = new ArrayList<>();
+        int[] range = trie.prefixRange(digits);
+        if (range == null) {
+            return matches;
+        }
+        // 정렬 순서상 상위 호/소호가 하위 세번보다 먼저 나온다
+        for (int id = range[0]; id < range[1] && matches.size() < limit; id++) {
+            HsCodeEntry entry = entries.get(id);
+            boolean exact = entry.getCode().length() == digits.length();
+            matches.add(new HsCodeMatch(entry, exact ? HsCodeMatch.MatchType.EXACT_CODE : HsCodeMatch.MatchType.CODE_PREFIX,
+                exact ? 1.0 : (double) digits.length() / entry.getCode().length()));
+        }
+        return matches;
+    }
+
+    private List<HsCodeMatch> searchName(String query, int limit) {
+        String normalizedQuery = NGramIndex.normalize(query);
+        // 점수 하위부터 빼는 크기 limit 의 힙으로 상위만 남긴다
+        PriorityQueue<HsCodeMatch> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (NGramIndex.Hit hit : names.search(query, MIN_NAME_COVERAGE)) {
+            double score = hit.score;
+            // 질의가 품명에 그대로 들어 있으면 가산 - gram 이 모두 겹친 항목만 확인한다
+            if (hit.complete && normalizedNames.get(hit.id).contains(normalizedQuery)) {
+                score = Math.min(1.0, score + CONTAINS_BONUS);
+            }
+            if (top.size() == limit && score < top.peek().getScore()) {
+                continue;
+            }
+            top.add(new HsCodeMatch(entries.get(hit.id), HsCodeMatch.MatchType.NAME, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<HsCodeMatch> matches = new ArrayList<>(top);
+        matches.sort(RANKING);
+        return matches;
+    }
+
+    /**
+     * 점/하이픈/공백을 뺀 숫자열, 숫자가 아닌 문자가 있으면 null
+     */
+    static String digits(String code) {
+        if (code == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(code.length());
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c != '.' && c != '-' && c != ' ') {
+                return null;
+            }
+        }
+        return digits.length() > 0 ? digits.toString() : null;
+    }
+
+    private static String column(String[] columns, int index) {
+        return columns.length > index && !columns[index].isBlank() ? columns[index].trim() : null;
+    }
+}
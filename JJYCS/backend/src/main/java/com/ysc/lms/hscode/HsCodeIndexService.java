@@ -0,0 +1,100 @@
+package com.ysc.lms.hscode;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 오프라인 HS 코드 검색/검증
+ *
+ * 기동 시 번들 관세율표(location)를 HsCodeIndex 로 적재해 네트워크 없이 자동완성과 세번 검증을 처리한다.
+ * authoritative 가 false 면 색인에 없는 세번은 판단 보류(호출 측이 외부 조회로 확인)로 본다.
+ */
+@Service
+@Slf4j
+public class HsCodeIndexService {
+
+    private static final String METRIC_PREFIX = "lms.hscode.index";
+    private static final int MAX_LIMIT = 50;
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final boolean authoritative;
+    private final Timer searchTimer;
+    private volatile HsCodeIndex index = HsCodeIndex.empty();
+
+    public HsCodeIndexService(ResourceLoader resourceLoader,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.hscode-index.location:classpath:hscode/tariff-schedule.tsv}") String location,
+                              @Value("${app.hscode-index.authoritative:false}") boolean authoritative) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+        this.authoritative = authoritative;
+        this.searchTimer = Timer.builder(METRIC_PREFIX + ".search")
+            .description("오프라인 HS 코드 검색 시간")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, service -> service.index.size())
+            .description("HS 코드 색인 항목 수")
+            .register(meterRegistry);
+        reload();
+    }
+
+    /**
+     * 관세율표 재적재 - 실패하면 기존 색인을 유지한다
+     *
+     * @return 적재된 항목 수
+     */
+    public synchronized int reload() {
+        long started = System.nanoTime();
+        try (InputStream in = resourceLoader.getResource(location).getInputStream()) {
+            HsCodeIndex loaded = HsCodeIndex.read(new InputStreamReader(in, StandardCharsets.UTF_8));
+            index = loaded;
+            log.info("HS code index loaded from {}: {} entries in {} ms",
+                location, loaded.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.error("HS code index load failed from {}, keeping {} entries", location, index.size(), e);
+        }
+        return index.size();
+    }
+
+    /**
+     * 자동완성/검색 - 숫자면 세번 접두사, 아니면 한글/영문 품목명 유사도 순
+     */
+    public List<HsCodeMatch> search(String query, int limit) {
+        int boundedLimit = Math.min(Math.max(1, limit), MAX_LIMIT);
+        return searchTimer.record(() -> index.search(query, boundedLimit));
+    }
+
+    public Optional<HsCodeEntry> find(String code) {
+        return index.find(code);
+    }
+
+    /**
+     * 색인에 있는 세번(또는 그 상위 호/소호)인지
+     */
+    public boolean isKnown(String code) {
+        return index.contains(code);
+    }
+
+    /**
+     * 색인이 전체 관세율표라 색인에 없으면 무효로 봐도 되는지
+     */
+    public boolean isAuthoritative() {
+        return authoritative && index.size() > 0;
+    }
+
+    public int size() {
+        return index.size();
+    }
+}
@@ -0,0 +1,20 @@
+package com.ysc.lms.hscode;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * HS 코드 검색 결과 (score 0 ~ 1, 높을수록 우선)
+ */
+@Getter
+@AllArgsConstructor
+public class HsCodeMatch {
+
+    public enum MatchType {
+        EXACT_CODE, CODE_PREFIX, NAME
+    }
+
+    private final HsCodeEntry entry;
+    private final MatchType matchType;
+    private final double score;
+}
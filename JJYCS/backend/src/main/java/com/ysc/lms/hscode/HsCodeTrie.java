@@ -0,0 +1,93 @@
+package com.ysc.lms.hscode;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 숫자 코드 trie
+ *
+ * 코드 정렬 배열 위에 만들어 노드마다 그 접두사를 가진 항목 구간 [from, to) 을 들고 있다.
+ * 자식 포인터는 노드당 10칸 int 배열 한 덩어리로 두어 객체 없이 조회한다.
+ */
+final class HsCodeTrie {
+
+    private static final int RADIX = 10;
+
+    private final int[] children;
+    private final int[] from;
+    private final int[] to;
+    private final int[] exact;
+
+    /**
+     * @param sortedCodes 오름차순, 중복 없는 숫자 코드
+     */
+    HsCodeTrie(List<String> sortedCodes) {
+        int capacity = 1;
+        for (String code : sortedCodes) {
+            capacity += code.length();
+        }
+        int[] children = new int[capacity * RADIX];
+        int[] from = new int[capacity];
+        int[] to = new int[capacity];
+        int[] exact = new int[capacity];
+        Arrays.fill(exact, -1);
+
+        int nodes = 1;
+        to[0] = sortedCodes.size();
+        for (int i = 0; i < sortedCodes.size(); i++) {
+            String code = sortedCodes.get(i);
+            int node = 0;
+            for (int c = 0; c < code.length(); c++) {
+                int slot = node * RADIX + (code.charAt(c) - '0');
+                int child = children[slot];
+                if (child == 0) {
+                    child = nodes++;
+                    children[slot] = child;
+                    from[child] = i;
+                }
+                to[child] = i + 1;
+                node = child;
+            }
+            exact[node] = i;
+        }
+        this.children = Arrays.copyOf(children, nodes * RADIX);
+        this.from = Arrays.copyOf(from, nodes);
+        this.to = Arrays.copyOf(to, nodes);
+        this.exact = Arrays.copyOf(exact, nodes);
+    }
+
+    /**
+     * @return 코드와 정확히 같은 항목 번호, 없으면 -1
+     */
+    int exact(String digits) {
+        int node = node(digits);
+        return node >= 0 ? exact[node] : -1;
+    }
+
+    /**
+     * @return 접두사가 같은 항목 구간 {from, to}, 없으면 null
+     */
+    int[] prefixRange(String digits) {
+        int node = node(digits);
+        return node >= 0 ? new int[]{from[node], to[node]} : null;
+    }
+
+    int nodeCount() {
+        return from.length;
+    }
+
+    private int node(String digits) {
+        int node = 0;
+        for (int c = 0; c < digits.length(); c++) {
+            int digit = digits.charAt(c) - '0';
+            if (digit < 0 || digit >= RADIX) {
+                return -1;
+            }
+            node = children[node * RADIX + digit];
+            if (node == 0) {
+                return -1;
+            }
+        }
+        return node;
+    }
+}
@@ -0,0 +1,127 @@
+package com.ysc.lms.hscode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 품목명 n-gram 역색인
+ *
+ * 한글 토큰은 음절 2-gram, 영문/숫자 토큰은 3-gram 으로 쪼갠다(짧은 토큰은 통째로).
+ * 질의 gram 과 겹치는 항목을 점수화하므로 띄어쓰기/오타/어순이 달라도 찾는다.
+ */
+final class NGramIndex {
+
+    private final Map<String, int[]> postings;
+    private final int[] gramCounts;
+
+    NGramIndex(List<String> documents) {
+        Map<String, List<Integer>> building = new HashMap<>();
+        gramCounts = new int[documents.size()];
+        for (int id = 0; id < documents.size(); id++) {
+            Set<String> grams = grams(documents.get(id));
+            gramCounts[id] = grams.size();
+            for (String gram : grams) {
+                building.computeIfAbsent(gram, k -> new ArrayList<>()).add(id);
+            }
+        }
+        postings = new HashMap<>(building.size() * 2);
+        building.forEach((gram, ids) -> postings.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * 질의 gram 중 minCoverage 이상이 겹치는 항목 - 점수는 질의 gram 포함률(0.7) + Dice 유사도(0.3)
+     */
+    List<Hit> search(String query, double minCoverage) {
+        Set<String> queryGrams = grams(query);
+        List<Hit> hits = new ArrayList<>();
+        if (queryGrams.isEmpty()) {
+            return hits;
+        }
+        int[] shared = new int[gramCounts.length];
+        int[] touched = new int[gramCounts.length];
+        int touchedCount = 0;
+        for (String gram : queryGrams) {
+            int[] ids = postings.get(gram);
+            if (ids == null) {
+                continue;
+            }
+            for (int id : ids) {
+                if (shared[id]++ == 0) {
+                    touched[touchedCount++] = id;
+                }
+            }
+        }
+        int required = (int) Math.ceil(queryGrams.size() * minCoverage);
+        for (int i = 0; i < touchedCount; i++) {
+            int id = touched[i];
+            if (shared[id] >= required) {
+                double coverage = (double) shared[id] / queryGrams.size();
+                double dice = 2.0 * shared[id] / (queryGrams.size() + gramCounts[id]);
+                hits.add(new Hit(id, 0.7 * coverage + 0.3 * dice, shared[id] == queryGrams.size()));
+            }
+        }
+        return hits;
+    }
+
+    int gramCount() {
+        return postings.size();
+    }
+
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        return normalized.toString().trim();
+    }
+
+    static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (text == null) {
+            return grams;
+        }
+        for (String token : normalize(text).split(" ")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            int n = isHangul(token.charAt(0)) ? 2 : 3;
+            if (token.length() <= n) {
+                grams.add(token);
+                continue;
+            }
+            for (int i = 0; i + n <= token.length(); i++) {
+                grams.add(token.substring(i, i + n));
+            }
+        }
+        return grams;
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+
+    static final class Hit {
+        final int id;
+        final double score;
+        /** 질의 gram 을 모두 포함 */
+        final boolean complete;
+
+        Hit(int id, double score, boolean complete) {
+            this.id = id;
+            this.score = score;
+            this.complete = complete;
+        }
+    }
+}
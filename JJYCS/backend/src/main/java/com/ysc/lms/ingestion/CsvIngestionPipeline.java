@@ -0,0 +1,133 @@
+package com.ysc.lms.ingestion;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 청크 단위 CSV 적재 파이프라인 (품목/수취인 일괄 업로드 공용)
+ *
+ * 1. 스트리밍으로 chunk-size 행씩 읽어 검증
+ * 2. 청크당 1회 기존 키 조회 후 HashSet 으로 중복 판별 (파일 내 중복 포함)
+ * 3. 청크별 트랜잭션에서 JDBC 배치 INSERT, 실패 시 행 단위 재시도로 실패 행만 오류 보고
+ *    (DB 오류 외 처리기 예외도 같게 처리 - 앞 청크의 저장 건수가 결과에 남도록 업로드 전체를 중단하지 않음)
+ */
+@Component
+@Slf4j
+public class CsvIngestionPipeline {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public CsvIngestionPipeline(PlatformTransactionManager transactionManager,
+                                @Value("${app.csv-ingestion.chunk-size:1000}") int chunkSize,
+                                @Value("${app.csv-ingestion.max-reported-errors:1000}") int maxReportedErrors) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * 첫 행은 헤더로 건너뛴다 (행 번호는 헤더 = 1 기준)
+     */
+    public <T> CsvIngestionResult ingest(InputStream inputStream, CsvRowHandler<T> handler) throws IOException {
+        CsvIngestionResult result = new CsvIngestionResult(maxReportedErrors);
+        Set<String> seenKeys = new HashSet<>();
+
+        try (CsvRecordReader reader = new CsvRecordReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+
+            if (reader.next() == null) {
+                return result;
+            }
+
+            List<T> chunk = new ArrayList<>(chunkSize);
+            List<Integer> chunkRowNumbers = new ArrayList<>(chunkSize);
+            int rowNumber = 1;
+            String[] columns;
+
+            while ((columns = reader.next()) != null) {
+                rowNumber++;
+                result.addRows(1);
+
+                if (columns.length == 1 && columns[0].isBlank()) {
+                    result.addError(rowNumber, "빈 행입니다.");
+                } else {
+                    try {
+                        chunk.add(handler.parse(columns));
+                        chunkRowNumbers.add(rowNumber);
+                    } catch (CsvRowException e) {
+                        result.addError(rowNumber, e.getMessage());
+                    } catch (RuntimeException e) {
+                        log.error("라인 {} 처리 중 오류 발생", rowNumber, e);
+                        result.addError(rowNumber, e.getMessage());
+                    }
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    flushChunk(chunk, chunkRowNumbers, handler, seenKeys, result);
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                flushChunk(chunk, chunkRowNumbers, handler, seenKeys, result);
+            }
+        }
+
+        return result;
+    }
+
+    private <T> void flushChunk(List<T> chunk, List<Integer> rowNumbers, CsvRowHandler<T> handler,
+                                Set<String> seenKeys, CsvIngestionResult result) {
+        Set<String> existingKeys = handler.findExistingKeys(chunk);
+
+        List<T> accepted = new ArrayList<>(chunk.size());
+        List<Integer> acceptedRowNumbers = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            T row = chunk.get(i);
+            String key = handler.keyOf(row);
+            if (existingKeys.contains(key) || !seenKeys.add(key)) {
+                result.addError(rowNumbers.get(i), handler.duplicateMessage(row));
+            } else {
+                accepted.add(row);
+                acceptedRowNumbers.add(rowNumbers.get(i));
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> handler.insertBatch(accepted));
+                result.addSuccess(accepted.size());
+            } catch (RuntimeException e) {
+                log.warn("Batch insert of {} rows failed, retrying row by row: {}", accepted.size(), e.getMessage());
+                insertRowByRow(accepted, acceptedRowNumbers, handler, result);
+            }
+        }
+
+        chunk.clear();
+        rowNumbers.clear();
+    }
+
+    private <T> void insertRowByRow(List<T> rows, List<Integer> rowNumbers, CsvRowHandler<T> handler,
+                                    CsvIngestionResult result) {
+        for (int i = 0; i < rows.size(); i++) {
+            List<T> single = List.of(rows.get(i));
+            try {
+                transactionTemplate.executeWithoutResult(status -> handler.insertBatch(single));
+                result.addSuccess(1);
+            } catch (RuntimeException e) {
+                result.addError(rowNumbers.get(i), "저장 중 오류가 발생했습니다. (" + NestedExceptionUtils.getMostSpecificCause(e).getMessage() + ")");
+            }
+        }
+    }
+}
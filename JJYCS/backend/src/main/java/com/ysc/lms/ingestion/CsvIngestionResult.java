@@ -0,0 +1,52 @@
+package com.ysc.lms.ingestion;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV 업로드 결과 - 기존 업로드 API 응답 형식(totalRows/successCount/errorCount/errors)을 유지한다
+ */
+@Getter
+public class CsvIngestionResult {
+
+    private final int maxReportedErrors;
+    private final List<String> errors = new ArrayList<>();
+    private int totalRows;
+    private int successCount;
+    private int errorCount;
+
+    public CsvIngestionResult(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    void addRows(int rows) {
+        totalRows += rows;
+    }
+
+    void addSuccess(int rows) {
+        successCount += rows;
+    }
+
+    void addError(int rowNumber, String message) {
+        errorCount++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add("라인 " + rowNumber + ": " + message);
+        }
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("totalRows", totalRows);
+        result.put("successCount", successCount);
+        result.put("errorCount", errorCount);
+        result.put("errors", errors);
+        if (errorCount > errors.size()) {
+            result.put("truncatedErrorCount", errorCount - errors.size());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,110 @@
+package com.ysc.lms.ingestion;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스트리밍 CSV 레코드 리더
+ * 쉼표/따옴표, 따옴표 안의 쉼표·줄바꿈, "" 이스케이프, CR/LF/CRLF, UTF-8 BOM 을 처리한다
+ * 파일 전체를 메모리에 올리지 않고 레코드 단위로 읽는다 (스레드 안전하지 않음)
+ */
+public class CsvRecordReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean firstRead = true;
+    private long recordCount;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 다음 레코드 (파일 끝이면 null)
+     */
+    public String[] next() throws IOException {
+        int ch = read();
+        if (ch == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>(16);
+        StringBuilder field = new StringBuilder(64);
+        boolean inQuotes = false;
+
+        while (ch != -1) {
+            if (inQuotes) {
+                if (ch == '"') {
+                    int nextCh = read();
+                    if (nextCh == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        ch = nextCh;
+                        continue;
+                    }
+                } else {
+                    field.append((char) ch);
+                }
+            } else if (ch == '"') {
+                inQuotes = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch == '\r') {
+                int nextCh = read();
+                if (nextCh != '\n' && nextCh != -1) {
+                    position--;
+                }
+                break;
+            } else {
+                field.append((char) ch);
+            }
+            ch = read();
+        }
+
+        fields.add(field.toString());
+        recordCount++;
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * 지금까지 읽은 레코드 수 (헤더 포함)
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    private int read() throws IOException {
+        if (position >= limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+            if (firstRead) {
+                firstRead = false;
+                if (buffer[0] == '\uFEFF') {
+                    position = 1;
+                    return read();
+                }
+            }
+        }
+        return buffer[position++];
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,11 @@
+package com.ysc.lms.ingestion;
+
+/**
+ * CSV 행 검증 실패 - 해당 행만 오류로 보고하고 나머지 행은 계속 처리한다
+ */
+public class CsvRowException extends RuntimeException {
+
+    public CsvRowException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ysc.lms.ingestion;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * CsvIngestionPipeline 대상별 처리기 (품목, 수취인 등)
+ *
+ * @param <T> 행에서 만들어지는 엔티티
+ */
+public interface CsvRowHandler<T> {
+
+    /**
+     * 컬럼 검증 및 변환 - 실패 시 CsvRowException
+     */
+    T parse(String[] columns);
+
+    /**
+     * 중복 판별 키
+     */
+    String keyOf(T row);
+
+    /**
+     * 청크 내 행들 중 이미 DB 에 등록된 키 (청크당 1회 조회)
+     */
+    Set<String> findExistingKeys(List<T> rows);
+
+    String duplicateMessage(T row);
+
+    /**
+     * JDBC 배치 INSERT (호출자 트랜잭션 안에서 실행)
+     */
+    void insertBatch(List<T> rows);
+}
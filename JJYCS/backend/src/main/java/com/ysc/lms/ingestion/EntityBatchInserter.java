@@ -0,0 +1,185 @@
+package com.ysc.lms.ingestion;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 엔티티 테이블 JDBC 배치 INSERT/UPDATE
+ * IDENTITY 키 엔티티는 Hibernate 가 INSERT 를 배치하지 못하므로 일괄 적재는 JdbcTemplate.batchUpdate 로 수행한다
+ * 테이블/컬럼명은 Hibernate 매핑 메타데이터에서 가져와 프로파일별 네이밍 전략 차이를 따른다
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityBatchInserter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<String, String> sqlCache = new ConcurrentHashMap<>();
+
+    /**
+     * @param properties 엔티티 속성명 (연관관계는 FK 컬럼으로 매핑), rows 의 값 순서와 동일
+     */
+    public int insert(Class<?> entityClass, List<String> properties, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        String sql = sqlCache.computeIfAbsent(entityClass.getName() + properties, key -> buildInsertSql(entityClass, properties));
+        int[] counts = jdbcTemplate.batchUpdate(sql, rows);
+        return counts.length;
+    }
+
+    /**
+     * 배치 INSERT 후 생성된 IDENTITY 키를 rows 순서대로 반환 (자식 테이블 FK 적재용)
+     * 드라이버가 배치 생성 키를 모두 돌려주지 않으면 예외 - 호출 측은 건별 적재로 대체
+     */
+    public long[] insertReturningIds(Class<?> entityClass, List<String> properties, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return new long[0];
+        }
+        String sql = sqlCache.computeIfAbsent(entityClass.getName() + properties, key -> buildInsertSql(entityClass, properties));
+        String[] keyColumns = persisterOf(entityClass).getIdentifierColumnNames();
+
+        return jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(sql, keyColumns)) {
+                for (Object[] row : rows) {
+                    for (int i = 0; i < row.length; i++) {
+                        StatementCreatorUtils.setParameterValue(ps, i + 1, SqlTypeValue.TYPE_UNKNOWN, row[i]);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                long[] ids = new long[rows.size()];
+                int count = 0;
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next() && count < ids.length) {
+                        ids[count++] = keys.getLong(1);
+                    }
+                }
+                if (count != ids.length) {
+                    throw new InvalidDataAccessApiUsageException(
+                        "Generated keys returned " + count + " of " + ids.length + " rows for " + entityClass.getSimpleName());
+                }
+                return ids;
+            }
+        });
+    }
+
+    /**
+     * 식별자 기준 배치 UPDATE - rows 는 properties 순서의 값 뒤에 식별자 값을 둔다
+     * 영속성 컨텍스트와 감사(@LastModifiedDate) 콜백을 거치지 않으므로 필요한 컬럼은 호출 측이 채운다
+     */
+    public int update(Class<?> entityClass, List<String> properties, List<Object[]> rows) {
+        return update(entityClass, properties, List.of(), rows);
+    }
+
+    /**
+     * 조건부 배치 UPDATE - rows 는 properties 값, 식별자 값, guardProperties 값 순서 (WHERE id = ? AND guard = ?)
+     * 조건이 맞지 않아 바뀌지 않은 행은 반환값에서 빠진다
+     *
+     * 단, 드라이버가 배치 건별 건수 대신 Statement.SUCCESS_NO_INFO 를 돌려주면 (MySQL Connector/J 의
+     * rewriteBatchedStatements=true 등) 그 행은 조건과 무관하게 1건으로 센다. 이때 반환값은 상한값이므로
+     * 정확한 건수가 필요한 호출 측은 이 값에 의존하지 말고 다시 조회해야 한다.
+     *
+     * @return 바뀐 행 수 (SUCCESS_NO_INFO 인 행이 있으면 상한값)
+     */
+    public int update(Class<?> entityClass, List<String> properties, List<String> guardProperties, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        String sql = sqlCache.computeIfAbsent("UPDATE " + entityClass.getName() + properties + guardProperties,
+            key -> buildUpdateSql(entityClass, properties, guardProperties));
+        int[] counts = jdbcTemplate.batchUpdate(sql, rows);
+        if (guardProperties.isEmpty()) {
+            return counts.length;
+        }
+        int updated = 0;
+        for (int count : counts) {
+            // 드라이버가 배치 건별 건수를 모르면 SUCCESS_NO_INFO(-2) - 반영된 것으로 센다 (메서드 설명 참고)
+            updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+        }
+        return updated;
+    }
+
+    /**
+     * INSERT INTO {엔티티 테이블} (properties) {selectSql} - 대상 행을 애플리케이션으로 읽어오지 않고 한 문장으로 적재
+     *
+     * @param selectSql properties 순서의 값을 돌려주는 SELECT (다른 엔티티 테이블/컬럼명은 tableName/columnName 사용)
+     * @return 적재된 행 수
+     */
+    public int insertSelect(Class<?> entityClass, List<String> properties, String selectSql, Object... args) {
+        String insert = sqlCache.computeIfAbsent("INSERT SELECT " + entityClass.getName() + properties, key -> {
+            String sql = buildInsertSql(entityClass, properties);
+            return sql.substring(0, sql.indexOf(" VALUES ("));
+        });
+        return jdbcTemplate.update(insert + " " + selectSql, args);
+    }
+
+    public String tableName(Class<?> entityClass) {
+        return persisterOf(entityClass).getTableName();
+    }
+
+    public String idColumnName(Class<?> entityClass) {
+        return persisterOf(entityClass).getIdentifierColumnNames()[0];
+    }
+
+    public String columnName(Class<?> entityClass, String property) {
+        return persisterOf(entityClass).getPropertyColumnNames(property)[0];
+    }
+
+    private String buildInsertSql(Class<?> entityClass, List<String> properties) {
+        AbstractEntityPersister persister = persisterOf(entityClass);
+
+        StringBuilder columns = new StringBuilder();
+        StringBuilder placeholders = new StringBuilder();
+        for (String property : properties) {
+            if (columns.length() > 0) {
+                columns.append(", ");
+                placeholders.append(", ");
+            }
+            columns.append(persister.getPropertyColumnNames(property)[0]);
+            placeholders.append('?');
+        }
+        return "INSERT INTO " + persister.getTableName() + " (" + columns + ") VALUES (" + placeholders + ")";
+    }
+
+    private String buildUpdateSql(Class<?> entityClass, List<String> properties, List<String> guardProperties) {
+        AbstractEntityPersister persister = persisterOf(entityClass);
+
+        StringBuilder assignments = new StringBuilder();
+        for (String property : properties) {
+            if (assignments.length() > 0) {
+                assignments.append(", ");
+            }
+            assignments.append(persister.getPropertyColumnNames(property)[0]).append(" = ?");
+        }
+        StringBuilder where = new StringBuilder(persister.getIdentifierColumnNames()[0]).append(" = ?");
+        for (String property : guardProperties) {
+            where.append(" AND ").append(persister.getPropertyColumnNames(property)[0]).append(" = ?");
+        }
+        return "UPDATE " + persister.getTableName() + " SET " + assignments + " WHERE " + where;
+    }
+
+    private AbstractEntityPersister persisterOf(Class<?> entityClass) {
+        return (AbstractEntityPersister) entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getRuntimeMetamodels()
+            .getMappingMetamodel()
+            .getEntityDescriptor(entityClass);
+    }
+}
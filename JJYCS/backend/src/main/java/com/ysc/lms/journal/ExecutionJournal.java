@@ -0,0 +1,263 @@
+package com.ysc.lms.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysc.lms.entity.ExecutionJournalRecord;
+import com.ysc.lms.repository.ExecutionJournalRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 공용 실행 저널
+ * 기록은 출처별 링 버퍼(최근 항목 조회용)와 적재 대기 큐에 넣기만 하고 반환하며 (락 없음),
+ * 주기적 flush 가 대기 큐를 배치로 execution_journal 에 적재한다
+ * 조회는 링 버퍼와 DB 를 합쳐 최신순으로 반환하고, 보관 기간이 지난 행은 출처별로 삭제한다
+ */
+@Component
+@Slf4j
+public class ExecutionJournal {
+
+    private static final LocalDateTime QUERY_MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ExecutionJournalWriter journalWriter;
+    private final ExecutionJournalRepository journalRepository;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final int flushBatchSize;
+    private final int maxPending;
+    private final int maxQueryLimit;
+    private final int defaultRetentionDays;
+
+    private final Map<JournalSource, JournalRing> rings = new EnumMap<>(JournalSource.class);
+    private final Queue<JournalEntry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    public ExecutionJournal(ExecutionJournalWriter journalWriter,
+                            ExecutionJournalRepository journalRepository,
+                            ObjectMapper objectMapper,
+                            Environment environment,
+                            @Value("${app.journal.ring-capacity:4096}") int ringCapacity,
+                            @Value("${app.journal.flush-batch-size:500}") int flushBatchSize,
+                            @Value("${app.journal.max-pending:50000}") int maxPending,
+                            @Value("${app.journal.max-query-limit:1000}") int maxQueryLimit,
+                            @Value("${app.journal.retention-days:30}") int defaultRetentionDays) {
+        this.journalWriter = journalWriter;
+        this.journalRepository = journalRepository;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        this.flushBatchSize = flushBatchSize;
+        this.maxPending = maxPending;
+        this.maxQueryLimit = maxQueryLimit;
+        this.defaultRetentionDays = defaultRetentionDays;
+        for (JournalSource source : JournalSource.values()) {
+            rings.put(source, new JournalRing(ringCapacity));
+        }
+    }
+
+    /**
+     * 저널 기록 (호출 스레드에서는 직렬화/DB 접근 없음)
+     * 대기 큐가 가득 차면 DB 적재만 생략하고 링 버퍼에는 남긴다
+     *
+     * @param entryKey 출처별 식별 키 (ruleId, reportId 등)
+     * @param payload  출처별 DTO - flush 시점에 JSON 으로 직렬화된다
+     */
+    public void record(JournalSource source, String tenantId, String entryKey, String status,
+                       LocalDateTime occurredAt, Object payload) {
+        JournalEntry entry = new JournalEntry(newEntryId(), source, tenantId, entryKey, status,
+            occurredAt != null ? occurredAt : LocalDateTime.now(), payload, null);
+        rings.get(source).add(entry);
+
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            long dropped = droppedCount.incrementAndGet();
+            if (dropped % 1000 == 1) {
+                log.warn("Execution journal flush queue full ({}), dropped {} entries so far", maxPending, dropped);
+            }
+            return;
+        }
+        pending.offer(entry);
+    }
+
+    /**
+     * 출처별 조회 (최신순)
+     *
+     * @param tenantId null 이면 전체 테넌트
+     * @param from     포함, null 이면 제한 없음
+     * @param to       포함, null 이면 현재까지
+     */
+    public <T> List<T> query(JournalSource source, String tenantId, LocalDateTime from, LocalDateTime to,
+                             int limit, Class<T> payloadType) {
+        int max = Math.max(1, Math.min(limit, maxQueryLimit));
+        LocalDateTime fromTime = from != null ? from : QUERY_MIN_TIME;
+        LocalDateTime toTime = to != null ? to : LocalDateTime.now();
+
+        Predicate<JournalEntry> filter = entry -> (tenantId == null || tenantId.equals(entry.getTenantId()))
+            && !entry.getOccurredAt().isBefore(fromTime)
+            && !entry.getOccurredAt().isAfter(toTime);
+        List<JournalEntry> entries = rings.get(source).newest(filter, max);
+
+        // 링 버퍼가 limit 을 채우지 못했으면 이미 밀려난(적재된) 항목을 DB 에서 보충
+        if (entries.size() < max) {
+            PageRequest page = PageRequest.of(0, max);
+            List<ExecutionJournalRecord> records = tenantId == null
+                ? journalRepository.findBySourceAndOccurredAtBetweenOrderByOccurredAtDesc(source, fromTime, toTime, page)
+                : journalRepository.findBySourceAndTenantIdAndOccurredAtBetweenOrderByOccurredAtDesc(
+                    source, tenantId, fromTime, toTime, page);
+
+            Set<String> seen = new HashSet<>();
+            entries.forEach(entry -> seen.add(entry.getEntryId()));
+            for (ExecutionJournalRecord record : records) {
+                if (seen.add(record.getEntryId())) {
+                    entries.add(new JournalEntry(record.getEntryId(), record.getSource(), record.getTenantId(),
+                        record.getEntryKey(), record.getStatus(), record.getOccurredAt(), null, record.getPayload()));
+                }
+            }
+            entries.sort(Comparator.comparing(JournalEntry::getOccurredAt).reversed());
+        }
+
+        List<T> result = new ArrayList<>(Math.min(entries.size(), max));
+        for (JournalEntry entry : entries) {
+            if (result.size() >= max) {
+                break;
+            }
+            T payload = payloadOf(entry, payloadType);
+            if (payload != null) {
+                result.add(payload);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 대기 큐를 배치 단위로 적재
+     * 실패한 배치는 대기 큐 여유가 있는 만큼 다시 넣고 다음 주기에 재시도한다
+     */
+    @Scheduled(fixedDelayString = "${app.journal.flush-interval-ms:2000}",
+               initialDelayString = "${app.journal.flush-interval-ms:2000}")
+    public synchronized void flush() {
+        List<JournalEntry> batch = new ArrayList<>(flushBatchSize);
+        while (true) {
+            batch.clear();
+            JournalEntry entry;
+            while (batch.size() < flushBatchSize && (entry = pending.poll()) != null) {
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            pendingCount.addAndGet(-batch.size());
+
+            try {
+                journalWriter.insert(toRows(batch));
+            } catch (DataAccessException e) {
+                log.warn("Failed to flush {} execution journal entries, will retry", batch.size(), e);
+                requeue(batch);
+                return;
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.journal.purge-cron:0 30 3 * * ?}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        for (JournalSource source : JournalSource.values()) {
+            int retentionDays = retentionDays(source);
+            try {
+                int deleted = journalWriter.purgeBefore(source, now.minusDays(retentionDays));
+                if (deleted > 0) {
+                    log.info("Purged {} {} journal entries older than {} days", deleted, source, retentionDays);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Failed to purge {} journal entries", source, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    int retentionDays(JournalSource source) {
+        return environment.getProperty("app.journal.source-retention-days." + source.getConfigKey(),
+            Integer.class, defaultRetentionDays);
+    }
+
+    private List<Object[]> toRows(List<JournalEntry> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (JournalEntry entry : batch) {
+            rows.add(new Object[]{
+                entry.getEntryId(), entry.getSource().name(), truncate(entry.getTenantId(), 100),
+                truncate(entry.getEntryKey(), 150), truncate(entry.getStatus(), 40),
+                entry.getOccurredAt(), serialize(entry), now
+            });
+        }
+        return rows;
+    }
+
+    private void requeue(List<JournalEntry> batch) {
+        for (JournalEntry entry : batch) {
+            if (pendingCount.incrementAndGet() > maxPending) {
+                pendingCount.decrementAndGet();
+                droppedCount.incrementAndGet();
+            } else {
+                pending.offer(entry);
+            }
+        }
+    }
+
+    private String serialize(JournalEntry entry) {
+        if (entry.getPayload() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(entry.getPayload());
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize {} journal entry {}", entry.getSource(), entry.getEntryId(), e);
+            return null;
+        }
+    }
+
+    private <T> T payloadOf(JournalEntry entry, Class<T> payloadType) {
+        if (payloadType.isInstance(entry.getPayload())) {
+            return payloadType.cast(entry.getPayload());
+        }
+        if (entry.getPayloadJson() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(entry.getPayloadJson(), payloadType);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to read {} journal entry {}", entry.getSource(), entry.getEntryId(), e);
+            return null;
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private static String newEntryId() {
+        // 규칙 실행마다 호출되므로 SecureRandom 기반 UUID.randomUUID() 대신 스레드 로컬 난수 사용
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long most = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+        long least = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(most, least).toString();
+    }
+}
@@ -0,0 +1,40 @@
+package com.ysc.lms.journal;
+
+import com.ysc.lms.entity.ExecutionJournalRecord;
+import com.ysc.lms.ingestion.EntityBatchInserter;
+import com.ysc.lms.repository.ExecutionJournalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * execution_journal 반영 (호출자와 분리된 새 트랜잭션)
+ * 배치 단위로 커밋되어 실패한 배치는 한 건도 남지 않으므로 재적재해도 entry_id 가 중복되지 않는다
+ */
+@Component
+@RequiredArgsConstructor
+public class ExecutionJournalWriter {
+
+    static final List<String> COLUMNS = List.of(
+        "entryId", "source", "tenantId", "entryKey", "status", "occurredAt", "payload", "createdAt");
+
+    private final EntityBatchInserter entityBatchInserter;
+    private final ExecutionJournalRepository executionJournalRepository;
+
+    /**
+     * @param rows COLUMNS 순서의 값 배열
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int insert(List<Object[]> rows) {
+        return entityBatchInserter.insert(ExecutionJournalRecord.class, COLUMNS, rows);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int purgeBefore(JournalSource source, LocalDateTime before) {
+        return executionJournalRepository.deleteBySourceBefore(source, before);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ysc.lms.journal;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 실행 저널 항목 (불변)
+ * 링 버퍼에서 읽은 항목은 원본 payload 객체를, DB 에서 읽은 항목은 payloadJson 을 가진다
+ */
+@Getter
+public final class JournalEntry {
+
+    private final String entryId;
+    private final JournalSource source;
+    private final String tenantId;
+    private final String entryKey;
+    private final String status;
+    private final LocalDateTime occurredAt;
+    private final Object payload;
+    private final String payloadJson;
+
+    JournalEntry(String entryId, JournalSource source, String tenantId, String entryKey, String status,
+                 LocalDateTime occurredAt, Object payload, String payloadJson) {
+        this.entryId = entryId;
+        this.source = source;
+        this.tenantId = tenantId;
+        this.entryKey = entryKey;
+        this.status = status;
+        this.occurredAt = occurredAt;
+        this.payload = payload;
+        this.payloadJson = payloadJson;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ysc.lms.journal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * 최근 저널 항목용 고정 크기 링 버퍼 (락 없음)
+ * 쓰기는 커서 getAndIncrement 로 슬롯을 예약한 뒤 (시퀀스, 항목) 쌍을 게시하고,
+ * 읽기는 시퀀스가 기대값과 다른 슬롯(덮어써졌거나 아직 게시 전)을 건너뛴다
+ */
+final class JournalRing {
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLong cursor = new AtomicLong();
+    private final int capacity;
+    private final int mask;
+
+    JournalRing(int requestedCapacity) {
+        int size = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    void add(JournalEntry entry) {
+        long sequence = cursor.getAndIncrement();
+        slots.set((int) (sequence & mask), new Slot(sequence, entry));
+    }
+
+    /**
+     * 최신순으로 조건에 맞는 항목을 최대 limit 건 반환
+     */
+    List<JournalEntry> newest(Predicate<JournalEntry> filter, int limit) {
+        List<JournalEntry> result = new ArrayList<>(Math.min(limit, capacity));
+        long end = cursor.get();
+        long start = Math.max(0, end - capacity);
+        for (long sequence = end - 1; sequence >= start && result.size() < limit; sequence--) {
+            Slot slot = slots.get((int) (sequence & mask));
+            if (slot == null || slot.sequence != sequence) {
+                continue;
+            }
+            if (filter.test(slot.entry)) {
+                result.add(slot.entry);
+            }
+        }
+        return result;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    private static final class Slot {
+        private final long sequence;
+        private final JournalEntry entry;
+
+        private Slot(long sequence, JournalEntry entry) {
+            this.sequence = sequence;
+            this.entry = entry;
+        }
+    }
+}
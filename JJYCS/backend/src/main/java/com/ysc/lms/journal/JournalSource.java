@@ -0,0 +1,24 @@
+package com.ysc.lms.journal;
+
+/**
+ * 실행 저널 출처 (출처별로 링 버퍼와 보관 기간을 따로 둔다)
+ */
+public enum JournalSource {
+    RULE_EXECUTION("rule-execution"),     // BusinessRuleEngine 규칙 실행 로그
+    REPORT_EXECUTION("report-execution"), // ReportingService 리포트 실행 이력
+    ANOMALY("anomaly"),                   // AnomalyDetectionService 탐지 이상
+    PREDICTION("prediction");             // PredictiveAnalyticsService 예측 결과
+
+    private final String configKey;
+
+    JournalSource(String configKey) {
+        this.configKey = configKey;
+    }
+
+    /**
+     * app.journal.source-retention-days.<configKey> 설정 키
+     */
+    public String getConfigKey() {
+        return configKey;
+    }
+}
@@ -0,0 +1,106 @@
+package com.ysc.lms.label;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 8비트 회색조 PNG 스트리밍 인코더 - 행을 받는 대로 압축해 IDAT 청크로 내보내므로 전체 이미지를 메모리에 두지 않는다
+ * ImageIO PNG 인코더 대신 라벨 픽셀 배열을 그대로 Deflater 에 넣는다 (필터 없음)
+ */
+final class GrayPngWriter {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] IHDR = "IHDR".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IDAT = "IDAT".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IEND = "IEND".getBytes(StandardCharsets.US_ASCII);
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+    private final int width;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final byte[] row;
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private int chunkLength;
+
+    /**
+     * @param deflater 호출자 소유 - reset 후 사용하며 end 는 호출자가 한다
+     */
+    GrayPngWriter(OutputStream out, int width, int height, Deflater deflater) throws IOException {
+        this.out = out;
+        this.width = width;
+        this.deflater = deflater;
+        this.row = new byte[width + 1];
+        deflater.reset();
+
+        out.write(SIGNATURE);
+        byte[] header = new byte[13];
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = 8; // bit depth
+        header[9] = 0; // grayscale
+        writeChunk(IHDR, header, header.length);
+    }
+
+    /**
+     * rows x srcWidth 픽셀을 이어 붙인다 - srcWidth 가 이미지 폭보다 좁으면 오른쪽을 흰색으로 채운다
+     */
+    void writeRows(byte[] pixels, int srcWidth, int rows) throws IOException {
+        int copyWidth = Math.min(srcWidth, width);
+        for (int y = 0; y < rows; y++) {
+            row[0] = 0; // filter: none
+            System.arraycopy(pixels, y * srcWidth, row, 1, copyWidth);
+            for (int x = copyWidth + 1; x < row.length; x++) {
+                row[x] = (byte) 0xFF;
+            }
+            deflater.setInput(row);
+            while (!deflater.needsInput()) {
+                drain();
+            }
+        }
+    }
+
+    void finish() throws IOException {
+        deflater.finish();
+        while (!deflater.finished()) {
+            drain();
+        }
+        if (chunkLength > 0) {
+            writeChunk(IDAT, chunk, chunkLength);
+            chunkLength = 0;
+        }
+        writeChunk(IEND, new byte[0], 0);
+        out.flush();
+    }
+
+    private void drain() throws IOException {
+        chunkLength += deflater.deflate(chunk, chunkLength, chunk.length - chunkLength);
+        if (chunkLength == chunk.length) {
+            writeChunk(IDAT, chunk, chunkLength);
+            chunkLength = 0;
+        }
+    }
+
+    private void writeChunk(byte[] type, byte[] data, int length) throws IOException {
+        byte[] number = new byte[4];
+        putInt(number, 0, length);
+        out.write(number);
+        out.write(type);
+        out.write(data, 0, length);
+        crc.reset();
+        crc.update(type);
+        crc.update(data, 0, length);
+        putInt(number, 0, (int) crc.getValue());
+        out.write(number);
+    }
+
+    private static void putInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+}
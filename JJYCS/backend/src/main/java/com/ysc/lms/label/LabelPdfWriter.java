@@ -0,0 +1,100 @@
+package com.ysc.lms.label;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 라벨 시트용 최소 PDF 스트리밍 작성기 - 라벨 한 장이 한 페이지(라벨 크기)이며 이미지는 FlateDecode 회색조 XObject
+ * 페이지를 받는 대로 출력하고 페이지 트리/xref 는 마지막에 쓴다
+ */
+final class LabelPdfWriter {
+
+    private static final int CATALOG = 1;
+    private static final int PAGES = 2;
+
+    private final OutputStream out;
+    private final double pointsPerPixel;
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Integer> pageObjects = new ArrayList<>();
+    private long position;
+
+    LabelPdfWriter(OutputStream out, double dpi) throws IOException {
+        this.out = out;
+        this.pointsPerPixel = 72.0 / dpi;
+        offsets.add(0L); // catalog - finish 에서 기록
+        offsets.add(0L); // pages
+        write("%PDF-1.4\n");
+        write(new byte[]{'%', (byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3, '\n'});
+    }
+
+    /**
+     * @param deflated width x height 8비트 회색조 픽셀의 zlib 압축 결과
+     */
+    void addPage(int width, int height, byte[] deflated) throws IOException {
+        String pageWidth = points(width);
+        String pageHeight = points(height);
+
+        int image = beginObject();
+        write("<< /Type /XObject /Subtype /Image /Width " + width + " /Height " + height
+            + " /ColorSpace /DeviceGray /BitsPerComponent 8 /Filter /FlateDecode /Length " + deflated.length + " >>\nstream\n");
+        write(deflated);
+        write("\nendstream\nendobj\n");
+
+        byte[] content = ("q " + pageWidth + " 0 0 " + pageHeight + " 0 0 cm /Im0 Do Q").getBytes(StandardCharsets.US_ASCII);
+        int contents = beginObject();
+        write("<< /Length " + content.length + " >>\nstream\n");
+        write(content);
+        write("\nendstream\nendobj\n");
+
+        int page = beginObject();
+        write("<< /Type /Page /Parent " + PAGES + " 0 R /MediaBox [0 0 " + pageWidth + " " + pageHeight + "]"
+            + " /Resources << /XObject << /Im0 " + image + " 0 R >> >> /Contents " + contents + " 0 R >>\nendobj\n");
+        pageObjects.add(page);
+    }
+
+    void finish() throws IOException {
+        offsets.set(PAGES - 1, position);
+        StringBuilder kids = new StringBuilder();
+        for (Integer page : pageObjects) {
+            kids.append(page).append(" 0 R ");
+        }
+        write(PAGES + " 0 obj\n<< /Type /Pages /Kids [" + kids + "] /Count " + pageObjects.size() + " >>\nendobj\n");
+
+        offsets.set(CATALOG - 1, position);
+        write(CATALOG + " 0 obj\n<< /Type /Catalog /Pages " + PAGES + " 0 R >>\nendobj\n");
+
+        long xref = position;
+        StringBuilder table = new StringBuilder("xref\n0 ").append(offsets.size() + 1).append("\n0000000000 65535 f \n");
+        for (Long offset : offsets) {
+            table.append(String.format(Locale.ROOT, "%010d 00000 n \n", offset));
+        }
+        table.append("trailer\n<< /Size ").append(offsets.size() + 1).append(" /Root ").append(CATALOG).append(" 0 R >>\n")
+            .append("startxref\n").append(xref).append("\n%%EOF\n");
+        write(table.toString());
+        out.flush();
+    }
+
+    private int beginObject() throws IOException {
+        offsets.add(position);
+        int number = offsets.size();
+        write(number + " 0 obj\n");
+        return number;
+    }
+
+    private String points(int pixels) {
+        return String.format(Locale.ROOT, "%.2f", pixels * pointsPerPixel);
+    }
+
+    private void write(String text) throws IOException {
+        write(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+}
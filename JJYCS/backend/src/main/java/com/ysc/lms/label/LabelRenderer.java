@@ -0,0 +1,265 @@
+package com.ysc.lms.label;
+
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.oned.Code128Writer;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 라벨을 스레드별로 재사용하는 8비트 회색조 캔버스에 그린다
+ *
+ * QR/바코드는 ZXing 이 만든 모듈 배열을 캔버스 픽셀에 직접 칠하므로 확대된 BitMatrix 나 중간 BufferedImage 를
+ * 만들지 않는다. 배치/여백 계산은 QRCodeWriter(여백 1), Code128Writer(기본 여백 10)와 같다.
+ */
+final class LabelRenderer {
+
+    private static final byte WHITE = (byte) 0xFF;
+    private static final byte BLACK = 0;
+    private static final int QR_MARGIN = 1;
+    private static final int BARCODE_MARGIN = 10;
+    private static final int LABEL_QR_SIZE = 80;
+    private static final Map<EncodeHintType, Object> QR_HINTS = Map.of(EncodeHintType.CHARACTER_SET, StandardCharsets.UTF_8.name());
+
+    private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 16);
+    private static final Font BOLD_18 = new Font("Arial", Font.BOLD, 18);
+    private static final Font BOLD_14 = new Font("Arial", Font.BOLD, 14);
+    private static final Font BOLD_12 = new Font("Arial", Font.BOLD, 12);
+    private static final Font PLAIN_14 = new Font("Arial", Font.PLAIN, 14);
+    private static final Font PLAIN_12 = new Font("Arial", Font.PLAIN, 12);
+    private static final Font PLAIN_10 = new Font("Arial", Font.PLAIN, 10);
+    private static final BasicStroke BORDER = new BasicStroke(2);
+
+    private static final ThreadLocal<Map<LabelSpec.Kind, BufferedImage>> CANVASES =
+        ThreadLocal.withInitial(() -> new EnumMap<>(LabelSpec.Kind.class));
+
+    private LabelRenderer() {
+    }
+
+    /**
+     * 현재 스레드 캔버스에 그린 뒤 픽셀 배열(행 우선, width x height)을 반환 - 같은 스레드의 다음 render 전까지만 유효
+     */
+    static byte[] render(LabelSpec spec) {
+        LabelSpec.Kind kind = spec.getKind();
+        BufferedImage canvas = CANVASES.get().computeIfAbsent(kind,
+            k -> new BufferedImage(k.getWidth(), k.getHeight(), BufferedImage.TYPE_BYTE_GRAY));
+        byte[] pixels = ((DataBufferByte) canvas.getRaster().getDataBuffer()).getData();
+        Arrays.fill(pixels, WHITE);
+
+        try {
+            switch (kind) {
+                case QR_CODE:
+                    paintQr(pixels, kind.getWidth(), 0, 0, kind.getWidth(), spec.field(0));
+                    break;
+                case LABEL_QR_CODE:
+                    drawLabelQrCode(canvas, pixels, spec);
+                    break;
+                case BARCODE:
+                    paintBarcode(pixels, kind.getWidth(), kind.getHeight(), spec.field(0));
+                    break;
+                case ORDER_LABEL:
+                    drawOrderLabel(canvas, pixels, spec);
+                    break;
+                case BOX_LABEL:
+                    drawBoxLabel(canvas, pixels, spec);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported label kind: " + kind);
+            }
+        } catch (WriterException e) {
+            throw new IllegalArgumentException("Cannot encode label content: " + e.getMessage(), e);
+        }
+        return pixels;
+    }
+
+    private static void drawLabelQrCode(BufferedImage canvas, byte[] pixels, LabelSpec spec) throws WriterException {
+        int size = LabelSpec.Kind.LABEL_QR_CODE.getWidth();
+        String code = spec.field(0);
+        paintQr(pixels, canvas.getWidth(), 0, 0, size, code);
+
+        Graphics2D g = graphics(canvas);
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setFont(BOLD_14);
+            drawCentered(g, spec.field(1), size, size + 25);
+            g.setFont(PLAIN_10);
+            drawCentered(g, code, size, size + 45);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private static void drawOrderLabel(BufferedImage canvas, byte[] pixels, LabelSpec spec) throws WriterException {
+        int width = canvas.getWidth();
+        int height = canvas.getHeight();
+        Graphics2D g = graphics(canvas);
+        try {
+            g.setStroke(BORDER);
+            g.drawRect(5, 5, width - 10, height - 10);
+
+            g.setFont(TITLE_FONT);
+            g.drawString("YCS LOGISTICS", 20, 30);
+            g.setFont(BOLD_14);
+            g.drawString("Order: " + spec.field(0), 20, 60);
+            g.setFont(PLAIN_12);
+            g.drawString("To: " + spec.field(1), 20, 90);
+
+            int yPos = 110;
+            for (String line : splitAddress(spec.field(2), 45)) {
+                g.drawString(line, 20, yPos);
+                yPos += 18;
+            }
+            g.setFont(BOLD_12);
+            g.drawString("Type: " + spec.field(3), 20, yPos + 10);
+
+            g.setFont(PLAIN_10);
+            g.drawString("Generated: " + spec.field(4), 20, height - 20);
+        } finally {
+            g.dispose();
+        }
+        paintQr(pixels, width, width - LABEL_QR_SIZE - 20, 20, LABEL_QR_SIZE, spec.field(0));
+    }
+
+    private static void drawBoxLabel(BufferedImage canvas, byte[] pixels, LabelSpec spec) throws WriterException {
+        int width = canvas.getWidth();
+        int height = canvas.getHeight();
+        Graphics2D g = graphics(canvas);
+        try {
+            g.setStroke(BORDER);
+            g.drawRect(5, 5, width - 10, height - 10);
+
+            g.setFont(TITLE_FONT);
+            g.drawString("YCS BOX LABEL", 20, 30);
+            g.setFont(BOLD_18);
+            g.drawString(spec.field(0), 20, 70);
+            g.setFont(PLAIN_14);
+            g.drawString("Order: " + spec.field(1), 20, 100);
+            g.drawString("Box ID: " + spec.field(2), 20, 130);
+
+            g.setFont(PLAIN_12);
+            g.drawString("Scan for tracking", 20, 180);
+            g.setFont(PLAIN_10);
+            g.drawString("Generated: " + spec.field(3), 20, height - 20);
+        } finally {
+            g.dispose();
+        }
+        paintQr(pixels, width, width - LABEL_QR_SIZE - 20, 50, LABEL_QR_SIZE, spec.field(2));
+    }
+
+    private static Graphics2D graphics(BufferedImage canvas) {
+        Graphics2D g = canvas.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(Color.BLACK);
+        return g;
+    }
+
+    private static void drawCentered(Graphics2D g, String text, int width, int y) {
+        FontMetrics fm = g.getFontMetrics();
+        g.drawString(text, (width - fm.stringWidth(text)) / 2, y);
+    }
+
+    /**
+     * size x size 영역에 QR 모듈을 직접 칠한다 (여백 1모듈, 남는 픽셀은 가운데 정렬)
+     * 오류 정정은 M 으로 시작하되 모듈이 1픽셀도 안 되면 L 로 낮춰 심볼을 줄이고, 그래도 넘치면 영역에 맞춰 축소해 칠한다
+     */
+    private static void paintQr(byte[] pixels, int stride, int x0, int y0, int size, String content) throws WriterException {
+        ByteMatrix matrix = Encoder.encode(content, ErrorCorrectionLevel.M, QR_HINTS).getMatrix();
+        if (moduleSize(matrix, size) < 1) {
+            matrix = Encoder.encode(content, ErrorCorrectionLevel.L, QR_HINTS).getMatrix();
+        }
+        int multiple = moduleSize(matrix, size);
+        if (multiple < 1) {
+            paintQrScaled(pixels, stride, x0, y0, size, matrix);
+            return;
+        }
+        int inputWidth = matrix.getWidth();
+        int inputHeight = matrix.getHeight();
+        int leftPadding = x0 + (size - inputWidth * multiple) / 2;
+        int topPadding = y0 + (size - inputHeight * multiple) / 2;
+
+        for (int inputY = 0; inputY < inputHeight; inputY++) {
+            int rowStart = (topPadding + inputY * multiple) * stride;
+            for (int inputX = 0; inputX < inputWidth; inputX++) {
+                if (matrix.get(inputX, inputY) == 1) {
+                    int from = rowStart + leftPadding + inputX * multiple;
+                    Arrays.fill(pixels, from, from + multiple, BLACK);
+                }
+            }
+            // 모듈 한 줄을 칠한 뒤 나머지 (multiple - 1) 줄은 복사
+            for (int copy = 1; copy < multiple; copy++) {
+                System.arraycopy(pixels, rowStart + leftPadding, pixels, rowStart + copy * stride + leftPadding, inputWidth * multiple);
+            }
+        }
+    }
+
+    private static int moduleSize(ByteMatrix matrix, int size) {
+        return Math.min(size / (matrix.getWidth() + QR_MARGIN * 2), size / (matrix.getHeight() + QR_MARGIN * 2));
+    }
+
+    /**
+     * 모듈이 픽셀보다 작을 때 - 픽셀마다 해당 위치의 모듈을 골라 칠한다 (최근접 축소, 여백 포함)
+     */
+    private static void paintQrScaled(byte[] pixels, int stride, int x0, int y0, int size, ByteMatrix matrix) {
+        int modulesX = matrix.getWidth() + QR_MARGIN * 2;
+        int modulesY = matrix.getHeight() + QR_MARGIN * 2;
+        for (int y = 0; y < size; y++) {
+            int inputY = (int) ((long) y * modulesY / size) - QR_MARGIN;
+            if (inputY < 0 || inputY >= matrix.getHeight()) {
+                continue;
+            }
+            int rowStart = (y0 + y) * stride + x0;
+            for (int x = 0; x < size; x++) {
+                int inputX = (int) ((long) x * modulesX / size) - QR_MARGIN;
+                if (inputX >= 0 && inputX < matrix.getWidth() && matrix.get(inputX, inputY) == 1) {
+                    pixels[rowStart + x] = BLACK;
+                }
+            }
+        }
+    }
+
+    private static void paintBarcode(byte[] pixels, int width, int height, String content) {
+        boolean[] code = new Code128Writer().encode(content);
+        int fullWidth = code.length + BARCODE_MARGIN;
+        int multiple = width / fullWidth;
+        if (multiple < 1) {
+            throw new IllegalArgumentException("Barcode content too long for " + width + "px");
+        }
+        int leftPadding = (width - code.length * multiple) / 2;
+
+        for (int inputX = 0, outputX = leftPadding; inputX < code.length; inputX++, outputX += multiple) {
+            if (code[inputX]) {
+                Arrays.fill(pixels, outputX, outputX + multiple, BLACK);
+            }
+        }
+        for (int y = 1; y < height; y++) {
+            System.arraycopy(pixels, 0, pixels, y * width, width);
+        }
+    }
+
+    private static String[] splitAddress(String address, int maxCharsPerLine) {
+        if (address.length() <= maxCharsPerLine) {
+            return new String[]{address};
+        }
+        int numLines = (int) Math.ceil((double) address.length() / maxCharsPerLine);
+        String[] lines = new String[numLines];
+        for (int i = 0; i < numLines; i++) {
+            int start = i * maxCharsPerLine;
+            lines[i] = address.substring(start, Math.min(start + maxCharsPerLine, address.length()));
+        }
+        return lines;
+    }
+}
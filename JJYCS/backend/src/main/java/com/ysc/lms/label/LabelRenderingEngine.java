@@ -0,0 +1,177 @@
+package com.ysc.lms.label;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+/**
+ * 라벨/QR/바코드 렌더링 엔진
+ *
+ * 렌더링은 모두 크기가 고정된 ForkJoinPool 에서 수행하므로 캔버스/Deflater 같은 스레드별 버퍼는 풀 크기만큼만 생긴다.
+ * 인코딩 결과는 내용 해시(LabelSpec.getContentKey) 기준으로 바이트 상한 캐시에 둔다.
+ * 다건 시트는 sheet-window 개씩 앞서 병렬 렌더링하고 완료되는 대로 순서대로 출력 스트림에 쓴다.
+ */
+@Service
+@Slf4j
+public class LabelRenderingEngine {
+
+    private static final int DEFLATE_BUFFER_SIZE = 16 * 1024;
+
+    private final ForkJoinPool pool;
+    private final Cache<String, byte[]> cache;
+    private final int compressionLevel;
+    private final int sheetWindow;
+    private final double dpi;
+    private final ThreadLocal<Deflater> deflaters;
+    private final ThreadLocal<byte[]> deflateBuffers = ThreadLocal.withInitial(() -> new byte[DEFLATE_BUFFER_SIZE]);
+
+    public LabelRenderingEngine(@Value("${app.label.render-parallelism:4}") int parallelism,
+                                @Value("${app.label.cache-max-bytes:67108864}") long cacheMaxBytes,
+                                @Value("${app.label.compression-level:1}") int compressionLevel,
+                                @Value("${app.label.sheet-window:16}") int sheetWindow,
+                                @Value("${app.label.dpi:203}") double dpi) {
+        this.compressionLevel = compressionLevel;
+        this.sheetWindow = Math.max(1, sheetWindow);
+        this.dpi = dpi;
+        this.deflaters = ThreadLocal.withInitial(() -> new Deflater(compressionLevel));
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(cacheMaxBytes)
+            .weigher((String key, byte[] value) -> value.length)
+            .build();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ForkJoinPool(Math.max(1, parallelism), forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("label-render-" + threadCount.incrementAndGet());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * 라벨 한 장 PNG (캐시)
+     */
+    public byte[] renderPng(LabelSpec spec) {
+        return cache.get(spec.getContentKey() + ".png", key -> submit(() -> encodePng(spec)));
+    }
+
+    /**
+     * 여러 라벨을 PDF(라벨당 한 페이지) 또는 세로로 이어 붙인 PNG 한 장으로 출력 스트림에 바로 쓴다
+     */
+    public void writeSheet(List<LabelSpec> specs, SheetFormat format, OutputStream out) throws IOException {
+        if (specs.isEmpty()) {
+            throw new IllegalArgumentException("출력할 라벨이 없습니다.");
+        }
+        long started = System.nanoTime();
+        if (format == SheetFormat.PDF) {
+            LabelPdfWriter pdf = new LabelPdfWriter(out, dpi);
+            pipeline(specs, spec -> cache.get(spec.getContentKey() + ".flate", key -> deflatePixels(spec)),
+                (spec, deflated) -> pdf.addPage(spec.getWidth(), spec.getHeight(), deflated));
+            pdf.finish();
+        } else {
+            int width = specs.stream().mapToInt(LabelSpec::getWidth).max().orElse(0);
+            int height = specs.stream().mapToInt(LabelSpec::getHeight).sum();
+            Deflater deflater = new Deflater(compressionLevel);
+            try {
+                GrayPngWriter png = new GrayPngWriter(out, width, height, deflater);
+                pipeline(specs, spec -> copyPixels(spec),
+                    (spec, pixels) -> png.writeRows(pixels, spec.getWidth(), spec.getHeight()));
+                png.finish();
+            } finally {
+                deflater.end();
+            }
+        }
+        log.debug("Rendered {} label sheet of {} labels in {} ms",
+            format, specs.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * 라벨 렌더링은 최대 sheet-window 개만 앞서 진행 - 느린 클라이언트에게 쓰는 동안 메모리가 라벨 수에 비례해 늘지 않는다
+     */
+    private void pipeline(List<LabelSpec> specs, PageRenderer renderer, PageSink sink) throws IOException {
+        Deque<ForkJoinTask<byte[]>> window = new ArrayDeque<>(sheetWindow);
+        int next = 0;
+        try {
+            while (next < specs.size() && window.size() < sheetWindow) {
+                LabelSpec spec = specs.get(next++);
+                window.add(pool.submit(() -> renderer.render(spec)));
+            }
+            for (int written = 0; written < specs.size(); written++) {
+                byte[] page = window.poll().join();
+                sink.accept(specs.get(written), page);
+                if (next < specs.size()) {
+                    LabelSpec spec = specs.get(next++);
+                    window.add(pool.submit(() -> renderer.render(spec)));
+                }
+            }
+        } finally {
+            window.forEach(task -> task.cancel(true));
+        }
+    }
+
+    private byte[] submit(Callable<byte[]> task) {
+        return pool.submit(task).join();
+    }
+
+    private byte[] encodePng(LabelSpec spec) throws IOException {
+        byte[] pixels = LabelRenderer.render(spec);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 * 1024);
+        GrayPngWriter png = new GrayPngWriter(out, spec.getWidth(), spec.getHeight(), deflaters.get());
+        png.writeRows(pixels, spec.getWidth(), spec.getHeight());
+        png.finish();
+        return out.toByteArray();
+    }
+
+    private byte[] deflatePixels(LabelSpec spec) {
+        byte[] pixels = LabelRenderer.render(spec);
+        Deflater deflater = deflaters.get();
+        byte[] buffer = deflateBuffers.get();
+        deflater.reset();
+        deflater.setInput(pixels, 0, spec.getWidth() * spec.getHeight());
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 * 1024);
+        while (!deflater.finished()) {
+            int length = deflater.deflate(buffer);
+            out.write(buffer, 0, length);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 캔버스는 스레드별로 재사용되므로 다른 스레드에서 쓸 픽셀은 복사해 넘긴다
+     */
+    private static byte[] copyPixels(LabelSpec spec) {
+        return Arrays.copyOf(LabelRenderer.render(spec), spec.getWidth() * spec.getHeight());
+    }
+
+    @FunctionalInterface
+    private interface PageRenderer {
+        byte[] render(LabelSpec spec) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface PageSink {
+        void accept(LabelSpec spec, byte[] page) throws IOException;
+    }
+}
@@ -0,0 +1,145 @@
+package com.ysc.lms.label;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 렌더링할 라벨 한 장의 내용 - 종류와 출력 문자열만으로 결과 이미지가 결정되므로 내용 해시를 캐시 키로 쓴다
+ */
+public final class LabelSpec {
+
+    public enum Kind {
+        QR_CODE(300, 300),
+        LABEL_QR_CODE(300, 360),
+        BARCODE(400, 100),
+        ORDER_LABEL(400, 300),
+        BOX_LABEL(400, 300);
+
+        private final int width;
+        private final int height;
+
+        Kind(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+    }
+
+    private final Kind kind;
+    private final List<String> fields;
+    private String contentKey;
+
+    private LabelSpec(Kind kind, String... fields) {
+        for (String field : fields) {
+            if (field == null) {
+                throw new IllegalArgumentException(kind + " label field cannot be null");
+            }
+        }
+        this.kind = kind;
+        this.fields = List.of(fields);
+    }
+
+    public static LabelSpec qrCode(String data) {
+        requireData(data);
+        return new LabelSpec(Kind.QR_CODE, data);
+    }
+
+    public static LabelSpec labelQrCode(String code, String labelText) {
+        requireData(code);
+        return new LabelSpec(Kind.LABEL_QR_CODE, code, labelText);
+    }
+
+    public static LabelSpec barcode(String data) {
+        requireData(data);
+        return new LabelSpec(Kind.BARCODE, data);
+    }
+
+    /**
+     * @param generatedAt 라벨 하단 생성 시각 문자열 (분 단위로 넘기면 같은 분 안의 재출력은 캐시 결과를 쓴다)
+     */
+    public static LabelSpec orderLabel(String orderNumber, String recipientName, String recipientAddress,
+                                       String packageType, String generatedAt) {
+        return new LabelSpec(Kind.ORDER_LABEL, orderNumber, recipientName, recipientAddress, packageType, generatedAt);
+    }
+
+    public static LabelSpec boxLabel(String boxLabel, String orderNumber, String boxId, String generatedAt) {
+        return new LabelSpec(Kind.BOX_LABEL, boxLabel, orderNumber, boxId, generatedAt);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getWidth() {
+        return kind.width;
+    }
+
+    public int getHeight() {
+        return kind.height;
+    }
+
+    String field(int index) {
+        return fields.get(index);
+    }
+
+    /**
+     * SHA-256(종류 + 필드) 16진수
+     */
+    public String getContentKey() {
+        String key = contentKey;
+        if (key == null) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                digest.update(kind.name().getBytes(StandardCharsets.UTF_8));
+                for (String field : fields) {
+                    digest.update((byte) 0);
+                    digest.update(field.getBytes(StandardCharsets.UTF_8));
+                }
+                key = HexFormat.of().formatHex(digest.digest());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            contentKey = key;
+        }
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LabelSpec)) {
+            return false;
+        }
+        LabelSpec other = (LabelSpec) o;
+        return kind == other.kind && fields.equals(other.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * kind.hashCode() + fields.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return kind + Arrays.toString(fields.toArray());
+    }
+
+    private static void requireData(String data) {
+        if (data == null || data.isEmpty()) {
+            throw new IllegalArgumentException("Data cannot be null or empty");
+        }
+    }
+}
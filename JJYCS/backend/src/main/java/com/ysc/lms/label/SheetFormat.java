@@ -0,0 +1,36 @@
+package com.ysc.lms.label;
+
+import org.springframework.http.MediaType;
+
+/**
+ * 다건 라벨 출력 형식 - PDF 는 라벨 한 장당 한 페이지, PNG 는 세로로 이어 붙인 한 장
+ */
+public enum SheetFormat {
+    PDF(MediaType.APPLICATION_PDF, "pdf"),
+    PNG(MediaType.IMAGE_PNG, "png");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    SheetFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static SheetFormat fromExtension(String extension) {
+        for (SheetFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 라벨 출력 형식입니다: " + extension);
+    }
+}
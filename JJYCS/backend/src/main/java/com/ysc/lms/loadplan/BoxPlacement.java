@@ -0,0 +1,24 @@
+package com.ysc.lms.loadplan;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 박스 적재 위치 - 컨테이너 안쪽 벽/바닥/왼쪽 모서리 기준 좌표(mm)와 놓인 방향의 치수
+ */
+@Getter
+@AllArgsConstructor
+public class BoxPlacement {
+    private final Long boxId;
+    private final String orderNumber;
+    private final String boxNumber;
+    private final int x;
+    private final int y;
+    private final int z;
+    private final int lengthMm;
+    private final int widthMm;
+    private final int heightMm;
+    private final double weightKg;
+    /** 바닥면 기준 90도 회전 여부 */
+    private final boolean rotated;
+}
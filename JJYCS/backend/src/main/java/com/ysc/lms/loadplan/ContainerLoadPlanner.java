@@ -0,0 +1,221 @@
+package com.ysc.lms.loadplan;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 컨테이너 적재 계획 (3D bin packing)
+ *
+ * 박스 순서 전략(부피/바닥면적/높이/중량/긴 변 내림차순 + 부피순을 무작위로 조금씩 섞은 순서)마다 ContainerSpace 에
+ * first-fit 으로 채워 보고 가장 좋은 결과를 고른다. 전략들은 스레드 풀에서 병렬로 돌며, 첫 전략(부피순)을 뺀 나머지는
+ * 시간 예산을 넘기면 중단한다. 비교 기준: 못 실은 박스 수 → 컨테이너 수 → 앞 컨테이너에 몰아 실은 정도.
+ */
+public final class ContainerLoadPlanner {
+
+    private static final Comparator<LoadBox> BY_VOLUME = Comparator.comparingLong(LoadBox::getVolumeMm3).reversed();
+    private static final Comparator<LoadBox> BY_BASE_AREA = Comparator
+        .comparingLong((LoadBox box) -> (long) box.getLengthMm() * box.getWidthMm()).reversed()
+        .thenComparing(Comparator.comparingInt(LoadBox::getHeightMm).reversed());
+    private static final Comparator<LoadBox> BY_HEIGHT = Comparator.comparingInt(LoadBox::getHeightMm).reversed()
+        .thenComparing(BY_BASE_AREA);
+    private static final Comparator<LoadBox> BY_WEIGHT = Comparator.comparingDouble(LoadBox::getWeightKg).reversed()
+        .thenComparing(BY_VOLUME);
+    private static final Comparator<LoadBox> BY_LONGEST_SIDE = Comparator
+        .comparingInt((LoadBox box) -> Math.max(box.getLengthMm(), box.getWidthMm())).reversed()
+        .thenComparing(BY_VOLUME);
+
+    private final ExecutorService executor;
+    private final double minSupportRatio;
+    private final double stackWeightRatio;
+    private final int orderings;
+    private final long timeBudgetMillis;
+
+    /**
+     * @param orderings 평가할 순서 전략 수 (고정 전략 5개 + 나머지는 무작위 섞기)
+     */
+    public ContainerLoadPlanner(ExecutorService executor, double minSupportRatio, double stackWeightRatio,
+                                int orderings, long timeBudgetMillis) {
+        this.executor = executor;
+        this.minSupportRatio = minSupportRatio;
+        this.stackWeightRatio = stackWeightRatio;
+        this.orderings = Math.max(1, orderings);
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * @param maxContainers 사용할 수 있는 최대 컨테이너 수 (넘치는 박스는 unplaced)
+     */
+    public LoadPlan plan(List<LoadBox> boxes, ContainerProfile profile, int maxContainers) {
+        long started = System.nanoTime();
+        long deadline = started + timeBudgetMillis * 1_000_000;
+
+        List<LoadBox> placeable = new ArrayList<>(boxes.size());
+        List<LoadBox> oversized = new ArrayList<>();
+        for (LoadBox box : boxes) {
+            (fitsEmpty(box, profile) ? placeable : oversized).add(box);
+        }
+
+        List<Future<Packing>> futures = new ArrayList<>(orderings);
+        for (int i = 0; i < orderings; i++) {
+            int strategy = i;
+            long stopAt = strategy == 0 ? Long.MAX_VALUE : deadline;
+            futures.add(executor.submit(() -> pack(placeable, strategy, profile, maxContainers, stopAt)));
+        }
+
+        Packing best = null;
+        int evaluated = 0;
+        for (Future<Packing> future : futures) {
+            Packing packing = join(future);
+            if (packing != null) {
+                evaluated++;
+                if (best == null || packing.isBetterThan(best)) {
+                    best = packing;
+                }
+            }
+        }
+
+        List<LoadedContainer> containers = new ArrayList<>(best.spaces.size());
+        for (int i = 0; i < best.spaces.size(); i++) {
+            ContainerSpace space = best.spaces.get(i);
+            containers.add(new LoadedContainer(i + 1, space.getPlacements(), space.getLoadedKg(),
+                space.getLoadedVolume() / 1e9,
+                (double) space.getLoadedVolume() / profile.getVolumeMm3(),
+                space.getLoadedKg() / profile.getMaxPayloadKg()));
+        }
+        List<LoadBox> unplaced = new ArrayList<>(oversized);
+        unplaced.addAll(best.unplaced);
+
+        long totalVolume = boxes.stream().mapToLong(LoadBox::getVolumeMm3).sum();
+        int volumeOnly = (int) Math.ceil((double) totalVolume / profile.getVolumeMm3());
+        return new LoadPlan(profile, containers, unplaced, totalVolume / 1e9, volumeOnly,
+            best.ordering, evaluated, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * @return 시간 예산 초과로 중단하면 null
+     */
+    private Packing pack(List<LoadBox> boxes, int strategy, ContainerProfile profile, int maxContainers, long deadline) {
+        if (System.nanoTime() > deadline) {
+            return null;
+        }
+        List<LoadBox> ordered = new ArrayList<>(boxes);
+        String name = order(ordered, strategy);
+
+        int minSide = Integer.MAX_VALUE;
+        int minHeight = Integer.MAX_VALUE;
+        for (LoadBox box : ordered) {
+            minSide = Math.min(minSide, Math.min(box.getLengthMm(), box.getWidthMm()));
+            minHeight = Math.min(minHeight, box.getHeightMm());
+        }
+
+        Packing packing = new Packing(name);
+        for (int i = 0; i < ordered.size(); i++) {
+            if ((i & 63) == 0 && System.nanoTime() > deadline) {
+                return null;
+            }
+            LoadBox box = ordered.get(i);
+            boolean placed = false;
+            for (ContainerSpace space : packing.spaces) {
+                if (space.tryPlace(box)) {
+                    placed = true;
+                    break;
+                }
+            }
+            if (!placed && packing.spaces.size() < maxContainers) {
+                ContainerSpace space = new ContainerSpace(profile, minSupportRatio, stackWeightRatio, minSide, minHeight);
+                packing.spaces.add(space);
+                placed = space.tryPlace(box);
+            }
+            if (!placed) {
+                packing.unplaced.add(box);
+            }
+        }
+        return packing;
+    }
+
+    private static String order(List<LoadBox> boxes, int strategy) {
+        switch (strategy) {
+            case 0:
+                boxes.sort(BY_VOLUME);
+                return "volume";
+            case 1:
+                boxes.sort(BY_BASE_AREA);
+                return "base-area";
+            case 2:
+                boxes.sort(BY_HEIGHT);
+                return "height";
+            case 3:
+                boxes.sort(BY_WEIGHT);
+                return "weight";
+            case 4:
+                boxes.sort(BY_LONGEST_SIDE);
+                return "longest-side";
+            default:
+                // 부피순에서 가까운 박스끼리만 자리를 바꿔 큰 박스 우선 성질은 유지
+                boxes.sort(BY_VOLUME);
+                Random random = new Random(strategy);
+                int window = Math.max(2, boxes.size() / 20);
+                for (int i = 0; i < boxes.size(); i++) {
+                    int j = Math.min(boxes.size() - 1, i + random.nextInt(window));
+                    Collections.swap(boxes, i, j);
+                }
+                return "volume-shuffled-" + strategy;
+        }
+    }
+
+    private static boolean fitsEmpty(LoadBox box, ContainerProfile profile) {
+        boolean upright = box.getLengthMm() <= profile.getLengthMm() && box.getWidthMm() <= profile.getWidthMm();
+        boolean turned = box.getWidthMm() <= profile.getLengthMm() && box.getLengthMm() <= profile.getWidthMm();
+        return box.getHeightMm() <= profile.getHeightMm() && box.getWeightKg() <= profile.getMaxPayloadKg()
+            && (upright || turned);
+    }
+
+    private static Packing join(Future<Packing> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("적재 계획 계산이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("적재 계획 계산에 실패했습니다.", e.getCause());
+        }
+    }
+
+    private static final class Packing {
+        private final String ordering;
+        private final List<ContainerSpace> spaces = new ArrayList<>();
+        private final List<LoadBox> unplaced = new ArrayList<>();
+
+        private Packing(String ordering) {
+            this.ordering = ordering;
+        }
+
+        private boolean isBetterThan(Packing other) {
+            if (unplaced.size() != other.unplaced.size()) {
+                return unplaced.size() < other.unplaced.size();
+            }
+            if (spaces.size() != other.spaces.size()) {
+                return spaces.size() < other.spaces.size();
+            }
+            return concentration() > other.concentration();
+        }
+
+        /**
+         * 컨테이너별 적재 부피 제곱합 - 같은 대수면 앞 컨테이너에 몰아 실어 마지막 컨테이너가 빌수록 크다
+         */
+        private double concentration() {
+            double sum = 0;
+            for (ContainerSpace space : spaces) {
+                double volume = space.getLoadedVolume() / 1e9;
+                sum += volume * volume;
+            }
+            return sum;
+        }
+    }
+}
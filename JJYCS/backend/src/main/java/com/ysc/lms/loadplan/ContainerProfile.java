@@ -0,0 +1,36 @@
+package com.ysc.lms.loadplan;
+
+/**
+ * 적재 단위 규격 - 내부 치수(mm, 길이 x 폭 x 높이)와 최대 적재 중량(kg)
+ */
+public enum ContainerProfile {
+    CONTAINER_20FT("20피트 컨테이너", 5898, 2352, 2393, 28_200),
+    CONTAINER_40FT("40피트 컨테이너", 12032, 2352, 2393, 26_700),
+    CONTAINER_40HC("40피트 하이큐브", 12032, 2352, 2698, 26_500),
+    AIR_PMC("항공 PMC 팔레트 (하부 화물칸)", 3175, 2235, 1600, 4_626),
+    AIR_PAG("항공 PAG 팔레트 (하부 화물칸)", 3175, 2235, 1600, 4_626);
+
+    private final String koreanName;
+    private final int lengthMm;
+    private final int widthMm;
+    private final int heightMm;
+    private final double maxPayloadKg;
+
+    ContainerProfile(String koreanName, int lengthMm, int widthMm, int heightMm, double maxPayloadKg) {
+        this.koreanName = koreanName;
+        this.lengthMm = lengthMm;
+        this.widthMm = widthMm;
+        this.heightMm = heightMm;
+        this.maxPayloadKg = maxPayloadKg;
+    }
+
+    public String getKoreanName() { return koreanName; }
+    public int getLengthMm() { return lengthMm; }
+    public int getWidthMm() { return widthMm; }
+    public int getHeightMm() { return heightMm; }
+    public double getMaxPayloadKg() { return maxPayloadKg; }
+
+    public long getVolumeMm3() {
+        return (long) lengthMm * widthMm * heightMm;
+    }
+}
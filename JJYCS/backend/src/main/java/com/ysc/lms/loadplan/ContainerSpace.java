@@ -0,0 +1,356 @@
+package com.ysc.lms.loadplan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * 컨테이너 한 대의 적재 상태 (extreme point 방식, 단일 스레드 전용)
+ *
+ * 박스를 놓을 수 있는 후보점(extreme point)을 (안쪽부터 WALL_SLAB_MM 구간, z, x, y) 순으로 유지해
+ * 컨테이너 안쪽 구간부터 바닥→위로 채운다 (구간 단위로 문 쪽으로 나오며 적입).
+ * 충돌/지지 검사는 바닥면을 격자로 나눠 박스 발자국이 걸치는 칸의 박스만 확인하고,
+ * 가장 작은 박스도 들어갈 수 없게 된 후보점은 조회 중에 바로 버린다 (공간은 줄어들기만 하므로 다시 쓸 일이 없다).
+ * 적재 제약: 바닥 지지 면적 비율(minSupportRatio) 이상, 아래 박스 중량의 stackWeightRatio 배를 넘는 박스는 올리지 않음.
+ */
+final class ContainerSpace {
+
+    private static final int CELL_MM = 250;
+    private static final int WALL_SLAB_MM = 2400;
+    private static final int COORDINATE_BITS = 21;
+    private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+    private static final int MAX_FAILURES = 64;
+
+    private final ContainerProfile profile;
+    private final double minSupportRatio;
+    private final double stackWeightRatio;
+    private final int cellsX;
+    private final int cellsY;
+    private final int[][] cells;
+    private final int[] cellSizes;
+    private final int minSide;
+    private final int minHeight;
+    private final NavigableSet<Long> points = new TreeSet<>(Comparator
+        .comparingLong((Long point) -> (point >>> (2 * COORDINATE_BITS)) / WALL_SLAB_MM)
+        .thenComparingLong(point -> (point >>> COORDINATE_BITS) & COORDINATE_MASK)
+        .thenComparingLong(point -> point));
+
+    private int count;
+    private int[] xs = new int[64];
+    private int[] ys = new int[64];
+    private int[] zs = new int[64];
+    private int[] ls = new int[64];
+    private int[] ws = new int[64];
+    private int[] hs = new int[64];
+    private double[] weights = new double[64];
+    private int[] visited = new int[64];
+    private int stamp;
+    private final List<BoxPlacement> placements = new ArrayList<>();
+    private double loadedKg;
+    private long loadedVolume;
+
+    /** 이 컨테이너에 들어가지 않은 박스 (높이, 짧은 변, 긴 변, 중량) - 모든 값이 같거나 큰 박스도 들어가지 않는다 */
+    private final double[][] failures = new double[MAX_FAILURES][];
+    private int failureCount;
+
+    /**
+     * @param minSide   적재할 박스 중 가장 짧은 바닥 변 (mm)
+     * @param minHeight 적재할 박스 중 가장 낮은 높이 (mm)
+     */
+    ContainerSpace(ContainerProfile profile, double minSupportRatio, double stackWeightRatio, int minSide, int minHeight) {
+        this.profile = profile;
+        this.minSide = Math.max(1, minSide);
+        this.minHeight = Math.max(1, minHeight);
+        this.minSupportRatio = minSupportRatio;
+        this.stackWeightRatio = stackWeightRatio;
+        this.cellsX = (profile.getLengthMm() + CELL_MM - 1) / CELL_MM;
+        this.cellsY = (profile.getWidthMm() + CELL_MM - 1) / CELL_MM;
+        this.cells = new int[cellsX * cellsY][];
+        this.cellSizes = new int[cellsX * cellsY];
+        points.add(key(0, 0, 0));
+    }
+
+    /**
+     * 들어갈 수 있는 가장 안쪽/아래 후보점에 적재
+     *
+     * @return 적재 여부
+     */
+    boolean tryPlace(LoadBox box) {
+        if (loadedKg + box.getWeightKg() > profile.getMaxPayloadKg()
+            || loadedVolume + box.getVolumeMm3() > profile.getVolumeMm3()
+            || dominatedByFailure(box)) {
+            return false;
+        }
+        int l = box.getLengthMm();
+        int w = box.getWidthMm();
+        int h = box.getHeightMm();
+        Iterator<Long> candidates = points.iterator();
+        while (candidates.hasNext()) {
+            long point = candidates.next();
+            int x = (int) (point >>> (2 * COORDINATE_BITS));
+            int z = (int) ((point >>> COORDINATE_BITS) & COORDINATE_MASK);
+            int y = (int) (point & COORDINATE_MASK);
+            if (fits(x, y, z, l, w, h, box.getWeightKg())) {
+                place(box, point, x, y, z, l, w, h, false);
+                return true;
+            }
+            if (l != w && fits(x, y, z, w, l, h, box.getWeightKg())) {
+                place(box, point, x, y, z, w, l, h, true);
+                return true;
+            }
+            if (!isFree(x, y, z, minSide, minSide, minHeight)) {
+                candidates.remove();
+            }
+        }
+        recordFailure(box);
+        return false;
+    }
+
+    List<BoxPlacement> getPlacements() {
+        return placements;
+    }
+
+    double getLoadedKg() {
+        return loadedKg;
+    }
+
+    long getLoadedVolume() {
+        return loadedVolume;
+    }
+
+    /**
+     * 다른 박스와 겹치지 않고 컨테이너 안에 들어가는지 (지지/중량 조건 제외)
+     */
+    private boolean isFree(int x, int y, int z, int l, int w, int h) {
+        if (x + l > profile.getLengthMm() || y + w > profile.getWidthMm() || z + h > profile.getHeightMm()) {
+            return false;
+        }
+        int cx1 = (x + l - 1) / CELL_MM;
+        int cy1 = (y + w - 1) / CELL_MM;
+        for (int cx = x / CELL_MM; cx <= cx1; cx++) {
+            for (int cy = y / CELL_MM; cy <= cy1; cy++) {
+                int cell = cx * cellsY + cy;
+                int[] members = cells[cell];
+                for (int m = 0; m < cellSizes[cell]; m++) {
+                    int j = members[m];
+                    if (x < xs[j] + ls[j] && xs[j] < x + l && y < ys[j] + ws[j] && ys[j] < y + w
+                        && z < zs[j] + hs[j] && zs[j] < z + h) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean fits(int x, int y, int z, int l, int w, int h, double weight) {
+        if (x + l > profile.getLengthMm() || y + w > profile.getWidthMm() || z + h > profile.getHeightMm()) {
+            return false;
+        }
+        stamp++;
+        long supported = 0;
+        int cx1 = (x + l - 1) / CELL_MM;
+        int cy1 = (y + w - 1) / CELL_MM;
+        for (int cx = x / CELL_MM; cx <= cx1; cx++) {
+            for (int cy = y / CELL_MM; cy <= cy1; cy++) {
+                int cell = cx * cellsY + cy;
+                int[] members = cells[cell];
+                for (int m = 0; m < cellSizes[cell]; m++) {
+                    int j = members[m];
+                    if (visited[j] == stamp) {
+                        continue;
+                    }
+                    visited[j] = stamp;
+                    int overlapX = Math.min(x + l, xs[j] + ls[j]) - Math.max(x, xs[j]);
+                    int overlapY = Math.min(y + w, ys[j] + ws[j]) - Math.max(y, ys[j]);
+                    if (overlapX <= 0 || overlapY <= 0) {
+                        continue;
+                    }
+                    int top = zs[j] + hs[j];
+                    if (z < top && zs[j] < z + h) {
+                        return false;
+                    }
+                    if (top == z) {
+                        if (weight > weights[j] * stackWeightRatio) {
+                            return false;
+                        }
+                        supported += (long) overlapX * overlapY;
+                    }
+                }
+            }
+        }
+        return z == 0 || supported >= minSupportRatio * l * w;
+    }
+
+    private void place(LoadBox box, long point, int x, int y, int z, int l, int w, int h, boolean rotated) {
+        int index = count++;
+        ensureCapacity();
+        xs[index] = x;
+        ys[index] = y;
+        zs[index] = z;
+        ls[index] = l;
+        ws[index] = w;
+        hs[index] = h;
+        weights[index] = box.getWeightKg();
+        int cx1 = (x + l - 1) / CELL_MM;
+        int cy1 = (y + w - 1) / CELL_MM;
+        for (int cx = x / CELL_MM; cx <= cx1; cx++) {
+            for (int cy = y / CELL_MM; cy <= cy1; cy++) {
+                addToCell(cx * cellsY + cy, index);
+            }
+        }
+        placements.add(new BoxPlacement(box.getBoxId(), box.getOrderNumber(), box.getBoxNumber(),
+            x, y, z, l, w, h, box.getWeightKg(), rotated));
+        loadedKg += box.getWeightKg();
+        loadedVolume += box.getVolumeMm3();
+        failureCount = 0; // 지지면이 새로 생겼으므로 이전 실패는 더 이상 유효하지 않다
+
+        points.remove(point);
+        removeCoveredPoints(x, y, z, l, w, h);
+        // 새 박스의 세 모서리 점과, 각 점을 다른 두 축 방향으로 벽/박스에 닿을 때까지 민 점 (Crainic extreme point)
+        addPoint(x + l, y, z);
+        addPoint(x + l, projectY(x + l, y, z), z);
+        addPoint(x + l, y, projectZ(x + l, y, z));
+        addPoint(x, y + w, z);
+        addPoint(projectX(x, y + w, z), y + w, z);
+        addPoint(x, y + w, projectZ(x, y + w, z));
+        addPoint(x, y, z + h);
+        addPoint(projectX(x, y, z + h), y, z + h);
+        addPoint(x, projectY(x, y, z + h), z + h);
+    }
+
+    /**
+     * (x, y, z) 에서 -x 방향으로 처음 닿는 박스 앞면 (없으면 안쪽 벽 0)
+     */
+    private int projectX(int x, int y, int z) {
+        if (y >= profile.getWidthMm() || z >= profile.getHeightMm()) {
+            return x;
+        }
+        int best = 0;
+        int cy = y / CELL_MM;
+        for (int cx = Math.min(x / CELL_MM, cellsX - 1); cx >= 0 && best < (cx + 1) * CELL_MM; cx--) {
+            int cell = cx * cellsY + cy;
+            for (int m = 0; m < cellSizes[cell]; m++) {
+                int j = cells[cell][m];
+                int face = xs[j] + ls[j];
+                if (face <= x && face > best && y >= ys[j] && y < ys[j] + ws[j] && z >= zs[j] && z < zs[j] + hs[j]) {
+                    best = face;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * (x, y, z) 에서 -y 방향으로 처음 닿는 박스 옆면 (없으면 왼쪽 벽 0)
+     */
+    private int projectY(int x, int y, int z) {
+        if (x >= profile.getLengthMm() || z >= profile.getHeightMm()) {
+            return y;
+        }
+        int best = 0;
+        int cx = x / CELL_MM;
+        for (int cy = Math.min(y / CELL_MM, cellsY - 1); cy >= 0 && best < (cy + 1) * CELL_MM; cy--) {
+            int cell = cx * cellsY + cy;
+            for (int m = 0; m < cellSizes[cell]; m++) {
+                int j = cells[cell][m];
+                int face = ys[j] + ws[j];
+                if (face <= y && face > best && x >= xs[j] && x < xs[j] + ls[j] && z >= zs[j] && z < zs[j] + hs[j]) {
+                    best = face;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * (x, y, z) 에서 아래로 처음 닿는 박스 윗면 (없으면 바닥 0)
+     */
+    private int projectZ(int x, int y, int z) {
+        if (x >= profile.getLengthMm() || y >= profile.getWidthMm()) {
+            return z;
+        }
+        int cell = (x / CELL_MM) * cellsY + y / CELL_MM;
+        int best = 0;
+        for (int m = 0; m < cellSizes[cell]; m++) {
+            int j = cells[cell][m];
+            int top = zs[j] + hs[j];
+            if (top <= z && top > best && x >= xs[j] && x < xs[j] + ls[j] && y >= ys[j] && y < ys[j] + ws[j]) {
+                best = top;
+            }
+        }
+        return best;
+    }
+
+    private void addPoint(int x, int y, int z) {
+        if (x + minSide <= profile.getLengthMm() && y + minSide <= profile.getWidthMm()
+            && z + minHeight <= profile.getHeightMm()) {
+            points.add(key(x, y, z));
+        }
+    }
+
+    /**
+     * 새 박스 내부에 들어간 후보점 제거
+     */
+    private void removeCoveredPoints(int x, int y, int z, int l, int w, int h) {
+        points.removeIf(point -> {
+            int px = (int) (point >>> (2 * COORDINATE_BITS));
+            int pz = (int) ((point >>> COORDINATE_BITS) & COORDINATE_MASK);
+            int py = (int) (point & COORDINATE_MASK);
+            return px >= x && px < x + l && py >= y && py < y + w && pz >= z && pz < z + h;
+        });
+    }
+
+    private boolean dominatedByFailure(LoadBox box) {
+        double shortSide = Math.min(box.getLengthMm(), box.getWidthMm());
+        double longSide = Math.max(box.getLengthMm(), box.getWidthMm());
+        for (int i = 0; i < failureCount; i++) {
+            double[] failed = failures[i];
+            if (box.getHeightMm() >= failed[0] && shortSide >= failed[1] && longSide >= failed[2]
+                && box.getWeightKg() >= failed[3]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void recordFailure(LoadBox box) {
+        if (failureCount < MAX_FAILURES) {
+            failures[failureCount++] = new double[]{box.getHeightMm(),
+                Math.min(box.getLengthMm(), box.getWidthMm()), Math.max(box.getLengthMm(), box.getWidthMm()),
+                box.getWeightKg()};
+        }
+    }
+
+    private void addToCell(int cell, int index) {
+        int[] members = cells[cell];
+        if (members == null) {
+            members = cells[cell] = new int[8];
+        } else if (cellSizes[cell] == members.length) {
+            members = cells[cell] = Arrays.copyOf(members, members.length * 2);
+        }
+        members[cellSizes[cell]++] = index;
+    }
+
+    private void ensureCapacity() {
+        if (count > xs.length) {
+            int capacity = xs.length * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            zs = Arrays.copyOf(zs, capacity);
+            ls = Arrays.copyOf(ls, capacity);
+            ws = Arrays.copyOf(ws, capacity);
+            hs = Arrays.copyOf(hs, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            visited = Arrays.copyOf(visited, capacity);
+        }
+    }
+
+    private static long key(int x, int y, int z) {
+        return ((long) x << (2 * COORDINATE_BITS)) | ((long) z << COORDINATE_BITS) | y;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ysc.lms.loadplan;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 적재 대상 박스 (OrderBox 치수 mm - 길이=depth, 폭=width, 높이=height)
+ */
+@Getter
+@AllArgsConstructor
+public class LoadBox {
+    private final Long boxId;
+    private final String orderNumber;
+    private final String boxNumber;
+    private final int lengthMm;
+    private final int widthMm;
+    private final int heightMm;
+    private final double weightKg;
+
+    public long getVolumeMm3() {
+        return (long) lengthMm * widthMm * heightMm;
+    }
+}
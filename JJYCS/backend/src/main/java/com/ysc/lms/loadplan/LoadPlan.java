@@ -0,0 +1,35 @@
+package com.ysc.lms.loadplan;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 적재 계획 - 컨테이너별 배치와 적재하지 못한 박스
+ */
+@Getter
+@AllArgsConstructor
+public class LoadPlan {
+    private final ContainerProfile profile;
+    private final List<LoadedContainer> containers;
+    private final List<LoadBox> unplaced;
+    private final double totalCbm;
+    /** 부피 합만으로 계산한 컨테이너 수 (기존 CBM 합산 방식) */
+    private final int volumeOnlyEstimate;
+    /** 채택된 박스 순서 전략 */
+    private final String ordering;
+    private final int orderingsEvaluated;
+    private final long computeMillis;
+
+    /**
+     * 사용한 컨테이너 전체 부피 대비 적재 부피 (0 ~ 1)
+     */
+    public double getVolumeUtilisation() {
+        if (containers.isEmpty()) {
+            return 0;
+        }
+        double loaded = containers.stream().mapToDouble(LoadedContainer::getLoadedCbm).sum();
+        return loaded / (containers.size() * (profile.getVolumeMm3() / 1e9));
+    }
+}
@@ -0,0 +1,116 @@
+package com.ysc.lms.loadplan;
+
+import com.ysc.lms.repository.OrderBoxRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 합포장(콘솔) 컨테이너 적재 계획
+ *
+ * 주문 박스(OrderBox) 치수/중량을 한 번에 조회해 ContainerLoadPlanner 로 컨테이너별 배치를 계산한다.
+ * 순서 전략은 고정 크기 스레드 풀에서 병렬로 평가하며 time-budget-ms 안에 끝난 결과 중 가장 좋은 것을 쓴다.
+ */
+@Service
+@Slf4j
+public class LoadPlanningService {
+
+    private static final String METRIC_PREFIX = "lms.loadplan";
+
+    private final OrderBoxRepository orderBoxRepository;
+    private final ExecutorService executor;
+    private final ContainerLoadPlanner planner;
+    private final int maxContainers;
+    private final int maxBoxes;
+    private final Timer planTimer;
+    private final DistributionSummary utilisation;
+
+    public LoadPlanningService(OrderBoxRepository orderBoxRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.load-plan.parallelism:4}") int parallelism,
+                               @Value("${app.load-plan.orderings:16}") int orderings,
+                               @Value("${app.load-plan.time-budget-ms:3000}") long timeBudgetMillis,
+                               @Value("${app.load-plan.min-support-ratio:0.75}") double minSupportRatio,
+                               @Value("${app.load-plan.stack-weight-ratio:1.5}") double stackWeightRatio,
+                               @Value("${app.load-plan.max-containers:50}") int maxContainers,
+                               @Value("${app.load-plan.max-boxes:10000}") int maxBoxes) {
+        this.orderBoxRepository = orderBoxRepository;
+        this.maxContainers = maxContainers;
+        this.maxBoxes = maxBoxes;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "load-plan-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.planner = new ContainerLoadPlanner(executor, minSupportRatio, stackWeightRatio, orderings, timeBudgetMillis);
+
+        this.planTimer = Timer.builder(METRIC_PREFIX + ".plan")
+            .description("컨테이너 적재 계획 계산 시간 (조회 제외)")
+            .register(meterRegistry);
+        this.utilisation = DistributionSummary.builder(METRIC_PREFIX + ".utilisation")
+            .description("적재 계획 부피 이용률 (0 ~ 1)")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 주문 박스 적재 계획
+     *
+     * @param maxContainers null 이면 설정값(max-containers)
+     */
+    public LoadPlan plan(List<String> orderNumbers, ContainerProfile profile, Integer maxContainers) {
+        if (orderNumbers == null || orderNumbers.isEmpty()) {
+            throw new IllegalArgumentException("주문번호 목록이 필요합니다.");
+        }
+        if (profile == null) {
+            throw new IllegalArgumentException("컨테이너 규격이 필요합니다.");
+        }
+        Set<String> requested = new LinkedHashSet<>(orderNumbers);
+        List<LoadBox> boxes = new ArrayList<>();
+        for (Object[] row : orderBoxRepository.findLoadBoxesByOrderNumbers(requested)) {
+            // OrderBox: width/height/depth (mm) - 길이 방향은 depth
+            boxes.add(new LoadBox((Long) row[0], (String) row[1], (String) row[2],
+                (Integer) row[5], (Integer) row[3], (Integer) row[4],
+                row[6] != null ? ((BigDecimal) row[6]).doubleValue() : 0));
+        }
+        if (boxes.isEmpty()) {
+            throw new IllegalArgumentException("적재할 박스가 없습니다.");
+        }
+        if (boxes.size() > maxBoxes) {
+            throw new IllegalArgumentException("한 번에 최대 " + maxBoxes + "개 박스까지 계획할 수 있습니다.");
+        }
+        int containerLimit = maxContainers != null ? Math.min(Math.max(1, maxContainers), this.maxContainers) : this.maxContainers;
+
+        long started = System.nanoTime();
+        LoadPlan plan = planner.plan(boxes, profile, containerLimit);
+        planTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        utilisation.record(plan.getVolumeUtilisation());
+
+        log.info("Load plan {}: {} boxes ({} CBM) in {} containers (volume-only estimate {}), utilisation {}%, "
+                + "{} unplaced, ordering {} of {} in {} ms",
+            profile, boxes.size(), String.format("%.2f", plan.getTotalCbm()), plan.getContainers().size(),
+            plan.getVolumeOnlyEstimate(), Math.round(plan.getVolumeUtilisation() * 100), plan.getUnplaced().size(),
+            plan.getOrdering(), plan.getOrderingsEvaluated(), plan.getComputeMillis());
+        return plan;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,22 @@
+package com.ysc.lms.loadplan;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 컨테이너 한 대의 적재 결과 - placements 는 적재 순서 (안쪽부터)
+ */
+@Getter
+@AllArgsConstructor
+public class LoadedContainer {
+    private final int sequence;
+    private final List<BoxPlacement> placements;
+    private final double loadedKg;
+    private final double loadedCbm;
+    /** 부피 이용률 (0 ~ 1) */
+    private final double volumeUtilisation;
+    /** 중량 이용률 (0 ~ 1) */
+    private final double weightUtilisation;
+}
@@ -0,0 +1,32 @@
+package com.ysc.lms.notification;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 채널 발송 결과 (건별)
+ * permanent 실패(잘못된 주소 등)는 재시도하지 않는다
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class DeliveryResult {
+
+    private final Long id;
+    private final boolean delivered;
+    private final String externalId;
+    private final String error;
+    private final boolean permanent;
+
+    public static DeliveryResult delivered(Long id, String externalId) {
+        return new DeliveryResult(id, true, externalId, null, false);
+    }
+
+    public static DeliveryResult retryable(Long id, String error) {
+        return new DeliveryResult(id, false, null, error, false);
+    }
+
+    public static DeliveryResult permanent(Long id, String error) {
+        return new DeliveryResult(id, false, null, error, true);
+    }
+}
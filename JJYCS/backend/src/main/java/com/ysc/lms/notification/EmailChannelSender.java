@@ -0,0 +1,146 @@
+package com.ysc.lms.notification;
+
+import com.ysc.lms.entity.NotificationTemplate;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 큐 이메일 발송 - 묶음 전체를 send(MimeMessage...) 한 번으로 보내 SMTP 연결 1개를 재사용한다
+ * 잘못된 주소(5xx 수신자 거부)는 영구 실패, 연결 실패/일시 거부(4xx)는 재시도 대상
+ */
+@Component
+@Slf4j
+public class EmailChannelSender implements NotificationChannelSender {
+
+    private final JavaMailSender mailSender;
+    private final boolean enabled;
+    private final String fromEmail;
+    private final String fromName;
+    private final int ratePerSecond;
+    private final int burstCapacity;
+
+    public EmailChannelSender(JavaMailSender mailSender,
+                              @Value("${app.notification.email.enabled:true}") boolean enabled,
+                              @Value("${spring.mail.username:monz729@gmail.com}") String fromEmail,
+                              @Value("${app.notification.email.from-name:YCS 물류관리시스템}") String fromName,
+                              @Value("${app.notification.dispatch.email.rate-per-second:10}") int ratePerSecond,
+                              @Value("${app.notification.dispatch.email.burst:20}") int burstCapacity) {
+        this.mailSender = mailSender;
+        this.enabled = enabled;
+        this.fromEmail = fromEmail;
+        this.fromName = fromName;
+        this.ratePerSecond = Math.max(1, ratePerSecond);
+        this.burstCapacity = Math.max(1, burstCapacity);
+    }
+
+    @Override
+    public NotificationTemplate.NotificationChannelType channel() {
+        return NotificationTemplate.NotificationChannelType.EMAIL;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public int ratePerSecond() {
+        return ratePerSecond;
+    }
+
+    @Override
+    public int burstCapacity() {
+        return burstCapacity;
+    }
+
+    @Override
+    public List<DeliveryResult> send(List<QueuedNotification> batch) {
+        List<DeliveryResult> results = new ArrayList<>(batch.size());
+        Map<MimeMessage, QueuedNotification> messages = new IdentityHashMap<>();
+        for (QueuedNotification item : batch) {
+            if (item.getAddress() == null || item.getAddress().isBlank()) {
+                results.add(DeliveryResult.permanent(item.getId(), "수신자 이메일 없음"));
+                continue;
+            }
+            try {
+                messages.put(build(item), item);
+            } catch (MessagingException | UnsupportedEncodingException e) {
+                results.add(DeliveryResult.permanent(item.getId(), "메일 생성 실패: " + e.getMessage()));
+            }
+        }
+        if (messages.isEmpty()) {
+            return results;
+        }
+
+        Map<Object, Exception> failed = Map.of();
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failed = e.getFailedMessages();
+            log.warn("Queued email batch partially failed: {} of {} messages", failed.size(), messages.size());
+        } catch (MailException e) {
+            log.warn("Queued email batch failed: {}", e.getMessage());
+            for (QueuedNotification item : messages.values()) {
+                results.add(DeliveryResult.retryable(item.getId(), e.getMessage()));
+            }
+            return results;
+        }
+
+        for (Map.Entry<MimeMessage, QueuedNotification> entry : messages.entrySet()) {
+            Long id = entry.getValue().getId();
+            Exception error = failed.get(entry.getKey());
+            if (error == null) {
+                results.add(DeliveryResult.delivered(id, messageId(entry.getKey())));
+            } else if (isPermanent(error)) {
+                results.add(DeliveryResult.permanent(id, error.getMessage()));
+            } else {
+                results.add(DeliveryResult.retryable(id, error.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private MimeMessage build(QueuedNotification item) throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        helper.setFrom(fromEmail, fromName);
+        helper.setTo(item.getAddress());
+        helper.setSubject(item.getTitle());
+        helper.setText(item.getMessage() != null ? item.getMessage() : "", false);
+        return message;
+    }
+
+    /**
+     * 서버가 수신자를 거부(5xx)한 경우만 영구 실패 - 4xx 는 validUnsent 로 분류된다
+     */
+    private static boolean isPermanent(Exception error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SendFailedException sendFailed) {
+                return sendFailed.getInvalidAddresses() != null && sendFailed.getInvalidAddresses().length > 0;
+            }
+        }
+        return false;
+    }
+
+    private static String messageId(MimeMessage message) {
+        try {
+            return message.getMessageID();
+        } catch (MessagingException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.ysc.lms.notification;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 알림 일괄 발송 작업 진행 상황 - 파티션(사용자 id 구간 또는 청크) 단위로 갱신된다
+ * completedPartitions 는 실패한 파티션을 포함한 처리 완료 수
+ */
+@Getter
+public class FanoutJob {
+
+    public enum Status {
+        RUNNING, COMPLETED, COMPLETED_WITH_ERRORS
+    }
+
+    private final String jobId;
+    private final String kind;
+    private final String title;
+    private final long expectedRecipients;
+    private final int totalPartitions;
+    private final LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong notificationsWritten = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong emailsQueued = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger completedPartitions = new AtomicInteger();
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger failedPartitions = new AtomicInteger();
+
+    FanoutJob(String jobId, String kind, String title, long expectedRecipients, int totalPartitions) {
+        this.jobId = jobId;
+        this.kind = kind;
+        this.title = title;
+        this.expectedRecipients = expectedRecipients;
+        this.totalPartitions = totalPartitions;
+        this.startedAt = LocalDateTime.now();
+        if (totalPartitions == 0) {
+            this.finishedAt = startedAt;
+        }
+    }
+
+    public long getNotificationsWritten() {
+        return notificationsWritten.get();
+    }
+
+    /**
+     * 큐에 적재한 이메일 수 - 큐 디스패처를 끈 경우에는 바로 발송한 이메일 수
+     */
+    public long getEmailsQueued() {
+        return emailsQueued.get();
+    }
+
+    public int getCompletedPartitions() {
+        return completedPartitions.get();
+    }
+
+    public int getFailedPartitions() {
+        return failedPartitions.get();
+    }
+
+    public Status getStatus() {
+        if (finishedAt == null) {
+            return Status.RUNNING;
+        }
+        return failedPartitions.get() > 0 ? Status.COMPLETED_WITH_ERRORS : Status.COMPLETED;
+    }
+
+    public double getNotificationsPerSecond() {
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        long millis = Duration.between(startedAt, end).toMillis();
+        return millis > 0 ? notificationsWritten.get() * 1000.0 / millis : 0;
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    void partitionSucceeded(int notifications, int emails) {
+        notificationsWritten.addAndGet(notifications);
+        emailsQueued.addAndGet(emails);
+        partitionDone();
+    }
+
+    void partitionFailed() {
+        failedPartitions.incrementAndGet();
+        partitionDone();
+    }
+
+    private void partitionDone() {
+        if (completedPartitions.incrementAndGet() >= totalPartitions) {
+            finishedAt = LocalDateTime.now();
+        }
+    }
+}
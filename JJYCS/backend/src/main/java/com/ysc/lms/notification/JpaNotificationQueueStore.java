@@ -0,0 +1,124 @@
+package com.ysc.lms.notification;
+
+import com.ysc.lms.entity.NotificationQueue;
+import com.ysc.lms.entity.NotificationTemplate;
+import com.ysc.lms.ingestion.EntityBatchInserter;
+import com.ysc.lms.repository.NotificationQueueRepository;
+import com.ysc.lms.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * notification_queue 테이블 기반 발송 큐
+ * 선점은 SKIP LOCKED 조회 + IN 목록 UPDATE 한 번, 결과 반영은 JDBC 배치 UPDATE 한 번으로 끝내며
+ * 각각 호출자와 분리된 짧은 트랜잭션(REQUIRES_NEW)이라 발송 중에는 행 잠금을 잡고 있지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class JpaNotificationQueueStore implements NotificationQueueStore {
+
+    /** 결과 반영 컬럼 - 행 값 뒤에 id, claimedBy(선점 확인) */
+    static final List<String> RESULT_PROPERTIES = List.of(
+        "status", "retryCount", "scheduledAt", "sentAt", "externalId", "errorMessage", "claimedBy", "leaseUntil", "updatedAt");
+    static final List<String> GUARD_PROPERTIES = List.of("claimedBy");
+
+    private static final int ERROR_LENGTH = 500;
+
+    private final NotificationQueueRepository queueRepository;
+    private final UserRepository userRepository;
+    private final EntityBatchInserter batchInserter;
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<QueuedNotification> claim(NotificationTemplate.NotificationChannelType channel, String workerId, int limit,
+                                          LocalDateTime leaseUntil) {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationQueue> rows = queueRepository.findClaimable(channel, NotificationQueue.SendStatus.PENDING, now,
+            PageRequest.of(0, limit));
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(rows.size());
+        Set<Long> recipientIds = new HashSet<>();
+        for (NotificationQueue row : rows) {
+            ids.add(row.getId());
+            if (row.getRecipient() != null) {
+                recipientIds.add(row.getRecipient().getId());
+            }
+        }
+        queueRepository.markClaimed(ids, NotificationQueue.SendStatus.PROCESSING, workerId, leaseUntil, now);
+
+        Map<Long, Object[]> contacts = new HashMap<>();
+        if (!recipientIds.isEmpty()) {
+            for (Object[] contact : userRepository.findContactsByIdIn(recipientIds)) {
+                contacts.put((Long) contact[0], contact);
+            }
+        }
+        List<QueuedNotification> claimed = new ArrayList<>(rows.size());
+        for (NotificationQueue row : rows) {
+            Long recipientId = row.getRecipient() != null ? row.getRecipient().getId() : null;
+            Object[] contact = recipientId != null ? contacts.get(recipientId) : null;
+            claimed.add(new QueuedNotification(row.getId(), channel, recipientId,
+                contact != null ? (String) contact[1] : null,
+                contact != null ? (String) contact[2] : null,
+                row.getTitle(), row.getMessage(),
+                row.getRetryCount() != null ? row.getRetryCount() : 0,
+                row.getMaxRetry() != null ? row.getMaxRetry() : NotificationFanoutWriter.MAX_RETRY));
+        }
+        return claimed;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int writeBack(String workerId, List<QueueUpdate> updates) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(updates.size());
+        for (QueueUpdate update : updates) {
+            String error = update.getErrorMessage();
+            rows.add(new Object[]{
+                update.getStatus().name(), update.getRetryCount(), update.getScheduledAt(), update.getSentAt(),
+                update.getExternalId(), error != null && error.length() > ERROR_LENGTH ? error.substring(0, ERROR_LENGTH) : error,
+                null, null, now,
+                update.getId(), workerId});
+        }
+        return batchInserter.update(NotificationQueue.class, RESULT_PROPERTIES, GUARD_PROPERTIES, rows);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int release(String workerId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return queueRepository.release(ids, workerId, NotificationQueue.SendStatus.PENDING, NotificationQueue.SendStatus.PROCESSING);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int releaseExpiredLeases(LocalDateTime now) {
+        return queueRepository.releaseExpiredLeases(NotificationQueue.SendStatus.PENDING, NotificationQueue.SendStatus.PROCESSING, now);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<QueueDepth> readyDepths(LocalDateTime now) {
+        List<QueueDepth> depths = new ArrayList<>();
+        for (Object[] row : queueRepository.summarizeReady(NotificationQueue.SendStatus.PENDING, now)) {
+            depths.add(new QueueDepth((NotificationTemplate.NotificationChannelType) row[0], ((Number) row[1]).longValue(),
+                (LocalDateTime) row[2]));
+        }
+        return depths;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ysc.lms.notification;
+
+import com.ysc.lms.entity.NotificationTemplate;
+
+import java.util.List;
+
+/**
+ * 채널별 실제 발송기 - 디스패처가 토큰 버킷 한도(ratePerSecond, burstCapacity) 안에서 묶음 단위로 호출한다
+ */
+public interface NotificationChannelSender {
+
+    NotificationTemplate.NotificationChannelType channel();
+
+    boolean isEnabled();
+
+    /** 초당 발송 한도 */
+    int ratePerSecond();
+
+    /** 한 번에 보낼 수 있는 최대 건수 (버킷 용량, 발송 묶음 크기) */
+    int burstCapacity();
+
+    /**
+     * 묶음 발송 - 건별 결과를 돌려주며 예외는 던지지 않는다 (연결 실패 등은 전 건 재시도 결과)
+     */
+    List<DeliveryResult> send(List<QueuedNotification> batch);
+}
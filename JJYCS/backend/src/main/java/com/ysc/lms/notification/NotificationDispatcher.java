@@ -0,0 +1,330 @@
+package com.ysc.lms.notification;
+
+import com.ysc.lms.entity.NotificationQueue;
+import com.ysc.lms.entity.NotificationTemplate;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * notification_queue 발송 디스패처
+ *
+ * 채널마다 워커 1개가 대기 건을 임대(PROCESSING + lease_until)로 선점해 보내므로 여러 노드가 같은 큐를 나눠 처리한다.
+ * 선점한 건은 채널 발송기의 burst 크기 묶음으로 보내고, 묶음마다 채널 토큰 버킷(bucket4j)에서 건수만큼 토큰을 받은 뒤
+ * 결과를 배치 UPDATE 한 번으로 반영한다. 선점 크기는 임대 시간의 절반 안에 보낼 수 있는 만큼으로 제한된다.
+ * 실패 건은 지수 백오프 + 지터(equal jitter)로 다시 대기시키고, maxRetry 를 넘기거나 영구 실패면 FAILED 로 끝낸다.
+ * 노드가 죽어 반영하지 못한 건은 임대 만료 후 다시 대기 상태가 된다 (최소 1회 발송).
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    static final String METRIC_PREFIX = "lms.notification";
+
+    private final NotificationQueueStore store;
+    private final Map<NotificationTemplate.NotificationChannelType, Lane> lanes =
+        new EnumMap<>(NotificationTemplate.NotificationChannelType.class);
+    private final ExecutorService executor;
+    private final boolean enabled;
+    private final Duration lease;
+    private final long backoffBaseMillis;
+    private final long backoffMaxMillis;
+    private final String workerId;
+    private final AtomicBoolean stopping = new AtomicBoolean();
+
+    public NotificationDispatcher(NotificationQueueStore store,
+                                  List<NotificationChannelSender> senders,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.notification.dispatch.enabled:true}") boolean enabled,
+                                  @Value("${app.notification.dispatch.claim-batch-size:200}") int claimBatchSize,
+                                  @Value("${app.notification.dispatch.lease-seconds:120}") long leaseSeconds,
+                                  @Value("${app.notification.dispatch.backoff-base-seconds:30}") long backoffBaseSeconds,
+                                  @Value("${app.notification.dispatch.backoff-max-seconds:3600}") long backoffMaxSeconds) {
+        this.store = store;
+        this.enabled = enabled;
+        this.lease = Duration.ofSeconds(Math.max(1, leaseSeconds));
+        this.backoffBaseMillis = Math.max(1, backoffBaseSeconds) * 1000;
+        this.backoffMaxMillis = Math.max(backoffBaseSeconds, backoffMaxSeconds) * 1000;
+        this.workerId = workerId();
+
+        for (NotificationChannelSender sender : senders) {
+            lanes.put(sender.channel(), new Lane(sender, Math.max(1, claimBatchSize), meterRegistry));
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, lanes.size()), runnable -> {
+            Thread thread = new Thread(runnable, "notification-dispatch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 채널마다 이전 발송 루프가 끝났으면 새 루프를 띄운다 (루프는 큐가 빌 때까지 선점/발송 반복)
+     */
+    @Scheduled(fixedDelayString = "${app.notification.dispatch.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled || stopping.get()) {
+            return;
+        }
+        for (Lane lane : lanes.values()) {
+            if (lane.sender.isEnabled() && lane.running.compareAndSet(false, true)) {
+                executor.execute(() -> {
+                    try {
+                        drain(lane);
+                    } catch (Exception e) {
+                        log.error("Notification dispatch loop failed for {}", lane.channel(), e);
+                    } finally {
+                        lane.running.set(false);
+                    }
+                });
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.dispatch.lease-check-interval-ms:60000}")
+    public void releaseExpiredLeases() {
+        if (!enabled) {
+            return;
+        }
+        int released = store.releaseExpiredLeases(LocalDateTime.now());
+        if (released > 0) {
+            log.warn("Released {} notification queue items with expired leases", released);
+        }
+    }
+
+    /**
+     * 채널별 대기 건수/지연 게이지 갱신 (게이지는 마지막 조회값을 보여준다)
+     */
+    @Scheduled(fixedDelayString = "${app.notification.dispatch.metrics-interval-ms:15000}")
+    public void refreshQueueMetrics() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<NotificationTemplate.NotificationChannelType, QueueDepth> depths = new HashMap<>();
+        for (QueueDepth depth : store.readyDepths(now)) {
+            depths.put(depth.getChannel(), depth);
+        }
+        for (Lane lane : lanes.values()) {
+            QueueDepth depth = depths.get(lane.channel());
+            lane.depth.set(depth != null ? depth.getReady() : 0);
+            lane.lagSeconds.set(depth != null && depth.getOldestReadyAt() != null
+                ? Math.max(0, Duration.between(depth.getOldestReadyAt(), now).getSeconds()) : 0);
+        }
+    }
+
+    /**
+     * 발송 가능한 건이 없을 때까지 channel 큐를 보낸다 (운영 수동 처리/테스트용, 호출 스레드에서 실행)
+     *
+     * @return 처리(선점)한 건수
+     */
+    public int drain(NotificationTemplate.NotificationChannelType channel) {
+        Lane lane = lanes.get(channel);
+        if (lane == null) {
+            throw new IllegalArgumentException("발송기가 없는 채널입니다: " + channel);
+        }
+        return drain(lane);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping.set(true);
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private int drain(Lane lane) {
+        int processed = 0;
+        while (!stopping.get()) {
+            int claimed = dispatchBatch(lane);
+            processed += claimed;
+            if (claimed < lane.claimSize) {
+                break;
+            }
+        }
+        return processed;
+    }
+
+    /**
+     * 한 번 선점해서 묶음 단위로 보내고 반영한다. 중단되면 보내지 않은 건은 바로 반납한다.
+     */
+    private int dispatchBatch(Lane lane) {
+        List<QueuedNotification> claimed = store.claim(lane.channel(), workerId, lane.claimSize,
+            LocalDateTime.now().plus(lease));
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        int sent = 0;
+        try {
+            while (sent < claimed.size() && !stopping.get()) {
+                List<QueuedNotification> batch = claimed.subList(sent, Math.min(sent + lane.sendSize, claimed.size()));
+                lane.bucket.asBlocking().consume(batch.size());
+                long start = System.nanoTime();
+                List<DeliveryResult> results = send(lane, batch);
+                lane.batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                store.writeBack(workerId, toUpdates(lane, batch, results));
+                sent += batch.size();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (sent < claimed.size()) {
+                List<Long> unsent = new ArrayList<>(claimed.size() - sent);
+                for (QueuedNotification item : claimed.subList(sent, claimed.size())) {
+                    unsent.add(item.getId());
+                }
+                int released = store.release(workerId, unsent);
+                log.info("Released {} unsent {} notifications", released, lane.channel());
+            }
+        }
+        return claimed.size();
+    }
+
+    private static List<DeliveryResult> send(Lane lane, List<QueuedNotification> batch) {
+        try {
+            return lane.sender.send(batch);
+        } catch (RuntimeException e) {
+            log.error("{} sender failed for a batch of {}", lane.channel(), batch.size(), e);
+            List<DeliveryResult> results = new ArrayList<>(batch.size());
+            for (QueuedNotification item : batch) {
+                results.add(DeliveryResult.retryable(item.getId(), e.getMessage()));
+            }
+            return results;
+        }
+    }
+
+    private List<QueueUpdate> toUpdates(Lane lane, List<QueuedNotification> batch, List<DeliveryResult> results) {
+        Map<Long, DeliveryResult> byId = new HashMap<>();
+        for (DeliveryResult result : results) {
+            byId.put(result.getId(), result);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<QueueUpdate> updates = new ArrayList<>(batch.size());
+        for (QueuedNotification item : batch) {
+            DeliveryResult result = byId.getOrDefault(item.getId(), DeliveryResult.retryable(item.getId(), "발송 결과 없음"));
+            if (result.isDelivered()) {
+                lane.sent.increment();
+                updates.add(new QueueUpdate(item.getId(), NotificationQueue.SendStatus.SENT, item.getRetryCount(),
+                    null, now, result.getExternalId(), null));
+                continue;
+            }
+            int attempts = item.getRetryCount() + 1;
+            if (result.isPermanent() || attempts >= item.getMaxRetry()) {
+                lane.failed.increment();
+                log.warn("{} notification {} failed after {} attempts: {}", lane.channel(), item.getId(), attempts, result.getError());
+                updates.add(new QueueUpdate(item.getId(), NotificationQueue.SendStatus.FAILED, attempts,
+                    null, null, null, result.getError()));
+            } else {
+                lane.retried.increment();
+                updates.add(new QueueUpdate(item.getId(), NotificationQueue.SendStatus.PENDING, attempts,
+                    now.plus(Duration.ofMillis(backoffMillis(attempts))), null, null, result.getError()));
+            }
+        }
+        return updates;
+    }
+
+    /**
+     * attempt 번째 실패 후 대기 시간 - min(max, base * 2^(attempt-1)) 의 절반 + 나머지 절반 안에서 무작위
+     */
+    long backoffMillis(int attempt) {
+        long exponential = backoffBaseMillis << Math.min(Math.max(0, attempt - 1), 30);
+        long capped = exponential <= 0 ? backoffMaxMillis : Math.min(backoffMaxMillis, exponential);
+        long half = capped / 2;
+        return half + ThreadLocalRandom.current().nextLong(capped - half + 1);
+    }
+
+    private static String workerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        String id = host + ":" + UUID.randomUUID().toString().substring(0, 8);
+        return id.length() > 100 ? id.substring(id.length() - 100) : id;
+    }
+
+    /**
+     * 채널 하나의 발송 상태 - 토큰 버킷, 실행 중 여부, 지표
+     */
+    private final class Lane {
+        private final NotificationChannelSender sender;
+        private final Bucket bucket;
+        private final int sendSize;
+        private final int claimSize;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final AtomicLong depth = new AtomicLong();
+        private final AtomicLong lagSeconds = new AtomicLong();
+        private final Counter sent;
+        private final Counter retried;
+        private final Counter failed;
+        private final Timer batchTimer;
+
+        private Lane(NotificationChannelSender sender, int claimBatchSize, MeterRegistry meterRegistry) {
+            this.sender = sender;
+            int rate = sender.ratePerSecond();
+            int burst = sender.burstCapacity();
+            this.bucket = Bucket.builder()
+                .addLimit(Bandwidth.classic(burst, Refill.greedy(rate, Duration.ofSeconds(1))))
+                .build();
+            this.sendSize = burst;
+            long sendableInHalfLease = Math.max(burst, rate * lease.getSeconds() / 2);
+            this.claimSize = (int) Math.min(claimBatchSize, sendableInHalfLease);
+
+            String channel = sender.channel().name();
+            Gauge.builder(METRIC_PREFIX + ".queue.depth", depth, AtomicLong::get)
+                .description("Notifications ready to send")
+                .tag("channel", channel)
+                .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".queue.lag", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest ready notification")
+                .baseUnit("seconds")
+                .tag("channel", channel)
+                .register(meterRegistry);
+            this.sent = outcome(meterRegistry, channel, "sent");
+            this.retried = outcome(meterRegistry, channel, "retry");
+            this.failed = outcome(meterRegistry, channel, "failed");
+            this.batchTimer = Timer.builder(METRIC_PREFIX + ".dispatch.batch")
+                .description("Send time per rate-limited batch")
+                .tag("channel", channel)
+                .register(meterRegistry);
+        }
+
+        private NotificationTemplate.NotificationChannelType channel() {
+            return sender.channel();
+        }
+
+        private Counter outcome(MeterRegistry meterRegistry, String channel, String outcome) {
+            return Counter.builder(METRIC_PREFIX + ".dispatch")
+                .description("Notification delivery attempts by outcome")
+                .tag("channel", channel)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+        }
+    }
+}
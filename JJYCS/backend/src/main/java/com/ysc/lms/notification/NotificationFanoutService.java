@@ -0,0 +1,265 @@
+package com.ysc.lms.notification;
+
+import com.ysc.lms.entity.User;
+import com.ysc.lms.repository.UserRepository;
+import com.ysc.lms.service.EmailService;
+import com.ysc.lms.statistics.OrderStatusChange;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 알림 일괄 발송 (fan-out)
+ *
+ * 대상을 파티션(사용자 id 구간 또는 수신자 청크)으로 나눠 고정 크기 워커 풀에 넘기고, 파티션마다 트랜잭션 1개로
+ * 알림 행과 이메일 큐 행을 적재한다(NotificationFanoutWriter). 이메일은 notification_queue 에 쌓이기만 하므로
+ * 3만 명 공지도 SMTP 지연과 무관하게 끝나고, 호출 측은 즉시 FanoutJob 으로 진행 상황을 조회할 수 있다.
+ * 큐 디스패처를 끈 경우(app.notification.dispatch.enabled=false)에는 큐에 쌓아도 보낼 곳이 없으므로
+ * 파티션 트랜잭션이 커밋된 뒤 워커 스레드에서 EmailService 로 바로 보낸다.
+ * 한 파티션이 실패해도 나머지 파티션은 계속 적재된다(작업 상태 COMPLETED_WITH_ERRORS).
+ */
+@Service
+@Slf4j
+public class NotificationFanoutService {
+
+    private final NotificationFanoutWriter writer;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final boolean queueEmails;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final int idRangeSize;
+    private final Duration jobRetention;
+    private final Map<String, FanoutJob> jobs = new ConcurrentHashMap<>();
+
+    public NotificationFanoutService(NotificationFanoutWriter writer,
+                                     UserRepository userRepository,
+                                     EmailService emailService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.notification.dispatch.enabled:true}") boolean queueEmails,
+                                     @Value("${app.notification.fanout.threads:4}") int threads,
+                                     @Value("${app.notification.fanout.chunk-size:1000}") int chunkSize,
+                                     @Value("${app.notification.fanout.id-range-size:5000}") int idRangeSize,
+                                     @Value("${app.notification.fanout.job-retention-minutes:60}") long jobRetentionMinutes) {
+        this.writer = writer;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.queueEmails = queueEmails;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.idRangeSize = Math.max(1, idRangeSize);
+        this.jobRetention = Duration.ofMinutes(jobRetentionMinutes);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "notification-fanout-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * status(/userType) 전체 사용자에게 시스템 공지 - 사용자 id 구간마다 INSERT ... SELECT
+     *
+     * @param userType   null 이면 전체 유형
+     * @param queueEmail true 면 같은 대상에게 공지 이메일 발송 (큐 적재 또는 커밋 후 바로 발송)
+     */
+    public FanoutJob broadcastToSegment(String title, String message, User.UserStatus status, User.UserType userType,
+                                        boolean queueEmail) {
+        requireContent(title, message);
+        long expected = userType != null
+            ? userRepository.countByStatusAndUserType(status, userType)
+            : userRepository.countByStatus(status);
+        List<Object[]> bounds = userRepository.findIdBounds(status, userType);
+        Object[] bound = bounds.isEmpty() ? null : bounds.get(0);
+        if (expected == 0 || bound == null || bound[0] == null) {
+            return register(new FanoutJob(UUID.randomUUID().toString(), "SEGMENT", title, 0, 0));
+        }
+        long minId = ((Number) bound[0]).longValue();
+        long maxId = ((Number) bound[1]).longValue();
+
+        List<long[]> ranges = new ArrayList<>();
+        for (long after = minId - 1; after < maxId; after += idRangeSize) {
+            ranges.add(new long[]{after, Math.min(after + idRangeSize, maxId)});
+        }
+        FanoutJob job = register(new FanoutJob(UUID.randomUUID().toString(), "SEGMENT", title, expected, ranges.size()));
+        log.info("Broadcasting system notification {} to {} {} users in {} partitions (email: {})",
+            job.getJobId(), expected, userType != null ? userType : "ALL", ranges.size(), queueEmail);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (long[] range : ranges) {
+            submit(job, inline -> {
+                int notifications = writer.insertSegmentNotifications(title, message, status, userType, range[0], range[1], now);
+                if (!queueEmail) {
+                    return new int[]{notifications, 0};
+                }
+                if (queueEmails) {
+                    return new int[]{notifications,
+                        writer.enqueueSegmentEmails(title, message, status, userType, range[0], range[1], now)};
+                }
+                inline.addAll(writer.segmentEmails(title, message, status, userType, range[0], range[1]));
+                return new int[]{notifications, 0};
+            });
+        }
+        return job;
+    }
+
+    /**
+     * 지정한 사용자들에게 시스템 공지 - chunk-size 단위 JDBC 배치 INSERT
+     */
+    public FanoutJob broadcastToUsers(String title, String message, Collection<Long> userIds, boolean queueEmail) {
+        requireContent(title, message);
+        List<Long> recipients = new ArrayList<>(new LinkedHashSet<>(userIds));
+        List<List<Long>> chunks = partition(recipients);
+        FanoutJob job = register(new FanoutJob(UUID.randomUUID().toString(), "USERS", title, recipients.size(), chunks.size()));
+        log.info("Broadcasting system notification {} to {} users in {} partitions (email: {})",
+            job.getJobId(), recipients.size(), chunks.size(), queueEmail);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (List<Long> chunk : chunks) {
+            submit(job, inline -> new int[]{
+                writer.insertNotifications(chunk, title, message, now),
+                queueEmail ? queueOrDefer(writer.systemEmails(chunk, title, message), inline, now) : 0});
+        }
+        return job;
+    }
+
+    /**
+     * 주문 상태 전환 알림 일괄 적재 (사용자가 없는 주문은 제외)
+     */
+    public FanoutJob notifyOrderStatusChanges(List<OrderStatusChange> changes) {
+        List<OrderStatusChange> notifiable = changes.stream()
+            .filter(change -> change.getUserId() != null && change.getPreviousStatus() != change.getNewStatus())
+            .collect(Collectors.toList());
+        List<List<OrderStatusChange>> chunks = partition(notifiable);
+        FanoutJob job = register(new FanoutJob(UUID.randomUUID().toString(), "ORDER_STATUS", "주문 상태 변경",
+            notifiable.size(), chunks.size()));
+
+        LocalDateTime now = LocalDateTime.now();
+        for (List<OrderStatusChange> chunk : chunks) {
+            submit(job, inline -> new int[]{
+                writer.insertOrderStatusNotifications(chunk, now),
+                queueOrDefer(writer.orderStatusEmails(chunk), inline, now)});
+        }
+        return job;
+    }
+
+    public Optional<FanoutJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * 진행 중이거나 최근(job-retention-minutes) 끝난 작업, 최신순
+     */
+    public List<FanoutJob> getRecentJobs() {
+        return jobs.values().stream()
+            .sorted(Comparator.comparing(FanoutJob::getStartedAt).reversed())
+            .collect(Collectors.toList());
+    }
+
+    private void submit(FanoutJob job, PartitionWork work) {
+        executor.execute(() -> {
+            try {
+                List<NotificationFanoutWriter.Email> inline = new ArrayList<>();
+                int[] written = transactionTemplate.execute(status -> work.write(inline));
+                job.partitionSucceeded(written[0], written[1] + send(inline));
+            } catch (Exception e) {
+                log.error("Notification fan-out partition failed for job {}", job.getJobId(), e);
+                job.partitionFailed();
+            }
+            if (job.isFinished()) {
+                log.info("Notification fan-out {} finished ({}): {} notifications, {} emails {}, {} failed partitions, {} /sec",
+                    job.getJobId(), job.getStatus(), job.getNotificationsWritten(), job.getEmailsQueued(),
+                    queueEmails ? "queued" : "sent",
+                    job.getFailedPartitions(), String.format("%.0f", job.getNotificationsPerSecond()));
+            }
+        });
+    }
+
+    /**
+     * 큐 디스패처가 켜져 있으면 큐에 적재, 아니면 커밋 후 보낼 목록에 추가
+     *
+     * @return 큐에 적재한 이메일 수
+     */
+    private int queueOrDefer(List<NotificationFanoutWriter.Email> emails, List<NotificationFanoutWriter.Email> inline,
+                             LocalDateTime now) {
+        if (queueEmails) {
+            return writer.enqueue(emails, now);
+        }
+        inline.addAll(emails);
+        return 0;
+    }
+
+    /**
+     * 큐를 거치지 않는 이메일 발송 - 한 건이 실패해도 나머지는 보낸다
+     *
+     * @return 발송한 이메일 수
+     */
+    private int send(List<NotificationFanoutWriter.Email> emails) {
+        int sent = 0;
+        for (NotificationFanoutWriter.Email email : emails) {
+            try {
+                emailService.sendSimpleEmail(email.getTo(), email.getSubject(), email.getBody());
+                sent++;
+            } catch (Exception e) {
+                log.error("Failed to send fan-out email to user {}", email.getUserId(), e);
+            }
+        }
+        return sent;
+    }
+
+    private FanoutJob register(FanoutJob job) {
+        LocalDateTime expiry = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(existing -> existing.isFinished() && existing.getFinishedAt().isBefore(expiry));
+        jobs.put(job.getJobId(), job);
+        return job;
+    }
+
+    private <T> List<List<T>> partition(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>((items.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(List.copyOf(items.subList(from, Math.min(from + chunkSize, items.size()))));
+        }
+        return chunks;
+    }
+
+    private static void requireContent(String title, String message) {
+        if (title == null || title.isBlank() || message == null || message.isBlank()) {
+            throw new IllegalArgumentException("제목과 메시지가 필요합니다.");
+        }
+    }
+
+    /**
+     * @param inline 큐를 쓰지 않을 때 커밋 후 바로 보낼 이메일을 담는 목록
+     * @return {적재한 알림 수, 큐에 적재한 이메일 수}
+     */
+    @FunctionalInterface
+    private interface PartitionWork {
+        int[] write(List<NotificationFanoutWriter.Email> inline);
+    }
+}
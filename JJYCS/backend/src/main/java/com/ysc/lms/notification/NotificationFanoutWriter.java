@@ -0,0 +1,229 @@
+package com.ysc.lms.notification;
+
+import com.ysc.lms.entity.Notification;
+import com.ysc.lms.entity.NotificationQueue;
+import com.ysc.lms.entity.NotificationTemplate;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.ingestion.EntityBatchInserter;
+import com.ysc.lms.repository.UserRepository;
+import com.ysc.lms.statistics.OrderStatusChange;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 알림 일괄 적재 (파티션 1개 = 호출 측 트랜잭션 1개)
+ *
+ * 사용자 구간 발송은 notifications / notification_queue 각각 INSERT ... SELECT 한 문장으로 적재해 사용자 행을 읽어오지 않는다.
+ * 수신자 목록 발송과 주문 상태 알림은 EntityBatchInserter 의 JDBC 배치 INSERT 를 쓴다.
+ * 이메일은 여기서 보내지 않는다 - 큐 디스패처를 쓰면 notification_queue 에 PENDING 으로 넣고,
+ * 쓰지 않으면 Email 목록만 만들어 호출 측이 트랜잭션 커밋 후 바로 보낸다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationFanoutWriter {
+
+    /** notifications 적재 컬럼 - 행 값 순서와 동일 */
+    static final List<String> NOTIFICATION_PROPERTIES = List.of(
+        "user", "type", "title", "message", "isRead", "isEmailSent", "isSmsRequired", "createdAt");
+    static final List<String> ORDER_NOTIFICATION_PROPERTIES = List.of(
+        "user", "relatedOrder", "actionUrl", "type", "title", "message", "isRead", "isEmailSent", "isSmsRequired", "createdAt");
+
+    /** notification_queue 적재 컬럼 */
+    static final List<String> QUEUE_PROPERTIES = List.of(
+        "recipient", "type", "channel", "title", "message", "status", "retryCount", "maxRetry", "createdAt", "updatedAt");
+
+    static final int MAX_RETRY = 3;
+    private static final int TITLE_LENGTH = 200;
+    private static final int MESSAGE_LENGTH = 1000;
+    private static final String EMAIL = NotificationTemplate.NotificationChannelType.EMAIL.name();
+
+    private final EntityBatchInserter batchInserter;
+    private final UserRepository userRepository;
+
+    /**
+     * status(/userType) 사용자 중 id 가 (afterId, toId] 인 사용자에게 공지 적재
+     *
+     * @param userType null 이면 전체 유형
+     */
+    public int insertSegmentNotifications(String title, String message, User.UserStatus status, User.UserType userType,
+                                          long afterId, long toId, LocalDateTime now) {
+        String select = "SELECT u." + batchInserter.idColumnName(User.class) + ", ?, ?, ?, ?, ?, ?, ?" + segmentFrom(userType);
+        return batchInserter.insertSelect(Notification.class, NOTIFICATION_PROPERTIES, select,
+            segmentArgs(new Object[]{Notification.NotificationType.SYSTEM_ANNOUNCEMENT.name(), truncate(title, TITLE_LENGTH),
+                truncate(message, MESSAGE_LENGTH), false, false, false, now}, status, userType, afterId, toId));
+    }
+
+    /**
+     * insertSegmentNotifications 와 같은 대상에게 공지 이메일을 큐에 적재 (인사말의 이름은 SQL 에서 이어 붙인다)
+     */
+    public int enqueueSegmentEmails(String title, String message, User.UserStatus status, User.UserType userType,
+                                    long afterId, long toId, LocalDateTime now) {
+        String select = "SELECT u." + batchInserter.idColumnName(User.class) + ", ?, ?, ?, CONCAT(?, u."
+            + batchInserter.columnName(User.class, "name") + ", ?), ?, ?, ?, ?, ?" + segmentFrom(userType);
+        return batchInserter.insertSelect(NotificationQueue.class, QUEUE_PROPERTIES, select,
+            segmentArgs(new Object[]{EMAIL, EMAIL, truncate(NotificationMessages.systemEmailSubject(title), TITLE_LENGTH),
+                NotificationMessages.GREETING_PREFIX,
+                NotificationMessages.GREETING_SUFFIX + NotificationMessages.systemEmailContent(title, message),
+                NotificationQueue.SendStatus.PENDING.name(), 0, MAX_RETRY, now, now}, status, userType, afterId, toId));
+    }
+
+    public int insertNotifications(List<Long> userIds, String title, String message, LocalDateTime now) {
+        String type = Notification.NotificationType.SYSTEM_ANNOUNCEMENT.name();
+        String safeTitle = truncate(title, TITLE_LENGTH);
+        String safeMessage = truncate(message, MESSAGE_LENGTH);
+        List<Object[]> rows = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            rows.add(new Object[]{userId, type, safeTitle, safeMessage, false, false, false, now});
+        }
+        return batchInserter.insert(Notification.class, NOTIFICATION_PROPERTIES, rows);
+    }
+
+    public int enqueueEmails(List<Long> userIds, String title, String message, LocalDateTime now) {
+        return enqueue(systemEmails(userIds, title, message), now);
+    }
+
+    /**
+     * 주문 상태 전환 알림 - 전환마다 알림 1건, 이메일 대상 상태면 큐 1건
+     *
+     * @return {적재한 알림 수, 적재한 이메일 수}
+     */
+    public int[] writeOrderStatusChanges(List<OrderStatusChange> changes, LocalDateTime now) {
+        int notifications = insertOrderStatusNotifications(changes, now);
+        return new int[]{notifications, enqueue(orderStatusEmails(changes), now)};
+    }
+
+    public int insertOrderStatusNotifications(List<OrderStatusChange> changes, LocalDateTime now) {
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        String type = Notification.NotificationType.ORDER_STATUS_CHANGED.name();
+        for (OrderStatusChange change : changes) {
+            rows.add(new Object[]{
+                change.getUserId(), change.getOrderId(), "/orders/" + change.getOrderId(), type,
+                truncate(NotificationMessages.orderStatusTitle(change.getOrderNumber()), TITLE_LENGTH),
+                NotificationMessages.orderStatusMessage(change.getOrderNumber(), change.getNewStatus().name()),
+                false, false, false, now});
+        }
+        return batchInserter.insert(Notification.class, ORDER_NOTIFICATION_PROPERTIES, rows);
+    }
+
+    /**
+     * 지정한 사용자들에게 보낼 공지 이메일 (없는 사용자는 제외)
+     */
+    public List<Email> systemEmails(Collection<Long> userIds, String title, String message) {
+        String subject = truncate(NotificationMessages.systemEmailSubject(title), TITLE_LENGTH);
+        List<Email> emails = new ArrayList<>(userIds.size());
+        for (Object[] contact : userRepository.findContactsByIdIn(userIds)) {
+            emails.add(new Email((Long) contact[0], (String) contact[2], subject,
+                NotificationMessages.systemEmailBody((String) contact[1], title, message)));
+        }
+        return emails;
+    }
+
+    /**
+     * enqueueSegmentEmails 와 같은 대상/내용의 이메일 - 큐를 쓰지 않을 때 바로 보낸다
+     */
+    public List<Email> segmentEmails(String title, String message, User.UserStatus status, User.UserType userType,
+                                     long afterId, long toId) {
+        String subject = truncate(NotificationMessages.systemEmailSubject(title), TITLE_LENGTH);
+        List<Email> emails = new ArrayList<>();
+        for (Object[] contact : userRepository.findContactsInIdRange(status, userType, afterId, toId)) {
+            emails.add(new Email((Long) contact[0], (String) contact[2], subject,
+                NotificationMessages.systemEmailBody((String) contact[1], title, message)));
+        }
+        return emails;
+    }
+
+    /**
+     * 이메일 대상 상태로 바뀐 전환마다 1건 (없는 사용자는 제외)
+     */
+    public List<Email> orderStatusEmails(List<OrderStatusChange> changes) {
+        Set<Long> emailUserIds = new LinkedHashSet<>();
+        for (OrderStatusChange change : changes) {
+            if (NotificationMessages.emailOnStatus(change.getNewStatus().name())) {
+                emailUserIds.add(change.getUserId());
+            }
+        }
+        if (emailUserIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Object[]> contacts = new HashMap<>();
+        for (Object[] contact : userRepository.findContactsByIdIn(emailUserIds)) {
+            contacts.put((Long) contact[0], contact);
+        }
+        List<Email> emails = new ArrayList<>(emailUserIds.size());
+        for (OrderStatusChange change : changes) {
+            String status = change.getNewStatus().name();
+            Object[] contact = contacts.get(change.getUserId());
+            if (contact != null && NotificationMessages.emailOnStatus(status)) {
+                emails.add(new Email(change.getUserId(), (String) contact[2],
+                    truncate(NotificationMessages.orderStatusEmailSubject(change.getOrderNumber()), TITLE_LENGTH),
+                    NotificationMessages.orderStatusEmailBody((String) contact[1], change.getOrderNumber(), status)));
+            }
+        }
+        return emails;
+    }
+
+    public int enqueue(List<Email> emails, LocalDateTime now) {
+        if (emails.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>(emails.size());
+        for (Email email : emails) {
+            rows.add(queueRow(email.getUserId(), email.getSubject(), email.getBody(), now));
+        }
+        return batchInserter.insert(NotificationQueue.class, QUEUE_PROPERTIES, rows);
+    }
+
+    private String segmentFrom(User.UserType userType) {
+        String where = " FROM " + batchInserter.tableName(User.class) + " u WHERE u."
+            + batchInserter.columnName(User.class, "status") + " = ?";
+        if (userType != null) {
+            where += " AND u." + batchInserter.columnName(User.class, "userType") + " = ?";
+        }
+        String id = "u." + batchInserter.idColumnName(User.class);
+        return where + " AND " + id + " > ? AND " + id + " <= ?";
+    }
+
+    private static Object[] segmentArgs(Object[] values, User.UserStatus status, User.UserType userType,
+                                        long afterId, long toId) {
+        List<Object> args = new ArrayList<>(Arrays.asList(values));
+        args.add(status.name());
+        if (userType != null) {
+            args.add(userType.name());
+        }
+        args.add(afterId);
+        args.add(toId);
+        return args.toArray();
+    }
+
+    private static Object[] queueRow(Long userId, String subject, String body, LocalDateTime now) {
+        return new Object[]{userId, EMAIL, EMAIL, subject, body, NotificationQueue.SendStatus.PENDING.name(), 0, MAX_RETRY, now, now};
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    /**
+     * 발송할 이메일 1건 - 큐 행(userId) 또는 바로 발송(to) 어느 쪽으로도 쓴다
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Email {
+        private final Long userId;
+        private final String to;
+        private final String subject;
+        private final String body;
+    }
+}
@@ -0,0 +1,98 @@
+package com.ysc.lms.notification;
+
+/**
+ * 알림 제목/본문 문구 - 단건 발송(NotificationService)과 일괄 발송(NotificationFanoutService)이 같은 문구를 쓴다
+ */
+public final class NotificationMessages {
+
+    /** 수신자 이름 앞뒤 인사말 - 일괄 발송은 SQL 에서 이름과 이어 붙인다 */
+    static final String GREETING_PREFIX = "안녕하세요, ";
+    static final String GREETING_SUFFIX = "님!\n";
+
+    private NotificationMessages() {
+    }
+
+    /**
+     * 중요한 공지만 이메일 발송 (제목에 '긴급' 또는 '중요' 포함)
+     */
+    public static boolean isUrgent(String title) {
+        return title != null && (title.contains("긴급") || title.contains("중요") || title.contains("URGENT"));
+    }
+
+    /**
+     * 주문 상태별 이메일 발송 여부
+     */
+    public static boolean emailOnStatus(String status) {
+        return switch (status.toUpperCase()) {
+            case "CONFIRMED" -> true;  // 접수 완료
+            case "SHIPPED" -> true;    // 배송 시작
+            case "DELIVERED" -> true;  // 배송 완료
+            case "CANCELLED" -> true;  // 취소
+            case "HOLD" -> true;       // 보류 (문제 발생)
+            default -> false;
+        };
+    }
+
+    public static String orderStatusLabel(String status) {
+        return switch (status.toUpperCase()) {
+            case "PENDING" -> "접수 대기";
+            case "CONFIRMED" -> "접수 완료";
+            case "IN_WAREHOUSE" -> "창고 입고";
+            case "PROCESSING" -> "처리 중";
+            case "SHIPPED" -> "배송 중";
+            case "DELIVERED" -> "배송 완료";
+            case "CANCELLED" -> "취소됨";
+            case "HOLD" -> "보류";
+            default -> status;
+        };
+    }
+
+    public static String orderStatusTitle(String orderNumber) {
+        return "주문 상태 변경: " + orderNumber;
+    }
+
+    public static String orderStatusMessage(String orderNumber, String status) {
+        return String.format("주문 %s의 상태가 '%s'로 변경되었습니다.", orderNumber, orderStatusLabel(status));
+    }
+
+    public static String orderStatusEmailSubject(String orderNumber) {
+        return "[YCS LMS] 주문 상태 변경 알림 - " + orderNumber;
+    }
+
+    public static String orderStatusEmailBody(String name, String orderNumber, String status) {
+        return String.format("""
+            안녕하세요, %s님!
+
+            주문 %s의 상태가 업데이트되었습니다.
+
+            현재 상태: %s
+
+            주문 상세 내용은 웹사이트에서 확인하실 수 있습니다.
+
+            감사합니다.
+            YCS 물류관리시스템
+            """, name, orderNumber, orderStatusLabel(status));
+    }
+
+    public static String systemEmailSubject(String title) {
+        return "[YCS LMS] 시스템 공지: " + title;
+    }
+
+    public static String systemEmailBody(String name, String title, String message) {
+        return GREETING_PREFIX + name + GREETING_SUFFIX + systemEmailContent(title, message);
+    }
+
+    static String systemEmailContent(String title, String message) {
+        return String.format("""
+
+            📢 %s
+
+            %s
+
+            더 자세한 내용은 웹사이트를 확인해주세요.
+
+            감사합니다.
+            YCS 물류관리시스템
+            """, title, message);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ysc.lms.notification;
+
+import com.ysc.lms.entity.NotificationTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 알림 발송 큐 영속 저장소 - 배치 선점(임대), 결과 일괄 반영, 반납
+ */
+public interface NotificationQueueStore {
+
+    /**
+     * 발송 시각이 된 channel 대기 건을 최대 limit 건 선점한다 (PROCESSING, leaseUntil 까지 다른 노드가 가져가지 않음)
+     */
+    List<QueuedNotification> claim(NotificationTemplate.NotificationChannelType channel, String workerId, int limit,
+                                   LocalDateTime leaseUntil);
+
+    /**
+     * 발송 결과를 한 번에 반영한다. workerId 가 아직 선점 중인 건만 바뀐다 (임대를 잃은 건은 무시)
+     *
+     * @return 반영된 건수 (JDBC 드라이버가 배치 건별 건수를 주지 않으면 임대를 잃은 건도 포함된 상한값)
+     */
+    int writeBack(String workerId, List<QueueUpdate> updates);
+
+    /**
+     * 보내지 않은 선점 건을 대기 상태로 되돌린다 (종료 시)
+     */
+    int release(String workerId, Collection<Long> ids);
+
+    int releaseExpiredLeases(LocalDateTime now);
+
+    List<QueueDepth> readyDepths(LocalDateTime now);
+}
@@ -0,0 +1,17 @@
+package com.ysc.lms.notification;
+
+import com.ysc.lms.statistics.OrderStatusChange;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * JDBC 배치로 반영된 주문 상태 전환 묶음 - 커밋 후 상태 변경 알림을 일괄 발송한다
+ */
+@Getter
+@AllArgsConstructor
+public class OrderStatusChangeBatch {
+
+    private final List<OrderStatusChange> changes;
+}
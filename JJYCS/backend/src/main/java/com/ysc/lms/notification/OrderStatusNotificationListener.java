@@ -0,0 +1,28 @@
+package com.ysc.lms.notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 원 트랜잭션 커밋 후 주문 상태 변경 알림 일괄 발송
+ * 적재는 발송 워커 풀에서 수행되므로 스캔 배치 처리 스레드를 붙잡지 않는다
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatusNotificationListener {
+
+    private final NotificationFanoutService fanoutService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanges(OrderStatusChangeBatch batch) {
+        try {
+            fanoutService.notifyOrderStatusChanges(batch.getChanges());
+        } catch (Exception e) {
+            log.warn("Failed to schedule order status notifications for {} changes: {}", batch.getChanges().size(), e.getMessage());
+        }
+    }
+}
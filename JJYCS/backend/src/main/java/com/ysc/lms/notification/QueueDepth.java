@@ -0,0 +1,19 @@
+package com.ysc.lms.notification;
+
+import com.ysc.lms.entity.NotificationTemplate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채널별 발송 가능 대기 건수와 가장 오래된 발송 가능 시각 (지연 = 지금 - oldestReadyAt)
+ */
+@Getter
+@AllArgsConstructor
+public class QueueDepth {
+
+    private final NotificationTemplate.NotificationChannelType channel;
+    private final long ready;
+    private final LocalDateTime oldestReadyAt;
+}
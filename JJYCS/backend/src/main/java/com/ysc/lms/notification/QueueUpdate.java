@@ -0,0 +1,24 @@
+package com.ysc.lms.notification;
+
+import com.ysc.lms.entity.NotificationQueue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발송 결과 반영 값 - SENT / PENDING(재시도 예약) / FAILED
+ */
+@Getter
+@AllArgsConstructor
+public class QueueUpdate {
+
+    private final Long id;
+    private final NotificationQueue.SendStatus status;
+    private final int retryCount;
+    /** 재시도 시각 (PENDING 일 때) */
+    private final LocalDateTime scheduledAt;
+    private final LocalDateTime sentAt;
+    private final String externalId;
+    private final String errorMessage;
+}
@@ -0,0 +1,24 @@
+package com.ysc.lms.notification;
+
+import com.ysc.lms.entity.NotificationTemplate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 디스패처가 선점한 발송 건 - 수신 주소는 채널별 (EMAIL 은 사용자 이메일)
+ */
+@Getter
+@AllArgsConstructor
+public class QueuedNotification {
+
+    private final Long id;
+    private final NotificationTemplate.NotificationChannelType channel;
+    private final Long recipientId;
+    private final String recipientName;
+    private final String address;
+    private final String title;
+    private final String message;
+    /** 이번 시도 전까지 실패한 횟수 */
+    private final int retryCount;
+    private final int maxRetry;
+}
@@ -0,0 +1,20 @@
+package com.ysc.lms.picking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 피킹 대상 한 줄 - 보관중인 품목 위치(ItemLocation)와 그 위치의 좌표
+ */
+@Getter
+@AllArgsConstructor
+public class PickLine {
+    private final Long itemLocationId;
+    private final String orderNumber;
+    private final int quantity;
+    private final Long locationId;
+    private final String locationCode;
+    private final int floor;
+    private final double x;
+    private final double y;
+}
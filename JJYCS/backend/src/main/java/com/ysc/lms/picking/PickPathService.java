@@ -0,0 +1,123 @@
+package com.ysc.lms.picking;
+
+import com.ysc.lms.entity.ItemLocation;
+import com.ysc.lms.repository.ItemLocationRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 웨이브 피킹 경로 계획
+ *
+ * 보관중(STORED)인 품목 위치를 한 번에 조회해 PickWavePlanner 로 피커별 경로를 계산한다.
+ * 경로 계산은 고정 크기 스레드 풀에서 피커 단위로 병렬 수행하며, 이동 거리와 기존 목록 순서 대비 절감률을
+ * lms.picking.* 지표로 남긴다.
+ */
+@Service
+@Slf4j
+public class PickPathService {
+
+    private static final String METRIC_PREFIX = "lms.picking";
+
+    private final ItemLocationRepository itemLocationRepository;
+    private final ExecutorService executor;
+    private final PickWavePlanner planner;
+    private final int maxPickers;
+    private final int maxOrders;
+    private final Timer planTimer;
+    private final DistributionSummary routeDistance;
+    private final DistributionSummary savingRatio;
+
+    public PickPathService(ItemLocationRepository itemLocationRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.picking.parallelism:4}") int parallelism,
+                           @Value("${app.picking.depot-x:0}") double depotX,
+                           @Value("${app.picking.depot-y:0}") double depotY,
+                           @Value("${app.picking.depot-floor:1}") int depotFloor,
+                           @Value("${app.picking.floor-change-cost:30}") double floorChangeCost,
+                           @Value("${app.picking.two-opt-budget-ms:200}") long twoOptBudgetMillis,
+                           @Value("${app.picking.max-pickers:20}") int maxPickers,
+                           @Value("${app.picking.max-orders:2000}") int maxOrders) {
+        this.itemLocationRepository = itemLocationRepository;
+        this.maxPickers = maxPickers;
+        this.maxOrders = maxOrders;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "picking-route-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.planner = new PickWavePlanner(
+            new PickRouteOptimizer(depotX, depotY, depotFloor, floorChangeCost, twoOptBudgetMillis), executor);
+
+        this.planTimer = Timer.builder(METRIC_PREFIX + ".plan")
+            .description("웨이브 피킹 경로 계산 시간 (조회 제외)")
+            .register(meterRegistry);
+        this.routeDistance = DistributionSummary.builder(METRIC_PREFIX + ".route.distance")
+            .description("피커 1인 경로 이동 거리 (좌표 단위)")
+            .register(meterRegistry);
+        this.savingRatio = DistributionSummary.builder(METRIC_PREFIX + ".wave.saving")
+            .description("기존 목록 순서 대비 이동 거리 절감률 (0 ~ 1)")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 주문 묶음의 피커별 피킹 경로
+     *
+     * @param pickers null 이면 1명
+     */
+    public PickWavePlan planWave(List<String> orderNumbers, Integer pickers) {
+        if (orderNumbers == null || orderNumbers.isEmpty()) {
+            throw new IllegalArgumentException("주문번호 목록이 필요합니다.");
+        }
+        Set<String> requested = new LinkedHashSet<>(orderNumbers);
+        if (requested.size() > maxOrders) {
+            throw new IllegalArgumentException("한 웨이브는 최대 " + maxOrders + "건까지 가능합니다.");
+        }
+        int pickerCount = pickers != null ? Math.min(Math.max(1, pickers), maxPickers) : 1;
+
+        List<PickLine> lines = new ArrayList<>();
+        for (Object[] row : itemLocationRepository.findPickLines(requested, ItemLocation.ItemLocationStatus.STORED)) {
+            lines.add(new PickLine((Long) row[0], (String) row[1], row[2] != null ? (Integer) row[2] : 1,
+                (Long) row[3], (String) row[4], row[5] != null ? (Integer) row[5] : 1,
+                toDouble((BigDecimal) row[6]), toDouble((BigDecimal) row[7])));
+        }
+
+        long started = System.nanoTime();
+        PickWavePlan plan = planner.plan(requested, lines, pickerCount);
+        planTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        plan.getRoutes().forEach(route -> routeDistance.record(route.getDistance()));
+        if (plan.getBaselineDistance() > 0) {
+            savingRatio.record(plan.getSavingRatio());
+        }
+
+        log.info("Pick wave planned: {} orders, {} lines, {} stops, {} pickers, distance {} (baseline {}) in {} ms",
+            requested.size(), plan.getLineCount(), plan.getStopCount(), plan.getRoutes().size(),
+            Math.round(plan.getTotalDistance()), Math.round(plan.getBaselineDistance()), plan.getComputeMillis());
+        return plan;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : 0;
+    }
+}
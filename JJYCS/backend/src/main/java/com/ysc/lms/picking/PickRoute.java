@@ -0,0 +1,21 @@
+package com.ysc.lms.picking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 피커 한 명의 피킹 경로 (출발/복귀 지점은 설정된 depot)
+ */
+@Getter
+@AllArgsConstructor
+public class PickRoute {
+    private final int picker;
+    private final List<String> orderNumbers;
+    private final List<PickStop> stops;
+    /** 최적화 경로 이동 거리 */
+    private final double distance;
+    /** 주문별 목록 순서대로 걸었을 때의 이동 거리 (비교용) */
+    private final double baselineDistance;
+}
@@ -0,0 +1,143 @@
+package com.ysc.lms.picking;
+
+import java.util.Arrays;
+
+/**
+ * 피킹 경로 계산 (depot 출발 → 정차 위치 전부 → depot 복귀)
+ *
+ * 최근접 이웃으로 초기 경로를 만든 뒤 2-opt 로 교차 구간을 뒤집어 개선한다. 2-opt 는 경로당 시간 예산 안에서만 돌고
+ * 예산을 넘기면 그때까지의 경로를 쓴다. 같은 층 안은 랙 통로를 따라 걷는 것으로 보고 직교(맨해튼) 거리를,
+ * 층이 다르면 depot 위치의 승강기까지 걸어가 층 이동 비용을 더한 거리를 쓴다.
+ */
+public final class PickRouteOptimizer {
+
+    private static final double EPSILON = 1e-9;
+
+    private final double depotX;
+    private final double depotY;
+    private final int depotFloor;
+    private final double floorChangeCost;
+    private final long twoOptBudgetNanos;
+
+    public PickRouteOptimizer(double depotX, double depotY, int depotFloor, double floorChangeCost, long twoOptBudgetMillis) {
+        this.depotX = depotX;
+        this.depotY = depotY;
+        this.depotFloor = depotFloor;
+        this.floorChangeCost = floorChangeCost;
+        this.twoOptBudgetNanos = twoOptBudgetMillis * 1_000_000;
+    }
+
+    /**
+     * @return 방문 순서 (입력 배열 인덱스, depot 제외)
+     */
+    public int[] route(double[] xs, double[] ys, int[] floors) {
+        Layout layout = new Layout(xs, ys, floors);
+        int[] tour = layout.nearestNeighbour();
+        if (tour.length > 3) {
+            layout.twoOpt(tour, System.nanoTime() + twoOptBudgetNanos);
+        }
+        return tour;
+    }
+
+    /**
+     * 주어진 순서로 걸었을 때의 이동 거리 (depot 출발/복귀 포함)
+     */
+    public double pathLength(double[] xs, double[] ys, int[] floors, int[] order) {
+        Layout layout = new Layout(xs, ys, floors);
+        int depot = xs.length;
+        double total = 0;
+        int previous = depot;
+        for (int stop : order) {
+            total += layout.distance(previous, stop);
+            previous = stop;
+        }
+        return total + layout.distance(previous, depot);
+    }
+
+    /**
+     * 좌표 배열 + 마지막 인덱스에 depot
+     */
+    private final class Layout {
+        private final int n;
+        private final double[] xs;
+        private final double[] ys;
+        private final int[] floors;
+
+        private Layout(double[] xs, double[] ys, int[] floors) {
+            this.n = xs.length;
+            this.xs = Arrays.copyOf(xs, n + 1);
+            this.ys = Arrays.copyOf(ys, n + 1);
+            this.floors = Arrays.copyOf(floors, n + 1);
+            this.xs[n] = depotX;
+            this.ys[n] = depotY;
+            this.floors[n] = depotFloor;
+        }
+
+        private double distance(int a, int b) {
+            if (floors[a] == floors[b]) {
+                return Math.abs(xs[a] - xs[b]) + Math.abs(ys[a] - ys[b]);
+            }
+            return Math.abs(xs[a] - depotX) + Math.abs(ys[a] - depotY)
+                + floorChangeCost * Math.abs(floors[a] - floors[b])
+                + Math.abs(xs[b] - depotX) + Math.abs(ys[b] - depotY);
+        }
+
+        private int[] nearestNeighbour() {
+            int[] tour = new int[n];
+            boolean[] visited = new boolean[n];
+            int current = n;
+            for (int position = 0; position < n; position++) {
+                int best = -1;
+                double bestDistance = Double.MAX_VALUE;
+                for (int candidate = 0; candidate < n; candidate++) {
+                    if (!visited[candidate]) {
+                        double d = distance(current, candidate);
+                        if (d < bestDistance) {
+                            bestDistance = d;
+                            best = candidate;
+                        }
+                    }
+                }
+                visited[best] = true;
+                tour[position] = best;
+                current = best;
+            }
+            return tour;
+        }
+
+        /**
+         * 개선이 없을 때까지 (또는 예산 소진까지) 구간 [i, j] 뒤집기
+         */
+        private void twoOpt(int[] tour, long deadline) {
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+                for (int i = 0; i < n - 1; i++) {
+                    if (System.nanoTime() > deadline) {
+                        return;
+                    }
+                    int before = i == 0 ? n : tour[i - 1];
+                    double removedFirst = distance(before, tour[i]);
+                    for (int j = i + 1; j < n; j++) {
+                        int after = j == n - 1 ? n : tour[j + 1];
+                        double delta = distance(before, tour[j]) + distance(tour[i], after)
+                            - removedFirst - distance(tour[j], after);
+                        if (delta < -EPSILON) {
+                            reverse(tour, i, j);
+                            removedFirst = distance(before, tour[i]);
+                            improved = true;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void reverse(int[] tour, int from, int to) {
+        while (from < to) {
+            int swap = tour[from];
+            tour[from++] = tour[to];
+            tour[to--] = swap;
+        }
+    }
+}
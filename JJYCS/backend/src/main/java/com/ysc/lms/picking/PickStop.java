@@ -0,0 +1,20 @@
+package com.ysc.lms.picking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 경로상의 정차 위치 - 같은 위치에서 집는 피킹 줄을 묶는다
+ */
+@Getter
+@AllArgsConstructor
+public class PickStop {
+    private final Long locationId;
+    private final String locationCode;
+    private final int floor;
+    private final double x;
+    private final double y;
+    private final List<PickLine> lines;
+}
@@ -0,0 +1,29 @@
+package com.ysc.lms.picking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 웨이브 피킹 계획 - 피커별 경로와 전체 이동 거리
+ */
+@Getter
+@AllArgsConstructor
+public class PickWavePlan {
+    private final List<PickRoute> routes;
+    private final int lineCount;
+    private final int stopCount;
+    private final double totalDistance;
+    private final double baselineDistance;
+    /** 보관중인 품목이 없어 경로에서 빠진 주문 */
+    private final List<String> unlocatedOrders;
+    private final long computeMillis;
+
+    /**
+     * 기존 목록 순서 대비 줄어든 이동 거리 비율 (0 ~ 1)
+     */
+    public double getSavingRatio() {
+        return baselineDistance > 0 ? 1 - totalDistance / baselineDistance : 0;
+    }
+}
@@ -0,0 +1,190 @@
+package com.ysc.lms.picking;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 웨이브(주문 묶음)를 피커별로 나누고 피커마다 경로를 병렬로 계산
+ *
+ * 주문은 쪼개지 않고 한 피커에게 배정한다 (합포장 편의). 주문을 (층, 평균 x, 평균 y) 순으로 정렬해
+ * 피킹 줄 수가 비슷하도록 연속 구간으로 자르므로 피커마다 가까운 구역의 주문을 맡게 된다.
+ */
+public final class PickWavePlanner {
+
+    private final PickRouteOptimizer optimizer;
+    private final ExecutorService executor;
+
+    public PickWavePlanner(PickRouteOptimizer optimizer, ExecutorService executor) {
+        this.optimizer = optimizer;
+        this.executor = executor;
+    }
+
+    /**
+     * @param orderNumbers 요청 주문 (피킹 줄이 없는 주문은 unlocatedOrders 로)
+     * @param lines        주문번호, 위치코드 순 피킹 줄 - 이 순서가 기존 목록 순서(비교 기준)가 된다
+     */
+    public PickWavePlan plan(Collection<String> orderNumbers, List<PickLine> lines, int pickers) {
+        long started = System.nanoTime();
+        List<OrderGroup> orders = groupByOrder(lines);
+
+        Set<String> unlocated = new LinkedHashSet<>(orderNumbers);
+        orders.forEach(order -> unlocated.remove(order.orderNumber));
+
+        List<Future<PickRoute>> futures = new ArrayList<>();
+        int picker = 1;
+        for (List<OrderGroup> assigned : partition(orders, lines.size(), pickers)) {
+            int pickerNo = picker++;
+            futures.add(executor.submit(() -> route(pickerNo, assigned)));
+        }
+
+        List<PickRoute> routes = new ArrayList<>(futures.size());
+        int stopCount = 0;
+        double totalDistance = 0;
+        double baselineDistance = 0;
+        for (Future<PickRoute> future : futures) {
+            PickRoute route = join(future);
+            routes.add(route);
+            stopCount += route.getStops().size();
+            totalDistance += route.getDistance();
+            baselineDistance += route.getBaselineDistance();
+        }
+        return new PickWavePlan(routes, lines.size(), stopCount, totalDistance, baselineDistance,
+            new ArrayList<>(unlocated), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private PickRoute route(int picker, List<OrderGroup> orders) {
+        // 기존 방식: 주문별 목록을 순서대로 걸어감 (같은 위치 연속 방문은 거리 0)
+        List<PickLine> listed = new ArrayList<>();
+        Map<Long, List<PickLine>> byLocation = new LinkedHashMap<>();
+        List<String> orderNumbers = new ArrayList<>(orders.size());
+        for (OrderGroup order : orders) {
+            orderNumbers.add(order.orderNumber);
+            for (PickLine line : order.lines) {
+                listed.add(line);
+                byLocation.computeIfAbsent(line.getLocationId(), id -> new ArrayList<>()).add(line);
+            }
+        }
+        double baseline = pathLength(listed);
+
+        List<List<PickLine>> stops = new ArrayList<>(byLocation.values());
+        int n = stops.size();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        int[] floors = new int[n];
+        for (int i = 0; i < n; i++) {
+            PickLine first = stops.get(i).get(0);
+            xs[i] = first.getX();
+            ys[i] = first.getY();
+            floors[i] = first.getFloor();
+        }
+        int[] order = optimizer.route(xs, ys, floors);
+
+        List<PickStop> routed = new ArrayList<>(n);
+        for (int index : order) {
+            List<PickLine> stopLines = stops.get(index);
+            PickLine first = stopLines.get(0);
+            routed.add(new PickStop(first.getLocationId(), first.getLocationCode(), first.getFloor(),
+                first.getX(), first.getY(), stopLines));
+        }
+        return new PickRoute(picker, orderNumbers, routed, optimizer.pathLength(xs, ys, floors, order), baseline);
+    }
+
+    private double pathLength(List<PickLine> lines) {
+        int n = lines.size();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        int[] floors = new int[n];
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            PickLine line = lines.get(i);
+            xs[i] = line.getX();
+            ys[i] = line.getY();
+            floors[i] = line.getFloor();
+            order[i] = i;
+        }
+        return optimizer.pathLength(xs, ys, floors, order);
+    }
+
+    private static List<OrderGroup> groupByOrder(List<PickLine> lines) {
+        Map<String, OrderGroup> byOrder = new LinkedHashMap<>();
+        for (PickLine line : lines) {
+            byOrder.computeIfAbsent(line.getOrderNumber(), OrderGroup::new).lines.add(line);
+        }
+        List<OrderGroup> orders = new ArrayList<>(byOrder.values());
+        orders.forEach(OrderGroup::locate);
+        orders.sort(Comparator.comparingInt((OrderGroup order) -> order.floor)
+            .thenComparingDouble(order -> order.x)
+            .thenComparingDouble(order -> order.y));
+        return orders;
+    }
+
+    /**
+     * 정렬된 주문을 피킹 줄 수 기준으로 최대 pickers 개 연속 구간으로 나눈다
+     */
+    private static List<List<OrderGroup>> partition(List<OrderGroup> orders, int lineCount, int pickers) {
+        int groups = Math.max(1, Math.min(pickers, orders.size()));
+        int target = (lineCount + groups - 1) / groups;
+        List<List<OrderGroup>> partitions = new ArrayList<>(groups);
+        List<OrderGroup> current = new ArrayList<>();
+        int currentLines = 0;
+        for (int i = 0; i < orders.size(); i++) {
+            OrderGroup order = orders.get(i);
+            current.add(order);
+            currentLines += order.lines.size();
+            int ordersLeft = orders.size() - i - 1;
+            int groupsLeft = groups - partitions.size() - 1;
+            if (groupsLeft > 0 && ordersLeft > 0 && (currentLines >= target || ordersLeft == groupsLeft)) {
+                partitions.add(current);
+                current = new ArrayList<>();
+                currentLines = 0;
+            }
+        }
+        if (!current.isEmpty()) {
+            partitions.add(current);
+        }
+        return partitions;
+    }
+
+    private static PickRoute join(Future<PickRoute> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("피킹 경로 계산이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("피킹 경로 계산에 실패했습니다.", e.getCause());
+        }
+    }
+
+    private static final class OrderGroup {
+        private final String orderNumber;
+        private final List<PickLine> lines = new ArrayList<>();
+        private int floor;
+        private double x;
+        private double y;
+
+        private OrderGroup(String orderNumber) {
+            this.orderNumber = orderNumber;
+        }
+
+        private void locate() {
+            floor = Integer.MAX_VALUE;
+            for (PickLine line : lines) {
+                floor = Math.min(floor, line.getFloor());
+                x += line.getX();
+                y += line.getY();
+            }
+            x /= lines.size();
+            y /= lines.size();
+        }
+    }
+}
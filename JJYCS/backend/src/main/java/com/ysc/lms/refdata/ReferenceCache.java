@@ -0,0 +1,110 @@
+package com.ysc.lms.refdata;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기준정보 near-cache
+ *
+ * 기본은 Caffeine LoadingCache 로 키 단위 지연 적재하며, refresh-after-write 가 지난 항목은 다음 조회 때 이전 값을
+ * 그대로 응답하고 백그라운드에서 다시 읽는다(refresh-ahead). 없는 키도 Optional.empty 로 캐시해 반복 조회가 DB 로
+ * 가지 않는다. 스냅샷 모드에서는 전체 기준정보를 불변 Map 으로 들고 있다가 변경 시 통째로 교체한다.
+ */
+public final class ReferenceCache<K, V> {
+
+    private static final String METRIC_PREFIX = "lms.refdata";
+
+    private final String name;
+    private final ReferenceLoader<K, V> loader;
+    private final LoadingCache<K, Optional<V>> cache;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer loadTimer;
+    private volatile Map<K, V> snapshot;
+
+    ReferenceCache(String name, ReferenceLoader<K, V> loader, MeterRegistry meterRegistry,
+                   long refreshAfterWriteSeconds, long expireAfterWriteSeconds, long maxEntries) {
+        this.name = name;
+        this.loader = loader;
+        this.hits = Counter.builder(METRIC_PREFIX + ".gets")
+            .description("기준정보 캐시 조회")
+            .tag("cache", name)
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_PREFIX + ".gets")
+            .description("기준정보 캐시 조회")
+            .tag("cache", name)
+            .tag("result", "miss")
+            .register(meterRegistry);
+        this.loadTimer = Timer.builder(METRIC_PREFIX + ".load")
+            .description("기준정보 적재 시간 (단건/갱신/스냅샷)")
+            .tag("cache", name)
+            .register(meterRegistry);
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .refreshAfterWrite(refreshAfterWriteSeconds, TimeUnit.SECONDS)
+            .expireAfterWrite(Math.max(expireAfterWriteSeconds, refreshAfterWriteSeconds + 1), TimeUnit.SECONDS)
+            .build(key -> loadTimer.record(() -> Optional.ofNullable(loader.load(key))));
+        Gauge.builder(METRIC_PREFIX + ".size", this, ReferenceCache::size)
+            .description("기준정보 캐시 항목 수")
+            .tag("cache", name)
+            .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Optional<V> get(K key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        Map<K, V> current = snapshot;
+        if (current != null) {
+            hits.increment();
+            return Optional.ofNullable(current.get(key));
+        }
+        Optional<V> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        return cache.get(key);
+    }
+
+    void invalidate(K key) {
+        cache.invalidate(key);
+    }
+
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    boolean isSnapshotLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * 전체 기준정보를 다시 읽어 불변 Map 으로 교체
+     */
+    int reloadSnapshot() {
+        Map<K, V> loaded = loadTimer.record(() -> Map.copyOf(loader.loadAll()));
+        snapshot = loaded;
+        cache.invalidateAll();
+        return loaded.size();
+    }
+
+    private double size() {
+        Map<K, V> current = snapshot;
+        return current != null ? current.size() : cache.estimatedSize();
+    }
+}
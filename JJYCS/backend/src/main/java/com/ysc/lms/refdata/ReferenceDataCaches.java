@@ -0,0 +1,98 @@
+package com.ysc.lms.refdata;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 기준정보 캐시 등록/무효화
+ *
+ * 서비스가 생성 시 로더와 함께 캐시를 등록하고, 관리자 변경 경로는 ReferenceDataChanged 를 발행한다.
+ * 무효화는 커밋 후 수행하므로 롤백된 변경은 캐시에 반영되지 않는다. 다른 인스턴스의 변경은
+ * refresh-after-write(스냅샷 모드는 snapshot-reload-ms) 주기로 따라간다.
+ */
+@Component
+@Slf4j
+public class ReferenceDataCaches {
+
+    private final MeterRegistry meterRegistry;
+    private final long refreshAfterWriteSeconds;
+    private final long expireAfterWriteSeconds;
+    private final long maxEntries;
+    private final boolean snapshotMode;
+    private final Map<String, ReferenceCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    public ReferenceDataCaches(MeterRegistry meterRegistry,
+                               @Value("${app.reference-data.refresh-after-write-seconds:300}") long refreshAfterWriteSeconds,
+                               @Value("${app.reference-data.expire-after-write-seconds:3600}") long expireAfterWriteSeconds,
+                               @Value("${app.reference-data.max-entries:10000}") long maxEntries,
+                               @Value("${app.reference-data.snapshot-mode:false}") boolean snapshotMode) {
+        this.meterRegistry = meterRegistry;
+        this.refreshAfterWriteSeconds = refreshAfterWriteSeconds;
+        this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+        this.maxEntries = maxEntries;
+        this.snapshotMode = snapshotMode;
+    }
+
+    public <K, V> ReferenceCache<K, V> register(String name, ReferenceLoader<K, V> loader) {
+        ReferenceCache<K, V> cache = new ReferenceCache<>(name, loader, meterRegistry,
+            refreshAfterWriteSeconds, expireAfterWriteSeconds, maxEntries);
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException("이미 등록된 기준정보 캐시입니다: " + name);
+        }
+        return cache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (snapshotMode) {
+            caches.values().forEach(this::reloadSnapshot);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.reference-data.snapshot-reload-ms:300000}",
+               initialDelayString = "${app.reference-data.snapshot-reload-ms:300000}")
+    public void scheduledSnapshotReload() {
+        if (snapshotMode) {
+            caches.values().forEach(this::reloadSnapshot);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChanged change) {
+        ReferenceCache<Object, ?> cache = (ReferenceCache<Object, ?>) caches.get(change.getCacheName());
+        if (cache == null) {
+            log.warn("Unknown reference data cache: {}", change.getCacheName());
+            return;
+        }
+        if (snapshotMode && cache.isSnapshotLoaded()) {
+            reloadSnapshot(cache);
+        } else if (change.getKey() != null) {
+            cache.invalidate(change.getKey());
+        } else {
+            cache.invalidateAll();
+        }
+    }
+
+    private void reloadSnapshot(ReferenceCache<?, ?> cache) {
+        long started = System.nanoTime();
+        try {
+            int size = cache.reloadSnapshot();
+            log.info("Reference data snapshot {} loaded: {} entries in {} ms",
+                cache.getName(), size, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            // 이전 스냅샷을 계속 사용
+            log.error("Reference data snapshot {} reload failed", cache.getName(), e);
+        }
+    }
+}
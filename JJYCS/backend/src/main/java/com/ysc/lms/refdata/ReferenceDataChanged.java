@@ -0,0 +1,15 @@
+package com.ysc.lms.refdata;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 기준정보 변경 (key 가 null 이면 캐시 전체) - 커밋 후 해당 캐시를 무효화한다
+ */
+@Getter
+@AllArgsConstructor
+public class ReferenceDataChanged {
+
+    private final String cacheName;
+    private final Object key;
+}
@@ -0,0 +1,19 @@
+package com.ysc.lms.refdata;
+
+import java.util.Map;
+
+/**
+ * 기준정보 캐시 로더
+ */
+public interface ReferenceLoader<K, V> {
+
+    /**
+     * 단건 조회 - 없으면 null (없음도 캐시한다)
+     */
+    V load(K key);
+
+    /**
+     * 스냅샷 모드용 전체 조회
+     */
+    Map<K, V> loadAll();
+}
@@ -0,0 +1,101 @@
+package com.ysc.lms.reporting;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * CSV (RFC 4180) - 엑셀에서 한글이 깨지지 않도록 UTF-8 BOM 을 붙인다
+ * 텍스트 컬럼이 =, +, -, @ 로 시작하면 수식으로 해석되지 않도록 ' 를 앞에 붙인다
+ */
+public final class CsvReportWriter implements ReportRowWriter {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Writer writer;
+    private List<ReportColumn> columns;
+
+    public CsvReportWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public void writeHeader(List<ReportColumn> columns) throws IOException {
+        this.columns = columns;
+        writer.write('\uFEFF');
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeEscaped(columns.get(i).getLabel());
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof BigDecimal decimal) {
+                writer.write(decimal.toPlainString());
+            } else if (value instanceof Number) {
+                writer.write(value.toString());
+            } else if (value instanceof LocalDateTime dateTime) {
+                writer.write(dateTime.format(DATE_TIME));
+            } else if (value instanceof LocalDate date) {
+                writer.write(date.toString());
+            } else if (value instanceof Enum<?> constant) {
+                writer.write(constant.name());
+            } else {
+                String text = value.toString();
+                if (columns.get(i).getType() == ReportColumn.Type.TEXT && isFormulaLike(text)) {
+                    text = "'" + text;
+                }
+                writeEscaped(text);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeEscaped(String text) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static boolean isFormulaLike(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@';
+    }
+}
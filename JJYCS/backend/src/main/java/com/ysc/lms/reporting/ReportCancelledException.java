@@ -0,0 +1,11 @@
+package com.ysc.lms.reporting;
+
+/**
+ * 실행 중인 리포트가 취소됨 - 쓰던 출력 파일은 삭제된다
+ */
+public class ReportCancelledException extends RuntimeException {
+
+    public ReportCancelledException(String executionId) {
+        super("Report execution cancelled: " + executionId);
+    }
+}
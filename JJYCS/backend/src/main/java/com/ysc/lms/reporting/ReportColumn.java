@@ -0,0 +1,32 @@
+package com.ysc.lms.reporting;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 리포트 컬럼 - 행 값 배열의 같은 위치 값을 어떤 형식으로 쓸지 정한다
+ */
+@Getter
+@AllArgsConstructor
+public class ReportColumn {
+
+    public enum Type {
+        TEXT, NUMBER, DATE_TIME
+    }
+
+    private final String key;
+    private final String label;
+    private final Type type;
+
+    public static ReportColumn text(String key, String label) {
+        return new ReportColumn(key, label, Type.TEXT);
+    }
+
+    public static ReportColumn number(String key, String label) {
+        return new ReportColumn(key, label, Type.NUMBER);
+    }
+
+    public static ReportColumn dateTime(String key, String label) {
+        return new ReportColumn(key, label, Type.DATE_TIME);
+    }
+}
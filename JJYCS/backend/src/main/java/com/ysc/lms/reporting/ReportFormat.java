@@ -0,0 +1,45 @@
+package com.ysc.lms.reporting;
+
+import lombok.Getter;
+
+import java.io.OutputStream;
+
+/**
+ * 리포트 출력 형식 (CustomReport.outputFormat)
+ */
+@Getter
+public enum ReportFormat {
+    CSV("csv", "text/csv; charset=UTF-8"),
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final String extension;
+    private final String contentType;
+
+    ReportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public ReportRowWriter open(OutputStream out, String title) {
+        return this == XLSX ? new XlsxReportWriter(out, title) : new CsvReportWriter(out);
+    }
+
+    /**
+     * 미지정이면 CSV, EXCEL/XLS 는 XLSX 로 취급
+     */
+    public static ReportFormat of(String outputFormat) {
+        if (outputFormat == null || outputFormat.isBlank()) {
+            return CSV;
+        }
+        switch (outputFormat.trim().toUpperCase()) {
+            case "CSV":
+                return CSV;
+            case "XLSX":
+            case "XLS":
+            case "EXCEL":
+                return XLSX;
+            default:
+                throw new IllegalArgumentException("지원하지 않는 리포트 출력 형식입니다: " + outputFormat);
+        }
+    }
+}
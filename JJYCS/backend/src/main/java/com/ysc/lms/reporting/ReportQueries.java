@@ -0,0 +1,148 @@
+package com.ysc.lms.reporting;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 리포트 유형별 컬럼 정의와 행 스트림
+ *
+ * 행은 스칼라 Object[] 프로젝션 스트림으로 읽으므로 엔티티가 영속성 컨텍스트에 쌓이지 않는다.
+ * 스트림은 호출 측 읽기 전용 트랜잭션 안에서 열고 닫아야 한다.
+ *
+ * fetch size 는 이 리포트 문장에만 적용한다 (app.reporting.fetch-size). MySQL Connector/J 는 useCursorFetch 없이
+ * 양수 fetch size 를 무시하고 결과 전체를 버퍼링하므로, MySQL 프로필은 Integer.MIN_VALUE(-2147483648)로 행 단위
+ * 스트리밍을 켠다. 공유 커넥션 풀 전체에 useCursorFetch 를 켜면 모든 조회가 서버 커서를 쓰게 되므로 쓰지 않는다.
+ * 스트리밍 중인 커넥션에서는 다른 문장을 실행할 수 없으므로 스트림을 닫기 전에 같은 트랜잭션에서 다른 조회를 하지 않는다.
+ */
+@Component
+public class ReportQueries {
+
+    private static final String ORDER_SUMMARY_QUERY =
+        "SELECT o.orderNumber, o.createdAt, u.name, u.memberCode, o.status, o.shippingType, o.country, " +
+        "o.totalAmount, o.totalCbm, o.totalWeight " +
+        "FROM Order o LEFT JOIN o.user u WHERE o.createdAt >= :from AND o.createdAt < :to ORDER BY o.id";
+
+    private static final String FINANCIAL_QUERY =
+        "SELECT o.orderNumber, b.createdAt, b.shippingFee, b.localDeliveryFee, b.repackingFee, b.handlingFee, " +
+        "b.insuranceFee, b.customsFee, b.tax, b.total, b.exchangeRate, b.totalKrw, b.paymentStatus, b.paymentDate " +
+        "FROM Billing b JOIN b.order o WHERE b.createdAt >= :from AND b.createdAt < :to ORDER BY b.id";
+
+    /** 출고되지 않은 적재 품목 */
+    private static final String INVENTORY_QUERY =
+        "SELECT il.locationCode, o.orderNumber, il.status, il.weight, il.volume, il.arrivedAt, il.lastScanAt " +
+        "FROM ItemLocation il LEFT JOIN il.order o WHERE il.departedAt IS NULL ORDER BY il.id";
+
+    private static final String USER_ACTIVITY_QUERY =
+        "SELECT u.email, u.name, u.memberCode, u.userType, u.status, u.createdAt, u.approvedAt " +
+        "FROM User u WHERE u.createdAt >= :from AND u.createdAt < :to ORDER BY u.id";
+
+    private static final List<ReportColumn> ORDER_SUMMARY = List.of(
+        ReportColumn.text("orderNumber", "주문번호"),
+        ReportColumn.dateTime("orderDate", "주문일시"),
+        ReportColumn.text("customerName", "고객명"),
+        ReportColumn.text("memberCode", "회원코드"),
+        ReportColumn.text("status", "상태"),
+        ReportColumn.text("shippingType", "배송방식"),
+        ReportColumn.text("country", "국가"),
+        ReportColumn.number("totalAmount", "주문금액"),
+        ReportColumn.number("totalCbm", "CBM"),
+        ReportColumn.number("totalWeight", "중량(kg)"));
+
+    private static final List<ReportColumn> FINANCIAL = List.of(
+        ReportColumn.text("orderNumber", "주문번호"),
+        ReportColumn.dateTime("billedAt", "청구일시"),
+        ReportColumn.number("shippingFee", "배송비(THB)"),
+        ReportColumn.number("localDeliveryFee", "현지배송비(THB)"),
+        ReportColumn.number("repackingFee", "리패킹(THB)"),
+        ReportColumn.number("handlingFee", "취급수수료(THB)"),
+        ReportColumn.number("insuranceFee", "보험료(THB)"),
+        ReportColumn.number("customsFee", "통관수수료(THB)"),
+        ReportColumn.number("tax", "TAX(THB)"),
+        ReportColumn.number("total", "합계(THB)"),
+        ReportColumn.number("exchangeRate", "환율"),
+        ReportColumn.number("totalKrw", "합계(KRW)"),
+        ReportColumn.text("paymentStatus", "결제상태"),
+        ReportColumn.dateTime("paymentDate", "입금일시"));
+
+    private static final List<ReportColumn> INVENTORY = List.of(
+        ReportColumn.text("locationCode", "위치코드"),
+        ReportColumn.text("orderNumber", "주문번호"),
+        ReportColumn.text("status", "상태"),
+        ReportColumn.number("weight", "중량"),
+        ReportColumn.number("volume", "부피"),
+        ReportColumn.dateTime("arrivedAt", "입고일시"),
+        ReportColumn.dateTime("lastScanAt", "최근 스캔"));
+
+    private static final List<ReportColumn> USER_ACTIVITY = List.of(
+        ReportColumn.text("email", "이메일"),
+        ReportColumn.text("name", "이름"),
+        ReportColumn.text("memberCode", "회원코드"),
+        ReportColumn.text("userType", "회원유형"),
+        ReportColumn.text("status", "상태"),
+        ReportColumn.dateTime("createdAt", "가입일시"),
+        ReportColumn.dateTime("approvedAt", "승인일시"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.reporting.fetch-size:1000}")
+    private int fetchSize;
+
+    public boolean supports(ReportingService.ReportType type) {
+        return type == ReportingService.ReportType.ORDER_SUMMARY
+            || type == ReportingService.ReportType.FINANCIAL_REPORT
+            || type == ReportingService.ReportType.INVENTORY_REPORT
+            || type == ReportingService.ReportType.USER_ACTIVITY;
+    }
+
+    public List<ReportColumn> columns(ReportingService.ReportType type) {
+        switch (type) {
+            case ORDER_SUMMARY:
+                return ORDER_SUMMARY;
+            case FINANCIAL_REPORT:
+                return FINANCIAL;
+            case INVENTORY_REPORT:
+                return INVENTORY;
+            case USER_ACTIVITY:
+                return USER_ACTIVITY;
+            default:
+                throw new IllegalArgumentException("지원하지 않는 리포트 유형입니다: " + type);
+        }
+    }
+
+    /**
+     * @param to 포함하지 않음 (재고 리포트는 기간과 무관한 현재 적재 현황)
+     */
+    public Stream<Object[]> open(ReportingService.ReportType type, LocalDateTime from, LocalDateTime to) {
+        switch (type) {
+            case ORDER_SUMMARY:
+                return stream(ORDER_SUMMARY_QUERY, from, to);
+            case FINANCIAL_REPORT:
+                return stream(FINANCIAL_QUERY, from, to);
+            case INVENTORY_REPORT:
+                return query(INVENTORY_QUERY).getResultStream();
+            case USER_ACTIVITY:
+                return stream(USER_ACTIVITY_QUERY, from, to);
+            default:
+                throw new IllegalArgumentException("지원하지 않는 리포트 유형입니다: " + type);
+        }
+    }
+
+    private Stream<Object[]> stream(String jpql, LocalDateTime from, LocalDateTime to) {
+        return query(jpql).setParameter("from", from).setParameter("to", to).getResultStream();
+    }
+
+    private TypedQuery<Object[]> query(String jpql) {
+        return entityManager.createQuery(jpql, Object[].class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+}
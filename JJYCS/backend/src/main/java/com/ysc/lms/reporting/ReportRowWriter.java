@@ -0,0 +1,20 @@
+package com.ysc.lms.reporting;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 리포트 행 스트리밍 출력 - 행을 받는 즉시 출력 스트림에 쓰고 보관하지 않는다
+ * finish() 는 형식 마무리(XLSX 의 경우 zip 목차)까지만 하고 출력 스트림은 닫지 않는다
+ */
+public interface ReportRowWriter {
+
+    void writeHeader(List<ReportColumn> columns) throws IOException;
+
+    /**
+     * @param values writeHeader 의 컬럼 순서
+     */
+    void writeRow(Object[] values) throws IOException;
+
+    void finish() throws IOException;
+}
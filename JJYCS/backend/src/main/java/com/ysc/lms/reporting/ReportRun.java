@@ -0,0 +1,45 @@
+package com.ysc.lms.reporting;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실행 중인 리포트 한 건의 진행 상황 / 취소 요청
+ * 행을 쓰는 스레드만 rowsWritten 을 올리고, 다른 스레드는 읽기와 cancel() 만 한다
+ */
+@Getter
+public class ReportRun {
+
+    private final String executionId;
+    private final String reportId;
+    private final String tenantId;
+    private final String executedBy;
+    private final boolean scheduled;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile boolean cancelRequested;
+
+    public ReportRun(String executionId, String reportId, String tenantId, String executedBy, boolean scheduled) {
+        this.executionId = executionId;
+        this.reportId = reportId;
+        this.tenantId = tenantId;
+        this.executedBy = executedBy;
+        this.scheduled = scheduled;
+    }
+
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    void checkCancelled() {
+        if (cancelRequested) {
+            throw new ReportCancelledException(executionId);
+        }
+    }
+
+    long increment() {
+        return rowsWritten.incrementAndGet();
+    }
+}
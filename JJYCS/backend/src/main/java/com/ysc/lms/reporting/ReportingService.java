@@ -1,28 +1,93 @@
 package com.ysc.lms.reporting;
 
-import lombok.RequiredArgsConstructor;
+import com.ysc.lms.exception.AccessDeniedException;
+import com.ysc.lms.journal.ExecutionJournal;
+import com.ysc.lms.journal.JournalSource;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
-
+import java.util.stream.Stream;
+
+/**
+ * 리포트 실행
+ *
+ * 리포트 쿼리를 읽기 전용 트랜잭션 안의 전진 전용 커서(ReportQueries)로 읽어 CSV/XLSX 행 writer 에 바로 흘려보낸다.
+ * 행을 모아 두지 않으므로 메모리는 행 수와 무관하고, ReportResult.data 에는 앞쪽 preview-rows 행만 담긴다.
+ * 대화형 실행과 예약 실행은 서로 다른 고정 크기 풀/대기열을 써서 예약 리포트가 대화형 요청을 밀어내지 못한다.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ReportingService {
 
+    private static final int PROGRESS_LOG_INTERVAL = 100_000;
+
     private final Map<String, ReportTemplate> reportTemplates = new ConcurrentHashMap<>();
     private final Map<String, CustomReport> customReports = new ConcurrentHashMap<>();
     private final Map<String, DashboardConfiguration> dashboards = new ConcurrentHashMap<>();
-    private final List<ReportExecution> executionHistory = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, ReportRun> activeRuns = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> lastScheduledRuns = new ConcurrentHashMap<>();
+    private final ExecutionJournal executionJournal;
+    private final ReportQueries reportQueries;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService interactiveExecutor;
+    private final ExecutorService scheduledExecutor;
+    private final Path outputDirectory;
+    private final int previewRows;
+
+    public ReportingService(ExecutionJournal executionJournal,
+                            ReportQueries reportQueries,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.reporting.output-dir:./reports}") String outputDirectory,
+                            @Value("${app.reporting.preview-rows:100}") int previewRows,
+                            @Value("${app.reporting.interactive.threads:4}") int interactiveThreads,
+                            @Value("${app.reporting.interactive.queue-capacity:50}") int interactiveQueueCapacity,
+                            @Value("${app.reporting.scheduled.threads:1}") int scheduledThreads,
+                            @Value("${app.reporting.scheduled.queue-capacity:20}") int scheduledQueueCapacity) {
+        this.executionJournal = executionJournal;
+        this.reportQueries = reportQueries;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.outputDirectory = Paths.get(outputDirectory).toAbsolutePath();
+        this.previewRows = previewRows;
+        this.interactiveExecutor = boundedExecutor("report-interactive", interactiveThreads, interactiveQueueCapacity);
+        this.scheduledExecutor = boundedExecutor("report-scheduled", scheduledThreads, scheduledQueueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        activeRuns.values().forEach(ReportRun::cancel);
+        interactiveExecutor.shutdownNow();
+        scheduledExecutor.shutdownNow();
+    }
 
     public void initializeDefaultReports() {
         log.info("Initializing default reports and dashboards");
@@ -38,6 +103,11 @@ public class ReportingService {
         log.info("Creating custom report: {} for tenant: {} by user: {}", 
             request.getName(), tenantId, createdBy);
         
+        ReportFormat.of(request.getOutputFormat());
+        if (!reportQueries.supports(request.getReportType())) {
+            throw new IllegalArgumentException("지원하지 않는 리포트 유형입니다: " + request.getReportType());
+        }
+
         String reportId = UUID.randomUUID().toString();
         
         CustomReport report = CustomReport.builder()
@@ -67,49 +137,72 @@ public class ReportingService {
         return reportId;
     }
 
-    @Async
+    /**
+     * 리포트를 파일(output-dir/{tenantId}/)로 생성 - 대화형 풀에서 실행하며 대기열이 차면 즉시 실패한다
+     */
     public CompletableFuture<ReportResult> executeReport(String reportId, String tenantId, Map<String, Object> parameters, String executedBy) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                log.info("Executing report: {} for tenant: {} by user: {}", reportId, tenantId, executedBy);
-                
-                CustomReport report = customReports.get(reportId);
-                if (report == null) {
-                    throw new IllegalArgumentException("Report not found: " + reportId);
-                }
-                
-                if (!tenantId.equals(report.getTenantId())) {
-                    throw new IllegalAccessException("Access denied to report: " + reportId);
-                }
-                
-                ReportExecution execution = ReportExecution.builder()
-                    .executionId(UUID.randomUUID().toString())
-                    .reportId(reportId)
-                    .tenantId(tenantId)
-                    .executedBy(executedBy)
-                    .startTime(LocalDateTime.now())
-                    .parameters(parameters)
-                    .status(ExecutionStatus.RUNNING)
-                    .build();
-                
-                executionHistory.add(execution);
-                
-                // Execute report logic
-                ReportResult result = executeReportLogic(report, parameters);
-                
-                execution.setEndTime(LocalDateTime.now());
-                execution.setStatus(ExecutionStatus.COMPLETED);
-                execution.setRecordCount(result.getData().size());
-                execution.setFilePath(result.getFilePath());
-                
-                log.info("Report executed successfully: {} with {} records", reportId, result.getData().size());
-                return result;
-                
-            } catch (Exception e) {
-                log.error("Report execution failed: {}", reportId, e);
-                throw new RuntimeException("Report execution failed: " + e.getMessage(), e);
-            }
-        });
+        return submit(interactiveExecutor, false, reportId, tenantId, parameters, executedBy);
+    }
+
+    /**
+     * 리포트를 호출 스레드에서 out 으로 바로 스트리밍 (HTTP 응답 등) - out 은 닫지 않는다
+     */
+    public ReportResult streamReport(String reportId, String tenantId, Map<String, Object> parameters, String executedBy,
+                                     OutputStream out) {
+        CustomReport report = findReport(reportId, tenantId);
+        return execute(report, tenantId, parameters, executedBy, false, new StreamOutput(out));
+    }
+
+    public String getContentType(String reportId, String tenantId) {
+        return ReportFormat.of(findReport(reportId, tenantId).getOutputFormat()).getContentType();
+    }
+
+    /**
+     * @param tenantId null 이면 전체 테넌트
+     */
+    public List<ReportProgress> getActiveExecutions(String tenantId) {
+        return activeRuns.values().stream()
+            .filter(run -> tenantId == null || tenantId.equals(run.getTenantId()))
+            .map(this::toProgress)
+            .sorted(Comparator.comparing(ReportProgress::getStartedAt))
+            .collect(Collectors.toList());
+    }
+
+    public Optional<ReportProgress> getExecutionProgress(String executionId) {
+        return Optional.ofNullable(activeRuns.get(executionId)).map(this::toProgress);
+    }
+
+    /**
+     * 실행 중인 리포트 취소 요청 - 다음 행을 쓰기 전에 멈추고 쓰던 파일은 지운다
+     *
+     * @return 실행 중인 건을 찾았으면 true
+     */
+    public boolean cancelExecution(String executionId, String tenantId) {
+        ReportRun run = activeRuns.get(executionId);
+        if (run == null) {
+            return false;
+        }
+        if (tenantId != null && !tenantId.equals(run.getTenantId())) {
+            throw new AccessDeniedException("리포트 실행", "취소");
+        }
+        run.cancel();
+        log.info("Cancellation requested for report execution {} ({} rows written)", executionId, run.getRowsWritten().get());
+        return true;
+    }
+
+    /**
+     * Report execution history, newest first
+     *
+     * @param tenantId null for all tenants
+     */
+    public List<ReportExecution> getExecutionHistory(String tenantId, LocalDateTime from, LocalDateTime to, int limit) {
+        return executionJournal.query(JournalSource.REPORT_EXECUTION, tenantId, from, to, limit, ReportExecution.class);
+    }
+
+    // Journaled once the execution has finished so the persisted entry carries its final status
+    private void recordExecution(ReportExecution execution) {
+        executionJournal.record(JournalSource.REPORT_EXECUTION, execution.getTenantId(), execution.getReportId(),
+            execution.getStatus().name(), execution.getStartTime(), execution);
     }
 
     public DashboardData getDashboardData(String dashboardId, String tenantId, Map<String, Object> filters) {
@@ -166,161 +259,241 @@ public class ReportingService {
             .collect(Collectors.toList());
         
         for (CustomReport report : scheduledReports) {
-            try {
-                executeReport(report.getReportId(), report.getTenantId(), Map.of(), "system");
-            } catch (Exception e) {
-                log.error("Failed to execute scheduled report: {}", report.getReportId(), e);
+            if (isRunning(report.getReportId())) {
+                log.debug("Scheduled report {} is still running, skipping this round", report.getReportId());
+                continue;
             }
+            lastScheduledRuns.put(report.getReportId(), LocalDateTime.now());
+            submit(scheduledExecutor, true, report.getReportId(), report.getTenantId(), Map.of(), "system")
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.error("Failed to execute scheduled report: {}", report.getReportId(), e);
+                    }
+                });
         }
     }
 
-    private ReportResult executeReportLogic(CustomReport report, Map<String, Object> parameters) {
-        // Mock report execution - in real implementation would query actual data
-        List<Map<String, Object>> data = generateMockReportData(report, parameters);
-        
-        String fileName = String.format("%s_%s.%s", 
-            report.getName().replaceAll("\\s+", "_"), 
-            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")),
-            report.getOutputFormat().toLowerCase());
-        
-        String filePath = saveReportToFile(data, report.getOutputFormat(), fileName);
-        
-        return ReportResult.builder()
+    private CompletableFuture<ReportResult> submit(ExecutorService executor, boolean scheduled, String reportId,
+                                                   String tenantId, Map<String, Object> parameters, String executedBy) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                log.info("Executing report: {} for tenant: {} by user: {}", reportId, tenantId, executedBy);
+                CustomReport report = findReport(reportId, tenantId);
+                String fileName = String.format("%s_%s.%s",
+                    safeFileName(report.getName()),
+                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")),
+                    ReportFormat.of(report.getOutputFormat()).getExtension());
+                Path target = outputDirectory.resolve(safeFileName(tenantId)).resolve(fileName);
+                return execute(report, tenantId, parameters, executedBy, scheduled, new FileOutput(target));
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Report {} rejected: {} executor queue is full", reportId, scheduled ? "scheduled" : "interactive");
+            return CompletableFuture.failedFuture(
+                new IllegalStateException("리포트 실행 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요.", e));
+        }
+    }
+
+    private ReportResult execute(CustomReport report, String tenantId, Map<String, Object> parameters, String executedBy,
+                                 boolean scheduled, ReportOutput output) {
+        ReportExecution execution = ReportExecution.builder()
+            .executionId(UUID.randomUUID().toString())
             .reportId(report.getReportId())
-            .reportName(report.getName())
-            .executionTime(LocalDateTime.now())
-            .data(data)
-            .recordCount(data.size())
-            .outputFormat(report.getOutputFormat())
-            .filePath(filePath)
+            .tenantId(tenantId)
+            .executedBy(executedBy)
+            .startTime(LocalDateTime.now())
+            .parameters(parameters)
+            .status(ExecutionStatus.RUNNING)
             .build();
+        ReportRun run = new ReportRun(execution.getExecutionId(), report.getReportId(), tenantId, executedBy, scheduled);
+        activeRuns.put(run.getExecutionId(), run);
+
+        try {
+            ReportFormat format = ReportFormat.of(report.getOutputFormat());
+            List<ReportColumn> columns = reportQueries.columns(report.getReportType());
+            LocalDateTime[] range = resolveRange(parameters);
+            List<Map<String, Object>> preview = new ArrayList<>();
+
+            try (OutputStream out = output.open()) {
+                ReportRowWriter writer = format.open(out, report.getName());
+                writer.writeHeader(columns);
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<Object[]> rows = reportQueries.open(report.getReportType(), range[0], range[1])) {
+                        Iterator<Object[]> iterator = rows.iterator();
+                        while (iterator.hasNext()) {
+                            run.checkCancelled();
+                            Object[] row = iterator.next();
+                            writer.writeRow(row);
+                            if (preview.size() < previewRows) {
+                                preview.add(toPreviewRow(columns, row));
+                            }
+                            long written = run.increment();
+                            if (written % PROGRESS_LOG_INTERVAL == 0) {
+                                log.info("Report {} execution {}: {} rows written", report.getReportId(),
+                                    run.getExecutionId(), written);
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.finish();
+            }
+            String filePath = output.commit();
+
+            long rowCount = run.getRowsWritten().get();
+            execution.setEndTime(LocalDateTime.now());
+            execution.setStatus(ExecutionStatus.COMPLETED);
+            execution.setRecordCount((int) Math.min(rowCount, Integer.MAX_VALUE));
+            execution.setFilePath(filePath);
+            recordExecution(execution);
+
+            log.info("Report executed successfully: {} with {} records in {} ms", report.getReportId(), rowCount,
+                Duration.between(execution.getStartTime(), execution.getEndTime()).toMillis());
+            return ReportResult.builder()
+                .reportId(report.getReportId())
+                .executionId(execution.getExecutionId())
+                .reportName(report.getName())
+                .executionTime(execution.getEndTime())
+                .data(preview)
+                .recordCount(execution.getRecordCount())
+                .outputFormat(format.name())
+                .filePath(filePath)
+                .build();
+
+        } catch (ReportCancelledException e) {
+            output.discard();
+            execution.setEndTime(LocalDateTime.now());
+            execution.setStatus(ExecutionStatus.CANCELLED);
+            execution.setRecordCount((int) Math.min(run.getRowsWritten().get(), Integer.MAX_VALUE));
+            recordExecution(execution);
+            log.info("Report execution cancelled: {} after {} rows", execution.getExecutionId(), run.getRowsWritten().get());
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            output.discard();
+            execution.setEndTime(LocalDateTime.now());
+            execution.setStatus(ExecutionStatus.FAILED);
+            execution.setErrorMessage(e.getMessage());
+            recordExecution(execution);
+            log.error("Report execution failed: {}", report.getReportId(), e);
+            throw e instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) e;
+        } finally {
+            activeRuns.remove(run.getExecutionId());
+        }
     }
 
-    private List<Map<String, Object>> generateMockReportData(CustomReport report, Map<String, Object> parameters) {
-        List<Map<String, Object>> data = new ArrayList<>();
-        
-        switch (report.getReportType()) {
-            case ORDER_SUMMARY:
-                data = generateOrderSummaryData(parameters);
-                break;
-            case FINANCIAL_REPORT:
-                data = generateFinancialReportData(parameters);
-                break;
-            case INVENTORY_REPORT:
-                data = generateInventoryReportData(parameters);
-                break;
-            case USER_ACTIVITY:
-                data = generateUserActivityData(parameters);
-                break;
-            case PERFORMANCE_METRICS:
-                data = generatePerformanceMetricsData(parameters);
-                break;
-            default:
-                data = generateDefaultReportData(parameters);
+    private CustomReport findReport(String reportId, String tenantId) {
+        CustomReport report = customReports.get(reportId);
+        if (report == null) {
+            throw new IllegalArgumentException("Report not found: " + reportId);
         }
-        
-        return data;
+        if (!Objects.equals(tenantId, report.getTenantId())) {
+            throw new AccessDeniedException("Access denied to report: " + reportId);
+        }
+        return report;
     }
 
-    private List<Map<String, Object>> generateOrderSummaryData(Map<String, Object> parameters) {
-        List<Map<String, Object>> data = new ArrayList<>();
-        
-        for (int i = 1; i <= 100; i++) {
-            Map<String, Object> record = new HashMap<>();
-            record.put("orderId", "ORD" + String.format("%06d", i));
-            record.put("orderDate", LocalDate.now().minusDays(i % 30));
-            record.put("customerName", "Customer " + i);
-            record.put("orderValue", 100.0 + (Math.random() * 1000));
-            record.put("status", i % 5 == 0 ? "COMPLETED" : "PROCESSING");
-            record.put("shippingMethod", i % 3 == 0 ? "AIR" : "SEA");
-            data.add(record);
-        }
-        
-        return data;
+    private boolean isRunning(String reportId) {
+        return activeRuns.values().stream().anyMatch(run -> reportId.equals(run.getReportId()));
     }
 
-    private List<Map<String, Object>> generateFinancialReportData(Map<String, Object> parameters) {
-        List<Map<String, Object>> data = new ArrayList<>();
-        
-        for (int i = 1; i <= 12; i++) {
-            Map<String, Object> record = new HashMap<>();
-            record.put("month", LocalDate.now().minusMonths(i).getMonth().toString());
-            record.put("revenue", 10000.0 + (Math.random() * 50000));
-            record.put("expenses", 5000.0 + (Math.random() * 20000));
-            record.put("profit", (Double) record.get("revenue") - (Double) record.get("expenses"));
-            record.put("orderCount", 50 + (int) (Math.random() * 200));
-            data.add(record);
-        }
-        
-        return data;
+    private ReportProgress toProgress(ReportRun run) {
+        long rows = run.getRowsWritten().get();
+        long elapsedMillis = Duration.between(run.getStartedAt(), LocalDateTime.now()).toMillis();
+        return ReportProgress.builder()
+            .executionId(run.getExecutionId())
+            .reportId(run.getReportId())
+            .tenantId(run.getTenantId())
+            .executedBy(run.getExecutedBy())
+            .scheduled(run.isScheduled())
+            .startedAt(run.getStartedAt())
+            .rowsWritten(rows)
+            .elapsedMillis(elapsedMillis)
+            .rowsPerSecond(elapsedMillis > 0 ? rows * 1000.0 / elapsedMillis : 0)
+            .cancelRequested(run.isCancelRequested())
+            .build();
     }
 
-    private List<Map<String, Object>> generateInventoryReportData(Map<String, Object> parameters) {
-        List<Map<String, Object>> data = new ArrayList<>();
-        
-        String[] categories = {"Electronics", "Clothing", "Books", "Home", "Sports"};
-        
-        for (int i = 1; i <= 50; i++) {
-            Map<String, Object> record = new HashMap<>();
-            record.put("itemId", "ITEM" + String.format("%04d", i));
-            record.put("itemName", "Item " + i);
-            record.put("category", categories[i % categories.length]);
-            record.put("currentStock", (int) (Math.random() * 100));
-            record.put("reservedStock", (int) (Math.random() * 20));
-            record.put("availableStock", (Integer) record.get("currentStock") - (Integer) record.get("reservedStock"));
-            record.put("lastUpdated", LocalDateTime.now().minusHours(i % 24));
-            data.add(record);
+    private static Map<String, Object> toPreviewRow(List<ReportColumn> columns, Object[] row) {
+        Map<String, Object> record = new LinkedHashMap<>(columns.size() * 2);
+        for (int i = 0; i < columns.size(); i++) {
+            record.put(columns.get(i).getKey(), row[i]);
         }
-        
-        return data;
+        return record;
     }
 
-    private List<Map<String, Object>> generateUserActivityData(Map<String, Object> parameters) {
-        List<Map<String, Object>> data = new ArrayList<>();
-        
-        for (int i = 1; i <= 30; i++) {
-            Map<String, Object> record = new HashMap<>();
-            record.put("date", LocalDate.now().minusDays(i));
-            record.put("totalUsers", 100 + (int) (Math.random() * 50));
-            record.put("activeUsers", 50 + (int) (Math.random() * 30));
-            record.put("newRegistrations", (int) (Math.random() * 10));
-            record.put("loginCount", 200 + (int) (Math.random() * 100));
-            data.add(record);
+    /**
+     * startDate/endDate (yyyy-MM-dd, endDate 포함) 또는 fromMonth/toMonth (yyyy-MM), 없으면 최근 30일
+     *
+     * @return {from, to(미포함)}
+     */
+    static LocalDateTime[] resolveRange(Map<String, Object> parameters) {
+        Map<String, Object> params = parameters != null ? parameters : Map.of();
+        try {
+            LocalDateTime from = null;
+            LocalDateTime to = null;
+            if (params.get("fromMonth") != null) {
+                from = YearMonth.parse(params.get("fromMonth").toString()).atDay(1).atStartOfDay();
+            }
+            if (params.get("toMonth") != null) {
+                to = YearMonth.parse(params.get("toMonth").toString()).plusMonths(1).atDay(1).atStartOfDay();
+            }
+            if (params.get("startDate") != null) {
+                from = startOf(params.get("startDate"));
+            }
+            if (params.get("endDate") != null) {
+                to = endOf(params.get("endDate"));
+            }
+            if (to == null) {
+                to = LocalDate.now().plusDays(1).atStartOfDay();
+            }
+            if (from == null) {
+                from = to.minusDays(30);
+            }
+            if (!from.isBefore(to)) {
+                throw new IllegalArgumentException("리포트 기간의 시작이 끝보다 늦습니다.");
+            }
+            return new LocalDateTime[]{from, to};
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("리포트 기간 파라미터 형식이 올바르지 않습니다: " + e.getParsedString(), e);
         }
-        
-        return data;
     }
 
-    private List<Map<String, Object>> generatePerformanceMetricsData(Map<String, Object> parameters) {
-        List<Map<String, Object>> data = new ArrayList<>();
-        
-        for (int i = 0; i < 24; i++) {
-            Map<String, Object> record = new HashMap<>();
-            record.put("hour", i);
-            record.put("responseTime", 100 + (Math.random() * 500));
-            record.put("throughput", 10 + (Math.random() * 40));
-            record.put("errorRate", Math.random() * 5);
-            record.put("cpuUsage", 20 + (Math.random() * 60));
-            record.put("memoryUsage", 30 + (Math.random() * 50));
-            data.add(record);
+    private static LocalDateTime startOf(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime;
         }
-        
-        return data;
+        if (value instanceof LocalDate date) {
+            return date.atStartOfDay();
+        }
+        String text = value.toString();
+        return text.length() <= 10 ? LocalDate.parse(text).atStartOfDay() : LocalDateTime.parse(text);
     }
 
-    private List<Map<String, Object>> generateDefaultReportData(Map<String, Object> parameters) {
-        List<Map<String, Object>> data = new ArrayList<>();
-        
-        for (int i = 1; i <= 10; i++) {
-            Map<String, Object> record = new HashMap<>();
-            record.put("id", i);
-            record.put("name", "Record " + i);
-            record.put("value", Math.random() * 100);
-            record.put("timestamp", LocalDateTime.now().minusHours(i));
-            data.add(record);
+    private static LocalDateTime endOf(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime;
         }
-        
-        return data;
+        if (value instanceof LocalDate date) {
+            return date.plusDays(1).atStartOfDay();
+        }
+        String text = value.toString();
+        return text.length() <= 10 ? LocalDate.parse(text).plusDays(1).atStartOfDay() : LocalDateTime.parse(text);
+    }
+
+    private static String safeFileName(String name) {
+        String cleaned = name == null ? "" : name.replaceAll("[^\\p{L}\\p{N}_-]+", "_");
+        return cleaned.isEmpty() ? "report" : cleaned;
+    }
+
+    private static ExecutorService boundedExecutor(String name, int threads, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        int size = Math.max(1, threads);
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
     }
 
     private DashboardWidget generateWidgetData(WidgetConfiguration config, String tenantId, Map<String, Object> filters) {
@@ -397,16 +570,107 @@ public class ReportingService {
         return data;
     }
 
-    private String saveReportToFile(List<Map<String, Object>> data, String format, String fileName) {
-        // Mock file save - in real implementation would save to storage
-        String filePath = "/reports/" + fileName;
-        log.debug("Saving report to file: {}", filePath);
-        return filePath;
+    /**
+     * scheduleExpression(Spring cron) 기준으로 마지막 예약 실행(없으면 생성 시각) 이후 실행 시각이 지났는지
+     */
+    private boolean isReportDue(CustomReport report) {
+        if (report.getScheduleExpression() == null || report.getScheduleExpression().isBlank()) {
+            return false;
+        }
+        CronExpression cron;
+        try {
+            cron = CronExpression.parse(report.getScheduleExpression());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid schedule expression for report {}: {}", report.getReportId(), report.getScheduleExpression());
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime last = lastScheduledRuns.getOrDefault(report.getReportId(),
+            report.getCreatedAt() != null ? report.getCreatedAt() : now);
+        LocalDateTime next = cron.next(last);
+        return next != null && !next.isAfter(now);
     }
 
-    private boolean isReportDue(CustomReport report) {
-        // Simple schedule check - in real implementation would use cron expression parser
-        return Math.random() > 0.9; // 10% chance for demo
+    /**
+     * 리포트 출력 대상 - 성공하면 commit, 실패/취소면 discard
+     */
+    private interface ReportOutput {
+        OutputStream open() throws IOException;
+
+        /**
+         * @return 저장 위치 (스트리밍이면 null)
+         */
+        String commit() throws IOException;
+
+        void discard();
+    }
+
+    /**
+     * {파일}.part 에 쓰고 성공하면 이름을 바꾼다 - 중간 상태 파일이 완성본으로 보이지 않는다
+     */
+    private static final class FileOutput implements ReportOutput {
+        private final Path target;
+        private final Path partial;
+
+        private FileOutput(Path target) {
+            this.target = target;
+            this.partial = target.resolveSibling(target.getFileName() + ".part");
+        }
+
+        @Override
+        public OutputStream open() throws IOException {
+            Files.createDirectories(target.getParent());
+            return Files.newOutputStream(partial);
+        }
+
+        @Override
+        public String commit() throws IOException {
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return target.toString();
+        }
+
+        @Override
+        public void discard() {
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException e) {
+                log.warn("Failed to delete partial report file {}", partial, e);
+            }
+        }
+    }
+
+    private static final class StreamOutput implements ReportOutput {
+        private final OutputStream out;
+
+        private StreamOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public OutputStream open() {
+            // 호출 측 스트림은 닫지 않는다 (flush 만 전달)
+            return new java.io.FilterOutputStream(out) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.flush();
+                }
+            };
+        }
+
+        @Override
+        public String commit() {
+            return null;
+        }
+
+        @Override
+        public void discard() {
+            // 이미 보낸 바이트는 되돌릴 수 없다 - 클라이언트 연결 종료로 전달됨
+        }
     }
 
     private ReportSummary convertToSummary(CustomReport report) {
@@ -609,8 +873,10 @@ public class ReportingService {
     @lombok.Builder
     public static class ReportResult {
         private String reportId;
+        private String executionId;
         private String reportName;
         private LocalDateTime executionTime;
+        /** 앞쪽 preview-rows 행 미리보기 - 전체 행은 filePath / 스트림 출력 */
         private List<Map<String, Object>> data;
         private int recordCount;
         private String outputFormat;
@@ -619,6 +885,8 @@ public class ReportingService {
 
     @lombok.Data
     @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
     public static class ReportExecution {
         private String executionId;
         private String reportId;
@@ -633,6 +901,21 @@ public class ReportingService {
         private String errorMessage;
     }
 
+    @lombok.Data
+    @lombok.Builder
+    public static class ReportProgress {
+        private String executionId;
+        private String reportId;
+        private String tenantId;
+        private String executedBy;
+        private boolean scheduled;
+        private LocalDateTime startedAt;
+        private long rowsWritten;
+        private long elapsedMillis;
+        private double rowsPerSecond;
+        private boolean cancelRequested;
+    }
+
     @lombok.Data
     @lombok.Builder
     public static class DashboardConfiguration {
@@ -0,0 +1,249 @@
+package com.ysc.lms.reporting;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 스트리밍 XLSX (Office Open XML)
+ *
+ * 시트 XML 을 zip 엔트리에 행 단위로 바로 써서 메모리에는 현재 행만 남는다 (SXSSF 의 행 창을 0 으로 둔 것과 같다).
+ * 문자열은 공유 문자열 표 없이 inlineStr 로 쓰고, 시트당 최대 행(1,048,576)을 넘으면 헤더를 반복한 새 시트로 넘어간다.
+ * 워크북/관계/콘텐츠 타입 파트는 시트 수가 정해진 finish() 에서 쓴다.
+ */
+public final class XlsxReportWriter implements ReportRowWriter {
+
+    static final int MAX_ROWS_PER_SHEET = 1_048_576;
+
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+    private static final int STYLE_DATE_TIME = 1;
+    private static final int STYLE_HEADER = 2;
+    private static final int STYLE_DATE = 3;
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+    private final String sheetName;
+    private final int maxRowsPerSheet;
+    private List<ReportColumn> columns;
+    private int sheetCount;
+    private int rowInSheet;
+
+    public XlsxReportWriter(OutputStream out, String sheetName) {
+        this(out, sheetName, MAX_ROWS_PER_SHEET);
+    }
+
+    XlsxReportWriter(OutputStream out, String sheetName, int maxRowsPerSheet) {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+        this.sheetName = sanitizeSheetName(sheetName);
+        this.maxRowsPerSheet = maxRowsPerSheet;
+    }
+
+    @Override
+    public void writeHeader(List<ReportColumn> columns) throws IOException {
+        this.columns = columns;
+        startSheet();
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        if (rowInSheet >= maxRowsPerSheet) {
+            endSheet();
+            startSheet();
+        }
+        rowInSheet++;
+        writer.write("<row r=\"");
+        writer.write(Integer.toString(rowInSheet));
+        writer.write("\">");
+        for (Object value : values) {
+            writeCell(value);
+        }
+        writer.write("</row>");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        endSheet();
+        writeEntry("xl/styles.xml", STYLES);
+        writeEntry("xl/workbook.xml", workbookXml());
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRelsXml());
+        writeEntry("_rels/.rels", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+            + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+            + "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+            + "</Relationships>");
+        writeEntry("[Content_Types].xml", contentTypesXml());
+        zip.finish();
+        zip.flush();
+    }
+
+    private void startSheet() throws IOException {
+        sheetCount++;
+        rowInSheet = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetCount + ".xml"));
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>");
+        writer.write("<worksheet xmlns=\"" + MAIN_NS + "\"><sheetViews><sheetView workbookViewId=\"0\">"
+            + "<pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/></sheetView></sheetViews>"
+            + "<sheetData>");
+        rowInSheet++;
+        writer.write("<row r=\"1\">");
+        for (ReportColumn column : columns) {
+            writer.write("<c s=\"" + STYLE_HEADER + "\" t=\"inlineStr\"><is><t>");
+            writeXml(column.getLabel());
+            writer.write("</t></is></c>");
+        }
+        writer.write("</row>");
+    }
+
+    private void endSheet() throws IOException {
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void writeCell(Object value) throws IOException {
+        if (value == null) {
+            writer.write("<c/>");
+        } else if (value instanceof BigDecimal decimal) {
+            writeNumber(decimal.toPlainString(), 0);
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            if (Double.isFinite(number)) {
+                writeNumber(Double.toString(number), 0);
+            } else {
+                writeText(Double.toString(number));
+            }
+        } else if (value instanceof Number) {
+            writeNumber(value.toString(), 0);
+        } else if (value instanceof LocalDateTime dateTime) {
+            double serial = ChronoUnit.DAYS.between(EXCEL_EPOCH, dateTime.toLocalDate())
+                + dateTime.toLocalTime().toNanoOfDay() / 86_400_000_000_000d;
+            writeNumber(Double.toString(serial), STYLE_DATE_TIME);
+        } else if (value instanceof LocalDate date) {
+            writeNumber(Long.toString(ChronoUnit.DAYS.between(EXCEL_EPOCH, date)), STYLE_DATE);
+        } else if (value instanceof Boolean bool) {
+            writer.write("<c t=\"b\"><v>" + (bool ? 1 : 0) + "</v></c>");
+        } else if (value instanceof Enum<?> constant) {
+            writeText(constant.name());
+        } else {
+            writeText(value.toString());
+        }
+    }
+
+    private void writeNumber(String number, int style) throws IOException {
+        writer.write(style > 0 ? "<c s=\"" + style + "\"><v>" : "<c><v>");
+        writer.write(number);
+        writer.write("</v></c>");
+    }
+
+    private void writeText(String text) throws IOException {
+        writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+        writeXml(text);
+        writer.write("</t></is></c>");
+    }
+
+    /**
+     * XML 이스케이프 - XML 1.0 에서 허용되지 않는 제어 문자는 버린다
+     */
+    private void writeXml(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '&' -> writer.write("&amp;");
+                case '"' -> writer.write("&quot;");
+                default -> {
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private String workbookXml() {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+            .append("<workbook xmlns=\"").append(MAIN_NS).append("\" xmlns:r=\"").append(REL_NS).append("\"><sheets>");
+        for (int i = 1; i <= sheetCount; i++) {
+            String name = sheetCount == 1 ? sheetName : truncate(sheetName, 26) + " (" + i + ")";
+            xml.append("<sheet name=\"").append(escapeAttribute(name)).append("\" sheetId=\"").append(i)
+                .append("\" r:id=\"rId").append(i).append("\"/>");
+        }
+        return xml.append("</sheets></workbook>").toString();
+    }
+
+    private String workbookRelsXml() {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+            .append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 1; i <= sheetCount; i++) {
+            xml.append("<Relationship Id=\"rId").append(i).append("\" Type=\"").append(REL_NS)
+                .append("/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        }
+        xml.append("<Relationship Id=\"rId").append(sheetCount + 1).append("\" Type=\"").append(REL_NS)
+            .append("/styles\" Target=\"styles.xml\"/>");
+        return xml.append("</Relationships>").toString();
+    }
+
+    private String contentTypesXml() {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+            .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+            .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+            .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+            .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+            .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 1; i <= sheetCount; i++) {
+            xml.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        return xml.append("</Types>").toString();
+    }
+
+    private static String sanitizeSheetName(String name) {
+        String cleaned = name == null ? "" : name.replaceAll("[\\[\\]:*?/\\\\]", " ").trim();
+        return cleaned.isEmpty() ? "Report" : truncate(cleaned, 31);
+    }
+
+    private static String truncate(String text, int max) {
+        return text.length() <= max ? text : text.substring(0, max);
+    }
+
+    private static String escapeAttribute(String text) {
+        return text.replace("&", "&amp;").replace("\"", "&quot;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static final String STYLES = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+        + "<styleSheet xmlns=\"" + MAIN_NS + "\">"
+        + "<numFmts count=\"1\"><numFmt numFmtId=\"164\" formatCode=\"yyyy-mm-dd hh:mm:ss\"/></numFmts>"
+        + "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+        + "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+        + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill></fills>"
+        + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+        + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+        + "<cellXfs count=\"4\">"
+        + "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+        + "<xf numFmtId=\"164\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+        + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/>"
+        + "<xf numFmtId=\"14\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+        + "</cellXfs>"
+        + "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>"
+        + "</styleSheet>";
+}
@@ -85,4 +85,4 @@ public interface BillingRepository extends JpaRepository<Billing, Long> {
            "GROUP BY FUNCTION('YEAR', b.paymentDate), FUNCTION('MONTH', b.paymentDate) " +
            "ORDER BY FUNCTION('YEAR', b.paymentDate) DESC, FUNCTION('MONTH', b.paymentDate) DESC")
     List<Object[]> getMonthlySalesReport();
-}
\ No newline at end of file
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -53,6 +54,12 @@ public interface BulkItemRepository extends JpaRepository<BulkItem, Long> {
     Optional<BulkItem> findByUserAndHsCodeAndDescriptionAndIsActive(
         User user, String hsCode, String description, boolean isActive);
     
+    // CSV 일괄 업로드 중복 체크용 - 청크 내 품목명에 해당하는 기존 (HS코드, 품목명) 목록
+    @Query("SELECT bi.hsCode, bi.description FROM BulkItem bi WHERE bi.user.id = :userId AND bi.isActive = true " +
+           "AND bi.description IN :descriptions")
+    List<Object[]> findActiveKeysByDescriptions(@Param("userId") Long userId,
+                                                @Param("descriptions") Collection<String> descriptions);
+    
     // 카테고리별 품목 조회
     List<BulkItem> findByUserAndCategoryAndIsActiveTrueOrderByDescriptionAsc(User user, String category);
 }
\ No newline at end of file
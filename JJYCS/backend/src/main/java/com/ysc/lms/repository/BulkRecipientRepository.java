@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,4 +44,10 @@ public interface BulkRecipientRepository extends JpaRepository<BulkRecipient, Lo
     // 중복 체크 (이름 + 주소)
     Optional<BulkRecipient> findByUserAndRecipientNameAndRecipientAddressAndIsActive(
         User user, String recipientName, String recipientAddress, boolean isActive);
+    
+    // CSV 일괄 업로드 중복 체크용 - 청크 내 수취인 이름에 해당하는 기존 (이름, 주소) 목록
+    @Query("SELECT br.recipientName, br.recipientAddress FROM BulkRecipient br WHERE br.user.id = :userId " +
+           "AND br.isActive = true AND br.recipientName IN :recipientNames")
+    List<Object[]> findActiveKeysByRecipientNames(@Param("userId") Long userId,
+                                                  @Param("recipientNames") Collection<String> recipientNames);
 }
\ No newline at end of file
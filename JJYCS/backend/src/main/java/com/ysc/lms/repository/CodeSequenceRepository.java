@@ -0,0 +1,33 @@
+package com.ysc.lms.repository;
+
+import com.ysc.lms.entity.CodeSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CodeSequenceRepository extends JpaRepository<CodeSequence, String> {
+
+    /**
+     * 블록 예약용 행 잠금 조회 (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CodeSequence s WHERE s.prefix = :prefix")
+    Optional<CodeSequence> findByPrefixForUpdate(@Param("prefix") String prefix);
+
+    /**
+     * 미사용 블록 꼬리 반납 - 그 사이 다른 노드가 예약하지 않은 경우에만 되돌린다
+     */
+    @Modifying
+    @Query("UPDATE CodeSequence s SET s.nextValue = :releasedFrom " +
+           "WHERE s.prefix = :prefix AND s.nextValue = :reservedUntil")
+    int releaseTail(@Param("prefix") String prefix,
+                    @Param("releasedFrom") Long releasedFrom,
+                    @Param("reservedUntil") Long reservedUntil);
+}
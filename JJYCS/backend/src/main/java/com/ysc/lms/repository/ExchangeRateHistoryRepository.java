@@ -0,0 +1,29 @@
+package com.ysc.lms.repository;
+
+import com.ysc.lms.entity.ExchangeRateHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExchangeRateHistoryRepository extends JpaRepository<ExchangeRateHistory, Long> {
+
+    Optional<ExchangeRateHistory> findByCurrencyAndRateDate(String currency, LocalDate rateDate);
+
+    /**
+     * 해당일 이전 마지막 발표값 (스냅샷 보관 기간 밖의 날짜용)
+     */
+    Optional<ExchangeRateHistory> findFirstByCurrencyAndRateDateLessThanEqualOrderByRateDateDesc(String currency, LocalDate rateDate);
+
+    /**
+     * 스냅샷 적재용 - 통화, 날짜 순 (currency, rate_date, rate, source)
+     */
+    @Query("SELECT h.currency, h.rateDate, h.rate, h.source FROM ExchangeRateHistory h " +
+           "WHERE h.rateDate >= :from ORDER BY h.currency, h.rateDate")
+    List<Object[]> findRatesSince(@Param("from") LocalDate from);
+}
@@ -0,0 +1,28 @@
+package com.ysc.lms.repository;
+
+import com.ysc.lms.entity.ExecutionJournalRecord;
+import com.ysc.lms.journal.JournalSource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ExecutionJournalRepository extends JpaRepository<ExecutionJournalRecord, Long> {
+
+    List<ExecutionJournalRecord> findBySourceAndOccurredAtBetweenOrderByOccurredAtDesc(
+        JournalSource source, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    List<ExecutionJournalRecord> findBySourceAndTenantIdAndOccurredAtBetweenOrderByOccurredAtDesc(
+        JournalSource source, String tenantId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ExecutionJournalRecord r WHERE r.source = :source AND r.occurredAt < :before")
+    int deleteBySourceBefore(@Param("source") JournalSource source,
+                             @Param("before") LocalDateTime before);
+}
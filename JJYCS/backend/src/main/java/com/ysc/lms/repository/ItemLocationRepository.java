@@ -0,0 +1,25 @@
+package com.ysc.lms.repository;
+
+import com.ysc.lms.entity.ItemLocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ItemLocationRepository extends JpaRepository<ItemLocation, Long> {
+
+    /**
+     * 피킹 줄 일괄 조회 (itemLocationId, orderNumber, quantity, locationId, locationCode, floor, x, y)
+     * 주문번호, 위치코드 순 - 주문별 피킹 목록 순서
+     */
+    @Query("SELECT il.id, o.orderNumber, il.quantity, l.id, l.locationCode, l.floor, l.xCoordinate, l.yCoordinate " +
+           "FROM ItemLocation il JOIN il.order o JOIN il.storageLocation l " +
+           "WHERE o.orderNumber IN :orderNumbers AND il.status = :status " +
+           "ORDER BY o.orderNumber, l.locationCode, il.id")
+    List<Object[]> findPickLines(@Param("orderNumbers") Collection<String> orderNumbers,
+                                 @Param("status") ItemLocation.ItemLocationStatus status);
+}
@@ -2,12 +2,19 @@ package com.ysc.lms.repository;
 
 import com.ysc.lms.entity.NotificationQueue;
 import com.ysc.lms.entity.NotificationTemplate;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -25,7 +32,7 @@ public interface NotificationQueueRepository extends JpaRepository<NotificationQ
         NotificationQueue.SendStatus status
     );
     
-    @Query("SELECT nq FROM NotificationQueue nq WHERE nq.status IN ('PENDING', 'RETRY') " +
+    @Query("SELECT nq FROM NotificationQueue nq WHERE nq.status = 'PENDING' " +
            "AND (nq.scheduledAt IS NULL OR nq.scheduledAt <= :now) " +
            "ORDER BY nq.scheduledAt ASC, nq.createdAt ASC")
     List<NotificationQueue> findReadyToSend(@Param("now") LocalDateTime now);
@@ -72,4 +79,54 @@ public interface NotificationQueueRepository extends JpaRepository<NotificationQ
     @Query("DELETE FROM NotificationQueue nq WHERE nq.status IN ('SENT', 'DELIVERED', 'CANCELLED') " +
            "AND nq.sentAt <= :beforeDate")
     void deleteOldNotifications(@Param("beforeDate") LocalDateTime beforeDate);
-}
\ No newline at end of file
+
+    /**
+     * 발송 시각이 된 채널별 대기 건 선점 조회 (SELECT ... FOR UPDATE SKIP LOCKED)
+     * 다른 노드가 잠근 행은 건너뛰므로 여러 앱 노드가 같은 큐를 나눠 가진다 (lock.timeout -2 = SKIP LOCKED)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT nq FROM NotificationQueue nq WHERE nq.type = :type AND nq.status = :status " +
+           "AND (nq.scheduledAt IS NULL OR nq.scheduledAt <= :now) ORDER BY nq.id")
+    List<NotificationQueue> findClaimable(@Param("type") NotificationTemplate.NotificationChannelType type,
+                                          @Param("status") NotificationQueue.SendStatus status,
+                                          @Param("now") LocalDateTime now,
+                                          Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE NotificationQueue nq SET nq.status = :processing, nq.claimedBy = :claimedBy, " +
+           "nq.leaseUntil = :leaseUntil, nq.updatedAt = :now WHERE nq.id IN :ids")
+    int markClaimed(@Param("ids") Collection<Long> ids,
+                    @Param("processing") NotificationQueue.SendStatus processing,
+                    @Param("claimedBy") String claimedBy,
+                    @Param("leaseUntil") LocalDateTime leaseUntil,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * 선점했지만 보내지 않은 건 반납 (재시도 횟수 유지)
+     */
+    @Modifying
+    @Query("UPDATE NotificationQueue nq SET nq.status = :pending, nq.claimedBy = NULL, nq.leaseUntil = NULL " +
+           "WHERE nq.id IN :ids AND nq.status = :processing AND nq.claimedBy = :claimedBy")
+    int release(@Param("ids") Collection<Long> ids,
+                @Param("claimedBy") String claimedBy,
+                @Param("pending") NotificationQueue.SendStatus pending,
+                @Param("processing") NotificationQueue.SendStatus processing);
+
+    /**
+     * 임대 만료된 선점 건을 대기 상태로 복구 (선점 후 앱 노드가 종료된 경우)
+     */
+    @Modifying
+    @Query("UPDATE NotificationQueue nq SET nq.status = :pending, nq.claimedBy = NULL, nq.leaseUntil = NULL " +
+           "WHERE nq.status = :processing AND nq.leaseUntil < :now")
+    int releaseExpiredLeases(@Param("pending") NotificationQueue.SendStatus pending,
+                             @Param("processing") NotificationQueue.SendStatus processing,
+                             @Param("now") LocalDateTime now);
+
+    /**
+     * 채널별 발송 가능 대기 건 (type, 건수, 가장 오래된 발송 가능 시각) - 큐 깊이/지연 지표용
+     */
+    @Query("SELECT nq.type, COUNT(nq), MIN(COALESCE(nq.scheduledAt, nq.createdAt)) FROM NotificationQueue nq " +
+           "WHERE nq.status = :status AND (nq.scheduledAt IS NULL OR nq.scheduledAt <= :now) GROUP BY nq.type")
+    List<Object[]> summarizeReady(@Param("status") NotificationQueue.SendStatus status, @Param("now") LocalDateTime now);
+}
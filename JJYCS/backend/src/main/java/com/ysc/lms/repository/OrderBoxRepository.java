@@ -0,0 +1,21 @@
+package com.ysc.lms.repository;
+
+import com.ysc.lms.entity.OrderBox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderBoxRepository extends JpaRepository<OrderBox, Long> {
+
+    /**
+     * 적재 계획용 박스 일괄 조회 (id, orderNumber, boxNumber, width, height, depth, weight)
+     */
+    @Query("SELECT b.id, o.orderNumber, b.boxNumber, b.width, b.height, b.depth, b.weight " +
+           "FROM OrderBox b JOIN b.order o WHERE o.orderNumber IN :orderNumbers ORDER BY o.orderNumber, b.boxNumber")
+    List<Object[]> findLoadBoxesByOrderNumbers(@Param("orderNumbers") Collection<String> orderNumbers);
+}
@@ -1,16 +1,20 @@
 package com.ysc.lms.repository;
 
+import com.ysc.lms.dto.warehouse.InventoryStatusRow;
 import com.ysc.lms.entity.Order;
 import com.ysc.lms.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -59,6 +63,23 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId AND o.status = :status")
     Long countByUserIdAndStatus(@Param("userId") Long userId, @Param("status") Order.OrderStatus status);
     
+    // 사용자 대시보드 요약 재구성용 - 상태별 건수와 최근 활동 시각 (idx_orders_user_status)
+    @Query("SELECT o.status, COUNT(o), MAX(o.createdAt), MAX(o.updatedAt) FROM Order o " +
+           "WHERE o.userId = :userId GROUP BY o.status")
+    List<Object[]> getStatusSummaryByUserId(@Param("userId") Long userId);
+    
+    // 사용자별 최근 N일 주문 수 (idx_orders_user_created)
+    @Query("SELECT COUNT(o) FROM Order o WHERE o.userId = :userId AND o.createdAt > :after")
+    Long countByUserIdCreatedAfter(@Param("userId") Long userId, @Param("after") LocalDateTime after);
+    
+    // 최근 주문 10건 (대시보드)
+    List<Order> findTop10ByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    // 기간 내 주문 변경이 있었던 사용자 (대시보드 요약 보정 대상)
+    // updatedAt 은 생성 시에도 채워지므로 단일 범위 조건으로 (updated_at, user_id) 인덱스만 사용
+    @Query("SELECT DISTINCT o.userId FROM Order o WHERE o.updatedAt >= :since")
+    List<Long> findUserIdsWithOrderActivitySince(@Param("since") LocalDateTime since);
+    
     @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate")
     List<Order> findOrdersBetweenDates(@Param("startDate") LocalDateTime startDate, 
                                       @Param("endDate") LocalDateTime endDate);
@@ -126,6 +147,19 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
            "o.specialRequests LIKE %:keyword%")
     Page<Order> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
+    // 재고 현황 keyset 페이지 조회 (id 커서, DTO 프로젝션)
+    @Query("SELECT new com.ysc.lms.dto.warehouse.InventoryStatusRow(" +
+           "o.id, o.orderNumber, o.status, o.shippingType, o.recipientName, o.createdAt, o.updatedAt) " +
+           "FROM Order o WHERE o.id > :afterId ORDER BY o.id ASC")
+    List<InventoryStatusRow> findInventoryRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.ysc.lms.dto.warehouse.InventoryStatusRow(" +
+           "o.id, o.orderNumber, o.status, o.shippingType, o.recipientName, o.createdAt, o.updatedAt) " +
+           "FROM Order o WHERE o.status = :status AND o.id > :afterId ORDER BY o.id ASC")
+    List<InventoryStatusRow> findInventoryRowsByStatusAfter(@Param("status") Order.OrderStatus status,
+                                                            @Param("afterId") Long afterId,
+                                                            Pageable pageable);
+
     // 상태별 통계 조회
     @Query("SELECT o.status, COUNT(o) FROM Order o WHERE " +
            "(:userId IS NULL OR o.user.id = :userId) AND " +
@@ -235,6 +269,7 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     // AdminController에서 필요한 추가 메소드들
     Long countByShippingType(Order.ShippingType shippingType);
     Long countByCreatedAtAfter(LocalDateTime date);
+    Long countByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
     List<Order> findTop10ByCreatedAtAfterOrderByCreatedAtDesc(LocalDateTime date);
     
     // TODO 요구사항: 간단한 주문 관리용 메서드들 (중복 메서드 제거)
@@ -249,4 +284,12 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     
     // 주문번호 중복 확인 (orderNo 필드용)
     boolean existsByOrderNumber(String orderNumber);
-}
\ No newline at end of file
+    
+    /**
+     * 스캔 대상 주문 일괄 행 잠금 조회 (id, orderNumber, status, userId) - SELECT ... FOR UPDATE
+     * 여러 스캔 샤드가 같은 주문을 동시에 반영하지 않도록 잠그며, 교착을 피하려고 id 순서로 잠근다
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id, o.orderNumber, o.status, o.userId FROM Order o WHERE o.orderNumber IN :orderNumbers ORDER BY o.id")
+    List<Object[]> findScanTargetsByOrderNumbers(@Param("orderNumbers") Collection<String> orderNumbers);
+}
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +36,15 @@ public interface ParcelRepository extends JpaRepository<Parcel, Long> {
     @Query("SELECT p FROM Parcel p WHERE p.validationStatus = 'PENDING' AND p.createdAt < :cutoffTime")
     List<Parcel> findPendingValidationParcels(@Param("cutoffTime") LocalDateTime cutoffTime);
     
+    // 추적 갱신 대상 (추적 중 상태이면서 다음 조회 시각 도래) - 엔티티 대신 조회에 필요한 컬럼만
+    @Query("SELECT p.id, p.carrier, p.trackingNumber, p.lastKnownStatus, p.lastStatusChangedAt, p.createdAt FROM Parcel p " +
+           "WHERE p.validationStatus IN :statuses AND p.createdAt < :createdBefore " +
+           "AND (p.nextTrackingCheckAt IS NULL OR p.nextTrackingCheckAt <= :now) ORDER BY p.id")
+    List<Object[]> findTrackingDue(@Param("statuses") Collection<Parcel.ValidationStatus> statuses,
+                                   @Param("createdBefore") LocalDateTime createdBefore,
+                                   @Param("now") LocalDateTime now,
+                                   Pageable pageable);
+    
     // 수취인/연락처로 검색 (수기 매칭용)
     @Query("SELECT p FROM Parcel p JOIN p.order o WHERE " +
            "(o.recipientName LIKE %:keyword% OR o.recipientPhone LIKE %:keyword%) " +
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +32,36 @@ public interface ScanEventRepository extends JpaRepository<ScanEvent, Long> {
     
     long countByProcessed(Boolean processed);
     
-    @Query("SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END FROM ScanEvent s WHERE s.order.orderNumber = :orderNumber AND s.scanType = :scanType")
+    @Query("SELECT s.scanType, COUNT(s) FROM ScanEvent s WHERE s.createdAt >= :startDate AND s.createdAt < :endDate GROUP BY s.scanType")
+    List<Object[]> countByScanTypeBetween(@Param("startDate") LocalDateTime startDate,
+                                          @Param("endDate") LocalDateTime endDate);
+    
+    @Query("SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END FROM ScanEvent s WHERE s.order.orderNumber = :orderNumber AND s.scanType = :scanType AND s.processed = true")
     boolean existsByOrderNumberAndScanType(@Param("orderNumber") String orderNumber, @Param("scanType") ScanEvent.ScanType scanType);
-}
\ No newline at end of file
+    
+    /**
+     * 주문별 최근 스캔 1건 일괄 조회 (order_id, scan_type, location, created_at, scanned_by)
+     * 주문마다 스캔 이력 전체를 읽던 N+1 조회 대체
+     */
+    @Query(value = "SELECT ranked.order_id, ranked.scan_type, ranked.location, ranked.created_at, ranked.scanned_by " +
+                   "FROM (SELECT se.order_id, se.scan_type, se.location, se.created_at, se.scanned_by, " +
+                   "ROW_NUMBER() OVER (PARTITION BY se.order_id ORDER BY se.created_at DESC, se.id DESC) AS rn " +
+                   "FROM scan_events se WHERE se.order_id IN (:orderIds)) ranked " +
+                   "WHERE ranked.rn = 1",
+           nativeQuery = true)
+    List<Object[]> findLatestScanRowsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+    
+    /**
+     * 이미 기록된 멱등 키 (스캔 배치 수집 시 재전송 건 제외용)
+     */
+    @Query("SELECT s.idempotencyKey FROM ScanEvent s WHERE s.idempotencyKey IN :keys")
+    List<String> findExistingIdempotencyKeys(@Param("keys") Collection<String> keys);
+    
+    /**
+     * 주문별 처리 완료된 스캔 종류 (order_id, scan_type) - 입고/출고 중복 검사 일괄 조회
+     */
+    @Query("SELECT DISTINCT s.order.id, s.scanType FROM ScanEvent s " +
+           "WHERE s.order.id IN :orderIds AND s.scanType IN :scanTypes AND s.processed = true")
+    List<Object[]> findProcessedScanTypes(@Param("orderIds") Collection<Long> orderIds,
+                                          @Param("scanTypes") Collection<ScanEvent.ScanType> scanTypes);
+}
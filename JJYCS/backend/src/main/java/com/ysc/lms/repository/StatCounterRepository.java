@@ -0,0 +1,45 @@
+package com.ysc.lms.repository;
+
+import com.ysc.lms.entity.StatCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StatCounterRepository extends JpaRepository<StatCounter, String> {
+
+    List<StatCounter> findByCounterGroup(StatCounter.CounterGroup counterGroup);
+
+    List<StatCounter> findByCounterGroupAndBucketDateBetween(StatCounter.CounterGroup counterGroup,
+                                                             LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * 원자적 증감 (행이 없으면 0 반환)
+     */
+    @Modifying
+    @Query("UPDATE StatCounter c SET c.countValue = c.countValue + :delta, c.updatedAt = :now " +
+           "WHERE c.counterKey = :counterKey")
+    int increment(@Param("counterKey") String counterKey,
+                  @Param("delta") long delta,
+                  @Param("now") LocalDateTime now);
+
+    /**
+     * 재집계 값으로 덮어쓰기 (행이 없으면 0 반환)
+     */
+    @Modifying
+    @Query("UPDATE StatCounter c SET c.countValue = :value, c.updatedAt = :now " +
+           "WHERE c.counterKey = :counterKey")
+    int overwrite(@Param("counterKey") String counterKey,
+                  @Param("value") long value,
+                  @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM StatCounter c WHERE c.bucketDate IS NOT NULL AND c.bucketDate < :before")
+    int deleteDailyBefore(@Param("before") LocalDate before);
+}
@@ -0,0 +1,30 @@
+package com.ysc.lms.repository;
+
+import com.ysc.lms.entity.StorageLocation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StorageLocationRepository extends JpaRepository<StorageLocation, Long> {
+
+    Optional<StorageLocation> findByLocationCode(String locationCode);
+
+    /**
+     * 적치 인덱스 적재용 - 활성 위치 중 지정 유형 전체 (셀 단위)
+     */
+    List<StorageLocation> findByLocationTypeAndIsActiveTrue(StorageLocation.LocationType locationType);
+
+    /**
+     * 예약/적치 확정용 행 잠금 조회 (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM StorageLocation l WHERE l.id = :id")
+    Optional<StorageLocation> findByIdForUpdate(@Param("id") Long id);
+}
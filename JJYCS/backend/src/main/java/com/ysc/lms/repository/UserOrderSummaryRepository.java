@@ -0,0 +1,35 @@
+package com.ysc.lms.repository;
+
+import com.ysc.lms.entity.UserOrderSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface UserOrderSummaryRepository extends JpaRepository<UserOrderSummary, Long> {
+
+    /**
+     * 원자적 증감 (행이 없으면 0 반환)
+     */
+    @Modifying
+    @Query("UPDATE UserOrderSummary s SET " +
+           "s.totalOrders = s.totalOrders + :total, " +
+           "s.pendingOrders = s.pendingOrders + :pending, " +
+           "s.completedOrders = s.completedOrders + :completed, " +
+           "s.warehouseItems = s.warehouseItems + :warehouse, " +
+           "s.lastActivityAt = CASE WHEN s.lastActivityAt IS NULL OR s.lastActivityAt < :activityAt " +
+           "THEN :activityAt ELSE s.lastActivityAt END, " +
+           "s.updatedAt = :now " +
+           "WHERE s.userId = :userId")
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("total") long total,
+                   @Param("pending") long pending,
+                   @Param("completed") long completed,
+                   @Param("warehouse") long warehouse,
+                   @Param("activityAt") LocalDateTime activityAt,
+                   @Param("now") LocalDateTime now);
+}
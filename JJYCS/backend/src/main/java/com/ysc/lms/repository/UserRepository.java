@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -70,4 +71,32 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Long countByCreatedAtAfter(LocalDateTime date);
     List<User> findTop10ByCreatedAtAfterOrderByCreatedAtDesc(LocalDateTime date);
     List<User> findByStatusAndUserType(User.UserStatus status, User.UserType userType);
-}
\ No newline at end of file
+    
+    // 통계 카운터 재집계용
+    Long countByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
+    
+    @Query("SELECT u.userType, u.status, COUNT(u) FROM User u GROUP BY u.userType, u.status")
+    List<Object[]> countGroupByUserTypeAndStatus();
+
+    /**
+     * 알림 일괄 발송 대상 id 범위 (min id, max id) - userType 이 null 이면 전체 유형, 대상이 없으면 null 값
+     */
+    @Query("SELECT MIN(u.id), MAX(u.id) FROM User u " +
+           "WHERE u.status = :status AND (:userType IS NULL OR u.userType = :userType)")
+    List<Object[]> findIdBounds(@Param("status") User.UserStatus status, @Param("userType") User.UserType userType);
+
+    /**
+     * 알림 이메일 본문용 (id, name, email)
+     */
+    @Query("SELECT u.id, u.name, u.email FROM User u WHERE u.id IN :ids")
+    List<Object[]> findContactsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 알림 일괄 발송 구간 (afterId, toId] 의 (id, name, email) - userType 이 null 이면 전체 유형
+     */
+    @Query("SELECT u.id, u.name, u.email FROM User u " +
+           "WHERE u.status = :status AND (:userType IS NULL OR u.userType = :userType) " +
+           "AND u.id > :afterId AND u.id <= :toId ORDER BY u.id")
+    List<Object[]> findContactsInIdRange(@Param("status") User.UserStatus status, @Param("userType") User.UserType userType,
+                                         @Param("afterId") long afterId, @Param("toId") long toId);
+}
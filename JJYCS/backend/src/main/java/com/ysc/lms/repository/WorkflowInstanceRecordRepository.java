@@ -0,0 +1,31 @@
+package com.ysc.lms.repository;
+
+import com.ysc.lms.entity.WorkflowInstanceRecord;
+import com.ysc.lms.workflow.WorkflowEngine.WorkflowStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WorkflowInstanceRecordRepository extends JpaRepository<WorkflowInstanceRecord, String> {
+
+    /**
+     * 노드 실행/태스크 완료용 인스턴스 행 잠금 조회 (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM WorkflowInstanceRecord i WHERE i.instanceId = :instanceId")
+    Optional<WorkflowInstanceRecord> findByIdForUpdate(@Param("instanceId") String instanceId);
+
+    List<WorkflowInstanceRecord> findByTenantIdAndStatusInOrderByStartedAtDesc(
+        String tenantId, Collection<WorkflowStatus> statuses);
+
+    List<WorkflowInstanceRecord> findByTenantIdAndWorkflowIdAndStatusInOrderByStartedAtDesc(
+        String tenantId, String workflowId, Collection<WorkflowStatus> statuses);
+}
@@ -0,0 +1,58 @@
+package com.ysc.lms.repository;
+
+import com.ysc.lms.entity.WorkflowJob;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WorkflowJobRepository extends JpaRepository<WorkflowJob, Long> {
+
+    /**
+     * 실행 시각이 된 작업 선점 조회 (SELECT ... FOR UPDATE SKIP LOCKED)
+     * 다른 워커가 잠근 행은 건너뛰므로 여러 앱 노드가 같은 큐를 나눠 가진다 (lock.timeout -2 = SKIP LOCKED)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM WorkflowJob j WHERE j.status = :status AND j.dueAt <= :now ORDER BY j.dueAt")
+    List<WorkflowJob> findDueForClaim(@Param("status") WorkflowJob.Status status,
+                                      @Param("now") LocalDateTime now,
+                                      Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM WorkflowJob j WHERE j.id = :id")
+    Optional<WorkflowJob> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * 임대 만료된 선점 작업을 대기 상태로 복구 (선점 후 앱 노드가 종료된 경우)
+     */
+    @Modifying
+    @Query("UPDATE WorkflowJob j SET j.status = :pending, j.claimedBy = NULL, j.claimedAt = NULL " +
+           "WHERE j.status = :running AND j.claimedAt < :expiredBefore")
+    int releaseExpired(@Param("pending") WorkflowJob.Status pending,
+                       @Param("running") WorkflowJob.Status running,
+                       @Param("expiredBefore") LocalDateTime expiredBefore);
+
+    /**
+     * 선점했지만 시작하지 못한 작업 반납 (시도 횟수 원복)
+     */
+    @Modifying
+    @Query("UPDATE WorkflowJob j SET j.status = :pending, j.claimedBy = NULL, j.claimedAt = NULL, " +
+           "j.attempts = j.attempts - 1 WHERE j.id IN :ids AND j.status = :running AND j.claimedBy = :claimedBy")
+    int release(@Param("ids") Collection<Long> ids,
+                @Param("claimedBy") String claimedBy,
+                @Param("pending") WorkflowJob.Status pending,
+                @Param("running") WorkflowJob.Status running);
+}
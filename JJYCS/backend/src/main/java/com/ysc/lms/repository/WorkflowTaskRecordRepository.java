@@ -0,0 +1,37 @@
+package com.ysc.lms.repository;
+
+import com.ysc.lms.entity.WorkflowTaskRecord;
+import com.ysc.lms.workflow.WorkflowEngine.TaskStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WorkflowTaskRecordRepository extends JpaRepository<WorkflowTaskRecord, String> {
+
+    /**
+     * 태스크 완료용 행 잠금 조회 - 같은 태스크의 동시 완료를 직렬화
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM WorkflowTaskRecord t WHERE t.taskId = :taskId")
+    Optional<WorkflowTaskRecord> findByIdForUpdate(@Param("taskId") String taskId);
+
+    List<WorkflowTaskRecord> findByTenantIdAndAssignedToAndStatusIn(
+        String tenantId, String assignedTo, Collection<TaskStatus> statuses);
+
+    /**
+     * 후보자로 지정된 태스크 (workflow_task_candidates.user_id 인덱스)
+     */
+    @Query("SELECT t FROM WorkflowTaskRecord t JOIN t.candidateUsers c " +
+           "WHERE c = :userId AND t.tenantId = :tenantId AND t.status IN :statuses")
+    List<WorkflowTaskRecord> findCandidateTasks(@Param("userId") String userId,
+                                                @Param("tenantId") String tenantId,
+                                                @Param("statuses") Collection<TaskStatus> statuses);
+}
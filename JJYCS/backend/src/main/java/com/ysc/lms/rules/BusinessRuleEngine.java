@@ -1,5 +1,7 @@
 package com.ysc.lms.rules;
 
+import com.ysc.lms.journal.ExecutionJournal;
+import com.ysc.lms.journal.JournalSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -7,16 +9,18 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BusinessRuleEngine {
 
-    private final Map<String, BusinessRule> rules = new ConcurrentHashMap<>();
+    private final Map<String, CompiledRule> rules = new ConcurrentHashMap<>();
     private final Map<String, RuleSet> ruleSets = new ConcurrentHashMap<>();
-    private final List<RuleExecutionLog> executionLogs = Collections.synchronizedList(new ArrayList<>());
+    // Active rules per entity type, sorted by priority; rebuilt whenever a rule is added
+    private volatile Map<String, List<CompiledRule>> rulesByEntity = Map.of();
+    private final ExecutionJournal executionJournal;
 
     public void initializeDefaultRules() {
         log.info("Initializing default business rules");
@@ -41,7 +45,7 @@ public class BusinessRuleEngine {
     }
 
     public RuleExecutionResult executeRule(String ruleId, RuleContext context) {
-        BusinessRule rule = rules.get(ruleId);
+        CompiledRule rule = rules.get(ruleId);
         if (rule == null) {
             throw new IllegalArgumentException("Rule not found: " + ruleId);
         }
@@ -62,7 +66,7 @@ public class BusinessRuleEngine {
         boolean stopOnFirstFailure = ruleSet.getExecutionMode() == ExecutionMode.STOP_ON_FIRST_FAILURE;
         
         for (String ruleId : ruleSet.getRuleIds()) {
-            BusinessRule rule = rules.get(ruleId);
+            CompiledRule rule = rules.get(ruleId);
             if (rule == null) {
                 log.warn("Rule not found in rule set: {}", ruleId);
                 continue;
@@ -98,33 +102,27 @@ public class BusinessRuleEngine {
         
         List<RuleExecutionResult> results = new ArrayList<>();
         
-        // Find applicable rules for the entity type
-        List<BusinessRule> applicableRules = rules.values().stream()
-            .filter(rule -> rule.getApplicableEntities().contains(entityType))
-            .filter(rule -> rule.isActive())
-            .sorted((a, b) -> Integer.compare(a.getPriority(), b.getPriority()))
-            .collect(Collectors.toList());
-        
-        for (BusinessRule rule : applicableRules) {
+        for (CompiledRule rule : rulesByEntity.getOrDefault(entityType, List.of())) {
             RuleExecutionResult result = executeRule(rule, context);
             results.add(result);
             
             // Apply rule actions if rule passed
             if (result.isPassed()) {
-                applyRuleActions(rule, context, result);
+                applyRuleActions(rule.getRule(), context, result);
             }
         }
         
         return results;
     }
 
-    private RuleExecutionResult executeRule(BusinessRule rule, RuleContext context) {
+    private RuleExecutionResult executeRule(CompiledRule compiled, RuleContext context) {
+        BusinessRule rule = compiled.getRule();
         log.debug("Executing rule: {} for entity: {}", rule.getRuleId(), context.getEntityId());
         
         long startTime = System.currentTimeMillis();
         
         try {
-            boolean conditionResult = evaluateCondition(rule.getCondition(), context);
+            boolean conditionResult = compiled.getCondition().test(context);
             long executionTime = System.currentTimeMillis() - startTime;
             
             RuleExecutionResult result = RuleExecutionResult.builder()
@@ -166,132 +164,6 @@ public class BusinessRuleEngine {
         }
     }
 
-    private boolean evaluateCondition(RuleCondition condition, RuleContext context) {
-        switch (condition.getType()) {
-            case SIMPLE:
-                return evaluateSimpleCondition(condition, context);
-            case COMPOSITE:
-                return evaluateCompositeCondition(condition, context);
-            case SCRIPT:
-                return evaluateScriptCondition(condition, context);
-            default:
-                throw new UnsupportedOperationException("Unsupported condition type: " + condition.getType());
-        }
-    }
-
-    private boolean evaluateSimpleCondition(RuleCondition condition, RuleContext context) {
-        String field = condition.getField();
-        String operator = condition.getOperator();
-        Object expectedValue = condition.getValue();
-        
-        Object actualValue = getValueFromContext(field, context);
-        
-        return compareValues(actualValue, expectedValue, operator);
-    }
-
-    private boolean evaluateCompositeCondition(RuleCondition condition, RuleContext context) {
-        List<RuleCondition> subConditions = condition.getSubConditions();
-        String logicalOperator = condition.getLogicalOperator();
-        
-        if ("AND".equals(logicalOperator)) {
-            return subConditions.stream().allMatch(subCondition -> evaluateCondition(subCondition, context));
-        } else if ("OR".equals(logicalOperator)) {
-            return subConditions.stream().anyMatch(subCondition -> evaluateCondition(subCondition, context));
-        } else {
-            throw new UnsupportedOperationException("Unsupported logical operator: " + logicalOperator);
-        }
-    }
-
-    private boolean evaluateScriptCondition(RuleCondition condition, RuleContext context) {
-        // Simple script evaluation - in real implementation would use scripting engine like Groovy or JavaScript
-        String script = condition.getScript();
-        return executeScript(script, context);
-    }
-
-    private Object getValueFromContext(String field, RuleContext context) {
-        if (field.startsWith("data.")) {
-            String dataField = field.substring(5);
-            return context.getData().get(dataField);
-        } else if (field.startsWith("context.")) {
-            String contextField = field.substring(8);
-            switch (contextField) {
-                case "entityType":
-                    return context.getEntityType();
-                case "entityId":
-                    return context.getEntityId();
-                case "tenantId":
-                    return context.getTenantId();
-                default:
-                    return null;
-            }
-        }
-        return null;
-    }
-
-    private boolean compareValues(Object actual, Object expected, String operator) {
-        if (actual == null && expected == null) {
-            return "EQUALS".equals(operator);
-        }
-        
-        if (actual == null || expected == null) {
-            return "NOT_EQUALS".equals(operator);
-        }
-        
-        switch (operator) {
-            case "EQUALS":
-                return actual.equals(expected);
-            case "NOT_EQUALS":
-                return !actual.equals(expected);
-            case "GREATER_THAN":
-                return compareNumeric(actual, expected) > 0;
-            case "GREATER_THAN_OR_EQUAL":
-                return compareNumeric(actual, expected) >= 0;
-            case "LESS_THAN":
-                return compareNumeric(actual, expected) < 0;
-            case "LESS_THAN_OR_EQUAL":
-                return compareNumeric(actual, expected) <= 0;
-            case "CONTAINS":
-                return actual.toString().contains(expected.toString());
-            case "STARTS_WITH":
-                return actual.toString().startsWith(expected.toString());
-            case "ENDS_WITH":
-                return actual.toString().endsWith(expected.toString());
-            default:
-                throw new UnsupportedOperationException("Unsupported operator: " + operator);
-        }
-    }
-
-    private int compareNumeric(Object actual, Object expected) {
-        if (actual instanceof Number && expected instanceof Number) {
-            Double actualDouble = ((Number) actual).doubleValue();
-            Double expectedDouble = ((Number) expected).doubleValue();
-            return actualDouble.compareTo(expectedDouble);
-        }
-        throw new IllegalArgumentException("Cannot compare non-numeric values");
-    }
-
-    private boolean executeScript(String script, RuleContext context) {
-        // Mock script execution - in real implementation would use scripting engine
-        log.debug("Executing script: {}", script);
-        
-        if (script.contains("cbm > 29")) {
-            Double cbm = (Double) context.getData().get("totalCbm");
-            return cbm != null && cbm > 29.0;
-        }
-        
-        if (script.contains("totalValue > 1500")) {
-            Double totalValue = (Double) context.getData().get("totalValue");
-            return totalValue != null && totalValue > 1500.0;
-        }
-        
-        if (script.contains("memberCode == null")) {
-            String memberCode = (String) context.getData().get("memberCode");
-            return memberCode == null || memberCode.trim().isEmpty();
-        }
-        
-        return false;
-    }
-
     private void applyRuleActions(BusinessRule rule, RuleContext context, RuleExecutionResult result) {
         List<RuleAction> actions = rule.getActions();
         if (actions == null || actions.isEmpty()) {
@@ -378,12 +250,17 @@ public class BusinessRuleEngine {
             .message(result.getMessage())
             .build();
         
-        executionLogs.add(log);
-        
-        // Keep only recent logs (last 10000)
-        if (executionLogs.size() > 10000) {
-            executionLogs.removeIf(l -> l.getExecutedAt().isBefore(LocalDateTime.now().minusDays(7)));
-        }
+        executionJournal.record(JournalSource.RULE_EXECUTION, log.getTenantId(), log.getRuleId(),
+            log.isPassed() ? "PASSED" : "FAILED", log.getExecutedAt(), log);
+    }
+
+    /**
+     * Recent rule executions, newest first
+     *
+     * @param tenantId null for all tenants
+     */
+    public List<RuleExecutionLog> getExecutionLogs(String tenantId, LocalDateTime from, LocalDateTime to, int limit) {
+        return executionJournal.query(JournalSource.RULE_EXECUTION, tenantId, from, to, limit, RuleExecutionLog.class);
     }
 
     private void createOrderProcessingRules() {
@@ -397,7 +274,7 @@ public class BusinessRuleEngine {
             .active(true)
             .condition(RuleCondition.builder()
                 .type(ConditionType.SCRIPT)
-                .script("cbm > 29")
+                .script("totalCbm > 29")
                 .build())
             .actions(List.of(
                 RuleAction.builder()
@@ -455,7 +332,7 @@ public class BusinessRuleEngine {
             .active(true)
             .condition(RuleCondition.builder()
                 .type(ConditionType.SCRIPT)
-                .script("memberCode == null")
+                .script("isBlank(memberCode)")
                 .build())
             .actions(List.of(
                 RuleAction.builder()
@@ -645,10 +522,31 @@ public class BusinessRuleEngine {
     }
 
     private void addRule(BusinessRule rule) {
-        rules.put(rule.getRuleId(), rule);
+        // Conditions are compiled once here; invalid conditions or scripts are rejected up front
+        CompiledRule compiled = new CompiledRule(rule, RuleConditionCompiler.compile(rule.getCondition()));
+        rules.put(rule.getRuleId(), compiled);
+        reindex();
         log.debug("Added business rule: {}", rule.getRuleId());
     }
 
+    private synchronized void reindex() {
+        Map<String, List<CompiledRule>> index = new HashMap<>();
+        for (CompiledRule compiled : rules.values()) {
+            BusinessRule rule = compiled.getRule();
+            if (!rule.isActive() || rule.getApplicableEntities() == null) {
+                continue;
+            }
+            for (String entityType : rule.getApplicableEntities()) {
+                index.computeIfAbsent(entityType, key -> new ArrayList<>()).add(compiled);
+            }
+        }
+        index.replaceAll((entityType, entityRules) -> {
+            entityRules.sort(Comparator.comparingInt(r -> r.getRule().getPriority()));
+            return List.copyOf(entityRules);
+        });
+        rulesByEntity = Map.copyOf(index);
+    }
+
     private void createRuleSet(RuleSet ruleSet) {
         ruleSets.put(ruleSet.getRuleSetId(), ruleSet);
         log.debug("Created rule set: {} with {} rules", ruleSet.getRuleSetId(), ruleSet.getRuleIds().size());
@@ -659,6 +557,27 @@ public class BusinessRuleEngine {
         return "default";
     }
 
+    /**
+     * Rule paired with its compiled condition
+     */
+    private static final class CompiledRule {
+        private final BusinessRule rule;
+        private final Predicate<RuleContext> condition;
+
+        private CompiledRule(BusinessRule rule, Predicate<RuleContext> condition) {
+            this.rule = rule;
+            this.condition = condition;
+        }
+
+        BusinessRule getRule() {
+            return rule;
+        }
+
+        Predicate<RuleContext> getCondition() {
+            return condition;
+        }
+    }
+
     // DTO Classes
     @lombok.Data
     @lombok.Builder
@@ -748,6 +667,8 @@ public class BusinessRuleEngine {
 
     @lombok.Data
     @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
     public static class RuleExecutionLog {
         private String ruleId;
         private String entityType;
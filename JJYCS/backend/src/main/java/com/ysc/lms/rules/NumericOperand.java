@@ -0,0 +1,64 @@
+package com.ysc.lms.rules;
+
+import java.math.BigDecimal;
+
+/**
+ * Constant numeric operand pre-converted to each comparison form:
+ * integral values compare as long, BigDecimal exactly, everything else as primitive double.
+ */
+final class NumericOperand {
+
+    private final boolean integral;
+    private final long longValue;
+    private final double doubleValue;
+    private final BigDecimal decimalValue;
+
+    NumericOperand(Number value) {
+        this.integral = isIntegral(value);
+        this.longValue = value.longValue();
+        this.doubleValue = value.doubleValue();
+        this.decimalValue = toDecimal(value);
+    }
+
+    /**
+     * Sign of (actual - this)
+     */
+    int compareFrom(Number actual) {
+        if (integral && isIntegral(actual)) {
+            return Long.compare(actual.longValue(), longValue);
+        }
+        if (actual instanceof BigDecimal && decimalValue != null) {
+            return ((BigDecimal) actual).compareTo(decimalValue);
+        }
+        return Double.compare(actual.doubleValue(), doubleValue);
+    }
+
+    static int compare(Number left, Number right) {
+        if (isIntegral(left) && isIntegral(right)) {
+            return Long.compare(left.longValue(), right.longValue());
+        }
+        if (left instanceof BigDecimal || right instanceof BigDecimal) {
+            BigDecimal l = toDecimal(left);
+            BigDecimal r = toDecimal(right);
+            if (l != null && r != null) {
+                return l.compareTo(r);
+            }
+        }
+        return Double.compare(left.doubleValue(), right.doubleValue());
+    }
+
+    static boolean isIntegral(Number value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    static BigDecimal toDecimal(Number value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (isIntegral(value)) {
+            return BigDecimal.valueOf(value.longValue());
+        }
+        double d = value.doubleValue();
+        return Double.isFinite(d) ? BigDecimal.valueOf(d) : null;
+    }
+}
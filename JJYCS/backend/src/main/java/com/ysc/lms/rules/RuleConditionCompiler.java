@@ -0,0 +1,176 @@
+package com.ysc.lms.rules;
+
+import com.ysc.lms.rules.BusinessRuleEngine.RuleCondition;
+import com.ysc.lms.rules.BusinessRuleEngine.RuleContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Compiles a RuleCondition tree once into an immutable predicate tree.
+ *
+ * Field paths are resolved to accessors, operators to dedicated predicates and numeric
+ * expected values to their typed forms up front, so evaluation does no string parsing,
+ * operator dispatch or Double boxing. Null handling matches the interpreted semantics:
+ * both sides null passes only EQUALS, one side null passes only NOT_EQUALS.
+ */
+final class RuleConditionCompiler {
+
+    private static final Set<String> OPERATORS = Set.of(
+        "EQUALS", "NOT_EQUALS", "GREATER_THAN", "GREATER_THAN_OR_EQUAL", "LESS_THAN", "LESS_THAN_OR_EQUAL",
+        "CONTAINS", "STARTS_WITH", "ENDS_WITH");
+
+    private RuleConditionCompiler() {
+    }
+
+    static Predicate<RuleContext> compile(RuleCondition condition) {
+        if (condition == null || condition.getType() == null) {
+            throw new IllegalArgumentException("Rule condition type is required");
+        }
+        switch (condition.getType()) {
+            case SIMPLE:
+                return compileSimple(condition);
+            case COMPOSITE:
+                return compileComposite(condition);
+            case SCRIPT:
+                return RuleScriptCompiler.compile(condition.getScript());
+            default:
+                throw new UnsupportedOperationException("Unsupported condition type: " + condition.getType());
+        }
+    }
+
+    private static Predicate<RuleContext> compileComposite(RuleCondition condition) {
+        List<RuleCondition> subConditions = condition.getSubConditions() != null ? condition.getSubConditions() : List.of();
+        @SuppressWarnings("unchecked")
+        Predicate<RuleContext>[] compiled = subConditions.stream()
+            .map(RuleConditionCompiler::compile)
+            .toArray(Predicate[]::new);
+
+        String logicalOperator = condition.getLogicalOperator();
+        if ("AND".equals(logicalOperator)) {
+            return context -> {
+                for (Predicate<RuleContext> predicate : compiled) {
+                    if (!predicate.test(context)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        } else if ("OR".equals(logicalOperator)) {
+            return context -> {
+                for (Predicate<RuleContext> predicate : compiled) {
+                    if (predicate.test(context)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        throw new UnsupportedOperationException("Unsupported logical operator: " + logicalOperator);
+    }
+
+    private static Predicate<RuleContext> compileSimple(RuleCondition condition) {
+        String operator = condition.getOperator();
+        if (operator == null) {
+            throw new IllegalArgumentException("Simple condition requires an operator");
+        }
+        Function<RuleContext, Object> accessor = compileAccessor(condition.getField());
+        Object expected = condition.getValue();
+        boolean bothNullResult = "EQUALS".equals(operator);
+        boolean oneNullResult = "NOT_EQUALS".equals(operator);
+
+        if (expected == null) {
+            validateOperator(operator);
+            return context -> accessor.apply(context) == null ? bothNullResult : oneNullResult;
+        }
+
+        Predicate<Object> test = compileTest(operator, expected);
+        return context -> {
+            Object actual = accessor.apply(context);
+            return actual == null ? oneNullResult : test.test(actual);
+        };
+    }
+
+    private static Predicate<Object> compileTest(String operator, Object expected) {
+        switch (operator) {
+            case "EQUALS":
+                return expected::equals;
+            case "NOT_EQUALS":
+                return actual -> !actual.equals(expected);
+            case "GREATER_THAN":
+                return numeric(expected, c -> c > 0);
+            case "GREATER_THAN_OR_EQUAL":
+                return numeric(expected, c -> c >= 0);
+            case "LESS_THAN":
+                return numeric(expected, c -> c < 0);
+            case "LESS_THAN_OR_EQUAL":
+                return numeric(expected, c -> c <= 0);
+            case "CONTAINS": {
+                String text = expected.toString();
+                return actual -> actual.toString().contains(text);
+            }
+            case "STARTS_WITH": {
+                String text = expected.toString();
+                return actual -> actual.toString().startsWith(text);
+            }
+            case "ENDS_WITH": {
+                String text = expected.toString();
+                return actual -> actual.toString().endsWith(text);
+            }
+            default:
+                throw new UnsupportedOperationException("Unsupported operator: " + operator);
+        }
+    }
+
+    private static void validateOperator(String operator) {
+        // expected == null short-circuits evaluation, but unknown operators should still fail at compile time
+        if (!OPERATORS.contains(operator)) {
+            throw new UnsupportedOperationException("Unsupported operator: " + operator);
+        }
+    }
+
+    private static Predicate<Object> numeric(Object expected, IntPredicate outcome) {
+        if (!(expected instanceof Number)) {
+            throw new IllegalArgumentException("Numeric operator requires a numeric value: " + expected);
+        }
+        NumericOperand operand = new NumericOperand((Number) expected);
+        return actual -> {
+            if (!(actual instanceof Number)) {
+                throw new IllegalArgumentException("Cannot compare non-numeric values");
+            }
+            return outcome.test(operand.compareFrom((Number) actual));
+        };
+    }
+
+    /**
+     * Resolves a "data.x" / "context.x" field path to an accessor; unknown paths read as null
+     */
+    static Function<RuleContext, Object> compileAccessor(String field) {
+        if (field == null) {
+            throw new IllegalArgumentException("Condition requires a field");
+        }
+        if (field.startsWith("data.")) {
+            String dataField = field.substring(5);
+            return context -> {
+                Map<String, Object> data = context.getData();
+                return data != null ? data.get(dataField) : null;
+            };
+        } else if (field.startsWith("context.")) {
+            switch (field.substring(8)) {
+                case "entityType":
+                    return RuleContext::getEntityType;
+                case "entityId":
+                    return RuleContext::getEntityId;
+                case "tenantId":
+                    return RuleContext::getTenantId;
+                default:
+                    return context -> null;
+            }
+        }
+        return context -> null;
+    }
+}
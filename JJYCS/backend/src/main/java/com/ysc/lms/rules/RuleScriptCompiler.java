@@ -0,0 +1,612 @@
+package com.ysc.lms.rules;
+
+import com.ysc.lms.rules.BusinessRuleEngine.RuleContext;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Compiles SCRIPT rule conditions into a tree of lambdas, parsed once per rule.
+ *
+ * The language is deliberately small and closed, so scripts cannot reach anything but the rule data:
+ * <pre>
+ *   expr       := or
+ *   or         := and (("or" | "||") and)*
+ *   and        := not (("and" | "&amp;&amp;") not)*
+ *   not        := ("not" | "!") not | comparison
+ *   comparison := additive (("==" | "!=" | "&gt;" | "&gt;=" | "&lt;" | "&lt;=") additive)?
+ *   additive   := term (("+" | "-") term)*
+ *   term       := unary (("*" | "/" | "%") unary)*
+ *   unary      := "-" unary | primary
+ *   primary    := number | 'string' | "string" | true | false | null
+ *               | identifier | function "(" args ")" | "(" expr ")"
+ * </pre>
+ * Identifiers read rule data keys ({@code totalCbm}) or explicit paths ({@code data.totalCbm},
+ * {@code context.entityType}); absent keys read as null. Only the whitelisted functions below exist,
+ * there is no reflection, method invocation, assignment or looping, and script length and nesting are capped.
+ * Numbers compare by type (long, BigDecimal or double) and ordering comparisons against null are false.
+ */
+final class RuleScriptCompiler {
+
+    static final int MAX_SCRIPT_LENGTH = 1000;
+    private static final int MAX_DEPTH = 32;
+
+    private RuleScriptCompiler() {
+    }
+
+    static Predicate<RuleContext> compile(String script) {
+        if (script == null || script.isBlank()) {
+            throw new IllegalArgumentException("Script condition requires a script");
+        }
+        if (script.length() > MAX_SCRIPT_LENGTH) {
+            throw new IllegalArgumentException("Script exceeds " + MAX_SCRIPT_LENGTH + " characters");
+        }
+        Node root = new Parser(script).parse();
+        return context -> truthy(root.eval(context));
+    }
+
+    @FunctionalInterface
+    private interface Node {
+        Object eval(RuleContext context);
+    }
+
+    private static final class Constant implements Node {
+        private final Object value;
+
+        private Constant(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object eval(RuleContext context) {
+            return value;
+        }
+    }
+
+    // ---- evaluation helpers ----
+
+    private static boolean truthy(Object value) {
+        return Boolean.TRUE.equals(value);
+    }
+
+    private static Boolean bool(boolean value) {
+        return value ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+    private static boolean valueEquals(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        if (left instanceof Number && right instanceof Number) {
+            return NumericOperand.compare((Number) left, (Number) right) == 0;
+        }
+        return left.equals(right);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int order(Object left, Object right) {
+        if (left instanceof Number && right instanceof Number) {
+            return NumericOperand.compare((Number) left, (Number) right);
+        }
+        if (left instanceof Comparable && left.getClass() == right.getClass()) {
+            return ((Comparable) left).compareTo(right);
+        }
+        throw new IllegalArgumentException("Cannot compare " + left.getClass().getSimpleName()
+            + " with " + right.getClass().getSimpleName());
+    }
+
+    private static Object arithmetic(char operator, Object left, Object right) {
+        if (left == null || right == null) {
+            return null;
+        }
+        if (operator == '+' && (left instanceof String || right instanceof String)) {
+            return String.valueOf(left) + right;
+        }
+        if (!(left instanceof Number) || !(right instanceof Number)) {
+            throw new IllegalArgumentException("Arithmetic requires numeric operands");
+        }
+        Number a = (Number) left;
+        Number b = (Number) right;
+
+        if (NumericOperand.isIntegral(a) && NumericOperand.isIntegral(b) && operator != '/') {
+            long x = a.longValue();
+            long y = b.longValue();
+            switch (operator) {
+                case '+': return Math.addExact(x, y);
+                case '-': return Math.subtractExact(x, y);
+                case '*': return Math.multiplyExact(x, y);
+                default: return x % y;
+            }
+        }
+        if (a instanceof BigDecimal || b instanceof BigDecimal) {
+            BigDecimal x = NumericOperand.toDecimal(a);
+            BigDecimal y = NumericOperand.toDecimal(b);
+            if (x != null && y != null) {
+                switch (operator) {
+                    case '+': return x.add(y);
+                    case '-': return x.subtract(y);
+                    case '*': return x.multiply(y);
+                    case '/': return x.divide(y, MathContext.DECIMAL64);
+                    default: return x.remainder(y);
+                }
+            }
+        }
+        double x = a.doubleValue();
+        double y = b.doubleValue();
+        switch (operator) {
+            case '+': return x + y;
+            case '-': return x - y;
+            case '*': return x * y;
+            case '/': return x / y;
+            default: return x % y;
+        }
+    }
+
+    private static boolean isBlank(Object value) {
+        if (value == null) {
+            return true;
+        }
+        if (value instanceof String) {
+            return ((String) value).isBlank();
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).isEmpty();
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).isEmpty();
+        }
+        return false;
+    }
+
+    // ---- parser ----
+
+    private static final class Parser {
+
+        private final String source;
+        private final List<Token> tokens;
+        private int position;
+        private int depth;
+
+        private Parser(String source) {
+            this.source = source;
+            this.tokens = tokenize(source);
+        }
+
+        Node parse() {
+            Node node = parseOr();
+            if (peek().type != TokenType.END) {
+                throw error("Unexpected '" + peek().text + "'");
+            }
+            return node;
+        }
+
+        private Node parseOr() {
+            Node left = parseAnd();
+            while (acceptWord("or") || acceptSymbol("||")) {
+                Node l = left;
+                Node r = parseAnd();
+                left = context -> bool(truthy(l.eval(context)) || truthy(r.eval(context)));
+            }
+            return left;
+        }
+
+        private Node parseAnd() {
+            Node left = parseNot();
+            while (acceptWord("and") || acceptSymbol("&&")) {
+                Node l = left;
+                Node r = parseNot();
+                left = context -> bool(truthy(l.eval(context)) && truthy(r.eval(context)));
+            }
+            return left;
+        }
+
+        private Node parseNot() {
+            if (acceptWord("not") || acceptSymbol("!")) {
+                enter();
+                Node operand = parseNot();
+                depth--;
+                return context -> bool(!truthy(operand.eval(context)));
+            }
+            return parseComparison();
+        }
+
+        private Node parseComparison() {
+            Node left = parseAdditive();
+            Token token = peek();
+            if (token.type != TokenType.SYMBOL) {
+                return left;
+            }
+            switch (token.text) {
+                case "==":
+                case "!=":
+                case ">":
+                case ">=":
+                case "<":
+                case "<=":
+                    position++;
+                    return comparison(token.text, left, parseAdditive());
+                default:
+                    return left;
+            }
+        }
+
+        private Node comparison(String operator, Node left, Node right) {
+            if ("==".equals(operator)) {
+                return context -> bool(valueEquals(left.eval(context), right.eval(context)));
+            }
+            if ("!=".equals(operator)) {
+                return context -> bool(!valueEquals(left.eval(context), right.eval(context)));
+            }
+
+            IntPredicate outcome;
+            switch (operator) {
+                case ">": outcome = c -> c > 0; break;
+                case ">=": outcome = c -> c >= 0; break;
+                case "<": outcome = c -> c < 0; break;
+                default: outcome = c -> c <= 0; break;
+            }
+
+            // Comparison against a numeric literal: convert the literal once and compare by type
+            if (right instanceof Constant && ((Constant) right).value instanceof Number) {
+                Number constant = (Number) ((Constant) right).value;
+                NumericOperand operand = new NumericOperand(constant);
+                return context -> {
+                    Object value = left.eval(context);
+                    if (value instanceof Number) {
+                        return bool(outcome.test(operand.compareFrom((Number) value)));
+                    }
+                    return bool(value != null && outcome.test(order(value, constant)));
+                };
+            }
+            return context -> {
+                Object l = left.eval(context);
+                Object r = right.eval(context);
+                return bool(l != null && r != null && outcome.test(order(l, r)));
+            };
+        }
+
+        private Node parseAdditive() {
+            Node left = parseTerm();
+            while (true) {
+                char operator;
+                if (acceptSymbol("+")) {
+                    operator = '+';
+                } else if (acceptSymbol("-")) {
+                    operator = '-';
+                } else {
+                    return left;
+                }
+                left = binary(operator, left, parseTerm());
+            }
+        }
+
+        private Node parseTerm() {
+            Node left = parseUnary();
+            while (true) {
+                char operator;
+                if (acceptSymbol("*")) {
+                    operator = '*';
+                } else if (acceptSymbol("/")) {
+                    operator = '/';
+                } else if (acceptSymbol("%")) {
+                    operator = '%';
+                } else {
+                    return left;
+                }
+                left = binary(operator, left, parseUnary());
+            }
+        }
+
+        private Node binary(char operator, Node left, Node right) {
+            if (left instanceof Constant && right instanceof Constant) {
+                return new Constant(arithmetic(operator, ((Constant) left).value, ((Constant) right).value));
+            }
+            return context -> arithmetic(operator, left.eval(context), right.eval(context));
+        }
+
+        private Node parseUnary() {
+            if (acceptSymbol("-")) {
+                enter();
+                Node operand = parseUnary();
+                depth--;
+                return binary('-', new Constant(0L), operand);
+            }
+            return parsePrimary();
+        }
+
+        private Node parsePrimary() {
+            Token token = next();
+            switch (token.type) {
+                case NUMBER:
+                    return new Constant(parseNumber(token));
+                case STRING:
+                    return new Constant(token.text);
+                case SYMBOL:
+                    if ("(".equals(token.text)) {
+                        enter();
+                        Node inner = parseOr();
+                        depth--;
+                        expectSymbol(")");
+                        return inner;
+                    }
+                    throw error("Unexpected '" + token.text + "'");
+                case WORD:
+                    return parseWord(token);
+                default:
+                    throw error("Unexpected end of script");
+            }
+        }
+
+        private Node parseWord(Token token) {
+            switch (token.text) {
+                case "true":
+                    return new Constant(Boolean.TRUE);
+                case "false":
+                    return new Constant(Boolean.FALSE);
+                case "null":
+                    return new Constant(null);
+                default:
+                    break;
+            }
+            if (acceptSymbol("(")) {
+                enter();
+                List<Node> args = new ArrayList<>();
+                if (!acceptSymbol(")")) {
+                    do {
+                        args.add(parseOr());
+                    } while (acceptSymbol(","));
+                    expectSymbol(")");
+                }
+                depth--;
+                return function(token.text, args);
+            }
+            if (token.text.startsWith("data.") || token.text.startsWith("context.")) {
+                return RuleConditionCompiler.compileAccessor(token.text)::apply;
+            }
+            String key = token.text;
+            return context -> {
+                Map<String, Object> data = context.getData();
+                return data != null ? data.get(key) : null;
+            };
+        }
+
+        private Node function(String name, List<Node> args) {
+            switch (name) {
+                case "isBlank": {
+                    Node arg = arity(name, args, 1).get(0);
+                    return context -> bool(isBlank(arg.eval(context)));
+                }
+                case "length": {
+                    Node arg = arity(name, args, 1).get(0);
+                    return context -> {
+                        Object value = arg.eval(context);
+                        if (value == null) {
+                            return null;
+                        }
+                        return (long) (value instanceof Collection ? ((Collection<?>) value).size() : value.toString().length());
+                    };
+                }
+                case "lower": {
+                    Node arg = arity(name, args, 1).get(0);
+                    return context -> {
+                        Object value = arg.eval(context);
+                        return value != null ? value.toString().toLowerCase(Locale.ROOT) : null;
+                    };
+                }
+                case "upper": {
+                    Node arg = arity(name, args, 1).get(0);
+                    return context -> {
+                        Object value = arg.eval(context);
+                        return value != null ? value.toString().toUpperCase(Locale.ROOT) : null;
+                    };
+                }
+                case "trim": {
+                    Node arg = arity(name, args, 1).get(0);
+                    return context -> {
+                        Object value = arg.eval(context);
+                        return value != null ? value.toString().trim() : null;
+                    };
+                }
+                case "contains":
+                case "startsWith":
+                case "endsWith": {
+                    arity(name, args, 2);
+                    Node target = args.get(0);
+                    Node part = args.get(1);
+                    return context -> {
+                        Object value = target.eval(context);
+                        Object search = part.eval(context);
+                        if (value == null || search == null) {
+                            return Boolean.FALSE;
+                        }
+                        if ("contains".equals(name) && value instanceof Collection) {
+                            return bool(((Collection<?>) value).contains(search));
+                        }
+                        String text = value.toString();
+                        String s = search.toString();
+                        return bool("contains".equals(name) ? text.contains(s)
+                            : "startsWith".equals(name) ? text.startsWith(s) : text.endsWith(s));
+                    };
+                }
+                case "abs": {
+                    Node arg = arity(name, args, 1).get(0);
+                    return context -> {
+                        Object value = arg.eval(context);
+                        if (value == null) {
+                            return null;
+                        }
+                        return NumericOperand.compare(asNumber(value), 0L) < 0 ? arithmetic('-', 0L, value) : value;
+                    };
+                }
+                case "min":
+                case "max": {
+                    arity(name, args, 2);
+                    Node a = args.get(0);
+                    Node b = args.get(1);
+                    boolean min = "min".equals(name);
+                    return context -> {
+                        Object x = a.eval(context);
+                        Object y = b.eval(context);
+                        if (x == null || y == null) {
+                            return x == null ? y : x;
+                        }
+                        int c = NumericOperand.compare(asNumber(x), asNumber(y));
+                        return (min ? c <= 0 : c >= 0) ? x : y;
+                    };
+                }
+                default:
+                    throw error("Unknown function '" + name + "'");
+            }
+        }
+
+        private List<Node> arity(String name, List<Node> args, int expected) {
+            if (args.size() != expected) {
+                throw error("Function '" + name + "' expects " + expected + " argument(s)");
+            }
+            return args;
+        }
+
+        private Number asNumber(Object value) {
+            if (!(value instanceof Number)) {
+                throw new IllegalArgumentException("Numeric value expected: " + value);
+            }
+            return (Number) value;
+        }
+
+        private Object parseNumber(Token token) {
+            String text = token.text;
+            try {
+                if (text.indexOf('.') >= 0 || text.indexOf('e') >= 0 || text.indexOf('E') >= 0) {
+                    return Double.parseDouble(text);
+                }
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                return new BigDecimal(text);
+            }
+        }
+
+        private void enter() {
+            if (++depth > MAX_DEPTH) {
+                throw error("Script nesting exceeds " + MAX_DEPTH);
+            }
+        }
+
+        private Token peek() {
+            return tokens.get(position);
+        }
+
+        private Token next() {
+            Token token = tokens.get(position);
+            if (token.type != TokenType.END) {
+                position++;
+            }
+            return token;
+        }
+
+        private boolean acceptWord(String word) {
+            Token token = peek();
+            if (token.type == TokenType.WORD && token.text.equals(word)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean acceptSymbol(String symbol) {
+            Token token = peek();
+            if (token.type == TokenType.SYMBOL && token.text.equals(symbol)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expectSymbol(String symbol) {
+            if (!acceptSymbol(symbol)) {
+                throw error("Expected '" + symbol + "'");
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(
+                "Invalid rule script '" + source + "' at " + peek().offset + ": " + message);
+        }
+
+        private static List<Token> tokenize(String source) {
+            List<Token> tokens = new ArrayList<>();
+            int i = 0;
+            int length = source.length();
+            while (i < length) {
+                char ch = source.charAt(i);
+                if (Character.isWhitespace(ch)) {
+                    i++;
+                } else if (Character.isDigit(ch)) {
+                    int start = i;
+                    while (i < length && (Character.isDigit(source.charAt(i)) || source.charAt(i) == '.'
+                            || source.charAt(i) == 'e' || source.charAt(i) == 'E')) {
+                        i++;
+                    }
+                    tokens.add(new Token(TokenType.NUMBER, source.substring(start, i), start));
+                } else if (Character.isLetter(ch) || ch == '_') {
+                    int start = i;
+                    while (i < length && (Character.isLetterOrDigit(source.charAt(i))
+                            || source.charAt(i) == '_' || source.charAt(i) == '.')) {
+                        i++;
+                    }
+                    tokens.add(new Token(TokenType.WORD, source.substring(start, i), start));
+                } else if (ch == '\'' || ch == '"') {
+                    int start = i++;
+                    StringBuilder text = new StringBuilder();
+                    while (i < length && source.charAt(i) != ch) {
+                        if (source.charAt(i) == '\\' && i + 1 < length) {
+                            i++;
+                        }
+                        text.append(source.charAt(i++));
+                    }
+                    if (i >= length) {
+                        throw new IllegalArgumentException("Invalid rule script '" + source + "' at " + start + ": Unterminated string");
+                    }
+                    i++;
+                    tokens.add(new Token(TokenType.STRING, text.toString(), start));
+                } else {
+                    String two = i + 1 < length ? source.substring(i, i + 2) : "";
+                    if (two.equals("==") || two.equals("!=") || two.equals(">=") || two.equals("<=")
+                            || two.equals("&&") || two.equals("||")) {
+                        tokens.add(new Token(TokenType.SYMBOL, two, i));
+                        i += 2;
+                    } else if ("()<>!+-*/%,".indexOf(ch) >= 0) {
+                        tokens.add(new Token(TokenType.SYMBOL, String.valueOf(ch), i));
+                        i++;
+                    } else {
+                        throw new IllegalArgumentException("Invalid rule script '" + source + "' at " + i + ": Unexpected '" + ch + "'");
+                    }
+                }
+            }
+            tokens.add(new Token(TokenType.END, "", length));
+            return tokens;
+        }
+    }
+
+    private enum TokenType {
+        NUMBER, STRING, WORD, SYMBOL, END
+    }
+
+    private static final class Token {
+        private final TokenType type;
+        private final String text;
+        private final int offset;
+
+        private Token(TokenType type, String text, int offset) {
+            this.type = type;
+            this.text = text;
+            this.offset = offset;
+        }
+    }
+}
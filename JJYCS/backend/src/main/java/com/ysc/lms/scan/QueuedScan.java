@@ -0,0 +1,26 @@
+package com.ysc.lms.scan;
+
+import com.ysc.lms.entity.ScanEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 수집 대기열에 들어간 스캔 1건
+ */
+@Getter
+@AllArgsConstructor
+final class QueuedScan {
+
+    private final String deviceId;
+    private final String idempotencyKey;
+    private final String scanCode;
+    private final ScanEvent.ScanType scanType;
+    private final String location;
+    private final String scannedBy;
+    private final String notes;
+    private final LocalDateTime scannedAt;
+    private final LocalDateTime receivedAt;
+    private final long receivedNanos;
+}
@@ -0,0 +1,17 @@
+package com.ysc.lms.scan;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 스캔 배치 1회 반영 결과
+ */
+@Getter
+@AllArgsConstructor
+final class ScanBatchResult {
+
+    private final int applied;
+    private final int rejected;
+    private final int duplicates;
+    private final int statusChanges;
+}
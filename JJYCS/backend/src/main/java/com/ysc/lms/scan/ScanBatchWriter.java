@@ -0,0 +1,210 @@
+package com.ysc.lms.scan;
+
+import com.ysc.lms.entity.Order;
+import com.ysc.lms.entity.ScanEvent;
+import com.ysc.lms.ingestion.EntityBatchInserter;
+import com.ysc.lms.notification.OrderStatusChangeBatch;
+import com.ysc.lms.repository.OrderRepository;
+import com.ysc.lms.repository.ScanEventRepository;
+import com.ysc.lms.statistics.OrderStatusChange;
+import com.ysc.lms.statistics.StatisticsRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 스캔 배치 반영 (호출자와 분리된 새 트랜잭션)
+ *
+ * 주문 조회(행 잠금)와 입고/출고 이력 검사를 배치 단위로 한 번씩 수행하고, 스캔 순서대로 상태 전환 규칙
+ * (WarehouseService 단건 스캔과 동일)을 적용한 뒤 scan_events INSERT 와 주문별 최종 상태 UPDATE 를 JDBC 배치로 반영한다.
+ * 규칙에 걸린 스캔은 processed = false 와 사유를 남겨 단말기 재전송 없이 이력에서 확인할 수 있게 한다.
+ * 상태 전환 목록은 커밋 후 알림 일괄 발송(OrderStatusNotificationListener)으로 넘긴다.
+ * 같은 주문을 담은 배치가 여러 샤드에서 동시에 들어오면 뒤 배치는 앞 배치 커밋까지 주문 행 잠금에서 기다리므로
+ * 입고/출고 전환과 통계 반영이 한 번만 일어난다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScanBatchWriter {
+
+    /** scan_events 적재 컬럼 - 행 값 순서와 동일 */
+    static final List<String> EVENT_PROPERTIES = List.of(
+        "scanCode", "scanType", "order", "location", "scannedBy", "notes", "createdAt", "processed",
+        "deviceId", "idempotencyKey");
+
+    /** 주문 상태 반영 컬럼 - 마지막 값은 order id */
+    static final List<String> STATUS_PROPERTIES = List.of("status", "updatedAt");
+    static final List<String> SHIPPED_PROPERTIES = List.of("status", "shippedAt", "updatedAt");
+
+    private static final List<ScanEvent.ScanType> EXCLUSIVE_TYPES = List.of(ScanEvent.ScanType.INBOUND, ScanEvent.ScanType.OUTBOUND);
+
+    private final OrderRepository orderRepository;
+    private final ScanEventRepository scanEventRepository;
+    private final EntityBatchInserter batchInserter;
+    private final StatisticsRecorder statisticsRecorder;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ScanBatchResult write(List<QueuedScan> scans) {
+        LocalDateTime now = LocalDateTime.now();
+
+        Set<String> keys = new HashSet<>();
+        Set<String> scanCodes = new HashSet<>();
+        for (QueuedScan scan : scans) {
+            keys.add(scan.getIdempotencyKey());
+            scanCodes.add(scan.getScanCode());
+        }
+        // 주문 행 잠금을 트랜잭션의 첫 조회로 잡아야 잠금을 기다린 뒤의 입고/출고 이력·멱등 키 조회가
+        // 앞서 커밋한 다른 샤드의 반영 결과를 본다 (REPEATABLE READ 스냅샷은 첫 일반 조회 시점에 고정)
+        Map<String, OrderState> orders = loadOrders(scanCodes);
+        Set<String> seenKeys = new HashSet<>(scanEventRepository.findExistingIdempotencyKeys(keys));
+
+        List<Object[]> eventRows = new ArrayList<>(scans.size());
+        Map<ScanEvent.ScanType, Integer> scanCounts = new EnumMap<>(ScanEvent.ScanType.class);
+        int rejected = 0;
+        int duplicates = 0;
+        for (QueuedScan scan : scans) {
+            if (!seenKeys.add(scan.getIdempotencyKey())) {
+                duplicates++;
+                continue;
+            }
+            OrderState order = orders.get(scan.getScanCode());
+            String rejection = order == null
+                ? "유효하지 않은 스캔 코드입니다: " + scan.getScanCode()
+                : order.apply(scan.getScanType(), scan.getReceivedAt());
+            String notes = rejection != null ? rejection : notesOf(scan);
+            if (rejection != null) {
+                rejected++;
+            } else {
+                scanCounts.merge(scan.getScanType(), 1, Integer::sum);
+            }
+            eventRows.add(new Object[]{
+                scan.getScanCode(), scan.getScanType().name(), order != null ? order.id : null, scan.getLocation(),
+                scan.getScannedBy(), notes, scan.getReceivedAt(), rejection == null,
+                scan.getDeviceId(), scan.getIdempotencyKey()});
+        }
+        batchInserter.insert(ScanEvent.class, EVENT_PROPERTIES, eventRows);
+
+        List<Object[]> statusRows = new ArrayList<>();
+        List<Object[]> shippedRows = new ArrayList<>();
+        List<OrderStatusChange> statusChanges = new ArrayList<>();
+        for (OrderState order : orders.values()) {
+            if (order.status == order.initialStatus) {
+                continue;
+            }
+            if (order.shippedAt != null) {
+                shippedRows.add(new Object[]{order.status.name(), order.shippedAt, now, order.id});
+            } else {
+                statusRows.add(new Object[]{order.status.name(), now, order.id});
+            }
+            statusChanges.add(new OrderStatusChange(order.id, order.orderNumber, order.userId, order.initialStatus, order.status));
+        }
+        batchInserter.update(Order.class, STATUS_PROPERTIES, statusRows);
+        batchInserter.update(Order.class, SHIPPED_PROPERTIES, shippedRows);
+
+        statisticsRecorder.scanBatchRecorded(scanCounts, statusChanges, now);
+        if (!statusChanges.isEmpty()) {
+            eventPublisher.publishEvent(new OrderStatusChangeBatch(statusChanges));
+        }
+        return new ScanBatchResult(eventRows.size() - rejected, rejected, duplicates, statusChanges.size());
+    }
+
+    private Map<String, OrderState> loadOrders(Set<String> scanCodes) {
+        Map<String, OrderState> byNumber = new HashMap<>();
+        Map<Long, OrderState> byId = new LinkedHashMap<>();
+        for (Object[] row : orderRepository.findScanTargetsByOrderNumbers(scanCodes)) {
+            OrderState order = new OrderState((Long) row[0], (String) row[1], (Order.OrderStatus) row[2], (Long) row[3]);
+            byNumber.put((String) row[1], order);
+            byId.put(order.id, order);
+        }
+        if (!byId.isEmpty()) {
+            for (Object[] row : scanEventRepository.findProcessedScanTypes(byId.keySet(), EXCLUSIVE_TYPES)) {
+                OrderState order = byId.get((Long) row[0]);
+                if (row[1] == ScanEvent.ScanType.INBOUND) {
+                    order.inbound = true;
+                } else {
+                    order.outbound = true;
+                }
+            }
+        }
+        return byNumber;
+    }
+
+    private static String notesOf(QueuedScan scan) {
+        if (scan.getNotes() != null) {
+            return scan.getNotes();
+        }
+        switch (scan.getScanType()) {
+            case INBOUND:
+                return "입고 스캔 완료";
+            case OUTBOUND:
+                return "출고 스캔 완료";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 배치 안에서 주문별로 누적되는 상태 - 같은 주문의 뒤 스캔은 앞 스캔 결과를 본다
+     */
+    private static final class OrderState {
+        private final Long id;
+        private final String orderNumber;
+        private final Order.OrderStatus initialStatus;
+        private final Long userId;
+        private Order.OrderStatus status;
+        private LocalDateTime shippedAt;
+        private boolean inbound;
+        private boolean outbound;
+
+        private OrderState(Long id, String orderNumber, Order.OrderStatus status, Long userId) {
+            this.id = id;
+            this.orderNumber = orderNumber;
+            this.initialStatus = status;
+            this.status = status;
+            this.userId = userId;
+        }
+
+        /**
+         * @return 거부 사유 (적용되면 null)
+         */
+        private String apply(ScanEvent.ScanType scanType, LocalDateTime scannedAt) {
+            switch (scanType) {
+                case INBOUND:
+                    if (inbound) {
+                        return "이미 입고 처리된 주문입니다";
+                    }
+                    inbound = true;
+                    status = Order.OrderStatus.IN_WAREHOUSE;
+                    return null;
+                case OUTBOUND:
+                    if (!inbound) {
+                        return "입고 처리가 되지 않은 주문입니다";
+                    }
+                    if (outbound) {
+                        return "이미 출고 처리된 주문입니다";
+                    }
+                    outbound = true;
+                    status = Order.OrderStatus.SHIPPED;
+                    shippedAt = scannedAt;
+                    return null;
+                case HOLD:
+                    status = Order.OrderStatus.HOLD;
+                    return null;
+                default:
+                    return null;
+            }
+        }
+    }
+}
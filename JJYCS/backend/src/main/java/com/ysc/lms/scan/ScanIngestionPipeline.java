@@ -0,0 +1,364 @@
+package com.ysc.lms.scan;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ysc.lms.dto.warehouse.ScanBatchRequest;
+import com.ysc.lms.entity.ScanEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 창고 스캐너 스캔 수집 파이프라인
+ *
+ * 단말기가 올린 스캔 배치를 단말기ID 해시로 정해지는 샤드 대기열(고정 크기)에 넣고, 샤드마다 하나의 소비 스레드가
+ * 대기열에 쌓인 만큼(최대 batch-size) 꺼내 ScanBatchWriter 로 한 트랜잭션에 반영한다.
+ * 한 단말기의 스캔은 항상 같은 샤드를 거치므로 단말기별 순서가 보장된다.
+ * 대기열 여유가 배치 전체를 받을 만큼 없으면 아무것도 넣지 않고 overloaded 로 응답해 단말기 재전송으로 흐름을 조절한다.
+ * 멱등 키(단말기ID:스캔ID)는 최근 키 캐시로 접수 시점에, scan_events 조회로 반영 시점에 두 번 걸러낸다.
+ */
+@Service
+@Slf4j
+public class ScanIngestionPipeline {
+
+    private static final String METRIC_PREFIX = "lms.scan.ingest";
+
+    /** scan_events 컬럼 길이 - 넘치는 스캔은 접수 시점에 거절해 배치 반영 실패로 이어지지 않게 한다 */
+    static final int MAX_DEVICE_ID_LENGTH = 64;
+    static final int MAX_IDEMPOTENCY_KEY_LENGTH = 160;
+    static final int MAX_TEXT_LENGTH = 255;
+
+    private final ScanBatchWriter writer;
+    private final Shard[] shards;
+    private final int batchSize;
+    private final long pollMillis;
+    private final int writeAttempts;
+    private final long retryBackoffMillis;
+    private final Cache<String, Boolean> recentKeys;
+    private final Counter acceptedCounter;
+    private final Counter duplicateCounter;
+    private final Counter overloadedCounter;
+    private final Counter appliedCounter;
+    private final Counter rejectedCounter;
+    private final Counter replayedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    private final Timer visibleLatency;
+    private final Timer deviceLatency;
+    private volatile boolean running = true;
+
+    public ScanIngestionPipeline(ScanBatchWriter writer,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.scan.ingest.shards:4}") int shardCount,
+                                 @Value("${app.scan.ingest.queue-capacity:5000}") int queueCapacity,
+                                 @Value("${app.scan.ingest.batch-size:500}") int batchSize,
+                                 @Value("${app.scan.ingest.poll-millis:50}") long pollMillis,
+                                 @Value("${app.scan.ingest.write-attempts:3}") int writeAttempts,
+                                 @Value("${app.scan.ingest.retry-backoff-millis:200}") long retryBackoffMillis,
+                                 @Value("${app.scan.ingest.idempotency-cache-size:200000}") long idempotencyCacheSize,
+                                 @Value("${app.scan.ingest.idempotency-ttl-hours:24}") long idempotencyTtlHours) {
+        this.writer = writer;
+        this.batchSize = Math.max(1, batchSize);
+        this.pollMillis = Math.max(1, pollMillis);
+        this.writeAttempts = Math.max(1, writeAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.recentKeys = Caffeine.newBuilder()
+            .maximumSize(idempotencyCacheSize)
+            .expireAfterWrite(Duration.ofHours(idempotencyTtlHours))
+            .build();
+
+        this.acceptedCounter = submitted(meterRegistry, "accepted");
+        this.duplicateCounter = submitted(meterRegistry, "duplicate");
+        this.overloadedCounter = submitted(meterRegistry, "overloaded");
+        this.appliedCounter = written(meterRegistry, "applied");
+        this.rejectedCounter = written(meterRegistry, "rejected");
+        this.replayedCounter = written(meterRegistry, "duplicate");
+        this.failedCounter = written(meterRegistry, "failed");
+        this.batchTimer = Timer.builder(METRIC_PREFIX + ".batch")
+            .description("스캔 배치 1회 DB 반영 시간")
+            .register(meterRegistry);
+        this.visibleLatency = Timer.builder(METRIC_PREFIX + ".latency")
+            .description("스캔 접수부터 커밋(조회 가능)까지")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.deviceLatency = Timer.builder(METRIC_PREFIX + ".device.latency")
+            .description("단말기 스캔 시각부터 커밋까지 (scannedAt 이 있는 스캔만)")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+
+        this.shards = new Shard[Math.max(1, shardCount)];
+        for (int i = 0; i < shards.length; i++) {
+            Shard shard = new Shard(i, Math.max(this.batchSize, queueCapacity));
+            shards[i] = shard;
+            shard.worker.start();
+        }
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", this, ScanIngestionPipeline::queueDepth)
+            .description("반영 대기 중인 스캔 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 단말기 스캔 배치 접수 - 대기열 여유가 없으면 전체를 거절한다 (부분 접수 없음)
+     */
+    public ScanSubmitResult submit(ScanBatchRequest request, String scannedBy) {
+        String deviceId = request.getDeviceId();
+        if (deviceId == null || deviceId.isBlank()) {
+            throw new IllegalArgumentException("단말기 ID가 필요합니다.");
+        }
+        if (deviceId.length() > MAX_DEVICE_ID_LENGTH) {
+            throw new IllegalArgumentException("단말기 ID는 최대 " + MAX_DEVICE_ID_LENGTH + "자입니다.");
+        }
+        requireMaxLength(request.getLocation(), "위치");
+        List<ScanBatchRequest.ScanItem> items = request.getScans();
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("스캔 데이터가 없습니다.");
+        }
+        Shard shard = shards[Math.floorMod(deviceId.hashCode(), shards.length)];
+        if (items.size() > shard.capacity) {
+            throw new IllegalArgumentException("한 번에 보낼 수 있는 스캔은 최대 " + shard.capacity + "건입니다.");
+        }
+
+        LocalDateTime receivedAt = LocalDateTime.now();
+        long receivedNanos = System.nanoTime();
+        List<QueuedScan> scans = new ArrayList<>(items.size());
+        for (ScanBatchRequest.ScanItem item : ordered(items)) {
+            scans.add(toQueuedScan(deviceId, request.getLocation(), scannedBy, item, receivedAt, receivedNanos));
+        }
+
+        synchronized (shard) {
+            Set<String> batchKeys = new HashSet<>();
+            List<QueuedScan> fresh = new ArrayList<>(scans.size());
+            for (QueuedScan scan : scans) {
+                if (batchKeys.add(scan.getIdempotencyKey()) && recentKeys.getIfPresent(scan.getIdempotencyKey()) == null) {
+                    fresh.add(scan);
+                }
+            }
+            int duplicates = scans.size() - fresh.size();
+            if (shard.queue.remainingCapacity() < fresh.size()) {
+                overloadedCounter.increment(scans.size());
+                return new ScanSubmitResult(true, 0, 0, shard.queue.size(), retryAfterSeconds(shard));
+            }
+            for (QueuedScan scan : fresh) {
+                recentKeys.put(scan.getIdempotencyKey(), Boolean.TRUE);
+                shard.queue.add(scan);
+            }
+            acceptedCounter.increment(fresh.size());
+            duplicateCounter.increment(duplicates);
+            return new ScanSubmitResult(false, fresh.size(), duplicates, shard.queue.size(), 0);
+        }
+    }
+
+    public int queueDepth() {
+        int depth = 0;
+        for (Shard shard : shards) {
+            depth += shard.queue.size();
+        }
+        return depth;
+    }
+
+    /**
+     * 접수된 스캔은 모두 반영한 뒤 종료
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Shard shard : shards) {
+            try {
+                shard.worker.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (shard.worker.isAlive()) {
+                log.warn("Scan ingest shard {} did not drain in time, {} scans left", shard.index, shard.queue.size());
+            }
+        }
+    }
+
+    private void drain(Shard shard) {
+        List<QueuedScan> batch = new ArrayList<>(batchSize);
+        while (running || !shard.queue.isEmpty()) {
+            try {
+                QueuedScan first = shard.queue.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                shard.queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Scan ingest shard {} interrupted, {} scans left", shard.index, shard.queue.size());
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in scan ingest shard {}", shard.index, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 실패한 배치는 같은 샤드에서 재시도하므로 뒤 스캔이 앞 스캔을 앞지르지 않는다
+     * 재시도해도 실패하면 배치를 반씩 나눠 다시 써서 실패 원인인 스캔만 버린다 (앞 절반을 먼저 쓰므로 순서 유지)
+     */
+    private void writeBatch(List<QueuedScan> batch) throws InterruptedException {
+        if (!tryWrite(batch, writeAttempts)) {
+            isolateFailures(batch);
+        }
+    }
+
+    private void isolateFailures(List<QueuedScan> batch) throws InterruptedException {
+        if (batch.size() == 1) {
+            QueuedScan scan = batch.get(0);
+            failedCounter.increment();
+            recentKeys.invalidate(scan.getIdempotencyKey());
+            log.error("Dropping scan {} (code {}) after its batch could not be written", scan.getIdempotencyKey(), scan.getScanCode());
+            return;
+        }
+        int middle = batch.size() / 2;
+        for (List<QueuedScan> half : List.of(batch.subList(0, middle), batch.subList(middle, batch.size()))) {
+            // 일시 오류는 앞선 재시도로 걸러졌으므로 나눈 배치는 한 번만 시도
+            if (!tryWrite(half, 1)) {
+                isolateFailures(half);
+            }
+        }
+    }
+
+    private boolean tryWrite(List<QueuedScan> batch, int attempts) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                long started = System.nanoTime();
+                ScanBatchResult result = writer.write(batch);
+                long committed = System.nanoTime();
+                batchTimer.record(committed - started, TimeUnit.NANOSECONDS);
+                recordCommitted(batch, result, committed);
+                return true;
+            } catch (Exception e) {
+                if (attempt >= attempts) {
+                    log.warn("Scan batch of {} failed after {} attempts (first key: {}): {}",
+                        batch.size(), attempt, batch.get(0).getIdempotencyKey(), e.getMessage());
+                    return false;
+                }
+                log.warn("Scan batch write failed (attempt {}/{}): {}", attempt, attempts, e.getMessage());
+                Thread.sleep(retryBackoffMillis * attempt);
+            }
+        }
+    }
+
+    private void recordCommitted(List<QueuedScan> batch, ScanBatchResult result, long committedNanos) {
+        appliedCounter.increment(result.getApplied());
+        rejectedCounter.increment(result.getRejected());
+        replayedCounter.increment(result.getDuplicates());
+        LocalDateTime committedAt = LocalDateTime.now();
+        for (QueuedScan scan : batch) {
+            visibleLatency.record(committedNanos - scan.getReceivedNanos(), TimeUnit.NANOSECONDS);
+            if (scan.getScannedAt() != null) {
+                Duration sinceScan = Duration.between(scan.getScannedAt(), committedAt);
+                if (!sinceScan.isNegative()) {
+                    deviceLatency.record(sinceScan);
+                }
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Scan batch committed: {} applied, {} rejected, {} duplicates, {} status changes",
+                result.getApplied(), result.getRejected(), result.getDuplicates(), result.getStatusChanges());
+        }
+    }
+
+    private long retryAfterSeconds(Shard shard) {
+        // 샤드 대기열 절반이 빠질 시간 추정 (배치 1회 평균 반영 시간 기준), 최소 1초
+        double batchMillis = batchTimer.mean(TimeUnit.MILLISECONDS);
+        double batches = Math.ceil(shard.queue.size() / 2.0 / batchSize);
+        return Math.max(1, (long) Math.ceil(batches * batchMillis / 1000));
+    }
+
+    private static List<ScanBatchRequest.ScanItem> ordered(List<ScanBatchRequest.ScanItem> items) {
+        boolean sequenced = items.stream().allMatch(item -> item.getSequence() != null);
+        if (!sequenced) {
+            return items;
+        }
+        List<ScanBatchRequest.ScanItem> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(ScanBatchRequest.ScanItem::getSequence));
+        return sorted;
+    }
+
+    private static QueuedScan toQueuedScan(String deviceId, String defaultLocation, String scannedBy,
+                                           ScanBatchRequest.ScanItem item, LocalDateTime receivedAt, long receivedNanos) {
+        if (item.getScanId() == null || item.getScanId().isBlank()) {
+            throw new IllegalArgumentException("스캔 ID가 필요합니다.");
+        }
+        if (item.getScanCode() == null || item.getScanCode().isBlank()) {
+            throw new IllegalArgumentException("스캔 코드가 필요합니다: " + item.getScanId());
+        }
+        String idempotencyKey = deviceId + ":" + item.getScanId();
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("스캔 ID가 너무 깁니다 (단말기 ID 포함 최대 "
+                + MAX_IDEMPOTENCY_KEY_LENGTH + "자): " + item.getScanId());
+        }
+        requireMaxLength(item.getScanCode().trim(), "스캔 코드");
+        requireMaxLength(item.getLocation(), "위치");
+        requireMaxLength(item.getNotes(), "메모");
+        ScanEvent.ScanType scanType;
+        try {
+            scanType = ScanEvent.ScanType.valueOf(String.valueOf(item.getScanType()).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("유효하지 않은 스캔 타입입니다: " + item.getScanType());
+        }
+        String location = item.getLocation() != null ? item.getLocation() : defaultLocation;
+        return new QueuedScan(deviceId, idempotencyKey, item.getScanCode().trim(), scanType,
+            location, scannedBy, item.getNotes(), item.getScannedAt(), receivedAt, receivedNanos);
+    }
+
+    private static void requireMaxLength(String value, String name) {
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(name + "은(는) 최대 " + MAX_TEXT_LENGTH + "자입니다.");
+        }
+    }
+
+    private static Counter submitted(MeterRegistry registry, String result) {
+        return Counter.builder(METRIC_PREFIX + ".submitted")
+            .description("단말기에서 접수한 스캔 수")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private static Counter written(MeterRegistry registry, String result) {
+        return Counter.builder(METRIC_PREFIX + ".written")
+            .description("DB 에 반영한 스캔 수")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private final class Shard {
+        private final int index;
+        private final int capacity;
+        private final BlockingQueue<QueuedScan> queue;
+        private final Thread worker;
+
+        private Shard(int index, int capacity) {
+            this.index = index;
+            this.capacity = capacity;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.worker = new Thread(() -> drain(this), "scan-ingest-" + index);
+            this.worker.setDaemon(true);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ysc.lms.scan;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 스캔 배치 접수 결과 - overloaded 이면 아무것도 접수되지 않았으므로 단말기가 같은 배치를 재전송한다
+ */
+@Getter
+@AllArgsConstructor
+public class ScanSubmitResult {
+
+    private final boolean overloaded;
+    private final int accepted;
+    private final int duplicates;
+    private final int queueDepth;
+    private final long retryAfterSeconds;
+}
@@ -0,0 +1,42 @@
+package com.ysc.lms.sequence;
+
+/**
+ * DB 에서 예약한 연속 번호 구간 [next, end)
+ * 스레드 안전하지 않음 - CodeSequenceAllocator 의 prefix 별 stripe lock 아래에서만 사용
+ */
+public class CodeBlock {
+
+    private long next;
+    private final long end;
+
+    public CodeBlock(long start, long end) {
+        if (end < start) {
+            throw new IllegalArgumentException("Invalid code block: [" + start + ", " + end + ")");
+        }
+        this.next = start;
+        this.end = end;
+    }
+
+    public boolean isExhausted() {
+        return next >= end;
+    }
+
+    public long take() {
+        if (isExhausted()) {
+            throw new IllegalStateException("Code block exhausted at " + end);
+        }
+        return next++;
+    }
+
+    public long getNext() {
+        return next;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public int remaining() {
+        return (int) (end - next);
+    }
+}
@@ -0,0 +1,21 @@
+package com.ysc.lms.sequence;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 코드 시퀀스 영속 저장소에서 번호 블록을 예약/반납한다
+ */
+public interface CodeBlockReserver {
+
+    /**
+     * prefix 의 다음 번호 블록을 예약한다.
+     * 시퀀스 행이 없으면 seed(기존 데이터의 최대 일련번호) + 1 부터 시작한다.
+     */
+    CodeBlock reserve(String prefix, int size, LongSupplier seed);
+
+    /**
+     * 사용하지 않은 블록 꼬리 [from, until) 을 반납한다.
+     * 그 사이 다른 노드가 더 예약했다면 반납하지 않고 false (번호 공백으로 남음)
+     */
+    boolean release(String prefix, long from, long until);
+}
@@ -0,0 +1,196 @@
+package com.ysc.lms.sequence;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * prefix 별 일련번호 메모리 할당기
+ * - DB 에서 blockSize 개씩 번호를 예약하고 메모리에서 순차 배분 (DB 왕복은 blockSize 회당 1회)
+ * - prefix 해시 기반 stripe lock 으로 서로 다른 prefix 간 경합을 분리
+ * - 장애 시 예약만 되고 사용되지 않은 번호는 공백으로 남을 뿐 중복은 발생하지 않음
+ * - 정상 종료 시 미사용 꼬리를 반납하여 공백을 줄임
+ * - 기본은 모든 prefix 블록 예약, 크래시 공백도 허용되지 않는 prefix 계열만 unbufferedPrefixes 로
+ *   지정하여 블록 크기 1(필요한 만큼만 예약, 코드마다 DB 왕복)로 발급
+ * - 소진된 블록은 즉시, 하루 이상 쓰이지 않은 블록(지난 날짜 HBL prefix 등)은 evictIdle 에서 꼬리를 반납하고 제거
+ */
+@Component
+@Slf4j
+public class CodeSequenceAllocator {
+
+    private static final int STRIPE_COUNT = 32;
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    private final CodeBlockReserver reserver;
+    private final int blockSize;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPE_COUNT];
+    private final Set<String> unbufferedPrefixes;
+    private final Map<String, CodeBlock> blocks = new ConcurrentHashMap<>();
+    /** 마지막 evictIdle 이후 사용된 prefix */
+    private final Set<String> usedSinceEviction = ConcurrentHashMap.newKeySet();
+
+    public CodeSequenceAllocator(CodeBlockReserver reserver, int blockSize) {
+        this(reserver, blockSize, new String[0]);
+    }
+
+    /**
+     * @param unbufferedPrefixes 블록 크기 1로 발급할 prefix 계열 (prefix 의 ':' 앞부분, 예: MEMBER) - 기본 없음
+     */
+    @Autowired
+    public CodeSequenceAllocator(CodeBlockReserver reserver,
+                                 @Value("${app.code-sequence.block-size:50}") int blockSize,
+                                 @Value("${app.code-sequence.unbuffered-prefixes:}") String[] unbufferedPrefixes) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Code sequence block size must be positive: " + blockSize);
+        }
+        this.reserver = reserver;
+        this.blockSize = blockSize;
+        this.unbufferedPrefixes = Set.of(unbufferedPrefixes);
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * prefix 의 다음 일련번호
+     * @param seed 시퀀스 행이 처음 만들어질 때 기존 데이터의 최대 일련번호 (없으면 0)
+     */
+    public long next(String prefix, LongSupplier seed) {
+        ReentrantLock lock = stripeFor(prefix);
+        lock.lock();
+        try {
+            usedSinceEviction.add(prefix);
+            CodeBlock block = blocks.get(prefix);
+            if (block == null || block.isExhausted()) {
+                block = reserve(prefix, getBlockSizeFor(prefix), seed);
+                blocks.put(prefix, block);
+            }
+            long value = block.take();
+            if (block.isExhausted()) {
+                blocks.remove(prefix);
+            }
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * prefix 의 다음 일련번호 count 개 (오름차순)
+     * - 현재 블록 잔량을 먼저 소진하고 부족분은 max(prefix 블록 크기, 부족분) 크기 블록 1회 예약으로 채움
+     * - 대량 주문 생성 시 코드 수와 무관하게 DB 왕복을 prefix 당 최대 1회로 제한
+     */
+    public long[] next(String prefix, int count, LongSupplier seed) {
+        if (count < 1) {
+            return new long[0];
+        }
+        long[] values = new long[count];
+        ReentrantLock lock = stripeFor(prefix);
+        lock.lock();
+        try {
+            usedSinceEviction.add(prefix);
+            CodeBlock block = blocks.get(prefix);
+            int filled = 0;
+            while (filled < count) {
+                if (block == null || block.isExhausted()) {
+                    block = reserve(prefix, Math.max(getBlockSizeFor(prefix), count - filled), seed);
+                    blocks.put(prefix, block);
+                }
+                values[filled++] = block.take();
+            }
+            if (block.isExhausted()) {
+                blocks.remove(prefix);
+            }
+            return values;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 종료 시 미사용 번호 반납
+     */
+    @PreDestroy
+    public void releaseUnused() {
+        for (String prefix : blocks.keySet()) {
+            release(prefix);
+        }
+    }
+
+    /**
+     * 직전 실행 이후 한 번도 쓰이지 않은 prefix 의 블록 반납 및 제거
+     * 날짜가 들어간 prefix(HBL+yyMMdd) 는 날짜가 바뀌면 다시 쓰이지 않으므로 늦어도 이틀 안에 정리된다
+     */
+    @Scheduled(cron = "${app.code-sequence.evict-cron:0 10 0 * * ?}")
+    public void evictIdle() {
+        Set<String> used = new HashSet<>(usedSinceEviction);
+        usedSinceEviction.removeAll(used);
+        for (String prefix : blocks.keySet()) {
+            if (!used.contains(prefix)) {
+                release(prefix);
+            }
+        }
+    }
+
+    /** 현재 메모리에 보유 중인 블록 수 */
+    public int getCachedBlockCount() {
+        return blocks.size();
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int getBlockSizeFor(String prefix) {
+        int separator = prefix.indexOf(':');
+        String family = separator < 0 ? prefix : prefix.substring(0, separator);
+        return unbufferedPrefixes.contains(family) ? 1 : blockSize;
+    }
+
+    private void release(String prefix) {
+        ReentrantLock lock = stripeFor(prefix);
+        lock.lock();
+        try {
+            CodeBlock block = blocks.remove(prefix);
+            if (block == null || block.isExhausted()) {
+                return;
+            }
+            boolean released = reserver.release(prefix, block.getNext(), block.getEnd());
+            log.info("Code sequence {} unused tail [{}, {}) {}", prefix, block.getNext(), block.getEnd(),
+                    released ? "released" : "left as gap");
+        } catch (Exception e) {
+            log.warn("Failed to release code sequence tail for {}: {}", prefix, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CodeBlock reserve(String prefix, int size, LongSupplier seed) {
+        RuntimeException lastFailure = null;
+        for (int attempt = 1; attempt <= MAX_RESERVE_ATTEMPTS; attempt++) {
+            try {
+                return reserver.reserve(prefix, size, seed);
+            } catch (RuntimeException e) {
+                // 다른 노드와 동시에 최초 행을 생성한 경우 등 - 새 트랜잭션으로 재시도
+                lastFailure = e;
+                log.warn("Code block reservation for {} failed (attempt {}/{}): {}",
+                        prefix, attempt, MAX_RESERVE_ATTEMPTS, e.getMessage());
+            }
+        }
+        throw new IllegalStateException("Unable to reserve code block for " + prefix, lastFailure);
+    }
+
+    private ReentrantLock stripeFor(String prefix) {
+        return stripes[(prefix.hashCode() & 0x7fffffff) % STRIPE_COUNT];
+    }
+}
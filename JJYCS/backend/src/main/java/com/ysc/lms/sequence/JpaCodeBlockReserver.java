@@ -0,0 +1,48 @@
+package com.ysc.lms.sequence;
+
+import com.ysc.lms.entity.CodeSequence;
+import com.ysc.lms.repository.CodeSequenceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.LongSupplier;
+
+/**
+ * code_sequences 테이블 기반 블록 예약
+ * 호출자 트랜잭션과 분리(REQUIRES_NEW)하여 행 잠금을 짧게 유지하고,
+ * 호출자가 롤백되어도 예약된 high-water mark 는 되돌아가지 않는다 (중복 대신 공백).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JpaCodeBlockReserver implements CodeBlockReserver {
+
+    private final CodeSequenceRepository codeSequenceRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public CodeBlock reserve(String prefix, int size, LongSupplier seed) {
+        CodeSequence sequence = codeSequenceRepository.findByPrefixForUpdate(prefix).orElse(null);
+        if (sequence == null) {
+            long start = seed.getAsLong() + 1;
+            log.info("Initializing code sequence {} at {}", prefix, start);
+            sequence = new CodeSequence(prefix, start);
+        }
+
+        long start = sequence.getNextValue();
+        sequence.setNextValue(start + size);
+        codeSequenceRepository.saveAndFlush(sequence);
+
+        log.debug("Reserved code block {} [{}, {})", prefix, start, start + size);
+        return new CodeBlock(start, start + size);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean release(String prefix, long from, long until) {
+        return codeSequenceRepository.releaseTail(prefix, from, until) > 0;
+    }
+}
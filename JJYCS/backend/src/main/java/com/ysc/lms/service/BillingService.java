@@ -131,9 +131,11 @@ public class BillingService {
                 preview.setExchangeRateSource(exchangeRateInfo.getSource());
                 preview.setExchangeRateDate(exchangeRateInfo.getRateDate());
                 
-                preview.setSubtotalKrw(exchangeRateService.convertThbToKrwForBilling(subtotalThb, rate));
-                preview.setTaxKrw(exchangeRateService.convertThbToKrwForBilling(taxThb, rate));
-                preview.setTotalKrw(exchangeRateService.convertThbToKrwForBilling(totalThb, rate));
+                List<BigDecimal> krwAmounts = exchangeRateService.convertThbToKrwForBilling(
+                    List.of(subtotalThb, taxThb, totalThb), rate);
+                preview.setSubtotalKrw(krwAmounts.get(0));
+                preview.setTaxKrw(krwAmounts.get(1));
+                preview.setTotalKrw(krwAmounts.get(2));
             } else {
                 log.warn("Cannot convert to KRW for preview: {}", exchangeRateInfo.getMessage());
                 preview.setExchangeRateError(exchangeRateInfo.getMessage());
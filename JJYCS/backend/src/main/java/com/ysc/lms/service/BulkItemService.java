@@ -2,6 +2,11 @@ package com.ysc.lms.service;
 
 import com.ysc.lms.entity.BulkItem;
 import com.ysc.lms.entity.User;
+import com.ysc.lms.ingestion.CsvIngestionPipeline;
+import com.ysc.lms.ingestion.CsvIngestionResult;
+import com.ysc.lms.ingestion.CsvRowException;
+import com.ysc.lms.ingestion.CsvRowHandler;
+import com.ysc.lms.ingestion.EntityBatchInserter;
 import com.ysc.lms.repository.BulkItemRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,15 +14,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
@@ -25,11 +33,22 @@ import java.util.*;
 @Transactional
 public class BulkItemService {
 
+    private static final Pattern HS_CODE_PATTERN = Pattern.compile("\\d{4,10}");
+    private static final String KEY_SEPARATOR = "\u0001";
+    private static final List<String> INSERT_PROPERTIES = List.of(
+        "user", "hsCode", "description", "englishName", "defaultQuantity", "defaultWeight",
+        "defaultWidth", "defaultHeight", "defaultDepth", "defaultUnitPrice", "isActive", "category",
+        "createdAt", "updatedAt");
+
     private final BulkItemRepository bulkItemRepository;
+    private final CsvIngestionPipeline csvIngestionPipeline;
+    private final EntityBatchInserter entityBatchInserter;
 
     /**
      * CSV 파일로 품목 정보 일괄 업로드
+     * 청크별로 커밋되므로 메서드 자체는 트랜잭션 없이 실행한다
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> uploadItems(User user, MultipartFile file) throws IOException {
         if (file.isEmpty()) {
             throw new IllegalArgumentException("파일이 비어있습니다.");
@@ -39,143 +58,139 @@ public class BulkItemService {
             throw new IllegalArgumentException("CSV 파일만 업로드 가능합니다.");
         }
 
-        List<BulkItem> items = new ArrayList<>();
-        List<String> errors = new ArrayList<>();
-        int totalRows = 0;
-        int successCount = 0;
+        CsvIngestionResult result;
+        try (InputStream inputStream = file.getInputStream()) {
+            result = csvIngestionPipeline.ingest(inputStream, new ItemRowHandler(user));
+        }
 
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-            
-            String line;
-            int rowNumber = 1;
-            
-            // 헤더 라인 스킵
-            if ((line = reader.readLine()) != null) {
-                totalRows++;
+        if (result.getSuccessCount() > 0) {
+            log.info("사용자 {}가 {} 개의 품목 정보를 업로드했습니다.", user.getEmail(), result.getSuccessCount());
+        }
+
+        return result.toMap();
+    }
+
+    /**
+     * 품목 CSV 행 처리기 (HS코드,품목명,영문명,수량,중량,가로,세로,깊이,단가,카테고리)
+     */
+    private class ItemRowHandler implements CsvRowHandler<BulkItem> {
+
+        private final User user;
+
+        ItemRowHandler(User user) {
+            this.user = user;
+        }
+
+        @Override
+        public BulkItem parse(String[] columns) {
+            if (columns.length < 3) {
+                throw new CsvRowException("필수 컬럼이 부족합니다. (HS코드, 품목명, 영문명)");
+            }
+
+            // 필수 필드 검증
+            String hsCode = columns[0].trim();
+            String description = columns[1].trim();
+            String englishName = columns[2].trim();
+
+            if (hsCode.isEmpty() || description.isEmpty() || englishName.isEmpty()) {
+                throw new CsvRowException("필수 필드가 비어있습니다.");
+            }
+
+            // HS 코드 형식 검증 (기본적인 검증)
+            if (!HS_CODE_PATTERN.matcher(hsCode).matches()) {
+                throw new CsvRowException("HS 코드 형식이 올바르지 않습니다. (" + hsCode + ")");
             }
 
-            while ((line = reader.readLine()) != null) {
-                rowNumber++;
-                totalRows++;
+            BulkItem item = new BulkItem(user, hsCode, description, englishName);
 
+            // 선택 필드 설정
+            String quantity = optionalColumn(columns, 3);
+            if (quantity != null) {
                 try {
-                    String[] columns = parseCsvLine(line);
-                    if (columns.length < 3) {
-                        errors.add("라인 " + rowNumber + ": 필수 컬럼이 부족합니다. (HS코드, 품목명, 영문명)");
-                        continue;
-                    }
-
-                    // 필수 필드 검증
-                    String hsCode = columns[0].trim();
-                    String description = columns[1].trim();
-                    String englishName = columns[2].trim();
-
-                    if (hsCode.isEmpty() || description.isEmpty() || englishName.isEmpty()) {
-                        errors.add("라인 " + rowNumber + ": 필수 필드가 비어있습니다.");
-                        continue;
-                    }
-
-                    // HS 코드 형식 검증 (기본적인 검증)
-                    if (!hsCode.matches("\\d{4,10}")) {
-                        errors.add("라인 " + rowNumber + ": HS 코드 형식이 올바르지 않습니다. (" + hsCode + ")");
-                        continue;
-                    }
-
-                    // 중복 체크
-                    Optional<BulkItem> existing = bulkItemRepository
-                        .findByUserAndHsCodeAndDescriptionAndIsActive(
-                            user, hsCode, description, true);
-                    
-                    if (existing.isPresent()) {
-                        errors.add("라인 " + rowNumber + ": 이미 등록된 품목입니다. (" + description + ")");
-                        continue;
-                    }
-
-                    BulkItem item = new BulkItem(user, hsCode, description, englishName);
-                    
-                    // 선택 필드 설정
-                    if (columns.length > 3 && !columns[3].trim().isEmpty()) {
-                        try {
-                            item.setDefaultQuantity(Integer.parseInt(columns[3].trim()));
-                        } catch (NumberFormatException e) {
-                            errors.add("라인 " + rowNumber + ": 수량 형식이 올바르지 않습니다.");
-                            continue;
-                        }
-                    }
-                    
-                    if (columns.length > 4 && !columns[4].trim().isEmpty()) {
-                        try {
-                            item.setDefaultWeight(new BigDecimal(columns[4].trim()));
-                        } catch (NumberFormatException e) {
-                            errors.add("라인 " + rowNumber + ": 중량 형식이 올바르지 않습니다.");
-                            continue;
-                        }
-                    }
-                    
-                    if (columns.length > 5 && !columns[5].trim().isEmpty()) {
-                        try {
-                            item.setDefaultWidth(new BigDecimal(columns[5].trim()));
-                        } catch (NumberFormatException e) {
-                            errors.add("라인 " + rowNumber + ": 가로 크기 형식이 올바르지 않습니다.");
-                            continue;
-                        }
-                    }
-                    
-                    if (columns.length > 6 && !columns[6].trim().isEmpty()) {
-                        try {
-                            item.setDefaultHeight(new BigDecimal(columns[6].trim()));
-                        } catch (NumberFormatException e) {
-                            errors.add("라인 " + rowNumber + ": 세로 크기 형식이 올바르지 않습니다.");
-                            continue;
-                        }
-                    }
-                    
-                    if (columns.length > 7 && !columns[7].trim().isEmpty()) {
-                        try {
-                            item.setDefaultDepth(new BigDecimal(columns[7].trim()));
-                        } catch (NumberFormatException e) {
-                            errors.add("라인 " + rowNumber + ": 깊이 형식이 올바르지 않습니다.");
-                            continue;
-                        }
-                    }
-                    
-                    if (columns.length > 8 && !columns[8].trim().isEmpty()) {
-                        try {
-                            item.setDefaultUnitPrice(new BigDecimal(columns[8].trim()));
-                        } catch (NumberFormatException e) {
-                            errors.add("라인 " + rowNumber + ": 단가 형식이 올바르지 않습니다.");
-                            continue;
-                        }
-                    }
-                    
-                    if (columns.length > 9 && !columns[9].trim().isEmpty()) {
-                        item.setCategory(columns[9].trim());
-                    }
-
-                    items.add(item);
-                    successCount++;
-
-                } catch (Exception e) {
-                    log.error("라인 {} 처리 중 오류 발생", rowNumber, e);
-                    errors.add("라인 " + rowNumber + ": " + e.getMessage());
+                    item.setDefaultQuantity(Integer.parseInt(quantity));
+                } catch (NumberFormatException e) {
+                    throw new CsvRowException("수량 형식이 올바르지 않습니다.");
                 }
             }
+            BigDecimal weight = decimalColumn(columns, 4, "중량");
+            if (weight != null) {
+                item.setDefaultWeight(weight);
+            }
+            BigDecimal width = decimalColumn(columns, 5, "가로 크기");
+            if (width != null) {
+                item.setDefaultWidth(width);
+            }
+            BigDecimal height = decimalColumn(columns, 6, "세로 크기");
+            if (height != null) {
+                item.setDefaultHeight(height);
+            }
+            BigDecimal depth = decimalColumn(columns, 7, "깊이");
+            if (depth != null) {
+                item.setDefaultDepth(depth);
+            }
+            item.setDefaultUnitPrice(decimalColumn(columns, 8, "단가"));
+            item.setCategory(optionalColumn(columns, 9));
+
+            return item;
         }
 
-        // 성공한 레코드들만 저장
-        if (!items.isEmpty()) {
-            bulkItemRepository.saveAll(items);
-            log.info("사용자 {}가 {} 개의 품목 정보를 업로드했습니다.", user.getEmail(), items.size());
+        @Override
+        public String keyOf(BulkItem item) {
+            return item.getHsCode() + KEY_SEPARATOR + item.getDescription();
         }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("totalRows", totalRows - 1); // 헤더 제외
-        result.put("successCount", successCount);
-        result.put("errorCount", errors.size());
-        result.put("errors", errors);
+        @Override
+        public Set<String> findExistingKeys(List<BulkItem> items) {
+            Set<String> descriptions = new HashSet<>();
+            for (BulkItem item : items) {
+                descriptions.add(item.getDescription());
+            }
+            Set<String> existingKeys = new HashSet<>();
+            for (Object[] row : bulkItemRepository.findActiveKeysByDescriptions(user.getId(), descriptions)) {
+                existingKeys.add(row[0] + KEY_SEPARATOR + row[1]);
+            }
+            return existingKeys;
+        }
 
-        return result;
+        @Override
+        public String duplicateMessage(BulkItem item) {
+            return "이미 등록된 품목입니다. (" + item.getDescription() + ")";
+        }
+
+        @Override
+        public void insertBatch(List<BulkItem> items) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> rows = new ArrayList<>(items.size());
+            for (BulkItem item : items) {
+                rows.add(new Object[] {
+                    user.getId(), item.getHsCode(), item.getDescription(), item.getEnglishName(),
+                    item.getDefaultQuantity(), item.getDefaultWeight(), item.getDefaultWidth(),
+                    item.getDefaultHeight(), item.getDefaultDepth(), item.getDefaultUnitPrice(),
+                    Boolean.TRUE, item.getCategory(), now, now
+                });
+            }
+            entityBatchInserter.insert(BulkItem.class, INSERT_PROPERTIES, rows);
+        }
+    }
+
+    private static String optionalColumn(String[] columns, int index) {
+        if (columns.length > index) {
+            String value = columns[index].trim();
+            return value.isEmpty() ? null : value;
+        }
+        return null;
+    }
+
+    private static BigDecimal decimalColumn(String[] columns, int index, String label) {
+        String value = optionalColumn(columns, index);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new CsvRowException(label + " 형식이 올바르지 않습니다.");
+        }
     }
 
     /**
@@ -347,29 +362,4 @@ public class BulkItemService {
 
         return csv.toString().getBytes(StandardCharsets.UTF_8);
     }
-
-    /**
-     * CSV 라인 파싱 (쉼표와 따옴표 처리)
-     */
-    private String[] parseCsvLine(String line) {
-        List<String> result = new ArrayList<>();
-        StringBuilder currentField = new StringBuilder();
-        boolean inQuotes = false;
-        
-        for (int i = 0; i < line.length(); i++) {
-            char ch = line.charAt(i);
-            
-            if (ch == '"') {
-                inQuotes = !inQuotes;
-            } else if (ch == ',' && !inQuotes) {
-                result.add(currentField.toString());
-                currentField = new StringBuilder();
-            } else {
-                currentField.append(ch);
-            }
-        }
-        
-        result.add(currentField.toString());
-        return result.toArray(new String[0]);
-    }
 }
\ No newline at end of file
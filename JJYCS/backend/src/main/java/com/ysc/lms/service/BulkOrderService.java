@@ -0,0 +1,333 @@
+package com.ysc.lms.service;
+
+import com.ysc.lms.dto.BulkOrderResult;
+import com.ysc.lms.entity.Order;
+import com.ysc.lms.entity.OrderBox;
+import com.ysc.lms.entity.OrderItem;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.ingestion.EntityBatchInserter;
+import com.ysc.lms.repository.UserRepository;
+import com.ysc.lms.service.OrderService.CreateOrderRequest;
+import com.ysc.lms.statistics.StatisticsRecorder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 대량 주문 생성 (B2B 일괄 접수)
+ *
+ * 1. 사용자 일괄 조회 후 요청별 검증 - 실패 요청은 해당 index 결과로만 보고
+ * 2. 엔티티를 메모리에서 구성하고 OrderBusinessRuleService 규칙과 경고 메시지를 저장 전에 적용
+ * 3. 주문코드는 prefix 별로 묶어 블록 단위 할당
+ * 4. chunk-size 건씩 한 트랜잭션에서 주문/품목/박스를 JDBC 배치 INSERT, 실패 시 건별 재시도로 실패 주문만 보고
+ */
+@Service
+@Slf4j
+public class BulkOrderService {
+
+    private static final List<String> ORDER_PROPERTIES = List.of(
+        "orderNumber", "userId", "status", "totalAmount", "currency", "shippingType",
+        "country", "postalCode", "recipientName", "recipientPhone", "recipientAddress", "recipientPostalCode",
+        "totalCbm", "totalWeight", "requiresExtraRecipient", "noMemberCode",
+        "repackingRequested", "repackingCompleted", "specialRequests", "createdAt", "updatedAt",
+        "validationWarnings", "validationErrors", "hsCodeValidated", "lastValidatedAt",
+        "cbmWarningMessage", "thbWarningMessage", "memberCodeWarningMessage");
+
+    private static final List<String> ITEM_PROPERTIES = List.of(
+        "orderId", "name", "qty", "unitPrice", "createdAt", "updatedAt");
+
+    private static final List<String> BOX_PROPERTIES = List.of(
+        "order", "boxNumber", "width", "height", "depth", "weight", "cbm", "createdAt");
+
+    private static final BigDecimal CM_TO_MM = new BigDecimal("10");
+
+    private final UserRepository userRepository;
+    private final OrderBusinessRuleService orderBusinessRuleService;
+    private final CodeGenerationService codeGenerationService;
+    private final EntityBatchInserter batchInserter;
+    private final StatisticsRecorder statisticsRecorder;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxOrders;
+
+    public BulkOrderService(UserRepository userRepository,
+                            OrderBusinessRuleService orderBusinessRuleService,
+                            CodeGenerationService codeGenerationService,
+                            EntityBatchInserter batchInserter,
+                            StatisticsRecorder statisticsRecorder,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.bulk-order.chunk-size:200}") int chunkSize,
+                            @Value("${app.bulk-order.max-orders:5000}") int maxOrders) {
+        this.userRepository = userRepository;
+        this.orderBusinessRuleService = orderBusinessRuleService;
+        this.codeGenerationService = codeGenerationService;
+        this.batchInserter = batchInserter;
+        this.statisticsRecorder = statisticsRecorder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxOrders = maxOrders;
+    }
+
+    /**
+     * 주문 일괄 생성 - 요청별 결과를 요청 순서대로 반환
+     */
+    public BulkOrderResult createOrders(List<CreateOrderRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one order is required");
+        }
+        if (requests.size() > maxOrders) {
+            throw new IllegalArgumentException("Too many orders in one request: " + requests.size() + " (max " + maxOrders + ")");
+        }
+
+        long startedAt = System.currentTimeMillis();
+        BulkOrderResult result = new BulkOrderResult(requests.size());
+        Map<Long, User> users = loadUsers(requests);
+        LocalDateTime now = LocalDateTime.now();
+
+        // 검증 + 메모리 구성 + 비즈니스 규칙 적용
+        List<OrderDraft> drafts = new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++) {
+            try {
+                drafts.add(buildDraft(index, requests.get(index), users, now));
+            } catch (IllegalArgumentException e) {
+                result.failed(index, e.getMessage());
+            }
+        }
+
+        assignOrderCodes(drafts);
+
+        for (int from = 0; from < drafts.size(); from += chunkSize) {
+            persistChunk(drafts.subList(from, Math.min(from + chunkSize, drafts.size())), result);
+        }
+
+        log.info("Bulk order creation finished: requested={}, succeeded={}, failed={}, elapsed={}ms",
+            result.getRequested(), result.getSucceeded(), result.getFailed(), System.currentTimeMillis() - startedAt);
+        return result;
+    }
+
+    private Map<Long, User> loadUsers(List<CreateOrderRequest> requests) {
+        Set<Long> userIds = new HashSet<>();
+        for (CreateOrderRequest request : requests) {
+            if (request != null && request.getUserId() != null) {
+                userIds.add(request.getUserId());
+            }
+        }
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            users.put(user.getId(), user);
+        }
+        return users;
+    }
+
+    /**
+     * createOrderEntities 와 동일한 규칙으로 주문을 메모리에서 구성하고 비즈니스 규칙 적용
+     */
+    private OrderDraft buildDraft(int index, CreateOrderRequest request, Map<Long, User> users, LocalDateTime now) {
+        if (request == null) {
+            throw new IllegalArgumentException("Order request is empty");
+        }
+        User user = users.get(request.getUserId());
+        if (user == null) {
+            throw new IllegalArgumentException("User not found: " + request.getUserId());
+        }
+        if (user.getStatus() != User.UserStatus.ACTIVE) {
+            throw new IllegalArgumentException("User account is not active: " + user.getStatus());
+        }
+        if (isBlank(request.getCountry())) {
+            throw new IllegalArgumentException("Country is required");
+        }
+        if (isBlank(request.getRecipientName())) {
+            throw new IllegalArgumentException("Recipient name is required");
+        }
+        if (request.getOrderItems() == null || request.getOrderItems().isEmpty()) {
+            throw new IllegalArgumentException("Order must have at least one item");
+        }
+
+        String shippingType = isBlank(request.getShippingType()) ? "SEA" : request.getShippingType().trim().toUpperCase();
+        Order order = new Order();
+        try {
+            order.setShippingType(Order.ShippingType.valueOf(shippingType));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid shipping type: " + request.getShippingType());
+        }
+        boolean repack = Boolean.TRUE.equals(request.getRepackingRequested());
+
+        order.setUser(user);
+        order.setUserId(user.getId());
+        order.setStatus(Order.OrderStatus.RECEIVED);
+        order.setCountry(request.getCountry());
+        order.setPostalCode(request.getPostalCode());
+        order.setRecipientName(request.getRecipientName());
+        order.setRecipientPhone(request.getRecipientPhone());
+        order.setRecipientAddress(request.getRecipientAddress());
+        order.setRecipientPostalCode(request.getRecipientPostalCode());
+        order.setSpecialRequests(request.getSpecialRequests());
+        order.setRepackingRequested(repack);
+        order.setNoMemberCode(isBlank(user.getMemberCode()));
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+
+        BigDecimal totalWeight = BigDecimal.ZERO;
+        for (CreateOrderRequest.OrderItemRequest itemRequest : request.getOrderItems()) {
+            OrderItem item = new OrderItem();
+            item.setName(itemRequest.getDescription());
+            item.setQty(itemRequest.getQuantity());
+            item.setUnitPrice(itemRequest.getUnitPrice());
+            item.setCreatedAt(now);
+            item.setUpdatedAt(now);
+            if (!item.isValid()) {
+                throw new IllegalArgumentException("Invalid order item: " + itemRequest.getDescription());
+            }
+            if (itemRequest.getWeight() != null) {
+                totalWeight = totalWeight.add(itemRequest.getWeight().multiply(new BigDecimal(itemRequest.getQuantity())));
+            }
+            order.getOrderItems().add(item);
+        }
+
+        BigDecimal totalCbm = BigDecimal.ZERO;
+        if (request.getOrderBoxes() != null) {
+            int boxNumber = 1;
+            for (CreateOrderRequest.OrderBoxRequest boxRequest : request.getOrderBoxes()) {
+                if (boxRequest.getWidthCm() == null || boxRequest.getHeightCm() == null || boxRequest.getDepthCm() == null) {
+                    throw new IllegalArgumentException("Box dimensions are required");
+                }
+                OrderBox box = new OrderBox();
+                box.setOrder(order);
+                box.setBoxNumber("BOX-" + boxNumber++);
+                box.setWidth(boxRequest.getWidthCm().multiply(CM_TO_MM).intValue());
+                box.setHeight(boxRequest.getHeightCm().multiply(CM_TO_MM).intValue());
+                box.setDepth(boxRequest.getDepthCm().multiply(CM_TO_MM).intValue());
+                box.setWeight(boxRequest.getWeightKg() != null ? boxRequest.getWeightKg() : BigDecimal.ZERO);
+                // JDBC 배치 INSERT 는 @PrePersist 를 거치지 않으므로 직접 계산
+                box.calculateCbm();
+                box.setCreatedAt(now);
+                totalCbm = totalCbm.add(boxRequest.getWidthCm().multiply(boxRequest.getHeightCm()).multiply(boxRequest.getDepthCm())
+                    .divide(new BigDecimal("1000000"), 6, RoundingMode.HALF_UP));
+                order.getOrderBoxes().add(box);
+            }
+        }
+        order.setTotalCbm(totalCbm);
+        order.setTotalWeight(totalWeight);
+
+        // 저장 후 재조회 없이 동일 규칙 적용 (applyBusinessRulesPostTransaction 과 같은 결과)
+        OrderBusinessRuleService.OrderBusinessRuleResult ruleResult = orderBusinessRuleService.applyBusinessRules(order);
+        OrderService.storeValidationWarnings(order, ruleResult);
+        // 품목 HS Code 는 저장되지 않으므로 단건 경로의 후속 검증과 같이 검증 완료로 기록
+        order.setHsCodeValidated(true);
+        order.setLastValidatedAt(now);
+
+        return new OrderDraft(index, order, shippingType, repack, user.getMemberCode());
+    }
+
+    /**
+     * prefix(운송수단/리팩/회원코드) 별로 묶어 prefix 당 1회 블록 할당
+     */
+    private void assignOrderCodes(List<OrderDraft> drafts) {
+        Map<String, List<OrderDraft>> byPrefix = new LinkedHashMap<>();
+        for (OrderDraft draft : drafts) {
+            byPrefix.computeIfAbsent(draft.shippingType + "|" + draft.repack + "|" + draft.memberCode,
+                key -> new ArrayList<>()).add(draft);
+        }
+        for (List<OrderDraft> group : byPrefix.values()) {
+            OrderDraft first = group.get(0);
+            List<String> codes = codeGenerationService.generateOrderCodes(
+                first.shippingType, first.repack, first.memberCode, group.size());
+            for (int i = 0; i < group.size(); i++) {
+                group.get(i).order.setOrderNumber(codes.get(i));
+            }
+        }
+    }
+
+    private void persistChunk(List<OrderDraft> chunk, BulkOrderResult result) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(chunk));
+            for (OrderDraft draft : chunk) {
+                result.succeeded(draft.index, draft.order.getId(), draft.order.getOrderNumber());
+            }
+        } catch (DataAccessException e) {
+            // 청크 실패 시 건별 트랜잭션으로 재시도하여 실패 주문만 식별
+            log.warn("Bulk order chunk of {} failed, retrying individually: {}", chunk.size(), e.getMessage());
+            for (OrderDraft draft : chunk) {
+                draft.order.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(draft)));
+                    result.succeeded(draft.index, draft.order.getId(), draft.order.getOrderNumber());
+                } catch (DataAccessException ex) {
+                    log.warn("Bulk order {} failed: {}", draft.order.getOrderNumber(), ex.getMostSpecificCause().getMessage());
+                    result.failed(draft.index, "주문 저장 실패: " + ex.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void insert(List<OrderDraft> drafts) {
+        List<Object[]> orderRows = new ArrayList<>(drafts.size());
+        for (OrderDraft draft : drafts) {
+            orderRows.add(orderRow(draft.order));
+        }
+        long[] orderIds = batchInserter.insertReturningIds(Order.class, ORDER_PROPERTIES, orderRows);
+
+        List<Object[]> itemRows = new ArrayList<>();
+        List<Object[]> boxRows = new ArrayList<>();
+        List<Order> orders = new ArrayList<>(drafts.size());
+        for (int i = 0; i < drafts.size(); i++) {
+            Order order = drafts.get(i).order;
+            order.setId(orderIds[i]);
+            orders.add(order);
+            for (OrderItem item : order.getOrderItems()) {
+                itemRows.add(new Object[]{
+                    order.getId(), item.getName(), item.getQty(), item.getUnitPrice(), item.getCreatedAt(), item.getUpdatedAt()});
+            }
+            for (OrderBox box : order.getOrderBoxes()) {
+                boxRows.add(new Object[]{
+                    order.getId(), box.getBoxNumber(), box.getWidth(), box.getHeight(), box.getDepth(),
+                    box.getWeight(), box.getCbm(), box.getCreatedAt()});
+            }
+        }
+        batchInserter.insert(OrderItem.class, ITEM_PROPERTIES, itemRows);
+        batchInserter.insert(OrderBox.class, BOX_PROPERTIES, boxRows);
+
+        // 커밋 후 카운터/대시보드 반영 (청크당 이벤트 묶음 1회)
+        statisticsRecorder.ordersCreated(orders);
+    }
+
+    private static Object[] orderRow(Order order) {
+        return new Object[]{
+            order.getOrderNumber(), order.getUserId(), order.getStatus().name(), order.getTotalAmount(), order.getCurrency(),
+            order.getShippingType().name(), order.getCountry(), order.getPostalCode(), order.getRecipientName(),
+            order.getRecipientPhone(), order.getRecipientAddress(), order.getRecipientPostalCode(),
+            order.getTotalCbm(), order.getTotalWeight(), order.getRequiresExtraRecipient(), order.getNoMemberCode(),
+            order.getRepackingRequested(), order.getRepackingCompleted(), order.getSpecialRequests(),
+            order.getCreatedAt(), order.getUpdatedAt(), order.getValidationWarnings(), order.getValidationErrors(),
+            order.getHsCodeValidated(), order.getLastValidatedAt(),
+            order.getCbmWarningMessage(), order.getThbWarningMessage(), order.getMemberCodeWarningMessage()};
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static final class OrderDraft {
+        private final int index;
+        private final Order order;
+        private final String shippingType;
+        private final boolean repack;
+        private final String memberCode;
+
+        private OrderDraft(int index, Order order, String shippingType, boolean repack, String memberCode) {
+            this.index = index;
+            this.order = order;
+            this.shippingType = shippingType;
+            this.repack = repack;
+            this.memberCode = memberCode;
+        }
+    }
+}
@@ -2,6 +2,11 @@ package com.ysc.lms.service;
 
 import com.ysc.lms.entity.BulkRecipient;
 import com.ysc.lms.entity.User;
+import com.ysc.lms.ingestion.CsvIngestionPipeline;
+import com.ysc.lms.ingestion.CsvIngestionResult;
+import com.ysc.lms.ingestion.CsvRowException;
+import com.ysc.lms.ingestion.CsvRowHandler;
+import com.ysc.lms.ingestion.EntityBatchInserter;
 import com.ysc.lms.repository.BulkRecipientRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,13 +14,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Service
@@ -24,11 +31,20 @@ import java.util.*;
 @Transactional
 public class BulkRecipientService {
 
+    private static final String KEY_SEPARATOR = "\u0001";
+    private static final List<String> INSERT_PROPERTIES = List.of(
+        "user", "recipientName", "recipientPhone", "recipientAddress", "recipientPostalCode", "country",
+        "recipientEmail", "company", "specialInstructions", "isActive", "createdAt", "updatedAt");
+
     private final BulkRecipientRepository bulkRecipientRepository;
+    private final CsvIngestionPipeline csvIngestionPipeline;
+    private final EntityBatchInserter entityBatchInserter;
 
     /**
      * CSV 파일로 수취인 정보 일괄 업로드
+     * 청크별로 커밋되므로 메서드 자체는 트랜잭션 없이 실행한다
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> uploadRecipients(User user, MultipartFile file) throws IOException {
         if (file.isEmpty()) {
             throw new IllegalArgumentException("파일이 비어있습니다.");
@@ -38,92 +54,102 @@ public class BulkRecipientService {
             throw new IllegalArgumentException("CSV 파일만 업로드 가능합니다.");
         }
 
-        List<BulkRecipient> recipients = new ArrayList<>();
-        List<String> errors = new ArrayList<>();
-        int totalRows = 0;
-        int successCount = 0;
-
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-            
-            String line;
-            int rowNumber = 1;
-            
-            // 헤더 라인 스킵
-            if ((line = reader.readLine()) != null) {
-                totalRows++;
+        CsvIngestionResult result;
+        try (InputStream inputStream = file.getInputStream()) {
+            result = csvIngestionPipeline.ingest(inputStream, new RecipientRowHandler(user));
+        }
+
+        if (result.getSuccessCount() > 0) {
+            log.info("사용자 {}가 {} 개의 수취인 정보를 업로드했습니다.", user.getEmail(), result.getSuccessCount());
+        }
+
+        return result.toMap();
+    }
+
+    /**
+     * 수취인 CSV 행 처리기 (이름,전화번호,주소,우편번호,국가,이메일,회사명,특별요청사항)
+     */
+    private class RecipientRowHandler implements CsvRowHandler<BulkRecipient> {
+
+        private final User user;
+
+        RecipientRowHandler(User user) {
+            this.user = user;
+        }
+
+        @Override
+        public BulkRecipient parse(String[] columns) {
+            if (columns.length < 5) {
+                throw new CsvRowException("필수 컬럼이 부족합니다. (이름, 전화번호, 주소, 우편번호, 국가)");
             }
 
-            while ((line = reader.readLine()) != null) {
-                rowNumber++;
-                totalRows++;
-
-                try {
-                    String[] columns = parseCsvLine(line);
-                    if (columns.length < 5) {
-                        errors.add("라인 " + rowNumber + ": 필수 컬럼이 부족합니다. (이름, 전화번호, 주소, 우편번호, 국가)");
-                        continue;
-                    }
-
-                    // 필수 필드 검증
-                    String recipientName = columns[0].trim();
-                    String recipientPhone = columns[1].trim();
-                    String recipientAddress = columns[2].trim();
-                    String recipientPostalCode = columns[3].trim();
-                    String country = columns[4].trim();
-
-                    if (recipientName.isEmpty() || recipientAddress.isEmpty() || country.isEmpty()) {
-                        errors.add("라인 " + rowNumber + ": 필수 필드가 비어있습니다.");
-                        continue;
-                    }
-
-                    // 중복 체크
-                    Optional<BulkRecipient> existing = bulkRecipientRepository
-                        .findByUserAndRecipientNameAndRecipientAddressAndIsActive(
-                            user, recipientName, recipientAddress, true);
-                    
-                    if (existing.isPresent()) {
-                        errors.add("라인 " + rowNumber + ": 이미 등록된 수취인입니다. (" + recipientName + ")");
-                        continue;
-                    }
-
-                    BulkRecipient recipient = new BulkRecipient(user, recipientName, recipientPhone, 
-                                                              recipientAddress, recipientPostalCode, country);
-                    
-                    // 선택 필드 설정
-                    if (columns.length > 5 && !columns[5].trim().isEmpty()) {
-                        recipient.setRecipientEmail(columns[5].trim());
-                    }
-                    if (columns.length > 6 && !columns[6].trim().isEmpty()) {
-                        recipient.setCompany(columns[6].trim());
-                    }
-                    if (columns.length > 7 && !columns[7].trim().isEmpty()) {
-                        recipient.setSpecialInstructions(columns[7].trim());
-                    }
-
-                    recipients.add(recipient);
-                    successCount++;
-
-                } catch (Exception e) {
-                    log.error("라인 {} 처리 중 오류 발생", rowNumber, e);
-                    errors.add("라인 " + rowNumber + ": " + e.getMessage());
-                }
+            // 필수 필드 검증
+            String recipientName = columns[0].trim();
+            String recipientPhone = columns[1].trim();
+            String recipientAddress = columns[2].trim();
+            String recipientPostalCode = columns[3].trim();
+            String country = columns[4].trim();
+
+            if (recipientName.isEmpty() || recipientAddress.isEmpty() || country.isEmpty()) {
+                throw new CsvRowException("필수 필드가 비어있습니다.");
             }
+
+            BulkRecipient recipient = new BulkRecipient(user, recipientName, recipientPhone,
+                                                      recipientAddress, recipientPostalCode, country);
+
+            // 선택 필드 설정
+            recipient.setRecipientEmail(optionalColumn(columns, 5));
+            recipient.setCompany(optionalColumn(columns, 6));
+            recipient.setSpecialInstructions(optionalColumn(columns, 7));
+
+            return recipient;
         }
 
-        // 성공한 레코드들만 저장
-        if (!recipients.isEmpty()) {
-            bulkRecipientRepository.saveAll(recipients);
-            log.info("사용자 {}가 {} 개의 수취인 정보를 업로드했습니다.", user.getEmail(), recipients.size());
+        @Override
+        public String keyOf(BulkRecipient recipient) {
+            return recipient.getRecipientName() + KEY_SEPARATOR + recipient.getRecipientAddress();
         }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("totalRows", totalRows - 1); // 헤더 제외
-        result.put("successCount", successCount);
-        result.put("errorCount", errors.size());
-        result.put("errors", errors);
+        @Override
+        public Set<String> findExistingKeys(List<BulkRecipient> recipients) {
+            Set<String> recipientNames = new HashSet<>();
+            for (BulkRecipient recipient : recipients) {
+                recipientNames.add(recipient.getRecipientName());
+            }
+            Set<String> existingKeys = new HashSet<>();
+            for (Object[] row : bulkRecipientRepository.findActiveKeysByRecipientNames(user.getId(), recipientNames)) {
+                existingKeys.add(row[0] + KEY_SEPARATOR + row[1]);
+            }
+            return existingKeys;
+        }
 
-        return result;
+        @Override
+        public String duplicateMessage(BulkRecipient recipient) {
+            return "이미 등록된 수취인입니다. (" + recipient.getRecipientName() + ")";
+        }
+
+        @Override
+        public void insertBatch(List<BulkRecipient> recipients) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> rows = new ArrayList<>(recipients.size());
+            for (BulkRecipient recipient : recipients) {
+                rows.add(new Object[] {
+                    user.getId(), recipient.getRecipientName(), recipient.getRecipientPhone(),
+                    recipient.getRecipientAddress(), recipient.getRecipientPostalCode(), recipient.getCountry(),
+                    recipient.getRecipientEmail(), recipient.getCompany(), recipient.getSpecialInstructions(),
+                    Boolean.TRUE, now, now
+                });
+            }
+            entityBatchInserter.insert(BulkRecipient.class, INSERT_PROPERTIES, rows);
+        }
+    }
+
+    private static String optionalColumn(String[] columns, int index) {
+        if (columns.length > index) {
+            String value = columns[index].trim();
+            return value.isEmpty() ? null : value;
+        }
+        return null;
     }
 
     /**
@@ -225,31 +251,6 @@ public class BulkRecipientService {
         return csv.toString().getBytes(StandardCharsets.UTF_8);
     }
 
-    /**
-     * CSV 라인 파싱 (쉼표와 따옴표 처리)
-     */
-    private String[] parseCsvLine(String line) {
-        List<String> result = new ArrayList<>();
-        StringBuilder currentField = new StringBuilder();
-        boolean inQuotes = false;
-        
-        for (int i = 0; i < line.length(); i++) {
-            char ch = line.charAt(i);
-            
-            if (ch == '"') {
-                inQuotes = !inQuotes;
-            } else if (ch == ',' && !inQuotes) {
-                result.add(currentField.toString());
-                currentField = new StringBuilder();
-            } else {
-                currentField.append(ch);
-            }
-        }
-        
-        result.add(currentField.toString());
-        return result.toArray(new String[0]);
-    }
-
     /**
      * 키워드로 수취인 검색
      */
@@ -1,5 +1,6 @@
 package com.ysc.lms.service;
 
+import com.ysc.lms.hscode.HsCodeIndexService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,6 +20,7 @@ import java.util.Map;
 public class BusinessLogicService {
     
     private final WebClient webClient;
+    private final HsCodeIndexService hsCodeIndexService;
     
     @Value("${app.api.data-go-kr.service-key:}")
     private String dataGoKrServiceKey;
@@ -116,6 +118,15 @@ public class BusinessLogicService {
             return false;
         }
         
+        // 오프라인 관세율표 색인 우선 - 있으면 외부 조회 없이 통과
+        if (hsCodeIndexService.isKnown(hsCode)) {
+            return true;
+        }
+        if (hsCodeIndexService.isAuthoritative()) {
+            log.warn("HS code not found in tariff schedule index: {}", hsCode);
+            return false;
+        }
+        
         // 관세청 API 호출
         if (customsApiKey == null || customsApiKey.trim().isEmpty()) {
             log.warn("Customs API key not configured, using format validation only");
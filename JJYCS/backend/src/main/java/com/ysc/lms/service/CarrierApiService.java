@@ -14,7 +14,13 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -28,6 +34,7 @@ import java.util.*;
 public class CarrierApiService {
     
     private final RestTemplate restTemplate;
+    private final WebClient webClient;
     private final ObjectMapper objectMapper;
     
     @Value("${carrier.cj.api.url:https://www.doortodoor.co.kr/parcel/api/tracking}")
@@ -48,8 +55,16 @@ public class CarrierApiService {
     @Retryable(value = {ResourceAccessException.class, HttpServerErrorException.class}, 
                maxAttempts = 3, backoff = @Backoff(delay = 2000, multiplier = 2))
     public TrackingResult getTrackingInfo(String carrier, String trackingNumber) {
+        return lookupTrackingInfo(carrier, trackingNumber);
+    }
+    
+    /**
+     * 택배사별 추적 정보 단건 조회 (재시도 없음)
+     * 추적 갱신 엔진처럼 자체 서킷 브레이커/재조회 일정을 가진 호출자용 - 재시도 대기 동안 워커 스레드를 잡아두지 않는다
+     */
+    public TrackingResult lookupTrackingInfo(String carrier, String trackingNumber) {
         try {
-            log.info("Fetching tracking info from {} for number: {}", carrier, trackingNumber);
+            log.debug("Fetching tracking info from {} for number: {}", carrier, trackingNumber);
             
             return switch (carrier.toUpperCase()) {
                 case "CJ" -> getCJTrackingInfo(trackingNumber);
@@ -80,6 +95,61 @@ public class CarrierApiService {
         }
     }
     
+    /**
+     * 택배사별 추적 정보 비동기 조회 (WebClient, 재시도 없음) - 요청/응답 파싱은 동기 조회와 동일
+     * 서버 오류/연결 실패는 ExternalApiException 으로 종료된다
+     */
+    public Mono<TrackingResult> fetchTrackingInfo(String carrier, String trackingNumber) {
+        String code = carrier.toUpperCase();
+        Mono<String> response = switch (code) {
+            case "CJ" -> webClient.get()
+                .uri(UriComponentsBuilder.fromHttpUrl(cjApiUrl)
+                    .queryParam("t_key", trackingNumber)
+                    .queryParam("t_code", "01")
+                    .encode().build().toUri())
+                .accept(MediaType.APPLICATION_JSON)
+                .header("User-Agent", "YCS-LMS/1.0")
+                .retrieve()
+                .bodyToMono(String.class);
+            case "HANJIN" -> webClient.post()
+                .uri(hanjinApiUrl)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .header("User-Agent", "YCS-LMS/1.0")
+                .header("Referer", "https://www.hanjin.co.kr")
+                .body(BodyInserters.fromFormData("wblnumText2", trackingNumber).with("submit", "조회"))
+                .retrieve()
+                .bodyToMono(String.class);
+            case "LOTTE" -> webClient.get()
+                .uri(UriComponentsBuilder.fromHttpUrl(lotteApiUrl)
+                    .queryParam("InvNo", trackingNumber)
+                    .encode().build().toUri())
+                .header("User-Agent", "YCS-LMS/1.0")
+                .retrieve()
+                .bodyToMono(String.class);
+            default -> null;
+        };
+        if ("POST".equals(code)) {
+            return Mono.just(TrackingResult.error("우체국택배 연동이 준비 중입니다."));
+        }
+        if (response == null) {
+            return Mono.just(TrackingResult.error("지원하지 않는 택배사입니다: " + carrier));
+        }
+        
+        return response
+            .timeout(Duration.ofMillis(apiTimeout))
+            .map(body -> switch (code) {
+                case "CJ" -> parseCJResponse(body, trackingNumber);
+                case "HANJIN" -> parseHanjinResponse(body, trackingNumber);
+                default -> parseLotteResponse(body, trackingNumber);
+            })
+            .switchIfEmpty(Mono.fromSupplier(() -> TrackingResult.error(carrier + " 서비스에서 응답을 받지 못했습니다.")))
+            .onErrorResume(WebClientResponseException.class, e -> e.getStatusCode().is4xxClientError()
+                ? Mono.just(clientErrorResult(e.getStatusCode().value(), carrier, e.getStatusCode().toString()))
+                : Mono.error(new ExternalApiException(carrier + " API", "택배사 서버 오류: " + e.getMessage())))
+            .onErrorMap(e -> !(e instanceof ExternalApiException),
+                e -> new ExternalApiException(carrier + " API", "택배사 서비스 연결 실패: " + e.getMessage(), e));
+    }
+    
     /**
      * CJ대한통운 API 연동
      */
@@ -307,11 +377,15 @@ public class CarrierApiService {
      * HTTP 클라이언트 에러 처리
      */
     private TrackingResult handleClientError(HttpClientErrorException e, String carrier, String trackingNumber) {
-        return switch (e.getStatusCode().value()) {
+        return clientErrorResult(e.getStatusCode().value(), carrier, e.getStatusCode().toString());
+    }
+    
+    private TrackingResult clientErrorResult(int statusCode, String carrier, String statusText) {
+        return switch (statusCode) {
             case 400 -> TrackingResult.error("잘못된 송장번호 형식입니다.");
             case 404 -> TrackingResult.notFound("해당 송장번호를 찾을 수 없습니다.");
             case 429 -> TrackingResult.error("요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
-            default -> TrackingResult.error(carrier + " 서비스 오류 (" + e.getStatusCode() + ")");
+            default -> TrackingResult.error(carrier + " 서비스 오류 (" + statusText + ")");
         };
     }
     
@@ -319,6 +393,7 @@ public class CarrierApiService {
     
     public static class TrackingResult {
         private final boolean success;
+        private final boolean notFound;
         private final String trackingNumber;
         private final String status;
         private final String location;
@@ -326,9 +401,10 @@ public class CarrierApiService {
         private final List<TrackingDetail> details;
         private final String errorMessage;
         
-        private TrackingResult(boolean success, String trackingNumber, String status, 
+        private TrackingResult(boolean success, boolean notFound, String trackingNumber, String status, 
                               String location, String time, List<TrackingDetail> details, String errorMessage) {
             this.success = success;
+            this.notFound = notFound;
             this.trackingNumber = trackingNumber;
             this.status = status;
             this.location = location;
@@ -339,19 +415,20 @@ public class CarrierApiService {
         
         public static TrackingResult success(String trackingNumber, String status, String location, 
                                            String time, List<TrackingDetail> details) {
-            return new TrackingResult(true, trackingNumber, status, location, time, details, null);
+            return new TrackingResult(true, false, trackingNumber, status, location, time, details, null);
         }
         
         public static TrackingResult notFound(String message) {
-            return new TrackingResult(false, null, null, null, null, null, message);
+            return new TrackingResult(false, true, null, null, null, null, null, message);
         }
         
         public static TrackingResult error(String message) {
-            return new TrackingResult(false, null, null, null, null, null, message);
+            return new TrackingResult(false, false, null, null, null, null, null, message);
         }
         
         // Getters
         public boolean isSuccess() { return success; }
+        public boolean isNotFound() { return notFound; }
         public String getTrackingNumber() { return trackingNumber; }
         public String getStatus() { return status; }
         public String getLocation() { return location; }
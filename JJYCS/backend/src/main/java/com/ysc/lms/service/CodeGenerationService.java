@@ -1,20 +1,24 @@
 package com.ysc.lms.service;
 
 import com.ysc.lms.entity.User;
+import com.ysc.lms.repository.HBLRepository;
 import com.ysc.lms.repository.UserRepository;
 import com.ysc.lms.repository.OrderRepository;
+import com.ysc.lms.sequence.CodeSequenceAllocator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 고유코드/주문코드 생성 서비스
  * 규칙: A(항공)/M(해상) + R(리팩옵션 유무) + 국가코드(K=한국,T=태국) + 회원유형(P=개인,C=기업) + 일련번호
  * 예: RAKYP001 = 리팩+항공 / 한국 개인 / 일련 001
+ * 일련번호는 CodeSequenceAllocator 가 prefix 별 블록 예약으로 발급 (동시 발급 시 중복 없음, 장애 시 공백 가능)
  */
 @Service
 @RequiredArgsConstructor
@@ -23,18 +27,19 @@ public class CodeGenerationService {
     
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
+    private final HBLRepository hblRepository;
+    private final CodeSequenceAllocator codeSequenceAllocator;
     
     /**
      * 회원 고유코드 생성 (회원가입 시 즉시 발급)
      * 규칙: 국가코드 + 회원유형 + 일련번호 (예: KYP001, KYC001, THP001)
      */
-    @Transactional
     public String generateMemberCode(String country, User.UserType userType) {
         String countryCode = getCountryCode(country);
         String typeCode = getUserTypeCode(userType);
         String prefix = countryCode + typeCode;
         
-        int sequence = getNextMemberSequence(prefix);
+        long sequence = getNextMemberSequence(prefix);
         String memberCode = String.format("%s%03d", prefix, sequence);
         
         log.info("Generated member code: {} for country: {}, type: {}", memberCode, country, userType);
@@ -46,7 +51,6 @@ public class CodeGenerationService {
      * 규칙: A/M + R? + 회원코드 + 일련번호
      * 예: AKYP001001 (항공+한국개인+001번회원+001번주문), MRAKYP001002 (리팩+해상+한국개인+001번회원+002번주문)
      */
-    @Transactional
     public String generateOrderCode(String transportType, boolean hasRepackOption, String memberCode) {
         StringBuilder prefix = new StringBuilder();
         
@@ -61,7 +65,7 @@ public class CodeGenerationService {
         prefix.append(transportCode);
         prefix.append(memberCode);
         
-        int sequence = getNextOrderSequence(prefix.toString());
+        long sequence = getNextOrderSequence(prefix.toString());
         String orderCode = String.format("%s%03d", prefix, sequence);
         
         log.info("Generated order code: {} for transport: {}, repack: {}, member: {}", 
@@ -69,16 +73,30 @@ public class CodeGenerationService {
         return orderCode;
     }
     
+    /**
+     * 주문코드 일괄 생성 - 같은 prefix 의 코드 count 개를 한 번에 할당 (대량 주문용)
+     */
+    public List<String> generateOrderCodes(String transportType, boolean hasRepackOption, String memberCode, int count) {
+        String prefix = (hasRepackOption ? "R" : "") + getTransportCode(transportType) + memberCode;
+        long[] sequences = codeSequenceAllocator.next("ORDER:" + prefix, count, () -> findMaxOrderSequence(prefix));
+        
+        List<String> orderCodes = new ArrayList<>(sequences.length);
+        for (long sequence : sequences) {
+            orderCodes.add(String.format("%s%03d", prefix, sequence));
+        }
+        log.info("Generated {} order codes for prefix: {}", orderCodes.size(), prefix);
+        return orderCodes;
+    }
+    
     /**
      * HBL 번호 생성 (사내 규칙)
      * 규칙: HBL + 년도 + 월 + 일련번호 (예: HBL240830001)
      */
-    @Transactional
     public String generateHblNumber() {
         String dateStr = LocalDate.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
         String prefix = "HBL" + dateStr;
         
-        int sequence = getNextHblSequence(prefix);
+        long sequence = getNextHblSequence(prefix);
         String hblNumber = String.format("%s%03d", prefix, sequence);
         
         log.info("Generated HBL number: {}", hblNumber);
@@ -171,42 +189,64 @@ public class CodeGenerationService {
         return "M"; // 기본값: 해상
     }
     
-    private int getNextMemberSequence(String prefix) {
+    private long getNextMemberSequence(String prefix) {
+        return codeSequenceAllocator.next("MEMBER:" + prefix, () -> findMaxMemberSequence(prefix));
+    }
+    
+    private long getNextOrderSequence(String prefix) {
+        return codeSequenceAllocator.next("ORDER:" + prefix, () -> findMaxOrderSequence(prefix));
+    }
+    
+    private long getNextHblSequence(String prefix) {
+        return codeSequenceAllocator.next("HBL:" + prefix, () -> findMaxHblSequence(prefix));
+    }
+    
+    // 시퀀스 행 최초 생성 시 기존 데이터와 겹치지 않도록 현재 최대 일련번호 조회
+    private long findMaxMemberSequence(String prefix) {
         // 해당 prefix로 시작하는 가장 큰 시퀀스 조회
         String maxCode = userRepository.findMaxMemberCodeByPrefix(prefix);
         if (maxCode == null) {
-            return 1;
+            return 0;
         }
         
         String sequencePart = maxCode.substring(prefix.length());
         try {
-            return Integer.parseInt(sequencePart) + 1;
+            return Long.parseLong(sequencePart);
         } catch (NumberFormatException e) {
             log.warn("Invalid sequence in member code: {}", maxCode);
-            return 1;
+            return 0;
         }
     }
     
-    private int getNextOrderSequence(String prefix) {
+    private long findMaxOrderSequence(String prefix) {
         String maxCode = orderRepository.findMaxOrderCodeByPrefix(prefix + "%");
         if (maxCode == null) {
-            return 1;
+            return 0;
         }
         
         // 뒤 3자리가 주문 시퀀스
         String sequencePart = maxCode.substring(maxCode.length() - 3);
         try {
-            return Integer.parseInt(sequencePart) + 1;
+            return Long.parseLong(sequencePart);
         } catch (NumberFormatException e) {
             log.warn("Invalid sequence in order code: {}", maxCode);
-            return 1;
+            return 0;
         }
     }
     
-    private int getNextHblSequence(String prefix) {
-        // TODO: HBL 테이블이 생성되면 실제 구현
-        // 임시로 1 반환
-        return 1;
+    private long findMaxHblSequence(String prefix) {
+        String maxNumber = hblRepository.findMaxHblNumberByPrefix(prefix + "%");
+        if (maxNumber == null) {
+            return 0;
+        }
+        
+        String sequencePart = maxNumber.substring(prefix.length());
+        try {
+            return Long.parseLong(sequencePart);
+        } catch (NumberFormatException e) {
+            log.warn("Invalid sequence in HBL number: {}", maxNumber);
+            return 0;
+        }
     }
     
     /**
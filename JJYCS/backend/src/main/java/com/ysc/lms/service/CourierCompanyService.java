@@ -2,28 +2,74 @@ package com.ysc.lms.service;
 
 import com.ysc.lms.dto.CourierCompanyDto;
 import com.ysc.lms.entity.CourierCompany;
+import com.ysc.lms.refdata.ReferenceCache;
+import com.ysc.lms.refdata.ReferenceDataCaches;
+import com.ysc.lms.refdata.ReferenceDataChanged;
+import com.ysc.lms.refdata.ReferenceLoader;
 import com.ysc.lms.repository.CourierCompanyRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * 택배사 관리 서비스
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class CourierCompanyService {
+
+    public static final String CACHE_BY_CODE = "courier-company";
+    public static final String CACHE_ACTIVE = "courier-company-active";
+    private static final String ACTIVE_KEY = "ACTIVE";
     
     private final CourierCompanyRepository courierCompanyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReferenceCache<String, CourierCompany> companiesByCode;
+    private final ReferenceCache<String, List<CourierCompany>> activeCompanies;
+
+    public CourierCompanyService(CourierCompanyRepository courierCompanyRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ReferenceDataCaches referenceDataCaches) {
+        this.courierCompanyRepository = courierCompanyRepository;
+        this.eventPublisher = eventPublisher;
+        // 캐시에는 영속성 컨텍스트와 분리된 사본을 두고, 조회 시 매번 새 DTO 로 변환한다
+        this.companiesByCode = referenceDataCaches.register(CACHE_BY_CODE, new ReferenceLoader<>() {
+            @Override
+            public CourierCompany load(String code) {
+                return courierCompanyRepository.findByCode(code).map(CourierCompanyService::detachedCopy).orElse(null);
+            }
+
+            @Override
+            public Map<String, CourierCompany> loadAll() {
+                return courierCompanyRepository.findAll().stream()
+                    .collect(Collectors.toMap(CourierCompany::getCode, CourierCompanyService::detachedCopy, (a, b) -> a));
+            }
+        });
+        this.activeCompanies = referenceDataCaches.register(CACHE_ACTIVE, new ReferenceLoader<>() {
+            @Override
+            public List<CourierCompany> load(String key) {
+                return courierCompanyRepository.findByIsActiveTrueOrderByDisplayOrder().stream()
+                    .map(CourierCompanyService::detachedCopy)
+                    .collect(Collectors.toUnmodifiableList());
+            }
+
+            @Override
+            public Map<String, List<CourierCompany>> loadAll() {
+                return Map.of(ACTIVE_KEY, load(ACTIVE_KEY));
+            }
+        });
+    }
 
     /**
      * 택배사 목록 조회 (페이징, 검색)
@@ -52,8 +98,9 @@ public class CourierCompanyService {
     /**
      * 활성 택배사 목록 조회 (표시 순서별)
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<CourierCompanyDto> getActiveCourierCompanies() {
-        List<CourierCompany> companies = courierCompanyRepository.findByIsActiveTrueOrderByDisplayOrder();
+        List<CourierCompany> companies = activeCompanies.get(ACTIVE_KEY).orElse(List.of());
         return companies.stream()
             .map(this::convertToDto)
             .collect(Collectors.toList());
@@ -70,8 +117,9 @@ public class CourierCompanyService {
     /**
      * 코드로 택배사 조회
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CourierCompanyDto getCourierCompanyByCode(String code) {
-        CourierCompany company = courierCompanyRepository.findByCode(code).orElse(null);
+        CourierCompany company = code != null ? companiesByCode.get(code.trim().toUpperCase(Locale.ROOT)).orElse(null) : null;
         return company != null ? convertToDto(company) : null;
     }
 
@@ -102,6 +150,8 @@ public class CourierCompanyService {
         
         CourierCompany saved = courierCompanyRepository.save(company);
         
+        publishCourierCompanyChanged();
+        
         log.info("Created new courier company: {} [{}] (ID: {})", 
             saved.getName(), saved.getCode(), saved.getId());
         
@@ -134,6 +184,8 @@ public class CourierCompanyService {
         
         CourierCompany saved = courierCompanyRepository.save(company);
         
+        publishCourierCompanyChanged();
+        
         log.info("Updated courier company: {} [{}] (ID: {})", 
             saved.getName(), saved.getCode(), saved.getId());
         
@@ -156,6 +208,8 @@ public class CourierCompanyService {
         
         CourierCompany saved = courierCompanyRepository.save(company);
         
+        publishCourierCompanyChanged();
+        
         log.info("Toggled courier company status: {} [{}] -> {} (ID: {})", 
             saved.getName(), saved.getCode(), saved.getIsActive() ? "ACTIVE" : "INACTIVE", saved.getId());
         
@@ -182,6 +236,8 @@ public class CourierCompanyService {
         
         CourierCompany saved = courierCompanyRepository.save(company);
         
+        publishCourierCompanyChanged();
+        
         log.info("Updated display order for courier company: {} [{}] -> {} (ID: {})", 
             saved.getName(), saved.getCode(), displayOrder, saved.getId());
         
@@ -213,6 +269,8 @@ public class CourierCompanyService {
         
         courierCompanyRepository.save(company);
         
+        publishCourierCompanyChanged();
+        
         log.info("Deactivated courier company: {} [{}] (ID: {})", 
             company.getName(), company.getCode(), company.getId());
         
@@ -222,12 +280,13 @@ public class CourierCompanyService {
     /**
      * 송장번호 추적 URL 생성
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public String generateTrackingUrl(String courierCode, String trackingNumber) {
         if (courierCode == null || trackingNumber == null) {
             return null;
         }
         
-        CourierCompany company = courierCompanyRepository.findByCode(courierCode.toUpperCase()).orElse(null);
+        CourierCompany company = companiesByCode.get(courierCode.toUpperCase()).orElse(null);
         return company != null ? company.generateTrackingUrl(trackingNumber) : null;
     }
 
@@ -243,6 +302,29 @@ public class CourierCompanyService {
     
     // === 내부 메서드들 ===
 
+    /**
+     * 코드 변경도 있으므로 코드별/활성 목록 캐시를 모두 무효화 (커밋 후)
+     */
+    private void publishCourierCompanyChanged() {
+        eventPublisher.publishEvent(new ReferenceDataChanged(CACHE_BY_CODE, null));
+        eventPublisher.publishEvent(new ReferenceDataChanged(CACHE_ACTIVE, null));
+    }
+
+    private static CourierCompany detachedCopy(CourierCompany entity) {
+        return CourierCompany.builder()
+            .id(entity.getId())
+            .code(entity.getCode())
+            .name(entity.getName())
+            .nameEn(entity.getNameEn())
+            .website(entity.getWebsite())
+            .trackingUrlTemplate(entity.getTrackingUrlTemplate())
+            .isActive(entity.getIsActive())
+            .displayOrder(entity.getDisplayOrder())
+            .createdAt(entity.getCreatedAt())
+            .updatedAt(entity.getUpdatedAt())
+            .build();
+    }
+
     /**
      * Entity -> DTO 변환
      */
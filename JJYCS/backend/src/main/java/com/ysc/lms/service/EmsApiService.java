@@ -1,5 +1,7 @@
 package com.ysc.lms.service;
 
+import com.ysc.lms.hscode.HsCodeEntry;
+import com.ysc.lms.hscode.HsCodeIndexService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,7 +19,7 @@ import java.util.concurrent.CompletableFuture;
 /**
  * EMS API 서비스 - 태국 전용 기능
  * - 우편번호 검색 및 검증
- * - HS 코드 검색 (HD API 실패 시 폴백)
+ * - HS 코드 검색 (HD API 실패 시 폴백, 오프라인 관세율표 색인 우선)
  * - EMS 신청내역 조회
  */
 @Service
@@ -25,7 +27,10 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class EmsApiService {
     
+    private static final int HS_CODE_SEARCH_LIMIT = 20;
+    
     private final WebClient webClient;
+    private final HsCodeIndexService hsCodeIndexService;
     
     @Value("${app.api.ems.base-url:https://ems.epost.go.kr/api}")
     private String emsBaseUrl;
@@ -90,16 +95,24 @@ public class EmsApiService {
 
     /**
      * HS 코드 검색 (HD API 폴백용)
+     * 오프라인 관세율표 색인에서 먼저 찾고, 색인에 결과가 없고 색인이 전체 관세율표가 아닐 때만 EMS API 를 호출한다
      * @param keyword 검색 키워드
      * @return HS 코드 목록
      */
     public List<HsCodeResult> searchHsCode(String keyword) {
-        if (!emsEnabled || emsApiKey == null || emsApiKey.trim().isEmpty()) {
-            log.warn("EMS API not configured for HS code search");
+        if (keyword == null || keyword.trim().length() < 2) {
             return Collections.emptyList();
         }
         
-        if (keyword == null || keyword.trim().length() < 2) {
+        List<HsCodeResult> indexed = hsCodeIndexService.search(keyword.trim(), HS_CODE_SEARCH_LIMIT).stream()
+            .map(match -> toHsCodeResult(match.getEntry()))
+            .toList();
+        if (!indexed.isEmpty() || hsCodeIndexService.isAuthoritative()) {
+            return indexed;
+        }
+        
+        if (!emsEnabled || emsApiKey == null || emsApiKey.trim().isEmpty()) {
+            log.warn("EMS API not configured for HS code search");
             return Collections.emptyList();
         }
         
@@ -218,6 +231,15 @@ public class EmsApiService {
         return Collections.emptyList();
     }
 
+    /**
+     * 색인 항목 -> 응답 (분류는 HS 류 2자리)
+     */
+    private static HsCodeResult toHsCodeResult(HsCodeEntry entry) {
+        String description = entry.getKoreanName() != null && !entry.getKoreanName().isBlank()
+            ? entry.getKoreanName() : entry.getEnglishName();
+        return new HsCodeResult(entry.getCode(), description, entry.getCode().substring(0, 2));
+    }
+
     private EmsApplicationResult parseEmsApplicationResponse(String response) {
         // TODO: 실제 EMS API 응답 파싱 구현
         // 현재는 Mock 응답 처리
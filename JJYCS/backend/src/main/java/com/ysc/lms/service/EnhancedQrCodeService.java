@@ -2,20 +2,16 @@ package com.ysc.lms.service;
 
 import com.google.zxing.*;
 import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
 import com.google.zxing.common.HybridBinarizer;
-import com.google.zxing.qrcode.QRCodeWriter;
-import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.ysc.lms.label.LabelRenderingEngine;
+import com.ysc.lms.label.LabelSpec;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import javax.imageio.ImageIO;
-import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Base64;
@@ -26,12 +22,13 @@ import java.util.Map;
  * 향상된 QR 코드 생성/스캔 서비스 (ZXing 라이브러리 사용)
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class EnhancedQrCodeService {
     
-    private static final int DEFAULT_QR_SIZE = 300;
-    private static final int DEFAULT_BARCODE_WIDTH = 400;
-    private static final int DEFAULT_BARCODE_HEIGHT = 100;
+    private static final String PNG_DATA_URI_PREFIX = "data:image/png;base64,";
+    
+    private final LabelRenderingEngine labelRenderingEngine;
     
     /**
      * QR 코드 생성 (실제 ZXing 라이브러리 사용)
@@ -44,26 +41,13 @@ public class EnhancedQrCodeService {
                 throw new IllegalArgumentException("Data cannot be null or empty");
             }
             
-            // QR 코드 생성 설정
-            QRCodeWriter qrCodeWriter = new QRCodeWriter();
-            Map<EncodeHintType, Object> hints = new HashMap<>();
-            hints.put(EncodeHintType.CHARACTER_SET, StandardCharsets.UTF_8.name());
-            hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M);
-            hints.put(EncodeHintType.MARGIN, 1);
-            
-            // QR 코드 생성
-            BitMatrix bitMatrix = qrCodeWriter.encode(data, BarcodeFormat.QR_CODE, DEFAULT_QR_SIZE, DEFAULT_QR_SIZE, hints);
-            
-            // BufferedImage로 변환
-            BufferedImage qrImage = MatrixToImageWriter.toBufferedImage(bitMatrix);
-            
-            // 이미지를 Base64로 인코딩
-            String base64Image = encodeImageToBase64(qrImage);
+            LabelSpec spec = LabelSpec.qrCode(data);
+            String base64Image = toDataUri(labelRenderingEngine.renderPng(spec));
             
             Map<String, Object> result = new HashMap<>();
             result.put("qrCodeData", base64Image);
             result.put("format", "PNG");
-            result.put("size", DEFAULT_QR_SIZE + "x" + DEFAULT_QR_SIZE);
+            result.put("size", spec.getWidth() + "x" + spec.getHeight());
             result.put("data", data);
             result.put("generatedAt", LocalDateTime.now());
             
@@ -95,56 +79,13 @@ public class EnhancedQrCodeService {
      */
     public Map<String, Object> generateLabelQrCode(String code, String labelText) {
         try {
-            // QR 코드 생성
-            QRCodeWriter qrCodeWriter = new QRCodeWriter();
-            Map<EncodeHintType, Object> hints = new HashMap<>();
-            hints.put(EncodeHintType.CHARACTER_SET, StandardCharsets.UTF_8.name());
-            hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M);
-            hints.put(EncodeHintType.MARGIN, 1);
-            
-            BitMatrix bitMatrix = qrCodeWriter.encode(code, BarcodeFormat.QR_CODE, DEFAULT_QR_SIZE, DEFAULT_QR_SIZE, hints);
-            BufferedImage qrImage = MatrixToImageWriter.toBufferedImage(bitMatrix);
-            
-            // 텍스트를 포함한 라벨 이미지 생성
-            int labelHeight = DEFAULT_QR_SIZE + 60;
-            BufferedImage labelImage = new BufferedImage(DEFAULT_QR_SIZE, labelHeight, BufferedImage.TYPE_INT_RGB);
-            Graphics2D g = labelImage.createGraphics();
-            
-            // 안티앨리어싱 설정
-            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-            
-            // 배경 설정
-            g.setColor(Color.WHITE);
-            g.fillRect(0, 0, DEFAULT_QR_SIZE, labelHeight);
-            
-            // QR 코드 그리기
-            g.drawImage(qrImage, 0, 0, null);
-            
-            // 텍스트 추가
-            g.setColor(Color.BLACK);
-            g.setFont(new Font("Arial", Font.BOLD, 14));
-            FontMetrics fm = g.getFontMetrics();
-            int textWidth = fm.stringWidth(labelText);
-            int textX = (DEFAULT_QR_SIZE - textWidth) / 2;
-            g.drawString(labelText, textX, DEFAULT_QR_SIZE + 25);
-            
-            // 작은 텍스트로 코드 추가
-            g.setFont(new Font("Arial", Font.PLAIN, 10));
-            fm = g.getFontMetrics();
-            textWidth = fm.stringWidth(code);
-            textX = (DEFAULT_QR_SIZE - textWidth) / 2;
-            g.drawString(code, textX, DEFAULT_QR_SIZE + 45);
-            
-            g.dispose();
-            
-            // 이미지를 Base64로 인코딩
-            String base64Image = encodeImageToBase64(labelImage);
+            LabelSpec spec = LabelSpec.labelQrCode(code, labelText);
+            String base64Image = toDataUri(labelRenderingEngine.renderPng(spec));
             
             Map<String, Object> result = new HashMap<>();
             result.put("qrCodeData", base64Image);
             result.put("format", "PNG");
-            result.put("size", DEFAULT_QR_SIZE + "x" + labelHeight);
+            result.put("size", spec.getWidth() + "x" + spec.getHeight());
             result.put("data", code);
             result.put("label", labelText);
             result.put("generatedAt", LocalDateTime.now());
@@ -264,16 +205,13 @@ public class EnhancedQrCodeService {
                 throw new IllegalArgumentException("Data cannot be null or empty");
             }
             
-            com.google.zxing.oned.Code128Writer barcodeWriter = new com.google.zxing.oned.Code128Writer();
-            BitMatrix bitMatrix = barcodeWriter.encode(data, BarcodeFormat.CODE_128, DEFAULT_BARCODE_WIDTH, DEFAULT_BARCODE_HEIGHT);
-            
-            BufferedImage barcodeImage = MatrixToImageWriter.toBufferedImage(bitMatrix);
-            String base64Image = encodeImageToBase64(barcodeImage);
+            LabelSpec spec = LabelSpec.barcode(data);
+            String base64Image = toDataUri(labelRenderingEngine.renderPng(spec));
             
             Map<String, Object> result = new HashMap<>();
             result.put("barcodeData", base64Image);
             result.put("format", "PNG");
-            result.put("size", DEFAULT_BARCODE_WIDTH + "x" + DEFAULT_BARCODE_HEIGHT);
+            result.put("size", spec.getWidth() + "x" + spec.getHeight());
             result.put("data", data);
             result.put("type", "CODE_128");
             result.put("generatedAt", LocalDateTime.now());
@@ -286,12 +224,22 @@ public class EnhancedQrCodeService {
     }
     
     /**
-     * 이미지를 Base64로 인코딩
+     * QR/바코드 PNG 바이트 (Base64 없이 응답 본문으로 바로 내려보낼 때 사용)
      */
-    private String encodeImageToBase64(BufferedImage image) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ImageIO.write(image, "PNG", baos);
-        byte[] imageBytes = baos.toByteArray();
-        return "data:image/png;base64," + Base64.getEncoder().encodeToString(imageBytes);
+    public byte[] renderPng(String type, String data, String labelText) {
+        if (data == null || data.isEmpty()) {
+            throw new IllegalArgumentException("Data cannot be null or empty");
+        }
+        if ("BARCODE".equalsIgnoreCase(type)) {
+            return labelRenderingEngine.renderPng(LabelSpec.barcode(data));
+        }
+        if (labelText != null && !labelText.isEmpty()) {
+            return labelRenderingEngine.renderPng(LabelSpec.labelQrCode(data, labelText));
+        }
+        return labelRenderingEngine.renderPng(LabelSpec.qrCode(data));
+    }
+    
+    private String toDataUri(byte[] png) {
+        return PNG_DATA_URI_PREFIX + Base64.getEncoder().encodeToString(png);
     }
 }
\ No newline at end of file
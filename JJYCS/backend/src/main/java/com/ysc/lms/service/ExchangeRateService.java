@@ -1,5 +1,8 @@
 package com.ysc.lms.service;
 
+import com.ysc.lms.fx.ConvertedAmounts;
+import com.ysc.lms.fx.ExchangeRateEngine;
+import com.ysc.lms.fx.RateQuote;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,10 +12,13 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,8 +27,8 @@ public class ExchangeRateService {
 
     private final WebClient webClient;
     
-    // 환율 캐시 (통화코드 -> 환율정보)
-    private final Map<String, ExchangeRate> rateCache = new ConcurrentHashMap<>();
+    // 일별 환율 이력 스냅샷 (통화코드 -> 날짜별 환율)
+    private final ExchangeRateEngine exchangeRateEngine;
     
     // 마지막 업데이트 시간
     private LocalDateTime lastUpdateTime;
@@ -39,6 +45,10 @@ public class ExchangeRateService {
     @Value("${naver.exchange.api.secret:}")
     private String naverApiSecret;
     
+    // fetchExchangeRateFromAPI / fetchNaverThbKrwRate 가 실제 API 를 호출할 때만 true - 꺼져 있으면 목업 값은 이력에 남기지 않음
+    @Value("${app.exchange-rate.live-feeds:false}")
+    private boolean liveRateFeeds;
+    
     // 기본 환율 (API 사용 불가시)
     private static final Map<String, BigDecimal> DEFAULT_RATES = Map.of(
         "USD", new BigDecimal("1100.00"),
@@ -51,18 +61,21 @@ public class ExchangeRateService {
         "HKD", new BigDecimal("140.00")
     );
     
+    // 관리자가 직접 입력한 환율의 이력 출처
+    public static final String MANUAL_SOURCE = "MANUAL";
+    
     /**
      * 환율 조회
      */
     public BigDecimal getExchangeRate(String currency) {
-        // 캐시에서 먼저 조회
-        ExchangeRate cached = rateCache.get(currency.toUpperCase());
-        if (cached != null && cached.isValid()) {
-            return cached.getRate();
+        // 환율 이력에서 먼저 조회 (오늘 발표가 없으면 직전 발표값)
+        Optional<RateQuote> recorded = exchangeRateEngine.quote(currency, LocalDate.now());
+        if (recorded.isPresent()) {
+            return recorded.get().getRate();
         }
         
-        // API 사용 가능한 경우
-        if (apiEnabled && apiKey != null && !apiKey.equals("test-key")) {
+        // API 사용 가능한 경우 (이력 기록은 정기 갱신 작업만 한다)
+        if (isApiAvailable()) {
             try {
                 return fetchExchangeRateFromAPI(currency);
             } catch (Exception e) {
@@ -73,8 +86,7 @@ public class ExchangeRateService {
         // 기본 환율 반환
         BigDecimal defaultRate = DEFAULT_RATES.get(currency.toUpperCase());
         if (defaultRate != null) {
-            log.info("Using default exchange rate for {}: {}", currency, defaultRate);
-            cacheRate(currency, defaultRate);
+            log.debug("Using default exchange rate for {}: {}", currency, defaultRate);
             return defaultRate;
         }
         
@@ -104,6 +116,13 @@ public class ExchangeRateService {
             return amount;
         }
         
+        // 두 통화 모두 이력이 있으면 같은 스냅샷의 환율로 환산
+        Optional<ConvertedAmounts> converted = exchangeRateEngine.convertAll(
+            List.of(amount), fromCurrency, toCurrency, LocalDate.now(), "KRW".equals(toCurrency) ? 0 : 2);
+        if (converted.isPresent()) {
+            return converted.get().getAmounts().get(0);
+        }
+        
         // KRW로 변환
         BigDecimal krwAmount = amount;
         if (!"KRW".equals(fromCurrency)) {
@@ -127,6 +146,13 @@ public class ExchangeRateService {
         try {
             log.info("Getting THB to KRW exchange rate for billing date: {}", billingDate);
             
+            // 청구일 기준 환율 이력 (청구일 발표가 없으면 직전 발표값)
+            Optional<RateQuote> recorded = exchangeRateEngine.quote("THB", billingDate.toLocalDate());
+            if (recorded.isPresent()) {
+                RateQuote quote = recorded.get();
+                return BillingExchangeRate.success(quote.getRate(), quote.getRateDate().atStartOfDay(), quote.getSource());
+            }
+            
             // 네이버 API 사용 가능한 경우
             if (naverApiKey != null && !naverApiKey.isEmpty()) {
                 BigDecimal rate = fetchNaverThbKrwRate(billingDate);
@@ -158,6 +184,15 @@ public class ExchangeRateService {
         return thbAmount.multiply(exchangeRate).setScale(2, RoundingMode.HALF_UP);
     }
     
+    /**
+     * 청구서 금액 일괄 THB -> KRW 변환 (같은 환율, 입력 순서 유지)
+     */
+    public List<BigDecimal> convertThbToKrwForBilling(List<BigDecimal> thbAmounts, BigDecimal exchangeRate) {
+        return thbAmounts.stream()
+            .map(amount -> convertThbToKrwForBilling(amount, exchangeRate))
+            .collect(Collectors.toList());
+    }
+    
     /**
      * 네이버 API에서 THB-KRW 환율 조회
      */
@@ -192,11 +227,8 @@ public class ExchangeRateService {
         return DEFAULT_RATES.getOrDefault(currency.toUpperCase(), BigDecimal.ONE);
     }
     
-    /**
-     * 환율 캐싱
-     */
-    private void cacheRate(String currency, BigDecimal rate) {
-        rateCache.put(currency.toUpperCase(), new ExchangeRate(currency, rate));
+    private boolean isApiAvailable() {
+        return apiEnabled && apiKey != null && !apiKey.equals("test-key");
     }
     
     /**
@@ -205,11 +237,27 @@ public class ExchangeRateService {
     @Scheduled(cron = "0 0 9 * * ?")
     public void updateExchangeRates() {
         log.info("Updating exchange rates...");
+        if (!liveRateFeeds) {
+            log.info("Exchange rate feeds are disabled, skipping rate history update (record rates manually)");
+            return;
+        }
         
         try {
-            for (String currency : DEFAULT_RATES.keySet()) {
-                BigDecimal rate = fetchExchangeRateFromAPI(currency);
-                cacheRate(currency, rate);
+            LocalDate today = LocalDate.now();
+            if (isApiAvailable()) {
+                Map<String, BigDecimal> rates = new HashMap<>();
+                for (String currency : DEFAULT_RATES.keySet()) {
+                    rates.put(currency, fetchExchangeRateFromAPI(currency));
+                }
+                exchangeRateEngine.record(rates, today, "API");
+            }
+            
+            // 청구용 THB 환율은 네이버 기준으로 덮어씀
+            if (naverApiKey != null && !naverApiKey.isEmpty()) {
+                BigDecimal thbRate = fetchNaverThbKrwRate(today.atStartOfDay());
+                if (thbRate != null) {
+                    exchangeRateEngine.record(Map.of("THB", thbRate), today, "NAVER");
+                }
             }
             
             lastUpdateTime = LocalDateTime.now();
@@ -221,27 +269,17 @@ public class ExchangeRateService {
     }
     
     /**
-     * 환율 정보 클래스
+     * 관리자 수동 환율 기록 (고시 환율 입력/가져오기) - 정기 갱신과 같은 이력에 기록되어 청구/환산에 바로 쓰임
      */
-    private static class ExchangeRate {
-        private final String currency;
-        private final BigDecimal rate;
-        private final LocalDateTime timestamp;
-        private static final long CACHE_DURATION_HOURS = 24;
-        
-        public ExchangeRate(String currency, BigDecimal rate) {
-            this.currency = currency;
-            this.rate = rate;
-            this.timestamp = LocalDateTime.now();
+    public void recordManualRates(Map<String, BigDecimal> rates, LocalDate rateDate) {
+        if (rates == null || rates.isEmpty()) {
+            throw new IllegalArgumentException("기록할 환율이 없습니다.");
         }
-        
-        public boolean isValid() {
-            return timestamp.plusHours(CACHE_DURATION_HOURS).isAfter(LocalDateTime.now());
-        }
-        
-        public BigDecimal getRate() {
-            return rate;
+        if (rateDate == null || rateDate.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("환율 기준일은 오늘 또는 이전 날짜여야 합니다: " + rateDate);
         }
+        exchangeRateEngine.record(rates, rateDate, MANUAL_SOURCE);
+        log.info("Recorded {} manual exchange rates for {}", rates.size(), rateDate);
     }
     
     /**
@@ -1,16 +1,27 @@
 package com.ysc.lms.service;
 
+import com.ysc.lms.hscode.HsCodeEntry;
+import com.ysc.lms.hscode.HsCodeIndexService;
+import com.ysc.lms.hscode.HsCodeMatch;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class HSCodeService {
 
+    private static final int SEARCH_LIMIT = 20;
+
+    private final HsCodeIndexService hsCodeIndexService;
+
     /**
      * 품목명으로 HS Code 검색
      */
@@ -18,12 +29,10 @@ public class HSCodeService {
         try {
             log.info("Searching HS Code for product: {}", productName);
             
-            // 간단한 목 데이터 반환
+            // 오프라인 관세율표 색인 (품목명 유사도 순)
             HSCodeSearchResponse response = new HSCodeSearchResponse();
             response.setSuccess(true);
-            response.setItems(List.of(
-                createMockHSCodeItem("8471600000", "샘플 품목: " + productName, "Sample Product: " + productName)
-            ));
+            response.setItems(toItems(hsCodeIndexService.search(productName, SEARCH_LIMIT)));
             
             return response;
         } catch (Exception e) {
@@ -39,12 +48,10 @@ public class HSCodeService {
         try {
             log.info("Searching product name for HS Code: {}", hsCode);
             
-            // 간단한 목 데이터 반환
+            // 오프라인 관세율표 색인 (세번 정확/접두사 일치)
             HSCodeSearchResponse response = new HSCodeSearchResponse();
             response.setSuccess(true);
-            response.setItems(List.of(
-                createMockHSCodeItem(hsCode, "HS코드 " + hsCode + "에 대한 샘플 품목", "Sample product for HS code " + hsCode)
-            ));
+            response.setItems(toItems(hsCodeIndexService.search(hsCode, SEARCH_LIMIT)));
             
             return response;
         } catch (Exception e) {
@@ -60,6 +67,14 @@ public class HSCodeService {
         try {
             log.info("Getting tariff rate for HS Code: {}", hsCode);
             
+            Optional<HsCodeEntry> entry = hsCodeIndexService.find(hsCode);
+            if (entry.isPresent() && entry.get().getBasicRate() != null) {
+                TariffRateResponse response = new TariffRateResponse();
+                response.setSuccess(true);
+                response.setItems(List.of(toTariffRateItem(entry.get())));
+                return response;
+            }
+            
             // 간단한 목 데이터 반환
             TariffRateResponse response = new TariffRateResponse();
             response.setSuccess(true);
@@ -126,16 +141,28 @@ public class HSCodeService {
         log.info("Expired cache cleaned up (mock implementation)");
     }
 
-    // Helper methods for creating mock data
-    private HSCodeItem createMockHSCodeItem(String hsCode, String koreanName, String englishName) {
-        HSCodeItem item = new HSCodeItem();
-        item.setHsCode(hsCode);
-        item.setKoreanName(koreanName);
-        item.setEnglishName(englishName);
-        item.setUnit("개");
+    private List<HSCodeItem> toItems(List<HsCodeMatch> matches) {
+        return matches.stream()
+            .map(match -> {
+                HSCodeItem item = new HSCodeItem();
+                item.setHsCode(match.getEntry().getCode());
+                item.setKoreanName(match.getEntry().getKoreanName());
+                item.setEnglishName(match.getEntry().getEnglishName());
+                item.setUnit(match.getEntry().getUnit());
+                return item;
+            })
+            .collect(Collectors.toList());
+    }
+
+    private TariffRateItem toTariffRateItem(HsCodeEntry entry) {
+        TariffRateItem item = new TariffRateItem();
+        item.setHsCode(entry.getCode());
+        item.setBasicRate(entry.getBasicRate());
+        item.setKoreanName(entry.getKoreanName());
         return item;
     }
 
+    // Helper methods for creating mock data
     private TariffRateItem createMockTariffRateItem(String hsCode, String basicRate, String wtoRate, String specialRate, String koreanName) {
         TariffRateItem item = new TariffRateItem();
         item.setHsCode(hsCode);
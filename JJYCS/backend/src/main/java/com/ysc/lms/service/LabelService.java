@@ -1,30 +1,31 @@
 package com.ysc.lms.service;
 
+import com.ysc.lms.entity.Order;
+import com.ysc.lms.entity.OrderBox;
+import com.ysc.lms.label.LabelRenderingEngine;
+import com.ysc.lms.label.LabelSpec;
+import com.ysc.lms.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Base64;
-import java.util.HashMap;
-import java.util.Map;
-import javax.imageio.ImageIO;
+import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class LabelService {
 
-    private static final int LABEL_WIDTH = 400;
-    private static final int LABEL_HEIGHT = 300;
-    private static final int QR_SIZE = 80;
+    private static final DateTimeFormatter GENERATED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final LabelRenderingEngine labelRenderingEngine;
+    private final OrderRepository orderRepository;
 
     /**
      * 주문 라벨 생성
@@ -34,17 +35,13 @@ public class LabelService {
         try {
             log.info("Generating label for order: {}", orderNumber);
             
-            BufferedImage labelImage = createLabelImage(orderNumber, recipientName, recipientAddress, packageType);
+            byte[] labelImage = labelRenderingEngine.renderPng(
+                orderLabelSpec(orderNumber, recipientName, recipientAddress, packageType));
             String qrCode = generateQRCode(orderNumber);
             
-            // 이미지를 Base64로 인코딩
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(labelImage, "PNG", baos);
-            String labelImageBase64 = Base64.getEncoder().encodeToString(baos.toByteArray());
-            
             LabelGenerationResult result = new LabelGenerationResult();
             result.setOrderNumber(orderNumber);
-            result.setLabelImageBase64(labelImageBase64);
+            result.setLabelImageBase64(Base64.getEncoder().encodeToString(labelImage));
             result.setQrCode(qrCode);
             result.setGeneratedAt(LocalDateTime.now());
             
@@ -65,18 +62,13 @@ public class LabelService {
         try {
             log.info("Generating box label for order: {}, box: {}", orderNumber, boxId);
             
-            String boxLabel = String.format("%s-BOX%d/%d", orderNumber, boxNumber, totalBoxes);
-            BufferedImage labelImage = createBoxLabelImage(boxLabel, orderNumber, boxId);
+            byte[] labelImage = labelRenderingEngine.renderPng(boxLabelSpec(orderNumber, boxId, boxNumber, totalBoxes));
             String qrCode = generateQRCode(boxId);
             
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(labelImage, "PNG", baos);
-            String labelImageBase64 = Base64.getEncoder().encodeToString(baos.toByteArray());
-            
             LabelGenerationResult result = new LabelGenerationResult();
             result.setOrderNumber(orderNumber);
             result.setBoxId(boxId);
-            result.setLabelImageBase64(labelImageBase64);
+            result.setLabelImageBase64(Base64.getEncoder().encodeToString(labelImage));
             result.setQrCode(qrCode);
             result.setGeneratedAt(LocalDateTime.now());
             
@@ -90,146 +82,66 @@ public class LabelService {
     }
     
     /**
-     * QR 코드 생성 (텍스트로 간단 구현)
+     * 주문 라벨 + 전체 박스 라벨 (시트 출력용)
      */
-    private String generateQRCode(String data) {
-        // 실제 구현에서는 ZXing 라이브러리 등을 사용
-        return "QR:" + data + ":" + System.currentTimeMillis();
+    @Transactional(readOnly = true)
+    public List<LabelSpec> getOrderSheetSpecs(String orderNumber) {
+        Order order = findOrder(orderNumber);
+        List<LabelSpec> specs = new ArrayList<>();
+        specs.add(orderLabelSpec(orderNumber, order.getRecipientName(), order.getRecipientAddress(),
+            Objects.toString(order.getOrderType(), null)));
+        specs.addAll(boxSpecs(order));
+        return specs;
     }
     
     /**
-     * 라벨 이미지 생성
+     * 주문의 전체 박스 라벨 (시트 출력용)
      */
-    private BufferedImage createLabelImage(String orderNumber, String recipientName, 
-                                         String recipientAddress, String packageType) {
-        BufferedImage image = new BufferedImage(LABEL_WIDTH, LABEL_HEIGHT, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g2d = image.createGraphics();
-        
-        // 안티앨리어싱 설정
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        
-        // 배경 색상
-        g2d.setColor(Color.WHITE);
-        g2d.fillRect(0, 0, LABEL_WIDTH, LABEL_HEIGHT);
-        
-        // 테두리
-        g2d.setColor(Color.BLACK);
-        g2d.setStroke(new BasicStroke(2));
-        g2d.drawRect(5, 5, LABEL_WIDTH - 10, LABEL_HEIGHT - 10);
-        
-        // 제목
-        g2d.setFont(new Font("Arial", Font.BOLD, 16));
-        g2d.drawString("YCS LOGISTICS", 20, 30);
-        
-        // 주문번호
-        g2d.setFont(new Font("Arial", Font.BOLD, 14));
-        g2d.drawString("Order: " + orderNumber, 20, 60);
-        
-        // 수취인 정보
-        g2d.setFont(new Font("Arial", Font.PLAIN, 12));
-        g2d.drawString("To: " + recipientName, 20, 90);
-        
-        // 주소 (여러 줄로 분할)
-        String[] addressLines = splitAddress(recipientAddress, 45);
-        int yPos = 110;
-        for (String line : addressLines) {
-            g2d.drawString(line, 20, yPos);
-            yPos += 18;
+    @Transactional(readOnly = true)
+    public List<LabelSpec> getBoxSheetSpecs(String orderNumber) {
+        List<LabelSpec> specs = boxSpecs(findOrder(orderNumber));
+        if (specs.isEmpty()) {
+            throw new IllegalArgumentException("주문에 등록된 박스가 없습니다: " + orderNumber);
         }
-        
-        // 패키지 타입
-        g2d.setFont(new Font("Arial", Font.BOLD, 12));
-        g2d.drawString("Type: " + packageType, 20, yPos + 10);
-        
-        // QR 코드 영역 (간단한 사각형으로 표시)
-        g2d.setColor(Color.LIGHT_GRAY);
-        g2d.fillRect(LABEL_WIDTH - QR_SIZE - 20, 20, QR_SIZE, QR_SIZE);
-        g2d.setColor(Color.BLACK);
-        g2d.drawRect(LABEL_WIDTH - QR_SIZE - 20, 20, QR_SIZE, QR_SIZE);
-        g2d.setFont(new Font("Arial", Font.PLAIN, 10));
-        g2d.drawString("QR CODE", LABEL_WIDTH - QR_SIZE - 5, QR_SIZE + 35);
-        
-        // 생성 시간
-        g2d.setFont(new Font("Arial", Font.PLAIN, 10));
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
-        g2d.drawString("Generated: " + timestamp, 20, LABEL_HEIGHT - 20);
-        
-        g2d.dispose();
-        return image;
+        return specs;
     }
     
-    /**
-     * 박스 라벨 이미지 생성
-     */
-    private BufferedImage createBoxLabelImage(String boxLabel, String orderNumber, String boxId) {
-        BufferedImage image = new BufferedImage(LABEL_WIDTH, LABEL_HEIGHT, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g2d = image.createGraphics();
-        
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        
-        // 배경
-        g2d.setColor(Color.WHITE);
-        g2d.fillRect(0, 0, LABEL_WIDTH, LABEL_HEIGHT);
-        
-        // 테두리
-        g2d.setColor(Color.BLACK);
-        g2d.setStroke(new BasicStroke(2));
-        g2d.drawRect(5, 5, LABEL_WIDTH - 10, LABEL_HEIGHT - 10);
-        
-        // 제목
-        g2d.setFont(new Font("Arial", Font.BOLD, 16));
-        g2d.drawString("YCS BOX LABEL", 20, 30);
-        
-        // 박스 라벨
-        g2d.setFont(new Font("Arial", Font.BOLD, 18));
-        g2d.drawString(boxLabel, 20, 70);
-        
-        // 주문번호
-        g2d.setFont(new Font("Arial", Font.PLAIN, 14));
-        g2d.drawString("Order: " + orderNumber, 20, 100);
-        
-        // 박스 ID
-        g2d.drawString("Box ID: " + boxId, 20, 130);
-        
-        // QR 코드 영역
-        g2d.setColor(Color.LIGHT_GRAY);
-        g2d.fillRect(LABEL_WIDTH - QR_SIZE - 20, 50, QR_SIZE, QR_SIZE);
-        g2d.setColor(Color.BLACK);
-        g2d.drawRect(LABEL_WIDTH - QR_SIZE - 20, 50, QR_SIZE, QR_SIZE);
-        g2d.setFont(new Font("Arial", Font.PLAIN, 10));
-        g2d.drawString("BOX QR", LABEL_WIDTH - QR_SIZE - 5, QR_SIZE + 65);
-        
-        // 스캔 안내
-        g2d.setFont(new Font("Arial", Font.PLAIN, 12));
-        g2d.drawString("Scan for tracking", 20, 180);
-        
-        // 생성 시간
-        g2d.setFont(new Font("Arial", Font.PLAIN, 10));
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
-        g2d.drawString("Generated: " + timestamp, 20, LABEL_HEIGHT - 20);
-        
-        g2d.dispose();
-        return image;
+    private Order findOrder(String orderNumber) {
+        return orderRepository.findByOrderNumber(orderNumber)
+            .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다: " + orderNumber));
+    }
+    
+    private List<LabelSpec> boxSpecs(Order order) {
+        List<OrderBox> boxes = order.getOrderBoxes();
+        List<LabelSpec> specs = new ArrayList<>(boxes.size());
+        for (int i = 0; i < boxes.size(); i++) {
+            OrderBox box = boxes.get(i);
+            String boxId = box.getBoxNumber() != null ? box.getBoxNumber() : String.valueOf(box.getId());
+            specs.add(boxLabelSpec(order.getOrderNumber(), boxId, i + 1, boxes.size()));
+        }
+        return specs;
+    }
+    
+    private LabelSpec orderLabelSpec(String orderNumber, String recipientName, String recipientAddress, String packageType) {
+        return LabelSpec.orderLabel(orderNumber, Objects.toString(recipientName, ""),
+            Objects.toString(recipientAddress, ""), Objects.toString(packageType, ""), generatedAt());
+    }
+    
+    private LabelSpec boxLabelSpec(String orderNumber, String boxId, int boxNumber, int totalBoxes) {
+        String boxLabel = String.format("%s-BOX%d/%d", orderNumber, boxNumber, totalBoxes);
+        return LabelSpec.boxLabel(boxLabel, orderNumber, boxId, generatedAt());
+    }
+    
+    private String generatedAt() {
+        return LocalDateTime.now().format(GENERATED_AT_FORMAT);
     }
     
     /**
-     * 주소를 여러 줄로 분할
+     * QR 코드 생성 (텍스트로 간단 구현)
      */
-    private String[] splitAddress(String address, int maxCharsPerLine) {
-        if (address.length() <= maxCharsPerLine) {
-            return new String[]{address};
-        }
-        
-        int numLines = (int) Math.ceil((double) address.length() / maxCharsPerLine);
-        String[] lines = new String[numLines];
-        
-        for (int i = 0; i < numLines; i++) {
-            int start = i * maxCharsPerLine;
-            int end = Math.min(start + maxCharsPerLine, address.length());
-            lines[i] = address.substring(start, end);
-        }
-        
-        return lines;
+    private String generateQRCode(String data) {
+        // 실제 구현에서는 ZXing 라이브러리 등을 사용
+        return "QR:" + data + ":" + System.currentTimeMillis();
     }
     
     /**
@@ -1,16 +1,25 @@
 package com.ysc.lms.service;
 
 import com.ysc.lms.entity.Notification;
+import com.ysc.lms.entity.NotificationQueue;
+import com.ysc.lms.entity.NotificationTemplate;
 import com.ysc.lms.entity.Order;
 import com.ysc.lms.entity.User;
+import com.ysc.lms.notification.FanoutJob;
+import com.ysc.lms.notification.NotificationFanoutService;
+import com.ysc.lms.notification.NotificationMessages;
+import com.ysc.lms.repository.NotificationQueueRepository;
 import com.ysc.lms.repository.NotificationRepository;
 import com.ysc.lms.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 통합 알림 서비스 (이메일, DB 알림, SMS, 푸시 알림 등)
@@ -23,6 +32,12 @@ public class NotificationService {
     private final EmailService emailService;
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final NotificationQueueRepository notificationQueueRepository;
+    private final NotificationFanoutService fanoutService;
+    
+    /** false 면 큐 디스패처가 돌지 않으므로 이메일을 큐에 쌓지 않고 바로 보낸다 */
+    @Value("${app.notification.dispatch.enabled:true}")
+    private boolean queueEmails;
     
     /**
      * 주문 상태 변경 통합 알림
@@ -40,25 +55,23 @@ public class NotificationService {
                 return;
             }
             
-            String statusMessage = getOrderStatusMessage(newStatus);
-            
             // 1. 데이터베이스 알림 생성
             Notification dbNotification = new Notification(
                 user,
                 Notification.NotificationType.ORDER_STATUS_CHANGED,
-                "주문 상태 변경: " + order.getOrderNumber(),
-                String.format("주문 %s의 상태가 '%s'로 변경되었습니다.", 
-                    order.getOrderNumber(), statusMessage)
+                NotificationMessages.orderStatusTitle(order.getOrderNumber()),
+                NotificationMessages.orderStatusMessage(order.getOrderNumber(), newStatus)
             );
             notificationRepository.save(dbNotification);
             
-            // 2. 이메일 알림 발송 (중요한 상태 변경만)
-            if (shouldSendEmailForStatus(newStatus)) {
-                try {
-                    sendOrderStatusEmail(user.getEmail(), user.getName(), order.getOrderNumber(), 
-                                       oldStatus, newStatus);
-                } catch (Exception e) {
-                    log.error("Failed to send order status email for order: {}", order.getOrderNumber(), e);
+            // 2. 이메일 알림 (중요한 상태 변경만) - 큐 적재 후 디스패처가 발송, 디스패처를 끈 경우 바로 발송
+            if (NotificationMessages.emailOnStatus(newStatus)) {
+                String subject = NotificationMessages.orderStatusEmailSubject(order.getOrderNumber());
+                String body = NotificationMessages.orderStatusEmailBody(user.getName(), order.getOrderNumber(), newStatus);
+                if (queueEmails) {
+                    enqueueEmail(user, subject, body);
+                } else {
+                    sendEmailNotification(user.getEmail(), subject, body);
                 }
             }
             
@@ -112,49 +125,24 @@ public class NotificationService {
     }
     
     /**
-     * 시스템 공지 브로드캐스트 알림
+     * 시스템 공지 브로드캐스트 알림 - 지정한 사용자들에게 일괄 적재 (이메일은 큐 적재, 디스패처를 끈 경우 바로 발송)
      */
-    @Async
-    public void broadcastSystemNotification(String title, String message, List<User> targetUsers) {
-        try {
-            log.info("Broadcasting system notification to {} users", targetUsers.size());
-            
-            int emailCount = 0;
-            int dbNotificationCount = 0;
-            
-            for (User user : targetUsers) {
-                try {
-                    // 1. 데이터베이스 알림 생성
-                    Notification dbNotification = new Notification(
-                        user, 
-                        Notification.NotificationType.SYSTEM_ANNOUNCEMENT, 
-                        title, 
-                        message
-                    );
-                    notificationRepository.save(dbNotification);
-                    dbNotificationCount++;
-                    
-                    // 2. 중요한 공지만 이메일 발송 (제목에 '긴급' 또는 '중요' 포함)
-                    if (title.contains("긴급") || title.contains("중요") || title.contains("URGENT")) {
-                        try {
-                            sendSystemNotificationEmail(user.getEmail(), user.getName(), title, message);
-                            emailCount++;
-                        } catch (Exception e) {
-                            log.error("Failed to send system notification email to: {}", user.getEmail(), e);
-                        }
-                    }
-                    
-                } catch (Exception e) {
-                    log.error("Failed to create notification for user: {}", user.getEmail(), e);
-                }
-            }
-            
-            log.info("System notification broadcast completed - DB notifications: {}, Emails: {}", 
-                dbNotificationCount, emailCount);
-            
-        } catch (Exception e) {
-            log.error("Error broadcasting system notification", e);
-        }
+    public FanoutJob broadcastSystemNotification(String title, String message, List<User> targetUsers) {
+        List<Long> userIds = targetUsers.stream().map(User::getId).toList();
+        return fanoutService.broadcastToUsers(title, message, userIds, NotificationMessages.isUrgent(title));
+    }
+    
+    /**
+     * 시스템 공지 브로드캐스트 알림 - 상태/유형 조건의 전체 사용자 (사용자 목록을 읽어오지 않는다)
+     *
+     * @param userType null 이면 전체 유형
+     */
+    public FanoutJob broadcastSystemNotification(String title, String message, User.UserStatus status, User.UserType userType) {
+        return fanoutService.broadcastToSegment(title, message, status, userType, NotificationMessages.isUrgent(title));
+    }
+    
+    public Optional<FanoutJob> getBroadcastJob(String jobId) {
+        return fanoutService.getJob(jobId);
     }
     
     /**
@@ -185,91 +173,16 @@ public class NotificationService {
     }
     
     /**
-     * 주문 상태별 이메일 발송 여부 결정
-     */
-    private boolean shouldSendEmailForStatus(String status) {
-        return switch (status.toUpperCase()) {
-            case "CONFIRMED" -> true;  // 접수 완료
-            case "SHIPPED" -> true;    // 배송 시작
-            case "DELIVERED" -> true;  // 배송 완료
-            case "CANCELLED" -> true;  // 취소
-            case "HOLD" -> true;       // 보류 (문제 발생)
-            default -> false;
-        };
-    }
-    
-    /**
-     * 주문 상태 메시지 반환
-     */
-    private String getOrderStatusMessage(String status) {
-        return switch (status.toUpperCase()) {
-            case "PENDING" -> "접수 대기";
-            case "CONFIRMED" -> "접수 완료";
-            case "IN_WAREHOUSE" -> "창고 입고";
-            case "PROCESSING" -> "처리 중";
-            case "SHIPPED" -> "배송 중";
-            case "DELIVERED" -> "배송 완료";
-            case "CANCELLED" -> "취소됨";
-            case "HOLD" -> "보류";
-            default -> status;
-        };
-    }
-    
-    /**
-     * 주문 상태 변경 이메일 발송
+     * 이메일 발송 큐 적재
      */
-    private void sendOrderStatusEmail(String to, String name, String orderNumber, 
-                                    String oldStatus, String newStatus) {
-        try {
-            String subject = "[YCS LMS] 주문 상태 변경 알림 - " + orderNumber;
-            String statusMessage = getOrderStatusMessage(newStatus);
-            
-            String content = String.format("""
-                안녕하세요, %s님!
-                
-                주문 %s의 상태가 업데이트되었습니다.
-                
-                현재 상태: %s
-                
-                주문 상세 내용은 웹사이트에서 확인하실 수 있습니다.
-                
-                감사합니다.
-                YCS 물류관리시스템
-                """, name, orderNumber, statusMessage);
-            
-            emailService.sendSimpleEmail(to, subject, content);
-            
-        } catch (Exception e) {
-            log.error("Failed to send order status change email", e);
-            throw e;
-        }
-    }
-    
-    /**
-     * 시스템 공지 이메일 발송
-     */
-    private void sendSystemNotificationEmail(String to, String name, String title, String message) {
-        try {
-            String subject = "[YCS LMS] 시스템 공지: " + title;
-            
-            String content = String.format("""
-                안녕하세요, %s님!
-                
-                📢 %s
-                
-                %s
-                
-                더 자세한 내용은 웹사이트를 확인해주세요.
-                
-                감사합니다.
-                YCS 물류관리시스템
-                """, name, title, message);
-            
-            emailService.sendSimpleEmail(to, subject, content);
-            
-        } catch (Exception e) {
-            log.error("Failed to send system notification email", e);
-            throw e;
-        }
+    private void enqueueEmail(User user, String subject, String content) {
+        NotificationQueue queued = new NotificationQueue();
+        queued.setRecipient(user);
+        queued.setType(NotificationTemplate.NotificationChannelType.EMAIL);
+        queued.setChannel(NotificationTemplate.NotificationChannelType.EMAIL.name());
+        queued.setTitle(subject.length() > 200 ? subject.substring(0, 200) : subject);
+        queued.setMessage(content);
+        queued.setUpdatedAt(LocalDateTime.now());
+        notificationQueueRepository.save(queued);
     }
 }
\ No newline at end of file
@@ -3,19 +3,27 @@ package com.ysc.lms.service;
 import com.ysc.lms.entity.Order;
 import com.ysc.lms.entity.OrderBox;
 import com.ysc.lms.entity.OrderItem;
+import com.ysc.lms.fx.ConvertedAmounts;
+import com.ysc.lms.fx.ExchangeRateEngine;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class OrderBusinessRuleService {
     
+    private final ExchangeRateEngine exchangeRateEngine;
+    
     @Value("${business-rules.cbm-threshold:29.0}")
     private BigDecimal cbmThreshold;
     
@@ -145,17 +153,18 @@ public class OrderBusinessRuleService {
      * THB 가치 검증 (1,500 THB 초과시 수취인 추가 정보 필요)
      */
     private void validateThbValue(Order order, OrderBusinessRuleResult result) {
-        BigDecimal totalThbValue = BigDecimal.ZERO;
+        List<BigDecimal> itemValues = new ArrayList<>();
         
         if (order.getOrderItems() != null) {
             for (OrderItem item : order.getOrderItems()) {
                 if (item.getUnitPrice() != null && item.getQuantity() != null) {
                     BigDecimal itemTotalValue = item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
-                    totalThbValue = totalThbValue.add(itemTotalValue);
-                    log.debug("Item THB value: {} x {} = {}", item.getUnitPrice(), item.getQuantity(), itemTotalValue);
+                    itemValues.add(itemTotalValue);
+                    log.debug("Item value: {} x {} = {}", item.getUnitPrice(), item.getQuantity(), itemTotalValue);
                 }
             }
         }
+        BigDecimal totalThbValue = sumInThb(itemValues, order);
         
         result.setTotalThbValue(totalThbValue);
         result.setThbValueExceedsThreshold(totalThbValue.compareTo(thbValueThreshold) > 0);
@@ -169,6 +178,25 @@ public class OrderBusinessRuleService {
         }
     }
     
+    /**
+     * 품목 금액을 주문일 환율로 주문 통화 -> THB 일괄 환산해 합산
+     * THB 주문이거나 환율 이력이 없으면 환산 없이 합산
+     */
+    private BigDecimal sumInThb(List<BigDecimal> values, Order order) {
+        List<BigDecimal> thbValues = values;
+        String currency = order.getCurrency();
+        if (!values.isEmpty() && currency != null && !"THB".equalsIgnoreCase(currency)) {
+            LocalDate orderDate = order.getCreatedAt() != null ? order.getCreatedAt().toLocalDate() : LocalDate.now();
+            Optional<ConvertedAmounts> converted = exchangeRateEngine.convertAll(values, currency, "THB", orderDate, 2);
+            if (converted.isPresent()) {
+                thbValues = converted.get().getAmounts();
+            } else {
+                log.warn("No {} -> THB exchange rate for order {}, using unconverted item values", currency, order.getId());
+            }
+        }
+        return thbValues.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+    
     /**
      * 회원 코드 검증
      */
@@ -6,6 +6,7 @@ import com.ysc.lms.entity.OrderItem;
 import com.ysc.lms.entity.User;
 import com.ysc.lms.repository.OrderRepository;
 import com.ysc.lms.repository.UserRepository;
+import com.ysc.lms.statistics.StatisticsRecorder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -38,6 +39,7 @@ public class OrderService {
     private final BusinessLogicService businessLogicService;
     private final OrderBusinessRuleService orderBusinessRuleService;
     private final CodeGenerationService codeGenerationService;
+    private final StatisticsRecorder statisticsRecorder;
     // private final NotificationService notificationService; // TODO: Re-enable after fixing NotificationService
     
     @PersistenceContext
@@ -94,6 +96,7 @@ public class OrderService {
         String orderCode = codeGenerationService.generateOrderCode(shippingType, hasRepackOption, user.getMemberCode());
         order.setOrderNumber(orderCode);
         order.setUser(user);
+        order.setUserId(user.getId());
         order.setStatus(Order.OrderStatus.RECEIVED);
         order.setShippingType(Order.ShippingType.valueOf(shippingType.toUpperCase()));
         
@@ -152,6 +155,7 @@ public class OrderService {
         
         // 주문 저장
         Order savedOrder = orderRepository.save(order);
+        statisticsRecorder.orderCreated(savedOrder);
         
         // 주문 항목 저장
         if (request.getOrderItems() == null || request.getOrderItems().isEmpty()) {
@@ -161,6 +165,7 @@ public class OrderService {
         for (CreateOrderRequest.OrderItemRequest itemRequest : request.getOrderItems()) {
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(savedOrder);
+            orderItem.setOrderId(savedOrder.getId());
             orderItem.setHsCode(itemRequest.getHsCode());
             orderItem.setDescription(itemRequest.getDescription());
             orderItem.setQuantity(itemRequest.getQuantity());
@@ -175,6 +180,7 @@ public class OrderService {
             // 개별 항목 CBM은 박스에서 계산됨
             orderItem.setCbm(BigDecimal.ZERO); // 초기값
             orderItem.setCreatedAt(LocalDateTime.now());
+            orderItem.setUpdatedAt(LocalDateTime.now());
             
             savedOrder.getItems().add(orderItem);
         }
@@ -386,7 +392,9 @@ public class OrderService {
         
         // 배송 정보 업데이트
         if (updateRequest.getShippingType() != null) {
+            Order.ShippingType previousShippingType = order.getShippingType();
             order.setShippingType(Order.ShippingType.valueOf(updateRequest.getShippingType()));
+            statisticsRecorder.orderShippingTypeChanged(previousShippingType, order.getShippingType());
         }
         if (updateRequest.getCountry() != null) {
             order.setCountry(updateRequest.getCountry());
@@ -420,6 +428,7 @@ public class OrderService {
             order.setUpdatedAt(LocalDateTime.now());
             
             Order savedOrder = orderRepository.save(order);
+            statisticsRecorder.orderStatusChanged(savedOrder, previousStatus);
             
             // 주문 완료 시 처리 (파트너 커미션 기능 제거됨)
             
@@ -897,7 +906,7 @@ public class OrderService {
      * @param order 주문
      * @param ruleResult 비즈니스 룰 검증 결과
      */
-    private void storeValidationWarnings(Order order, OrderBusinessRuleService.OrderBusinessRuleResult ruleResult) {
+    static void storeValidationWarnings(Order order, OrderBusinessRuleService.OrderBusinessRuleResult ruleResult) {
         // CBM 관련 경고
         if (ruleResult.isCbmExceedsThreshold()) {
             String cbmWarning = String.format("CBM %.3fm³가 임계값(29m³)을 초과하여 자동으로 항공 배송으로 전환되었습니다.", 
@@ -2,6 +2,8 @@ package com.ysc.lms.service;
 
 import com.ysc.lms.entity.Parcel;
 import com.ysc.lms.repository.ParcelRepository;
+import com.ysc.lms.tracking.TrackingRefreshEngine;
+import com.ysc.lms.tracking.TrackingRefreshSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -9,7 +11,6 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 
-import java.time.LocalDateTime;
 import java.util.*;
 
 /**
@@ -23,6 +24,7 @@ public class ParcelTrackingService {
     private final ParcelRepository parcelRepository;
     private final RestTemplate restTemplate;
     private final CarrierApiService carrierApiService;
+    private final TrackingRefreshEngine trackingRefreshEngine;
     
     // 지원하는 택배사 코드 매핑
     private static final Map<String, String> CARRIER_CODES = Map.of(
@@ -65,26 +67,10 @@ public class ParcelTrackingService {
     }
     
     /**
-     * 택배 상태 업데이트 (배치 작업용)
+     * 택배 상태 업데이트 (배치 작업용) - 택배사별 병렬 조회/배치 반영은 TrackingRefreshEngine 이 담당
      */
-    @Transactional
-    public void updateParcelStatuses() {
-        log.info("Starting batch update of parcel statuses");
-        
-        // PENDING 상태이거나 1시간 이상 업데이트되지 않은 택배들
-        LocalDateTime cutoffTime = LocalDateTime.now().minusHours(1);
-        List<Parcel> parcelsToUpdate = parcelRepository.findPendingValidationParcels(cutoffTime);
-        
-        for (Parcel parcel : parcelsToUpdate) {
-            try {
-                ValidationResult result = validateTrackingNumber(parcel.getCarrier(), parcel.getTrackingNumber());
-                updateParcelValidationStatus(parcel, result);
-            } catch (Exception e) {
-                log.error("Failed to update parcel status for tracking: {}", parcel.getTrackingNumber(), e);
-            }
-        }
-        
-        log.info("Completed batch update of {} parcels", parcelsToUpdate.size());
+    public TrackingRefreshSummary updateParcelStatuses() {
+        return trackingRefreshEngine.refreshDue();
     }
     
     /**
@@ -147,14 +133,10 @@ public class ParcelTrackingService {
         log.info("Manual matching completed for parcel: {}", parcelId);
     }
     
-    private void updateParcelValidationStatus(Parcel parcel, ValidationResult result) {
-        parcel.updateValidationStatus(result.getStatus(), result.getMessage());
-        parcel.setLastKnownStatus(result.getTrackingStatus());
-        parcelRepository.save(parcel);
-    }
-    
-    private boolean isValidFormat(String carrier, String trackingNumber) {
-        // 택배사별 송장번호 형식 검증
+    /**
+     * 택배사별 송장번호 형식 검증
+     */
+    public static boolean isValidFormat(String carrier, String trackingNumber) {
         return switch (carrier.toUpperCase()) {
             case "CJ" -> trackingNumber.matches("\\d{10,13}");
             case "LOTTE" -> trackingNumber.matches("\\d{12,13}");
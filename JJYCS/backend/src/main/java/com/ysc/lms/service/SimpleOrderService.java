@@ -7,6 +7,7 @@ import com.ysc.lms.exception.BusinessRuleViolationException;
 import com.ysc.lms.exception.ResourceNotFoundException;
 import com.ysc.lms.repository.OrderRepository;
 import com.ysc.lms.repository.OrderItemRepository;
+import com.ysc.lms.statistics.StatisticsRecorder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -33,6 +34,7 @@ public class SimpleOrderService {
     
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
+    private final StatisticsRecorder statisticsRecorder;
     
     /**
      * 주문 생성 - 트랜잭션 처리
@@ -69,6 +71,7 @@ public class SimpleOrderService {
         
         // 5. 주문 저장
         order = orderRepository.save(order);
+        statisticsRecorder.orderCreated(order);
         log.info("주문 생성: ID={}, 주문번호={}, 총액={}", order.getId(), orderNo, serverCalculatedTotal);
         
         // 6. 주문 아이템들 생성
@@ -109,8 +112,10 @@ public class SimpleOrderService {
                 String.format("현재 상태(%s)에서는 제출할 수 없습니다.", order.getStatus().getDisplayName()));
         }
         
+        Order.OrderStatus previousStatus = order.getStatus();
         order.setStatus(Order.OrderStatus.SUBMITTED);
         order = orderRepository.save(order);
+        statisticsRecorder.orderStatusChanged(order, previousStatus);
         
         log.info("주문 제출 완료: ID={}, 주문번호={}", order.getId(), order.getOrderNumber());
         return order;
@@ -1,29 +1,62 @@
 package com.ysc.lms.service;
 
 import com.ysc.lms.entity.SystemConfig;
+import com.ysc.lms.refdata.ReferenceCache;
+import com.ysc.lms.refdata.ReferenceDataCaches;
+import com.ysc.lms.refdata.ReferenceDataChanged;
+import com.ysc.lms.refdata.ReferenceLoader;
 import com.ysc.lms.repository.SystemConfigRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class SystemConfigService {
 
+    public static final String CACHE_NAME = "system-config";
+
     private final SystemConfigRepository systemConfigRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReferenceCache<String, SystemConfig> activeConfigs;
+
+    public SystemConfigService(SystemConfigRepository systemConfigRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               ReferenceDataCaches referenceDataCaches) {
+        this.systemConfigRepository = systemConfigRepository;
+        this.eventPublisher = eventPublisher;
+        // 활성 설정만 캐시 - 영속성 컨텍스트의 엔티티 대신 타입 변환에 필요한 값만 담은 사본을 공유한다
+        this.activeConfigs = referenceDataCaches.register(CACHE_NAME, new ReferenceLoader<>() {
+            @Override
+            public SystemConfig load(String key) {
+                return systemConfigRepository.findByConfigKeyAndIsActive(key, true)
+                        .map(SystemConfigService::valueCopy)
+                        .orElse(null);
+            }
+
+            @Override
+            public Map<String, SystemConfig> loadAll() {
+                return systemConfigRepository.findByIsActive(true).stream()
+                        .collect(Collectors.toMap(SystemConfig::getConfigKey, SystemConfigService::valueCopy, (a, b) -> a));
+            }
+        });
+    }
 
     /**
      * 설정값을 문자열로 조회
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public String getConfigValue(String key) {
-        return systemConfigRepository.findByConfigKeyAndIsActive(key, true)
+        return activeConfigs.get(key)
                 .map(SystemConfig::getConfigValue)
                 .orElse(null);
     }
@@ -31,8 +64,9 @@ public class SystemConfigService {
     /**
      * 설정값을 문자열로 조회 (기본값 포함)
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public String getConfigValue(String key, String defaultValue) {
-        return systemConfigRepository.findByConfigKeyAndIsActive(key, true)
+        return activeConfigs.get(key)
                 .map(SystemConfig::getConfigValue)
                 .orElse(defaultValue);
     }
@@ -40,8 +74,9 @@ public class SystemConfigService {
     /**
      * 설정값을 Boolean으로 조회
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Boolean getBooleanConfig(String key) {
-        return systemConfigRepository.findByConfigKeyAndIsActive(key, true)
+        return activeConfigs.get(key)
                 .map(SystemConfig::getBooleanValue)
                 .orElse(null);
     }
@@ -49,8 +84,9 @@ public class SystemConfigService {
     /**
      * 설정값을 Boolean으로 조회 (기본값 포함)
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Boolean getBooleanConfig(String key, Boolean defaultValue) {
-        return systemConfigRepository.findByConfigKeyAndIsActive(key, true)
+        return activeConfigs.get(key)
                 .map(SystemConfig::getBooleanValue)
                 .orElse(defaultValue);
     }
@@ -58,8 +94,9 @@ public class SystemConfigService {
     /**
      * 설정값을 BigDecimal로 조회
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BigDecimal getDecimalConfig(String key) {
-        return systemConfigRepository.findByConfigKeyAndIsActive(key, true)
+        return activeConfigs.get(key)
                 .map(SystemConfig::getDecimalValue)
                 .orElse(null);
     }
@@ -67,8 +104,9 @@ public class SystemConfigService {
     /**
      * 설정값을 BigDecimal로 조회 (기본값 포함)
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BigDecimal getDecimalConfig(String key, BigDecimal defaultValue) {
-        return systemConfigRepository.findByConfigKeyAndIsActive(key, true)
+        return activeConfigs.get(key)
                 .map(SystemConfig::getDecimalValue)
                 .orElse(defaultValue);
     }
@@ -76,8 +114,9 @@ public class SystemConfigService {
     /**
      * 설정값을 Integer로 조회
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Integer getIntConfig(String key) {
-        return systemConfigRepository.findByConfigKeyAndIsActive(key, true)
+        return activeConfigs.get(key)
                 .map(SystemConfig::getIntValue)
                 .orElse(null);
     }
@@ -85,8 +124,9 @@ public class SystemConfigService {
     /**
      * 설정값을 Integer로 조회 (기본값 포함)
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Integer getIntConfig(String key, Integer defaultValue) {
-        return systemConfigRepository.findByConfigKeyAndIsActive(key, true)
+        return activeConfigs.get(key)
                 .map(SystemConfig::getIntValue)
                 .orElse(defaultValue);
     }
@@ -115,7 +155,9 @@ public class SystemConfigService {
         if (existing.isPresent()) {
             SystemConfig config = existing.get();
             config.updateValue(value, updatedBy);
-            return systemConfigRepository.save(config);
+            SystemConfig saved = systemConfigRepository.save(config);
+            eventPublisher.publishEvent(new ReferenceDataChanged(CACHE_NAME, key));
+            return saved;
         } else {
             log.warn("Trying to update non-existent config: {}", key);
             return null;
@@ -130,7 +172,9 @@ public class SystemConfigService {
         if (systemConfigRepository.existsByConfigKey(config.getConfigKey())) {
             throw new IllegalArgumentException("Config key already exists: " + config.getConfigKey());
         }
-        return systemConfigRepository.save(config);
+        SystemConfig saved = systemConfigRepository.save(config);
+        eventPublisher.publishEvent(new ReferenceDataChanged(CACHE_NAME, saved.getConfigKey()));
+        return saved;
     }
 
     /**
@@ -143,6 +187,7 @@ public class SystemConfigService {
                     config.setIsActive(false);
                     config.setUpdatedBy(updatedBy);
                     systemConfigRepository.save(config);
+                    eventPublisher.publishEvent(new ReferenceDataChanged(CACHE_NAME, key));
                 });
     }
 
@@ -214,6 +259,7 @@ public class SystemConfigService {
             "원화 -> 태국 바트 환율"
         );
 
+        eventPublisher.publishEvent(new ReferenceDataChanged(CACHE_NAME, null));
         log.info("Default system configurations initialized");
     }
 
@@ -230,4 +276,13 @@ public class SystemConfigService {
             systemConfigRepository.save(config);
         }
     }
+
+    private static SystemConfig valueCopy(SystemConfig config) {
+        SystemConfig copy = new SystemConfig();
+        copy.setConfigKey(config.getConfigKey());
+        copy.setConfigValue(config.getConfigValue());
+        copy.setConfigType(config.getConfigType());
+        copy.setIsActive(config.getIsActive());
+        return copy;
+    }
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package com.ysc.lms.service;
 
+import com.ysc.lms.tariff.LandedCostBatch;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -33,6 +36,13 @@ public class TariffCalculationService {
     
     // 부가세율
     private static final BigDecimal VAT_RATE = new BigDecimal("10.0");
+    private static final long VAT_RATE_FIXED = LandedCostBatch.toFixed(VAT_RATE, LandedCostBatch.TAX_RATE_SCALE);
+    
+    // 개인 면세 한도: USD 600 (약 660,000원), 소액 면세: USD 150 (약 165,000원)
+    private static final long DUTY_FREE_LIMIT_KRW = 660_000;
+    private static final long SMALL_AMOUNT_LIMIT_KRW = 165_000;
+    private static final BigDecimal DUTY_FREE_LIMIT = BigDecimal.valueOf(DUTY_FREE_LIMIT_KRW);
+    private static final BigDecimal SMALL_AMOUNT_LIMIT = BigDecimal.valueOf(SMALL_AMOUNT_LIMIT_KRW);
     
     // 특별소비세율 (일부 품목)
     private static final Map<String, BigDecimal> SPECIAL_TAX_RATES = Map.of(
@@ -48,9 +58,127 @@ public class TariffCalculationService {
     public TariffCalculationResult calculateTariff(TariffCalculationRequest request) {
         log.info("Calculating tariff for HS Code: {}", request.getHsCode());
         
+        TariffCalculationResult result = calculate(request, request.getCurrency(),
+            exchangeRateService.getExchangeRate(request.getCurrency()),
+            getTariffRate(request.getHsCode()), getSpecialTaxRate(request.getHsCode()));
+        
+        log.info("Tariff calculation completed: Total tax = {} KRW", result.getTotalTax());
+        
+        return result;
+    }
+    
+    /**
+     * 일괄 관세 계산 (주문 품목 전체)
+     * 환율은 통화별, 관세율/특별소비세율은 HS Code별로 한 번만 조회하고 세액은 LandedCostBatch 의 고정소수점 배열로 계산한다.
+     * 줄별 결과는 calculateTariff 와 같으며, 고정소수점 범위를 벗어나는 줄만 BigDecimal 로 계산한다.
+     *
+     * @param defaultCurrency 통화가 없는 품목에 적용 (없으면 USD)
+     */
+    public TariffBatchQuote quoteBatch(List<TariffCalculationRequest> items, String defaultCurrency) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("계산할 품목이 없습니다.");
+        }
+        String fallbackCurrency = defaultCurrency != null && !defaultCurrency.isEmpty() ? defaultCurrency : "USD";
+        int size = items.size();
+        
+        // 1. 통화/HS Code별 환율과 세율은 한 번만 조회
+        Map<String, ResolvedRate> ratesByCurrency = new HashMap<>();
+        Map<String, ResolvedRate[]> taxRatesByHsCode = new HashMap<>();
+        String[] currencies = new String[size];
+        ResolvedRate[] exchangeRates = new ResolvedRate[size];
+        ResolvedRate[][] taxRates = new ResolvedRate[size][];
+        LandedCostBatch batch = new LandedCostBatch(size);
+        for (int i = 0; i < size; i++) {
+            TariffCalculationRequest item = items.get(i);
+            if (item.getUnitPrice() == null || item.getQuantity() == null) {
+                throw new IllegalArgumentException(String.format("%d번째 품목의 단가와 수량이 필요합니다.", i + 1));
+            }
+            String currency = item.getCurrency() != null && !item.getCurrency().isEmpty() ? item.getCurrency() : fallbackCurrency;
+            String hsCode = item.getHsCode() != null ? item.getHsCode() : "";
+            currencies[i] = currency;
+            exchangeRates[i] = ratesByCurrency.computeIfAbsent(currency,
+                code -> new ResolvedRate(exchangeRateService.getExchangeRate(code), LandedCostBatch.RATE_SCALE));
+            taxRates[i] = taxRatesByHsCode.computeIfAbsent(hsCode, code -> new ResolvedRate[]{
+                new ResolvedRate(getTariffRate(code), LandedCostBatch.TAX_RATE_SCALE),
+                new ResolvedRate(getSpecialTaxRate(code), LandedCostBatch.TAX_RATE_SCALE)});
+            batch.add(LandedCostBatch.toFixed(item.getUnitPrice(), LandedCostBatch.PRICE_SCALE), item.getQuantity(),
+                exchangeRates[i].fixed, taxRates[i][0].fixed, taxRates[i][1].fixed);
+        }
+        
+        // 2. 관세, 특별소비세, 부가세, 면세 한도 - long 배열 계산
+        batch.compute(VAT_RATE_FIXED, DUTY_FREE_LIMIT_KRW, SMALL_AMOUNT_LIMIT_KRW);
+        
+        // 3. 줄별 결과 (범위를 벗어난 줄은 BigDecimal 계산)
+        List<TariffCalculationResult> lines = new ArrayList<>(size);
+        int fallbackLines = 0;
+        int krwScale = 0;
+        BigDecimal fallbackKrwValue = BigDecimal.ZERO;
+        BigDecimal fallbackTariff = BigDecimal.ZERO;
+        BigDecimal fallbackSpecialTax = BigDecimal.ZERO;
+        BigDecimal fallbackVat = BigDecimal.ZERO;
+        for (int i = 0; i < size; i++) {
+            TariffCalculationRequest item = items.get(i);
+            TariffCalculationResult line;
+            if (batch.isExact(i)) {
+                line = toResult(item, currencies[i], exchangeRates[i].value, taxRates[i][0].value, taxRates[i][1].value, batch, i);
+            } else {
+                line = calculate(item, currencies[i], exchangeRates[i].value, taxRates[i][0].value, taxRates[i][1].value);
+                fallbackLines++;
+                fallbackKrwValue = fallbackKrwValue.add(line.getKrwValue());
+                fallbackTariff = fallbackTariff.add(line.getTariffAmount());
+                fallbackSpecialTax = fallbackSpecialTax.add(line.getSpecialTaxAmount());
+                fallbackVat = fallbackVat.add(line.getVatAmount());
+            }
+            krwScale = Math.max(krwScale, line.getKrwValue().scale());
+            lines.add(line);
+        }
+        
+        // 4. 합계와 주문 단위 면세 한도
+        TariffBatchQuote quote = new TariffBatchQuote();
+        quote.setLines(lines);
+        quote.setItemCount(size);
+        quote.setFallbackLines(fallbackLines);
+        if (batch.isTotalsExact()) {
+            quote.setTotalKrwValue(BigDecimal.valueOf(batch.totalKrwValue(), LandedCostBatch.KRW_SCALE).add(fallbackKrwValue)
+                .setScale(krwScale, RoundingMode.UNNECESSARY));
+            quote.setTotalTariffAmount(BigDecimal.valueOf(batch.totalTariff()).add(fallbackTariff));
+            quote.setTotalSpecialTaxAmount(BigDecimal.valueOf(batch.totalSpecialTax()).add(fallbackSpecialTax));
+            quote.setTotalVatAmount(BigDecimal.valueOf(batch.totalVat()).add(fallbackVat));
+        } else {
+            BigDecimal totalKrwValue = BigDecimal.ZERO;
+            BigDecimal totalTariff = BigDecimal.ZERO;
+            BigDecimal totalSpecialTax = BigDecimal.ZERO;
+            BigDecimal totalVat = BigDecimal.ZERO;
+            for (TariffCalculationResult line : lines) {
+                totalKrwValue = totalKrwValue.add(line.getKrwValue());
+                totalTariff = totalTariff.add(line.getTariffAmount());
+                totalSpecialTax = totalSpecialTax.add(line.getSpecialTaxAmount());
+                totalVat = totalVat.add(line.getVatAmount());
+            }
+            quote.setTotalKrwValue(totalKrwValue.setScale(krwScale, RoundingMode.UNNECESSARY));
+            quote.setTotalTariffAmount(totalTariff);
+            quote.setTotalSpecialTaxAmount(totalSpecialTax);
+            quote.setTotalVatAmount(totalVat);
+        }
+        quote.setTotalTax(quote.getTotalTariffAmount().add(quote.getTotalSpecialTaxAmount()).add(quote.getTotalVatAmount()));
+        quote.setTotalAmount(quote.getTotalKrwValue().add(quote.getTotalTax()));
+        quote.setDutyFreeEligible(quote.getTotalKrwValue().compareTo(DUTY_FREE_LIMIT) <= 0);
+        quote.setSmallAmountExemption(quote.getTotalKrwValue().compareTo(SMALL_AMOUNT_LIMIT) <= 0);
+        
+        log.info("Batch tariff quote completed: {} items ({} currencies, {} HS codes, {} BigDecimal lines), total tax = {} KRW",
+            size, ratesByCurrency.size(), taxRatesByHsCode.size(), fallbackLines, quote.getTotalTax());
+        
+        return quote;
+    }
+    
+    /**
+     * 한 품목 BigDecimal 계산 (환율/세율은 조회된 값)
+     */
+    private TariffCalculationResult calculate(TariffCalculationRequest request, String currency, BigDecimal exchangeRate,
+                                              BigDecimal tariffRate, BigDecimal specialTaxRate) {
         TariffCalculationResult result = new TariffCalculationResult();
         result.setHsCode(request.getHsCode());
-        result.setCurrency(request.getCurrency());
+        result.setCurrency(currency);
         result.setQuantity(request.getQuantity());
         result.setUnitPrice(request.getUnitPrice());
         
@@ -59,13 +187,11 @@ public class TariffCalculationService {
         result.setTotalValue(totalValue);
         
         // 2. 환율 적용 (KRW로 변환)
-        BigDecimal exchangeRate = exchangeRateService.getExchangeRate(request.getCurrency());
         BigDecimal krwValue = totalValue.multiply(exchangeRate);
         result.setExchangeRate(exchangeRate);
         result.setKrwValue(krwValue);
         
-        // 3. 관세율 조회
-        BigDecimal tariffRate = getTariffRate(request.getHsCode());
+        // 3. 관세율
         result.setTariffRate(tariffRate);
         
         // 4. 관세 계산
@@ -77,7 +203,6 @@ public class TariffCalculationService {
         result.setCifValue(cifValue);
         
         // 6. 특별소비세 계산 (해당하는 경우)
-        BigDecimal specialTaxRate = getSpecialTaxRate(request.getHsCode());
         BigDecimal specialTaxAmount = BigDecimal.ZERO;
         if (specialTaxRate.compareTo(BigDecimal.ZERO) > 0) {
             specialTaxAmount = cifValue.multiply(specialTaxRate).divide(new BigDecimal("100"), 0, RoundingMode.HALF_UP);
@@ -102,8 +227,40 @@ public class TariffCalculationService {
         // 10. 면세 한도 체크
         checkDutyFreeLimit(result, krwValue);
         
-        log.info("Tariff calculation completed: Total tax = {} KRW", totalTax);
+        return result;
+    }
+    
+    /**
+     * 고정소수점 계산 결과를 calculate 와 같은 값/소수 자리의 결과로 변환
+     */
+    private TariffCalculationResult toResult(TariffCalculationRequest request, String currency, BigDecimal exchangeRate,
+                                             BigDecimal tariffRate, BigDecimal specialTaxRate, LandedCostBatch batch, int line) {
+        TariffCalculationResult result = new TariffCalculationResult();
+        result.setHsCode(request.getHsCode());
+        result.setCurrency(currency);
+        result.setQuantity(request.getQuantity());
+        result.setUnitPrice(request.getUnitPrice());
+        result.setTotalValue(BigDecimal.valueOf(batch.goodsValue(line), LandedCostBatch.PRICE_SCALE)
+            .setScale(request.getUnitPrice().scale(), RoundingMode.UNNECESSARY));
+        
+        BigDecimal krwValue = BigDecimal.valueOf(batch.krwValue(line), LandedCostBatch.KRW_SCALE)
+            .setScale(request.getUnitPrice().scale() + exchangeRate.scale(), RoundingMode.UNNECESSARY);
+        BigDecimal tariffAmount = BigDecimal.valueOf(batch.tariff(line));
+        BigDecimal totalTax = BigDecimal.valueOf(batch.totalTax(line));
+        result.setExchangeRate(exchangeRate);
+        result.setKrwValue(krwValue);
+        result.setTariffRate(tariffRate);
+        result.setTariffAmount(tariffAmount);
+        result.setCifValue(krwValue.add(tariffAmount));
+        result.setSpecialTaxRate(specialTaxRate);
+        result.setSpecialTaxAmount(BigDecimal.valueOf(batch.specialTax(line)));
+        result.setVatRate(VAT_RATE);
+        result.setVatAmount(BigDecimal.valueOf(batch.vat(line)));
+        result.setTotalTax(totalTax);
+        result.setTotalAmount(krwValue.add(totalTax));
         
+        byte exemption = batch.exemption(line);
+        applyDutyFreeLimit(result, exemption != LandedCostBatch.NO_EXEMPTION, exemption == LandedCostBatch.SMALL_AMOUNT);
         return result;
     }
     
@@ -152,10 +309,11 @@ public class TariffCalculationService {
      * 면세 한도 체크
      */
     private void checkDutyFreeLimit(TariffCalculationResult result, BigDecimal krwValue) {
-        // 개인 면세 한도: USD 600 (약 660,000원)
-        BigDecimal dutyFreeLimit = new BigDecimal("660000");
-        
-        if (krwValue.compareTo(dutyFreeLimit) <= 0) {
+        applyDutyFreeLimit(result, krwValue.compareTo(DUTY_FREE_LIMIT) <= 0, krwValue.compareTo(SMALL_AMOUNT_LIMIT) <= 0);
+    }
+    
+    private void applyDutyFreeLimit(TariffCalculationResult result, boolean dutyFree, boolean smallAmount) {
+        if (dutyFree) {
             result.setDutyFreeEligible(true);
             result.setDutyFreeMessage("면세 한도 내 물품입니다. (한도: 60만원)");
         } else {
@@ -163,14 +321,25 @@ public class TariffCalculationService {
             result.setDutyFreeMessage("면세 한도를 초과하여 관세가 부과됩니다.");
         }
         
-        // 소액 면세 (USD 150, 약 165,000원)
-        BigDecimal smallAmountLimit = new BigDecimal("165000");
-        if (krwValue.compareTo(smallAmountLimit) <= 0) {
+        if (smallAmount) {
             result.setSmallAmountExemption(true);
             result.setDutyFreeMessage("소액 면세 대상입니다. (15만원 이하)");
         }
     }
     
+    /**
+     * 배치 안에서 한 번만 조회한 환율/세율 (BigDecimal 값과 고정소수점 값)
+     */
+    private static final class ResolvedRate {
+        private final BigDecimal value;
+        private final long fixed;
+        
+        private ResolvedRate(BigDecimal value, int scale) {
+            this.value = value;
+            this.fixed = LandedCostBatch.toFixed(value, scale);
+        }
+    }
+    
     /**
      * 관세 계산 요청 DTO
      */
@@ -280,4 +449,55 @@ public class TariffCalculationService {
         public String getDutyFreeMessage() { return dutyFreeMessage; }
         public void setDutyFreeMessage(String dutyFreeMessage) { this.dutyFreeMessage = dutyFreeMessage; }
     }
+    
+    /**
+     * 일괄 관세 계산 결과 DTO (줄별 결과 + 합계, 면세 한도는 주문 합계 기준)
+     */
+    public static class TariffBatchQuote {
+        private List<TariffCalculationResult> lines;
+        private int itemCount;
+        private int fallbackLines; // 고정소수점 범위를 벗어나 BigDecimal 로 계산한 줄
+        private BigDecimal totalKrwValue;
+        private BigDecimal totalTariffAmount;
+        private BigDecimal totalSpecialTaxAmount;
+        private BigDecimal totalVatAmount;
+        private BigDecimal totalTax;
+        private BigDecimal totalAmount;
+        private boolean dutyFreeEligible;
+        private boolean smallAmountExemption;
+        
+        // Getters and Setters
+        public List<TariffCalculationResult> getLines() { return lines; }
+        public void setLines(List<TariffCalculationResult> lines) { this.lines = lines; }
+        
+        public int getItemCount() { return itemCount; }
+        public void setItemCount(int itemCount) { this.itemCount = itemCount; }
+        
+        public int getFallbackLines() { return fallbackLines; }
+        public void setFallbackLines(int fallbackLines) { this.fallbackLines = fallbackLines; }
+        
+        public BigDecimal getTotalKrwValue() { return totalKrwValue; }
+        public void setTotalKrwValue(BigDecimal totalKrwValue) { this.totalKrwValue = totalKrwValue; }
+        
+        public BigDecimal getTotalTariffAmount() { return totalTariffAmount; }
+        public void setTotalTariffAmount(BigDecimal totalTariffAmount) { this.totalTariffAmount = totalTariffAmount; }
+        
+        public BigDecimal getTotalSpecialTaxAmount() { return totalSpecialTaxAmount; }
+        public void setTotalSpecialTaxAmount(BigDecimal totalSpecialTaxAmount) { this.totalSpecialTaxAmount = totalSpecialTaxAmount; }
+        
+        public BigDecimal getTotalVatAmount() { return totalVatAmount; }
+        public void setTotalVatAmount(BigDecimal totalVatAmount) { this.totalVatAmount = totalVatAmount; }
+        
+        public BigDecimal getTotalTax() { return totalTax; }
+        public void setTotalTax(BigDecimal totalTax) { this.totalTax = totalTax; }
+        
+        public BigDecimal getTotalAmount() { return totalAmount; }
+        public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+        
+        public boolean isDutyFreeEligible() { return dutyFreeEligible; }
+        public void setDutyFreeEligible(boolean dutyFreeEligible) { this.dutyFreeEligible = dutyFreeEligible; }
+        
+        public boolean isSmallAmountExemption() { return smallAmountExemption; }
+        public void setSmallAmountExemption(boolean smallAmountExemption) { this.smallAmountExemption = smallAmountExemption; }
+    }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.ysc.lms.entity.EmailVerificationToken;
 import com.ysc.lms.exception.ResourceNotFoundException;
 import com.ysc.lms.repository.UserRepository;
 import com.ysc.lms.repository.EmailVerificationTokenRepository;
+import com.ysc.lms.statistics.StatisticsRecorder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -27,17 +28,20 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
     private final CodeGenerationService codeGenerationService;
+    private final StatisticsRecorder statisticsRecorder;
     
     public UserService(UserRepository userRepository, 
                       EmailVerificationTokenRepository tokenRepository,
                       @Lazy PasswordEncoder passwordEncoder,
                       @Lazy EmailService emailService,
-                      CodeGenerationService codeGenerationService) {
+                      CodeGenerationService codeGenerationService,
+                      StatisticsRecorder statisticsRecorder) {
         this.userRepository = userRepository;
         this.tokenRepository = tokenRepository;
         this.passwordEncoder = passwordEncoder;
         this.emailService = emailService;
         this.codeGenerationService = codeGenerationService;
+        this.statisticsRecorder = statisticsRecorder;
     }
     
     public User createUser(User user) {
@@ -70,7 +74,9 @@ public class UserService {
             user.setEmailVerified(false); // 기업/파트너는 이메일 인증 + 관리자 승인 필요
         }
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        statisticsRecorder.userCreated(savedUser);
+        return savedUser;
     }
     
     public Optional<User> findByEmail(String email) {
@@ -107,6 +113,7 @@ public class UserService {
             user.setMemberCode(memberCode);
         }
         
+        statisticsRecorder.userStatusChanged(user.getUserType(), User.UserStatus.PENDING, User.UserStatus.ACTIVE);
         return userRepository.save(user);
     }
     
@@ -123,6 +130,7 @@ public class UserService {
         user.setRejectionReason(reason);
         user.setUpdatedAt(LocalDateTime.now());
         
+        statisticsRecorder.userStatusChanged(user.getUserType(), User.UserStatus.PENDING, User.UserStatus.REJECTED);
         return userRepository.save(user);
     }
     
@@ -232,10 +240,12 @@ public class UserService {
         }
         
         // 사용자 상태를 DELETED로 변경 (실제 삭제 대신 소프트 삭제)
+        User.UserStatus previousStatus = user.getStatus();
         user.setStatus(User.UserStatus.DELETED);
         user.setDeletedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        statisticsRecorder.userStatusChanged(user.getUserType(), previousStatus, User.UserStatus.DELETED);
     }
     
     private Map<String, Boolean> parseNotifications(String settings) {
@@ -1,15 +1,21 @@
 package com.ysc.lms.service;
 
+import com.ysc.lms.dto.warehouse.InventoryStatusRow;
 import com.ysc.lms.entity.Order;
 import com.ysc.lms.entity.OrderBox;
 import com.ysc.lms.entity.ScanEvent;
+import com.ysc.lms.entity.StatCounter.CounterGroup;
 import com.ysc.lms.repository.OrderRepository;
 import com.ysc.lms.repository.ScanEventRepository;
+import com.ysc.lms.statistics.StatisticsRecorder;
+import com.ysc.lms.statistics.StatisticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -19,9 +25,14 @@ import java.util.*;
 @Slf4j
 public class WarehouseService {
     
+    public static final int DEFAULT_INVENTORY_PAGE_SIZE = 200;
+    private static final int MAX_INVENTORY_PAGE_SIZE = 1000;
+    
     private final OrderRepository orderRepository;
     private final ScanEventRepository scanEventRepository;
     private final QrCodeService qrCodeService;
+    private final StatisticsRecorder statisticsRecorder;
+    private final StatisticsService statisticsService;
     
     /**
      * 입고 스캔 처리
@@ -45,6 +56,7 @@ public class WarehouseService {
             }
             
             // 주문 상태 업데이트
+            Order.OrderStatus previousStatus = order.getStatus();
             order.setStatus(Order.OrderStatus.IN_WAREHOUSE);
             order.setUpdatedAt(LocalDateTime.now());
             orderRepository.save(order);
@@ -61,6 +73,8 @@ public class WarehouseService {
             scanEvent.setCreatedAt(LocalDateTime.now());
             
             scanEventRepository.save(scanEvent);
+            statisticsRecorder.orderStatusChanged(order, previousStatus);
+            statisticsRecorder.scanRecorded(ScanEvent.ScanType.INBOUND, scanEvent.getCreatedAt());
             
             log.info("Inbound scan completed for order: {}", order.getOrderNumber());
             
@@ -107,6 +121,7 @@ public class WarehouseService {
             }
             
             // 주문 상태 업데이트
+            Order.OrderStatus previousStatus = order.getStatus();
             order.setStatus(Order.OrderStatus.SHIPPED);
             order.setShippedAt(LocalDateTime.now());
             order.setUpdatedAt(LocalDateTime.now());
@@ -124,6 +139,8 @@ public class WarehouseService {
             scanEvent.setCreatedAt(LocalDateTime.now());
             
             scanEventRepository.save(scanEvent);
+            statisticsRecorder.orderStatusChanged(order, previousStatus);
+            statisticsRecorder.scanRecorded(ScanEvent.ScanType.OUTBOUND, scanEvent.getCreatedAt());
             
             log.info("Outbound scan completed for order: {}", order.getOrderNumber());
             
@@ -165,12 +182,15 @@ public class WarehouseService {
             scanEvent.setCreatedAt(LocalDateTime.now());
             
             scanEventRepository.save(scanEvent);
+            statisticsRecorder.scanRecorded(scanType, scanEvent.getCreatedAt());
             
             // 스캔 타입에 따른 추가 처리
             if (scanType == ScanEvent.ScanType.HOLD) {
+                Order.OrderStatus previousStatus = order.getStatus();
                 order.setStatus(Order.OrderStatus.HOLD);
                 order.setUpdatedAt(LocalDateTime.now());
                 orderRepository.save(order);
+                statisticsRecorder.orderStatusChanged(order, previousStatus);
             }
             
             log.info("Warehouse scan completed for order: {} with type: {}", order.getOrderNumber(), scanType);
@@ -314,57 +334,35 @@ public class WarehouseService {
     }
     
     /**
-     * 재고 현황 조회 (실제 데이터)
+     * 재고 현황 조회 (keyset 페이지)
+     * afterId 이후 주문을 id 순으로 size 건 조회 - 주문 수와 무관하게 페이지 크기만큼만 메모리 사용
      */
-    public Map<String, Object> getInventoryStatus(String warehouseId, String status) {
-        log.info("Getting inventory status for warehouse: {}, status: {}", warehouseId, status);
+    @Transactional(readOnly = true)
+    public Map<String, Object> getInventoryStatus(String warehouseId, String status, Long afterId, int size) {
+        log.info("Getting inventory status for warehouse: {}, status: {}, afterId: {}, size: {}",
+                warehouseId, status, afterId, size);
         
         try {
-            // 창고별 주문 수 통계
-            List<Order> orders;
-            if (status != null && !status.trim().isEmpty()) {
-                Order.OrderStatus orderStatus = Order.OrderStatus.valueOf(status.toUpperCase());
-                orders = orderRepository.findByStatus(orderStatus);
-            } else {
-                orders = orderRepository.findAll();
-            }
-            
-            // 상태별 그룹핑
-            Map<String, Integer> statusCounts = new HashMap<>();
-            List<Map<String, Object>> inventoryItems = new ArrayList<>();
-            
-            for (Order order : orders) {
-                String orderStatus = order.getStatus().toString();
-                statusCounts.put(orderStatus, statusCounts.getOrDefault(orderStatus, 0) + 1);
-                
-                Map<String, Object> item = new HashMap<>();
-                item.put("orderNumber", order.getOrderNumber());
-                item.put("status", orderStatus);
-                item.put("createdAt", order.getCreatedAt());
-                item.put("updatedAt", order.getUpdatedAt());
-                item.put("recipientName", order.getRecipientName());
-                item.put("orderType", order.getOrderType().toString());
-                
-                // 최근 스캔 이벤트 조회
-                List<ScanEvent> recentScans = scanEventRepository.findByOrderIdOrderByCreatedAtDesc(order.getId());
-                if (!recentScans.isEmpty()) {
-                    ScanEvent lastScan = recentScans.get(0);
-                    item.put("lastScanType", lastScan.getScanType().toString());
-                    item.put("lastScanLocation", lastScan.getLocation());
-                    item.put("lastScannedAt", lastScan.getCreatedAt());
-                    item.put("lastScannedBy", lastScan.getScannedBy());
-                }
-                
-                inventoryItems.add(item);
-            }
+            int pageSize = Math.max(1, Math.min(size, MAX_INVENTORY_PAGE_SIZE));
+            List<InventoryStatusRow> inventoryItems = getInventoryPage(status, afterId, pageSize);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("warehouseId", warehouseId);
             response.put("statusFilter", status);
             response.put("inventory", inventoryItems);
-            response.put("totalCount", inventoryItems.size());
-            response.put("statusCounts", statusCounts);
+            response.put("pageSize", pageSize);
+            response.put("hasMore", inventoryItems.size() == pageSize);
+            if (!inventoryItems.isEmpty()) {
+                response.put("nextCursor", inventoryItems.get(inventoryItems.size() - 1).getOrderId());
+            }
+            
+            // 상태별 건수는 첫 페이지에서만 집계 (GROUP BY 1회)
+            if (afterId == null) {
+                Map<String, Long> statusCounts = getOrderStatusCounts(status);
+                response.put("statusCounts", statusCounts);
+                response.put("totalCount", statusCounts.values().stream().mapToLong(Long::longValue).sum());
+            }
             response.put("queriedAt", LocalDateTime.now());
             
             return response;
@@ -375,52 +373,121 @@ public class WarehouseService {
         }
     }
     
+    /**
+     * 재고 상태 필터 파싱 (대소문자 무시) - 비어 있으면 null (전체 상태)
+     *
+     * @throws IllegalArgumentException 알 수 없는 상태값
+     */
+    public static Order.OrderStatus parseInventoryStatus(String status) {
+        if (status == null || status.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Order.OrderStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("유효하지 않은 주문 상태입니다: " + status);
+        }
+    }
+    
+    /**
+     * 재고 현황 한 페이지 - 주문 프로젝션 1회 + 최근 스캔 일괄 조회 1회
+     * 스트리밍 응답은 이 메서드를 페이지 단위 트랜잭션으로 반복 호출한다
+     */
+    @Transactional(readOnly = true)
+    public List<InventoryStatusRow> getInventoryPage(String status, Long afterId, int size) {
+        long cursor = afterId != null ? afterId : 0L;
+        PageRequest limit = PageRequest.of(0, size);
+        Order.OrderStatus orderStatus = parseInventoryStatus(status);
+        
+        List<InventoryStatusRow> rows;
+        if (orderStatus != null) {
+            rows = orderRepository.findInventoryRowsByStatusAfter(orderStatus, cursor, limit);
+        } else {
+            rows = orderRepository.findInventoryRowsAfter(cursor, limit);
+        }
+        
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        
+        Map<Long, InventoryStatusRow> rowsByOrderId = new HashMap<>(rows.size() * 2);
+        for (InventoryStatusRow row : rows) {
+            rowsByOrderId.put(row.getOrderId(), row);
+        }
+        
+        for (Object[] scan : scanEventRepository.findLatestScanRowsByOrderIds(rowsByOrderId.keySet())) {
+            InventoryStatusRow row = rowsByOrderId.get(((Number) scan[0]).longValue());
+            if (row == null) {
+                continue;
+            }
+            row.setLastScanType((String) scan[1]);
+            row.setLastScanLocation((String) scan[2]);
+            row.setLastScannedAt(toLocalDateTime(scan[3]));
+            row.setLastScannedBy((String) scan[4]);
+        }
+        
+        return rows;
+    }
+    
+    private Map<String, Long> getOrderStatusCounts(String status) {
+        Map<String, Long> statusCounts = new HashMap<>();
+        for (Object[] row : orderRepository.getOrderStatusStats(null, null, null)) {
+            String orderStatus = row[0].toString();
+            if (status == null || status.trim().isEmpty() || orderStatus.equalsIgnoreCase(status.trim())) {
+                statusCounts.put(orderStatus, ((Number) row[1]).longValue());
+            }
+        }
+        return statusCounts;
+    }
+    
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime;
+        }
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof java.time.OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toLocalDateTime();
+        }
+        if (value instanceof java.time.Instant instant) {
+            return LocalDateTime.ofInstant(instant, java.time.ZoneId.systemDefault());
+        }
+        throw new IllegalArgumentException("Unsupported timestamp type: " + value.getClass());
+    }
+    
     /**
      * 창고 대시보드 통계
+     * stat_counters 집계 행만 읽으므로 주문/스캔 건수와 무관하게 일정한 비용
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getWarehouseStats() {
         log.info("Getting warehouse dashboard statistics");
         
         try {
             LocalDateTime now = LocalDateTime.now();
-            LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
-            LocalDateTime startOfWeek = now.minusDays(now.getDayOfWeek().getValue() - 1).toLocalDate().atStartOfDay();
-            LocalDateTime startOfMonth = now.withDayOfMonth(1).toLocalDate().atStartOfDay();
-            
-            // 전체 주문 통계
-            List<Order> allOrders = orderRepository.findAll();
-            Map<String, Integer> statusCounts = new HashMap<>();
+            LocalDate today = now.toLocalDate();
+            LocalDate startOfWeek = today.minusDays(today.getDayOfWeek().getValue() - 1);
+            LocalDate startOfMonth = today.withDayOfMonth(1);
             
-            for (Order order : allOrders) {
-                String status = order.getStatus().toString();
-                statusCounts.put(status, statusCounts.getOrDefault(status, 0) + 1);
-            }
+            // 전체 주문 통계 (건수 0 인 상태는 제외)
+            Map<String, Long> statusCounts = nonZero(statisticsService.getCounts(CounterGroup.ORDER_STATUS));
             
             // 스캔 이벤트 통계
-            List<ScanEvent> todayScans = scanEventRepository.findByDateRange(startOfDay, now);
-            List<ScanEvent> weekScans = scanEventRepository.findByDateRange(startOfWeek, now);
-            List<ScanEvent> monthScans = scanEventRepository.findByDateRange(startOfMonth, now);
-            
-            Map<String, Integer> todayScanTypes = new HashMap<>();
-            Map<String, Integer> weekScanTypes = new HashMap<>();
-            
-            for (ScanEvent scan : todayScans) {
-                String type = scan.getScanType().toString();
-                todayScanTypes.put(type, todayScanTypes.getOrDefault(type, 0) + 1);
-            }
-            
-            for (ScanEvent scan : weekScans) {
-                String type = scan.getScanType().toString();
-                weekScanTypes.put(type, weekScanTypes.getOrDefault(type, 0) + 1);
-            }
+            Map<String, Long> todayScanTypes = nonZero(statisticsService.getDailyCounts(CounterGroup.SCAN_TYPE_DAILY, today, today));
+            Map<String, Long> weekScanTypes = nonZero(statisticsService.getDailyCounts(CounterGroup.SCAN_TYPE_DAILY, startOfWeek, today));
+            Map<String, Long> monthScanTypes = statisticsService.getDailyCounts(CounterGroup.SCAN_TYPE_DAILY, startOfMonth, today);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("totalOrders", allOrders.size());
+            response.put("totalOrders", StatisticsService.sum(statusCounts));
             response.put("orderStatusCounts", statusCounts);
-            response.put("todayScans", todayScans.size());
-            response.put("weekScans", weekScans.size());
-            response.put("monthScans", monthScans.size());
+            response.put("todayScans", StatisticsService.sum(todayScanTypes));
+            response.put("weekScans", StatisticsService.sum(weekScanTypes));
+            response.put("monthScans", StatisticsService.sum(monthScanTypes));
             response.put("todayScanTypes", todayScanTypes);
             response.put("weekScanTypes", weekScanTypes);
             response.put("generatedAt", now);
@@ -433,6 +500,16 @@ public class WarehouseService {
         }
     }
     
+    private static Map<String, Long> nonZero(Map<String, Long> counts) {
+        Map<String, Long> result = new HashMap<>();
+        counts.forEach((key, count) -> {
+            if (count > 0) {
+                result.put(key, count);
+            }
+        });
+        return result;
+    }
+    
     /**
      * 처리 대기 목록
      */
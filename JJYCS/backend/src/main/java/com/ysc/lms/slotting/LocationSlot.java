@@ -0,0 +1,177 @@
+package com.ysc.lms.slotting;
+
+import com.ysc.lms.entity.StorageLocation;
+import com.ysc.lms.entity.StorageLocation.AccessType;
+import com.ysc.lms.entity.StorageLocation.LocationStatus;
+import com.ysc.lms.entity.StorageLocation.TemperatureZone;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 적치 인덱스에 들어가는 위치 스냅샷 (불변)
+ * 잔여 중량은 g, 잔여 부피는 cm³ 정수로 보관해 정렬/비교에 BigDecimal 연산을 쓰지 않는다
+ */
+@Getter
+public final class LocationSlot {
+
+    /** maxWeight/maxVolume 이 없는 위치의 잔여량 */
+    static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final Long id;
+    private final String locationCode;
+    private final TemperatureZone temperatureZone;
+    private final AccessType accessType;
+    private final LocationStatus status;
+    private final boolean active;
+    private final LocalDateTime reservedUntil;
+    private final long remainingWeightGrams;
+    private final long remainingVolumeCm3;
+    /** 셀 내부 치수(cm) 오름차순 - 치수 정보가 없으면 null (크기 제한 없음) */
+    @Getter(AccessLevel.NONE)
+    private final double[] sortedDimensions;
+    private final double x;
+    private final double y;
+    private final double z;
+
+    public LocationSlot(Long id, String locationCode, TemperatureZone temperatureZone, AccessType accessType,
+                        LocationStatus status, boolean active, LocalDateTime reservedUntil,
+                        long remainingWeightGrams, long remainingVolumeCm3, double[] sortedDimensions,
+                        double x, double y, double z) {
+        this.id = id;
+        this.locationCode = locationCode;
+        this.temperatureZone = temperatureZone;
+        this.accessType = accessType;
+        this.status = status;
+        this.active = active;
+        this.reservedUntil = reservedUntil;
+        this.remainingWeightGrams = remainingWeightGrams;
+        this.remainingVolumeCm3 = remainingVolumeCm3;
+        this.sortedDimensions = sortedDimensions;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public static LocationSlot of(StorageLocation location) {
+        return new LocationSlot(
+            location.getId(),
+            location.getLocationCode(),
+            location.getTemperatureZone() != null ? location.getTemperatureZone() : TemperatureZone.NORMAL,
+            location.getAccessType() != null ? location.getAccessType() : AccessType.MANUAL,
+            location.getStatus(),
+            Boolean.TRUE.equals(location.getIsActive()),
+            location.getReservedUntil(),
+            remaining(location.getMaxWeight(), location.getCurrentWeight(), 3),
+            remaining(location.getMaxVolume(), location.getCurrentVolume(), 6),
+            sortedDimensions(location.getWidth(), location.getHeight(), location.getDepth()),
+            toDouble(location.getXCoordinate()),
+            toDouble(location.getYCoordinate()),
+            toDouble(location.getZCoordinate()));
+    }
+
+    /**
+     * 적치 후보 여부 - 활성 상태의 빈/부분 적재 위치, 또는 예약이 만료된 위치
+     */
+    public boolean isOpen(LocalDateTime now) {
+        if (!active) {
+            return false;
+        }
+        switch (status) {
+            case AVAILABLE:
+            case OCCUPIED:
+                return reservedUntil == null || now.isAfter(reservedUntil);
+            case RESERVED:
+                return reservedUntil != null && now.isAfter(reservedUntil);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 예약 후보 여부 - 빈 위치 또는 예약이 만료된 위치 (부분 적재 위치는 예약하지 않고 바로 적치)
+     */
+    public boolean isReservable(LocalDateTime now) {
+        return status != LocationStatus.OCCUPIED && isOpen(now);
+    }
+
+    /**
+     * 상자(cm, kg)를 지금 받을 수 있는지 - 부피/중량/치수(회전 허용)/상태
+     */
+    public boolean accepts(double widthCm, double heightCm, double depthCm, double weightKg, LocalDateTime now) {
+        double[] box = {widthCm, heightCm, depthCm};
+        Arrays.sort(box);
+        return remainingVolumeCm3 >= volumeCm3(widthCm, heightCm, depthCm)
+            && accepts(box, weightGrams(weightKg), now);
+    }
+
+    /**
+     * 부피 조건은 인덱스 범위 조회로 이미 만족한 상태에서 나머지 조건 검사
+     */
+    boolean accepts(double[] sortedBox, long weightGrams, LocalDateTime now) {
+        return remainingWeightGrams >= weightGrams && fitsDimensions(sortedBox) && isOpen(now);
+    }
+
+    static long volumeCm3(double widthCm, double heightCm, double depthCm) {
+        return (long) Math.ceil(widthCm * heightCm * depthCm);
+    }
+
+    static long weightGrams(double weightKg) {
+        return (long) Math.ceil(weightKg * 1_000);
+    }
+
+    /**
+     * 상자가 회전을 허용해 셀 안에 들어가는지 (상자 치수도 오름차순)
+     */
+    private boolean fitsDimensions(double[] sortedBox) {
+        if (sortedDimensions == null) {
+            return true;
+        }
+        for (int i = 0; i < 3; i++) {
+            if (sortedBox[i] > sortedDimensions[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 인덱스에 둘 수 있는 상태인지 (만료 가능한 예약 위치 포함, 정비/차단/폐기 제외)
+     */
+    boolean isIndexable() {
+        return active && (status == LocationStatus.AVAILABLE || status == LocationStatus.OCCUPIED
+            || status == LocationStatus.RESERVED);
+    }
+
+    /**
+     * @param digits 정수 단위 변환 자릿수 (kg → g: 3, m³ → cm³: 6)
+     */
+    private static long remaining(BigDecimal max, BigDecimal current, int digits) {
+        if (max == null) {
+            return UNLIMITED;
+        }
+        BigDecimal used = current != null ? current : BigDecimal.ZERO;
+        return Math.max(0, max.subtract(used).movePointRight(digits).longValue());
+    }
+
+    private static double[] sortedDimensions(BigDecimal width, BigDecimal height, BigDecimal depth) {
+        if (width == null || height == null || depth == null) {
+            return null;
+        }
+        double[] dimensions = {width.doubleValue(), height.doubleValue(), depth.doubleValue()};
+        Arrays.sort(dimensions);
+        return dimensions;
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return locationCode + "#" + id;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ysc.lms.slotting;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 위치 적재량/상태 변경 (slot 이 null 이면 삭제) - 커밋 후 인덱스에 반영
+ */
+@Getter
+@AllArgsConstructor
+public class LocationSlotChanged {
+
+    private final Long locationId;
+    private final LocationSlot slot;
+}
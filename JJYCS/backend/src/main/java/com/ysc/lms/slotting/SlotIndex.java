@@ -0,0 +1,147 @@
+package com.ysc.lms.slotting;
+
+import com.ysc.lms.entity.StorageLocation.AccessType;
+import com.ysc.lms.entity.StorageLocation.TemperatureZone;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 온도 구역 x 접근 방식별 잔여 부피 오름차순 위치 인덱스
+ *
+ * 상자 부피 이상 남은 첫 위치를 skip list 에서 O(log n) 으로 찾고, 거기서부터 중량/치수 조건을 만족하는 위치가
+ * 나올 때까지 앞으로 나아간다 (best-fit: 들어가는 위치 중 잔여 부피가 가장 작은 곳).
+ * 조회는 잠금 없이 수행하고, 갱신은 위치 단위로 직렬화해 id 맵과 정렬 집합이 같은 스냅샷을 가리키게 한다.
+ */
+public final class SlotIndex {
+
+    private static final Comparator<LocationSlot> BY_REMAINING_VOLUME =
+        Comparator.comparingLong(LocationSlot::getRemainingVolumeCm3).thenComparing(LocationSlot::getId);
+
+    private final Map<TemperatureZone, Map<AccessType, NavigableSet<LocationSlot>>> groups = new EnumMap<>(TemperatureZone.class);
+    private final Map<Long, LocationSlot> byId = new ConcurrentHashMap<>();
+
+    public SlotIndex() {
+        for (TemperatureZone zone : TemperatureZone.values()) {
+            Map<AccessType, NavigableSet<LocationSlot>> byAccess = new EnumMap<>(AccessType.class);
+            for (AccessType accessType : AccessType.values()) {
+                byAccess.put(accessType, new ConcurrentSkipListSet<>(BY_REMAINING_VOLUME));
+            }
+            groups.put(zone, byAccess);
+        }
+    }
+
+    public SlotIndex(Collection<LocationSlot> slots) {
+        this();
+        slots.forEach(this::upsert);
+    }
+
+    /**
+     * 위치 스냅샷 반영 - 정비/차단 등 적치 불가 상태면 인덱스에서 뺀다
+     */
+    public synchronized void upsert(LocationSlot slot) {
+        LocationSlot previous = byId.remove(slot.getId());
+        if (previous != null) {
+            setOf(previous).remove(previous);
+        }
+        if (slot.isIndexable()) {
+            byId.put(slot.getId(), slot);
+            setOf(slot).add(slot);
+        }
+    }
+
+    public synchronized void remove(Long locationId) {
+        LocationSlot previous = byId.remove(locationId);
+        if (previous != null) {
+            setOf(previous).remove(previous);
+        }
+    }
+
+    public LocationSlot get(Long locationId) {
+        return byId.get(locationId);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * 상자(cm, kg)가 들어가는 위치 중 잔여 부피가 가장 작은 곳
+     *
+     * @param accessType null 이면 모든 접근 방식
+     * @return 없으면 null
+     */
+    public LocationSlot findBest(TemperatureZone zone, AccessType accessType,
+                                 double widthCm, double heightCm, double depthCm, double weightKg, LocalDateTime now) {
+        List<LocationSlot> found = find(zone, accessType, widthCm, heightCm, depthCm, weightKg, now, 1);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * 들어가는 위치를 잔여 부피 오름차순으로 최대 limit 개
+     */
+    public List<LocationSlot> find(TemperatureZone zone, AccessType accessType,
+                                   double widthCm, double heightCm, double depthCm, double weightKg,
+                                   LocalDateTime now, int limit) {
+        return find(zone, accessType, widthCm, heightCm, depthCm, weightKg, now, limit, false);
+    }
+
+    /**
+     * 들어가는 위치 중 예약 가능한 곳(LocationSlot.isReservable)만 잔여 부피 오름차순으로 최대 limit 개
+     */
+    public List<LocationSlot> findReservable(TemperatureZone zone, AccessType accessType,
+                                             double widthCm, double heightCm, double depthCm, double weightKg,
+                                             LocalDateTime now, int limit) {
+        return find(zone, accessType, widthCm, heightCm, depthCm, weightKg, now, limit, true);
+    }
+
+    private List<LocationSlot> find(TemperatureZone zone, AccessType accessType,
+                                    double widthCm, double heightCm, double depthCm, double weightKg,
+                                    LocalDateTime now, int limit, boolean reservableOnly) {
+        double[] box = {widthCm, heightCm, depthCm};
+        Arrays.sort(box);
+        long volumeCm3 = LocationSlot.volumeCm3(widthCm, heightCm, depthCm);
+        long weightGrams = LocationSlot.weightGrams(weightKg);
+        LocationSlot probe = new LocationSlot(Long.MIN_VALUE, null, zone, null, null, false, null,
+            0, volumeCm3, null, 0, 0, 0);
+
+        Map<AccessType, NavigableSet<LocationSlot>> byAccess = groups.get(zone);
+        if (accessType != null) {
+            return collect(byAccess.get(accessType).tailSet(probe, true), box, weightGrams, now, limit, reservableOnly);
+        }
+        // 접근 방식별 후보를 잔여 부피 순으로 합친다 (접근 방식 수만큼의 작은 병합)
+        List<LocationSlot> merged = new ArrayList<>();
+        for (NavigableSet<LocationSlot> slots : byAccess.values()) {
+            merged.addAll(collect(slots.tailSet(probe, true), box, weightGrams, now, limit, reservableOnly));
+        }
+        merged.sort(BY_REMAINING_VOLUME);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    private static List<LocationSlot> collect(NavigableSet<LocationSlot> candidates, double[] sortedBox,
+                                              long weightGrams, LocalDateTime now, int limit, boolean reservableOnly) {
+        List<LocationSlot> found = new ArrayList<>(Math.min(limit, 16));
+        for (LocationSlot slot : candidates) {
+            if (slot.accepts(sortedBox, weightGrams, now) && (!reservableOnly || slot.isReservable(now))) {
+                found.add(slot);
+                if (found.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    private NavigableSet<LocationSlot> setOf(LocationSlot slot) {
+        return groups.get(slot.getTemperatureZone()).get(slot.getAccessType());
+    }
+}
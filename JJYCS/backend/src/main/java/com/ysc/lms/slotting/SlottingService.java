@@ -0,0 +1,165 @@
+package com.ysc.lms.slotting;
+
+import com.ysc.lms.dto.warehouse.PutAwayRequest;
+import com.ysc.lms.entity.StorageLocation;
+import com.ysc.lms.repository.StorageLocationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 적치(put-away) 위치 추천
+ *
+ * 기동 시 활성 셀 전체를 SlotIndex 로 적재하고, 이후에는 StorageLocationSlotListener 가 발행한 변경을 커밋 후 반영한다.
+ * 일괄 SQL 등 엔티티를 거치지 않은 변경은 주기적 재적재(rebuild-interval-ms)로 보정하며,
+ * 재적재 중 들어온 변경은 모아 두었다가 새 인덱스에 다시 반영한다.
+ */
+@Service
+@Slf4j
+public class SlottingService {
+
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private final StorageLocationRepository storageLocationRepository;
+    private final int defaultSuggestions;
+    private final int defaultReserveMinutes;
+    private volatile SlotIndex index = new SlotIndex();
+    private List<LocationSlotChanged> changesDuringRebuild;
+
+    public SlottingService(StorageLocationRepository storageLocationRepository,
+                           @Value("${app.slotting.default-suggestions:5}") int defaultSuggestions,
+                           @Value("${app.slotting.default-reserve-minutes:30}") int defaultReserveMinutes) {
+        this.storageLocationRepository = storageLocationRepository;
+        this.defaultSuggestions = defaultSuggestions;
+        this.defaultReserveMinutes = defaultReserveMinutes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.slotting.rebuild-interval-ms:600000}",
+               initialDelayString = "${app.slotting.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * DB 기준 인덱스 재적재
+     */
+    public void rebuild() {
+        synchronized (this) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        long started = System.nanoTime();
+        try {
+            List<LocationSlot> slots = new ArrayList<>();
+            for (StorageLocation location : storageLocationRepository.findByLocationTypeAndIsActiveTrue(StorageLocation.LocationType.CELL)) {
+                slots.add(LocationSlot.of(location));
+            }
+            SlotIndex rebuilt = new SlotIndex(slots);
+            synchronized (this) {
+                changesDuringRebuild.forEach(change -> apply(rebuilt, change));
+                changesDuringRebuild = null;
+                index = rebuilt;
+            }
+            log.info("Slotting index rebuilt: {} open cells in {} ms", rebuilt.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringRebuild = null;
+            }
+            log.warn("Slotting index rebuild failed, keeping previous index: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onLocationChanged(LocationSlotChanged change) {
+        apply(index, change);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    /**
+     * 상자가 들어가는 위치를 잔여 부피가 작은 순으로 추천 (best-fit)
+     */
+    public List<LocationSlot> suggest(PutAwayRequest request) {
+        validate(request);
+        int limit = request.getLimit() != null ? Math.min(Math.max(1, request.getLimit()), MAX_SUGGESTIONS) : defaultSuggestions;
+        return index.find(request.getTemperatureZone(), request.getAccessType(),
+            request.getWidthCm(), request.getHeightCm(), request.getDepthCm(), request.getWeightKg(),
+            LocalDateTime.now(), limit);
+    }
+
+    /**
+     * 예약 가능한 위치(빈 위치, 만료된 예약) 중 잔여 부피가 가장 작은 곳을 잠금 후 예약
+     * 추천 개수 제한과 무관하게 예약 가능한 후보만 최대 MAX_SUGGESTIONS 개까지 보고, 다른 요청이 먼저 가져간 위치는 건너뛴다
+     */
+    @Transactional
+    public Optional<StorageLocation> reserveBest(PutAwayRequest request) {
+        if (request.getReservedBy() == null || request.getReservedBy().isBlank()) {
+            throw new IllegalArgumentException("예약자가 필요합니다.");
+        }
+        validate(request);
+        int minutes = request.getReserveMinutes() != null ? request.getReserveMinutes() : defaultReserveMinutes;
+        LocalDateTime now = LocalDateTime.now();
+        List<LocationSlot> candidates = index.findReservable(request.getTemperatureZone(), request.getAccessType(),
+            request.getWidthCm(), request.getHeightCm(), request.getDepthCm(), request.getWeightKg(), now, MAX_SUGGESTIONS);
+        for (LocationSlot candidate : candidates) {
+            Optional<StorageLocation> locked = storageLocationRepository.findByIdForUpdate(candidate.getId());
+            if (locked.isEmpty()) {
+                continue;
+            }
+            StorageLocation location = locked.get();
+            // 인덱스는 커밋 후 반영되므로 잠근 행 기준으로 다시 확인
+            LocationSlot current = LocationSlot.of(location);
+            if (!current.isReservable(now) || !current.accepts(request.getWidthCm(), request.getHeightCm(),
+                    request.getDepthCm(), request.getWeightKg(), now)) {
+                continue;
+            }
+            if (location.getStatus() == StorageLocation.LocationStatus.RESERVED) {
+                location.cancelReservation(); // 만료된 예약
+            }
+            location.reserve(request.getReservedBy(), now.plusMinutes(minutes));
+            return Optional.of(location);
+        }
+        return Optional.empty();
+    }
+
+    public int indexedLocations() {
+        return index.size();
+    }
+
+    private static void apply(SlotIndex target, LocationSlotChanged change) {
+        if (change.getSlot() == null) {
+            target.remove(change.getLocationId());
+        } else {
+            target.upsert(change.getSlot());
+        }
+    }
+
+    private static void validate(PutAwayRequest request) {
+        if (request.getWidthCm() == null || request.getHeightCm() == null || request.getDepthCm() == null
+            || request.getWidthCm() <= 0 || request.getHeightCm() <= 0 || request.getDepthCm() <= 0) {
+            throw new IllegalArgumentException("상자 치수(cm)가 필요합니다.");
+        }
+        if (request.getWeightKg() == null || request.getWeightKg() < 0) {
+            throw new IllegalArgumentException("상자 중량(kg)이 필요합니다.");
+        }
+        if (request.getTemperatureZone() == null) {
+            request.setTemperatureZone(StorageLocation.TemperatureZone.NORMAL);
+        }
+    }
+}
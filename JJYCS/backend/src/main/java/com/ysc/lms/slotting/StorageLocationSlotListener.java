@@ -0,0 +1,34 @@
+package com.ysc.lms.slotting;
+
+import com.ysc.lms.entity.StorageLocation;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * StorageLocation 엔티티 리스너 - 적재(addLoad/removeLoad), 예약(reserve/cancelReservation),
+ * 상태 변경이 flush 될 때마다 스냅샷을 이벤트로 발행한다
+ * 인덱스 반영은 SlottingService 가 커밋 후 수행하므로 롤백된 변경은 인덱스에 남지 않는다
+ */
+@Component
+@RequiredArgsConstructor
+public class StorageLocationSlotListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(StorageLocation location) {
+        // 적치 대상은 셀 단위 위치만 - 유형이 바뀐 위치는 인덱스에서 뺀다
+        LocationSlot slot = location.getLocationType() == StorageLocation.LocationType.CELL ? LocationSlot.of(location) : null;
+        eventPublisher.publishEvent(new LocationSlotChanged(location.getId(), slot));
+    }
+
+    @PostRemove
+    public void onRemoved(StorageLocation location) {
+        eventPublisher.publishEvent(new LocationSlotChanged(location.getId(), null));
+    }
+}
@@ -0,0 +1,19 @@
+package com.ysc.lms.statistics;
+
+import com.ysc.lms.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 엔티티를 거치지 않고 반영된 주문 상태 전환 (JDBC 배치 경로의 통계 기록 / 상태 변경 알림용)
+ */
+@Getter
+@AllArgsConstructor
+public class OrderStatusChange {
+
+    private final Long orderId;
+    private final String orderNumber;
+    private final Long userId;
+    private final Order.OrderStatus previousStatus;
+    private final Order.OrderStatus newStatus;
+}
@@ -0,0 +1,51 @@
+package com.ysc.lms.statistics;
+
+import com.ysc.lms.entity.StatCounter;
+import com.ysc.lms.repository.StatCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * stat_counters 반영 (호출자와 분리된 새 트랜잭션)
+ * 최초 행 생성 경합 시 DataIntegrityViolationException 이 발생하며 호출자가 재시도한다
+ */
+@Component
+@RequiredArgsConstructor
+public class StatCounterWriter {
+
+    private final StatCounterRepository statCounterRepository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void apply(StatisticsDelta delta) {
+        LocalDateTime now = LocalDateTime.now();
+        for (StatisticsDelta.Entry entry : delta.getEntries()) {
+            int updated = statCounterRepository.increment(entry.getCounterKey(), entry.getDelta(), now);
+            if (updated == 0) {
+                statCounterRepository.saveAndFlush(new StatCounter(
+                    entry.getGroup(), entry.getDimension(), entry.getBucketDate(), entry.getDelta()));
+            }
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void overwrite(Collection<StatCounter> counters) {
+        LocalDateTime now = LocalDateTime.now();
+        for (StatCounter counter : counters) {
+            int updated = statCounterRepository.overwrite(counter.getCounterKey(), counter.getCountValue(), now);
+            if (updated == 0 && counter.getCountValue() != 0) {
+                statCounterRepository.saveAndFlush(counter);
+            }
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int purgeDailyBefore(LocalDate before) {
+        return statCounterRepository.deleteDailyBefore(before);
+    }
+}
@@ -0,0 +1,40 @@
+package com.ysc.lms.statistics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 원 트랜잭션 커밋 후 통계 증감 반영
+ * 롤백된 쓰기는 집계되지 않으며, 반영 실패분은 StatisticsService 재집계가 보정한다
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsCounterListener {
+
+    private final StatCounterWriter statCounterWriter;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatisticsDelta(StatisticsDelta delta) {
+        try {
+            statCounterWriter.apply(delta);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 트랜잭션이 같은 카운터 행을 먼저 생성한 경우 - 이제 UPDATE 로 반영됨
+            retry(delta);
+        } catch (Exception e) {
+            log.warn("Failed to apply statistics delta, will be corrected by reconciliation: {}", e.getMessage());
+        }
+    }
+
+    private void retry(StatisticsDelta delta) {
+        try {
+            statCounterWriter.apply(delta);
+        } catch (Exception e) {
+            log.warn("Retry of statistics delta failed, will be corrected by reconciliation: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ysc.lms.statistics;
+
+import com.ysc.lms.entity.StatCounter;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 하나의 쓰기 트랜잭션이 만든 통계 카운터 증감 묶음 (커밋 후 반영)
+ * 키 순서로 정렬해 반영하므로 동시 트랜잭션 간 행 잠금 순서가 일정하다
+ */
+public class StatisticsDelta {
+
+    private final Map<String, Entry> entries = new TreeMap<>();
+
+    public StatisticsDelta add(StatCounter.CounterGroup group, String dimension, LocalDate bucketDate, long delta) {
+        if (dimension == null || delta == 0) {
+            return this;
+        }
+        String key = StatCounter.keyOf(group, dimension, bucketDate);
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry(k, group, dimension, bucketDate));
+        entry.delta += delta;
+        if (entry.delta == 0) {
+            entries.remove(key);
+        }
+        return this;
+    }
+
+    public StatisticsDelta add(StatCounter.CounterGroup group, String dimension, long delta) {
+        return add(group, dimension, null, delta);
+    }
+
+    public Collection<Entry> getEntries() {
+        return entries.values();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    @Getter
+    public static class Entry {
+        private final String counterKey;
+        private final StatCounter.CounterGroup group;
+        private final String dimension;
+        private final LocalDate bucketDate;
+        private long delta;
+
+        Entry(String counterKey, StatCounter.CounterGroup group, String dimension, LocalDate bucketDate) {
+            this.counterKey = counterKey;
+            this.group = group;
+            this.dimension = dimension;
+            this.bucketDate = bucketDate;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.ysc.lms.statistics;
+
+import com.ysc.lms.dashboard.UserOrderActivity;
+import com.ysc.lms.entity.Order;
+import com.ysc.lms.entity.ScanEvent;
+import com.ysc.lms.entity.StatCounter.CounterGroup;
+import com.ysc.lms.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 쓰기 경로에서 호출하는 통계 기록기
+ * 증감을 이벤트로 발행하고, 실제 반영은 트랜잭션 커밋 후 StatisticsCounterListener 가 수행한다
+ * 주문 이벤트는 사용자 대시보드 요약(UserDashboardService)에도 전달된다
+ */
+@Component
+@RequiredArgsConstructor
+public class StatisticsRecorder {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void orderCreated(Order order) {
+        LocalDate createdDate = order.getCreatedAt() != null ? order.getCreatedAt().toLocalDate() : LocalDate.now();
+        publish(new StatisticsDelta()
+            .add(CounterGroup.ORDER_STATUS, nameOf(order.getStatus()), 1)
+            .add(CounterGroup.ORDER_SHIPPING_TYPE, nameOf(order.getShippingType()), 1)
+            .add(CounterGroup.ORDER_CREATED_DAILY, "ALL", createdDate, 1));
+        eventPublisher.publishEvent(new UserOrderActivity(
+            userIdOf(order), null, order.getStatus(), order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now()));
+    }
+
+    /**
+     * 대량 생성된 주문 - 카운터 증감은 1건, 대시보드 이벤트는 사용자/상태별 1건으로 합쳐 발행
+     */
+    public void ordersCreated(Collection<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        StatisticsDelta delta = new StatisticsDelta();
+        Map<Long, Map<Order.OrderStatus, List<Order>>> byUser = new LinkedHashMap<>();
+        for (Order order : orders) {
+            LocalDate createdDate = order.getCreatedAt() != null ? order.getCreatedAt().toLocalDate() : LocalDate.now();
+            delta.add(CounterGroup.ORDER_STATUS, nameOf(order.getStatus()), 1)
+                .add(CounterGroup.ORDER_SHIPPING_TYPE, nameOf(order.getShippingType()), 1)
+                .add(CounterGroup.ORDER_CREATED_DAILY, "ALL", createdDate, 1);
+            Long userId = userIdOf(order);
+            if (userId != null) {
+                byUser.computeIfAbsent(userId, id -> new EnumMap<>(Order.OrderStatus.class))
+                    .computeIfAbsent(order.getStatus(), status -> new ArrayList<>())
+                    .add(order);
+            }
+        }
+        publish(delta);
+
+        byUser.forEach((userId, byStatus) -> byStatus.forEach((status, userOrders) -> {
+            LocalDateTime occurredAt = userOrders.stream()
+                .map(Order::getCreatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElseGet(LocalDateTime::now);
+            eventPublisher.publishEvent(new UserOrderActivity(userId, null, status, occurredAt, userOrders.size()));
+        }));
+    }
+
+    public void orderStatusChanged(Order order, Order.OrderStatus previousStatus) {
+        Order.OrderStatus newStatus = order.getStatus();
+        if (previousStatus == newStatus) {
+            return;
+        }
+        publish(new StatisticsDelta()
+            .add(CounterGroup.ORDER_STATUS, nameOf(previousStatus), -1)
+            .add(CounterGroup.ORDER_STATUS, nameOf(newStatus), 1));
+        eventPublisher.publishEvent(new UserOrderActivity(
+            userIdOf(order), previousStatus, newStatus, LocalDateTime.now()));
+    }
+
+    public void orderShippingTypeChanged(Order.ShippingType previousType, Order.ShippingType newType) {
+        if (previousType == newType) {
+            return;
+        }
+        publish(new StatisticsDelta()
+            .add(CounterGroup.ORDER_SHIPPING_TYPE, nameOf(previousType), -1)
+            .add(CounterGroup.ORDER_SHIPPING_TYPE, nameOf(newType), 1));
+    }
+
+    public void scanRecorded(ScanEvent.ScanType scanType, LocalDateTime scannedAt) {
+        LocalDate scanDate = scannedAt != null ? scannedAt.toLocalDate() : LocalDate.now();
+        publish(new StatisticsDelta()
+            .add(CounterGroup.SCAN_TYPE_DAILY, nameOf(scanType), scanDate, 1));
+    }
+
+    /**
+     * 스캔 배치 반영 결과 - 스캔 종류별 건수와 주문 상태 전환을 카운터 증감 1건으로 합쳐 발행
+     * 대시보드 이벤트는 사용자/전환별로 묶어 발행
+     */
+    public void scanBatchRecorded(Map<ScanEvent.ScanType, Integer> scanCounts, List<OrderStatusChange> statusChanges,
+                                  LocalDateTime recordedAt) {
+        LocalDate scanDate = recordedAt.toLocalDate();
+        StatisticsDelta delta = new StatisticsDelta();
+        scanCounts.forEach((scanType, count) -> delta.add(CounterGroup.SCAN_TYPE_DAILY, nameOf(scanType), scanDate, count));
+
+        Map<Long, Map<List<Order.OrderStatus>, Integer>> byUser = new LinkedHashMap<>();
+        for (OrderStatusChange change : statusChanges) {
+            if (change.getPreviousStatus() == change.getNewStatus()) {
+                continue;
+            }
+            delta.add(CounterGroup.ORDER_STATUS, nameOf(change.getPreviousStatus()), -1)
+                .add(CounterGroup.ORDER_STATUS, nameOf(change.getNewStatus()), 1);
+            if (change.getUserId() != null) {
+                byUser.computeIfAbsent(change.getUserId(), id -> new LinkedHashMap<>())
+                    .merge(Arrays.asList(change.getPreviousStatus(), change.getNewStatus()), 1, Integer::sum);
+            }
+        }
+        publish(delta);
+
+        byUser.forEach((userId, transitions) -> transitions.forEach((transition, count) ->
+            eventPublisher.publishEvent(new UserOrderActivity(userId, transition.get(0), transition.get(1), recordedAt, count))));
+    }
+
+    public void userCreated(User user) {
+        LocalDate createdDate = user.getCreatedAt() != null ? user.getCreatedAt().toLocalDate() : LocalDate.now();
+        publish(new StatisticsDelta()
+            .add(CounterGroup.USER_TYPE_STATUS, userDimension(user.getUserType(), user.getStatus()), 1)
+            .add(CounterGroup.USER_CREATED_DAILY, "ALL", createdDate, 1));
+    }
+
+    public void userStatusChanged(User.UserType userType, User.UserStatus previousStatus, User.UserStatus newStatus) {
+        if (previousStatus == newStatus) {
+            return;
+        }
+        publish(new StatisticsDelta()
+            .add(CounterGroup.USER_TYPE_STATUS, userDimension(userType, previousStatus), -1)
+            .add(CounterGroup.USER_TYPE_STATUS, userDimension(userType, newStatus), 1));
+    }
+
+    static String userDimension(User.UserType userType, User.UserStatus status) {
+        if (userType == null || status == null) {
+            return null;
+        }
+        return userType.name() + ":" + status.name();
+    }
+
+    private void publish(StatisticsDelta delta) {
+        if (!delta.isEmpty()) {
+            eventPublisher.publishEvent(delta);
+        }
+    }
+
+    private static Long userIdOf(Order order) {
+        if (order.getUserId() != null) {
+            return order.getUserId();
+        }
+        return order.getUser() != null ? order.getUser().getId() : null;
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
@@ -0,0 +1,179 @@
+package com.ysc.lms.statistics;
+
+import com.ysc.lms.entity.Order;
+import com.ysc.lms.entity.ScanEvent;
+import com.ysc.lms.entity.StatCounter;
+import com.ysc.lms.entity.StatCounter.CounterGroup;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.repository.OrderRepository;
+import com.ysc.lms.repository.ScanEventRepository;
+import com.ysc.lms.repository.StatCounterRepository;
+import com.ysc.lms.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 대시보드 통계 조회 및 주기적 재집계
+ * 조회는 stat_counters 의 소수 행만 읽고, 재집계는 원본 테이블 GROUP BY/COUNT 로 카운터를 덮어쓴다
+ */
+@Service
+@Slf4j
+public class StatisticsService {
+
+    private final StatCounterRepository statCounterRepository;
+    private final StatCounterWriter statCounterWriter;
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final ScanEventRepository scanEventRepository;
+    private final int reconcileDays;
+    private final int retentionDays;
+
+    public StatisticsService(StatCounterRepository statCounterRepository,
+                             StatCounterWriter statCounterWriter,
+                             OrderRepository orderRepository,
+                             UserRepository userRepository,
+                             ScanEventRepository scanEventRepository,
+                             @Value("${app.statistics.reconcile-days:35}") int reconcileDays,
+                             @Value("${app.statistics.retention-days:400}") int retentionDays) {
+        this.statCounterRepository = statCounterRepository;
+        this.statCounterWriter = statCounterWriter;
+        this.orderRepository = orderRepository;
+        this.userRepository = userRepository;
+        this.scanEventRepository = scanEventRepository;
+        this.reconcileDays = reconcileDays;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * 누적 카운터 (dimension -> count)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> getCounts(CounterGroup group) {
+        Map<String, Long> counts = new HashMap<>();
+        for (StatCounter counter : statCounterRepository.findByCounterGroup(group)) {
+            counts.merge(counter.getDimension(), counter.getCountValue(), Long::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * 일별 카운터 기간 합계 (dimension -> count, 양 끝 날짜 포함)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> getDailyCounts(CounterGroup group, LocalDate fromDate, LocalDate toDate) {
+        Map<String, Long> counts = new HashMap<>();
+        for (StatCounter counter : statCounterRepository.findByCounterGroupAndBucketDateBetween(group, fromDate, toDate)) {
+            counts.merge(counter.getDimension(), counter.getCountValue(), Long::sum);
+        }
+        return counts;
+    }
+
+    public static long sum(Map<String, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * "TYPE:STATUS" 형태 dimension 을 앞/뒤 구성요소 기준으로 합산
+     */
+    public static Map<String, Long> sumByPart(Map<String, Long> counts, int partIndex) {
+        Map<String, Long> result = new HashMap<>();
+        counts.forEach((dimension, count) -> {
+            String[] parts = dimension.split(":");
+            if (parts.length > partIndex) {
+                result.merge(parts[partIndex], count, Long::sum);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 재집계 - 커밋 후 반영 실패, 다른 쓰기 경로(관리자 일괄 변경 등)로 인한 오차를 보정
+     */
+    @Scheduled(fixedDelayString = "${app.statistics.reconcile-interval-ms:600000}",
+               initialDelayString = "${app.statistics.reconcile-initial-delay-ms:30000}")
+    public void reconcile() {
+        long startTime = System.currentTimeMillis();
+        try {
+            List<StatCounter> counters = new ArrayList<>();
+
+            Map<String, Long> orderStatus = new HashMap<>();
+            for (Order.OrderStatus status : Order.OrderStatus.values()) {
+                orderStatus.put(status.name(), 0L);
+            }
+            mergeGrouped(orderStatus, orderRepository.getOrderStatusStats(null, null, null));
+            collect(counters, CounterGroup.ORDER_STATUS, null, orderStatus);
+
+            Map<String, Long> shippingType = new HashMap<>();
+            for (Order.ShippingType type : Order.ShippingType.values()) {
+                shippingType.put(type.name(), 0L);
+            }
+            mergeGrouped(shippingType, orderRepository.getShippingTypeStats(null, null, null));
+            collect(counters, CounterGroup.ORDER_SHIPPING_TYPE, null, shippingType);
+
+            Map<String, Long> userTypeStatus = zeroedExisting(CounterGroup.USER_TYPE_STATUS);
+            for (Object[] row : userRepository.countGroupByUserTypeAndStatus()) {
+                String dimension = StatisticsRecorder.userDimension((User.UserType) row[0], (User.UserStatus) row[1]);
+                if (dimension != null) {
+                    userTypeStatus.put(dimension, ((Number) row[2]).longValue());
+                }
+            }
+            collect(counters, CounterGroup.USER_TYPE_STATUS, null, userTypeStatus);
+
+            LocalDate today = LocalDate.now();
+            for (int i = 0; i < reconcileDays; i++) {
+                LocalDate day = today.minusDays(i);
+                LocalDateTime from = day.atStartOfDay();
+                LocalDateTime to = day.plusDays(1).atStartOfDay();
+
+                collect(counters, CounterGroup.ORDER_CREATED_DAILY, day,
+                        Map.of("ALL", orderRepository.countByCreatedAtBetween(from, to)));
+                collect(counters, CounterGroup.USER_CREATED_DAILY, day,
+                        Map.of("ALL", userRepository.countByCreatedAtBetween(from, to)));
+
+                Map<String, Long> scanTypes = new HashMap<>();
+                for (ScanEvent.ScanType type : ScanEvent.ScanType.values()) {
+                    scanTypes.put(type.name(), 0L);
+                }
+                mergeGrouped(scanTypes, scanEventRepository.countByScanTypeBetween(from, to));
+                collect(counters, CounterGroup.SCAN_TYPE_DAILY, day, scanTypes);
+            }
+
+            statCounterWriter.overwrite(counters);
+            statCounterWriter.purgeDailyBefore(today.minusDays(retentionDays));
+
+            log.info("Statistics counters reconciled: {} counters in {}ms",
+                    counters.size(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("Statistics reconciliation failed", e);
+        }
+    }
+
+    private Map<String, Long> zeroedExisting(CounterGroup group) {
+        Map<String, Long> counts = new HashMap<>();
+        for (StatCounter counter : statCounterRepository.findByCounterGroup(group)) {
+            counts.put(counter.getDimension(), 0L);
+        }
+        return counts;
+    }
+
+    private static void mergeGrouped(Map<String, Long> target, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                target.put(row[0].toString(), ((Number) row[1]).longValue());
+            }
+        }
+    }
+
+    private static void collect(List<StatCounter> counters, CounterGroup group, LocalDate bucketDate,
+                                Map<String, Long> values) {
+        values.forEach((dimension, value) ->
+                counters.add(new StatCounter(group, dimension, bucketDate, value != null ? value : 0L)));
+    }
+}
@@ -0,0 +1,214 @@
+package com.ysc.lms.tariff;
+
+import java.math.BigDecimal;
+
+/**
+ * 주문 품목들의 관세/특별소비세/부가세 일괄 계산 (열 단위 long 배열, 고정소수점)
+ *
+ * 단가는 소수 2자리, 환율은 소수 6자리(RateTable 과 같음), 세율은 0.1% 단위 정수로 받고 원화 금액은 소수 8자리로 계산한다.
+ * 세액은 기존 BigDecimal 계산과 같이 세목마다 원 단위 HALF_UP 반올림이므로 결과가 같다.
+ * 고정소수점으로 표현되지 않거나 long 범위를 넘는 줄은 isExact(i) == false 로 남기고 호출 측이 BigDecimal 로 계산한다.
+ */
+public final class LandedCostBatch {
+
+    public static final int PRICE_SCALE = 2;
+    public static final int RATE_SCALE = 6;
+    public static final int TAX_RATE_SCALE = 1;
+    public static final int KRW_SCALE = PRICE_SCALE + RATE_SCALE;
+    /** toFixed 로 표현할 수 없는 값 */
+    public static final long NOT_FIXED = Long.MIN_VALUE;
+
+    public static final byte NO_EXEMPTION = 0;
+    public static final byte DUTY_FREE = 1;
+    public static final byte SMALL_AMOUNT = 2;
+
+    static final long KRW_UNIT = 100_000_000L;
+    /** 금액(1e-8원) × 세율(0.1%) → 원 */
+    private static final long TAX_DIVISOR = 1_000L * KRW_UNIT;
+
+    private final long[] unitPrice;
+    private final int[] quantity;
+    private final long[] exchangeRate;
+    private final long[] tariffRate;
+    private final long[] specialTaxRate;
+    private final boolean[] exact;
+
+    private final long[] krwValue;
+    private final long[] tariff;
+    private final long[] specialTax;
+    private final long[] vat;
+    private final byte[] exemption;
+
+    private int size;
+    private boolean totalsExact;
+    private long totalKrwValue;
+    private long totalTariff;
+    private long totalSpecialTax;
+    private long totalVat;
+
+    public LandedCostBatch(int capacity) {
+        unitPrice = new long[capacity];
+        quantity = new int[capacity];
+        exchangeRate = new long[capacity];
+        tariffRate = new long[capacity];
+        specialTaxRate = new long[capacity];
+        exact = new boolean[capacity];
+        krwValue = new long[capacity];
+        tariff = new long[capacity];
+        specialTax = new long[capacity];
+        vat = new long[capacity];
+        exemption = new byte[capacity];
+    }
+
+    /**
+     * value × 10^scale 이 정수로 떨어지면 그 값, 아니면 NOT_FIXED
+     */
+    public static long toFixed(BigDecimal value, int scale) {
+        try {
+            return value.movePointRight(scale).longValueExact();
+        } catch (ArithmeticException e) {
+            return NOT_FIXED;
+        }
+    }
+
+    /**
+     * 품목 한 줄 추가 - 인자 중 하나라도 NOT_FIXED 면 그 줄은 고정소수점 계산에서 빠진다
+     *
+     * @return 줄 번호
+     */
+    public int add(long unitPrice, int quantity, long exchangeRate, long tariffRate, long specialTaxRate) {
+        int line = size++;
+        this.unitPrice[line] = unitPrice;
+        this.quantity[line] = quantity;
+        this.exchangeRate[line] = exchangeRate;
+        this.tariffRate[line] = tariffRate;
+        this.specialTaxRate[line] = specialTaxRate;
+        this.exact[line] = unitPrice != NOT_FIXED && exchangeRate != NOT_FIXED
+            && tariffRate != NOT_FIXED && specialTaxRate != NOT_FIXED;
+        return line;
+    }
+
+    /**
+     * 전 줄 계산 - 원화 환산, 관세, 과세가격(CIF), 특별소비세, 부가세, 면세 한도 구분과 합계
+     *
+     * @param vatRate             부가세율 (0.1% 단위)
+     * @param dutyFreeLimitKrw    면세 한도 (원, 이하면 면세)
+     * @param smallAmountLimitKrw 소액 면세 한도 (원)
+     */
+    public void compute(long vatRate, long dutyFreeLimitKrw, long smallAmountLimitKrw) {
+        long dutyFreeLimit = dutyFreeLimitKrw * KRW_UNIT;
+        long smallAmountLimit = smallAmountLimitKrw * KRW_UNIT;
+        for (int i = 0; i < size; i++) {
+            if (!exact[i]) {
+                continue;
+            }
+            try {
+                long krw = Math.multiplyExact(Math.multiplyExact(unitPrice[i], quantity[i]), exchangeRate[i]);
+                long tariffAmount = taxOf(krw, tariffRate[i]);
+                long cif = Math.addExact(krw, Math.multiplyExact(tariffAmount, KRW_UNIT));
+                long specialTaxAmount = specialTaxRate[i] > 0 ? taxOf(cif, specialTaxRate[i]) : 0;
+                long vatAmount = taxOf(Math.addExact(cif, Math.multiplyExact(specialTaxAmount, KRW_UNIT)), vatRate);
+
+                krwValue[i] = krw;
+                tariff[i] = tariffAmount;
+                specialTax[i] = specialTaxAmount;
+                vat[i] = vatAmount;
+                exemption[i] = krw <= smallAmountLimit ? SMALL_AMOUNT : krw <= dutyFreeLimit ? DUTY_FREE : NO_EXEMPTION;
+            } catch (ArithmeticException e) {
+                exact[i] = false;
+            }
+        }
+        sumTotals();
+    }
+
+    private void sumTotals() {
+        totalKrwValue = 0;
+        totalTariff = 0;
+        totalSpecialTax = 0;
+        totalVat = 0;
+        try {
+            for (int i = 0; i < size; i++) {
+                if (exact[i]) {
+                    totalKrwValue = Math.addExact(totalKrwValue, krwValue[i]);
+                    totalTariff = Math.addExact(totalTariff, tariff[i]);
+                    totalSpecialTax = Math.addExact(totalSpecialTax, specialTax[i]);
+                    totalVat = Math.addExact(totalVat, vat[i]);
+                }
+            }
+            totalsExact = true;
+        } catch (ArithmeticException e) {
+            totalsExact = false;
+        }
+    }
+
+    /**
+     * amount(1e-8원) × rate(0.1%) 를 원 단위로 HALF_UP (BigDecimal.divide(100, 0, HALF_UP) 과 같음)
+     */
+    static long taxOf(long amount, long rate) {
+        long product = Math.multiplyExact(amount, rate);
+        long half = TAX_DIVISOR / 2;
+        return product >= 0
+            ? Math.addExact(product, half) / TAX_DIVISOR
+            : -(Math.addExact(Math.negateExact(product), half) / TAX_DIVISOR);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isExact(int line) {
+        return exact[line];
+    }
+
+    /** 단가 × 수량 (소수 PRICE_SCALE 자리, isExact 인 줄만) */
+    public long goodsValue(int line) {
+        return unitPrice[line] * quantity[line];
+    }
+
+    /** 원화 환산 물품가격 (소수 KRW_SCALE 자리) */
+    public long krwValue(int line) {
+        return krwValue[line];
+    }
+
+    public long tariff(int line) {
+        return tariff[line];
+    }
+
+    public long specialTax(int line) {
+        return specialTax[line];
+    }
+
+    public long vat(int line) {
+        return vat[line];
+    }
+
+    public long totalTax(int line) {
+        return tariff[line] + specialTax[line] + vat[line];
+    }
+
+    public byte exemption(int line) {
+        return exemption[line];
+    }
+
+    /** 합계가 long 범위 안이면 true - false 면 호출 측이 줄별 결과를 더한다 */
+    public boolean isTotalsExact() {
+        return totalsExact;
+    }
+
+    /** isExact 인 줄의 원화 물품가격 합계 (소수 KRW_SCALE 자리) */
+    public long totalKrwValue() {
+        return totalKrwValue;
+    }
+
+    public long totalTariff() {
+        return totalTariff;
+    }
+
+    public long totalSpecialTax() {
+        return totalSpecialTax;
+    }
+
+    public long totalVat() {
+        return totalVat;
+    }
+}
@@ -0,0 +1,80 @@
+package com.ysc.lms.tracking;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * 택배사별 서킷 브레이커
+ * 연속 실패가 임계치에 도달하면 일정 시간 조회를 막고, 이후 단 한 건의 시험 조회 결과로 복구/재차단을 결정한다
+ * 차단 중에 끝난 이전 조회 결과는 상태를 바꾸지 않는다
+ */
+final class CarrierCircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    CarrierCircuitBreaker(int failureThreshold, long openSeconds) {
+        this(failureThreshold, openSeconds, System::nanoTime);
+    }
+
+    CarrierCircuitBreaker(int failureThreshold, long openSeconds, LongSupplier nanoClock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 조회 허용 여부 - 차단 시간이 지난 뒤에는 한 호출자만 시험 조회로 통과한다
+     */
+    boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    void onSuccess() {
+        if (state.compareAndSet(State.HALF_OPEN, State.CLOSED) || state.get() == State.CLOSED) {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    void onFailure() {
+        State current = state.get();
+        if (current == State.HALF_OPEN) {
+            open(State.HALF_OPEN);
+        } else if (current == State.CLOSED && consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open(State.CLOSED);
+        }
+    }
+
+    /**
+     * 통과시킨 시험 조회를 보내지 못한 경우 - 차단 상태로 되돌려 다음 호출자가 바로 다시 시험 조회하게 한다
+     */
+    void onAbandoned() {
+        state.compareAndSet(State.HALF_OPEN, State.OPEN);
+    }
+
+    State getState() {
+        return state.get();
+    }
+
+    private void open(State from) {
+        openedAt = nanoClock.getAsLong();
+        if (state.compareAndSet(from, State.OPEN)) {
+            consecutiveFailures.set(0);
+        }
+    }
+}
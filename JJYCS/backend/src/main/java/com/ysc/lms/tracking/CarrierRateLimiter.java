@@ -0,0 +1,46 @@
+package com.ysc.lms.tracking;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 택배사별 초당 요청 상한 - 요청마다 다음 허용 시각을 예약하고 그때까지 대기한다 (버스트 없이 균등 간격)
+ * ratePerSecond 가 0 이하이면 제한하지 않는다
+ */
+final class CarrierRateLimiter {
+
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextSlot;
+
+    CarrierRateLimiter(double ratePerSecond) {
+        this(ratePerSecond, System::nanoTime);
+    }
+
+    CarrierRateLimiter(double ratePerSecond, LongSupplier nanoClock) {
+        this.intervalNanos = ratePerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : 0L;
+        this.nanoClock = nanoClock;
+        this.nextSlot = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    void acquire() throws InterruptedException {
+        long wait = reserve();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * 다음 허용 시각 예약
+     * @return 예약한 시각까지 남은 대기 시간 (ns)
+     */
+    long reserve() {
+        if (intervalNanos == 0) {
+            return 0L;
+        }
+        long now = nanoClock.getAsLong();
+        long previous = nextSlot.getAndAccumulate(now, (next, current) -> Math.max(next, current) + intervalNanos);
+        return Math.max(previous, now) - now;
+    }
+}
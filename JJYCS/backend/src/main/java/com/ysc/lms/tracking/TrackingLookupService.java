@@ -0,0 +1,242 @@
+package com.ysc.lms.tracking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ysc.lms.entity.Parcel;
+import com.ysc.lms.repository.ParcelRepository;
+import com.ysc.lms.service.CarrierApiService;
+import com.ysc.lms.service.CarrierApiService.TrackingResult;
+import com.ysc.lms.service.ParcelTrackingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 고객 조회용 송장 추적 읽기 경로 (논블로킹)
+ *
+ * 같은 (택배사, 송장번호)에 대한 진행 중 조회는 하나의 택배사 요청을 공유하고, 결과는 추적 상태별 신선도 기간
+ * (배송 중은 짧게, 배송 완료는 길게) 동안 캐시한다. 신선도 기간이 지난 결과는 stale-seconds 동안 그대로 응답하며
+ * 백그라운드에서 한 번만 재조회한다. 택배사별 동시 요청 수도 제한하므로 조회 트래픽과 무관하게 택배사 호출량이 제한된다.
+ */
+@Service
+@Slf4j
+public class TrackingLookupService {
+
+    private static final String THROTTLED_MESSAGE = "조회 요청이 많아 잠시 후 다시 시도해주세요.";
+    private static final String INVALID_FORMAT_MESSAGE = "송장번호 형식이 올바르지 않습니다.";
+    private static final Set<String> SUPPORTED_CARRIERS = Set.of("CJ", "HANJIN", "LOTTE", "POST");
+
+    private final CarrierApiService carrierApiService;
+    private final ParcelRepository parcelRepository;
+    private final Cache<String, CachedTracking> cache;
+    private final Map<String, Mono<CachedTracking>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> carrierCalls = new ConcurrentHashMap<>();
+    private final long inTransitTtlMillis;
+    private final long deliveredTtlMillis;
+    private final long notFoundTtlMillis;
+    private final long errorTtlMillis;
+    private final long staleMillis;
+    private final int maxInFlightPerCarrier;
+    private final Duration timeout;
+
+    public TrackingLookupService(CarrierApiService carrierApiService,
+                                 ParcelRepository parcelRepository,
+                                 @Value("${app.tracking.read.in-transit-ttl-seconds:300}") long inTransitTtlSeconds,
+                                 @Value("${app.tracking.read.delivered-ttl-seconds:86400}") long deliveredTtlSeconds,
+                                 @Value("${app.tracking.read.not-found-ttl-seconds:600}") long notFoundTtlSeconds,
+                                 @Value("${app.tracking.read.error-ttl-seconds:30}") long errorTtlSeconds,
+                                 @Value("${app.tracking.read.stale-seconds:3600}") long staleSeconds,
+                                 @Value("${app.tracking.read.max-entries:100000}") long maxEntries,
+                                 @Value("${app.tracking.read.max-in-flight-per-carrier:32}") int maxInFlightPerCarrier,
+                                 @Value("${app.tracking.read.timeout-seconds:10}") long timeoutSeconds) {
+        this.carrierApiService = carrierApiService;
+        this.parcelRepository = parcelRepository;
+        this.inTransitTtlMillis = TimeUnit.SECONDS.toMillis(inTransitTtlSeconds);
+        this.deliveredTtlMillis = TimeUnit.SECONDS.toMillis(deliveredTtlSeconds);
+        this.notFoundTtlMillis = TimeUnit.SECONDS.toMillis(notFoundTtlSeconds);
+        this.errorTtlMillis = TimeUnit.SECONDS.toMillis(errorTtlSeconds);
+        this.staleMillis = TimeUnit.SECONDS.toMillis(staleSeconds);
+        this.maxInFlightPerCarrier = Math.max(1, maxInFlightPerCarrier);
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfter(new StaleWindowExpiry())
+            .build();
+    }
+
+    /**
+     * 택배사 코드와 송장번호 형식 확인 - 형식이 틀린 조회는 택배사 호출/캐시/택배사별 카운터에 닿지 않는다
+     */
+    public static boolean isValidRequest(String carrier, String trackingNumber) {
+        if (carrier == null || trackingNumber == null) {
+            return false;
+        }
+        String code = carrier.trim().toUpperCase(Locale.ROOT);
+        return SUPPORTED_CARRIERS.contains(code) && ParcelTrackingService.isValidFormat(code, trackingNumber.trim());
+    }
+
+    /**
+     * 송장 단건 추적 조회
+     */
+    public Mono<TrackingView> lookup(String carrier, String trackingNumber) {
+        if (!isValidRequest(carrier, trackingNumber)) {
+            String code = carrier == null ? null : carrier.trim().toUpperCase(Locale.ROOT);
+            String number = trackingNumber == null ? null : trackingNumber.trim();
+            return Mono.just(CachedTracking.uncached(TrackingResult.error(INVALID_FORMAT_MESSAGE)).view(code, number, false));
+        }
+        String code = carrier.trim().toUpperCase(Locale.ROOT);
+        String number = trackingNumber.trim();
+        String key = code + ":" + number;
+
+        CachedTracking cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (System.currentTimeMillis() < cached.freshUntil) {
+                return Mono.just(cached.view(code, number, false));
+            }
+            // stale-while-revalidate - 진행 중인 재조회가 있으면 합류만 한다
+            load(code, number, key).subscribe(
+                refreshed -> { },
+                e -> log.debug("Tracking revalidation failed for {}: {}", key, e.getMessage()));
+            return Mono.just(cached.view(code, number, true));
+        }
+        return load(code, number, key).map(loaded -> loaded.view(code, number, false));
+    }
+
+    /**
+     * 주문의 전체 송장 추적 조회 - 송장별 조회를 병렬로 합쳐 송장 등록 순서대로 반환
+     */
+    public Mono<List<TrackingView>> lookupOrder(Long orderId) {
+        return Mono.fromCallable(() -> parcelRepository.findByOrderId(orderId))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMapMany(Flux::fromIterable)
+            .flatMapSequential(this::lookupParcel)
+            .collectList();
+    }
+
+    private Mono<TrackingView> lookupParcel(Parcel parcel) {
+        return lookup(parcel.getCarrier(), parcel.getTrackingNumber())
+            .map(view -> view.withParcelId(parcel.getId()));
+    }
+
+    /**
+     * 키당 하나의 택배사 요청만 진행 - 완료 전에 들어온 호출자는 같은 결과를 공유한다
+     * 완료 시 자신이 등록한 요청일 때만 제거해, 그 사이 새로 등록된 같은 키의 요청을 지우지 않는다
+     */
+    private Mono<CachedTracking> load(String carrier, String trackingNumber, String key) {
+        return inFlight.computeIfAbsent(key, k -> {
+            AtomicReference<Mono<CachedTracking>> self = new AtomicReference<>();
+            Mono<CachedTracking> shared = Mono.defer(() -> fetch(carrier, trackingNumber, k))
+                .doFinally(signal -> inFlight.remove(k, self.get()))
+                .cache();
+            self.set(shared);
+            return shared;
+        });
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Mono<CachedTracking> fetch(String carrier, String trackingNumber, String key) {
+        AtomicInteger calls = carrierCalls.computeIfAbsent(carrier, k -> new AtomicInteger());
+        if (calls.incrementAndGet() > maxInFlightPerCarrier) {
+            calls.decrementAndGet();
+            // 캐시하지 않음 - 이전 결과가 있으면 호출 측은 stale 결과를 이미 응답했다
+            return Mono.just(CachedTracking.uncached(TrackingResult.error(THROTTLED_MESSAGE)));
+        }
+        return Mono.defer(() -> carrierApiService.fetchTrackingInfo(carrier, trackingNumber))
+            .timeout(timeout)
+            .onErrorResume(e -> {
+                log.warn("Tracking lookup failed for {}: {}", key, e.getMessage());
+                return Mono.just(TrackingResult.error("택배사 조회에 실패했습니다. 잠시 후 다시 시도해주세요."));
+            })
+            .map(result -> store(key, result))
+            .doFinally(signal -> calls.decrementAndGet());
+    }
+
+    private CachedTracking store(String key, TrackingResult result) {
+        long now = System.currentTimeMillis();
+        boolean failed = !result.isSuccess() && !result.isNotFound();
+        if (failed) {
+            // 마지막 정상 결과가 남아 있으면 오류로 덮어쓰지 않고 그대로 응답
+            CachedTracking previous = cache.getIfPresent(key);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        long ttl = failed ? errorTtlMillis
+            : result.isNotFound() ? notFoundTtlMillis
+            : TrackingRefreshEngine.isDelivered(result.getStatus()) ? deliveredTtlMillis
+            : inTransitTtlMillis;
+        CachedTracking entry = new CachedTracking(result, now, now + ttl, now + ttl + (failed ? 0L : staleMillis));
+        cache.put(key, entry);
+        return entry;
+    }
+
+    private static final class CachedTracking {
+        private final TrackingResult result;
+        private final long fetchedAt;
+        private final long freshUntil;
+        private final long staleUntil;
+
+        private CachedTracking(TrackingResult result, long fetchedAt, long freshUntil, long staleUntil) {
+            this.result = result;
+            this.fetchedAt = fetchedAt;
+            this.freshUntil = freshUntil;
+            this.staleUntil = staleUntil;
+        }
+
+        static CachedTracking uncached(TrackingResult result) {
+            long now = System.currentTimeMillis();
+            return new CachedTracking(result, now, now, now);
+        }
+
+        TrackingView view(String carrier, String trackingNumber, boolean stale) {
+            return new TrackingView(null, carrier, trackingNumber, result.isSuccess(), result.isNotFound(),
+                result.getStatus(), result.getLocation(), result.getTime(), result.getDetails(), result.getErrorMessage(),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(fetchedAt), ZoneId.systemDefault()), stale);
+        }
+    }
+
+    /**
+     * 항목별 만료 = stale 기간 종료 시각 (신선도 판단은 조회 시 freshUntil 로 한다)
+     */
+    private static final class StaleWindowExpiry implements Expiry<String, CachedTracking> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedTracking value, long currentTime) {
+            return remainingNanos(value);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedTracking value, long currentTime, long currentDuration) {
+            return remainingNanos(value);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedTracking value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private long remainingNanos(CachedTracking value) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, value.staleUntil - System.currentTimeMillis()));
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package com.ysc.lms.tracking;
+
+import com.ysc.lms.entity.Parcel.ValidationStatus;
+import com.ysc.lms.repository.ParcelRepository;
+import com.ysc.lms.service.CarrierApiService;
+import com.ysc.lms.service.CarrierApiService.TrackingResult;
+import com.ysc.lms.service.ParcelTrackingService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 택배 추적 갱신 엔진
+ *
+ * 조회 시각이 도래한 택배를 송장번호 기준으로 중복 제거한 뒤 택배사별로 나눠, 택배사마다 max-concurrency 개의
+ * 드레이너가 공용 풀에서 자기 택배사 대기열만 소비한다. 각 조회는 서킷 브레이커를 먼저 확인하고(차단 중이면 요청 상한
+ * 슬롯을 쓰지 않고 미룸) 택배사별 초당 요청 상한을 거치며,
+ * 결과는 조회와 병행해 호출 스레드가 write-batch-size 단위로 JDBC 배치 반영한다.
+ * 다음 조회 시각은 마지막 상태 변경 후 경과 시간에 비례해 늘어난다 (min~max-interval-minutes).
+ */
+@Service
+@Slf4j
+public class TrackingRefreshEngine {
+
+    private static final List<ValidationStatus> TRACKED_STATUSES = List.of(
+        ValidationStatus.PENDING, ValidationStatus.VALID, ValidationStatus.IN_PROGRESS, ValidationStatus.ERROR);
+
+    private static final String INVALID_FORMAT_MESSAGE = "송장번호 형식이 올바르지 않습니다.";
+
+    private final ParcelRepository parcelRepository;
+    private final CarrierApiService carrierApiService;
+    private final TrackingUpdateWriter updateWriter;
+    private final Environment environment;
+    private final ThreadPoolExecutor executor;
+    private final boolean enabled;
+    private final int maxParcelsPerSweep;
+    private final long initialDelayMinutes;
+    private final int writeBatchSize;
+    private final long minIntervalMinutes;
+    private final long maxIntervalMinutes;
+    private final double intervalAgeFactor;
+    private final long failureRetryMinutes;
+    private final int breakerFailureThreshold;
+    private final long breakerOpenSeconds;
+    private final int defaultMaxConcurrency;
+    private final double defaultRatePerSecond;
+    private final Map<String, CarrierCircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<String, CarrierRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public TrackingRefreshEngine(ParcelRepository parcelRepository,
+                                 CarrierApiService carrierApiService,
+                                 TrackingUpdateWriter updateWriter,
+                                 Environment environment,
+                                 @Value("${app.tracking.enabled:true}") boolean enabled,
+                                 @Value("${app.tracking.max-parcels-per-sweep:50000}") int maxParcelsPerSweep,
+                                 @Value("${app.tracking.initial-delay-minutes:60}") long initialDelayMinutes,
+                                 @Value("${app.tracking.pool-size:32}") int poolSize,
+                                 @Value("${app.tracking.write-batch-size:500}") int writeBatchSize,
+                                 @Value("${app.tracking.min-interval-minutes:15}") long minIntervalMinutes,
+                                 @Value("${app.tracking.max-interval-minutes:720}") long maxIntervalMinutes,
+                                 @Value("${app.tracking.interval-age-factor:0.25}") double intervalAgeFactor,
+                                 @Value("${app.tracking.failure-retry-minutes:10}") long failureRetryMinutes,
+                                 @Value("${app.tracking.breaker.failure-threshold:20}") int breakerFailureThreshold,
+                                 @Value("${app.tracking.breaker.open-seconds:120}") long breakerOpenSeconds,
+                                 @Value("${app.tracking.default-max-concurrency:8}") int defaultMaxConcurrency,
+                                 @Value("${app.tracking.default-rate-per-second:20}") double defaultRatePerSecond) {
+        this.parcelRepository = parcelRepository;
+        this.carrierApiService = carrierApiService;
+        this.updateWriter = updateWriter;
+        this.environment = environment;
+        this.enabled = enabled;
+        this.maxParcelsPerSweep = maxParcelsPerSweep;
+        this.initialDelayMinutes = initialDelayMinutes;
+        this.writeBatchSize = Math.max(1, writeBatchSize);
+        this.minIntervalMinutes = minIntervalMinutes;
+        this.maxIntervalMinutes = Math.max(minIntervalMinutes, maxIntervalMinutes);
+        this.intervalAgeFactor = intervalAgeFactor;
+        this.failureRetryMinutes = failureRetryMinutes;
+        this.breakerFailureThreshold = breakerFailureThreshold;
+        this.breakerOpenSeconds = breakerOpenSeconds;
+        this.defaultMaxConcurrency = defaultMaxConcurrency;
+        this.defaultRatePerSecond = defaultRatePerSecond;
+
+        // 드레이너 수는 택배사별 max-concurrency 합으로 제한되므로 대기열은 무제한이어도 된다
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "tracking-refresh-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.tracking.sweep-interval-ms:60000}",
+               initialDelayString = "${app.tracking.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        TrackingRefreshSummary summary = refreshDue();
+        if (summary.getParcels() > 0) {
+            log.info("Tracking refresh: {} parcels ({} lookups) in {} ms, {}/s, p99 {} ms - resolved {}, failed {}, deferred {}, invalid {}, write failures {}",
+                summary.getParcels(), summary.getLookups(), summary.getElapsedMillis(),
+                String.format("%.1f", summary.getParcelsPerSecond()), summary.getP99LatencyMillis(),
+                summary.getResolved(), summary.getFailed(), summary.getDeferred(), summary.getInvalid(),
+                summary.getWriteFailures());
+        }
+    }
+
+    /**
+     * 조회 시각이 도래한 택배 추적 정보 갱신 - 이미 실행 중이면 빈 결과를 반환한다
+     */
+    public TrackingRefreshSummary refreshDue() {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Tracking refresh already running, skipped");
+            return TrackingRefreshSummary.empty();
+        }
+        try {
+            return refresh(LocalDateTime.now());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    TrackingRefreshSummary refresh(LocalDateTime now) {
+        long started = System.nanoTime();
+        List<Object[]> rows = parcelRepository.findTrackingDue(
+            TRACKED_STATUSES, now.minusMinutes(initialDelayMinutes), now, PageRequest.of(0, maxParcelsPerSweep));
+        if (rows.isEmpty()) {
+            return TrackingRefreshSummary.empty();
+        }
+
+        Sweep sweep = new Sweep(now, rows.size());
+        Map<String, Map<String, Lookup>> byCarrier = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            ParcelRef parcel = new ParcelRef((Long) row[0], (String) row[3], (LocalDateTime) row[4], (LocalDateTime) row[5]);
+            String carrier = ((String) row[1]).trim().toUpperCase(Locale.ROOT);
+            String trackingNumber = ((String) row[2]).trim();
+            if (!ParcelTrackingService.isValidFormat(carrier, trackingNumber)) {
+                sweep.invalidFormat(parcel);
+                continue;
+            }
+            byCarrier.computeIfAbsent(carrier, key -> new LinkedHashMap<>())
+                .computeIfAbsent(trackingNumber, Lookup::new)
+                .parcels.add(parcel);
+        }
+
+        int lookups = byCarrier.values().stream().mapToInt(Map::size).sum();
+        sweep.expectLookups(lookups);
+
+        List<Runnable> drainers = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Lookup>> entry : byCarrier.entrySet()) {
+            Queue<Lookup> queue = new ConcurrentLinkedQueue<>(entry.getValue().values());
+            int concurrency = Math.max(1, Math.min(maxConcurrency(entry.getKey()), queue.size()));
+            for (int i = 0; i < concurrency; i++) {
+                drainers.add(() -> drain(entry.getKey(), queue, sweep));
+            }
+        }
+
+        CountDownLatch done = new CountDownLatch(drainers.size());
+        for (Runnable drainer : drainers) {
+            executor.execute(() -> {
+                try {
+                    drainer.run();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        try {
+            while (!done.await(200, TimeUnit.MILLISECONDS)) {
+                writePending(sweep, false);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Tracking refresh interrupted, writing collected results");
+        }
+        writePending(sweep, true);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        return sweep.summary(lookups, elapsedMillis);
+    }
+
+    private void drain(String carrier, Queue<Lookup> queue, Sweep sweep) {
+        CarrierCircuitBreaker breaker = breakers.computeIfAbsent(carrier,
+            key -> new CarrierCircuitBreaker(breakerFailureThreshold, breakerOpenSeconds));
+        CarrierRateLimiter rateLimiter = rateLimiters.computeIfAbsent(carrier,
+            key -> new CarrierRateLimiter(ratePerSecond(key)));
+
+        Lookup lookup;
+        while ((lookup = queue.poll()) != null) {
+            // 차단 중인 택배사는 요청 상한 슬롯을 쓰지 않고 바로 미룬다
+            if (!breaker.tryAcquire()) {
+                sweep.deferred(lookup);
+                continue;
+            }
+            try {
+                rateLimiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                breaker.onAbandoned();
+                sweep.failed(lookup);
+                queue.forEach(sweep::failed);
+                queue.clear();
+                return;
+            }
+
+            long requested = System.nanoTime();
+            TrackingResult result;
+            try {
+                result = carrierApiService.lookupTrackingInfo(carrier, lookup.trackingNumber);
+            } catch (Exception e) {
+                log.debug("Tracking lookup failed for {}: {} - {}", carrier, lookup.trackingNumber, e.getMessage());
+                result = null;
+            }
+            sweep.recordLatency(System.nanoTime() - requested);
+
+            if (result == null || (!result.isSuccess() && !result.isNotFound())) {
+                breaker.onFailure();
+                sweep.failed(lookup);
+            } else {
+                breaker.onSuccess();
+                sweep.resolved(lookup, result);
+            }
+        }
+    }
+
+    private void writePending(Sweep sweep, boolean all) {
+        while (sweep.updates.size() >= writeBatchSize || (all && !sweep.updates.isEmpty())) {
+            List<ParcelUpdate> batch = new ArrayList<>(writeBatchSize);
+            sweep.updates.drainTo(batch, writeBatchSize);
+
+            List<Object[]> resultRows = new ArrayList<>();
+            List<Object[]> rescheduleRows = new ArrayList<>();
+            for (ParcelUpdate update : batch) {
+                (update.result ? resultRows : rescheduleRows).add(update.row);
+            }
+            try {
+                updateWriter.write(resultRows, rescheduleRows);
+            } catch (Exception e) {
+                sweep.writeFailures.addAndGet(batch.size());
+                log.error("Failed to write {} tracking updates", batch.size(), e);
+            }
+        }
+    }
+
+    /**
+     * 다음 조회 시각 - 상태가 오래 바뀌지 않은 택배일수록 간격을 늘린다 (동시 만료 분산용 10% 지터)
+     */
+    LocalDateTime nextCheckAt(LocalDateTime since, LocalDateTime now) {
+        long ageMinutes = Math.max(0L, Duration.between(since, now).toMinutes());
+        long minutes = Math.min(maxIntervalMinutes, Math.max(minIntervalMinutes, (long) (ageMinutes * intervalAgeFactor)));
+        return now.plusMinutes(minutes + ThreadLocalRandom.current().nextLong(minutes / 10 + 1));
+    }
+
+    private int maxConcurrency(String carrier) {
+        return environment.getProperty("app.tracking.carriers." + carrier.toLowerCase(Locale.ROOT) + ".max-concurrency",
+            Integer.class, defaultMaxConcurrency);
+    }
+
+    private double ratePerSecond(String carrier) {
+        return environment.getProperty("app.tracking.carriers." + carrier.toLowerCase(Locale.ROOT) + ".rate-per-second",
+            Double.class, defaultRatePerSecond);
+    }
+
+    static boolean isDelivered(String trackingStatus) {
+        return trackingStatus != null && (trackingStatus.contains("배송완료") || trackingStatus.contains("배달완료"));
+    }
+
+    /**
+     * 1회 실행 상태 - 드레이너 스레드가 결과 행을 쌓고 호출 스레드가 배치로 꺼내 반영한다
+     */
+    private final class Sweep {
+        private final LocalDateTime now;
+        private final int parcels;
+        private final BlockingQueue<ParcelUpdate> updates = new LinkedBlockingQueue<>();
+        private final AtomicInteger resolved = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger deferred = new AtomicInteger();
+        private final AtomicInteger invalid = new AtomicInteger();
+        private final AtomicInteger writeFailures = new AtomicInteger();
+        private final AtomicInteger latencyCount = new AtomicInteger();
+        private long[] latencies = new long[0];
+
+        private Sweep(LocalDateTime now, int parcels) {
+            this.now = now;
+            this.parcels = parcels;
+        }
+
+        void expectLookups(int lookups) {
+            latencies = new long[lookups];
+        }
+
+        void recordLatency(long nanos) {
+            int index = latencyCount.getAndIncrement();
+            if (index < latencies.length) {
+                latencies[index] = nanos;
+            }
+        }
+
+        void invalidFormat(ParcelRef parcel) {
+            invalid.incrementAndGet();
+            updates.add(ParcelUpdate.result(ValidationStatus.INVALID, INVALID_FORMAT_MESSAGE,
+                parcel.lastKnownStatus, now, parcel.lastStatusChangedAt, null, parcel.id));
+        }
+
+        void resolved(Lookup lookup, TrackingResult result) {
+            for (ParcelRef parcel : lookup.parcels) {
+                resolved.incrementAndGet();
+                if (result.isSuccess()) {
+                    String trackingStatus = result.getStatus();
+                    boolean changed = !Objects.equals(trackingStatus, parcel.lastKnownStatus);
+                    LocalDateTime changedAt = changed ? now : parcel.since();
+                    boolean delivered = isDelivered(trackingStatus);
+                    updates.add(ParcelUpdate.result(
+                        delivered ? ValidationStatus.DELIVERED : ValidationStatus.VALID,
+                        result.getLocation() + " - " + result.getTime(),
+                        trackingStatus, now, changedAt, delivered ? null : nextCheckAt(changedAt, now), parcel.id));
+                } else if (parcel.lastKnownStatus == null) {
+                    // 한 번도 조회되지 않은 송장만 무효 처리 - 조회 이력이 있으면 택배사 보관 기간 만료로 본다
+                    updates.add(ParcelUpdate.result(ValidationStatus.INVALID, result.getErrorMessage(),
+                        null, now, parcel.lastStatusChangedAt, null, parcel.id));
+                } else {
+                    updates.add(ParcelUpdate.reschedule(nextCheckAt(parcel.since(), now), parcel.id));
+                }
+            }
+        }
+
+        void failed(Lookup lookup) {
+            failed.addAndGet(lookup.parcels.size());
+            LocalDateTime retryAt = now.plusMinutes(failureRetryMinutes);
+            for (ParcelRef parcel : lookup.parcels) {
+                updates.add(ParcelUpdate.reschedule(retryAt, parcel.id));
+            }
+        }
+
+        void deferred(Lookup lookup) {
+            deferred.addAndGet(lookup.parcels.size());
+            LocalDateTime retryAt = now.plusSeconds(breakerOpenSeconds);
+            for (ParcelRef parcel : lookup.parcels) {
+                updates.add(ParcelUpdate.reschedule(retryAt, parcel.id));
+            }
+        }
+
+        TrackingRefreshSummary summary(int lookups, long elapsedMillis) {
+            int count = Math.min(latencyCount.get(), latencies.length);
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new TrackingRefreshSummary(parcels, lookups, resolved.get(), failed.get(), deferred.get(),
+                invalid.get(), writeFailures.get(), elapsedMillis, percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99));
+        }
+
+        private long percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0L;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, index)]);
+        }
+    }
+
+    private static final class Lookup {
+        private final String trackingNumber;
+        private final List<ParcelRef> parcels = new ArrayList<>(1);
+
+        private Lookup(String trackingNumber) {
+            this.trackingNumber = trackingNumber;
+        }
+    }
+
+    private static final class ParcelRef {
+        private final Long id;
+        private final String lastKnownStatus;
+        private final LocalDateTime lastStatusChangedAt;
+        private final LocalDateTime createdAt;
+
+        private ParcelRef(Long id, String lastKnownStatus, LocalDateTime lastStatusChangedAt, LocalDateTime createdAt) {
+            this.id = id;
+            this.lastKnownStatus = lastKnownStatus;
+            this.lastStatusChangedAt = lastStatusChangedAt;
+            this.createdAt = createdAt;
+        }
+
+        /** 재조회 간격 기준 시각 - 상태 변경 이력이 없으면 등록 시각 */
+        private LocalDateTime since() {
+            return lastStatusChangedAt != null ? lastStatusChangedAt : createdAt;
+        }
+    }
+
+    private static final class ParcelUpdate {
+        private final boolean result;
+        private final Object[] row;
+
+        private ParcelUpdate(boolean result, Object[] row) {
+            this.result = result;
+            this.row = row;
+        }
+
+        /** 행 순서는 TrackingUpdateWriter.RESULT_PROPERTIES + id */
+        static ParcelUpdate result(ValidationStatus status, String message, String trackingStatus, LocalDateTime validatedAt,
+                                   LocalDateTime statusChangedAt, LocalDateTime nextCheckAt, Long parcelId) {
+            return new ParcelUpdate(true, new Object[] {
+                status.name(), message, trackingStatus, validatedAt, statusChangedAt, nextCheckAt, validatedAt, parcelId});
+        }
+
+        static ParcelUpdate reschedule(LocalDateTime nextCheckAt, Long parcelId) {
+            return new ParcelUpdate(false, new Object[] {nextCheckAt, parcelId});
+        }
+    }
+}
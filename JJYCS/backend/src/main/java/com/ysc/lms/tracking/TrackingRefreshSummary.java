@@ -0,0 +1,31 @@
+package com.ysc.lms.tracking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 추적 갱신 1회 실행 결과
+ */
+@Getter
+@AllArgsConstructor
+public class TrackingRefreshSummary {
+
+    private final int parcels; // 조회 대상 택배 수
+    private final int lookups; // 송장번호 중복 제거 후 택배사 조회 수
+    private final int resolved; // 조회 결과가 반영된 택배 수
+    private final int failed; // 조회 실패로 재조회 예약된 택배 수
+    private final int deferred; // 서킷 차단으로 미뤄진 택배 수
+    private final int invalid; // 형식 오류로 조회 없이 무효 처리된 택배 수
+    private final int writeFailures; // 반영에 실패한 택배 수 (다음 실행에서 다시 대상이 됨)
+    private final long elapsedMillis;
+    private final long p50LatencyMillis;
+    private final long p99LatencyMillis;
+
+    static TrackingRefreshSummary empty() {
+        return new TrackingRefreshSummary(0, 0, 0, 0, 0, 0, 0, 0L, 0L, 0L);
+    }
+
+    public double getParcelsPerSecond() {
+        return elapsedMillis > 0 ? parcels * 1000.0 / elapsedMillis : 0.0;
+    }
+}
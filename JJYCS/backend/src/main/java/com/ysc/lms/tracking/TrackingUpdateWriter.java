@@ -0,0 +1,34 @@
+package com.ysc.lms.tracking;
+
+import com.ysc.lms.entity.Parcel;
+import com.ysc.lms.ingestion.EntityBatchInserter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 추적 조회 결과 parcels 배치 반영 (호출자와 분리된 새 트랜잭션)
+ */
+@Component
+@RequiredArgsConstructor
+public class TrackingUpdateWriter {
+
+    /** 조회 결과 반영 컬럼 - 행 값 순서와 동일, 마지막 값은 parcel id */
+    static final List<String> RESULT_PROPERTIES = List.of(
+        "validationStatus", "validationMessage", "lastKnownStatus", "lastValidatedAt",
+        "lastStatusChangedAt", "nextTrackingCheckAt", "updatedAt");
+
+    /** 조회 실패/차단 시 재조회 일정만 변경 */
+    static final List<String> RESCHEDULE_PROPERTIES = List.of("nextTrackingCheckAt");
+
+    private final EntityBatchInserter batchInserter;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void write(List<Object[]> resultRows, List<Object[]> rescheduleRows) {
+        batchInserter.update(Parcel.class, RESULT_PROPERTIES, resultRows);
+        batchInserter.update(Parcel.class, RESCHEDULE_PROPERTIES, rescheduleRows);
+    }
+}
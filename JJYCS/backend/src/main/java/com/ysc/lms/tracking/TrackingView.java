@@ -0,0 +1,34 @@
+package com.ysc.lms.tracking;
+
+import com.ysc.lms.service.CarrierApiService.TrackingDetail;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 송장 추적 조회 응답 - stale 이면 신선도 기간이 지난 캐시 결과이며 백그라운드에서 갱신 중이다
+ */
+@Getter
+@AllArgsConstructor
+public class TrackingView {
+
+    private final Long parcelId;
+    private final String carrier;
+    private final String trackingNumber;
+    private final boolean success;
+    private final boolean notFound;
+    private final String status;
+    private final String location;
+    private final String time;
+    private final List<TrackingDetail> details;
+    private final String errorMessage;
+    private final LocalDateTime fetchedAt;
+    private final boolean stale;
+
+    TrackingView withParcelId(Long parcelId) {
+        return new TrackingView(parcelId, carrier, trackingNumber, success, notFound, status, location, time,
+            details, errorMessage, fetchedAt, stale);
+    }
+}
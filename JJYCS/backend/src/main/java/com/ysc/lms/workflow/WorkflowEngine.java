@@ -1,24 +1,44 @@
 package com.ysc.lms.workflow;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysc.lms.entity.WorkflowInstanceRecord;
+import com.ysc.lms.entity.WorkflowJob;
+import com.ysc.lms.entity.WorkflowTaskRecord;
+import com.ysc.lms.repository.WorkflowInstanceRecordRepository;
+import com.ysc.lms.repository.WorkflowTaskRecordRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+/**
+ * Workflow engine with persisted instances and tasks.
+ *
+ * Definitions are registered from code on every app node. Node executions are jobs in a shared
+ * database queue (WorkflowJobQueue) run by WorkflowWorker; each job runs in one transaction that
+ * locks its instance row, so instances survive restarts and can be advanced by any app node.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WorkflowEngine {
 
+    private static final TypeReference<Map<String, Object>> CONTEXT_TYPE = new TypeReference<>() {
+    };
+
     private final Map<String, WorkflowDefinition> workflowDefinitions = new ConcurrentHashMap<>();
-    private final Map<String, WorkflowInstance> workflowInstances = new ConcurrentHashMap<>();
-    private final Map<String, WorkflowTask> taskInstances = new ConcurrentHashMap<>();
+    private final WorkflowInstanceRecordRepository instanceRepository;
+    private final WorkflowTaskRecordRepository taskRepository;
+    private final WorkflowJobQueue jobQueue;
+    private final ObjectMapper objectMapper;
 
     public void initializeDefaultWorkflows() {
         log.info("Initializing default workflows");
@@ -54,6 +74,7 @@ public class WorkflowEngine {
             .build());
     }
 
+    @Transactional
     public String startWorkflow(String workflowId, String tenantId, Map<String, Object> context, String startedBy) {
         log.info("Starting workflow: {} for tenant: {} by user: {}", workflowId, tenantId, startedBy);
         
@@ -75,7 +96,9 @@ public class WorkflowEngine {
             .lastUpdated(LocalDateTime.now())
             .build();
             
-        workflowInstances.put(instanceId, instance);
+        WorkflowInstanceRecord record = new WorkflowInstanceRecord();
+        applyTo(record, instance);
+        instanceRepository.save(record);
         
         // Execute first node
         executeNode(instanceId, definition.getStartNode());
@@ -83,65 +106,107 @@ public class WorkflowEngine {
         return instanceId;
     }
 
-    @Async
-    public CompletableFuture<Void> executeNode(String instanceId, String nodeId) {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                WorkflowInstance instance = workflowInstances.get(instanceId);
-                if (instance == null) {
-                    log.error("Workflow instance not found: {}", instanceId);
-                    return;
-                }
-                
-                WorkflowDefinition definition = getWorkflowDefinition(instance.getWorkflowId(), instance.getTenantId());
-                WorkflowNode node = definition.getNodes().get(nodeId);
-                
-                if (node == null) {
-                    log.error("Workflow node not found: {} in workflow: {}", nodeId, instance.getWorkflowId());
-                    return;
-                }
-                
-                log.debug("Executing node: {} in workflow instance: {}", nodeId, instanceId);
-                
-                // Update instance current node
-                instance.setCurrentNode(nodeId);
-                instance.setLastUpdated(LocalDateTime.now());
-                
-                // Execute node logic
-                NodeExecutionResult result = executeNodeLogic(instance, node);
-                
-                // Update context with result data
-                if (result.getData() != null) {
-                    instance.getContext().putAll(result.getData());
-                }
-                
-                // Handle result
-                switch (result.getStatus()) {
-                    case COMPLETED:
-                        handleNodeCompletion(instance, node, result);
-                        break;
-                    case FAILED:
-                        handleNodeFailure(instance, node, result);
-                        break;
-                    case WAITING:
-                        handleNodeWaiting(instance, node, result);
-                        break;
-                }
-                
-            } catch (Exception e) {
-                log.error("Error executing workflow node: {} in instance: {}", nodeId, instanceId, e);
-                handleWorkflowError(instanceId, e);
-            }
+    /**
+     * Queues a node for execution; it runs on a worker once the surrounding transaction commits
+     */
+    @Transactional
+    public void executeNode(String instanceId, String nodeId) {
+        jobQueue.enqueue(instanceId, nodeId, null);
+    }
+
+    /**
+     * Runs one claimed node execution. The node's state changes, created tasks and follow-up
+     * jobs commit together with the job's removal; an exception rolls all of it back and
+     * leaves the job to WorkflowWorker's retry handling.
+     */
+    @Transactional
+    public void runJob(Long jobId, String workerId) {
+        WorkflowJob job = jobQueue.acquire(jobId, workerId).orElse(null);
+        if (job == null) {
+            log.warn("Workflow job {} is no longer claimed by {}, skipping", jobId, workerId);
+            return;
+        }
+        String instanceId = job.getInstanceId();
+        String nodeId = job.getNodeId();
+
+        WorkflowInstanceRecord record = instanceRepository.findByIdForUpdate(instanceId).orElse(null);
+        if (record == null) {
+            log.error("Workflow instance not found: {}", instanceId);
+            jobQueue.complete(jobId);
+            return;
+        }
+        if (record.getStatus() == WorkflowStatus.COMPLETED || record.getStatus() == WorkflowStatus.FAILED) {
+            log.debug("Skipping node: {} for finished workflow instance: {}", nodeId, instanceId);
+            jobQueue.complete(jobId);
+            return;
+        }
+
+        WorkflowDefinition definition = getWorkflowDefinition(record.getWorkflowId(), record.getTenantId());
+        if (definition == null) {
+            // Not registered on this app node yet - let the job retry
+            throw new IllegalStateException("Workflow definition not found: " + record.getWorkflowId());
+        }
+        WorkflowNode node = definition.getNodes().get(nodeId);
+        if (node == null) {
+            log.error("Workflow node not found: {} in workflow: {}", nodeId, record.getWorkflowId());
+            jobQueue.complete(jobId);
+            return;
+        }
+        
+        log.debug("Executing node: {} in workflow instance: {}", nodeId, instanceId);
+        
+        WorkflowInstance instance = toInstance(record);
+        
+        // Update instance current node
+        if (instance.getStatus() == WorkflowStatus.WAITING) {
+            instance.setStatus(WorkflowStatus.RUNNING);
+        }
+        instance.setCurrentNode(nodeId);
+        instance.setLastUpdated(LocalDateTime.now());
+        
+        // Execute node logic
+        NodeExecutionResult result = executeNodeLogic(instance, node);
+        
+        // Update context with result data
+        if (result.getData() != null) {
+            instance.getContext().putAll(result.getData());
+        }
+        
+        // Handle result
+        switch (result.getStatus()) {
+            case COMPLETED:
+                handleNodeCompletion(instance, node, result);
+                break;
+            case FAILED:
+                handleNodeFailure(instance, node, result);
+                break;
+            case WAITING:
+                handleNodeWaiting(instance, node, result);
+                break;
+        }
+        
+        applyTo(record, instance);
+        jobQueue.complete(jobId);
+    }
+
+    /**
+     * Marks an instance failed once its node execution has exhausted its retries
+     */
+    @Transactional
+    public void failInstance(String instanceId, String errorMessage) {
+        instanceRepository.findByIdForUpdate(instanceId).ifPresent(record -> {
+            record.setStatus(WorkflowStatus.FAILED);
+            record.setErrorMessage(truncate(errorMessage));
+            record.setLastUpdated(LocalDateTime.now());
         });
     }
 
+    @Transactional
     public void completeTask(String taskId, Map<String, Object> taskResult, String completedBy) {
         log.info("Completing task: {} by user: {}", taskId, completedBy);
         
-        WorkflowTask task = taskInstances.get(taskId);
-        if (task == null) {
-            throw new IllegalArgumentException("Task not found: " + taskId);
-        }
+        WorkflowTaskRecord task = taskRepository.findByIdForUpdate(taskId)
+            .orElseThrow(() -> new IllegalArgumentException("Task not found: " + taskId));
         
         if (task.getStatus() != TaskStatus.ASSIGNED) {
             throw new IllegalStateException("Task is not in assignable state: " + task.getStatus());
@@ -150,44 +215,62 @@ public class WorkflowEngine {
         task.setStatus(TaskStatus.COMPLETED);
         task.setCompletedBy(completedBy);
         task.setCompletedAt(LocalDateTime.now());
-        task.setResult(taskResult);
+        task.setResult(writeMap(taskResult));
         
         // Continue workflow execution
-        WorkflowInstance instance = workflowInstances.get(task.getWorkflowInstanceId());
-        if (instance != null) {
+        WorkflowInstanceRecord record = instanceRepository.findByIdForUpdate(task.getInstanceId()).orElse(null);
+        if (record != null) {
+            WorkflowInstance instance = toInstance(record);
             instance.getContext().putAll(taskResult);
             
-            // Find next node based on task completion
+            // Find next node based on the completed task's node (parallel branches may have moved currentNode on)
             WorkflowDefinition definition = getWorkflowDefinition(instance.getWorkflowId(), instance.getTenantId());
-            WorkflowNode currentNode = definition.getNodes().get(instance.getCurrentNode());
+            WorkflowNode taskNode = definition != null ? definition.getNodes().get(task.getNodeId()) : null;
             
-            if (currentNode != null && currentNode.getType() == NodeType.USER_TASK) {
+            if (taskNode != null && taskNode.getType() == NodeType.USER_TASK) {
                 // Move to next node
-                executeNextNodes(instance, currentNode, taskResult);
+                executeNextNodes(instance, taskNode, taskResult);
             }
+            instance.setLastUpdated(LocalDateTime.now());
+            applyTo(record, instance);
         }
     }
 
+    /**
+     * Tasks assigned to the user or listing them as a candidate, newest first
+     * (two indexed lookups: assignee and workflow_task_candidates.user_id)
+     */
+    @Transactional(readOnly = true)
     public List<WorkflowTask> getUserTasks(String userId, String tenantId, TaskStatus status) {
-        return taskInstances.values().stream()
-            .filter(task -> tenantId.equals(task.getTenantId()))
-            .filter(task -> userId.equals(task.getAssignedTo()) || 
-                           (task.getCandidateUsers() != null && task.getCandidateUsers().contains(userId)))
-            .filter(task -> status == null || status.equals(task.getStatus()))
+        Collection<TaskStatus> statuses = status != null ? List.of(status) : EnumSet.allOf(TaskStatus.class);
+        
+        Map<String, WorkflowTaskRecord> tasks = new HashMap<>();
+        for (WorkflowTaskRecord task : taskRepository.findByTenantIdAndAssignedToAndStatusIn(tenantId, userId, statuses)) {
+            tasks.put(task.getTaskId(), task);
+        }
+        for (WorkflowTaskRecord task : taskRepository.findCandidateTasks(userId, tenantId, statuses)) {
+            tasks.putIfAbsent(task.getTaskId(), task);
+        }
+        
+        return tasks.values().stream()
             .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
+            .map(this::toTask)
             .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public WorkflowInstance getWorkflowInstance(String instanceId) {
-        return workflowInstances.get(instanceId);
+        return instanceRepository.findById(instanceId).map(this::toInstance).orElse(null);
     }
 
+    @Transactional(readOnly = true)
     public List<WorkflowInstance> getWorkflowInstances(String tenantId, String workflowId, WorkflowStatus status) {
-        return workflowInstances.values().stream()
-            .filter(instance -> tenantId.equals(instance.getTenantId()))
-            .filter(instance -> workflowId == null || workflowId.equals(instance.getWorkflowId()))
-            .filter(instance -> status == null || status.equals(instance.getStatus()))
-            .sorted((a, b) -> b.getStartedAt().compareTo(a.getStartedAt()))
+        Collection<WorkflowStatus> statuses = status != null ? List.of(status) : EnumSet.allOf(WorkflowStatus.class);
+        List<WorkflowInstanceRecord> records = workflowId == null
+            ? instanceRepository.findByTenantIdAndStatusInOrderByStartedAtDesc(tenantId, statuses)
+            : instanceRepository.findByTenantIdAndWorkflowIdAndStatusInOrderByStartedAtDesc(tenantId, workflowId, statuses);
+        return records.stream()
+            .map(this::toInstance)
             .collect(Collectors.toList());
     }
 
@@ -275,8 +358,6 @@ public class WorkflowEngine {
             .status(TaskStatus.CREATED)
             .createdAt(LocalDateTime.now())
             .build();
-            
-        taskInstances.put(taskId, task);
         
         // Auto-assign if single candidate
         if (task.getCandidateUsers() != null && task.getCandidateUsers().size() == 1) {
@@ -284,6 +365,8 @@ public class WorkflowEngine {
             task.setStatus(TaskStatus.ASSIGNED);
         }
         
+        taskRepository.save(toRecord(task));
+        
         log.info("Created user task: {} for workflow instance: {}", taskId, instance.getInstanceId());
         
         return NodeExecutionResult.waiting(Map.of("taskId", taskId));
@@ -297,22 +380,25 @@ public class WorkflowEngine {
     }
 
     private NodeExecutionResult executeParallelNode(WorkflowInstance instance, WorkflowNode node) {
-        // Start parallel execution of all outgoing flows
-        List<String> parallelBranches = node.getOutgoingFlows();
-        
-        for (String branchNodeId : parallelBranches) {
-            executeNode(instance.getInstanceId(), branchNodeId);
-        }
+        // Each outgoing flow is queued as its own job on completion, so branches run in parallel across workers
+        List<String> parallelBranches = node.getOutgoingFlows() != null ? node.getOutgoingFlows() : List.of();
         
         return NodeExecutionResult.completed(Map.of("parallelBranches", parallelBranches.size()));
     }
 
     private NodeExecutionResult executeTimerNode(WorkflowInstance instance, WorkflowNode node) {
-        String duration = node.getProperties().get("duration");
-        // In real implementation, would schedule timer execution
-        log.debug("Timer node scheduled for duration: {}", duration);
+        String duration = node.getProperties() != null ? node.getProperties().get("duration") : null;
+        Duration delay;
+        try {
+            delay = Duration.parse(duration); // ISO-8601, e.g. PT30M
+        } catch (RuntimeException e) {
+            return NodeExecutionResult.failed("Invalid timer duration: " + duration);
+        }
+        
+        LocalDateTime resumeAt = LocalDateTime.now().plus(delay);
+        log.debug("Timer node {} scheduled to resume at {}", node.getNodeId(), resumeAt);
         
-        return NodeExecutionResult.waiting(Map.of("timerDuration", duration));
+        return NodeExecutionResult.timer(resumeAt, Map.of("timerDuration", duration));
     }
 
     private void handleNodeCompletion(WorkflowInstance instance, WorkflowNode node, NodeExecutionResult result) {
@@ -331,6 +417,13 @@ public class WorkflowEngine {
         instance.setStatus(WorkflowStatus.WAITING);
         instance.setLastUpdated(LocalDateTime.now());
         
+        if (result.getResumeAt() != null) {
+            // Timer: outgoing nodes become jobs due at resumeAt; the worker picks them up from the due index
+            for (String nextNodeId : determineNextNodes(node, result.getData())) {
+                jobQueue.enqueue(instance.getInstanceId(), nextNodeId, result.getResumeAt());
+            }
+        }
+        
         log.debug("Workflow instance waiting: {} at node: {}", instance.getInstanceId(), node.getNodeId());
     }
 
@@ -349,6 +442,9 @@ public class WorkflowEngine {
     }
 
     private List<String> determineNextNodes(WorkflowNode node, Map<String, Object> data) {
+        if (node.getOutgoingFlows() == null) {
+            return List.of();
+        }
         if (node.getType() == NodeType.DECISION && node.getOutgoingFlows().size() > 1) {
             // Decision logic to determine which path to take
             boolean decision = (Boolean) data.getOrDefault("decision", false);
@@ -358,13 +454,97 @@ public class WorkflowEngine {
         return node.getOutgoingFlows();
     }
 
-    private void handleWorkflowError(String instanceId, Exception error) {
-        WorkflowInstance instance = workflowInstances.get(instanceId);
-        if (instance != null) {
-            instance.setStatus(WorkflowStatus.FAILED);
-            instance.setErrorMessage(error.getMessage());
-            instance.setLastUpdated(LocalDateTime.now());
+    private WorkflowInstance toInstance(WorkflowInstanceRecord record) {
+        return WorkflowInstance.builder()
+            .instanceId(record.getInstanceId())
+            .workflowId(record.getWorkflowId())
+            .tenantId(record.getTenantId())
+            .status(record.getStatus())
+            .currentNode(record.getCurrentNode())
+            .context(readMap(record.getContext()))
+            .startedBy(record.getStartedBy())
+            .startedAt(record.getStartedAt())
+            .completedAt(record.getCompletedAt())
+            .lastUpdated(record.getLastUpdated())
+            .errorMessage(record.getErrorMessage())
+            .build();
+    }
+
+    private void applyTo(WorkflowInstanceRecord record, WorkflowInstance instance) {
+        record.setInstanceId(instance.getInstanceId());
+        record.setWorkflowId(instance.getWorkflowId());
+        record.setTenantId(instance.getTenantId());
+        record.setStatus(instance.getStatus());
+        record.setCurrentNode(instance.getCurrentNode());
+        record.setContext(writeMap(instance.getContext()));
+        record.setStartedBy(instance.getStartedBy());
+        record.setStartedAt(instance.getStartedAt());
+        record.setCompletedAt(instance.getCompletedAt());
+        record.setLastUpdated(instance.getLastUpdated());
+        record.setErrorMessage(truncate(instance.getErrorMessage()));
+    }
+
+    private WorkflowTask toTask(WorkflowTaskRecord record) {
+        return WorkflowTask.builder()
+            .taskId(record.getTaskId())
+            .workflowInstanceId(record.getInstanceId())
+            .tenantId(record.getTenantId())
+            .nodeId(record.getNodeId())
+            .name(record.getName())
+            .description(record.getDescription())
+            .assignedTo(record.getAssignedTo())
+            .candidateUsers(record.getCandidateUsers().isEmpty() ? null : new ArrayList<>(record.getCandidateUsers()))
+            .status(record.getStatus())
+            .createdAt(record.getCreatedAt())
+            .dueDate(record.getDueDate())
+            .completedBy(record.getCompletedBy())
+            .completedAt(record.getCompletedAt())
+            .result(record.getResult() != null ? readMap(record.getResult()) : null)
+            .build();
+    }
+
+    private WorkflowTaskRecord toRecord(WorkflowTask task) {
+        WorkflowTaskRecord record = new WorkflowTaskRecord();
+        record.setTaskId(task.getTaskId());
+        record.setInstanceId(task.getWorkflowInstanceId());
+        record.setTenantId(task.getTenantId());
+        record.setNodeId(task.getNodeId());
+        record.setName(task.getName());
+        record.setDescription(task.getDescription());
+        record.setAssignedTo(task.getAssignedTo());
+        if (task.getCandidateUsers() != null) {
+            record.getCandidateUsers().addAll(task.getCandidateUsers());
         }
+        record.setStatus(task.getStatus());
+        record.setCreatedAt(task.getCreatedAt());
+        record.setDueDate(task.getDueDate());
+        return record;
+    }
+
+    private Map<String, Object> readMap(String json) {
+        if (json == null) {
+            return new HashMap<>();
+        }
+        try {
+            return objectMapper.readValue(json, CONTEXT_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable workflow data", e);
+        }
+    }
+
+    private String writeMap(Map<String, Object> data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Workflow data is not serializable", e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
     }
 
     private Map<String, WorkflowNode> createOrderProcessingNodes() {
@@ -674,6 +854,7 @@ public class WorkflowEngine {
         private ExecutionStatus status;
         private Map<String, Object> data;
         private String errorMessage;
+        private LocalDateTime resumeAt; // timer nodes only
 
         public static NodeExecutionResult completed(Map<String, Object> data) {
             return NodeExecutionResult.builder()
@@ -695,6 +876,14 @@ public class WorkflowEngine {
                 .data(data)
                 .build();
         }
+
+        public static NodeExecutionResult timer(LocalDateTime resumeAt, Map<String, Object> data) {
+            return NodeExecutionResult.builder()
+                .status(ExecutionStatus.WAITING)
+                .data(data)
+                .resumeAt(resumeAt)
+                .build();
+        }
     }
 
     public enum NodeType {
@@ -0,0 +1,122 @@
+package com.ysc.lms.workflow;
+
+import com.ysc.lms.entity.WorkflowJob;
+import com.ysc.lms.repository.WorkflowJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistent node execution queue shared by all app nodes.
+ *
+ * Jobs are enqueued in the caller's transaction, so a node step and the jobs it schedules
+ * commit together. Workers claim due jobs with SELECT ... FOR UPDATE SKIP LOCKED; a claim is
+ * a lease that returns to PENDING if the claiming node disappears.
+ */
+@Component
+@Slf4j
+public class WorkflowJobQueue {
+
+    private final WorkflowJobRepository jobRepository;
+    private final int maxAttempts;
+    private final long retryBackoffSeconds;
+    private final long leaseSeconds;
+
+    public WorkflowJobQueue(WorkflowJobRepository jobRepository,
+                            @Value("${app.workflow.job.max-attempts:5}") int maxAttempts,
+                            @Value("${app.workflow.job.retry-backoff-seconds:30}") long retryBackoffSeconds,
+                            @Value("${app.workflow.job.lease-seconds:300}") long leaseSeconds) {
+        this.jobRepository = jobRepository;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffSeconds = retryBackoffSeconds;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    /**
+     * @param dueAt null to run as soon as a worker is free; a future time for timer nodes
+     */
+    @Transactional
+    public void enqueue(String instanceId, String nodeId, LocalDateTime dueAt) {
+        jobRepository.save(new WorkflowJob(instanceId, nodeId, dueAt));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<WorkflowJob> claim(String workerId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<WorkflowJob> jobs = jobRepository.findDueForClaim(WorkflowJob.Status.PENDING, now, PageRequest.of(0, limit));
+        for (WorkflowJob job : jobs) {
+            job.setStatus(WorkflowJob.Status.RUNNING);
+            job.setClaimedBy(workerId);
+            job.setClaimedAt(now);
+            job.setAttempts(job.getAttempts() + 1);
+        }
+        return jobs;
+    }
+
+    /**
+     * Locks the job for execution; empty if the lease was lost to another worker
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<WorkflowJob> acquire(Long jobId, String workerId) {
+        return jobRepository.findByIdForUpdate(jobId)
+            .filter(job -> job.getStatus() == WorkflowJob.Status.RUNNING && workerId.equals(job.getClaimedBy()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void complete(Long jobId) {
+        jobRepository.deleteById(jobId);
+    }
+
+    /**
+     * Reschedules a failed job with linear backoff
+     *
+     * @return true if attempts are exhausted and the job is parked as FAILED
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean fail(Long jobId, String error) {
+        WorkflowJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return false;
+        }
+        job.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+        job.setClaimedBy(null);
+        job.setClaimedAt(null);
+        if (job.getAttempts() >= maxAttempts) {
+            job.setStatus(WorkflowJob.Status.FAILED);
+            return true;
+        }
+        job.setStatus(WorkflowJob.Status.PENDING);
+        job.setDueAt(LocalDateTime.now().plusSeconds(retryBackoffSeconds * job.getAttempts()));
+        return false;
+    }
+
+    /**
+     * Returns claimed-but-unstarted jobs to the queue (shutdown)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int release(Collection<Long> jobIds, String workerId) {
+        if (jobIds.isEmpty()) {
+            return 0;
+        }
+        return jobRepository.release(jobIds, workerId, WorkflowJob.Status.PENDING, WorkflowJob.Status.RUNNING);
+    }
+
+    @Scheduled(fixedDelayString = "${app.workflow.job.lease-check-interval-ms:60000}")
+    @Transactional
+    public void releaseExpiredClaims() {
+        int released = jobRepository.releaseExpired(WorkflowJob.Status.PENDING, WorkflowJob.Status.RUNNING,
+            LocalDateTime.now().minusSeconds(leaseSeconds));
+        if (released > 0) {
+            log.warn("Released {} workflow jobs with expired claims", released);
+        }
+    }
+}
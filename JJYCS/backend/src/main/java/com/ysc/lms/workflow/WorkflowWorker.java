@@ -0,0 +1,169 @@
+package com.ysc.lms.workflow;
+
+import com.ysc.lms.entity.WorkflowJob;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls the workflow job queue and runs claimed jobs on a bounded pool.
+ *
+ * Only as many jobs are claimed as the pool can take (threads + queue slots), so back-pressure
+ * keeps surplus work in the database where other app nodes can pick it up. A job the pool still
+ * rejects (a worker thread that has not yet returned to the pool, or a concurrent shutdown) is
+ * released back to the queue together with the rest of its batch instead of waiting for the lease.
+ */
+@Component
+@Slf4j
+public class WorkflowWorker {
+
+    private final WorkflowEngine workflowEngine;
+    private final WorkflowJobQueue jobQueue;
+    private final ThreadPoolExecutor executor;
+    private final int capacity;
+    private final int claimBatchSize;
+    private final String workerId;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Autowired
+    public WorkflowWorker(WorkflowEngine workflowEngine,
+                          WorkflowJobQueue jobQueue,
+                          @Value("${app.workflow.worker.pool-size:8}") int poolSize,
+                          @Value("${app.workflow.worker.queue-capacity:32}") int queueCapacity,
+                          @Value("${app.workflow.worker.claim-batch-size:16}") int claimBatchSize) {
+        this(workflowEngine, jobQueue, newExecutor(poolSize, queueCapacity), poolSize + queueCapacity, claimBatchSize);
+    }
+
+    WorkflowWorker(WorkflowEngine workflowEngine, WorkflowJobQueue jobQueue, ThreadPoolExecutor executor,
+                   int capacity, int claimBatchSize) {
+        this.workflowEngine = workflowEngine;
+        this.jobQueue = jobQueue;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.claimBatchSize = claimBatchSize;
+        this.workerId = workerId();
+    }
+
+    private static ThreadPoolExecutor newExecutor(int poolSize, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "workflow-worker-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Scheduled(fixedDelayString = "${app.workflow.worker.poll-interval-ms:500}")
+    public void poll() {
+        if (executor.isShutdown()) {
+            return;
+        }
+        int free;
+        while ((free = capacity - inFlight.get()) > 0) {
+            int requested = Math.min(free, claimBatchSize);
+            List<WorkflowJob> jobs = jobQueue.claim(workerId, requested);
+            List<Long> rejected = new ArrayList<>();
+            for (WorkflowJob job : jobs) {
+                if (!rejected.isEmpty()) {
+                    rejected.add(job.getId());
+                    continue;
+                }
+                inFlight.incrementAndGet();
+                try {
+                    executor.execute(new JobRun(job));
+                } catch (RejectedExecutionException e) {
+                    inFlight.decrementAndGet();
+                    rejected.add(job.getId());
+                }
+            }
+            if (!rejected.isEmpty()) {
+                int released = jobQueue.release(rejected, workerId);
+                log.warn("Workflow worker pool rejected {} claimed jobs, released {} back to the queue",
+                    rejected.size(), released);
+                return;
+            }
+            if (jobs.size() < requested) {
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            List<Long> unstarted = new ArrayList<>();
+            for (Runnable runnable : executor.shutdownNow()) {
+                if (runnable instanceof JobRun) {
+                    unstarted.add(((JobRun) runnable).job.getId());
+                }
+            }
+            int released = jobQueue.release(unstarted, workerId);
+            log.info("Workflow worker stopped, released {} unstarted jobs", released);
+        }
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void run(WorkflowJob job) {
+        try {
+            workflowEngine.runJob(job.getId(), workerId);
+        } catch (Exception e) {
+            log.error("Workflow job {} failed (instance: {}, node: {}, attempt: {})",
+                job.getId(), job.getInstanceId(), job.getNodeId(), job.getAttempts(), e);
+            try {
+                if (jobQueue.fail(job.getId(), e.getMessage())) {
+                    workflowEngine.failInstance(job.getInstanceId(), e.getMessage());
+                }
+            } catch (Exception failure) {
+                log.error("Failed to record workflow job failure: {}", job.getId(), failure);
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static String workerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        String id = host + ":" + UUID.randomUUID().toString().substring(0, 8);
+        return id.length() > 100 ? id.substring(id.length() - 100) : id;
+    }
+
+    private final class JobRun implements Runnable {
+        private final WorkflowJob job;
+
+        private JobRun(WorkflowJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public void run() {
+            WorkflowWorker.this.run(job);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- 회원코드/주문코드/HBL 번호 prefix별 채번 테이블
+-- Version: V202610170900
+-- Date: 2026-10-17 09:00
+
+CREATE TABLE IF NOT EXISTS code_sequences (
+    prefix VARCHAR(64) PRIMARY KEY,
+    next_value BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,5 @@
+-- 주문별 최근 스캔 조회(ROW_NUMBER ... PARTITION BY order_id) 용 인덱스
+-- Version: V202610171000
+-- Date: 2026-10-17 10:00
+
+CREATE INDEX IF NOT EXISTS idx_scan_events_order_created ON scan_events(order_id, created_at DESC, id DESC);
@@ -0,0 +1,14 @@
+-- 대시보드 통계 카운터 테이블 (주문 상태/배송 타입/회원 유형/일별 신규·스캔 건수)
+-- Version: V202610171100
+-- Date: 2026-10-17 11:00
+
+CREATE TABLE IF NOT EXISTS stat_counters (
+    counter_key VARCHAR(150) PRIMARY KEY,
+    counter_group VARCHAR(40) NOT NULL,
+    dimension VARCHAR(80) NOT NULL,
+    bucket_date DATE,
+    count_value BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_stat_counters_group_date ON stat_counters (counter_group, bucket_date);
@@ -0,0 +1,13 @@
+-- 사용자 대시보드 주문 요약 프로젝션 (사용자당 1행)
+-- Version: V202610171200
+-- Date: 2026-10-17 12:00
+
+CREATE TABLE IF NOT EXISTS user_order_summaries (
+    user_id BIGINT PRIMARY KEY,
+    total_orders BIGINT NOT NULL DEFAULT 0,
+    pending_orders BIGINT NOT NULL DEFAULT 0,
+    completed_orders BIGINT NOT NULL DEFAULT 0,
+    warehouse_items BIGINT NOT NULL DEFAULT 0,
+    last_activity_at TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,18 @@
+-- 실행 저널 (규칙 실행/리포트 실행/이상 탐지/예측 이력) - 링 버퍼에서 비동기 배치 적재, 보관 기간 경과 시 삭제
+-- Version: V202610171300
+-- Date: 2026-10-17 13:00
+
+CREATE TABLE IF NOT EXISTS execution_journal (
+    id BIGSERIAL PRIMARY KEY,
+    entry_id VARCHAR(36) NOT NULL UNIQUE,
+    source VARCHAR(40) NOT NULL,
+    tenant_id VARCHAR(100),
+    entry_key VARCHAR(150),
+    status VARCHAR(40),
+    occurred_at TIMESTAMP NOT NULL,
+    payload TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_execution_journal_source_time ON execution_journal (source, occurred_at);
+CREATE INDEX IF NOT EXISTS idx_execution_journal_source_tenant_time ON execution_journal (source, tenant_id, occurred_at);
@@ -0,0 +1,60 @@
+-- 워크플로우 인스턴스/사용자 태스크/노드 실행 작업 큐 (앱 노드 간 공유, 재시작 후에도 유지)
+-- Version: V202610171400
+-- Date: 2026-10-17 14:00
+
+CREATE TABLE IF NOT EXISTS workflow_instances (
+    instance_id VARCHAR(36) PRIMARY KEY,
+    workflow_id VARCHAR(100) NOT NULL,
+    tenant_id VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    current_node VARCHAR(100),
+    context TEXT,
+    started_by VARCHAR(100),
+    started_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    last_updated TIMESTAMP NOT NULL,
+    error_message VARCHAR(1000)
+);
+
+CREATE INDEX IF NOT EXISTS idx_workflow_instances_tenant_workflow_status ON workflow_instances (tenant_id, workflow_id, status);
+
+CREATE TABLE IF NOT EXISTS workflow_tasks (
+    task_id VARCHAR(36) PRIMARY KEY,
+    instance_id VARCHAR(36) NOT NULL,
+    tenant_id VARCHAR(100) NOT NULL,
+    node_id VARCHAR(100) NOT NULL,
+    name VARCHAR(200),
+    description VARCHAR(1000),
+    assigned_to VARCHAR(100),
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    due_date TIMESTAMP,
+    completed_by VARCHAR(100),
+    completed_at TIMESTAMP,
+    result TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_workflow_tasks_tenant_assignee_status ON workflow_tasks (tenant_id, assigned_to, status);
+CREATE INDEX IF NOT EXISTS idx_workflow_tasks_instance ON workflow_tasks (instance_id);
+
+CREATE TABLE IF NOT EXISTS workflow_task_candidates (
+    task_id VARCHAR(36) NOT NULL REFERENCES workflow_tasks (task_id),
+    user_id VARCHAR(100)
+);
+
+CREATE INDEX IF NOT EXISTS idx_workflow_task_candidates_user ON workflow_task_candidates (user_id);
+
+CREATE TABLE IF NOT EXISTS workflow_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    instance_id VARCHAR(36) NOT NULL,
+    node_id VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    due_at TIMESTAMP NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    claimed_by VARCHAR(100),
+    claimed_at TIMESTAMP,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_workflow_jobs_status_due ON workflow_jobs (status, due_at);
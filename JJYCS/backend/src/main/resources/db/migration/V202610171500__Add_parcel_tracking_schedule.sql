@@ -0,0 +1,8 @@
+-- 택배 추적 갱신 일정 컬럼 (마지막 상태 변경 시각, 다음 조회 예정 시각)
+-- Version: V202610171500
+-- Date: 2026-10-17 15:00
+
+ALTER TABLE IF EXISTS parcels ADD COLUMN IF NOT EXISTS last_status_changed_at TIMESTAMP;
+ALTER TABLE IF EXISTS parcels ADD COLUMN IF NOT EXISTS next_tracking_check_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_parcels_tracking_due ON parcels (validation_status, next_tracking_check_at);
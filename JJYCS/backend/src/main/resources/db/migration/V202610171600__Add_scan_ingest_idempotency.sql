@@ -0,0 +1,8 @@
+-- 스캔 배치 수집 단말기/멱등 키 컬럼
+-- Version: V202610171600
+-- Date: 2026-10-17 16:00
+
+ALTER TABLE IF EXISTS scan_events ADD COLUMN IF NOT EXISTS device_id VARCHAR(64);
+ALTER TABLE IF EXISTS scan_events ADD COLUMN IF NOT EXISTS idempotency_key VARCHAR(160);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_scan_events_idempotency_key ON scan_events (idempotency_key);
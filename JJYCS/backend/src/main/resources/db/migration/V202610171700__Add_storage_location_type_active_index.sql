@@ -0,0 +1,5 @@
+-- 적치 인덱스 - 셀 전체 적재용 인덱스
+-- Version: V202610171700
+-- Date: 2026-10-17 17:00
+
+CREATE INDEX IF NOT EXISTS idx_storage_locations_type_active ON storage_locations (location_type, is_active);
@@ -0,0 +1,16 @@
+-- 일별 환율 이력 (통화별 1일 1행, 1 통화 단위당 KRW)
+-- Version: V202610171800
+-- Date: 2026-10-17 18:00
+
+CREATE TABLE IF NOT EXISTS exchange_rate_history (
+    id BIGSERIAL PRIMARY KEY,
+    currency VARCHAR(3) NOT NULL,
+    rate_date DATE NOT NULL,
+    rate DECIMAL(18, 6) NOT NULL,
+    source VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_exchange_rate_history_currency_date UNIQUE (currency, rate_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_exchange_rate_history_rate_date ON exchange_rate_history (rate_date);
@@ -0,0 +1,11 @@
+-- 알림 발송 큐 임대(lease) 선점 - 노드별 PROCESSING 선점과 임대 만료 회수
+-- Version: V202610171900
+-- Date: 2026-10-17 19:00
+
+ALTER TABLE IF EXISTS notification_queue ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(100);
+ALTER TABLE IF EXISTS notification_queue ADD COLUMN IF NOT EXISTS lease_until TIMESTAMP;
+
+-- 선점 조회 (type, status = 'PENDING', scheduled_at <= now)
+CREATE INDEX IF NOT EXISTS idx_notification_queue_claim ON notification_queue (type, status, scheduled_at);
+-- 임대 만료 회수 (status = 'PROCESSING', lease_until < now)
+CREATE INDEX IF NOT EXISTS idx_notification_queue_lease ON notification_queue (status, lease_until);
@@ -0,0 +1,5 @@
+-- 대시보드 요약 보정 대상 조회(updated_at >= :since) 용 인덱스 - user_id 포함으로 테이블 접근 없이 처리
+-- Version: V202610172000
+-- Date: 2026-10-17 20:00
+
+CREATE INDEX IF NOT EXISTS idx_orders_updated_user ON orders(updated_at, user_id);
@@ -0,0 +1,9 @@
+-- 아카이빙 정책별 실행 임대(lease) - 노드 간 같은 정책 동시 실행 방지
+-- Version: V202610172100
+-- Date: 2026-10-17 21:00
+
+CREATE TABLE IF NOT EXISTS archive_locks (
+    policy_id VARCHAR(64) NOT NULL PRIMARY KEY,
+    locked_by VARCHAR(100) NOT NULL,
+    locked_until TIMESTAMP NOT NULL
+);
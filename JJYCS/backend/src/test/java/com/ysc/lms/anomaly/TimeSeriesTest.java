@@ -0,0 +1,126 @@
+package com.ysc.lms.anomaly;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TimeSeries 증분 통계 테스트
+ * 윈도우 평균/표준편차(Welford, 제거 포함)를 두 번 순회 계산과 비교하고, EWMA 를 손으로 계산한 값과 비교합니다
+ */
+class TimeSeriesTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    @DisplayName("첫 점(n=0)과 두 번째 점(n=1)의 기준 통계")
+    void firstPointsHaveEmptyOrSingleStatistics() {
+        TimeSeries series = new TimeSeries(16, 0.3, 24, 7);
+
+        TimeSeries.Observation first = series.append(1_000L, 42.0);
+        assertEquals(0, first.seriesCount);
+        assertEquals(0, first.windowSize);
+        assertEquals(0.0, first.windowMean);
+        assertEquals(0.0, first.windowStdDev);
+        assertEquals(0.0, first.ewmaMean);
+        assertEquals(0.0, first.ewmaStdDev);
+        assertFalse(first.hasPivot);
+
+        TimeSeries.Observation second = series.append(2_000L, 50.0);
+        assertEquals(1, second.seriesCount);
+        assertEquals(1, second.windowSize);
+        assertEquals(42.0, second.windowMean);
+        assertEquals(0.0, second.windowStdDev);
+        assertEquals(42.0, second.ewmaMean);
+        assertEquals(0.0, second.ewmaStdDev);
+
+        TimeSeries.Observation third = series.append(3_000L, 0.0);
+        assertEquals(46.0, third.windowMean, EPSILON);
+        assertEquals(4.0, third.windowStdDev, EPSILON);
+    }
+
+    @Test
+    @DisplayName("같거나 이전 시각의 점은 거부하고 통계를 바꾸지 않음")
+    void rejectsOutOfOrderPoints() {
+        TimeSeries series = new TimeSeries(16, 0.3, 24, 7);
+        series.append(2_000L, 10.0);
+
+        assertNull(series.append(2_000L, 99.0));
+        assertNull(series.append(1_000L, 99.0));
+
+        TimeSeries.Observation next = series.append(3_000L, 20.0);
+        assertEquals(1, next.seriesCount);
+        assertEquals(10.0, next.windowMean);
+    }
+
+    @Test
+    @DisplayName("윈도우 평균/표준편차는 보관 중인 점을 두 번 순회해 구한 모분산과 일치")
+    void welfordMatchesTwoPassVariance() {
+        int capacity = 16;
+        TimeSeries series = new TimeSeries(capacity, 0.2, 24, 7);
+        Random random = new Random(20261017L);
+        double[] history = new double[200];
+
+        for (int i = 0; i < history.length; i++) {
+            // 큰 오프셋 위의 작은 변동: 단순 합/제곱합 방식이면 정밀도가 무너지는 입력
+            history[i] = 1_000_000.0 + random.nextGaussian() * 3.0 + (i % 7);
+            TimeSeries.Observation observation = series.append(i * 60_000L, history[i]);
+
+            int window = Math.min(i, capacity);
+            assertEquals(window, observation.windowSize, "point " + i);
+            if (window == 0) {
+                continue;
+            }
+            double sum = 0.0;
+            for (int j = i - window; j < i; j++) {
+                sum += history[j];
+            }
+            double mean = sum / window;
+            double squares = 0.0;
+            for (int j = i - window; j < i; j++) {
+                squares += (history[j] - mean) * (history[j] - mean);
+            }
+            assertEquals(mean, observation.windowMean, 1e-6, "mean at point " + i);
+            assertEquals(Math.sqrt(squares / window), observation.windowStdDev, 1e-6, "stddev at point " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("EWMA 평균/분산 - 알려진 수열에 대해 손계산 값과 일치")
+    void ewmaMatchesKnownSequence() {
+        TimeSeries series = new TimeSeries(16, 0.5, 24, 7);
+        double[] values = {10.0, 20.0, 10.0, 10.0};
+        // alpha=0.5: mean 10 -> 15 -> 12.5 -> 11.25, variance 0 -> 25 -> 18.75 -> 10.9375
+        double[] expectedMean = {0.0, 10.0, 15.0, 12.5, 11.25};
+        double[] expectedVariance = {0.0, 0.0, 25.0, 18.75, 10.9375};
+
+        for (int i = 0; i < values.length; i++) {
+            TimeSeries.Observation observation = series.append((i + 1) * 1_000L, values[i]);
+            assertEquals(expectedMean[i], observation.ewmaMean, EPSILON, "mean before point " + i);
+            assertEquals(Math.sqrt(expectedVariance[i]), observation.ewmaStdDev, EPSILON, "stddev before point " + i);
+        }
+        TimeSeries.Observation last = series.append(10_000L, 0.0);
+        assertEquals(expectedMean[4], last.ewmaMean, EPSILON);
+        assertEquals(Math.sqrt(expectedVariance[4]), last.ewmaStdDev, EPSILON);
+    }
+
+    @Test
+    @DisplayName("상수 수열은 EWMA/윈도우 표준편차 모두 0")
+    void constantSeriesHasZeroDeviation() {
+        TimeSeries series = new TimeSeries(10, 0.3, 24, 7);
+        TimeSeries.Observation observation = null;
+        for (int i = 0; i < 35; i++) {
+            observation = series.append(i * 1_000L, 7.5);
+        }
+        assertEquals(7.5, observation.windowMean, EPSILON);
+        assertEquals(0.0, observation.windowStdDev, EPSILON);
+        assertEquals(7.5, observation.ewmaMean, EPSILON);
+        assertEquals(0.0, observation.ewmaStdDev, EPSILON);
+        assertTrue(observation.hasPivot);
+        assertEquals(0.0, observation.beforeTrend);
+        assertEquals(0.0, observation.afterTrend);
+    }
+}
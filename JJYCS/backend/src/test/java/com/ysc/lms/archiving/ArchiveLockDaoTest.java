@@ -0,0 +1,72 @@
+package com.ysc.lms.archiving;
+
+import com.ysc.lms.YscLmsApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * archive_locks 정책 임대 획득/연장/반납 테스트 (H2)
+ */
+@SpringBootTest(classes = YscLmsApplication.class)
+@ActiveProfiles("test")
+class ArchiveLockDaoTest {
+
+    @Autowired
+    private ArchiveLockDao lockDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM archive_locks");
+    }
+
+    @Test
+    @DisplayName("유효한 임대는 한 노드만 가지고, 반납하거나 만료되면 다른 노드가 가져감")
+    void onlyOneNodeHoldsLease() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertTrue(lockDao.tryAcquire("AUDIT_LOGS", "node-a", now, now.plusMinutes(30)));
+        assertFalse(lockDao.tryAcquire("AUDIT_LOGS", "node-b", now, now.plusMinutes(30)));
+        assertTrue(lockDao.tryAcquire("AUDIT_LOGS", "node-a", now, now.plusMinutes(30)));
+        assertTrue(lockDao.tryAcquire("ORDER_DATA", "node-b", now, now.plusMinutes(30)));
+
+        // 다른 노드의 반납 요청은 무시
+        lockDao.release("AUDIT_LOGS", "node-b");
+        assertFalse(lockDao.tryAcquire("AUDIT_LOGS", "node-b", now, now.plusMinutes(30)));
+        lockDao.release("AUDIT_LOGS", "node-a");
+        assertTrue(lockDao.tryAcquire("AUDIT_LOGS", "node-b", now, now.plusMinutes(30)));
+
+        // node-b 의 임대가 만료된 시점이면 node-a 가 가져감
+        LocalDateTime later = now.plusHours(1);
+        assertTrue(lockDao.tryAcquire("AUDIT_LOGS", "node-a", later, later.plusMinutes(30)));
+        assertEquals("node-a", jdbcTemplate.queryForObject(
+            "SELECT locked_by FROM archive_locks WHERE policy_id = ?", String.class, "AUDIT_LOGS"));
+    }
+
+    @Test
+    @DisplayName("연장은 만료 전 자신의 임대만, 임대를 잃었으면 false")
+    void renewsOwnLiveLeaseOnly() {
+        LocalDateTime now = LocalDateTime.now();
+        assertTrue(lockDao.tryAcquire("AUDIT_LOGS", "node-a", now, now.plusMinutes(30)));
+
+        assertTrue(lockDao.renew("AUDIT_LOGS", "node-a", now.plusMinutes(10), now.plusMinutes(40)));
+        assertFalse(lockDao.renew("AUDIT_LOGS", "node-b", now.plusMinutes(10), now.plusMinutes(40)));
+
+        // 만료 후에는 다른 노드가 가져갔을 수 있으므로 연장하지 않음
+        LocalDateTime expired = now.plusMinutes(41);
+        assertFalse(lockDao.renew("AUDIT_LOGS", "node-a", expired, expired.plusMinutes(30)));
+        assertTrue(lockDao.tryAcquire("AUDIT_LOGS", "node-b", expired, expired.plusMinutes(30)));
+        assertFalse(lockDao.renew("AUDIT_LOGS", "node-a", expired, expired.plusMinutes(30)));
+    }
+}
@@ -0,0 +1,163 @@
+package com.ysc.lms.archiving;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 아카이브 세그먼트 값 변환(ArchiveRowCodec)과 쓰기/확정/읽기(ArchiveSegmentWriter, ArchiveSegmentReader) 테스트
+ */
+class ArchiveSegmentTest {
+
+    private static final ArchiveTarget AUDIT = new ArchiveTarget("AUDIT_LOGS", "audit_logs", "created_at", "entity_id", null, true);
+    private static final List<String> COLUMNS = List.of("id", "entity_id", "created_at", "action", "amount");
+    private static final List<Integer> TYPES = List.of(Types.BIGINT, Types.BIGINT, Types.TIMESTAMP, Types.VARCHAR, Types.DECIMAL);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("JDBC 값 → JSON → 컬럼 타입 복원 시 값이 그대로")
+    void codecRoundTrip() throws Exception {
+        assertRoundTrip(Timestamp.valueOf(LocalDateTime.of(2024, 2, 29, 23, 59, 58, 123_000_000)), Types.TIMESTAMP);
+        assertRoundTrip(Date.valueOf("2024-02-29"), Types.DATE);
+        assertRoundTrip(Time.valueOf("07:30:15"), Types.TIME);
+        assertRoundTrip(new BigDecimal("12345678901234.567890"), Types.DECIMAL);
+        assertRoundTrip(Long.MAX_VALUE, Types.BIGINT);
+        assertRoundTrip(42, Types.INTEGER);
+        assertRoundTrip("주문 'A' \"B\"\n", Types.VARCHAR);
+        assertRoundTrip(Boolean.TRUE, Types.BOOLEAN);
+        assertRoundTrip(OffsetDateTime.parse("2024-03-01T09:00:00+09:00"), Types.TIMESTAMP_WITH_TIMEZONE);
+        assertNull(decode(null, Types.VARCHAR));
+
+        byte[] bytes = {0, 1, (byte) 0xff, 127};
+        assertArrayEquals(bytes, (byte[]) decode(bytes, Types.VARBINARY));
+
+        // BIT 는 드라이버에 따라 1/0 으로 저장되어 있을 수 있음
+        assertEquals(Boolean.TRUE, ArchiveRowCodec.decode(objectMapper.readTree("\"1\""), Types.BIT));
+        assertEquals(Boolean.FALSE, ArchiveRowCodec.decode(objectMapper.readTree("0"), Types.BIT));
+        assertEquals(LocalDateTime.of(2024, 3, 1, 9, 0), ArchiveRowCodec.parseTime("2024-03-01T09:00:00+09:00"));
+    }
+
+    @Test
+    @DisplayName("확정(seal)한 세그먼트는 체크섬/인덱스/행 수가 매니페스트 항목과 일치")
+    void sealedSegmentMatchesManifestEntry() throws Exception {
+        Path file = directory.resolve("audit_logs-00001.ndjson.gz");
+        ArchiveSegmentWriter writer = new ArchiveSegmentWriter(objectMapper, AUDIT, file, COLUMNS, TYPES);
+        assertEquals(7L, writer.append(row(7, 300, LocalDateTime.of(2022, 1, 3, 10, 0), "UPDATE", "1.50")));
+        writer.append(row(3, 100, LocalDateTime.of(2022, 1, 1, 10, 0), "CREATE", "0.10"));
+        writer.append(row(9, 100, LocalDateTime.of(2022, 1, 2, 10, 0), null, null));
+        ArchiveSegment segment = writer.seal();
+
+        assertEquals("audit_logs-00001.ndjson.gz", segment.getFileName());
+        assertEquals("audit_logs-00001.ndjson.gz.idx", segment.getIndexFileName());
+        assertEquals("audit_logs", segment.getTable());
+        assertEquals("entity_id", segment.getLookupColumn());
+        assertEquals(3, segment.getRecordCount());
+        assertEquals(3, segment.getMinKey());
+        assertEquals(9, segment.getMaxKey());
+        assertEquals(LocalDateTime.of(2022, 1, 1, 10, 0), segment.getMinTime());
+        assertEquals(LocalDateTime.of(2022, 1, 3, 10, 0), segment.getMaxTime());
+        assertEquals(Files.size(file), segment.getCompressedSizeBytes());
+        assertTrue(segment.getRawSizeBytes() > 0);
+
+        assertTrue(ArchiveSegmentReader.verify(file, segment.getSha256()));
+        Path index = directory.resolve(segment.getIndexFileName());
+        assertTrue(ArchiveSegmentReader.indexContains(index, 100));
+        assertTrue(ArchiveSegmentReader.indexContains(index, 300));
+        assertFalse(ArchiveSegmentReader.indexContains(index, 200));
+
+        // 매니페스트 항목은 JSON 으로 저장했다가 다시 읽어도 같음
+        ObjectMapper manifestMapper = new ObjectMapper().findAndRegisterModules();
+        assertEquals(segment, manifestMapper.readValue(manifestMapper.writeValueAsBytes(segment), ArchiveSegment.class));
+
+        byte[] tampered = Files.readAllBytes(file);
+        tampered[tampered.length / 2] ^= 1;
+        Files.write(file, tampered);
+        assertFalse(ArchiveSegmentReader.verify(file, segment.getSha256()));
+    }
+
+    @Test
+    @DisplayName("세그먼트 줄은 쓴 순서대로 읽히고 false 를 돌려주면 멈춤")
+    void readsLinesInOrder() throws Exception {
+        Path file = directory.resolve("audit_logs-00002.ndjson.gz");
+        ArchiveSegmentWriter writer = new ArchiveSegmentWriter(objectMapper, AUDIT, file, COLUMNS, TYPES);
+        for (int i = 1; i <= 5; i++) {
+            writer.append(row(i, i * 10, LocalDateTime.of(2022, 1, i, 0, 0), "A" + i, i + ".25"));
+        }
+        writer.seal();
+
+        List<JsonNode> lines = new ArrayList<>();
+        ArchiveSegmentReader.forEachLine(file, line -> {
+            lines.add(readTree(line));
+            return true;
+        });
+        assertEquals(5, lines.size());
+        JsonNode first = lines.get(0);
+        assertEquals(COLUMNS, fieldNames(first));
+        assertEquals("2022-01-01T00:00", first.get("created_at").asText());
+        assertEquals(0, new BigDecimal("1.25").compareTo((BigDecimal) ArchiveRowCodec.decode(first.get("amount"), Types.DECIMAL)));
+
+        List<Long> stopped = new ArrayList<>();
+        ArchiveSegmentReader.forEachLine(file, line -> {
+            stopped.add(readTree(line).get("id").asLong());
+            return stopped.size() < 2;
+        });
+        assertEquals(List.of(1L, 2L), stopped);
+    }
+
+    @Test
+    @DisplayName("id 또는 시간 컬럼이 없는 대상은 세그먼트를 만들지 않음")
+    void requiresKeyAndTimeColumns() {
+        assertThrows(IllegalStateException.class, () -> new ArchiveSegmentWriter(objectMapper, AUDIT,
+            directory.resolve("broken.ndjson.gz"), List.of("id", "action"), List.of(Types.BIGINT, Types.VARCHAR)));
+    }
+
+    private void assertRoundTrip(Object value, int sqlType) throws Exception {
+        assertEquals(value, decode(value, sqlType));
+    }
+
+    /**
+     * 세그먼트에 쓰는 것과 같은 경로로 JSON 문자열을 거쳐 복원
+     */
+    private Object decode(Object value, int sqlType) throws Exception {
+        JsonNode node = objectMapper.readTree(objectMapper.writeValueAsString(ArchiveRowCodec.encode(value)));
+        return ArchiveRowCodec.decode(node, sqlType);
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    static Object[] row(long id, long entityId, LocalDateTime createdAt, String action, String amount) {
+        return new Object[]{id, entityId, Timestamp.valueOf(createdAt), action, amount != null ? new BigDecimal(amount) : null};
+    }
+}
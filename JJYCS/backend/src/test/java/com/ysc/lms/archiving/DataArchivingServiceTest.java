@@ -0,0 +1,306 @@
+package com.ysc.lms.archiving;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysc.lms.archiving.DataArchivingService.ArchiveMetadata;
+import com.ysc.lms.archiving.DataArchivingService.ArchivingJob;
+import com.ysc.lms.archiving.DataArchivingService.ArchivingResult;
+import com.ysc.lms.archiving.DataArchivingService.JobStatus;
+import com.ysc.lms.archiving.DataArchivingService.RestorationRequest;
+import com.ysc.lms.archiving.DataArchivingService.RestorationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DataArchivingService 아카이빙/복원 흐름 테스트
+ * 운영 테이블과 archive_locks 는 메모리 DAO 로 대체하고, 세그먼트/매니페스트는 임시 디렉터리에 실제로 씁니다
+ */
+class DataArchivingServiceTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final List<String> AUDIT_COLUMNS = List.of("id", "entity_id", "created_at", "action", "amount");
+    private static final List<Integer> AUDIT_TYPES = List.of(Types.BIGINT, Types.BIGINT, Types.TIMESTAMP, Types.VARCHAR, Types.DECIMAL);
+    private static final List<String> ORDER_COLUMNS = List.of("id", "status", "updated_at");
+    private static final List<Integer> ORDER_TYPES = List.of(Types.BIGINT, Types.VARCHAR, Types.TIMESTAMP);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Map<String, List<Object[]>> tables = new HashMap<>();
+    private final List<LocalDateTime> copyLowerBounds = new ArrayList<>();
+    private final List<String> releasedLocks = new ArrayList<>();
+    private final List<DataArchivingService> services = new ArrayList<>();
+    private boolean lockedByOtherNode;
+
+    private final ArchiveTableDao tableDao = new ArchiveTableDao(null) {
+        @Override
+        public long countOlderThan(ArchiveTarget target, LocalDateTime cutoff) {
+            return rows(target.getTable()).stream().filter(row -> time(target, row).isBefore(cutoff)).count();
+        }
+
+        @Override
+        public Page fetchPage(ArchiveTarget target, LocalDateTime cutoff, LocalDateTime notBefore, long afterKey, int limit) {
+            if (!target.isDeleteArchived()) {
+                copyLowerBounds.add(notBefore);
+            }
+            Page page = new Page();
+            boolean orders = "orders".equals(target.getTable());
+            ReflectionTestUtils.setField(page, "columns", orders ? ORDER_COLUMNS : AUDIT_COLUMNS);
+            ReflectionTestUtils.setField(page, "columnTypes", orders ? ORDER_TYPES : AUDIT_TYPES);
+            rows(target.getTable()).stream()
+                .filter(row -> time(target, row).isBefore(cutoff))
+                .filter(row -> notBefore == null || !time(target, row).isBefore(notBefore))
+                .filter(row -> (Long) row[0] > afterKey)
+                .sorted((left, right) -> Long.compare((Long) left[0], (Long) right[0]))
+                .limit(limit)
+                .forEach(page.getRows()::add);
+            return page;
+        }
+
+        @Override
+        public int deleteBatch(ArchiveTarget target, LocalDateTime cutoff, List<Long> ids) {
+            List<Object[]> rows = rows(target.getTable());
+            int before = rows.size();
+            rows.removeIf(row -> ids.contains((Long) row[0]) && time(target, row).isBefore(cutoff));
+            return before - rows.size();
+        }
+
+        @Override
+        public int insertMissing(String table, List<String> columns, List<Integer> columnTypes, int keyIndex,
+                                 List<Object[]> batch) {
+            List<Object[]> rows = rows(table);
+            int inserted = 0;
+            for (Object[] row : batch) {
+                if (rows.stream().noneMatch(existing -> existing[keyIndex].equals(row[keyIndex]))) {
+                    rows.add(row);
+                    inserted++;
+                }
+            }
+            return inserted;
+        }
+    };
+
+    private final ArchiveLockDao lockDao = new ArchiveLockDao(null) {
+        @Override
+        public boolean tryAcquire(String policyId, String owner, LocalDateTime now, LocalDateTime until) {
+            return !lockedByOtherNode;
+        }
+
+        @Override
+        public boolean renew(String policyId, String owner, LocalDateTime now, LocalDateTime until) {
+            return true;
+        }
+
+        @Override
+        public void release(String policyId, String owner) {
+            releasedLocks.add(policyId);
+        }
+    };
+
+    @TempDir
+    Path basePath;
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(DataArchivingService::shutdown);
+    }
+
+    @Test
+    @DisplayName("켜져 있으면 base-path 가 절대 경로가 아닐 때 기동 실패, 꺼져 있으면 기동하되 실행은 거부")
+    void requiresAbsoluteBasePathWhenEnabled() throws Exception {
+        assertThrows(IllegalStateException.class, () -> service(true, ""));
+        assertThrows(IllegalStateException.class, () -> service(true, "./archive"));
+        assertDoesNotThrow(() -> service(true, basePath.toString()));
+
+        DataArchivingService disabled = service(false, "");
+        tables.put("audit_logs", auditRows());
+        ArchivingJob job = disabled.createArchivingJob("AUDIT_LOGS", null, CUTOFF);
+        assertThrows(ExecutionException.class, () -> await(disabled.executeArchivingJob(job.getJobId())));
+        assertEquals(JobStatus.FAILED, job.getStatus());
+        assertEquals(5, tables.get("audit_logs").size());
+    }
+
+    @Test
+    @DisplayName("세그먼트 확정 후 삭제, 매니페스트로 재기동 시 복구, 복원은 없는 id 만 다시 넣음")
+    void archivesSealsAndRestores() throws Exception {
+        List<Object[]> originals = auditRows();
+        tables.put("audit_logs", new ArrayList<>(originals));
+        tables.get("audit_logs").add(auditRow(6, 100, LocalDateTime.of(2023, 6, 1, 0, 0), "RECENT", "9.99"));
+
+        DataArchivingService service = service(true, basePath.toString());
+        ArchivingJob job = service.createArchivingJob("AUDIT_LOGS", null, CUTOFF);
+        assertEquals(5, job.getEstimatedRecords());
+        ArchivingResult result = await(service.executeArchivingJob(job.getJobId()));
+
+        assertEquals(5, result.getArchivedRecords());
+        assertEquals(JobStatus.COMPLETED, job.getStatus());
+        assertEquals(List.of("AUDIT_LOGS"), releasedLocks);
+        assertEquals(1, tables.get("audit_logs").size());
+        Path directory = basePath.resolve("AUDIT_LOGS").resolve(result.getArchiveId());
+        assertEquals(directory.toString(), result.getStorageLocation());
+
+        ArchiveMetadata manifest = objectMapper.readValue(directory.resolve("manifest.json").toFile(), ArchiveMetadata.class);
+        assertEquals(2, manifest.getSegments().size());
+        assertEquals(List.of(3, 2), manifest.getSegments().stream().map(ArchiveSegment::getRecordCount).toList());
+        assertEquals(List.of(3, 2), manifest.getSegments().stream().map(ArchiveSegment::getDeletedRecords).toList());
+        assertEquals(CUTOFF, manifest.getTableCutoffs().get("audit_logs"));
+        for (ArchiveSegment segment : manifest.getSegments()) {
+            assertTrue(ArchiveSegmentReader.verify(directory.resolve(segment.getFileName()), segment.getSha256()));
+        }
+
+        // 재기동한 노드가 매니페스트를 읽어 복원 - id 2 는 이미 운영 테이블에 있음
+        tables.get("audit_logs").add(originals.get(1));
+        DataArchivingService restarted = service(true, basePath.toString());
+        RestorationResult restored = await(restarted.restoreFromArchive(result.getArchiveId(),
+            RestorationRequest.builder().requestedBy("admin").reason("audit").build()));
+
+        assertEquals(4, restored.getRestoredRecords());
+        assertEquals(1, restored.getSkippedRecords());
+        Map<Long, Object[]> live = new HashMap<>();
+        tables.get("audit_logs").forEach(row -> live.put((Long) row[0], row));
+        for (Object[] original : originals) {
+            assertArrayEquals(original, live.get((Long) original[0]));
+        }
+    }
+
+    @Test
+    @DisplayName("entityId 복원은 .idx 에 키가 있는 세그먼트의 해당 행만, 체크섬이 틀리면 실패")
+    void restoresSingleEntityAndVerifiesChecksum() throws Exception {
+        tables.put("audit_logs", auditRows());
+        DataArchivingService service = service(true, basePath.toString());
+        ArchivingResult result = await(service.executeArchivingJob(
+            service.createArchivingJob("AUDIT_LOGS", null, CUTOFF).getJobId()));
+
+        RestorationResult restored = await(service.restoreFromArchive(result.getArchiveId(),
+            RestorationRequest.builder().requestedBy("admin").entityId(100L).build()));
+        assertEquals(2, restored.getRestoredRecords());
+        assertEquals(List.of(1L, 4L), tables.get("audit_logs").stream().map(row -> (Long) row[0]).sorted().toList());
+
+        Path segment = basePath.resolve("AUDIT_LOGS").resolve(result.getArchiveId()).resolve("audit_logs-00001.ndjson.gz");
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(segment, bytes);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> await(service.restoreFromArchive(
+            result.getArchiveId(), RestorationRequest.builder().requestedBy("admin").build())));
+        assertTrue(failure.getCause().getMessage().contains("checksum mismatch"));
+    }
+
+    @Test
+    @DisplayName("다른 노드가 정책 임대를 가지고 있으면 아무것도 쓰거나 지우지 않고 실패")
+    void skipsWhenAnotherNodeHoldsLock() {
+        tables.put("audit_logs", auditRows());
+        lockedByOtherNode = true;
+        DataArchivingService service = service(true, basePath.toString());
+        ArchivingJob job = service.createArchivingJob("AUDIT_LOGS", null, CUTOFF);
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+            () -> await(service.executeArchivingJob(job.getJobId())));
+        assertTrue(failure.getCause().getCause().getMessage().contains("locked by another node"));
+        assertEquals(JobStatus.FAILED, job.getStatus());
+        assertEquals(5, tables.get("audit_logs").size());
+        assertFalse(Files.exists(basePath.resolve("AUDIT_LOGS")));
+        assertTrue(releasedLocks.isEmpty());
+    }
+
+    @Test
+    @DisplayName("사본만 남기는 주문은 이전 cutoff 이후 구간을 읽어, 나중에 종료된 작은 id 주문도 보관")
+    void copiesOrdersCompletedAfterPreviousRun() throws Exception {
+        LocalDateTime firstCutoff = LocalDateTime.of(2022, 1, 1, 0, 0);
+        LocalDateTime secondCutoff = LocalDateTime.of(2022, 6, 1, 0, 0);
+        List<Object[]> orders = new ArrayList<>();
+        orders.add(orderRow(1, "IN_TRANSIT", LocalDateTime.of(2022, 5, 1, 0, 0)));
+        orders.add(orderRow(5, "DELIVERED", LocalDateTime.of(2021, 12, 1, 0, 0)));
+        tables.put("orders", orders);
+
+        DataArchivingService service = service(true, basePath.toString());
+        ArchivingResult first = await(service.executeArchivingJob(
+            service.createArchivingJob("ORDER_DATA", null, firstCutoff).getJobId()));
+        assertEquals(1, first.getArchivedRecords());
+        assertEquals(2, tables.get("orders").size());
+
+        // id 1 은 첫 실행 이후 종료되어 updated_at 이 두 cutoff 사이로 갱신됨
+        orders.set(0, orderRow(1, "DELIVERED", LocalDateTime.of(2022, 3, 1, 0, 0)));
+        DataArchivingService restarted = service(true, basePath.toString());
+        ArchivingResult second = await(restarted.executeArchivingJob(
+            restarted.createArchivingJob("ORDER_DATA", null, secondCutoff).getJobId()));
+
+        assertEquals(1, second.getArchivedRecords());
+        assertEquals(Arrays.asList(null, firstCutoff), copyLowerBounds);
+        ArchiveMetadata manifest = objectMapper.readValue(
+            basePath.resolve("ORDER_DATA").resolve(second.getArchiveId()).resolve("manifest.json").toFile(),
+            ArchiveMetadata.class);
+        ArchiveSegment segment = manifest.getSegments().get(0);
+        assertEquals(1, segment.getMinKey());
+        assertEquals(1, segment.getMaxKey());
+        assertEquals(0, segment.getDeletedRecords());
+        assertEquals(secondCutoff, manifest.getTableCutoffs().get("orders"));
+
+        // 같은 cutoff 로 다시 돌리면 읽을 구간이 없음
+        ArchivingResult repeated = await(restarted.executeArchivingJob(
+            restarted.createArchivingJob("ORDER_DATA", null, secondCutoff).getJobId()));
+        assertEquals(0, repeated.getArchivedRecords());
+        assertEquals(2, copyLowerBounds.size());
+    }
+
+    private DataArchivingService service(boolean enabled, String path) {
+        DataArchivingService service = new DataArchivingService(tableDao, lockDao, objectMapper);
+        services.add(service);
+        ReflectionTestUtils.setField(service, "archivingEnabled", enabled);
+        ReflectionTestUtils.setField(service, "basePath", path);
+        ReflectionTestUtils.setField(service, "pageSize", 2);
+        ReflectionTestUtils.setField(service, "segmentRows", 3);
+        ReflectionTestUtils.setField(service, "deleteBatchSize", 2);
+        ReflectionTestUtils.setField(service, "lockLeaseMinutes", 30);
+        service.init();
+        return service;
+    }
+
+    private List<Object[]> rows(String table) {
+        return tables.computeIfAbsent(table, key -> new ArrayList<>());
+    }
+
+    /**
+     * 감사 로그(created_at)와 주문(updated_at) 모두 세 번째 컬럼이 시간 컬럼
+     */
+    private static LocalDateTime time(ArchiveTarget target, Object[] row) {
+        return ((Timestamp) row[2]).toLocalDateTime();
+    }
+
+    private static List<Object[]> auditRows() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(auditRow(1, 100, LocalDateTime.of(2021, 1, 1, 9, 0), "CREATE", "10.50"));
+        rows.add(auditRow(2, 200, LocalDateTime.of(2021, 2, 1, 9, 0), "UPDATE", null));
+        rows.add(auditRow(3, 300, LocalDateTime.of(2021, 3, 1, 9, 0), null, "0.000001"));
+        rows.add(auditRow(4, 100, LocalDateTime.of(2022, 4, 1, 9, 0), "DELETE", "12345678901234.5678"));
+        rows.add(auditRow(5, 200, LocalDateTime.of(2022, 12, 31, 23, 59, 59), "UPDATE", "-3"));
+        return rows;
+    }
+
+    private static Object[] auditRow(long id, long entityId, LocalDateTime createdAt, String action, String amount) {
+        return ArchiveSegmentTest.row(id, entityId, createdAt, action, amount);
+    }
+
+    private static Object[] orderRow(long id, String status, LocalDateTime updatedAt) {
+        return new Object[]{id, status, Timestamp.valueOf(updatedAt)};
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,88 @@
+package com.ysc.lms.controller;
+
+import com.ysc.lms.entity.Order;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.repository.ParcelRepository;
+import com.ysc.lms.repository.UserRepository;
+import com.ysc.lms.service.OrderService;
+import com.ysc.lms.service.ParcelTrackingService;
+import com.ysc.lms.tracking.TrackingLookupService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * 주문 송장 추적 조회 권한 테스트 - 주문 소유자, 관리자, 창고 사용자만 조회 가능
+ */
+class ParcelControllerTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TrackingLookupService trackingLookupService = mock(TrackingLookupService.class);
+    private final ParcelController controller = new ParcelController(mock(ParcelTrackingService.class),
+        mock(ParcelRepository.class), trackingLookupService, orderService, userRepository);
+
+    @Test
+    @DisplayName("다른 사용자의 주문은 403, 송장 조회를 시작하지 않음")
+    void rejectsOtherUsersOrder() {
+        Order order = new Order();
+        User other = user(2L, "other@ysc.test", User.UserType.GENERAL);
+        when(orderService.findById(10L)).thenReturn(Optional.of(order));
+        when(orderService.isOrderAccessible(order, other)).thenReturn(false);
+
+        ResponseEntity<Map<String, Object>> response = controller.getOrderTracking(10L, auth(other)).block();
+
+        assertEquals(403, response.getStatusCode().value());
+        verify(trackingLookupService, never()).lookupOrder(anyLong());
+    }
+
+    @Test
+    @DisplayName("접근 가능한 주문은 조회, 없는 주문은 404")
+    void allowsAccessibleOrder() {
+        Order order = new Order();
+        User owner = user(1L, "owner@ysc.test", User.UserType.GENERAL);
+        when(orderService.findById(10L)).thenReturn(Optional.of(order));
+        when(orderService.findById(11L)).thenReturn(Optional.empty());
+        when(orderService.isOrderAccessible(order, owner)).thenReturn(true);
+        when(trackingLookupService.lookupOrder(10L)).thenReturn(Mono.just(List.of()));
+
+        ResponseEntity<Map<String, Object>> response = controller.getOrderTracking(10L, auth(owner)).block();
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(0, response.getBody().get("count"));
+
+        assertEquals(404, controller.getOrderTracking(11L, auth(owner)).block().getStatusCode().value());
+        verify(trackingLookupService, times(1)).lookupOrder(anyLong());
+    }
+
+    @Test
+    @DisplayName("형식이 틀린 송장 단건 조회는 400")
+    void rejectsMalformedTrackingNumber() {
+        assertEquals(400, controller.getTracking("CJ", "abc").block().getStatusCode().value());
+        verify(trackingLookupService, never()).lookup(any(), any());
+    }
+
+    private User user(Long id, String email, User.UserType type) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setUserType(type);
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+        return user;
+    }
+
+    private static Authentication auth(User user) {
+        return new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of());
+    }
+}
@@ -0,0 +1,63 @@
+package com.ysc.lms.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysc.lms.loadplan.LoadPlanningService;
+import com.ysc.lms.picking.PickPathService;
+import com.ysc.lms.scan.ScanIngestionPipeline;
+import com.ysc.lms.service.WarehouseService;
+import com.ysc.lms.slotting.SlottingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 재고 NDJSON 스트리밍 - 상태 필터는 응답을 시작하기 전에 검사
+ */
+class WarehouseControllerStreamTest {
+
+    private final WarehouseService warehouseService = mock(WarehouseService.class);
+    private final WarehouseController controller = new WarehouseController(warehouseService,
+        mock(ScanIngestionPipeline.class), mock(SlottingService.class), mock(PickPathService.class),
+        mock(LoadPlanningService.class), new ObjectMapper());
+
+    @Test
+    @DisplayName("알 수 없는 상태값은 스트리밍 없이 400 JSON")
+    void rejectsUnknownStatusBeforeStreaming() {
+        ResponseEntity<?> response = controller.streamInventory("WH1", "shipped-ish");
+
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Map<?, ?> body = (Map<?, ?>) response.getBody();
+        assertEquals(false, body.get("success"));
+        assertEquals("유효하지 않은 주문 상태입니다: shipped-ish", body.get("error"));
+        verifyNoInteractions(warehouseService);
+    }
+
+    @Test
+    @DisplayName("대소문자/공백이 섞인 상태값은 정규화해 페이지 조회, 비어 있으면 전체")
+    void streamsWithNormalizedStatus() throws IOException {
+        when(warehouseService.getInventoryPage(any(), any(), anyInt())).thenReturn(List.of());
+
+        ResponseEntity<?> response = controller.streamInventory("WH1", " arrived ");
+        assertEquals(200, response.getStatusCode().value());
+        ((StreamingResponseBody) response.getBody()).writeTo(new ByteArrayOutputStream());
+        verify(warehouseService).getInventoryPage(eq("ARRIVED"), eq(null), eq(WarehouseService.DEFAULT_INVENTORY_PAGE_SIZE));
+
+        ResponseEntity<?> all = controller.streamInventory("WH1", "");
+        ((StreamingResponseBody) all.getBody()).writeTo(new ByteArrayOutputStream());
+        verify(warehouseService).getInventoryPage(eq((String) null), eq(null), eq(WarehouseService.DEFAULT_INVENTORY_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,93 @@
+package com.ysc.lms.dashboard;
+
+import com.ysc.lms.YscLmsApplication;
+import com.ysc.lms.entity.Order;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.repository.OrderRepository;
+import com.ysc.lms.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 대시보드 요약 보정 대상 사용자 조회 테스트
+ * updatedAt 단일 범위 조건이 신규 주문과 수정된 옛 주문을 모두 찾는지 확인합니다
+ */
+@SpringBootTest(classes = YscLmsApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class UserOrderActivityQueryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("since 이후 생성/수정된 주문의 사용자만 조회")
+    void findsUsersWithCreatedOrUpdatedOrdersSince() {
+        LocalDateTime since = LocalDateTime.now().minusHours(1);
+        User created = saveUser("created@example.com");
+        User updated = saveUser("updated@example.com");
+        User idle = saveUser("idle@example.com");
+
+        // 신규 주문 - 감사(auditing)가 createdAt/updatedAt 을 모두 채움
+        saveOrder("ACT001", created);
+        // 오래전 생성되었지만 최근 수정된 주문
+        Order old = saveOrder("ACT002", updated);
+        setTimestamps(old, since.minusDays(30), since.plusMinutes(1));
+        // 변경 없는 주문
+        Order untouched = saveOrder("ACT003", idle);
+        setTimestamps(untouched, since.minusDays(30), since.minusDays(29));
+
+        List<Long> userIds = orderRepository.findUserIdsWithOrderActivitySince(since);
+
+        assertTrue(userIds.contains(created.getId()));
+        assertTrue(userIds.contains(updated.getId()));
+        assertFalse(userIds.contains(idle.getId()));
+        assertEquals(userIds.size(), userIds.stream().distinct().count());
+    }
+
+    private User saveUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setName("대시보드");
+        user.setUserType(User.UserType.GENERAL);
+        return userRepository.saveAndFlush(user);
+    }
+
+    private Order saveOrder(String orderNumber, User user) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumber);
+        order.setUserId(user.getId());
+        order.setStatus(Order.OrderStatus.RECEIVED);
+        order.setShippingType(Order.ShippingType.AIR);
+        order.setCountry("TH");
+        order.setRecipientName("수취인");
+        return orderRepository.saveAndFlush(order);
+    }
+
+    private void setTimestamps(Order order, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        // 벌크 JPQL UPDATE 는 감사 리스너를 거치지 않으므로 과거 시각을 그대로 기록
+        entityManager.createQuery("UPDATE Order o SET o.createdAt = :createdAt, o.updatedAt = :updatedAt WHERE o.id = :id")
+            .setParameter("createdAt", createdAt)
+            .setParameter("updatedAt", updatedAt)
+            .setParameter("id", order.getId())
+            .executeUpdate();
+        entityManager.clear();
+    }
+}
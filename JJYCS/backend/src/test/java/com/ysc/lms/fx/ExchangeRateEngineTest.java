@@ -0,0 +1,101 @@
+package com.ysc.lms.fx;
+
+import com.ysc.lms.repository.ExchangeRateHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 환율 엔진 스냅샷 조회/재적재 테스트
+ * 이력 저장소는 mock, 기록 이벤트는 커밋 후 리스너를 직접 호출해 반영합니다
+ */
+class ExchangeRateEngineTest {
+
+    private final LocalDate today = LocalDate.now();
+    private final List<Object[]> storedRates = new ArrayList<>();
+    private ExchangeRateHistoryRepository repository;
+    private ExchangeRateEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ExchangeRateHistoryRepository.class);
+        when(repository.findRatesSince(any())).thenAnswer(invocation -> new ArrayList<>(storedRates));
+        engine = new ExchangeRateEngine(repository, mock(ApplicationEventPublisher.class), new SimpleMeterRegistry(),
+            730, 3, 60_000);
+    }
+
+    @Test
+    @DisplayName("스냅샷에 없는 환율은 DB 에서 다시 적재해 응답하고, 재적재는 간격 안에 한 번만")
+    void reloadsOnMissAtMostOncePerInterval() {
+        storedRates.add(row("USD", today, "1350.25", "API"));
+
+        RateQuote quote = engine.quote("usd", today).orElseThrow();
+        assertEquals(0, new BigDecimal("1350.25").compareTo(quote.getRate()));
+        assertEquals("API", quote.getSource());
+
+        assertTrue(engine.quote("EUR", today).isEmpty());
+        assertTrue(engine.quote("EUR", today).isEmpty());
+        verify(repository, times(1)).findRatesSince(any());
+
+        // 정기 재적재는 간격과 무관하게 수행
+        storedRates.add(row("EUR", today, "1480", "API"));
+        engine.scheduledReload();
+        assertTrue(engine.quote("EUR", today).isPresent());
+        verify(repository, times(2)).findRatesSince(any());
+    }
+
+    @Test
+    @DisplayName("직전 발표가 허용 영업일보다 오래되면 환율 없음")
+    void staleRatesAreNotServed() {
+        storedRates.add(row("THB", today.minusDays(14), "38.2", "NAVER"));
+        engine.reload();
+
+        assertTrue(engine.quote("THB", today).isEmpty());
+        assertTrue(engine.quote("THB", today.minusDays(14)).isPresent());
+        assertTrue(engine.convertAll(List.of(BigDecimal.TEN), "THB", "KRW", today, 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("기록 반영 후 일괄 환산은 같은 스냅샷의 환율로, KRW 는 기준 통화 1")
+    void convertsWithRecordedRates() {
+        engine.reload();
+        engine.onExchangeRatesRecorded(new ExchangeRatesRecorded(
+            Map.of("USD", new BigDecimal("1400"), "THB", new BigDecimal("40")), today, "API"));
+
+        ConvertedAmounts converted = engine.convertAll(
+            Arrays.asList(new BigDecimal("10"), null, new BigDecimal("0.333")), "USD", "THB", today, 2).orElseThrow();
+
+        assertEquals(Arrays.asList(new BigDecimal("350.00"), null, new BigDecimal("11.66")), converted.getAmounts());
+        assertEquals("USD", converted.getFromCurrency());
+        assertEquals(0, BigDecimal.ONE.compareTo(engine.quote("KRW", today).orElseThrow().getRate()));
+        assertEquals(new BigDecimal("1400"), engine.convertAll(List.of(BigDecimal.ONE), "USD", "KRW", today, 0)
+            .orElseThrow().getAmounts().get(0));
+        assertTrue(engine.hasRates("thb"));
+        assertThrows(IllegalArgumentException.class, () -> engine.quote(" ", today));
+    }
+
+    @Test
+    @DisplayName("0 이하 환율은 기록하지 않음")
+    void rejectsNonPositiveRates() {
+        assertThrows(IllegalArgumentException.class,
+            () -> engine.record(Map.of("USD", BigDecimal.ZERO), today, "API"));
+        verify(repository, never()).save(any());
+    }
+
+    private static Object[] row(String currency, LocalDate date, String rate, String source) {
+        return new Object[]{currency, date, new BigDecimal(rate), source};
+    }
+}
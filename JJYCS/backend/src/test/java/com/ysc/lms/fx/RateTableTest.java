@@ -0,0 +1,107 @@
+package com.ysc.lms.fx;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 통화별 일별 환율표(RateTable) 테스트 - 직전 발표값 채우기, 영업일 기준 유효 기간, copy-on-write 갱신
+ * 기준 주: 2026-10-12(월) ~ 2026-10-18(일)
+ */
+class RateTableTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 12);
+    private static final int MAX_STALE = 3;
+
+    @Test
+    @DisplayName("발표가 없는 날은 직전 발표값과 발표일, 첫 발표일 이전은 null")
+    void forwardFillsFromLastPublished() {
+        RateTable table = table(MONDAY, "1300.5", MONDAY.plusDays(2), "1310");
+
+        RateQuote tuesday = table.quote("USD", MONDAY.plusDays(1), MAX_STALE);
+        assertEquals(new BigDecimal("1300.500000"), tuesday.getRate());
+        assertEquals(MONDAY, tuesday.getRateDate());
+        assertEquals("TEST", tuesday.getSource());
+        assertEquals(new BigDecimal("1310.000000"), table.quote("USD", MONDAY.plusDays(2), MAX_STALE).getRate());
+        assertEquals(MONDAY.plusDays(2), table.quote("USD", MONDAY.plusDays(4), MAX_STALE).getRateDate());
+        assertNull(table.quote("USD", MONDAY.minusDays(1), MAX_STALE));
+    }
+
+    @Test
+    @DisplayName("직전 발표가 허용 영업일보다 오래되면 null - 주말은 세지 않음")
+    void rejectsStaleRates() {
+        LocalDate friday = MONDAY.plusDays(4);
+        RateTable table = RateTable.single(friday, new BigDecimal("32.10"), "API");
+
+        assertNotNull(table.quote("THB", friday.plusDays(2), MAX_STALE));
+        assertNotNull(table.quote("THB", friday.plusDays(3), MAX_STALE));
+        assertNotNull(table.quote("THB", friday.plusDays(5), MAX_STALE));
+        assertNull(table.quote("THB", friday.plusDays(6), MAX_STALE));
+        assertNull(table.quote("THB", friday.plusDays(3), 0));
+        assertNotNull(table.quote("THB", friday.plusDays(2), 0));
+
+        // 표 안쪽의 긴 공백도 같은 기준
+        RateTable gap = table(LocalDate.of(2026, 10, 1), "1300", LocalDate.of(2026, 10, 20), "1320");
+        assertNotNull(gap.quote("USD", LocalDate.of(2026, 10, 6), MAX_STALE));
+        assertNull(gap.quote("USD", LocalDate.of(2026, 10, 12), MAX_STALE));
+        assertEquals(new BigDecimal("1320.000000"), gap.quote("USD", LocalDate.of(2026, 10, 20), MAX_STALE).getRate());
+    }
+
+    @Test
+    @DisplayName("영업일 수 - 단순 순회 결과와 같음")
+    void countsBusinessDays() {
+        assertEquals(1, RateTable.businessDaysBetween(MONDAY.plusDays(4), MONDAY.plusDays(7)));
+        assertEquals(5, RateTable.businessDaysBetween(MONDAY, MONDAY.plusDays(7)));
+        assertEquals(0, RateTable.businessDaysBetween(MONDAY, MONDAY));
+        assertEquals(0, RateTable.businessDaysBetween(MONDAY, MONDAY.minusDays(3)));
+
+        for (int start = 0; start < 7; start++) {
+            LocalDate from = MONDAY.plusDays(start);
+            for (int days = 0; days < 40; days++) {
+                LocalDate to = from.plusDays(days);
+                long expected = 0;
+                for (LocalDate day = from.plusDays(1); !day.isAfter(to); day = day.plusDays(1)) {
+                    if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                        expected++;
+                    }
+                }
+                assertEquals(expected, RateTable.businessDaysBetween(from, to), from + " -> " + to);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("with - 새 표를 만들고 기존 표는 그대로, 같은 날짜는 덮어씀")
+    void withIsCopyOnWrite() {
+        RateTable original = table(MONDAY, "1300", MONDAY.plusDays(2), "1310");
+
+        RateTable updated = original.with(MONDAY.plusDays(1), new BigDecimal("1305"), "NAVER");
+        RateTable overwritten = updated.with(MONDAY, new BigDecimal("1299.9999995"), "API");
+
+        assertEquals(MONDAY, original.quote("USD", MONDAY.plusDays(1), MAX_STALE).getRateDate());
+        RateQuote tuesday = updated.quote("USD", MONDAY.plusDays(1), MAX_STALE);
+        assertEquals(new BigDecimal("1305.000000"), tuesday.getRate());
+        assertEquals("NAVER", tuesday.getSource());
+        assertEquals(new BigDecimal("1300.000000"), overwritten.quote("USD", MONDAY, MAX_STALE).getRate());
+        assertEquals("API", overwritten.quote("USD", MONDAY, MAX_STALE).getSource());
+        assertEquals(3, overwritten.published().size());
+
+        // 첫 발표일보다 이른 날짜를 넣으면 표가 앞으로 늘어남
+        RateTable extended = original.with(MONDAY.minusDays(3), new BigDecimal("1290"), "API");
+        assertEquals(new BigDecimal("1290.000000"), extended.quote("USD", MONDAY.minusDays(1), MAX_STALE).getRate());
+    }
+
+    private static RateTable table(LocalDate first, String firstRate, LocalDate second, String secondRate) {
+        NavigableMap<LocalDate, RateTable.Published> published = new TreeMap<>();
+        published.put(first, new RateTable.Published(RateTable.toMicros(new BigDecimal(firstRate)), "TEST"));
+        published.put(second, new RateTable.Published(RateTable.toMicros(new BigDecimal(secondRate)), "TEST"));
+        return RateTable.of(published);
+    }
+}
@@ -0,0 +1,107 @@
+package com.ysc.lms.hscode;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 오프라인 HS 코드 색인 조회 시간 벤치마크
+ * 실제 관세율표 규모(10단위 세번 약 12,000 줄)의 합성 색인에서 세번 접두사/품목명 유사도 검색 지연을 측정합니다
+ * 실행: mvn test -Dtest=HsCodeIndexBenchmarkTest -Dbenchmark=true [-Dbenchmark.entries=12000]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class HsCodeIndexBenchmarkTest {
+
+    private static final String[] MATERIALS = {"면", "합성섬유", "가죽", "플라스틱", "고무", "금속", "유리", "목재", "종이", "도자기"};
+    private static final String[] ITEMS = {"티셔츠", "바지", "가방", "신발", "모자", "장갑", "컵", "접시", "상자", "시계",
+        "이어폰", "충전기", "케이블", "인형", "퍼즐", "크림", "로션", "샴푸", "비누", "칫솔"};
+    private static final String[] ITEMS_EN = {"t-shirts", "trousers", "bags", "footwear", "hats", "gloves", "cups", "plates",
+        "boxes", "watches", "earphones", "chargers", "cables", "dolls", "puzzles", "creams", "lotions", "shampoos", "soaps",
+        "toothbrushes"};
+    private static final String[] USES = {"가정용", "업무용", "어린이용", "여행용", "운동용", "기타"};
+
+    @Test
+    @DisplayName("12,000 세번 - 세번 접두사/품목명 검색 지연")
+    void measureLookupLatency() {
+        int size = Integer.getInteger("benchmark.entries", 12_000);
+        Random random = new Random(42);
+
+        long started = System.nanoTime();
+        HsCodeIndex index = HsCodeIndex.of(synthetic(size, random));
+        long buildMillis = (System.nanoTime() - started) / 1_000_000;
+
+        List<String> codeQueries = new ArrayList<>();
+        List<String> nameQueries = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            codeQueries.add(String.format("%04d", 100 + random.nextInt(9_700)).substring(0, 2 + random.nextInt(3)));
+            String item = ITEMS[random.nextInt(ITEMS.length)];
+            nameQueries.add(random.nextBoolean() ? MATERIALS[random.nextInt(MATERIALS.length)] + " " + item : typo(item, random));
+        }
+        for (int warmUp = 0; warmUp < 10; warmUp++) {
+            codeQueries.forEach(query -> index.search(query, 10));
+            nameQueries.forEach(query -> index.search(query, 10));
+        }
+
+        long[] codeNanos = measure(index, codeQueries);
+        long[] nameNanos = measure(index, nameQueries);
+
+        System.out.printf("[benchmark] entries=%d build=%d ms%n", index.size(), buildMillis);
+        System.out.printf("[benchmark] code prefix: p50=%.3f ms p99=%.3f ms%n",
+            percentile(codeNanos, 0.50), percentile(codeNanos, 0.99));
+        System.out.printf("[benchmark] name fuzzy: p50=%.3f ms p99=%.3f ms%n",
+            percentile(nameNanos, 0.50), percentile(nameNanos, 0.99));
+
+        assertEquals(size, index.size());
+        assertFalse(index.search("가죽 가방", 10).isEmpty());
+        assertTrue(percentile(nameNanos, 0.50) < 1.0);
+    }
+
+    /**
+     * 류(2) + 호(2) + 소호(2) + 세분(4) 10단위, 품명은 재질 + 품목 + 용도 조합
+     */
+    private static List<HsCodeEntry> synthetic(int size, Random random) {
+        List<HsCodeEntry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int item = random.nextInt(ITEMS.length);
+            String code = String.format("%02d%02d%02d%04d", 1 + i % 97, random.nextInt(100), random.nextInt(100), i);
+            entries.add(new HsCodeEntry(code,
+                USES[random.nextInt(USES.length)] + " " + MATERIALS[random.nextInt(MATERIALS.length)] + "으로 만든 " + ITEMS[item],
+                ITEMS_EN[item] + " of other materials", "u", BigDecimal.valueOf(random.nextInt(14))));
+        }
+        return entries;
+    }
+
+    /**
+     * 한 음절을 다른 음절로 바꾼 오타
+     */
+    private static String typo(String word, Random random) {
+        char[] chars = word.toCharArray();
+        chars[random.nextInt(chars.length)] = (char) ('가' + random.nextInt(11_172));
+        return new String(chars);
+    }
+
+    private static long[] measure(HsCodeIndex index, List<String> queries) {
+        long[] nanos = new long[queries.size()];
+        for (int i = 0; i < queries.size(); i++) {
+            long started = System.nanoTime();
+            index.search(queries.get(i), 10);
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static double percentile(long[] sortedNanos, double ratio) {
+        return sortedNanos[Math.min(sortedNanos.length - 1, (int) (sortedNanos.length * ratio))] / 1e6;
+    }
+}
@@ -0,0 +1,129 @@
+package com.ysc.lms.hscode;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 오프라인 HS 코드 색인 동작 테스트 - 관세율표 파싱, 세번 정확/접두사 일치, 품목명 유사도 검색
+ * 번들 관세율표(/hscode/tariff-schedule.tsv)와 손으로 만든 작은 색인을 사용합니다
+ */
+class HsCodeIndexTest {
+
+    private static final String SCHEDULE = String.join("\n",
+        "# 세번\t한글품명\t영문품명\t단위\t기본세율",
+        "8471\t자동자료처리기계\tAutomatic data processing machines\tu\t",
+        "",
+        "8471.30-0000\t휴대용 자동자료처리기계(노트북)\tPortable computers\tu\t0",
+        "8471.60-1000\t키보드\tKeyboards\tu\t0",
+        "8471.60-2000\t마우스\tMouse\tu\t0",
+        "8471.60-1000\t키보드(유선)\tWired keyboards\tu\t0",
+        "6403\t가죽 신발\tFootwear with leather uppers\tpr\t13");
+
+    @Test
+    @DisplayName("관세율표 파싱 - 주석/빈 줄 생략, 구분자 제거, 같은 세번은 마지막 줄")
+    void readsSchedule() throws IOException {
+        HsCodeIndex index = HsCodeIndex.read(new StringReader(SCHEDULE));
+
+        assertEquals(5, index.size());
+        HsCodeEntry keyboard = index.find("8471.60-1000").orElseThrow();
+        assertEquals("8471601000", keyboard.getCode());
+        assertEquals("키보드(유선)", keyboard.getKoreanName());
+        assertEquals(0, BigDecimal.ZERO.compareTo(keyboard.getBasicRate()));
+        assertNull(index.find("8471").orElseThrow().getBasicRate());
+        assertEquals("pr", index.find("6403").orElseThrow().getUnit());
+        assertTrue(index.find("847160").isEmpty());
+        assertTrue(index.find("abc").isEmpty());
+
+        assertThrows(IOException.class, () -> HsCodeIndex.read(new StringReader("84\t너무 짧은 세번")));
+        assertThrows(IOException.class, () -> HsCodeIndex.read(new StringReader("8471300000\t ")));
+        assertThrows(IOException.class, () -> HsCodeIndex.read(new StringReader("847A\t문자 포함")));
+    }
+
+    @Test
+    @DisplayName("세번 검색 - 상위 호가 먼저, 정확 일치는 1점, 접두사는 자릿수 비율, limit 적용")
+    void searchesByCodePrefix() throws IOException {
+        HsCodeIndex index = HsCodeIndex.read(new StringReader(SCHEDULE));
+
+        List<HsCodeMatch> matches = index.search("8471", 10);
+        assertEquals(List.of("8471", "8471300000", "8471601000", "8471602000"), codes(matches));
+        assertEquals(HsCodeMatch.MatchType.EXACT_CODE, matches.get(0).getMatchType());
+        assertEquals(1.0, matches.get(0).getScore());
+        assertEquals(HsCodeMatch.MatchType.CODE_PREFIX, matches.get(1).getMatchType());
+        assertEquals(0.4, matches.get(1).getScore(), 1e-9);
+
+        assertEquals(List.of("8471601000", "8471602000"), codes(index.search("8471.60", 10)));
+        assertEquals(List.of("8471"), codes(index.search("8471", 1)));
+        assertTrue(index.search("9999", 10).isEmpty());
+        assertTrue(index.search("8471", 0).isEmpty());
+        assertTrue(index.search(" ", 10).isEmpty());
+
+        assertTrue(index.contains("8471.60"));
+        assertTrue(index.contains("84"));
+        assertFalse(index.contains("8472"));
+        assertFalse(index.contains(null));
+    }
+
+    @Test
+    @DisplayName("품목명 검색 - 띄어쓰기/대소문자 무시, 품명에 그대로 든 질의가 상위, 겹치는 gram 이 적으면 제외")
+    void searchesByName() throws IOException {
+        HsCodeIndex index = HsCodeIndex.read(new StringReader(SCHEDULE));
+
+        List<HsCodeMatch> keyboard = index.search("키보드", 10);
+        assertEquals("8471601000", keyboard.get(0).getEntry().getCode());
+        assertEquals(HsCodeMatch.MatchType.NAME, keyboard.get(0).getMatchType());
+        assertEquals(1, keyboard.size());
+
+        assertEquals("6403", index.search("가죽신발", 1).get(0).getEntry().getCode());
+        assertEquals("6403", index.search("LEATHER footwear", 1).get(0).getEntry().getCode());
+        assertEquals("8471300000", index.search("portable computer", 1).get(0).getEntry().getCode());
+        assertTrue(index.search("냉장고", 10).isEmpty());
+
+        List<HsCodeMatch> ranked = index.search("자동자료처리기계", 10);
+        assertEquals(List.of("8471", "8471300000"), codes(ranked));
+        assertTrue(ranked.get(0).getScore() >= ranked.get(1).getScore());
+        assertEquals(1, index.search("자동자료처리기계", 1).size());
+    }
+
+    @Test
+    @DisplayName("n-gram - 한글은 음절 2-gram, 영문은 3-gram, 짧은 토큰은 통째로")
+    void splitsGrams() {
+        assertEquals(Set.of("노트", "트북"), NGramIndex.grams("노트북"));
+        assertEquals(Set.of("usb", "cab", "abl", "ble"), NGramIndex.grams("USB-Cable"));
+        assertEquals(Set.of("컵", "mug"), NGramIndex.grams(" 컵 / Mug "));
+        assertTrue(NGramIndex.grams(null).isEmpty());
+        assertEquals("usb c cable", NGramIndex.normalize("  USB-C  (cable) "));
+    }
+
+    @Test
+    @DisplayName("번들 관세율표 - 한글/영문/오타/세번 자동완성")
+    void bundledScheduleAutocomplete() throws Exception {
+        HsCodeIndex index;
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/hscode/tariff-schedule.tsv"), StandardCharsets.UTF_8)) {
+            index = HsCodeIndex.read(reader);
+        }
+
+        assertEquals("8471300000", index.search("노트북", 1).get(0).getEntry().getCode());
+        assertEquals("8471300000", index.search("노트븍", 1).get(0).getEntry().getCode());
+        assertEquals("3304100000", index.search("lipstik", 1).get(0).getEntry().getCode());
+        assertEquals("8518300000", index.search("무선 이어폰", 1).get(0).getEntry().getCode());
+        assertEquals(HsCodeMatch.MatchType.EXACT_CODE, index.search("8471", 1).get(0).getMatchType());
+        assertTrue(index.contains("8471.60"));
+        assertFalse(index.contains("9999"));
+    }
+
+    private static List<String> codes(List<HsCodeMatch> matches) {
+        return matches.stream().map(match -> match.getEntry().getCode()).toList();
+    }
+}
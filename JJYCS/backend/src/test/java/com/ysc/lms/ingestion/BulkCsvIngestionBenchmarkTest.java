@@ -0,0 +1,174 @@
+package com.ysc.lms.ingestion;
+
+import com.ysc.lms.YscLmsApplication;
+import com.ysc.lms.entity.BulkItem;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.repository.BulkItemRepository;
+import com.ysc.lms.repository.UserRepository;
+import com.ysc.lms.service.BulkItemService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 품목 CSV 일괄 업로드 처리량 벤치마크 (rows/sec)
+ * 기존 구현(행마다 중복 조회 + saveAll)과 청크 파이프라인(청크당 1회 키 조회 + JDBC 배치 INSERT)을 같은 파일로 비교합니다
+ * 실행: mvn test -Dtest=BulkCsvIngestionBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=100000]
+ */
+@SpringBootTest(classes = YscLmsApplication.class)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BulkCsvIngestionBenchmarkTest {
+
+    @Autowired
+    private BulkItemService bulkItemService;
+
+    @Autowired
+    private BulkItemRepository bulkItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("10만 행 품목 CSV - 기존 구현 대비 rows/sec")
+    void compareRowsPerSecond() throws Exception {
+        int rows = Integer.getInteger("benchmark.rows", 100_000);
+        byte[] csv = generateCsv(rows);
+
+        User legacyUser = createUser("bench-legacy@ysc.test");
+        User pipelineUser = createUser("bench-pipeline@ysc.test");
+
+        long legacyStart = System.nanoTime();
+        int legacySuccess = legacyUpload(legacyUser, csv);
+        long legacyNanos = System.nanoTime() - legacyStart;
+
+        long pipelineStart = System.nanoTime();
+        Map<String, Object> result = bulkItemService.uploadItems(pipelineUser,
+            new MockMultipartFile("file", "items.csv", "text/csv", csv));
+        long pipelineNanos = System.nanoTime() - pipelineStart;
+
+        System.out.printf("[benchmark] rows=%d legacy: %.0f rows/sec (%d ms), pipeline: %.0f rows/sec (%d ms)%n",
+            rows,
+            rows / (legacyNanos / 1e9), legacyNanos / 1_000_000,
+            rows / (pipelineNanos / 1e9), pipelineNanos / 1_000_000);
+
+        // 파이프라인은 파일 내 중복 행도 걸러내므로 그만큼 적게 저장된다
+        int duplicatesInFile = rows / 100;
+        assertEquals(legacySuccess - duplicatesInFile, result.get("successCount"));
+        assertEquals((long) legacySuccess - duplicatesInFile, bulkItemRepository.countByUserAndIsActive(pipelineUser, true));
+    }
+
+    /**
+     * 100행마다 파일 내 중복 1행, 잘못된 HS 코드 1행 포함
+     */
+    private byte[] generateCsv(int rows) {
+        StringBuilder csv = new StringBuilder(rows * 64);
+        csv.append("HS코드,품목명,영문명,수량,중량(kg),가로(cm),세로(cm),깊이(cm),단가(THB),카테고리\n");
+        for (int i = 0; i < rows; i++) {
+            if (i % 100 == 50) {
+                csv.append("8517120000,\"품목 ").append(i - 1).append("\",Item,1,0.2,15,7.5,0.8,25000,전자제품\n");
+            } else if (i % 100 == 99) {
+                csv.append("85A7,\"품목 ").append(i).append("\",Item,1,0.2,15,7.5,0.8,25000,전자제품\n");
+            } else {
+                csv.append("8517120000,\"품목 ").append(i).append("\",\"Item, No.").append(i)
+                   .append("\",1,0.2,15,7.5,0.8,25000,전자제품\n");
+            }
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("benchmark");
+        user.setName("Benchmark");
+        user.setUserType(User.UserType.CORPORATE);
+        user.setStatus(User.UserStatus.ACTIVE);
+        user.setEmailVerified(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+
+    /**
+     * 변경 전 BulkItemService.uploadItems 알고리즘 (행마다 중복 조회, 전체 saveAll)
+     */
+    private int legacyUpload(User user, byte[] csv) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<BulkItem> items = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8))) {
+                reader.readLine();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] columns = legacyParseCsvLine(line);
+                    String hsCode = columns[0].trim();
+                    String description = columns[1].trim();
+                    String englishName = columns[2].trim();
+                    if (!hsCode.matches("\\d{4,10}")) {
+                        continue;
+                    }
+                    Optional<BulkItem> existing = bulkItemRepository
+                        .findByUserAndHsCodeAndDescriptionAndIsActive(user, hsCode, description, true);
+                    if (existing.isPresent()) {
+                        continue;
+                    }
+                    BulkItem item = new BulkItem(user, hsCode, description, englishName);
+                    item.setDefaultQuantity(Integer.parseInt(columns[3].trim()));
+                    item.setDefaultWeight(new BigDecimal(columns[4].trim()));
+                    item.setDefaultWidth(new BigDecimal(columns[5].trim()));
+                    item.setDefaultHeight(new BigDecimal(columns[6].trim()));
+                    item.setDefaultDepth(new BigDecimal(columns[7].trim()));
+                    item.setDefaultUnitPrice(new BigDecimal(columns[8].trim()));
+                    item.setCategory(columns[9].trim());
+                    items.add(item);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            bulkItemRepository.saveAll(items);
+            return items.size();
+        });
+    }
+
+    private String[] legacyParseCsvLine(String line) {
+        List<String> result = new ArrayList<>();
+        StringBuilder currentField = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (ch == '"') {
+                inQuotes = !inQuotes;
+            } else if (ch == ',' && !inQuotes) {
+                result.add(currentField.toString());
+                currentField = new StringBuilder();
+            } else {
+                currentField.append(ch);
+            }
+        }
+        result.add(currentField.toString());
+        return result.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,162 @@
+package com.ysc.lms.ingestion;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CSV 적재 파이프라인 테스트 - 청크 크기 2, 행은 (키, 이름) 문자열 배열
+ * 처리기는 저장된 키를 메모리에 모으고, 지정한 키가 들어간 INSERT 는 실패시킵니다
+ */
+class CsvIngestionPipelineTest {
+
+    private final TransactionCounter transactionManager = new TransactionCounter();
+    private final CsvIngestionPipeline pipeline = new CsvIngestionPipeline(transactionManager, 2, 100);
+
+    /**
+     * 트랜잭션 커밋/롤백 횟수만 셈
+     */
+    static class TransactionCounter implements PlatformTransactionManager {
+        int commits;
+        int rollbacks;
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            commits++;
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            rollbacks++;
+        }
+    }
+
+    static class KeyHandler implements CsvRowHandler<String[]> {
+        final Set<String> existing = new HashSet<>();
+        final Set<String> failing = new HashSet<>();
+        final List<String> saved = new ArrayList<>();
+        final List<Integer> insertBatchSizes = new ArrayList<>();
+        RuntimeException failure = new DataIntegrityViolationException("Duplicate entry for key 'uk_key'");
+
+        @Override
+        public String[] parse(String[] columns) {
+            if (columns.length < 2 || columns[1].isBlank()) {
+                throw new CsvRowException("이름은 필수입니다.");
+            }
+            return columns;
+        }
+
+        @Override
+        public String keyOf(String[] row) {
+            return row[0];
+        }
+
+        @Override
+        public Set<String> findExistingKeys(List<String[]> rows) {
+            return existing;
+        }
+
+        @Override
+        public String duplicateMessage(String[] row) {
+            return "이미 등록된 키입니다: " + row[0];
+        }
+
+        @Override
+        public void insertBatch(List<String[]> rows) {
+            insertBatchSizes.add(rows.size());
+            for (String[] row : rows) {
+                if (failing.contains(row[0])) {
+                    throw failure;
+                }
+            }
+            rows.forEach(row -> saved.add(row[0]));
+        }
+    }
+
+    @Test
+    @DisplayName("DB 에 있는 키와 파일 안에서 다시 나온 키(청크 경계 포함)는 중복 오류, 나머지만 저장")
+    void reportsDuplicateRows() throws IOException {
+        KeyHandler handler = new KeyHandler();
+        handler.existing.add("K2");
+
+        CsvIngestionResult result = pipeline.ingest(csv("key,name", "K1,a", "K2,b", "K3,c", "K1,d", "K3,e"), handler);
+
+        assertEquals(5, result.getTotalRows());
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(3, result.getErrorCount());
+        assertEquals(List.of("K1", "K3"), handler.saved);
+        assertEquals(List.of(
+            "라인 3: 이미 등록된 키입니다: K2",
+            "라인 5: 이미 등록된 키입니다: K1",
+            "라인 6: 이미 등록된 키입니다: K3"), result.getErrors());
+    }
+
+    @Test
+    @DisplayName("배치 INSERT 가 실패하면 행 단위로 다시 넣어 실패한 행만 오류로 보고")
+    void fallsBackToRowInsertsWhenBatchFails() throws IOException {
+        KeyHandler handler = new KeyHandler();
+        handler.failing.add("K2");
+
+        CsvIngestionResult result = pipeline.ingest(csv("key,name", "K1,a", "K2,b", "K3,c", "K4,d"), handler);
+
+        assertEquals(3, result.getSuccessCount());
+        assertEquals(1, result.getErrorCount());
+        assertEquals(List.of("K1", "K3", "K4"), handler.saved);
+        assertEquals(List.of("라인 3: 저장 중 오류가 발생했습니다. (Duplicate entry for key 'uk_key')"), result.getErrors());
+        // 첫 청크: 배치 2건 실패 후 1건씩 2회, 두 번째 청크: 배치 1회
+        assertEquals(List.of(2, 1, 1, 2), handler.insertBatchSizes);
+        assertEquals(2, transactionManager.commits);
+        assertEquals(2, transactionManager.rollbacks);
+    }
+
+    @Test
+    @DisplayName("DB 오류가 아닌 예외도 같은 경로 - 실패 행만 거부되고 다음 청크는 계속 저장")
+    void treatsAnyRuntimeFailureAsRejectedRow() throws IOException {
+        KeyHandler handler = new KeyHandler();
+        handler.failing.add("K1");
+        handler.failure = new IllegalStateException("sequence exhausted");
+
+        CsvIngestionResult result = pipeline.ingest(csv("key,name", "K1,a", "K2,b", "K3,c"), handler);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(List.of("K2", "K3"), handler.saved);
+        assertEquals(List.of("라인 2: 저장 중 오류가 발생했습니다. (sequence exhausted)"), result.getErrors());
+    }
+
+    @Test
+    @DisplayName("검증 실패 행과 빈 행은 해당 라인만 오류, 헤더만 있으면 결과 없음")
+    void reportsInvalidAndBlankRows() throws IOException {
+        KeyHandler handler = new KeyHandler();
+
+        CsvIngestionResult result = pipeline.ingest(csv("key,name", "K1,", "", "K2,b"), handler);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(List.of("라인 2: 이름은 필수입니다.", "라인 3: 빈 행입니다."), result.getErrors());
+        assertEquals(0, pipeline.ingest(csv("key,name"), new KeyHandler()).getTotalRows());
+    }
+
+    private static ByteArrayInputStream csv(String... lines) {
+        return new ByteArrayInputStream((String.join("\r\n", lines) + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
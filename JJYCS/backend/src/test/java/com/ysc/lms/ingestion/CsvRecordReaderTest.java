@@ -0,0 +1,124 @@
+package com.ysc.lms.ingestion;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CSV 레코드 리더 파싱 테스트
+ * 버퍼 경계 처리는 한 번에 한 글자씩만 돌려주는 Reader 로 확인합니다
+ */
+class CsvRecordReaderTest {
+
+    @Test
+    @DisplayName("따옴표 안의 쉼표와 \"\" 이스케이프")
+    void parsesQuotedCommasAndEscapedQuotes() throws IOException {
+        List<String[]> records = readAll("name,spec\n\"Shirt, blue\",\"10\"\" x 20\"\"\"\n\"\",plain\n");
+
+        assertEquals(3, records.size());
+        assertArrayEquals(new String[]{"Shirt, blue", "10\" x 20\""}, records.get(1));
+        assertArrayEquals(new String[]{"", "plain"}, records.get(2));
+    }
+
+    @Test
+    @DisplayName("따옴표 안의 줄바꿈은 필드 값으로 유지")
+    void keepsEmbeddedNewlines() throws IOException {
+        List<String[]> records = readAll("a,b\n\"line1\nline2\r\nline3\",x\nnext,y\n");
+
+        assertEquals(3, records.size());
+        assertArrayEquals(new String[]{"line1\nline2\r\nline3", "x"}, records.get(1));
+        assertArrayEquals(new String[]{"next", "y"}, records.get(2));
+    }
+
+    @Test
+    @DisplayName("CRLF/CR/LF 줄 끝과 마지막 줄바꿈 없는 레코드")
+    void handlesLineEndings() throws IOException {
+        List<String[]> records = readAll("a,b\r\n1,2\r3,4\n5,6");
+
+        assertEquals(4, records.size());
+        assertArrayEquals(new String[]{"1", "2"}, records.get(1));
+        assertArrayEquals(new String[]{"3", "4"}, records.get(2));
+        assertArrayEquals(new String[]{"5", "6"}, records.get(3));
+    }
+
+    @Test
+    @DisplayName("UTF-8 BOM 은 첫 필드에 포함되지 않음")
+    void skipsByteOrderMark() throws IOException {
+        List<String[]> records = readAll("\uFEFF품목명,수량\r\n티셔츠,2\r\n");
+
+        assertEquals(2, records.size());
+        assertEquals("품목명", records.get(0)[0]);
+        assertArrayEquals(new String[]{"티셔츠", "2"}, records.get(1));
+    }
+
+    @Test
+    @DisplayName("버퍼 경계에 걸친 CRLF, BOM, 따옴표도 같은 결과")
+    void sameResultAcrossBufferBoundaries() throws IOException {
+        String csv = "\uFEFFa,b\r\n\"x,\"\"y\"\"\",\"1\r\n2\"\r\nlast,\r\n";
+        List<String[]> whole = readAll(csv);
+        List<String[]> oneCharAtATime = readAll(new CsvRecordReader(new OneCharReader(csv)));
+
+        assertEquals(3, whole.size());
+        assertArrayEquals(new String[]{"x,\"y\"", "1\r\n2"}, whole.get(1));
+        assertArrayEquals(new String[]{"last", ""}, whole.get(2));
+        assertEquals(whole.size(), oneCharAtATime.size());
+        for (int i = 0; i < whole.size(); i++) {
+            assertArrayEquals(whole.get(i), oneCharAtATime.get(i), "record " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("빈 입력은 레코드 없음, 빈 줄은 빈 필드 1개")
+    void emptyInputAndBlankLines() throws IOException {
+        assertTrue(readAll("").isEmpty());
+        assertTrue(readAll("\uFEFF").isEmpty());
+
+        List<String[]> records = readAll("a\n\nb\n");
+        assertEquals(3, records.size());
+        assertArrayEquals(new String[]{""}, records.get(1));
+    }
+
+    private static List<String[]> readAll(String csv) throws IOException {
+        return readAll(new CsvRecordReader(new StringReader(csv)));
+    }
+
+    private static List<String[]> readAll(CsvRecordReader reader) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        try (reader) {
+            String[] record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+            assertEquals(records.size(), reader.getRecordCount());
+        }
+        return records;
+    }
+
+    /**
+     * read 호출마다 최대 한 글자만 돌려줌 - 매 글자가 버퍼 경계
+     */
+    private static final class OneCharReader extends Reader {
+        private final StringReader delegate;
+
+        private OneCharReader(String value) {
+            this.delegate = new StringReader(value);
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            return delegate.read(buffer, offset, Math.min(1, length));
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.ysc.lms.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ysc.lms.entity.ExecutionJournalRecord;
+import com.ysc.lms.repository.ExecutionJournalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 실행 저널 링 버퍼(JournalRing)와 ExecutionJournal 적재/조회 테스트
+ * DB 적재는 행을 모으는 메모리 writer 로, 조회 저장소는 그 행을 돌려주는 mock 으로 대체합니다
+ */
+class ExecutionJournalTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 10, 17, 9, 0);
+
+    private final List<Object[]> insertedRows = new ArrayList<>();
+    private int failuresBeforeSuccess;
+    private int insertCalls;
+
+    private final ExecutionJournalWriter writer = new ExecutionJournalWriter(null, null) {
+        @Override
+        public int insert(List<Object[]> rows) {
+            insertCalls++;
+            if (failuresBeforeSuccess > 0) {
+                failuresBeforeSuccess--;
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            insertedRows.addAll(rows);
+            return rows.size();
+        }
+    };
+    private ExecutionJournalRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        insertedRows.clear();
+        failuresBeforeSuccess = 0;
+        insertCalls = 0;
+        repository = mock(ExecutionJournalRepository.class);
+    }
+
+    @Test
+    @DisplayName("링 버퍼 - 용량은 2의 거듭제곱, 한 바퀴 넘으면 최신 항목만 최신순으로")
+    void ringWrapsAround() {
+        assertEquals(4, new JournalRing(4).capacity());
+        assertEquals(8, new JournalRing(5).capacity());
+
+        JournalRing ring = new JournalRing(8);
+        for (int i = 0; i < 20; i++) {
+            ring.add(entry("e" + i, i % 2 == 0 ? "A" : "B", BASE.plusSeconds(i), null));
+        }
+
+        List<String> newest = ids(ring.newest(entry -> true, 100));
+        assertEquals(List.of("e19", "e18", "e17", "e16", "e15", "e14", "e13", "e12"), newest);
+        assertEquals(List.of("e18", "e16"), ids(ring.newest(entry -> "A".equals(entry.getTenantId()), 2)));
+        assertTrue(new JournalRing(8).newest(entry -> true, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("적재 실패 배치는 다시 대기열에 넣고 다음 flush 에서 중복 없이 적재")
+    void failedFlushRequeuesWithoutDuplicates() {
+        ExecutionJournal journal = journal(16, 2, 100);
+        for (int i = 0; i < 5; i++) {
+            journal.record(JournalSource.RULE_EXECUTION, "T1", "rule-" + i, "PASSED", BASE.plusSeconds(i), "run-" + i);
+        }
+
+        failuresBeforeSuccess = 1;
+        journal.flush();
+        assertEquals(1, insertCalls);
+        assertTrue(insertedRows.isEmpty());
+
+        journal.flush();
+        assertEquals(5, insertedRows.size());
+        Set<Object> entryIds = new HashSet<>();
+        Set<Object> keys = new HashSet<>();
+        for (Object[] row : insertedRows) {
+            entryIds.add(row[0]);
+            keys.add(row[3]);
+            assertEquals("RULE_EXECUTION", row[1]);
+        }
+        assertEquals(5, entryIds.size());
+        assertEquals(Set.of("rule-0", "rule-1", "rule-2", "rule-3", "rule-4"), keys);
+
+        // 대기열이 비었으므로 추가 적재 없음
+        journal.flush();
+        assertEquals(5, insertedRows.size());
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 DB 적재만 생략하고 링 버퍼 조회는 유지")
+    void dropsOverflowFromFlushQueueOnly() {
+        ExecutionJournal journal = journal(16, 10, 3);
+        for (int i = 0; i < 5; i++) {
+            journal.record(JournalSource.ANOMALY, "T1", "metric", "HIGH", BASE.plusSeconds(i), "anomaly-" + i);
+        }
+
+        journal.flush();
+        assertEquals(3, insertedRows.size());
+        assertEquals(List.of("anomaly-4", "anomaly-3", "anomaly-2", "anomaly-1", "anomaly-0"),
+            journal.query(JournalSource.ANOMALY, null, null, BASE.plusMinutes(1), 10, String.class));
+    }
+
+    @Test
+    @DisplayName("조회 - 링 버퍼와 DB 를 entryId 로 중복 제거해 발생 시각 최신순으로 합침")
+    void queryMergesRingAndDatabaseNewestFirst() {
+        ExecutionJournal journal = journal(4, 100, 100);
+        for (int i = 0; i < 6; i++) {
+            journal.record(JournalSource.REPORT_EXECUTION, i < 3 ? "T1" : "T2", "report", "COMPLETED",
+                BASE.plusMinutes(i), "report-" + i);
+        }
+        journal.flush();
+        when(repository.findBySourceAndOccurredAtBetweenOrderByOccurredAtDesc(
+                eq(JournalSource.REPORT_EXECUTION), any(), any(), any(Pageable.class)))
+            .thenAnswer(invocation -> storedRecords());
+
+        List<String> payloads = journal.query(JournalSource.REPORT_EXECUTION, null, null, BASE.plusHours(1), 10, String.class);
+        assertEquals(List.of("report-5", "report-4", "report-3", "report-2", "report-1", "report-0"), payloads);
+
+        // 링 버퍼만으로 limit 을 채우면 DB 는 조회하지 않음
+        assertEquals(List.of("report-5", "report-4"),
+            journal.query(JournalSource.REPORT_EXECUTION, null, null, BASE.plusHours(1), 2, String.class));
+
+        // 기간 조건은 링 버퍼 항목에도 적용
+        assertEquals(List.of("report-3"),
+            journal.query(JournalSource.REPORT_EXECUTION, "T2", BASE.plusMinutes(3), BASE.plusMinutes(3), 1, String.class));
+    }
+
+    @Test
+    @DisplayName("출처별 보관 기간 설정이 없으면 기본값")
+    void retentionDaysPerSource() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("app.journal.source-retention-days.anomaly", "7");
+        ExecutionJournal journal = new ExecutionJournal(writer, repository, new ObjectMapper(), environment,
+            16, 10, 100, 1000, 30);
+
+        assertEquals(7, journal.retentionDays(JournalSource.ANOMALY));
+        assertEquals(30, journal.retentionDays(JournalSource.RULE_EXECUTION));
+    }
+
+    private ExecutionJournal journal(int ringCapacity, int flushBatchSize, int maxPending) {
+        return new ExecutionJournal(writer, repository, new ObjectMapper(), new MockEnvironment(),
+            ringCapacity, flushBatchSize, maxPending, 1000, 30);
+    }
+
+    private List<ExecutionJournalRecord> storedRecords() {
+        List<ExecutionJournalRecord> records = new ArrayList<>();
+        for (Object[] row : insertedRows) {
+            ExecutionJournalRecord record = new ExecutionJournalRecord();
+            record.setEntryId((String) row[0]);
+            record.setSource(JournalSource.valueOf((String) row[1]));
+            record.setTenantId((String) row[2]);
+            record.setEntryKey((String) row[3]);
+            record.setStatus((String) row[4]);
+            record.setOccurredAt((LocalDateTime) row[5]);
+            record.setPayload((String) row[6]);
+            records.add(0, record);
+        }
+        return records;
+    }
+
+    private static JournalEntry entry(String id, String tenantId, LocalDateTime occurredAt, Object payload) {
+        return new JournalEntry(id, JournalSource.RULE_EXECUTION, tenantId, "key", "PASSED", occurredAt, payload, null);
+    }
+
+    private static List<String> ids(List<JournalEntry> entries) {
+        List<String> ids = new ArrayList<>();
+        for (JournalEntry entry : entries) {
+            ids.add(entry.getEntryId());
+        }
+        return ids;
+    }
+}
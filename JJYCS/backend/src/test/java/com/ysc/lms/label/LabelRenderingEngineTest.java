@@ -0,0 +1,149 @@
+package com.ysc.lms.label;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 라벨 렌더링 결과 왕복 테스트
+ * 직접 작성한 PNG 는 ImageIO 로 다시 읽어 픽셀/QR 내용을, PDF 는 헤더와 xref 오프셋을 확인합니다
+ */
+class LabelRenderingEngineTest {
+
+    private final LabelRenderingEngine engine = new LabelRenderingEngine(2, 8 * 1024 * 1024, 1, 4, 203);
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    @DisplayName("PNG 는 ImageIO 로 읽히고 픽셀이 렌더링 결과와 같으며 QR 이 원문으로 디코딩됨")
+    void pngRoundTrip() throws Exception {
+        LabelSpec spec = LabelSpec.qrCode("YCS-ORDER-20261017-0001");
+
+        BufferedImage image = read(engine.renderPng(spec));
+
+        assertEquals(300, image.getWidth());
+        assertEquals(300, image.getHeight());
+        byte[] expected = LabelRenderer.render(spec);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                assertEquals(expected[y * 300 + x] & 0xFF, image.getRaster().getSample(x, y, 0), "pixel " + x + "," + y);
+            }
+        }
+        assertEquals("YCS-ORDER-20261017-0001", decodeQr(image));
+    }
+
+    @Test
+    @DisplayName("주문 라벨의 80px QR 에 긴 내용도 예외 없이 들어가고, 일반 주문번호는 디코딩됨")
+    void orderLabelQrFitsLongContent() throws Exception {
+        LabelSpec normal = LabelSpec.orderLabel("ORD-20261017-00042", "홍길동", "Bangkok 10110", "SEA", "2026-10-17 09:00");
+        BufferedImage image = read(engine.renderPng(normal));
+        assertEquals("ORD-20261017-00042", decodeQr(image.getSubimage(400 - 80 - 20, 20, 80, 80)));
+
+        // 바이트 모드 600자 - 오류 정정 L 로도 80px 에 모듈 1픽셀이 안 되어 축소해 칠하는 경우
+        String longNumber = "ord-" + "abcdefghij".repeat(60);
+        LabelSpec crowded = LabelSpec.orderLabel(longNumber, "Recipient", "Address", "AIR", "2026-10-17 09:00");
+        BufferedImage crowdedImage = read(assertDoesNotThrow(() -> engine.renderPng(crowded)));
+        assertTrue(hasBlackPixel(crowdedImage.getSubimage(400 - 80 - 20, 20, 80, 80)));
+
+        String boxId = "BOX-" + "abcdefghij".repeat(6);
+        assertDoesNotThrow(() -> engine.renderPng(LabelSpec.boxLabel("1/3", "ORD-1", boxId, "2026-10-17 09:00")));
+    }
+
+    @Test
+    @DisplayName("PDF 시트 - 헤더, 페이지 수, xref 의 각 오프셋이 해당 객체 시작을 가리킴")
+    void pdfHeaderAndXref() throws Exception {
+        List<LabelSpec> specs = List.of(
+            LabelSpec.orderLabel("ORD-1", "Kim", "Seoul", "SEA", "2026-10-17 09:00"),
+            LabelSpec.boxLabel("1/2", "ORD-1", "BOX-1", "2026-10-17 09:00"),
+            LabelSpec.boxLabel("2/2", "ORD-1", "BOX-2", "2026-10-17 09:00"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        engine.writeSheet(specs, SheetFormat.PDF, out);
+
+        byte[] pdf = out.toByteArray();
+        String text = new String(pdf, StandardCharsets.ISO_8859_1);
+        assertTrue(text.startsWith("%PDF-1.4\n"));
+        assertTrue(text.endsWith("%%EOF\n"));
+        assertTrue(text.contains("/Type /Pages /Kids ["));
+        assertTrue(text.contains("/Count 3 >>"));
+
+        Matcher startXref = Pattern.compile("startxref\n(\\d+)\n%%EOF\n$").matcher(text);
+        assertTrue(startXref.find());
+        int xref = Integer.parseInt(startXref.group(1));
+        assertTrue(text.startsWith("xref\n0 ", xref));
+
+        // 객체 1(catalog), 2(pages), 그리고 페이지마다 이미지/내용/페이지 3개
+        Matcher entries = Pattern.compile("(\\d{10}) 00000 n \n").matcher(text.substring(xref));
+        int objectNumber = 0;
+        while (entries.find()) {
+            objectNumber++;
+            int offset = Integer.parseInt(entries.group(1));
+            assertTrue(text.startsWith(objectNumber + " 0 obj\n", offset), "object " + objectNumber);
+        }
+        assertEquals(2 + 3 * specs.size(), objectNumber);
+        assertTrue(text.contains("/Size " + (objectNumber + 1) + " /Root 1 0 R"));
+    }
+
+    @Test
+    @DisplayName("PNG 시트 - 라벨을 세로로 이어 붙이고 좁은 라벨 오른쪽은 흰색")
+    void pngSheetStacksLabels() throws Exception {
+        LabelSpec barcode = LabelSpec.barcode("ORD-1");
+        LabelSpec qr = LabelSpec.qrCode("ORD-1");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        engine.writeSheet(List.of(barcode, qr), SheetFormat.PNG, out);
+
+        BufferedImage sheet = read(out.toByteArray());
+        assertEquals(400, sheet.getWidth());
+        assertEquals(100 + 300, sheet.getHeight());
+        for (int y = 100; y < 400; y++) {
+            for (int x = 300; x < 400; x++) {
+                assertEquals(0xFF, sheet.getRaster().getSample(x, y, 0));
+            }
+        }
+        assertEquals("ORD-1", decodeQr(sheet.getSubimage(0, 100, 300, 300)));
+    }
+
+    private static BufferedImage read(byte[] png) throws Exception {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertNotNull(image, "ImageIO could not decode PNG");
+        assertEquals(BufferedImage.TYPE_BYTE_GRAY, image.getType());
+        return image;
+    }
+
+    private static String decodeQr(BufferedImage image) throws Exception {
+        BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(new BufferedImageLuminanceSource(image)));
+        return new QRCodeReader().decode(bitmap, Map.of(DecodeHintType.PURE_BARCODE, Boolean.TRUE)).getText();
+    }
+
+    private static boolean hasBlackPixel(BufferedImage image) {
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if (image.getRaster().getSample(x, y, 0) == 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
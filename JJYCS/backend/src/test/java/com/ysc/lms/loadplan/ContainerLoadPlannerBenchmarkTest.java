@@ -0,0 +1,99 @@
+package com.ysc.lms.loadplan;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 컨테이너 적재 계획 계산 시간/이용률 벤치마크
+ * 임의 박스(20~80cm, 밀도 80~300kg/m³) 2,000개를 20ft/40HC 에 적재해 컨테이너 수, 부피 이용률,
+ * 부피 합만으로 계산한 컨테이너 수를 비교하고, 모든 배치가 겹치지 않고 컨테이너 안에 있는지 확인합니다
+ * 실행: mvn test -Dtest=ContainerLoadPlannerBenchmarkTest -Dbenchmark=true [-Dbenchmark.boxes=2000] [-Dbenchmark.budget-ms=3000]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ContainerLoadPlannerBenchmarkTest {
+
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void startExecutor() {
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @AfterAll
+    static void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("박스 2,000개 - 20ft / 40HC 적재 계획")
+    void planTwoThousandBoxes() {
+        int boxCount = Integer.getInteger("benchmark.boxes", 2_000);
+        long budgetMillis = Long.getLong("benchmark.budget-ms", 3_000);
+        List<LoadBox> boxes = randomBoxes(boxCount, new Random(7));
+        ContainerLoadPlanner planner = new ContainerLoadPlanner(executor, 0.75, 1.5, 16, budgetMillis);
+        planner.plan(boxes, ContainerProfile.CONTAINER_20FT, 50); // warm-up
+
+        for (ContainerProfile profile : new ContainerProfile[]{ContainerProfile.CONTAINER_20FT, ContainerProfile.CONTAINER_40HC}) {
+            long started = System.nanoTime();
+            LoadPlan plan = planner.plan(boxes, profile, 50);
+            long millis = (System.nanoTime() - started) / 1_000_000;
+
+            System.out.printf("[benchmark] %s boxes=%d cbm=%.1f containers=%d (volume-only estimate %d) utilisation=%.1f%% "
+                    + "unplaced=%d ordering=%s evaluated=%d in %d ms%n",
+                profile, boxCount, plan.getTotalCbm(), plan.getContainers().size(), plan.getVolumeOnlyEstimate(),
+                plan.getVolumeUtilisation() * 100, plan.getUnplaced().size(), plan.getOrdering(),
+                plan.getOrderingsEvaluated(), millis);
+
+            int placed = 0;
+            for (LoadedContainer container : plan.getContainers()) {
+                assertNoOverlap(container.getPlacements(), profile);
+                assertTrue(container.getLoadedKg() <= profile.getMaxPayloadKg());
+                placed += container.getPlacements().size();
+            }
+            assertEquals(boxCount, placed + plan.getUnplaced().size());
+            assertTrue(plan.getContainers().size() >= plan.getVolumeOnlyEstimate());
+        }
+    }
+
+    private static void assertNoOverlap(List<BoxPlacement> placements, ContainerProfile profile) {
+        for (int i = 0; i < placements.size(); i++) {
+            BoxPlacement a = placements.get(i);
+            assertTrue(a.getX() + a.getLengthMm() <= profile.getLengthMm()
+                && a.getY() + a.getWidthMm() <= profile.getWidthMm()
+                && a.getZ() + a.getHeightMm() <= profile.getHeightMm());
+            for (int j = i + 1; j < placements.size(); j++) {
+                BoxPlacement b = placements.get(j);
+                boolean overlaps = a.getX() < b.getX() + b.getLengthMm() && b.getX() < a.getX() + a.getLengthMm()
+                    && a.getY() < b.getY() + b.getWidthMm() && b.getY() < a.getY() + a.getWidthMm()
+                    && a.getZ() < b.getZ() + b.getHeightMm() && b.getZ() < a.getZ() + a.getHeightMm();
+                assertTrue(!overlaps, "overlap: " + a.getBoxNumber() + " / " + b.getBoxNumber());
+            }
+        }
+    }
+
+    private static List<LoadBox> randomBoxes(int count, Random random) {
+        List<LoadBox> boxes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = 200 + random.nextInt(61) * 10;
+            int width = 200 + random.nextInt(41) * 10;
+            int height = 200 + random.nextInt(41) * 10;
+            double density = 80 + random.nextInt(221);
+            double weight = Math.round(length * width * height / 1e9 * density * 10) / 10.0;
+            boxes.add(new LoadBox((long) i, String.format("ORD-%05d", i / 4), String.format("BOX-%05d", i),
+                length, width, height, weight));
+        }
+        return boxes;
+    }
+}
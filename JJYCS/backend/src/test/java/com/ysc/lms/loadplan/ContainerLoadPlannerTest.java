@@ -0,0 +1,152 @@
+package com.ysc.lms.loadplan;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 컨테이너 적재 계획 동작 테스트 - 배치 좌표, 컨테이너 수 제한, 적재 불가 박스, 회전, 적층 중량 제약
+ * 치수가 딱 나누어떨어지는 박스로 손으로 계산한 배치와 비교합니다 (AIR_PMC: 3175 x 2235 x 1600mm)
+ */
+class ContainerLoadPlannerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final ContainerLoadPlanner planner = new ContainerLoadPlanner(executor, 0.75, 1.5, 5, 5_000);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("1m x 1m x 0.8m 박스는 팔레트 한 대에 바닥 3x2, 2단으로 12개 - 13번째부터 다음 팔레트")
+    void packsUniformBoxesInLayers() {
+        LoadPlan plan = planner.plan(boxes(13, 1000, 1000, 800, 10), ContainerProfile.AIR_PMC, 5);
+
+        assertTrue(plan.getUnplaced().isEmpty());
+        assertEquals(2, plan.getContainers().size());
+        // 부피 합(10.4m³)만으로는 한 대 (11.35m³) 로 계산됨
+        assertEquals(1, plan.getVolumeOnlyEstimate());
+        LoadedContainer first = plan.getContainers().get(0);
+        assertEquals(1, first.getSequence());
+        assertEquals(12, first.getPlacements().size());
+        assertEquals(1, plan.getContainers().get(1).getPlacements().size());
+        assertEquals(120, first.getLoadedKg(), 1e-9);
+        assertEquals(9.6, first.getLoadedCbm(), 1e-9);
+        assertEquals(9.6 / (3.175 * 2.235 * 1.6), first.getVolumeUtilisation(), 1e-9);
+        assertEquals(10.4, plan.getTotalCbm(), 1e-9);
+
+        int floor = 0;
+        for (BoxPlacement placement : first.getPlacements()) {
+            assertEquals(0, placement.getX() % 1000);
+            assertEquals(0, placement.getY() % 1000);
+            assertTrue(placement.getZ() == 0 || placement.getZ() == 800);
+            floor += placement.getZ() == 0 ? 1 : 0;
+        }
+        assertEquals(6, floor);
+        assertNoOverlap(first.getPlacements(), ContainerProfile.AIR_PMC);
+        assertEquals(5, plan.getOrderingsEvaluated());
+    }
+
+    @Test
+    @DisplayName("최대 컨테이너 수를 넘는 박스와 규격/중량 초과 박스는 unplaced")
+    void reportsUnplacedBoxes() {
+        List<LoadBox> boxes = new ArrayList<>(boxes(15, 1000, 1000, 800, 10));
+        LoadBox tooTall = new LoadBox(100L, "ORD-X", "TALL", 500, 500, 1700, 5);
+        LoadBox tooHeavy = new LoadBox(101L, "ORD-X", "HEAVY", 500, 500, 500, 5_000);
+        boxes.add(tooTall);
+        boxes.add(tooHeavy);
+
+        LoadPlan plan = planner.plan(boxes, ContainerProfile.AIR_PMC, 1);
+
+        assertEquals(1, plan.getContainers().size());
+        assertEquals(12, plan.getContainers().get(0).getPlacements().size());
+        assertEquals(5, plan.getUnplaced().size());
+        assertTrue(plan.getUnplaced().contains(tooTall));
+        assertTrue(plan.getUnplaced().contains(tooHeavy));
+    }
+
+    @Test
+    @DisplayName("그대로는 폭을 넘는 박스는 바닥면 기준 90도 회전해 적재")
+    void rotatesBoxToFit() {
+        LoadPlan plan = planner.plan(List.of(new LoadBox(1L, "ORD-1", "WIDE", 2000, 3000, 500, 50)),
+            ContainerProfile.AIR_PMC, 1);
+
+        BoxPlacement placement = plan.getContainers().get(0).getPlacements().get(0);
+        assertTrue(placement.isRotated());
+        assertEquals(3000, placement.getLengthMm());
+        assertEquals(2000, placement.getWidthMm());
+        assertEquals(0, placement.getX() + placement.getY() + placement.getZ());
+    }
+
+    @Test
+    @DisplayName("가벼운 박스 위에 무거운 박스는 올리지 않으므로 중량순 전략이 한 대에 싣는 결과로 채택")
+    void keepsHeavyBoxesBelowLightOnes() {
+        LoadBox light = new LoadBox(1L, "ORD-1", "LIGHT", 3000, 2000, 800, 10);
+        LoadBox heavy = new LoadBox(2L, "ORD-1", "HEAVY", 3000, 2000, 800, 100);
+
+        LoadPlan plan = planner.plan(List.of(light, heavy), ContainerProfile.AIR_PMC, 2);
+
+        assertEquals(1, plan.getContainers().size());
+        assertEquals("weight", plan.getOrdering());
+        for (BoxPlacement placement : plan.getContainers().get(0).getPlacements()) {
+            assertEquals("HEAVY".equals(placement.getBoxNumber()) ? 0 : 800, placement.getZ());
+        }
+
+        // 부피순 전략 하나만 평가하면 입력 순서대로 가벼운 박스가 바닥에 깔려 두 대로 나뉜다
+        LoadPlan volumeOnly = new ContainerLoadPlanner(executor, 0.75, 1.5, 1, 5_000)
+            .plan(List.of(light, heavy), ContainerProfile.AIR_PMC, 2);
+        assertEquals(2, volumeOnly.getContainers().size());
+        assertEquals("volume", volumeOnly.getOrdering());
+    }
+
+    @Test
+    @DisplayName("지지 면적이 부족한 위치에는 올리지 않음")
+    void requiresMinimumSupport() {
+        // 부피순 전략만 평가: 부피가 큰 BASE 가 먼저 바닥에 놓이면 바닥면이 넓은 TOP 은 그 위에서 지지 면적 1500²/(3000x2000) = 0.375
+        LoadPlan unsupported = new ContainerLoadPlanner(executor, 0.75, 1.5, 1, 5_000)
+            .plan(List.of(new LoadBox(1L, "ORD-1", "BASE", 1500, 1500, 1000, 100),
+                new LoadBox(2L, "ORD-1", "TOP", 3000, 2000, 300, 10)), ContainerProfile.AIR_PMC, 1);
+        assertEquals(1, unsupported.getContainers().get(0).getPlacements().size());
+        assertEquals("TOP", unsupported.getUnplaced().get(0).getBoxNumber());
+
+        // 3100mm 박스가 3000mm 박스 위에 걸치는 정도(지지 0.97)는 허용
+        LoadPlan overhang = new ContainerLoadPlanner(executor, 0.75, 1.5, 1, 5_000)
+            .plan(List.of(new LoadBox(1L, "ORD-1", "BASE", 3000, 2200, 1000, 50),
+                new LoadBox(2L, "ORD-1", "TOP", 3100, 2200, 500, 10)), ContainerProfile.AIR_PMC, 1);
+        List<BoxPlacement> placements = overhang.getContainers().get(0).getPlacements();
+        assertEquals(2, placements.size());
+        assertEquals(1000, placements.get(1).getZ());
+    }
+
+    private static List<LoadBox> boxes(int count, int length, int width, int height, double weight) {
+        List<LoadBox> boxes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boxes.add(new LoadBox((long) i, "ORD-" + i / 4, "BOX-" + i, length, width, height, weight));
+        }
+        return boxes;
+    }
+
+    private static void assertNoOverlap(List<BoxPlacement> placements, ContainerProfile profile) {
+        for (int i = 0; i < placements.size(); i++) {
+            BoxPlacement a = placements.get(i);
+            assertTrue(a.getX() + a.getLengthMm() <= profile.getLengthMm()
+                && a.getY() + a.getWidthMm() <= profile.getWidthMm()
+                && a.getZ() + a.getHeightMm() <= profile.getHeightMm());
+            for (int j = i + 1; j < placements.size(); j++) {
+                BoxPlacement b = placements.get(j);
+                boolean overlaps = a.getX() < b.getX() + b.getLengthMm() && b.getX() < a.getX() + a.getLengthMm()
+                    && a.getY() < b.getY() + b.getWidthMm() && b.getY() < a.getY() + a.getWidthMm()
+                    && a.getZ() < b.getZ() + b.getHeightMm() && b.getZ() < a.getZ() + a.getHeightMm();
+                assertFalse(overlaps, a.getBoxNumber() + " / " + b.getBoxNumber());
+            }
+        }
+    }
+}
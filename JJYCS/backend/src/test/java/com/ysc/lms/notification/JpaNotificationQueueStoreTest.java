@@ -0,0 +1,185 @@
+package com.ysc.lms.notification;
+
+import com.ysc.lms.YscLmsApplication;
+import com.ysc.lms.entity.NotificationQueue;
+import com.ysc.lms.entity.NotificationTemplate;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.ingestion.EntityBatchInserter;
+import com.ysc.lms.repository.NotificationQueueRepository;
+import com.ysc.lms.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * notification_queue 선점/결과 반영 테스트 (H2)
+ * 테스트 프로필은 디스패처 폴링 주기를 늘려 두었으므로 큐 상태는 테스트만 변경합니다
+ */
+@SpringBootTest(classes = YscLmsApplication.class)
+@ActiveProfiles("test")
+class JpaNotificationQueueStoreTest {
+
+    private static final NotificationTemplate.NotificationChannelType EMAIL = NotificationTemplate.NotificationChannelType.EMAIL;
+    private static final List<String> USER_PROPERTIES = List.of(
+        "email", "password", "name", "userType", "status", "emailVerified", "createdAt", "updatedAt");
+
+    @Autowired
+    private JpaNotificationQueueStore store;
+
+    @Autowired
+    private NotificationFanoutWriter writer;
+
+    @Autowired
+    private NotificationQueueRepository queueRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityBatchInserter batchInserter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM notification_queue");
+        String email = "queue-" + UUID.randomUUID().toString().substring(0, 8) + "@ysc.test";
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{email, "queue", "큐 테스트", User.UserType.GENERAL.name(), User.UserStatus.ACTIVE.name(), true, now, now});
+        batchInserter.insert(User.class, USER_PROPERTIES, rows);
+        user = userRepository.findByEmail(email).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("발송 시각이 된 건만 id 순으로 선점하고, 선점된 건은 다른 노드가 다시 선점하지 못함")
+    void claimsDueRowsOnce() {
+        List<Long> ids = enqueue(4);
+        jdbcTemplate.update("UPDATE notification_queue SET scheduled_at = ? WHERE id = ?", LocalDateTime.now().plusHours(1), ids.get(3));
+        LocalDateTime leaseUntil = LocalDateTime.now().plusMinutes(2);
+
+        List<QueuedNotification> claimed = store.claim(EMAIL, "node-a", 2, leaseUntil);
+
+        assertEquals(ids.subList(0, 2), claimed.stream().map(QueuedNotification::getId).toList());
+        QueuedNotification first = claimed.get(0);
+        assertEquals(user.getId(), first.getRecipientId());
+        assertEquals(user.getEmail(), first.getAddress());
+        assertEquals("큐 테스트", first.getRecipientName());
+        assertEquals("제목 0", first.getTitle());
+        assertEquals("본문 0", first.getMessage());
+        assertEquals(0, first.getRetryCount());
+        assertEquals(NotificationFanoutWriter.MAX_RETRY, first.getMaxRetry());
+        for (Long id : ids.subList(0, 2)) {
+            NotificationQueue row = queueRepository.findById(id).orElseThrow();
+            assertEquals(NotificationQueue.SendStatus.PROCESSING, row.getStatus());
+            assertEquals("node-a", row.getClaimedBy());
+            assertNotNull(row.getLeaseUntil());
+        }
+
+        assertEquals(List.of(ids.get(2)), store.claim(EMAIL, "node-b", 10, leaseUntil).stream().map(QueuedNotification::getId).toList());
+        assertTrue(store.claim(EMAIL, "node-c", 10, leaseUntil).isEmpty());
+        assertTrue(store.claim(NotificationTemplate.NotificationChannelType.SMS, "node-c", 10, leaseUntil).isEmpty());
+    }
+
+    @Test
+    @DisplayName("결과 반영은 아직 선점 중인 노드의 건만 바꾸고, 임대를 잃은 건은 건너뜀")
+    void writeBackOnlyUpdatesOwnClaims() {
+        List<Long> ids = enqueue(3);
+        store.claim(EMAIL, "node-a", 3, LocalDateTime.now().plusMinutes(2));
+        // 임대 만료 후 node-b 가 다시 선점한 상황
+        jdbcTemplate.update("UPDATE notification_queue SET claimed_by = 'node-b' WHERE id = ?", ids.get(1));
+
+        LocalDateTime sentAt = LocalDateTime.now();
+        LocalDateTime retryAt = sentAt.plusMinutes(1);
+        int updated = store.writeBack("node-a", List.of(
+            new QueueUpdate(ids.get(0), NotificationQueue.SendStatus.SENT, 0, null, sentAt, "<msg-0@ysc.test>", null),
+            new QueueUpdate(ids.get(1), NotificationQueue.SendStatus.SENT, 0, null, sentAt, "<msg-1@ysc.test>", null),
+            new QueueUpdate(ids.get(2), NotificationQueue.SendStatus.PENDING, 1, retryAt, null, null, "x".repeat(600))));
+
+        assertEquals(2, updated);
+        NotificationQueue sent = queueRepository.findById(ids.get(0)).orElseThrow();
+        assertEquals(NotificationQueue.SendStatus.SENT, sent.getStatus());
+        assertEquals("<msg-0@ysc.test>", sent.getExternalId());
+        assertNotNull(sent.getSentAt());
+        assertNull(sent.getClaimedBy());
+        assertNull(sent.getLeaseUntil());
+
+        NotificationQueue lost = queueRepository.findById(ids.get(1)).orElseThrow();
+        assertEquals(NotificationQueue.SendStatus.PROCESSING, lost.getStatus());
+        assertEquals("node-b", lost.getClaimedBy());
+        assertNull(lost.getExternalId());
+
+        NotificationQueue retry = queueRepository.findById(ids.get(2)).orElseThrow();
+        assertEquals(NotificationQueue.SendStatus.PENDING, retry.getStatus());
+        assertEquals(1, retry.getRetryCount());
+        assertNotNull(retry.getScheduledAt());
+        assertEquals(500, retry.getErrorMessage().length());
+        assertNull(retry.getClaimedBy());
+
+        // 재시도 시각 전에는 다시 선점되지 않음
+        assertTrue(store.claim(EMAIL, "node-a", 10, LocalDateTime.now().plusMinutes(2)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("드라이버가 건별 건수 대신 SUCCESS_NO_INFO 를 돌려주면 반영된 건으로 셈")
+    void countsSuccessNoInfoAsUpdated() {
+        List<Long> ids = enqueue(3);
+        store.claim(EMAIL, "node-a", 3, LocalDateTime.now().plusMinutes(2));
+
+        // rewriteBatchedStatements 를 켠 MySQL 드라이버처럼 배치 건수를 모두 SUCCESS_NO_INFO 로 돌려줌
+        JdbcTemplate noInfoTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                int[] counts = super.batchUpdate(sql, batchArgs);
+                Arrays.fill(counts, Statement.SUCCESS_NO_INFO);
+                return counts;
+            }
+        };
+        JpaNotificationQueueStore noInfoStore = new JpaNotificationQueueStore(queueRepository, userRepository,
+            new EntityBatchInserter(noInfoTemplate, entityManagerFactory));
+
+        LocalDateTime sentAt = LocalDateTime.now();
+        List<QueueUpdate> updates = new ArrayList<>();
+        for (Long id : ids) {
+            updates.add(new QueueUpdate(id, NotificationQueue.SendStatus.SENT, 0, null, sentAt, null, null));
+        }
+        assertEquals(3, noInfoStore.writeBack("node-a", updates));
+        assertEquals(3, queueRepository.findAll().stream().filter(NotificationQueue::isSent).count());
+    }
+
+    /**
+     * 팬아웃과 같은 경로(NotificationFanoutWriter.enqueue)로 대기 건 적재, id 순
+     */
+    private List<Long> enqueue(int count) {
+        List<NotificationFanoutWriter.Email> emails = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            emails.add(new NotificationFanoutWriter.Email(user.getId(), user.getEmail(), "제목 " + i, "본문 " + i));
+        }
+        assertEquals(count, writer.enqueue(emails, LocalDateTime.now().minusSeconds(1)));
+        return jdbcTemplate.queryForList("SELECT id FROM notification_queue ORDER BY id", Long.class);
+    }
+}
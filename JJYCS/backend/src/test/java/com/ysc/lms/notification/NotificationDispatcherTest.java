@@ -0,0 +1,369 @@
+package com.ysc.lms.notification;
+
+import com.ysc.lms.entity.NotificationQueue;
+import com.ysc.lms.entity.NotificationTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NotificationDispatcher 종단 테스트
+ * 메모리 큐 저장소와 프로세스 내 SMTP 스텁(수신자 'reject' 는 550, 'busy' 는 451 응답)으로
+ * 선점 - 묶음 발송(연결 재사용) - 결과 반영 - 재시도 백오프 - 지표까지 확인합니다
+ */
+class NotificationDispatcherTest {
+
+    private static final NotificationTemplate.NotificationChannelType EMAIL = NotificationTemplate.NotificationChannelType.EMAIL;
+
+    private SmtpStub smtp;
+    private InMemoryQueueStore store;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new SmtpStub();
+        store = new InMemoryQueueStore();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtp.close();
+    }
+
+    @Test
+    @DisplayName("선점한 건을 묶음으로 보내고 성공/영구 실패/재시도 결과를 반영한다")
+    void dispatchesClaimedBatchesAndWritesBackResults() throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            store.add("user" + i + "@ysc.test", 0, 3);
+        }
+        long rejected = store.add("reject@ysc.test", 0, 3);
+        long busy = store.add("busy@ysc.test", 0, 3);
+        long busyLastAttempt = store.add("busy2@ysc.test", 2, 3);
+        long noAddress = store.add(null, 0, 3);
+
+        NotificationDispatcher dispatcher = dispatcher(1_000, 10);
+        LocalDateTime before = LocalDateTime.now();
+        assertEquals(54, dispatcher.drain(EMAIL));
+        dispatcher.shutdown();
+
+        assertEquals(50, store.count(NotificationQueue.SendStatus.SENT));
+        assertEquals(50, smtp.delivered.get());
+        assertTrue(smtp.connections.get() < 10, "SMTP connections should be reused per batch: " + smtp.connections.get());
+        assertTrue(store.rows.values().stream()
+            .filter(row -> row.status == NotificationQueue.SendStatus.SENT)
+            .allMatch(row -> row.externalId != null && row.sentAt != null && row.claimedBy == null));
+
+        assertEquals(NotificationQueue.SendStatus.FAILED, store.rows.get(rejected).status);
+        assertEquals(NotificationQueue.SendStatus.FAILED, store.rows.get(noAddress).status);
+        assertEquals(NotificationQueue.SendStatus.FAILED, store.rows.get(busyLastAttempt).status);
+        assertEquals(3, store.rows.get(busyLastAttempt).retryCount);
+
+        Row retry = store.rows.get(busy);
+        assertEquals(NotificationQueue.SendStatus.PENDING, retry.status);
+        assertEquals(1, retry.retryCount);
+        assertNotNull(retry.errorMessage);
+        assertFalse(retry.scheduledAt.isBefore(before.plusSeconds(15)), "first retry waits at least base/2");
+        assertFalse(retry.scheduledAt.isAfter(LocalDateTime.now().plusSeconds(30)), "first retry waits at most base");
+        assertEquals(0, store.count(NotificationQueue.SendStatus.PROCESSING));
+
+        assertEquals(50, counter("sent"));
+        assertEquals(1, counter("retry"));
+        assertEquals(3, counter("failed"));
+        assertTrue(meterRegistry.get("lms.notification.dispatch.batch").timer().count() >= 6);
+    }
+
+    @Test
+    @DisplayName("채널 토큰 버킷 한도보다 빨리 보내지 않는다")
+    void respectsChannelRateLimit() throws InterruptedException {
+        for (int i = 0; i < 40; i++) {
+            store.add("user" + i + "@ysc.test", 0, 3);
+        }
+        NotificationDispatcher dispatcher = dispatcher(20, 5);
+
+        long start = System.nanoTime();
+        assertEquals(40, dispatcher.drain(EMAIL));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        dispatcher.shutdown();
+
+        // 버킷 5개는 바로, 나머지 35건은 초당 20건 -> 1.75초
+        assertEquals(40, store.count(NotificationQueue.SendStatus.SENT));
+        assertTrue(elapsedMillis >= 1_500, "sent too fast for 20/sec: " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("대기 건수와 가장 오래된 대기 건의 지연을 게이지로 노출한다")
+    void exposesQueueDepthAndLag() throws InterruptedException {
+        store.add("user1@ysc.test", 0, 3);
+        long old = store.add("user2@ysc.test", 0, 3);
+        store.rows.get(old).scheduledAt = LocalDateTime.now().minusMinutes(5);
+        long future = store.add("user3@ysc.test", 0, 3);
+        store.rows.get(future).scheduledAt = LocalDateTime.now().plusMinutes(5);
+
+        NotificationDispatcher dispatcher = dispatcher(1_000, 10);
+        dispatcher.refreshQueueMetrics();
+        assertEquals(2.0, meterRegistry.get("lms.notification.queue.depth").tag("channel", "EMAIL").gauge().value());
+        assertTrue(meterRegistry.get("lms.notification.queue.lag").tag("channel", "EMAIL").gauge().value() >= 299);
+
+        dispatcher.drain(EMAIL);
+        dispatcher.refreshQueueMetrics();
+        dispatcher.shutdown();
+        assertEquals(0.0, meterRegistry.get("lms.notification.queue.depth").tag("channel", "EMAIL").gauge().value());
+        assertEquals(NotificationQueue.SendStatus.PENDING, store.rows.get(future).status);
+    }
+
+    @Test
+    @DisplayName("재시도 대기는 지수적으로 늘고 상한을 넘지 않는다")
+    void backoffGrowsExponentiallyWithJitter() {
+        NotificationDispatcher dispatcher = dispatcher(1_000, 10);
+        for (int attempt = 1; attempt <= 12; attempt++) {
+            long cap = Math.min(3_600_000L, 30_000L << (attempt - 1));
+            for (int i = 0; i < 100; i++) {
+                long delay = dispatcher.backoffMillis(attempt);
+                assertTrue(delay >= cap / 2 && delay <= cap, "attempt " + attempt + ": " + delay);
+            }
+        }
+    }
+
+    private NotificationDispatcher dispatcher(int ratePerSecond, int burst) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtp.port());
+        mailSender.setDefaultEncoding("UTF-8");
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "10000");
+        EmailChannelSender sender = new EmailChannelSender(mailSender, true, "noreply@ysc.test", "YCS 물류관리시스템",
+            ratePerSecond, burst);
+        return new NotificationDispatcher(store, List.of(sender), meterRegistry, true, 200, 120, 30, 3600);
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.get("lms.notification.dispatch").tag("channel", "EMAIL").tag("outcome", outcome).counter().count();
+    }
+
+    static class Row {
+        NotificationQueue.SendStatus status = NotificationQueue.SendStatus.PENDING;
+        String address;
+        int retryCount;
+        int maxRetry;
+        LocalDateTime createdAt = LocalDateTime.now();
+        LocalDateTime scheduledAt;
+        LocalDateTime sentAt;
+        String externalId;
+        String errorMessage;
+        String claimedBy;
+        LocalDateTime leaseUntil;
+    }
+
+    /**
+     * notification_queue 테이블 대역 - JpaNotificationQueueStore 와 같은 선점/반영 규칙
+     */
+    static class InMemoryQueueStore implements NotificationQueueStore {
+        final Map<Long, Row> rows = new TreeMap<>();
+        private long sequence;
+
+        synchronized Long add(String address, int retryCount, int maxRetry) {
+            Row row = new Row();
+            row.address = address;
+            row.retryCount = retryCount;
+            row.maxRetry = maxRetry;
+            rows.put(++sequence, row);
+            return sequence;
+        }
+
+        synchronized long count(NotificationQueue.SendStatus status) {
+            return rows.values().stream().filter(row -> row.status == status).count();
+        }
+
+        @Override
+        public synchronized List<QueuedNotification> claim(NotificationTemplate.NotificationChannelType channel, String workerId,
+                                                           int limit, LocalDateTime leaseUntil) {
+            LocalDateTime now = LocalDateTime.now();
+            List<QueuedNotification> claimed = new ArrayList<>();
+            for (Map.Entry<Long, Row> entry : rows.entrySet()) {
+                Row row = entry.getValue();
+                if (claimed.size() == limit) {
+                    break;
+                }
+                if (row.status != NotificationQueue.SendStatus.PENDING
+                    || (row.scheduledAt != null && row.scheduledAt.isAfter(now))) {
+                    continue;
+                }
+                row.status = NotificationQueue.SendStatus.PROCESSING;
+                row.claimedBy = workerId;
+                row.leaseUntil = leaseUntil;
+                claimed.add(new QueuedNotification(entry.getKey(), channel, entry.getKey(), "사용자" + entry.getKey(),
+                    row.address, "[YCS LMS] 알림 " + entry.getKey(), "본문 " + entry.getKey(), row.retryCount, row.maxRetry));
+            }
+            return claimed;
+        }
+
+        @Override
+        public synchronized int writeBack(String workerId, List<QueueUpdate> updates) {
+            int updated = 0;
+            for (QueueUpdate update : updates) {
+                Row row = rows.get(update.getId());
+                if (row == null || !workerId.equals(row.claimedBy)) {
+                    continue;
+                }
+                row.status = update.getStatus();
+                row.retryCount = update.getRetryCount();
+                row.scheduledAt = update.getScheduledAt();
+                row.sentAt = update.getSentAt();
+                row.externalId = update.getExternalId();
+                row.errorMessage = update.getErrorMessage();
+                row.claimedBy = null;
+                row.leaseUntil = null;
+                updated++;
+            }
+            return updated;
+        }
+
+        @Override
+        public synchronized int release(String workerId, Collection<Long> ids) {
+            int released = 0;
+            for (Long id : ids) {
+                Row row = rows.get(id);
+                if (row != null && row.status == NotificationQueue.SendStatus.PROCESSING && workerId.equals(row.claimedBy)) {
+                    row.status = NotificationQueue.SendStatus.PENDING;
+                    row.claimedBy = null;
+                    row.leaseUntil = null;
+                    released++;
+                }
+            }
+            return released;
+        }
+
+        @Override
+        public synchronized int releaseExpiredLeases(LocalDateTime now) {
+            int released = 0;
+            for (Row row : rows.values()) {
+                if (row.status == NotificationQueue.SendStatus.PROCESSING && row.leaseUntil.isBefore(now)) {
+                    row.status = NotificationQueue.SendStatus.PENDING;
+                    row.claimedBy = null;
+                    row.leaseUntil = null;
+                    released++;
+                }
+            }
+            return released;
+        }
+
+        @Override
+        public synchronized List<QueueDepth> readyDepths(LocalDateTime now) {
+            LocalDateTime oldest = null;
+            long ready = 0;
+            for (Row row : rows.values()) {
+                LocalDateTime readyAt = row.scheduledAt != null ? row.scheduledAt : row.createdAt;
+                if (row.status == NotificationQueue.SendStatus.PENDING && !readyAt.isAfter(now)) {
+                    ready++;
+                    oldest = oldest == null || readyAt.isBefore(oldest) ? readyAt : oldest;
+                }
+            }
+            return ready == 0 ? List.of() : List.of(new QueueDepth(EMAIL, ready, oldest));
+        }
+    }
+
+    /**
+     * 최소 SMTP 서버 - 연결/수신 건수를 세고, 수신자 주소에 따라 RCPT 를 거부한다
+     */
+    static class SmtpStub implements AutoCloseable {
+        final AtomicInteger connections = new AtomicInteger();
+        final AtomicInteger delivered = new AtomicInteger();
+        private final ServerSocket server;
+
+        SmtpStub() throws IOException {
+            server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::accept, "smtp-stub");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        private void accept() {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    connections.incrementAndGet();
+                    Thread session = new Thread(() -> session(socket), "smtp-stub-session");
+                    session.setDaemon(true);
+                    session.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void session(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                OutputStream out = socket.getOutputStream();
+                reply(out, "220 stub ESMTP");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                    switch (command) {
+                        case "EHLO", "HELO", "MAIL", "RSET", "NOOP" -> reply(out, "250 OK");
+                        case "RCPT" -> {
+                            String recipient = line.toLowerCase();
+                            if (recipient.contains("reject")) {
+                                reply(out, "550 5.1.1 No such user");
+                            } else if (recipient.contains("busy")) {
+                                reply(out, "451 4.3.0 Mailbox busy, try later");
+                            } else {
+                                reply(out, "250 OK");
+                            }
+                        }
+                        case "DATA" -> {
+                            reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                            while ((line = in.readLine()) != null && !line.equals(".")) {
+                                // 본문은 버린다
+                            }
+                            delivered.incrementAndGet();
+                            reply(out, "250 2.0.0 queued");
+                        }
+                        case "QUIT" -> {
+                            reply(out, "221 bye");
+                            return;
+                        }
+                        default -> reply(out, "502 Command not implemented");
+                    }
+                }
+            } catch (IOException ignored) {
+                // 클라이언트가 연결을 끊음
+            }
+        }
+
+        private static void reply(OutputStream out, String line) throws IOException {
+            out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.ysc.lms.notification;
+
+import com.ysc.lms.entity.Notification;
+import com.ysc.lms.entity.NotificationQueue;
+import com.ysc.lms.entity.Order;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.ingestion.EntityBatchInserter;
+import com.ysc.lms.repository.NotificationQueueRepository;
+import com.ysc.lms.repository.NotificationRepository;
+import com.ysc.lms.repository.UserRepository;
+import com.ysc.lms.service.EmailService;
+import com.ysc.lms.service.NotificationService;
+import com.ysc.lms.statistics.OrderStatusChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 큐 디스패처 사용 여부(app.notification.dispatch.enabled)에 따른 알림 이메일 경로 테스트
+ * 꺼져 있으면 큐에 쌓지 않고 EmailService 로 바로 보내고, 켜져 있으면 큐에만 적재합니다
+ */
+class NotificationEmailModeTest {
+
+    private EntityBatchInserter batchInserter;
+    private UserRepository userRepository;
+    private EmailService emailService;
+    private NotificationQueueRepository queueRepository;
+    private final List<NotificationFanoutService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        batchInserter = mock(EntityBatchInserter.class);
+        when(batchInserter.insert(any(), any(), any())).thenAnswer(invocation -> invocation.<List<?>>getArgument(2).size());
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findContactsByIdIn(any())).thenAnswer(invocation -> {
+            List<Object[]> contacts = new ArrayList<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                contacts.add(contact(id));
+            }
+            return contacts;
+        });
+        emailService = mock(EmailService.class);
+        queueRepository = mock(NotificationQueueRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(NotificationFanoutService::shutdown);
+    }
+
+    @Test
+    @DisplayName("디스패처를 끄면 수신자 목록 공지 이메일을 커밋 후 바로 보내고 큐에는 적재하지 않음")
+    void sendsUserBroadcastInlineWhenDispatchDisabled() throws InterruptedException {
+        FanoutJob job = await(fanoutService(false).broadcastToUsers("긴급 점검", "오늘 밤 점검", List.of(1L, 2L, 3L, 2L), true));
+
+        assertEquals(FanoutJob.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getNotificationsWritten());
+        assertEquals(3, job.getEmailsQueued());
+        verify(emailService).sendSimpleEmail(eq("user1@ysc.test"), eq(NotificationMessages.systemEmailSubject("긴급 점검")),
+            eq(NotificationMessages.systemEmailBody("user1", "긴급 점검", "오늘 밤 점검")));
+        verify(emailService, times(3)).sendSimpleEmail(anyString(), anyString(), anyString());
+        verify(batchInserter, never()).insert(eq(NotificationQueue.class), any(), any());
+    }
+
+    @Test
+    @DisplayName("디스패처를 끄면 사용자 구간 공지 이메일도 같은 대상에게 바로 보냄")
+    void sendsSegmentBroadcastInlineWhenDispatchDisabled() throws InterruptedException {
+        when(userRepository.countByStatus(User.UserStatus.ACTIVE)).thenReturn(2L);
+        when(userRepository.findIdBounds(User.UserStatus.ACTIVE, null)).thenReturn(List.<Object[]>of(new Object[]{4L, 5L}));
+        when(userRepository.findContactsInIdRange(User.UserStatus.ACTIVE, null, 3L, 5L))
+            .thenReturn(List.of(contact(4L), contact(5L)));
+
+        FanoutJob job = await(fanoutService(false).broadcastToSegment("긴급 공지", "내용", User.UserStatus.ACTIVE, null, true));
+
+        assertEquals(2, job.getEmailsQueued());
+        verify(emailService).sendSimpleEmail(eq("user4@ysc.test"), anyString(), anyString());
+        verify(emailService).sendSimpleEmail(eq("user5@ysc.test"), anyString(), anyString());
+        assertEquals(List.of(Notification.class), insertSelectTargets());
+    }
+
+    @Test
+    @DisplayName("디스패처를 끄면 주문 상태 이메일은 이메일 대상 상태만 바로 보냄")
+    void sendsOrderStatusEmailsInlineWhenDispatchDisabled() throws InterruptedException {
+        FanoutJob job = await(fanoutService(false).notifyOrderStatusChanges(List.of(
+            new OrderStatusChange(10L, "ORD-10", 1L, Order.OrderStatus.SHIPPING, Order.OrderStatus.DELIVERED),
+            new OrderStatusChange(11L, "ORD-11", 2L, Order.OrderStatus.RECEIVED, Order.OrderStatus.ARRIVED))));
+
+        assertEquals(2, job.getNotificationsWritten());
+        assertEquals(1, job.getEmailsQueued());
+        verify(emailService).sendSimpleEmail("user1@ysc.test", NotificationMessages.orderStatusEmailSubject("ORD-10"),
+            NotificationMessages.orderStatusEmailBody("user1", "ORD-10", "DELIVERED"));
+        verifyNoMoreInteractions(emailService);
+        verify(batchInserter, never()).insert(eq(NotificationQueue.class), any(), any());
+    }
+
+    @Test
+    @DisplayName("한 건 발송이 실패해도 파티션은 성공, 나머지는 발송")
+    void failedInlineSendDoesNotFailPartition() throws InterruptedException {
+        doThrow(new IllegalStateException("smtp down")).when(emailService).sendSimpleEmail(eq("user2@ysc.test"), any(), any());
+
+        FanoutJob job = await(fanoutService(false).broadcastToUsers("긴급 점검", "내용", List.of(1L, 2L, 3L), true));
+
+        assertEquals(FanoutJob.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getNotificationsWritten());
+        assertEquals(2, job.getEmailsQueued());
+        verify(emailService).sendSimpleEmail(eq("user3@ysc.test"), any(), any());
+    }
+
+    @Test
+    @DisplayName("디스패처를 켜면 이메일은 큐에만 적재하고 바로 보내지 않음")
+    void queuesEmailsWhenDispatchEnabled() throws InterruptedException {
+        NotificationFanoutService service = fanoutService(true);
+        FanoutJob users = await(service.broadcastToUsers("긴급 점검", "내용", List.of(1L, 2L, 3L), true));
+        FanoutJob orders = await(service.notifyOrderStatusChanges(List.of(
+            new OrderStatusChange(10L, "ORD-10", 1L, Order.OrderStatus.SHIPPING, Order.OrderStatus.DELIVERED))));
+
+        assertEquals(3, users.getEmailsQueued());
+        assertEquals(1, orders.getEmailsQueued());
+        verify(batchInserter, times(2)).insert(eq(NotificationQueue.class), eq(NotificationFanoutWriter.QUEUE_PROPERTIES), any());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    @DisplayName("단건 주문 상태 알림 - 디스패처를 끄면 바로 발송, 켜면 큐 적재")
+    void orderStatusChangeFollowsDispatchFlag() {
+        NotificationService notificationService = new NotificationService(emailService, mock(NotificationRepository.class),
+            userRepository, queueRepository, fanoutService(false));
+        Order order = new Order();
+        order.setOrderNumber("ORD-20");
+        User user = new User();
+        user.setName("홍길동");
+        user.setEmail("hong@ysc.test");
+        order.setUser(user);
+
+        ReflectionTestUtils.setField(notificationService, "queueEmails", false);
+        notificationService.notifyOrderStatusChange(order, "SHIPPING", "DELIVERED");
+        verify(emailService).sendSimpleEmail("hong@ysc.test", NotificationMessages.orderStatusEmailSubject("ORD-20"),
+            NotificationMessages.orderStatusEmailBody("홍길동", "ORD-20", "DELIVERED"));
+        verify(queueRepository, never()).save(any());
+
+        ReflectionTestUtils.setField(notificationService, "queueEmails", true);
+        notificationService.notifyOrderStatusChange(order, "SHIPPING", "DELIVERED");
+        verify(queueRepository).save(any(NotificationQueue.class));
+        verify(emailService, times(1)).sendSimpleEmail(anyString(), anyString(), anyString());
+    }
+
+    private NotificationFanoutService fanoutService(boolean queueEmails) {
+        NotificationFanoutService service = new NotificationFanoutService(
+            new NotificationFanoutWriter(batchInserter, userRepository), userRepository, emailService,
+            mock(PlatformTransactionManager.class), queueEmails, 2, 2, 5000, 60);
+        services.add(service);
+        return service;
+    }
+
+    /**
+     * INSERT ... SELECT 로 적재한 엔티티 (가변 인자라 호출 기록에서 직접 꺼냄)
+     */
+    private List<Object> insertSelectTargets() {
+        return mockingDetails(batchInserter).getInvocations().stream()
+            .filter(invocation -> invocation.getMethod().getName().equals("insertSelect"))
+            .map(invocation -> invocation.getArgument(0))
+            .toList();
+    }
+
+    private static FanoutJob await(FanoutJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(job.isFinished(), "fan-out job did not finish");
+        return job;
+    }
+
+    private static Object[] contact(long id) {
+        return new Object[]{id, "user" + id, "user" + id + "@ysc.test"};
+    }
+}
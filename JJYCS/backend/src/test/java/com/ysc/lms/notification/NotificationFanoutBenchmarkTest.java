@@ -0,0 +1,112 @@
+package com.ysc.lms.notification;
+
+import com.ysc.lms.YscLmsApplication;
+import com.ysc.lms.entity.Notification;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.ingestion.EntityBatchInserter;
+import com.ysc.lms.repository.NotificationRepository;
+import com.ysc.lms.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 시스템 공지 일괄 발송 처리량 벤치마크 (notifications/sec)
+ * 수신자 1만/10만 명에 대해 기존 방식(사용자마다 save)과 fan-out(id 구간별 INSERT ... SELECT, 이메일 큐 적재)을 비교합니다
+ * 기존 방식은 시간이 오래 걸려 앞쪽 benchmark.legacy-sample 명만 측정합니다
+ * 실행: mvn test -Dtest=NotificationFanoutBenchmarkTest -Dbenchmark=true [-Dbenchmark.legacy-sample=2000]
+ */
+@SpringBootTest(classes = YscLmsApplication.class)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class NotificationFanoutBenchmarkTest {
+
+    private static final List<String> USER_PROPERTIES = List.of(
+        "email", "password", "name", "userType", "status", "emailVerified", "createdAt", "updatedAt");
+
+    @Autowired
+    private NotificationFanoutService fanoutService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityBatchInserter batchInserter;
+
+    @Test
+    @DisplayName("수신자 1만 명 - 기존 방식 대비 notifications/sec")
+    void tenThousandRecipients() throws InterruptedException {
+        run(10_000, User.UserType.PARTNER);
+    }
+
+    @Test
+    @DisplayName("수신자 10만 명 - 기존 방식 대비 notifications/sec")
+    void hundredThousandRecipients() throws InterruptedException {
+        run(100_000, User.UserType.CORPORATE);
+    }
+
+    private void run(int recipients, User.UserType userType) throws InterruptedException {
+        int legacySample = Integer.getInteger("benchmark.legacy-sample", 2_000);
+        seedUsers(recipients, userType);
+
+        List<User> sample = userRepository.findByStatusAndUserTypeOrderByCreatedAtDesc(
+            User.UserStatus.ACTIVE, userType, PageRequest.of(0, legacySample)).getContent();
+        long legacyStart = System.nanoTime();
+        for (User user : sample) {
+            notificationRepository.save(new Notification(user, Notification.NotificationType.SYSTEM_ANNOUNCEMENT,
+                "[벤치마크] 기존 방식", "사용자마다 save"));
+        }
+        long legacyNanos = System.nanoTime() - legacyStart;
+
+        long fanoutStart = System.nanoTime();
+        FanoutJob job = fanoutService.broadcastToSegment("[중요] 벤치마크 공지", "fan-out 처리량 측정",
+            User.UserStatus.ACTIVE, userType, true);
+        while (!job.isFinished()) {
+            Thread.sleep(10);
+        }
+        long fanoutNanos = System.nanoTime() - fanoutStart;
+
+        double legacyRate = sample.size() / (legacyNanos / 1e9);
+        double fanoutRate = job.getNotificationsWritten() / (fanoutNanos / 1e9);
+        System.out.printf("[benchmark] recipients=%d legacy(save, %d sampled): %.0f notifications/sec, "
+                + "fan-out: %.0f notifications/sec (%d ms, %d partitions, %d emails queued), x%.1f%n",
+            job.getExpectedRecipients(), sample.size(), legacyRate, fanoutRate, fanoutNanos / 1_000_000,
+            job.getTotalPartitions(), job.getEmailsQueued(), fanoutRate / legacyRate);
+
+        assertEquals(FanoutJob.Status.COMPLETED, job.getStatus());
+        assertEquals(job.getExpectedRecipients(), job.getNotificationsWritten());
+        assertEquals(job.getExpectedRecipients(), job.getEmailsQueued());
+        assertTrue(job.getExpectedRecipients() >= recipients);
+        assertTrue(fanoutRate >= legacyRate * 10, "fan-out should be at least 10x faster");
+    }
+
+    private void seedUsers(int count, User.UserType userType) {
+        String prefix = "fanout-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(5_000);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{prefix + i + "@ysc.test", "benchmark", "Benchmark " + i, userType.name(),
+                User.UserStatus.ACTIVE.name(), true, now, now});
+            if (rows.size() == 5_000) {
+                batchInserter.insert(User.class, USER_PROPERTIES, rows);
+                rows.clear();
+            }
+        }
+        batchInserter.insert(User.class, USER_PROPERTIES, rows);
+    }
+}
@@ -0,0 +1,159 @@
+package com.ysc.lms.picking;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 웨이브 피킹 경로 이동 거리/계산 시간 벤치마크
+ * 합성 창고 배치(층 2개 x 통로 25개 x 베이 50개 x 양면 = 5,000 위치)에서 임의 주문 웨이브를
+ * 기존 주문별 목록 순서와 PickWavePlanner(최근접 이웃 + 2-opt, 피커별 병렬)로 비교합니다
+ * 실행: mvn test -Dtest=PickWavePlannerBenchmarkTest -Dbenchmark=true [-Dbenchmark.orders=500] [-Dbenchmark.pickers=8]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PickWavePlannerBenchmarkTest {
+
+    private static final int AISLES = 25;
+    private static final int BAYS = 50;
+    private static final double AISLE_PITCH_M = 3.0;
+    private static final double BAY_PITCH_M = 1.2;
+    private static final int FLOORS = 2;
+
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void startExecutor() {
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @AfterAll
+    static void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("5,000 위치 배치 - 주문별 목록 순서 대비 이동 거리와 계산 시간")
+    void compareWaveDistance() {
+        int orders = Integer.getInteger("benchmark.orders", 500);
+        int pickers = Integer.getInteger("benchmark.pickers", 8);
+        List<PickLine> locations = layout();
+        List<PickLine> lines = wave(locations, orders, new Random(42));
+        List<String> orderNumbers = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            orderNumbers.add(orderNumber(i));
+        }
+
+        PickWavePlanner planner = new PickWavePlanner(new PickRouteOptimizer(0, 0, 1, 30, 200), executor);
+        planner.plan(orderNumbers, lines, pickers); // warm-up
+
+        PickWavePlan single = planner.plan(orderNumbers, lines, 1);
+        PickWavePlan parallel = planner.plan(orderNumbers, lines, pickers);
+
+        System.out.printf("[benchmark] locations=%d orders=%d lines=%d%n", locations.size(), orders, lines.size());
+        System.out.printf("[benchmark] 1 picker: stops=%d baseline=%.0f m optimised=%.0f m (-%.1f%%) in %d ms%n",
+            single.getStopCount(), single.getBaselineDistance(), single.getTotalDistance(),
+            single.getSavingRatio() * 100, single.getComputeMillis());
+        System.out.printf("[benchmark] %d pickers: stops=%d baseline=%.0f m optimised=%.0f m (-%.1f%%) in %d ms%n",
+            parallel.getRoutes().size(), parallel.getStopCount(), parallel.getBaselineDistance(),
+            parallel.getTotalDistance(), parallel.getSavingRatio() * 100, parallel.getComputeMillis());
+
+        assertEquals(lines.size(), single.getLineCount());
+        assertTrue(parallel.getUnlocatedOrders().isEmpty());
+        assertTrue(single.getTotalDistance() < single.getBaselineDistance());
+        assertTrue(parallel.getTotalDistance() < parallel.getBaselineDistance());
+    }
+
+    @Test
+    @DisplayName("5,000 위치 전체 순회 - 최근접 이웃 대비 2-opt 개선")
+    void compareFullTour() {
+        List<PickLine> locations = layout();
+        int n = locations.size();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        int[] floors = new int[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = locations.get(i).getX();
+            ys[i] = locations.get(i).getY();
+            floors[i] = locations.get(i).getFloor();
+        }
+
+        long started = System.nanoTime();
+        PickRouteOptimizer nearestOnly = new PickRouteOptimizer(0, 0, 1, 30, 0);
+        int[] nearest = nearestOnly.route(xs, ys, floors);
+        long nearestMillis = (System.nanoTime() - started) / 1_000_000;
+
+        started = System.nanoTime();
+        PickRouteOptimizer twoOpt = new PickRouteOptimizer(0, 0, 1, 30, 2_000);
+        int[] improved = twoOpt.route(xs, ys, floors);
+        long twoOptMillis = (System.nanoTime() - started) / 1_000_000;
+
+        double nearestDistance = nearestOnly.pathLength(xs, ys, floors, nearest);
+        double improvedDistance = twoOpt.pathLength(xs, ys, floors, improved);
+        System.out.printf("[benchmark] full tour n=%d nearest-neighbour=%.0f m (%d ms), +2-opt=%.0f m (%d ms)%n",
+            n, nearestDistance, nearestMillis, improvedDistance, twoOptMillis);
+
+        Set<Integer> visited = new HashSet<>();
+        for (int stop : improved) {
+            visited.add(stop);
+        }
+        assertEquals(n, visited.size());
+        assertTrue(improvedDistance <= nearestDistance);
+    }
+
+    /**
+     * 층 x 통로 x 베이 x 양면 (통로 중앙선 기준 좌우 면은 같은 좌표로 본다)
+     */
+    private static List<PickLine> layout() {
+        List<PickLine> locations = new ArrayList<>();
+        long id = 1;
+        for (int floor = 1; floor <= FLOORS; floor++) {
+            for (int aisle = 0; aisle < AISLES; aisle++) {
+                for (int bay = 0; bay < BAYS; bay++) {
+                    for (String side : new String[]{"L", "R"}) {
+                        locations.add(new PickLine(null, null, 1, id++,
+                            String.format("F%d-A%02d-B%03d-%s", floor, aisle, bay, side),
+                            floor, aisle * AISLE_PITCH_M, bay * BAY_PITCH_M));
+                    }
+                }
+            }
+        }
+        return locations;
+    }
+
+    /**
+     * 주문당 1~5 줄, 주문번호 → 위치코드 순 (ItemLocationRepository.findPickLines 와 같은 정렬)
+     */
+    private static List<PickLine> wave(List<PickLine> locations, int orders, Random random) {
+        List<PickLine> lines = new ArrayList<>();
+        long itemLocationId = 1;
+        for (int order = 0; order < orders; order++) {
+            List<PickLine> orderLines = new ArrayList<>();
+            int count = 1 + random.nextInt(5);
+            for (int i = 0; i < count; i++) {
+                PickLine location = locations.get(random.nextInt(locations.size()));
+                orderLines.add(new PickLine(itemLocationId++, orderNumber(order), 1, location.getLocationId(),
+                    location.getLocationCode(), location.getFloor(), location.getX(), location.getY()));
+            }
+            orderLines.sort((a, b) -> a.getLocationCode().compareTo(b.getLocationCode()));
+            lines.addAll(orderLines);
+        }
+        return lines;
+    }
+
+    private static String orderNumber(int index) {
+        return String.format("ORD-%06d", index);
+    }
+}
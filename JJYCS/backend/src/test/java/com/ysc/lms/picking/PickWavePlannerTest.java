@@ -0,0 +1,126 @@
+package com.ysc.lms.picking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 웨이브 피킹 계획 동작 테스트 - 경로 거리 계산, 정차 위치 묶기, 피커별 주문 배정
+ * 좌표는 손으로 거리를 계산할 수 있는 작은 배치를 사용합니다
+ */
+class PickWavePlannerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final PickRouteOptimizer optimizer = new PickRouteOptimizer(0, 0, 1, 30, 200);
+    private final PickWavePlanner planner = new PickWavePlanner(optimizer, executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("경로 거리 - 같은 층은 맨해튼 거리, 다른 층은 depot 승강기 경유 + 층 이동 비용")
+    void pathLengthUsesManhattanAndFloorChange() {
+        double[] xs = {3, 3};
+        double[] ys = {4, 0};
+        int[] floors = {1, 2};
+
+        // depot(0,0,1F) → (3,4,1F) = 7, (3,4,1F) → (3,0,2F) = 7 + 30 + 3, (3,0,2F) → depot = 3 + 30
+        assertEquals(7 + 40 + 33, optimizer.pathLength(xs, ys, floors, new int[]{0, 1}), 1e-9);
+        assertEquals(0, optimizer.pathLength(new double[0], new double[0], new int[0], new int[0]), 1e-9);
+    }
+
+    @Test
+    @DisplayName("한 줄로 늘어선 위치는 뒤섞인 입력이어도 가까운 순서로 방문 (왕복 = 가장 먼 위치 x 2)")
+    void routesCollinearStopsInOrder() {
+        double[] xs = {5, 1, 4, 2, 3, 6};
+        double[] ys = new double[6];
+        int[] floors = {1, 1, 1, 1, 1, 1};
+
+        int[] route = optimizer.route(xs, ys, floors);
+
+        assertArrayEquals(new int[]{1, 3, 4, 2, 0, 5}, route);
+        assertEquals(12, optimizer.pathLength(xs, ys, floors, route), 1e-9);
+    }
+
+    @Test
+    @DisplayName("같은 위치의 줄은 한 정차로 묶고, 모든 줄을 한 번씩 방문하며 목록 순서보다 짧거나 같음")
+    void groupsLinesByLocationAndVisitsAllOnce() {
+        List<PickLine> lines = List.of(
+            line(1, "ORD-A", 10, 8, 0),
+            line(2, "ORD-A", 11, 1, 0),
+            line(3, "ORD-A", 12, 7, 0),
+            line(4, "ORD-B", 10, 8, 0),
+            line(5, "ORD-B", 13, 2, 0));
+
+        PickWavePlan plan = planner.plan(List.of("ORD-A", "ORD-B", "ORD-C"), lines, 1);
+
+        assertEquals(1, plan.getRoutes().size());
+        PickRoute route = plan.getRoutes().get(0);
+        assertEquals(4, plan.getStopCount());
+        assertEquals(5, plan.getLineCount());
+        assertEquals(List.of("ORD-C"), plan.getUnlocatedOrders());
+
+        Set<Long> visited = new HashSet<>();
+        List<Long> stopOrder = new ArrayList<>();
+        for (PickStop stop : route.getStops()) {
+            assertTrue(visited.add(stop.getLocationId()));
+            stopOrder.add(stop.getLocationId());
+            if (stop.getLocationId() == 10L) {
+                assertEquals(2, stop.getLines().size());
+            }
+        }
+        assertEquals(List.of(11L, 13L, 12L, 10L), stopOrder);
+        assertEquals(16, route.getDistance(), 1e-9);
+        // 목록 순서 (주문은 평균 x 가 작은 ORD-B 먼저): 0 → 8 → 2 → 8 → 1 → 7 → 0
+        assertEquals(8 + 6 + 6 + 7 + 6 + 7, route.getBaselineDistance(), 1e-9);
+        assertEquals(1 - 16.0 / 40, plan.getSavingRatio(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("주문은 쪼개지 않고 위치가 가까운 주문끼리 피커에게 연속 배정, 피커 수가 주문보다 많으면 주문 수만큼")
+    void partitionsWholeOrdersByArea() {
+        List<PickLine> lines = List.of(
+            line(1, "ORD-1", 1, 50, 0),
+            line(2, "ORD-1", 2, 52, 0),
+            line(3, "ORD-2", 3, 1, 0),
+            line(4, "ORD-3", 4, 48, 0),
+            line(5, "ORD-4", 5, 3, 0),
+            line(6, "ORD-4", 6, 4, 0));
+        List<String> orders = List.of("ORD-1", "ORD-2", "ORD-3", "ORD-4");
+
+        PickWavePlan plan = planner.plan(orders, lines, 2);
+
+        assertEquals(2, plan.getRoutes().size());
+        assertEquals(List.of("ORD-2", "ORD-4"), plan.getRoutes().get(0).getOrderNumbers());
+        assertEquals(List.of("ORD-3", "ORD-1"), plan.getRoutes().get(1).getOrderNumbers());
+        for (PickRoute route : plan.getRoutes()) {
+            for (PickStop stop : route.getStops()) {
+                for (PickLine line : stop.getLines()) {
+                    assertTrue(route.getOrderNumbers().contains(line.getOrderNumber()));
+                }
+            }
+        }
+        assertEquals(6, plan.getStopCount());
+
+        assertEquals(4, planner.plan(orders, lines, 10).getRoutes().size());
+        PickWavePlan empty = planner.plan(orders, List.of(), 3);
+        assertTrue(empty.getRoutes().isEmpty());
+        assertEquals(orders, empty.getUnlocatedOrders());
+        assertEquals(0, empty.getSavingRatio());
+    }
+
+    private static PickLine line(long id, String orderNumber, long locationId, double x, double y) {
+        return new PickLine(id, orderNumber, 1, locationId, "L-" + locationId, 1, x, y);
+    }
+}
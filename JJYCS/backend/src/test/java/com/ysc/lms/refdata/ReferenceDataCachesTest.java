@@ -0,0 +1,144 @@
+package com.ysc.lms.refdata;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 기준정보 캐시 조회/무효화/스냅샷 교체 테스트
+ * 로더는 호출 횟수를 세는 메모리 Map 으로, 메트릭은 SimpleMeterRegistry 로 확인합니다
+ */
+class ReferenceDataCachesTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CountingLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loader = new CountingLoader();
+        loader.values.put("TH", "Thailand");
+        loader.values.put("VN", "Vietnam");
+    }
+
+    @Test
+    @DisplayName("첫 조회만 로더를 호출하고 이후는 캐시 - 없는 키도 Optional.empty 로 캐시")
+    void cachesValuesAndAbsentKeys() {
+        ReferenceCache<String, String> cache = caches(false).register("countries", loader);
+
+        assertEquals(Optional.of("Thailand"), cache.get("TH"));
+        assertEquals(Optional.of("Thailand"), cache.get("TH"));
+        assertEquals(Optional.empty(), cache.get("XX"));
+        assertEquals(Optional.empty(), cache.get("XX"));
+        assertEquals(Optional.empty(), cache.get(null));
+
+        assertEquals(2, loader.loads);
+        assertEquals(2, count("countries", "hit"));
+        assertEquals(2, count("countries", "miss"));
+        assertEquals(2, meterRegistry.get("lms.refdata.size").tag("cache", "countries").gauge().value());
+    }
+
+    @Test
+    @DisplayName("변경 이벤트 - key 가 있으면 해당 항목만, 없으면 캐시 전체를 무효화")
+    void invalidatesOnChange() {
+        ReferenceDataCaches caches = caches(false);
+        ReferenceCache<String, String> cache = caches.register("countries", loader);
+        cache.get("TH");
+        cache.get("VN");
+
+        loader.values.put("TH", "Kingdom of Thailand");
+        loader.values.put("VN", "Viet Nam");
+        caches.onReferenceDataChanged(new ReferenceDataChanged("countries", "TH"));
+
+        assertEquals(Optional.of("Kingdom of Thailand"), cache.get("TH"));
+        assertEquals(Optional.of("Vietnam"), cache.get("VN"));
+        assertEquals(3, loader.loads);
+
+        caches.onReferenceDataChanged(new ReferenceDataChanged("countries", null));
+        assertEquals(Optional.of("Viet Nam"), cache.get("VN"));
+        assertEquals(4, loader.loads);
+
+        // 등록되지 않은 캐시 이름은 무시
+        assertDoesNotThrow(() -> caches.onReferenceDataChanged(new ReferenceDataChanged("unknown", "TH")));
+    }
+
+    @Test
+    @DisplayName("스냅샷 모드 - 시작 시 전체 적재 후 단건 로더를 쓰지 않고, 변경 시 통째로 교체")
+    void snapshotModeSwapsWholeMap() {
+        ReferenceDataCaches caches = caches(true);
+        ReferenceCache<String, String> cache = caches.register("countries", loader);
+        caches.onApplicationReady();
+
+        assertEquals(Optional.of("Vietnam"), cache.get("VN"));
+        assertEquals(Optional.empty(), cache.get("XX"));
+        assertEquals(0, loader.loads);
+        assertEquals(1, loader.loadAlls);
+        assertEquals(2, count("countries", "hit"));
+
+        loader.values.put("KR", "Korea");
+        caches.onReferenceDataChanged(new ReferenceDataChanged("countries", "KR"));
+        assertEquals(Optional.of("Korea"), cache.get("KR"));
+        assertEquals(2, loader.loadAlls);
+        assertEquals(3, meterRegistry.get("lms.refdata.size").tag("cache", "countries").gauge().value());
+    }
+
+    @Test
+    @DisplayName("스냅샷 재적재 실패 시 이전 스냅샷을 계속 사용")
+    void keepsPreviousSnapshotOnReloadFailure() {
+        ReferenceDataCaches caches = caches(true);
+        ReferenceCache<String, String> cache = caches.register("countries", loader);
+        caches.onApplicationReady();
+
+        loader.failLoadAll = true;
+        caches.scheduledSnapshotReload();
+
+        assertEquals(Optional.of("Thailand"), cache.get("TH"));
+        assertEquals(0, loader.loads);
+    }
+
+    @Test
+    @DisplayName("같은 이름의 캐시는 한 번만 등록")
+    void rejectsDuplicateNames() {
+        ReferenceDataCaches caches = caches(false);
+        caches.register("countries", loader);
+
+        assertThrows(IllegalStateException.class, () -> caches.register("countries", new CountingLoader()));
+    }
+
+    private ReferenceDataCaches caches(boolean snapshotMode) {
+        return new ReferenceDataCaches(meterRegistry, 300, 3600, 100, snapshotMode);
+    }
+
+    private double count(String cache, String result) {
+        return meterRegistry.get("lms.refdata.gets").tag("cache", cache).tag("result", result).counter().count();
+    }
+
+    private static final class CountingLoader implements ReferenceLoader<String, String> {
+        private final Map<String, String> values = new HashMap<>();
+        private int loads;
+        private int loadAlls;
+        private boolean failLoadAll;
+
+        @Override
+        public String load(String key) {
+            loads++;
+            return values.get(key);
+        }
+
+        @Override
+        public Map<String, String> loadAll() {
+            loadAlls++;
+            if (failLoadAll) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return new HashMap<>(values);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ysc.lms.refdata;
+
+import com.ysc.lms.YscLmsApplication;
+import com.ysc.lms.entity.SystemConfig;
+import com.ysc.lms.repository.SystemConfigRepository;
+import com.ysc.lms.service.SystemConfigService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SystemConfigService 캐시 읽기 경로 테스트 (H2)
+ * 서비스 변경 경로는 커밋 후 캐시를 무효화하고, 이벤트 없이 바꾼 DB 값은 캐시가 유지되는지 확인합니다
+ */
+@SpringBootTest(classes = YscLmsApplication.class)
+@ActiveProfiles("test")
+class SystemConfigCacheTest {
+
+    @Autowired
+    private SystemConfigService systemConfigService;
+
+    @Autowired
+    private SystemConfigRepository systemConfigRepository;
+
+    @Test
+    @DisplayName("서비스로 생성/변경/비활성화한 설정은 바로 다음 조회에 반영")
+    void serviceWritesInvalidateCache() {
+        String key = "test.refdata.cbm";
+        assertEquals(new BigDecimal("1"), systemConfigService.getDecimalConfig(key, new BigDecimal("1")));
+
+        systemConfigService.createConfig(config(key, "29.0"));
+        assertEquals(new BigDecimal("29.0"), systemConfigService.getDecimalConfig(key));
+
+        systemConfigService.saveOrUpdateConfig(key, "30.5", "admin");
+        assertEquals(new BigDecimal("30.5"), systemConfigService.getDecimalConfig(key));
+
+        systemConfigService.deactivateConfig(key, "admin");
+        assertNull(systemConfigService.getDecimalConfig(key));
+    }
+
+    @Test
+    @DisplayName("이벤트 없이 저장소로 직접 바꾼 값은 무효화 전까지 캐시된 값을 응답")
+    void directRepositoryWritesStayCached() {
+        String key = "test.refdata.maintenance";
+        systemConfigService.createConfig(config(key, "false"));
+        assertFalse(systemConfigService.getBooleanConfig(key));
+
+        SystemConfig stored = systemConfigRepository.findByConfigKey(key).orElseThrow();
+        stored.setConfigValue("true");
+        systemConfigRepository.save(stored);
+        assertFalse(systemConfigService.getBooleanConfig(key));
+
+        systemConfigService.saveOrUpdateConfig(key, "true", "admin");
+        assertTrue(systemConfigService.getBooleanConfig(key));
+    }
+
+    private static SystemConfig config(String key, String value) {
+        SystemConfig config = new SystemConfig();
+        config.setConfigKey(key);
+        config.setCategory("SYSTEM");
+        config.setConfigValue(value);
+        config.setConfigType(value.matches("true|false") ? SystemConfig.ConfigType.BOOLEAN : SystemConfig.ConfigType.DECIMAL);
+        return config;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ysc.lms.reporting;
+
+import com.ysc.lms.YscLmsApplication;
+import com.ysc.lms.entity.Order;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.repository.OrderRepository;
+import com.ysc.lms.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 리포트 행 스트림 테스트 - H2(MySQL 모드)에서 리포트별 JPQL 과 fetch size 힌트를 실제로 실행합니다
+ */
+@SpringBootTest(classes = YscLmsApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class ReportQueriesTest {
+
+    @Autowired
+    private ReportQueries reportQueries;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("주문 요약 - 기간 안의 주문만 컬럼 순서대로, 고객명/회원코드 포함")
+    void streamsOrderSummaryRows() {
+        User user = new User();
+        user.setEmail("report-queries@example.com");
+        user.setPassword("password");
+        user.setName("리포트고객");
+        user.setUserType(User.UserType.GENERAL);
+        user = userRepository.saveAndFlush(user);
+
+        Order order = new Order();
+        order.setOrderNumber("RPTQ0001");
+        order.setUserId(user.getId());
+        order.setStatus(Order.OrderStatus.ARRIVED);
+        order.setShippingType(Order.ShippingType.SEA);
+        order.setCountry("TH");
+        order.setRecipientName("수취인");
+        orderRepository.saveAndFlush(order);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows;
+        try (Stream<Object[]> stream = reportQueries.open(ReportingService.ReportType.ORDER_SUMMARY,
+                now.minusDays(1), now.plusDays(1))) {
+            rows = stream.filter(row -> "RPTQ0001".equals(row[0])).collect(Collectors.toList());
+        }
+
+        assertEquals(1, rows.size());
+        Object[] row = rows.get(0);
+        assertEquals(reportQueries.columns(ReportingService.ReportType.ORDER_SUMMARY).size(), row.length);
+        assertEquals("리포트고객", row[2]);
+        assertEquals(Order.OrderStatus.ARRIVED, row[4]);
+
+        try (Stream<Object[]> stream = reportQueries.open(ReportingService.ReportType.ORDER_SUMMARY,
+                now.plusDays(1), now.plusDays(2))) {
+            assertTrue(stream.noneMatch(r -> "RPTQ0001".equals(r[0])));
+        }
+    }
+
+    @Test
+    @DisplayName("재무/재고/사용자 리포트 쿼리도 열리고 컬럼 수가 정의와 같음")
+    void opensEveryReportType() {
+        User user = new User();
+        user.setEmail("report-activity@example.com");
+        user.setPassword("password");
+        user.setName("활동고객");
+        user.setUserType(User.UserType.GENERAL);
+        userRepository.saveAndFlush(user);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (ReportingService.ReportType type : List.of(ReportingService.ReportType.FINANCIAL_REPORT,
+                ReportingService.ReportType.INVENTORY_REPORT, ReportingService.ReportType.USER_ACTIVITY)) {
+            int columns = reportQueries.columns(type).size();
+            try (Stream<Object[]> stream = reportQueries.open(type, now.minusDays(1), now.plusDays(1))) {
+                assertTrue(stream.allMatch(row -> row.length == columns), type.name());
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.ysc.lms.reporting;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CSV/XLSX 리포트 스트리밍 출력 형식 테스트
+ * XLSX 는 zip 파트를 다시 풀어 XML 로 파싱해 확인합니다
+ */
+class ReportWritersTest {
+
+    private static final List<ReportColumn> COLUMNS = List.of(
+        ReportColumn.text("name", "이름"),
+        ReportColumn.number("amount", "금액, KRW"),
+        ReportColumn.dateTime("createdAt", "생성 \"일시\""),
+        ReportColumn.text("status", "상태"));
+
+    private enum Status { DELIVERED }
+
+    @Test
+    @DisplayName("CSV - BOM, CRLF, 구분자/따옴표/줄바꿈 인용, 값 형식")
+    void csvFormatsAndQuotes() throws Exception {
+        String csv = csv(COLUMNS,
+            new Object[]{"홍길동", new BigDecimal("1234567890.50"), LocalDateTime.of(2024, 3, 1, 9, 5, 7), Status.DELIVERED},
+            new Object[]{"a,b", -3L, LocalDate.of(2024, 3, 1), "say \"hi\""},
+            new Object[]{"line1\nline2", null, null, null},
+            new Object[]{"", new BigDecimal("1E+3"), null, "cr\rlf"});
+
+        assertTrue(csv.startsWith("\uFEFF"));
+        assertEquals(List.of(
+            "이름,\"금액, KRW\",\"생성 \"\"일시\"\"\",상태",
+            "홍길동,1234567890.50,2024-03-01 09:05:07,DELIVERED",
+            "\"a,b\",-3,2024-03-01,\"say \"\"hi\"\"\"",
+            "\"line1\nline2\",,,",
+            ",1000,,\"cr\rlf\"",
+            ""), List.of(csv.substring(1).split("\r\n", -1)));
+    }
+
+    @Test
+    @DisplayName("CSV - 수식으로 시작하는 텍스트 컬럼 값만 ' 를 붙임")
+    void csvNeutralizesFormulasInTextColumns() throws Exception {
+        String csv = csv(List.of(ReportColumn.text("memo", "메모"), ReportColumn.number("delta", "증감")),
+            new Object[]{"=HYPERLINK(\"http://x\")", new BigDecimal("-5")},
+            new Object[]{"+82-10", "-5"},
+            new Object[]{"@SUM(A1)", null},
+            new Object[]{"-", null},
+            new Object[]{"a=b", null});
+
+        String[] lines = csv.substring(1).split("\r\n");
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\")\",-5", lines[1]);
+        assertEquals("'+82-10,-5", lines[2]);
+        assertEquals("'@SUM(A1),", lines[3]);
+        assertEquals("'-,", lines[4]);
+        assertEquals("a=b,", lines[5]);
+    }
+
+    @Test
+    @DisplayName("XLSX - 패키지 파트 구성, 고정 헤더, 셀 타입과 날짜 일련값")
+    void xlsxPackageAndCells() throws Exception {
+        Map<String, byte[]> parts = xlsx("주문 요약", 100, COLUMNS,
+            new Object[]{"<A&B> \"q\"\u0001", new BigDecimal("12.50"), LocalDateTime.of(2024, 1, 1, 12, 0), Status.DELIVERED},
+            new Object[]{null, 7, LocalDate.of(2024, 1, 1), true},
+            new Object[]{"  lead", Double.NaN, null, false});
+
+        assertEquals(List.of("xl/worksheets/sheet1.xml", "xl/styles.xml", "xl/workbook.xml",
+            "xl/_rels/workbook.xml.rels", "_rels/.rels", "[Content_Types].xml"), List.copyOf(parts.keySet()));
+        for (byte[] part : parts.values()) {
+            parse(part);
+        }
+
+        Document sheet = parse(parts.get("xl/worksheets/sheet1.xml"));
+        assertEquals("frozen", ((Element) sheet.getElementsByTagName("pane").item(0)).getAttribute("state"));
+        List<List<Element>> rows = rows(sheet);
+        assertEquals(4, rows.size());
+        assertEquals(List.of("이름", "금액, KRW", "생성 \"일시\"", "상태"), rows.get(0).stream().map(ReportWritersTest::text).toList());
+        assertEquals("2", rows.get(0).get(0).getAttribute("s"));
+
+        List<Element> first = rows.get(1);
+        assertEquals("<A&B> \"q\"", text(first.get(0)));
+        assertEquals("12.50", value(first.get(1)));
+        assertEquals("45292.5", value(first.get(2)));
+        assertEquals("1", first.get(2).getAttribute("s"));
+        assertEquals("DELIVERED", text(first.get(3)));
+
+        List<Element> second = rows.get(2);
+        assertFalse(second.get(0).hasChildNodes());
+        assertEquals("7", value(second.get(1)));
+        assertEquals("45292", value(second.get(2)));
+        assertEquals("3", second.get(2).getAttribute("s"));
+        assertEquals("b", second.get(3).getAttribute("t"));
+        assertEquals("1", value(second.get(3)));
+
+        List<Element> third = rows.get(3);
+        assertEquals("  lead", text(third.get(0)));
+        assertEquals("NaN", text(third.get(1)));
+        assertEquals("0", value(third.get(3)));
+
+        Element sheetEntry = (Element) parse(parts.get("xl/workbook.xml")).getElementsByTagName("sheet").item(0);
+        assertEquals("주문 요약", sheetEntry.getAttribute("name"));
+    }
+
+    @Test
+    @DisplayName("XLSX - 시트 최대 행을 넘으면 헤더를 반복한 새 시트, 시트 이름 정리")
+    void xlsxRollsOverToNewSheet() throws Exception {
+        Object[][] values = new Object[5][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new Object[]{"row-" + i, i, null, null};
+        }
+        Map<String, byte[]> parts = xlsx("Orders: 2024/10 [all] overflowing name", 3, COLUMNS, values);
+
+        List<String> dataRows = new ArrayList<>();
+        for (int sheet = 1; sheet <= 3; sheet++) {
+            List<List<Element>> rows = rows(parse(parts.get("xl/worksheets/sheet" + sheet + ".xml")));
+            assertEquals("이름", text(rows.get(0).get(0)));
+            assertTrue(rows.size() <= 3);
+            rows.subList(1, rows.size()).forEach(row -> dataRows.add(text(row.get(0))));
+        }
+        assertNull(parts.get("xl/worksheets/sheet4.xml"));
+        assertEquals(List.of("row-0", "row-1", "row-2", "row-3", "row-4"), dataRows);
+
+        // 금지 문자는 공백으로, 번호를 붙일 때는 " (n)" 이 31자 안에 들어가도록 26자로 자름
+        NodeList sheets = parse(parts.get("xl/workbook.xml")).getElementsByTagName("sheet");
+        assertEquals(3, sheets.getLength());
+        assertEquals("Orders  2024 10  all  over (1)", ((Element) sheets.item(0)).getAttribute("name"));
+        assertEquals("Orders  2024 10  all  over (3)", ((Element) sheets.item(2)).getAttribute("name"));
+        String contentTypes = new String(parts.get("[Content_Types].xml"), StandardCharsets.UTF_8);
+        assertTrue(contentTypes.contains("/xl/worksheets/sheet3.xml"));
+        String rels = new String(parts.get("xl/_rels/workbook.xml.rels"), StandardCharsets.UTF_8);
+        assertTrue(rels.contains("Id=\"rId4\"") && rels.contains("styles.xml"));
+    }
+
+    private static String csv(List<ReportColumn> columns, Object[]... rows) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvReportWriter writer = new CsvReportWriter(out);
+        writer.writeHeader(columns);
+        for (Object[] row : rows) {
+            writer.writeRow(row);
+        }
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, byte[]> xlsx(String sheetName, int maxRowsPerSheet, List<ReportColumn> columns,
+                                            Object[]... rows) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XlsxReportWriter writer = new XlsxReportWriter(out, sheetName, maxRowsPerSheet);
+        writer.writeHeader(columns);
+        for (Object[] row : rows) {
+            writer.writeRow(row);
+        }
+        writer.finish();
+
+        Map<String, byte[]> parts = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                parts.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return parts;
+    }
+
+    private static Document parse(byte[] xml) throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+    }
+
+    private static List<List<Element>> rows(Document sheet) {
+        List<List<Element>> rows = new ArrayList<>();
+        NodeList rowNodes = sheet.getElementsByTagName("row");
+        for (int i = 0; i < rowNodes.getLength(); i++) {
+            Element row = (Element) rowNodes.item(i);
+            assertEquals(Integer.toString(i + 1), row.getAttribute("r"));
+            List<Element> cells = new ArrayList<>();
+            NodeList cellNodes = row.getElementsByTagName("c");
+            for (int j = 0; j < cellNodes.getLength(); j++) {
+                cells.add((Element) cellNodes.item(j));
+            }
+            rows.add(cells);
+        }
+        return rows;
+    }
+
+    private static String text(Element cell) {
+        assertEquals("inlineStr", cell.getAttribute("t"));
+        return cell.getElementsByTagName("t").item(0).getTextContent();
+    }
+
+    private static String value(Element cell) {
+        return cell.getElementsByTagName("v").item(0).getTextContent();
+    }
+}
@@ -0,0 +1,177 @@
+package com.ysc.lms.rules;
+
+import com.ysc.lms.rules.BusinessRuleEngine.ConditionType;
+import com.ysc.lms.rules.BusinessRuleEngine.RuleCondition;
+import com.ysc.lms.rules.BusinessRuleEngine.RuleContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SCRIPT 조건 컴파일러(RuleScriptCompiler)와 조건 트리 컴파일러(RuleConditionCompiler) 테스트
+ * 연산자 우선순위, 숫자 타입 간 비교, null 처리, 파싱 오류를 확인합니다
+ */
+class RuleCompilerTest {
+
+    @Test
+    @DisplayName("연산자 우선순위 - 곱셈 > 덧셈 > 비교 > not > and > or")
+    void scriptOperatorPrecedence() {
+        Map<String, Object> data = Map.of("a", 1L, "b", 2L);
+
+        assertTrue(script("1 + 2 * 3 == 7", data));
+        assertTrue(script("(1 + 2) * 3 == 9", data));
+        assertTrue(script("10 - 4 - 3 == 3", data));
+        assertTrue(script("-a * 2 == -2", data));
+        assertTrue(script("true or false and false", data));
+        assertFalse(script("(true or false) and false", data));
+        assertTrue(script("not a == 2 and b == 2", data));
+        assertFalse(script("not (a == 1 || b == 3)", data));
+        assertTrue(script("!false && a < b", data));
+    }
+
+    @Test
+    @DisplayName("숫자 타입 간 비교/연산 - long, BigDecimal, double")
+    void scriptNumericCoercion() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("cbm", new BigDecimal("10.00"));
+        data.put("weight", 2.5d);
+        data.put("qty", 3);
+        data.put("name", "Box");
+
+        assertTrue(script("cbm == 10", data));
+        assertTrue(script("cbm >= 10.0 and cbm < 10.01", data));
+        assertTrue(script("weight * 2 == 5", data));
+        assertTrue(script("qty * cbm == 30", data));
+        assertTrue(script("5 / 2 == 2.5", data));
+        assertTrue(script("7 % qty == 1", data));
+        assertTrue(script("name + qty == 'Box3'", data));
+        assertTrue(script("abs(-qty) == 3 and max(qty, weight) == 3 and min(cbm, weight) == 2.5", data));
+        assertTrue(script("upper(name) == \"BOX\" and length(name) == 3 and startsWith(lower(name), 'b')", data));
+        assertThrows(IllegalArgumentException.class, () -> script("name > 1", data));
+        assertThrows(IllegalArgumentException.class, () -> script("name * 2 == 0", data));
+    }
+
+    @Test
+    @DisplayName("null 처리 - 없는 키는 null, 순서 비교는 false, 산술은 null 전파")
+    void scriptNullHandling() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("empty", "  ");
+        data.put("nothing", null);
+
+        assertTrue(script("missing == null", data));
+        assertTrue(script("nothing == missing", data));
+        assertFalse(script("missing > 1", data));
+        assertFalse(script("missing <= 1", data));
+        assertFalse(script("missing < missing", data));
+        assertTrue(script("missing + 1 == null", data));
+        assertTrue(script("isBlank(empty) and isBlank(missing) and not contains(missing, 'x')", data));
+        assertTrue(script("max(missing, 4) == 4", data));
+        assertFalse(script("missing", data));
+        assertTrue(script("data.nothing == null and context.entityType == 'ORDER'", data));
+        assertFalse(RuleScriptCompiler.compile("a == 1").test(RuleContext.builder().build()));
+    }
+
+    @Test
+    @DisplayName("문법 오류는 컴파일 시점에 IllegalArgumentException")
+    void scriptParseErrors() {
+        for (String invalid : List.of("1 +", "(1 == 1", "1 == 1)", "'open", "a # b", "unknown(1)",
+                "length(a, b)", "a == == b", "")) {
+            assertThrows(IllegalArgumentException.class, () -> RuleScriptCompiler.compile(invalid), invalid);
+        }
+
+        assertThrows(IllegalArgumentException.class,
+            () -> RuleScriptCompiler.compile("1 == 1" + " ".repeat(RuleScriptCompiler.MAX_SCRIPT_LENGTH)));
+        assertThrows(IllegalArgumentException.class,
+            () -> RuleScriptCompiler.compile("(".repeat(40) + "1" + ")".repeat(40) + " == 1"));
+        assertDoesNotThrow(() -> RuleScriptCompiler.compile("(".repeat(10) + "1" + ")".repeat(10) + " == 1"));
+    }
+
+    @Test
+    @DisplayName("SIMPLE 조건 - null 은 EQUALS 만 양쪽 null, NOT_EQUALS 만 한쪽 null 통과")
+    void simpleConditionNullSemantics() {
+        RuleContext withNull = context(new HashMap<>());
+        RuleContext withValue = context(Map.of("memberCode", "KP001"));
+
+        assertTrue(simple("data.memberCode", "EQUALS", null).test(withNull));
+        assertFalse(simple("data.memberCode", "NOT_EQUALS", null).test(withNull));
+        assertTrue(simple("data.memberCode", "NOT_EQUALS", null).test(withValue));
+        assertFalse(simple("data.memberCode", "GREATER_THAN", null).test(withNull));
+
+        assertFalse(simple("data.memberCode", "EQUALS", "KP001").test(withNull));
+        assertTrue(simple("data.memberCode", "NOT_EQUALS", "KP001").test(withNull));
+        assertFalse(simple("data.memberCode", "STARTS_WITH", "KP").test(withNull));
+        assertTrue(simple("data.memberCode", "STARTS_WITH", "KP").test(withValue));
+        assertTrue(simple("data.memberCode", "ENDS_WITH", "001").test(withValue));
+        assertTrue(simple("context.unknownField", "EQUALS", null).test(withValue));
+    }
+
+    @Test
+    @DisplayName("SIMPLE 숫자 비교 - 기대값 타입과 무관하게 값으로 비교")
+    void simpleConditionNumericComparison() {
+        RuleContext context = context(Map.of("totalCbm", new BigDecimal("29.5"), "boxes", 3L, "label", "x"));
+
+        assertTrue(simple("data.totalCbm", "GREATER_THAN", 29).test(context));
+        assertTrue(simple("data.totalCbm", "LESS_THAN_OR_EQUAL", 29.5d).test(context));
+        assertFalse(simple("data.totalCbm", "GREATER_THAN_OR_EQUAL", new BigDecimal("29.50001")).test(context));
+        assertTrue(simple("data.boxes", "GREATER_THAN_OR_EQUAL", 3).test(context));
+        assertTrue(simple("data.boxes", "LESS_THAN", 3.5d).test(context));
+
+        assertThrows(IllegalArgumentException.class, () -> simple("data.boxes", "GREATER_THAN", "3"));
+        Exception nonNumeric = assertThrows(IllegalArgumentException.class,
+            () -> simple("data.label", "GREATER_THAN", 1).test(context));
+        assertEquals("Cannot compare non-numeric values", nonNumeric.getMessage());
+    }
+
+    @Test
+    @DisplayName("COMPOSITE/SCRIPT 조건 조합과 컴파일 시점 검증")
+    void compositeConditions() {
+        RuleContext context = context(Map.of("totalCbm", 35L, "shippingType", "SEA"));
+        RuleCondition overCbm = condition("data.totalCbm", "GREATER_THAN", 29L);
+        RuleCondition air = condition("data.shippingType", "EQUALS", "AIR");
+        RuleCondition script = RuleCondition.builder().type(ConditionType.SCRIPT)
+            .script("totalCbm > 29 and shippingType == 'SEA'").build();
+
+        assertFalse(RuleConditionCompiler.compile(composite("AND", overCbm, air)).test(context));
+        assertTrue(RuleConditionCompiler.compile(composite("OR", overCbm, air)).test(context));
+        assertTrue(RuleConditionCompiler.compile(composite("AND", overCbm, script)).test(context));
+        assertTrue(RuleConditionCompiler.compile(composite("AND")).test(context));
+        assertFalse(RuleConditionCompiler.compile(composite("OR")).test(context));
+
+        assertThrows(UnsupportedOperationException.class,
+            () -> RuleConditionCompiler.compile(composite("XOR", overCbm)));
+        assertThrows(UnsupportedOperationException.class,
+            () -> RuleConditionCompiler.compile(condition("data.totalCbm", "MATCHES", null)));
+        assertThrows(IllegalArgumentException.class,
+            () -> RuleConditionCompiler.compile(RuleCondition.builder().build()));
+        assertThrows(IllegalArgumentException.class,
+            () -> RuleConditionCompiler.compile(RuleCondition.builder().type(ConditionType.SCRIPT).script("1 +").build()));
+    }
+
+    private static boolean script(String source, Map<String, Object> data) {
+        return RuleScriptCompiler.compile(source).test(context(data));
+    }
+
+    private static Predicate<RuleContext> simple(String field, String operator, Object value) {
+        return RuleConditionCompiler.compile(condition(field, operator, value));
+    }
+
+    private static RuleCondition condition(String field, String operator, Object value) {
+        return RuleCondition.builder().type(ConditionType.SIMPLE).field(field).operator(operator).value(value).build();
+    }
+
+    private static RuleCondition composite(String logicalOperator, RuleCondition... subConditions) {
+        return RuleCondition.builder().type(ConditionType.COMPOSITE).logicalOperator(logicalOperator)
+            .subConditions(List.of(subConditions)).build();
+    }
+
+    private static RuleContext context(Map<String, Object> data) {
+        return RuleContext.builder().entityType("ORDER").entityId("1").data(data).build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.ysc.lms.scan;
+
+import com.ysc.lms.YscLmsApplication;
+import com.ysc.lms.entity.Order;
+import com.ysc.lms.entity.ScanEvent;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.repository.OrderRepository;
+import com.ysc.lms.repository.ScanEventRepository;
+import com.ysc.lms.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 같은 주문을 담은 스캔 배치가 두 샤드에서 동시에 반영될 때 입고 전환이 한 번만 일어나는지 확인
+ * H2(MySQL 모드)에서 실제 SELECT ... FOR UPDATE 로 실행하며, 각 배치는 자기 트랜잭션에서 커밋됩니다
+ */
+@SpringBootTest(classes = YscLmsApplication.class)
+@ActiveProfiles("test")
+class ScanBatchWriterConcurrencyTest {
+
+    private static final int ORDERS = 20;
+
+    @Autowired
+    private ScanBatchWriter scanBatchWriter;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ScanEventRepository scanEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private final List<Order> orders = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("scan-concurrency@example.com");
+        user.setPassword("password");
+        user.setName("스캔동시성");
+        user.setUserType(User.UserType.GENERAL);
+        user = userRepository.saveAndFlush(user);
+
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setOrderNumber("SCANLOCK" + i);
+            order.setUserId(user.getId());
+            order.setStatus(Order.OrderStatus.ARRIVED);
+            order.setShippingType(Order.ShippingType.SEA);
+            order.setCountry("TH");
+            order.setRecipientName("수취인");
+            orders.add(orderRepository.saveAndFlush(order));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        scanEventRepository.deleteAllInBatch(scanEventRepository.findAll().stream()
+            .filter(event -> event.getScanCode().startsWith("SCANLOCK"))
+            .toList());
+        orderRepository.deleteAllInBatch(orders);
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("두 샤드가 같은 주문들을 동시에 입고 스캔 - 주문마다 한 쪽만 반영되고 나머지는 이미 입고로 거부")
+    void appliesInboundOnceAcrossShards() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CyclicBarrier start = new CyclicBarrier(2);
+        try {
+            List<Future<ScanBatchResult>> results = new ArrayList<>();
+            for (String deviceId : List.of("device-a", "device-b")) {
+                List<QueuedScan> batch = inboundBatch(deviceId);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return scanBatchWriter.write(batch);
+                }));
+            }
+
+            int applied = 0;
+            int rejected = 0;
+            int statusChanges = 0;
+            for (Future<ScanBatchResult> result : results) {
+                ScanBatchResult batchResult = result.get(30, TimeUnit.SECONDS);
+                applied += batchResult.getApplied();
+                rejected += batchResult.getRejected();
+                statusChanges += batchResult.getStatusChanges();
+            }
+            assertEquals(ORDERS, applied);
+            assertEquals(ORDERS, rejected);
+            assertEquals(ORDERS, statusChanges);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Order order : orders) {
+            assertEquals(Order.OrderStatus.IN_WAREHOUSE, orderRepository.findById(order.getId()).orElseThrow().getStatus());
+        }
+        List<ScanEvent> events = scanEventRepository.findAll().stream()
+            .filter(event -> event.getScanCode().startsWith("SCANLOCK"))
+            .toList();
+        assertEquals(ORDERS * 2, events.size());
+        assertEquals(ORDERS, events.stream().filter(event -> Boolean.TRUE.equals(event.getProcessed())).count());
+        assertTrue(events.stream()
+            .filter(event -> !Boolean.TRUE.equals(event.getProcessed()))
+            .allMatch(event -> "이미 입고 처리된 주문입니다".equals(event.getNotes())));
+    }
+
+    private List<QueuedScan> inboundBatch(String deviceId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<QueuedScan> batch = new ArrayList<>();
+        for (Order order : orders) {
+            batch.add(new QueuedScan(deviceId, deviceId + ":" + order.getOrderNumber(), order.getOrderNumber(),
+                ScanEvent.ScanType.INBOUND, "A-01-01", "tester", null, now, now, System.nanoTime()));
+        }
+        return batch;
+    }
+}
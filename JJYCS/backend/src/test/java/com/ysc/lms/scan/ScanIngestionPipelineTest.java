@@ -0,0 +1,133 @@
+package com.ysc.lms.scan;
+
+import com.ysc.lms.dto.warehouse.ScanBatchRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 스캔 수집 파이프라인 접수 검증과 반영 실패 격리 테스트
+ * DB 반영은 스캔 코드가 BAD 로 시작하는 스캔이 섞인 배치를 통째로 실패시키는 메모리 writer 로 대체합니다
+ */
+class ScanIngestionPipelineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> writtenKeys = Collections.synchronizedList(new ArrayList<>());
+
+    private final ScanBatchWriter writer = new ScanBatchWriter(null, null, null, null, null) {
+        @Override
+        public ScanBatchResult write(List<QueuedScan> scans) {
+            synchronized (writtenKeys) {
+                for (QueuedScan scan : scans) {
+                    if (scan.getScanCode().startsWith("BAD")) {
+                        throw new IllegalStateException("Data too long for column 'scan_code'");
+                    }
+                }
+                scans.forEach(scan -> writtenKeys.add(scan.getIdempotencyKey()));
+                return new ScanBatchResult(scans.size(), 0, 0, 0);
+            }
+        }
+    };
+    private final ScanIngestionPipeline pipeline = new ScanIngestionPipeline(writer, meterRegistry,
+        1, 100, 100, 20, 2, 0, 1000, 1);
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    @DisplayName("컬럼 길이를 넘는 단말기ID/스캔ID/메모/위치는 접수 시점에 거절")
+    void rejectsOversizedFields() {
+        assertThrows(IllegalArgumentException.class,
+            () -> pipeline.submit(request("d".repeat(65), scan("s-1", "ORD-1")), "worker"));
+
+        String maxScanId = "s".repeat(ScanIngestionPipeline.MAX_IDEMPOTENCY_KEY_LENGTH - "device-1:".length());
+        assertThrows(IllegalArgumentException.class,
+            () -> pipeline.submit(request("device-1", scan(maxScanId + "s", "ORD-1")), "worker"));
+
+        ScanBatchRequest.ScanItem longNotes = scan("s-2", "ORD-1");
+        longNotes.setNotes("n".repeat(256));
+        assertThrows(IllegalArgumentException.class, () -> pipeline.submit(request("device-1", longNotes), "worker"));
+
+        ScanBatchRequest longLocation = request("device-1", scan("s-3", "ORD-1"));
+        longLocation.setLocation("L".repeat(256));
+        assertThrows(IllegalArgumentException.class, () -> pipeline.submit(longLocation, "worker"));
+
+        // 거절된 배치는 아무것도 접수되지 않았고, 길이 상한 그대로인 값은 접수
+        assertEquals(0, pipeline.queueDepth());
+        assertEquals(1, pipeline.submit(request("d".repeat(64), scan("s-4", "ORD-1")), "worker").getAccepted());
+        assertEquals(1, pipeline.submit(request("device-1", scan(maxScanId, "ORD-1")), "worker").getAccepted());
+    }
+
+    @Test
+    @DisplayName("반영 실패 배치는 나눠서 다시 쓰고 문제 스캔만 버리며, 버린 스캔은 재전송 가능")
+    void isolatesFailingScan() throws InterruptedException {
+        List<ScanBatchRequest.ScanItem> scans = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            scans.add(scan("s-" + i, i == 5 ? "BAD-5" : "ORD-" + i));
+        }
+        ScanBatchRequest request = request("device-7", scans.toArray(new ScanBatchRequest.ScanItem[0]));
+
+        assertEquals(8, pipeline.submit(request, "worker").getAccepted());
+        awaitWritten(7);
+        awaitFailed(1);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            if (i != 5) {
+                expected.add("device-7:s-" + i);
+            }
+        }
+        assertEquals(expected, writtenKeys);
+
+        // 버린 스캔의 멱등 키는 풀려 있으므로 같은 scanId 재전송을 다시 접수
+        ScanSubmitResult resent = pipeline.submit(request("device-7", scan("s-5", "BAD-5"), scan("s-4", "ORD-4")), "worker");
+        assertEquals(1, resent.getAccepted());
+        assertEquals(1, resent.getDuplicates());
+    }
+
+    private void awaitWritten(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writtenKeys.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, writtenKeys.size());
+    }
+
+    private void awaitFailed(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (failedCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, failedCount());
+    }
+
+    private double failedCount() {
+        return meterRegistry.get("lms.scan.ingest.written").tag("result", "failed").counter().count();
+    }
+
+    private static ScanBatchRequest request(String deviceId, ScanBatchRequest.ScanItem... scans) {
+        ScanBatchRequest request = new ScanBatchRequest();
+        request.setDeviceId(deviceId);
+        request.setLocation("A-01");
+        request.setScans(List.of(scans));
+        return request;
+    }
+
+    private static ScanBatchRequest.ScanItem scan(String scanId, String scanCode) {
+        ScanBatchRequest.ScanItem item = new ScanBatchRequest.ScanItem();
+        item.setScanId(scanId);
+        item.setScanCode(scanCode);
+        item.setScanType("INBOUND");
+        return item;
+    }
+}
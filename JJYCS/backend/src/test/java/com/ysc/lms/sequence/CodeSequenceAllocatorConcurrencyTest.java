@@ -0,0 +1,178 @@
+package com.ysc.lms.sequence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CodeSequenceAllocator 동시성 테스트
+ * DB 예약은 왕복 지연을 흉내내는 메모리 저장소로 대체하여 1/8/64 스레드에서 중복 여부와 예약 횟수를 확인합니다
+ */
+class CodeSequenceAllocatorConcurrencyTest {
+
+    private static final int CODES_PER_THREAD = 20_000;
+    private static final String[] PREFIXES = {"ORDER:AKP001", "ORDER:MKP001", "ORDER:RAKC002", "MEMBER:KP"};
+
+    /**
+     * code_sequences 테이블 대역 - 예약마다 DB 왕복(행 잠금 + UPDATE) 비용을 흉내냄
+     */
+    static class InMemoryReserver implements CodeBlockReserver {
+        private final Map<String, Long> highWaterMarks = new HashMap<>();
+        private final AtomicInteger reservations = new AtomicInteger();
+        private final long roundTripNanos;
+
+        InMemoryReserver(long roundTripNanos) {
+            this.roundTripNanos = roundTripNanos;
+        }
+
+        @Override
+        public synchronized CodeBlock reserve(String prefix, int size, LongSupplier seed) {
+            reservations.incrementAndGet();
+            long start = highWaterMarks.computeIfAbsent(prefix, p -> seed.getAsLong() + 1);
+            highWaterMarks.put(prefix, start + size);
+            if (roundTripNanos > 0) {
+                long until = System.nanoTime() + roundTripNanos;
+                while (System.nanoTime() < until) {
+                    Thread.onSpinWait();
+                }
+            }
+            return new CodeBlock(start, start + size);
+        }
+
+        @Override
+        public synchronized boolean release(String prefix, long from, long until) {
+            if (highWaterMarks.getOrDefault(prefix, -1L) != until) {
+                return false;
+            }
+            highWaterMarks.put(prefix, from);
+            return true;
+        }
+    }
+
+    @Test
+    @DisplayName("1/8/64 스레드 동시 발급 - 중복 없음, 예약은 블록당 1회")
+    void allocatesWithoutDuplicates() throws Exception {
+        for (int threads : new int[]{1, 8, 64}) {
+            InMemoryReserver reserver = new InMemoryReserver(TimeUnit.MICROSECONDS.toNanos(200));
+            CodeSequenceAllocator allocator = new CodeSequenceAllocator(reserver, 50);
+            Set<String> issued = ConcurrentHashMap.newKeySet();
+            AtomicInteger duplicates = new AtomicInteger();
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(threads);
+            for (int t = 0; t < threads; t++) {
+                final int threadIndex = t;
+                executor.submit(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < CODES_PER_THREAD; i++) {
+                            String prefix = PREFIXES[(threadIndex + i) % PREFIXES.length];
+                            long sequence = allocator.next(prefix, () -> 0L);
+                            if (!issued.add(prefix + "#" + sequence)) {
+                                duplicates.incrementAndGet();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+
+            start.countDown();
+            assertTrue(done.await(2, TimeUnit.MINUTES), "allocation did not finish in time");
+            executor.shutdownNow();
+
+            int total = threads * CODES_PER_THREAD;
+            assertEquals(0, duplicates.get());
+            assertEquals(total, issued.size());
+            // 스레드 수와 무관하게 prefix 마다 발급 수 / 50 회만 예약
+            assertEquals(total / 50, reserver.reservations.get());
+        }
+    }
+
+    @Test
+    @DisplayName("최초 예약은 기존 데이터 최대 일련번호 다음부터 시작")
+    void startsAfterSeed() {
+        CodeSequenceAllocator allocator = new CodeSequenceAllocator(new InMemoryReserver(0), 50);
+
+        assertEquals(13, allocator.next("MEMBER:KP", () -> 12L));
+        assertEquals(14, allocator.next("MEMBER:KP", () -> 12L));
+        assertEquals(1, allocator.next("MEMBER:TP", () -> 0L));
+    }
+
+    @Test
+    @DisplayName("정상 종료 시 미사용 번호 반납, 비정상 종료 시 공백만 발생")
+    void releasesTailOnShutdownAndLeavesGapOnCrash() {
+        InMemoryReserver reserver = new InMemoryReserver(0);
+
+        CodeSequenceAllocator first = new CodeSequenceAllocator(reserver, 50);
+        first.next("HBL:HBL261017", () -> 0L);
+        first.next("HBL:HBL261017", () -> 0L);
+        first.releaseUnused();
+
+        CodeSequenceAllocator second = new CodeSequenceAllocator(reserver, 50);
+        assertEquals(3, second.next("HBL:HBL261017", () -> 0L));
+
+        // 반납 없이 종료(크래시) - 다음 노드는 예약된 블록 이후부터 발급
+        CodeSequenceAllocator third = new CodeSequenceAllocator(reserver, 50);
+        assertEquals(53, third.next("HBL:HBL261017", () -> 0L));
+    }
+
+    @Test
+    @DisplayName("unbuffered 로 지정한 prefix 계열은 블록 크기 1 - 재시작해도 번호 공백 없음")
+    void unbufferedPrefixesLeaveNoGapAcrossRestarts() {
+        InMemoryReserver reserver = new InMemoryReserver(0);
+        String[] unbuffered = {"ORDER", "HBL"};
+
+        CodeSequenceAllocator first = new CodeSequenceAllocator(reserver, 50, unbuffered);
+        assertEquals(1, first.getBlockSizeFor("ORDER:AKP001"));
+        assertEquals(50, first.getBlockSizeFor("MEMBER:KP"));
+        assertEquals(1, first.next("ORDER:AKP001", () -> 0L));
+        assertEquals(2, first.next("ORDER:AKP001", () -> 0L));
+        assertArrayEquals(new long[]{3, 4, 5}, first.next("ORDER:AKP001", 3, () -> 0L));
+        assertEquals(0, first.getCachedBlockCount());
+
+        // 반납 없이 종료해도 다음 노드는 바로 이어서 발급
+        CodeSequenceAllocator second = new CodeSequenceAllocator(reserver, 50, unbuffered);
+        assertEquals(6, second.next("ORDER:AKP001", () -> 0L));
+        assertEquals(1, second.next("HBL:HBL261017", () -> 0L));
+    }
+
+    @Test
+    @DisplayName("한 주기 동안 쓰이지 않은 prefix 블록은 반납 후 제거")
+    void evictsIdlePrefixBlocks() {
+        InMemoryReserver reserver = new InMemoryReserver(0);
+        CodeSequenceAllocator allocator = new CodeSequenceAllocator(reserver, 50);
+
+        allocator.next("HBL:HBL261016", () -> 0L);
+        allocator.next("HBL:HBL261017", () -> 0L);
+        assertEquals(2, allocator.getCachedBlockCount());
+
+        // 직전 주기에 사용된 prefix 는 유지
+        allocator.evictIdle();
+        assertEquals(2, allocator.getCachedBlockCount());
+
+        allocator.next("HBL:HBL261017", () -> 0L);
+        allocator.evictIdle();
+        assertEquals(1, allocator.getCachedBlockCount());
+
+        // 지난 날짜 prefix 의 미사용 꼬리는 반납되어 같은 prefix 재사용 시 이어서 발급
+        assertEquals(2, allocator.next("HBL:HBL261016", () -> 0L));
+        assertEquals(3, allocator.next("HBL:HBL261017", () -> 0L));
+    }
+}
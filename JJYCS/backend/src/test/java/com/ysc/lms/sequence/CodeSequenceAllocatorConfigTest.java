@@ -0,0 +1,69 @@
+package com.ysc.lms.sequence;
+
+import com.ysc.lms.YscLmsApplication;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.service.CodeGenerationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * application.yml 설정으로 만들어진 CodeSequenceAllocator 빈 테스트 (H2)
+ * 주문/HBL 은 블록 예약, unbuffered-prefixes 로 지정한 회원코드만 코드마다 예약하는지 code_sequences 로 확인합니다
+ */
+@SpringBootTest(classes = YscLmsApplication.class)
+@ActiveProfiles("test")
+class CodeSequenceAllocatorConfigTest {
+
+    @Autowired
+    private CodeSequenceAllocator allocator;
+
+    @Autowired
+    private CodeGenerationService codeGenerationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("설정된 빈 - 주문/HBL prefix 는 블록 크기 50, 회원코드만 블록 크기 1")
+    void configuredBlockSizes() {
+        assertEquals(50, allocator.getBlockSize());
+        assertEquals(50, allocator.getBlockSizeFor("ORDER:AKP001"));
+        assertEquals(50, allocator.getBlockSizeFor("HBL:HBL261017"));
+        assertEquals(1, allocator.getBlockSizeFor("MEMBER:KP"));
+    }
+
+    @Test
+    @DisplayName("주문코드 여러 건은 블록 1회 예약으로 발급")
+    void orderCodesShareOneReservation() {
+        String memberCode = "KP" + UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+
+        assertEquals("A" + memberCode + "001", codeGenerationService.generateOrderCode("air", false, memberCode));
+        assertEquals("A" + memberCode + "002", codeGenerationService.generateOrderCode("air", false, memberCode));
+        assertEquals(List.of("A" + memberCode + "003", "A" + memberCode + "004"),
+            codeGenerationService.generateOrderCodes("air", false, memberCode, 2));
+
+        assertEquals(51L, nextValue("ORDER:A" + memberCode));
+    }
+
+    @Test
+    @DisplayName("회원코드는 발급한 만큼만 예약 - 다음 번호가 항상 마지막 발급 번호 + 1")
+    void memberCodesReserveOnlyWhatIsIssued() {
+        for (int i = 0; i < 2; i++) {
+            String memberCode = codeGenerationService.generateMemberCode("KOREA", User.UserType.CORPORATE);
+            assertEquals(Long.parseLong(memberCode.substring(2)) + 1, nextValue("MEMBER:KC"));
+        }
+    }
+
+    private long nextValue(String prefix) {
+        return jdbcTemplate.queryForObject("SELECT next_value FROM code_sequences WHERE prefix = ?", Long.class, prefix);
+    }
+}
@@ -0,0 +1,121 @@
+package com.ysc.lms.service;
+
+import com.ysc.lms.YscLmsApplication;
+import com.ysc.lms.dto.BulkOrderResult;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.repository.OrderRepository;
+import com.ysc.lms.repository.UserRepository;
+import com.ysc.lms.service.OrderService.CreateOrderRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 대량 주문 생성 처리량 벤치마크 (orders/sec)
+ * 단건 경로(OrderService.createOrder 반복 호출)와 BulkOrderService 를 같은 요청으로 비교합니다
+ * 실행: mvn test -Dtest=BulkOrderBenchmarkTest -Dbenchmark=true [-Dbenchmark.orders=2000]
+ */
+@SpringBootTest(classes = YscLmsApplication.class)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BulkOrderBenchmarkTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("주문 N건 - 단건 경로 대비 orders/sec")
+    void compareOrdersPerSecond() {
+        int orders = Integer.getInteger("benchmark.orders", 2_000);
+
+        User singleUser = createUser("bench-single-order@ysc.test", "BS001");
+        User bulkUser = createUser("bench-bulk-order@ysc.test", "BB001");
+
+        long singleStart = System.nanoTime();
+        for (CreateOrderRequest request : generateRequests(singleUser, orders)) {
+            orderService.createOrder(request);
+        }
+        long singleNanos = System.nanoTime() - singleStart;
+
+        long bulkStart = System.nanoTime();
+        BulkOrderResult result = bulkOrderService.createOrders(generateRequests(bulkUser, orders));
+        long bulkNanos = System.nanoTime() - bulkStart;
+
+        double singleRate = orders / (singleNanos / 1e9);
+        double bulkRate = orders / (bulkNanos / 1e9);
+        System.out.printf("[benchmark] orders=%d single: %.0f orders/sec (%d ms), bulk: %.0f orders/sec (%d ms), x%.1f%n",
+            orders, singleRate, singleNanos / 1_000_000, bulkRate, bulkNanos / 1_000_000, bulkRate / singleRate);
+
+        assertEquals(orders, result.getSucceeded());
+        assertEquals(orders, orderRepository.findByUserId(bulkUser.getId(), Pageable.unpaged()).getTotalElements());
+        assertTrue(bulkRate >= singleRate * 10, "bulk path should be at least 10x faster");
+    }
+
+    private List<CreateOrderRequest> generateRequests(User user, int count) {
+        List<CreateOrderRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CreateOrderRequest request = new CreateOrderRequest();
+            request.setUserId(user.getId());
+            request.setShippingType(i % 2 == 0 ? "SEA" : "AIR");
+            request.setCountry("TH");
+            request.setRecipientName("Recipient " + i);
+            request.setRecipientAddress("Bangkok " + i);
+
+            List<CreateOrderRequest.OrderItemRequest> items = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                CreateOrderRequest.OrderItemRequest item = new CreateOrderRequest.OrderItemRequest();
+                item.setDescription("Item " + i + "-" + j);
+                item.setQuantity(2);
+                item.setWeight(new BigDecimal("0.5"));
+                item.setUnitPrice(new BigDecimal("120"));
+                items.add(item);
+            }
+            request.setOrderItems(items);
+
+            CreateOrderRequest.OrderBoxRequest box = new CreateOrderRequest.OrderBoxRequest();
+            box.setWidthCm(new BigDecimal("40"));
+            box.setHeightCm(new BigDecimal("30"));
+            box.setDepthCm(new BigDecimal("20"));
+            box.setWeightKg(new BigDecimal("3"));
+            request.setOrderBoxes(List.of(box));
+
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    private User createUser(String email, String memberCode) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("benchmark");
+        user.setName("Benchmark");
+        user.setUserType(User.UserType.CORPORATE);
+        user.setStatus(User.UserStatus.ACTIVE);
+        user.setMemberCode(memberCode);
+        user.setEmailVerified(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+}
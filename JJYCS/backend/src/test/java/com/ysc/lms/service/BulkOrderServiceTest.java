@@ -0,0 +1,109 @@
+package com.ysc.lms.service;
+
+import com.ysc.lms.YscLmsApplication;
+import com.ysc.lms.dto.BulkOrderResult;
+import com.ysc.lms.entity.OrderBox;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.repository.UserRepository;
+import com.ysc.lms.service.OrderService.CreateOrderRequest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 대량 주문 생성 저장 결과 테스트
+ * JDBC 배치 INSERT 경로가 엔티티 콜백(@PrePersist) 없이도 같은 값을 저장하는지 확인합니다
+ */
+@SpringBootTest(classes = YscLmsApplication.class)
+@ActiveProfiles("test")
+class BulkOrderServiceTest {
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("박스 CBM 은 가로×세로×높이 기준으로 계산되어 저장")
+    void persistsBoxCbm() {
+        User user = createUser("bulk-order-cbm@ysc.test", "BC001");
+
+        BulkOrderResult result = bulkOrderService.createOrders(List.of(
+            request(user, box("40", "30", "20")),
+            request(user, box("55.5", "35", "12"), box("10", "10", "10"))));
+
+        assertEquals(2, result.getSucceeded());
+        List<Long> orderIds = new ArrayList<>();
+        for (BulkOrderResult.Entry entry : result.getResults()) {
+            assertTrue(entry.isSuccess(), entry.getError());
+            orderIds.add(entry.getOrderId());
+        }
+
+        List<OrderBox> boxes = entityManager.createQuery(
+                "SELECT b FROM OrderBox b WHERE b.order.id IN :orderIds ORDER BY b.order.id, b.boxNumber", OrderBox.class)
+            .setParameter("orderIds", orderIds)
+            .getResultList();
+
+        assertEquals(3, boxes.size());
+        assertEquals(0, new BigDecimal("0.024000").compareTo(boxes.get(0).getCbm()));
+        assertEquals(0, new BigDecimal("0.023310").compareTo(boxes.get(1).getCbm()));
+        assertEquals(0, new BigDecimal("0.001000").compareTo(boxes.get(2).getCbm()));
+        assertEquals(400, boxes.get(0).getWidth());
+        assertEquals(555, boxes.get(1).getWidth());
+    }
+
+    private CreateOrderRequest request(User user, CreateOrderRequest.OrderBoxRequest... boxes) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setUserId(user.getId());
+        request.setShippingType("SEA");
+        request.setCountry("TH");
+        request.setRecipientName("Recipient");
+        request.setRecipientAddress("Bangkok");
+
+        CreateOrderRequest.OrderItemRequest item = new CreateOrderRequest.OrderItemRequest();
+        item.setDescription("Item");
+        item.setQuantity(1);
+        item.setWeight(new BigDecimal("0.5"));
+        item.setUnitPrice(new BigDecimal("120"));
+        request.setOrderItems(List.of(item));
+        request.setOrderBoxes(List.of(boxes));
+        return request;
+    }
+
+    private CreateOrderRequest.OrderBoxRequest box(String widthCm, String heightCm, String depthCm) {
+        CreateOrderRequest.OrderBoxRequest box = new CreateOrderRequest.OrderBoxRequest();
+        box.setWidthCm(new BigDecimal(widthCm));
+        box.setHeightCm(new BigDecimal(heightCm));
+        box.setDepthCm(new BigDecimal(depthCm));
+        box.setWeightKg(new BigDecimal("3"));
+        return box;
+    }
+
+    private User createUser(String email, String memberCode) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setName("Bulk");
+        user.setUserType(User.UserType.CORPORATE);
+        user.setStatus(User.UserStatus.ACTIVE);
+        user.setMemberCode(memberCode);
+        user.setEmailVerified(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+}
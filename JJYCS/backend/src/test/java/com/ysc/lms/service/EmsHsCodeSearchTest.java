@@ -0,0 +1,69 @@
+package com.ysc.lms.service;
+
+import com.ysc.lms.hscode.HsCodeEntry;
+import com.ysc.lms.hscode.HsCodeIndexService;
+import com.ysc.lms.hscode.HsCodeMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * EMS HS 코드 검색 - 오프라인 색인으로 답할 수 있으면 EMS API 를 호출하지 않는지 확인
+ * WebClient 는 mock 이며 호출 여부만 봅니다
+ */
+class EmsHsCodeSearchTest {
+
+    private final WebClient webClient = mock(WebClient.class);
+    private final HsCodeIndexService hsCodeIndexService = mock(HsCodeIndexService.class);
+    private final EmsApiService emsApiService = new EmsApiService(webClient, hsCodeIndexService);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(emsApiService, "emsEnabled", true);
+        ReflectionTestUtils.setField(emsApiService, "emsApiKey", "ems-key");
+    }
+
+    @Test
+    @DisplayName("색인에 결과가 있으면 EMS API 호출 없이 색인 결과 반환")
+    void answersFromIndex() {
+        when(hsCodeIndexService.search("티셔츠", 20)).thenReturn(List.of(
+            new HsCodeMatch(new HsCodeEntry("6109100000", "면제 티셔츠", "T-shirts of cotton", "U", new BigDecimal("13")),
+                HsCodeMatch.MatchType.NAME, 0.9)));
+
+        List<EmsApiService.HsCodeResult> results = emsApiService.searchHsCode(" 티셔츠 ");
+
+        assertEquals(1, results.size());
+        assertEquals("6109100000", results.get(0).getHsCode());
+        assertEquals("면제 티셔츠", results.get(0).getDescription());
+        assertEquals("61", results.get(0).getCategory());
+        verifyNoInteractions(webClient);
+    }
+
+    @Test
+    @DisplayName("전체 관세율표 색인에 없으면 결과 없음 - EMS API 호출 안 함")
+    void authoritativeIndexMissSkipsRemoteCall() {
+        when(hsCodeIndexService.search(anyString(), anyInt())).thenReturn(List.of());
+        when(hsCodeIndexService.isAuthoritative()).thenReturn(true);
+
+        assertTrue(emsApiService.searchHsCode("없는품목").isEmpty());
+        verifyNoInteractions(webClient);
+    }
+
+    @Test
+    @DisplayName("두 글자 미만 검색어는 색인/EMS 모두 조회하지 않음")
+    void ignoresShortKeywords() {
+        assertTrue(emsApiService.searchHsCode("a").isEmpty());
+        assertTrue(emsApiService.searchHsCode(null).isEmpty());
+        verifyNoInteractions(hsCodeIndexService, webClient);
+    }
+}
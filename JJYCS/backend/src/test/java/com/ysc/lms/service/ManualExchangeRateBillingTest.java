@@ -0,0 +1,98 @@
+package com.ysc.lms.service;
+
+import com.ysc.lms.entity.Order;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.fx.ExchangeRateEngine;
+import com.ysc.lms.fx.ExchangeRatesRecorded;
+import com.ysc.lms.repository.BillingRepository;
+import com.ysc.lms.repository.ExchangeRateHistoryRepository;
+import com.ysc.lms.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 외부 환율 피드가 꺼져 있을 때 수동 기록한 환율이 청구 환산에 쓰이는지 확인
+ * 이력 저장소는 mock, 기록 이벤트는 커밋 후 리스너로 바로 전달합니다
+ */
+class ManualExchangeRateBillingTest {
+
+    private ExchangeRateEngine engine;
+    private ExchangeRateService exchangeRateService;
+    private BillingService billingService;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        doAnswer(invocation -> {
+            engine.onExchangeRatesRecorded(invocation.getArgument(0));
+            return null;
+        }).when(publisher).publishEvent(any(ExchangeRatesRecorded.class));
+        engine = new ExchangeRateEngine(mock(ExchangeRateHistoryRepository.class), publisher, new SimpleMeterRegistry(),
+            730, 3, 60_000);
+        exchangeRateService = new ExchangeRateService(null, engine);
+
+        Order order = new Order();
+        order.setId(7L);
+        order.setOrderNumber("ORD-7");
+        order.setUser(new User());
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.findById(7L)).thenReturn(Optional.of(order));
+        billingService = new BillingService(mock(BillingRepository.class), orderRepository, exchangeRateService);
+    }
+
+    @Test
+    @DisplayName("피드가 꺼져 있으면 정기 갱신은 이력을 남기지 않고 청구는 기본 환율(폴백)로 처리")
+    void billingFallsBackWithoutRecordedRates() {
+        exchangeRateService.updateExchangeRates();
+
+        BillingService.BillingPreview preview = billingService.generateBillingPreview(7L, request("1000"));
+
+        assertEquals("DEFAULT", preview.getExchangeRateSource());
+        assertFalse(engine.hasRates("THB"));
+    }
+
+    @Test
+    @DisplayName("수동 기록한 THB 환율이 청구 미리보기 환산에 그대로 쓰임")
+    void manualRateReachesBilling() {
+        exchangeRateService.recordManualRates(Map.of("thb", new BigDecimal("39.1234")), LocalDate.now().minusDays(1));
+
+        BillingService.BillingPreview preview = billingService.generateBillingPreview(7L, request("1000"));
+
+        assertEquals(ExchangeRateService.MANUAL_SOURCE, preview.getExchangeRateSource());
+        assertEquals(0, new BigDecimal("39.1234").compareTo(preview.getExchangeRate()));
+        assertEquals(LocalDate.now().minusDays(1).atStartOfDay(), preview.getExchangeRateDate());
+        // 1000 THB + 부가세 7% = 1070 THB
+        assertEquals(new BigDecimal("41862.04"), preview.getTotalKrw());
+        assertEquals(0, new BigDecimal("39.1234").compareTo(exchangeRateService.getExchangeRate("THB")));
+    }
+
+    @Test
+    @DisplayName("빈 환율, 0 이하 환율, 미래 기준일은 기록하지 않음")
+    void rejectsInvalidManualRates() {
+        LocalDate today = LocalDate.now();
+        assertThrows(IllegalArgumentException.class, () -> exchangeRateService.recordManualRates(Map.of(), today));
+        assertThrows(IllegalArgumentException.class,
+            () -> exchangeRateService.recordManualRates(Map.of("THB", BigDecimal.ZERO), today));
+        assertThrows(IllegalArgumentException.class,
+            () -> exchangeRateService.recordManualRates(Map.of("THB", BigDecimal.TEN), today.plusDays(1)));
+        assertFalse(engine.hasRates("THB"));
+    }
+
+    private static BillingService.BillingRequest request(String shippingFee) {
+        BillingService.BillingRequest request = new BillingService.BillingRequest();
+        request.setShippingFee(new BigDecimal(shippingFee));
+        return request;
+    }
+}
@@ -0,0 +1,92 @@
+package com.ysc.lms.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.ysc.lms.service.TariffCalculationService.TariffBatchQuote;
+import com.ysc.lms.service.TariffCalculationService.TariffCalculationRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일괄 관세 계산 처리량 벤치마크 (JMH)
+ * 품목 10/100/1000 줄 주문에 대해 기존 방식(calculateTariff 반복 호출, BigDecimal)과 quoteBatch(고정소수점 배열)를 비교합니다
+ * 점수는 주문 1건 기준 ops/s 이며 lines/sec 는 점수 × lines 입니다. 줄별 결과가 같은지는 TariffBatchQuoteTest 가 확인합니다
+ * 실행: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *       -Dexec.args="-cp %classpath com.ysc.lms.service.TariffBatchQuoteBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TariffBatchQuoteBenchmark {
+
+    private static final String[] HS_CODES = {"6109100000", "6204620000", "8471300000", "8517120000", "3304990000",
+        "3303000000", "9503000000", "1905900000", "3924100000", "4901990000", "2204210000", "7117190000"};
+    private static final String[] CURRENCIES = {"USD", "THB", "KRW"};
+
+    @Param({"10", "100", "1000"})
+    public int lines;
+
+    private TariffCalculationService tariffCalculationService;
+    private List<TariffCalculationRequest> items;
+
+    @Setup
+    public void setUp() {
+        // 줄마다 남기는 INFO 로그 출력 비용은 빼고 계산만 잰다
+        ((Logger) LoggerFactory.getLogger(TariffCalculationService.class)).setLevel(Level.WARN);
+        tariffCalculationService = TariffBatchQuoteTest.tariffCalculationService();
+        items = generateItems(lines, new Random(lines));
+    }
+
+    @Benchmark
+    public void perItem(Blackhole blackhole) {
+        for (TariffCalculationRequest item : items) {
+            blackhole.consume(tariffCalculationService.calculateTariff(item));
+        }
+    }
+
+    @Benchmark
+    public TariffBatchQuote batch() {
+        return tariffCalculationService.quoteBatch(items, "USD");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TariffBatchQuoteBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static List<TariffCalculationRequest> generateItems(int count, Random random) {
+        List<TariffCalculationRequest> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TariffCalculationRequest item = new TariffCalculationRequest();
+            item.setHsCode(HS_CODES[random.nextInt(HS_CODES.length)]);
+            item.setCurrency(CURRENCIES[random.nextInt(CURRENCIES.length)]);
+            item.setUnitPrice(BigDecimal.valueOf(50 + random.nextInt(50_000), 2));
+            item.setQuantity(1 + random.nextInt(20));
+            item.setShippingType(random.nextBoolean() ? "AIR" : "SEA");
+            items.add(item);
+        }
+        return items;
+    }
+}
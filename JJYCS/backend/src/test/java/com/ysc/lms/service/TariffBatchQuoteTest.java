@@ -0,0 +1,170 @@
+package com.ysc.lms.service;
+
+import com.ysc.lms.service.TariffCalculationService.TariffBatchQuote;
+import com.ysc.lms.service.TariffCalculationService.TariffCalculationRequest;
+import com.ysc.lms.service.TariffCalculationService.TariffCalculationResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * quoteBatch(LandedCostBatch 고정소수점) 결과가 줄마다 calculateTariff(BigDecimal) 와 같은지 확인
+ * 환율은 고정 값을 돌려주는 ExchangeRateService 로 대체합니다
+ */
+class TariffBatchQuoteTest {
+
+    static final Map<String, BigDecimal> RATES = Map.of(
+        "KRW", new BigDecimal("1"),
+        "USD", new BigDecimal("1350.123456"),
+        "THB", new BigDecimal("38.25"),
+        // 소수 7자리 - 고정소수점(6자리)으로 표현되지 않음
+        "JPY", new BigDecimal("9.1234567"));
+
+    private final TariffCalculationService service = tariffCalculationService();
+
+    @Test
+    @DisplayName("세목별 원 단위 HALF_UP - .5 원은 올리고 .499 원은 내림")
+    void roundsHalfUpPerTax() {
+        List<TariffCalculationRequest> items = List.of(
+            item("6109100000", "50.00", 1, "KRW"),   // 관세 13% -> 6.5, 부가세 5.7
+            item("4901990000", "5.00", 1, "KRW"),    // 관세 0% -> 부가세 0.5
+            item("4901990000", "4.99", 1, "KRW"),    // 부가세 0.499
+            item("3304990000", "46.00", 1, "KRW"));  // 관세 3.68 -> CIF 50, 특별소비세 7% -> 3.5, 부가세 5.4
+
+        TariffBatchQuote quote = assertSameAsPerItem(items);
+
+        assertEquals(0, quote.getFallbackLines());
+        assertTaxes(quote.getLines().get(0), "7", "0", "6");
+        assertTaxes(quote.getLines().get(1), "0", "0", "1");
+        assertTaxes(quote.getLines().get(2), "0", "0", "0");
+        assertTaxes(quote.getLines().get(3), "4", "4", "5");
+    }
+
+    @Test
+    @DisplayName("long 범위를 넘는 줄은 BigDecimal 로 계산하고 합계에 더함")
+    void fallsBackOnOverflow() {
+        List<TariffCalculationRequest> items = List.of(
+            item("8471300000", "120.50", 3, "USD"),
+            item("8471300000", "90000000000000.00", 1_000, "USD"),
+            item("2204210000", "35.00", 2, "THB"));
+
+        TariffBatchQuote quote = assertSameAsPerItem(items);
+
+        assertEquals(1, quote.getFallbackLines());
+    }
+
+    @Test
+    @DisplayName("줄은 고정소수점이지만 합계가 long 범위를 넘으면 합계를 줄별 결과로 다시 더함")
+    void sumsLinesWhenTotalsOverflow() {
+        List<TariffCalculationRequest> items = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            items.add(item("6109100000", "500000000.00", 1, "KRW"));
+        }
+
+        TariffBatchQuote quote = assertSameAsPerItem(items);
+
+        assertEquals(0, quote.getFallbackLines());
+        assertEquals(0, new BigDecimal("100000000000").compareTo(quote.getTotalKrwValue()));
+    }
+
+    @Test
+    @DisplayName("소수 2자리가 아닌 단가와 소수 6자리를 넘는 환율 - 값과 소수 자리까지 같음")
+    void matchesNonTwoDecimalPrices() {
+        List<TariffCalculationRequest> items = List.of(
+            item("6204620000", "12.345", 2, "USD"),  // 고정소수점 불가 -> BigDecimal
+            item("6204620000", "12.340", 2, "USD"),  // 소수 3자리지만 값은 2자리로 표현됨
+            item("3303000000", "7.5", 3, "USD"),
+            item("9503000000", "10", 1, "THB"),
+            item("1905900000", "980.00", 4, "JPY")); // 환율 고정소수점 불가 -> BigDecimal
+
+        TariffBatchQuote quote = assertSameAsPerItem(items);
+
+        assertEquals(2, quote.getFallbackLines());
+        assertEquals(3, quote.getLines().get(1).getTotalValue().scale());
+        assertEquals(1, quote.getLines().get(2).getTotalValue().scale());
+        assertEquals(0, quote.getLines().get(3).getTotalValue().scale());
+    }
+
+    /**
+     * 줄별 결과(값과 소수 자리)와 합계가 calculateTariff 반복 호출과 같은지 확인
+     */
+    private TariffBatchQuote assertSameAsPerItem(List<TariffCalculationRequest> items) {
+        TariffBatchQuote quote = service.quoteBatch(items, "USD");
+        assertEquals(items.size(), quote.getItemCount());
+        assertEquals(items.size(), quote.getLines().size());
+
+        BigDecimal totalKrwValue = BigDecimal.ZERO;
+        BigDecimal totalTariff = BigDecimal.ZERO;
+        BigDecimal totalSpecialTax = BigDecimal.ZERO;
+        BigDecimal totalVat = BigDecimal.ZERO;
+        for (int i = 0; i < items.size(); i++) {
+            TariffCalculationResult single = service.calculateTariff(items.get(i));
+            assertSameLine(single, quote.getLines().get(i), i);
+            totalKrwValue = totalKrwValue.add(single.getKrwValue());
+            totalTariff = totalTariff.add(single.getTariffAmount());
+            totalSpecialTax = totalSpecialTax.add(single.getSpecialTaxAmount());
+            totalVat = totalVat.add(single.getVatAmount());
+        }
+        assertEquals(totalKrwValue, quote.getTotalKrwValue());
+        assertEquals(totalTariff, quote.getTotalTariffAmount());
+        assertEquals(totalSpecialTax, quote.getTotalSpecialTaxAmount());
+        assertEquals(totalVat, quote.getTotalVatAmount());
+        assertEquals(totalTariff.add(totalSpecialTax).add(totalVat), quote.getTotalTax());
+        assertEquals(totalKrwValue.add(quote.getTotalTax()), quote.getTotalAmount());
+        return quote;
+    }
+
+    private static void assertSameLine(TariffCalculationResult expected, TariffCalculationResult actual, int line) {
+        String message = "line " + line;
+        assertEquals(expected.getCurrency(), actual.getCurrency(), message);
+        assertEquals(expected.getTotalValue(), actual.getTotalValue(), message);
+        assertEquals(expected.getExchangeRate(), actual.getExchangeRate(), message);
+        assertEquals(expected.getKrwValue(), actual.getKrwValue(), message);
+        assertEquals(expected.getTariffRate(), actual.getTariffRate(), message);
+        assertEquals(expected.getTariffAmount(), actual.getTariffAmount(), message);
+        assertEquals(expected.getCifValue(), actual.getCifValue(), message);
+        assertEquals(expected.getSpecialTaxRate(), actual.getSpecialTaxRate(), message);
+        assertEquals(expected.getSpecialTaxAmount(), actual.getSpecialTaxAmount(), message);
+        assertEquals(expected.getVatAmount(), actual.getVatAmount(), message);
+        assertEquals(expected.getTotalTax(), actual.getTotalTax(), message);
+        assertEquals(expected.getTotalAmount(), actual.getTotalAmount(), message);
+        assertEquals(expected.isDutyFreeEligible(), actual.isDutyFreeEligible(), message);
+        assertEquals(expected.isSmallAmountExemption(), actual.isSmallAmountExemption(), message);
+        assertEquals(expected.getDutyFreeMessage(), actual.getDutyFreeMessage(), message);
+    }
+
+    private static void assertTaxes(TariffCalculationResult line, String tariff, String specialTax, String vat) {
+        assertEquals(new BigDecimal(tariff), line.getTariffAmount());
+        assertEquals(new BigDecimal(specialTax), line.getSpecialTaxAmount());
+        assertEquals(new BigDecimal(vat), line.getVatAmount());
+    }
+
+    /**
+     * RATES 의 환율만 돌려주는 계산 서비스 (HS Code 서비스는 세율 계산에 쓰이지 않음)
+     */
+    static TariffCalculationService tariffCalculationService() {
+        ExchangeRateService exchangeRateService = new ExchangeRateService(null, null) {
+            @Override
+            public BigDecimal getExchangeRate(String currency) {
+                return RATES.get(currency);
+            }
+        };
+        return new TariffCalculationService(null, exchangeRateService);
+    }
+
+    static TariffCalculationRequest item(String hsCode, String unitPrice, int quantity, String currency) {
+        TariffCalculationRequest item = new TariffCalculationRequest();
+        item.setHsCode(hsCode);
+        item.setUnitPrice(new BigDecimal(unitPrice));
+        item.setQuantity(quantity);
+        item.setCurrency(currency);
+        item.setShippingType("AIR");
+        return item;
+    }
+}
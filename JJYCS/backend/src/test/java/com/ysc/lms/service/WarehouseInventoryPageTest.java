@@ -0,0 +1,147 @@
+package com.ysc.lms.service;
+
+import com.ysc.lms.YscLmsApplication;
+import com.ysc.lms.dto.warehouse.InventoryStatusRow;
+import com.ysc.lms.entity.Order;
+import com.ysc.lms.entity.ScanEvent;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.repository.OrderRepository;
+import com.ysc.lms.repository.ScanEventRepository;
+import com.ysc.lms.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 재고 현황 keyset 페이지 / 최근 스캔 일괄 조회 테스트
+ * H2(MySQL 모드)에서 실제 JPQL 프로젝션과 ROW_NUMBER() 네이티브 쿼리를 실행합니다
+ */
+@SpringBootTest(classes = YscLmsApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class WarehouseInventoryPageTest {
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ScanEventRepository scanEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("inventory-page@example.com");
+        user.setPassword("password");
+        user.setName("재고테스트");
+        user.setUserType(User.UserType.GENERAL);
+        user = userRepository.saveAndFlush(user);
+    }
+
+    @Test
+    @DisplayName("id 커서로 겹침/누락 없이 페이지를 이어서 조회")
+    void pagesByIdKeyset() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orders.add(saveOrder("INVPAGE" + i, Order.OrderStatus.ARRIVED));
+        }
+        Long cursor = orders.get(0).getId() - 1;
+
+        List<Long> seen = new ArrayList<>();
+        List<InventoryStatusRow> page;
+        do {
+            page = warehouseService.getInventoryPage("arrived", cursor, 2);
+            assertTrue(page.size() <= 2);
+            for (InventoryStatusRow row : page) {
+                assertEquals(Order.OrderStatus.ARRIVED, row.getStatus());
+                seen.add(row.getOrderId());
+            }
+            if (!page.isEmpty()) {
+                cursor = page.get(page.size() - 1).getOrderId();
+            }
+        } while (page.size() == 2);
+
+        List<Long> expected = orders.stream().map(Order::getId).toList();
+        assertEquals(expected, seen.subList(0, expected.size()));
+    }
+
+    @Test
+    @DisplayName("주문별 최근 스캔 1건만 행에 채움 - 스캔이 없는 주문은 비어 있음")
+    void fillsLatestScanPerOrder() {
+        Order scanned = saveOrder("INVSCAN1", Order.OrderStatus.IN_WAREHOUSE);
+        Order unscanned = saveOrder("INVSCAN2", Order.OrderStatus.IN_WAREHOUSE);
+        saveScan(scanned, ScanEvent.ScanType.INBOUND, "A-01-01");
+        saveScan(scanned, ScanEvent.ScanType.OUTBOUND, "DOCK-2");
+
+        List<InventoryStatusRow> page = warehouseService.getInventoryPage(null, scanned.getId() - 1, 10);
+
+        InventoryStatusRow first = page.get(0);
+        assertEquals(scanned.getId(), first.getOrderId());
+        assertEquals("OUTBOUND", first.getLastScanType());
+        assertEquals("DOCK-2", first.getLastScanLocation());
+        assertEquals("tester", first.getLastScannedBy());
+        assertNotNull(first.getLastScannedAt());
+
+        InventoryStatusRow second = page.get(1);
+        assertEquals(unscanned.getId(), second.getOrderId());
+        assertNull(second.getLastScanType());
+        assertNull(second.getLastScannedAt());
+    }
+
+    @Test
+    @DisplayName("상태별 건수는 첫 페이지에서만, 다음 커서는 마지막 행 id")
+    void statusCountsOnFirstPageOnly() {
+        saveOrder("INVCNT1", Order.OrderStatus.REPACKING);
+        Order last = saveOrder("INVCNT2", Order.OrderStatus.REPACKING);
+
+        Map<String, Object> firstPage = warehouseService.getInventoryStatus("WH1", "REPACKING", null, 1);
+        assertEquals(Boolean.TRUE, firstPage.get("hasMore"));
+        assertNotNull(firstPage.get("nextCursor"));
+        @SuppressWarnings("unchecked")
+        Map<String, Long> statusCounts = (Map<String, Long>) firstPage.get("statusCounts");
+        assertTrue(statusCounts.get("REPACKING") >= 2);
+        assertEquals(1, statusCounts.size());
+
+        Map<String, Object> nextPage = warehouseService.getInventoryStatus("WH1", "REPACKING", last.getId() - 1, 1);
+        assertFalse(nextPage.containsKey("statusCounts"));
+        assertEquals(last.getId(), nextPage.get("nextCursor"));
+    }
+
+    private Order saveOrder(String orderNumber, Order.OrderStatus status) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumber);
+        order.setUserId(user.getId());
+        order.setStatus(status);
+        order.setShippingType(Order.ShippingType.SEA);
+        order.setCountry("TH");
+        order.setRecipientName("수취인");
+        return orderRepository.saveAndFlush(order);
+    }
+
+    private void saveScan(Order order, ScanEvent.ScanType scanType, String location) {
+        ScanEvent scan = new ScanEvent();
+        scan.setScanCode(order.getOrderNumber());
+        scan.setScanType(scanType);
+        scan.setOrder(order);
+        scan.setLocation(location);
+        scan.setScannedBy("tester");
+        scanEventRepository.saveAndFlush(scan);
+    }
+}
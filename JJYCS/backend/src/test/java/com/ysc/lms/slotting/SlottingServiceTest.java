@@ -0,0 +1,136 @@
+package com.ysc.lms.slotting;
+
+import com.ysc.lms.dto.warehouse.PutAwayRequest;
+import com.ysc.lms.entity.StorageLocation;
+import com.ysc.lms.entity.StorageLocation.LocationStatus;
+import com.ysc.lms.repository.StorageLocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * 적치 위치 추천/예약 테스트
+ * 위치 저장소는 mock 으로 대체하고, 잠금 조회(findByIdForUpdate)는 인덱스 적재에 쓴 엔티티를 그대로 돌려줍니다
+ */
+class SlottingServiceTest {
+
+    private final StorageLocationRepository repository = mock(StorageLocationRepository.class);
+    private final SlottingService service = new SlottingService(repository, 5, 30);
+    private final List<StorageLocation> locations = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findByLocationTypeAndIsActiveTrue(StorageLocation.LocationType.CELL)).thenReturn(locations);
+        when(repository.findByIdForUpdate(anyLong())).thenAnswer(invocation -> locations.stream()
+            .filter(location -> location.getId().equals(invocation.getArgument(0)))
+            .findFirst());
+    }
+
+    @Test
+    @DisplayName("추천은 상자가 들어가는 위치를 잔여 부피가 작은 순으로 - 치수/중량 초과와 정비 위치 제외")
+    void suggestsBestFitFirst() {
+        cell(1L, "0.200000", "0.000000", LocationStatus.AVAILABLE);
+        cell(2L, "0.100000", "0.050000", LocationStatus.OCCUPIED);
+        cell(3L, "0.080000", "0.000000", LocationStatus.AVAILABLE);
+        cell(4L, "0.030000", "0.000000", LocationStatus.AVAILABLE); // 부피 부족
+        cell(5L, "0.090000", "0.000000", LocationStatus.MAINTENANCE);
+        StorageLocation heavy = cell(6L, "0.070000", "0.000000", LocationStatus.AVAILABLE);
+        heavy.setMaxWeight(new BigDecimal("5"));
+        StorageLocation narrow = cell(7L, "0.070000", "0.000000", LocationStatus.AVAILABLE);
+        narrow.setWidth(new BigDecimal("20"));
+        narrow.setHeight(new BigDecimal("100"));
+        narrow.setDepth(new BigDecimal("100"));
+        service.rebuild();
+
+        List<LocationSlot> slots = service.suggest(request(40, 30, 30, 10));
+
+        assertEquals(List.of(2L, 3L, 1L), ids(slots));
+        assertEquals(6, service.indexedLocations());
+    }
+
+    @Test
+    @DisplayName("예약은 추천 개수 제한과 무관하게 빈 위치만 후보로 - 잘 맞는 부분 적재 위치가 많아도 예약 성공")
+    void reserveSkipsPartiallyLoadedCellsBeyondSuggestionLimit() {
+        for (long id = 1; id <= 8; id++) {
+            cell(id, "0.100000", "0.060000", LocationStatus.OCCUPIED);
+        }
+        cell(20L, "0.500000", "0.000000", LocationStatus.AVAILABLE);
+        service.rebuild();
+        PutAwayRequest request = request(30, 30, 30, 5);
+        assertFalse(ids(service.suggest(request)).contains(20L));
+
+        request.setReservedBy("picker-1");
+        Optional<StorageLocation> reserved = service.reserveBest(request);
+
+        assertTrue(reserved.isPresent());
+        assertEquals(20L, reserved.get().getId());
+        assertEquals(LocationStatus.RESERVED, reserved.get().getStatus());
+        assertEquals("picker-1", reserved.get().getReservedBy());
+        verify(repository, times(1)).findByIdForUpdate(anyLong());
+    }
+
+    @Test
+    @DisplayName("먼저 예약된 위치는 잠근 행 기준으로 건너뛰고, 만료된 예약 위치는 다시 예약")
+    void reserveRechecksLockedRow() {
+        StorageLocation taken = cell(1L, "0.100000", "0.000000", LocationStatus.AVAILABLE);
+        StorageLocation expired = cell(2L, "0.200000", "0.000000", LocationStatus.RESERVED);
+        expired.setReservedBy("someone");
+        expired.setReservedUntil(LocalDateTime.now().minusMinutes(5));
+        service.rebuild();
+        // 인덱스 적재 이후 다른 트랜잭션이 먼저 예약 (커밋 후 이벤트는 아직 반영 전)
+        taken.reserve("other", LocalDateTime.now().plusMinutes(30));
+
+        PutAwayRequest request = request(30, 30, 30, 5);
+        request.setReservedBy("picker-2");
+        Optional<StorageLocation> reserved = service.reserveBest(request);
+
+        assertEquals(2L, reserved.orElseThrow().getId());
+        assertEquals("picker-2", expired.getReservedBy());
+        assertTrue(expired.getReservedUntil().isAfter(LocalDateTime.now()));
+        assertEquals("other", taken.getReservedBy());
+
+        request.setReservedBy("picker-3");
+        assertTrue(service.reserveBest(request).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> service.reserveBest(request(30, 30, 30, 5)));
+        verify(repository, never()).save(any());
+    }
+
+    private StorageLocation cell(Long id, String maxVolume, String currentVolume, LocationStatus status) {
+        StorageLocation location = new StorageLocation();
+        location.setId(id);
+        location.setLocationCode("A01-C" + id);
+        location.setLocationName("Cell " + id);
+        location.setLocationType(StorageLocation.LocationType.CELL);
+        location.setTemperatureZone(StorageLocation.TemperatureZone.NORMAL);
+        location.setMaxVolume(new BigDecimal(maxVolume));
+        location.setCurrentVolume(new BigDecimal(currentVolume));
+        location.setMaxWeight(new BigDecimal("500"));
+        location.setStatus(status);
+        locations.add(location);
+        return location;
+    }
+
+    private static PutAwayRequest request(double widthCm, double heightCm, double depthCm, double weightKg) {
+        PutAwayRequest request = new PutAwayRequest();
+        request.setWidthCm(widthCm);
+        request.setHeightCm(heightCm);
+        request.setDepthCm(depthCm);
+        request.setWeightKg(weightKg);
+        return request;
+    }
+
+    private static List<Long> ids(List<LocationSlot> slots) {
+        return slots.stream().map(LocationSlot::getId).toList();
+    }
+}
@@ -0,0 +1,140 @@
+package com.ysc.lms.statistics;
+
+import com.ysc.lms.dashboard.UserOrderActivity;
+import com.ysc.lms.entity.Order;
+import com.ysc.lms.entity.StatCounter.CounterGroup;
+import com.ysc.lms.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 통계 카운터 증감 묶음(StatisticsDelta)과 쓰기 경로 기록기(StatisticsRecorder) 테스트
+ * 이벤트 발행기는 발행된 이벤트를 모으는 람다로 대체합니다
+ */
+class StatisticsRecorderTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 17);
+
+    private final List<Object> events = new ArrayList<>();
+    private StatisticsRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        events.clear();
+        recorder = new StatisticsRecorder(events::add);
+    }
+
+    @Test
+    @DisplayName("같은 카운터의 증감은 합쳐지고 0 이 되면 제외, 키 순서로 정렬")
+    void deltaMergesAndSortsByKey() {
+        StatisticsDelta delta = new StatisticsDelta()
+            .add(CounterGroup.ORDER_STATUS, "RECEIVED", -1)
+            .add(CounterGroup.ORDER_STATUS, "ARRIVED", 1)
+            .add(CounterGroup.ORDER_STATUS, "RECEIVED", 1)
+            .add(CounterGroup.ORDER_SHIPPING_TYPE, "AIR", 2)
+            .add(CounterGroup.ORDER_SHIPPING_TYPE, null, 5);
+
+        List<String> keys = new ArrayList<>();
+        for (StatisticsDelta.Entry entry : delta.getEntries()) {
+            keys.add(entry.getCounterKey());
+        }
+        assertEquals(List.of("ORDER_SHIPPING_TYPE:AIR", "ORDER_STATUS:ARRIVED"), keys);
+        assertEquals(2, delta.getEntries().iterator().next().getDelta());
+
+        assertTrue(new StatisticsDelta().add(CounterGroup.SCAN_TYPE_DAILY, "INBOUND", DAY, 3)
+            .add(CounterGroup.SCAN_TYPE_DAILY, "INBOUND", DAY, -3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("대량 주문 생성 - 카운터 증감 1건, 대시보드 이벤트는 사용자/상태별 1건")
+    void ordersCreatedPublishesOneDelta() {
+        LocalDateTime createdAt = DAY.atTime(9, 0);
+        List<Order> orders = List.of(
+            order(1L, Order.OrderStatus.RECEIVED, Order.ShippingType.AIR, createdAt),
+            order(1L, Order.OrderStatus.RECEIVED, Order.ShippingType.SEA, createdAt.plusMinutes(5)),
+            order(2L, Order.OrderStatus.DRAFT, Order.ShippingType.SEA, createdAt));
+
+        recorder.ordersCreated(orders);
+
+        List<StatisticsDelta> deltas = eventsOf(StatisticsDelta.class);
+        assertEquals(1, deltas.size());
+        Map<String, Long> counts = countsOf(deltas.get(0));
+        assertEquals(2L, counts.get("ORDER_STATUS:RECEIVED"));
+        assertEquals(1L, counts.get("ORDER_STATUS:DRAFT"));
+        assertEquals(1L, counts.get("ORDER_SHIPPING_TYPE:AIR"));
+        assertEquals(2L, counts.get("ORDER_SHIPPING_TYPE:SEA"));
+        assertEquals(3L, counts.get("ORDER_CREATED_DAILY:ALL:" + DAY));
+
+        List<UserOrderActivity> activities = eventsOf(UserOrderActivity.class);
+        assertEquals(2, activities.size());
+        UserOrderActivity first = activities.get(0);
+        assertEquals(1L, first.getUserId());
+        assertEquals(2, first.getCount());
+        assertTrue(first.isCreated());
+        assertEquals(createdAt.plusMinutes(5), first.getOccurredAt());
+    }
+
+    @Test
+    @DisplayName("상태 전환은 이전 상태 -1, 새 상태 +1 - 같은 상태면 발행하지 않음")
+    void statusChangeMovesCounter() {
+        Order order = order(7L, Order.OrderStatus.ARRIVED, Order.ShippingType.AIR, DAY.atStartOfDay());
+
+        recorder.orderStatusChanged(order, Order.OrderStatus.ARRIVED);
+        assertTrue(events.isEmpty());
+
+        recorder.orderStatusChanged(order, Order.OrderStatus.RECEIVED);
+        Map<String, Long> counts = countsOf(eventsOf(StatisticsDelta.class).get(0));
+        assertEquals(-1L, counts.get("ORDER_STATUS:RECEIVED"));
+        assertEquals(1L, counts.get("ORDER_STATUS:ARRIVED"));
+        assertEquals(Order.OrderStatus.RECEIVED, eventsOf(UserOrderActivity.class).get(0).getPreviousStatus());
+    }
+
+    @Test
+    @DisplayName("회원 상태 변경은 유형:상태 차원으로 이동")
+    void userStatusChangeUsesTypeStatusDimension() {
+        recorder.userStatusChanged(User.UserType.PARTNER, User.UserStatus.PENDING, User.UserStatus.ACTIVE);
+
+        Map<String, Long> counts = countsOf(eventsOf(StatisticsDelta.class).get(0));
+        assertEquals(-1L, counts.get("USER_TYPE_STATUS:PARTNER:PENDING"));
+        assertEquals(1L, counts.get("USER_TYPE_STATUS:PARTNER:ACTIVE"));
+        assertNull(StatisticsRecorder.userDimension(null, User.UserStatus.ACTIVE));
+    }
+
+    private static Order order(Long userId, Order.OrderStatus status, Order.ShippingType shippingType,
+                               LocalDateTime createdAt) {
+        Order order = new Order();
+        order.setUserId(userId);
+        order.setStatus(status);
+        order.setShippingType(shippingType);
+        order.setCreatedAt(createdAt);
+        return order;
+    }
+
+    private <T> List<T> eventsOf(Class<T> type) {
+        List<T> matched = new ArrayList<>();
+        for (Object event : events) {
+            if (type.isInstance(event)) {
+                matched.add(type.cast(event));
+            }
+        }
+        return matched;
+    }
+
+    private static Map<String, Long> countsOf(StatisticsDelta delta) {
+        Map<String, Long> counts = new HashMap<>();
+        for (StatisticsDelta.Entry entry : delta.getEntries()) {
+            counts.put(entry.getCounterKey(), entry.getDelta());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,105 @@
+package com.ysc.lms.tracking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 택배사 서킷 브레이커 상태 전이 테스트 - 시각은 가짜 nanoTime 으로 제어합니다
+ */
+class CarrierCircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000L);
+    private final CarrierCircuitBreaker breaker = new CarrierCircuitBreaker(3, 60, clock::get);
+
+    @Test
+    @DisplayName("연속 실패가 임계치에 도달하면 차단, 중간 성공은 연속 실패 수를 초기화")
+    void opensAfterConsecutiveFailures() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CarrierCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertEquals(CarrierCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("차단 시간이 지나면 한 호출자만 시험 조회로 통과, 성공하면 복구")
+    void halfOpenTrialClosesOnSuccess() {
+        open();
+        advanceSeconds(59);
+        assertFalse(breaker.tryAcquire());
+
+        advanceSeconds(1);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CarrierCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onSuccess();
+        assertEquals(CarrierCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        // 복구 후 연속 실패 수는 처음부터 다시 셈
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CarrierCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("시험 조회가 실패하면 그 시각부터 다시 차단")
+    void halfOpenTrialReopensOnFailure() {
+        open();
+        advanceSeconds(60);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertEquals(CarrierCircuitBreaker.State.OPEN, breaker.getState());
+        advanceSeconds(59);
+        assertFalse(breaker.tryAcquire());
+        advanceSeconds(1);
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("차단 중에 끝난 이전 조회 결과는 상태를 바꾸지 않음")
+    void lateResultsWhileOpenAreIgnored() {
+        open();
+        breaker.onSuccess();
+        assertEquals(CarrierCircuitBreaker.State.OPEN, breaker.getState());
+        breaker.onFailure();
+        advanceSeconds(60);
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("보내지 못한 시험 조회는 차단 상태로 되돌려 다음 호출자가 바로 시험 조회")
+    void abandonedTrialCanBeRetried() {
+        open();
+        advanceSeconds(60);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onAbandoned();
+        assertEquals(CarrierCircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CarrierCircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    private void open() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        assertEquals(CarrierCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
@@ -0,0 +1,53 @@
+package com.ysc.lms.tracking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 택배사 초당 요청 상한 테스트 - 시각은 가짜 nanoTime 으로 제어하고 대기 시간은 reserve 반환값으로 확인합니다
+ */
+class CarrierRateLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(5_000 * MS);
+
+    @Test
+    @DisplayName("초당 10건 - 동시에 몰린 요청은 100ms 간격으로 예약")
+    void spacesBurstEvenly() {
+        CarrierRateLimiter limiter = new CarrierRateLimiter(10, clock::get);
+
+        assertEquals(0L, limiter.reserve());
+        assertEquals(100 * MS, limiter.reserve());
+        assertEquals(200 * MS, limiter.reserve());
+
+        clock.addAndGet(250 * MS);
+        assertEquals(50 * MS, limiter.reserve());
+    }
+
+    @Test
+    @DisplayName("쉬는 동안 슬롯이 쌓이지 않음 - 오래 쉬어도 버스트 없이 간격 유지")
+    void doesNotAccumulateIdleSlots() {
+        CarrierRateLimiter limiter = new CarrierRateLimiter(4, clock::get);
+        assertEquals(0L, limiter.reserve());
+
+        clock.addAndGet(10_000 * MS);
+        assertEquals(0L, limiter.reserve());
+        assertEquals(250 * MS, limiter.reserve());
+    }
+
+    @Test
+    @DisplayName("0 이하이면 제한하지 않음")
+    void unlimitedWhenRateNotPositive() throws InterruptedException {
+        CarrierRateLimiter limiter = new CarrierRateLimiter(0, clock::get);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0L, limiter.reserve());
+        }
+        limiter.acquire();
+    }
+}
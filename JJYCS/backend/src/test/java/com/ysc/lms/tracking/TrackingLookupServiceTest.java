@@ -0,0 +1,83 @@
+package com.ysc.lms.tracking;
+
+import com.ysc.lms.repository.ParcelRepository;
+import com.ysc.lms.service.CarrierApiService;
+import com.ysc.lms.service.CarrierApiService.TrackingResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 고객 송장 조회 읽기 경로 테스트 - 형식 검증, 동일 송장 조회 합치기, 캐시 응답
+ * 택배사 호출은 mock 으로 대체하고 완료 시점은 Sinks 로 제어합니다
+ */
+class TrackingLookupServiceTest {
+
+    private final CarrierApiService carrierApiService = mock(CarrierApiService.class);
+    private final TrackingLookupService service = new TrackingLookupService(carrierApiService,
+        mock(ParcelRepository.class), 300, 86400, 600, 30, 3600, 1000, 32, 10);
+
+    @Test
+    @DisplayName("지원하지 않는 택배사나 형식이 틀린 송장번호는 택배사 호출/캐시 없이 오류 응답")
+    void rejectsInvalidRequestsBeforeCarrierCall() {
+        assertFalse(TrackingLookupService.isValidRequest("CJ", "12ab34"));
+        assertFalse(TrackingLookupService.isValidRequest("FEDEX", "1234567890"));
+        assertFalse(TrackingLookupService.isValidRequest(null, "1234567890"));
+        assertTrue(TrackingLookupService.isValidRequest(" cj ", " 1234567890 "));
+
+        TrackingView view = service.lookup("CJ", "1234/../x").block();
+        assertFalse(view.isSuccess());
+        assertEquals("송장번호 형식이 올바르지 않습니다.", view.getErrorMessage());
+        assertFalse(service.lookup("FEDEX", "1234567890").block().isSuccess());
+
+        verify(carrierApiService, never()).fetchTrackingInfo(anyString(), anyString());
+        assertEquals(0, service.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("동시 조회는 택배사 요청 1건을 공유하고, 완료 후 진행 중 목록에서 제거되며 이후 조회는 캐시 응답")
+    void coalescesConcurrentLookups() {
+        Sinks.One<TrackingResult> carrier = Sinks.one();
+        when(carrierApiService.fetchTrackingInfo("CJ", "1234567890")).thenReturn(carrier.asMono());
+
+        AtomicReference<TrackingView> first = new AtomicReference<>();
+        AtomicReference<TrackingView> second = new AtomicReference<>();
+        service.lookup("cj", "1234567890").subscribe(first::set);
+        service.lookup("CJ", " 1234567890").subscribe(second::set);
+        assertEquals(1, service.inFlightCount());
+        assertNull(first.get());
+
+        carrier.tryEmitValue(TrackingResult.success("1234567890", "배송중", "서울", "2026-10-17 09:00", List.of()));
+
+        assertEquals("배송중", first.get().getStatus());
+        assertEquals("배송중", second.get().getStatus());
+        assertEquals(0, service.inFlightCount());
+
+        TrackingView cached = service.lookup("CJ", "1234567890").block(Duration.ofSeconds(1));
+        assertEquals("배송중", cached.getStatus());
+        assertFalse(cached.isStale());
+        verify(carrierApiService, times(1)).fetchTrackingInfo("CJ", "1234567890");
+    }
+
+    @Test
+    @DisplayName("택배사 오류는 짧게 캐시하고 진행 중 목록은 비움")
+    void carrierErrorsAreNotLeftInFlight() {
+        when(carrierApiService.fetchTrackingInfo("LOTTE", "123456789012"))
+            .thenReturn(Mono.error(new IllegalStateException("connection reset")));
+
+        TrackingView view = service.lookup("LOTTE", "123456789012").block(Duration.ofSeconds(1));
+
+        assertFalse(view.isSuccess());
+        assertNotNull(view.getErrorMessage());
+        assertEquals(0, service.inFlightCount());
+    }
+}
@@ -0,0 +1,228 @@
+package com.ysc.lms.tracking;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.ysc.lms.YscLmsApplication;
+import com.ysc.lms.entity.Order;
+import com.ysc.lms.entity.Parcel;
+import com.ysc.lms.entity.User;
+import com.ysc.lms.ingestion.EntityBatchInserter;
+import com.ysc.lms.repository.ParcelRepository;
+import com.ysc.lms.repository.UserRepository;
+import com.ysc.lms.service.CarrierApiService;
+import com.ysc.lms.service.OrderService;
+import com.ysc.lms.service.OrderService.CreateOrderRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 택배 추적 갱신 처리량 벤치마크 (parcels/sec, p99 조회 지연)
+ * 로컬 스텁 택배사 서버(CJ/롯데/한진, 응답 지연 benchmark.latency-ms)를 대상으로
+ * 기존 방식(송장마다 순차 조회)과 TrackingRefreshEngine 을 비교합니다
+ * 실행: mvn test -Dtest=TrackingRefreshBenchmarkTest -Dbenchmark=true [-Dbenchmark.parcels=20000] [-Dbenchmark.latency-ms=20]
+ */
+@SpringBootTest(classes = YscLmsApplication.class)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TrackingRefreshBenchmarkTest {
+
+    private static final int PARCELS = Integer.getInteger("benchmark.parcels", 20_000);
+    private static final int LATENCY_MS = Integer.getInteger("benchmark.latency-ms", 20);
+    private static final int SEQUENTIAL_SAMPLE = 200;
+    private static final String[] CARRIERS = {"CJ", "LOTTE", "HANJIN"};
+
+    private static HttpServer carrierServer;
+    private static ExecutorService carrierServerExecutor;
+
+    @Autowired
+    private TrackingRefreshEngine trackingRefreshEngine;
+
+    @Autowired
+    private CarrierApiService carrierApiService;
+
+    @Autowired
+    private ParcelRepository parcelRepository;
+
+    @Autowired
+    private EntityBatchInserter batchInserter;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @DynamicPropertySource
+    static void carrierStub(DynamicPropertyRegistry registry) throws IOException {
+        startCarrierServer();
+        String baseUrl = "http://127.0.0.1:" + carrierServer.getAddress().getPort();
+        registry.add("carrier.cj.api.url", () -> baseUrl + "/cj");
+        registry.add("carrier.lotte.api.url", () -> baseUrl + "/lotte");
+        registry.add("carrier.hanjin.api.url", () -> baseUrl + "/hanjin");
+        registry.add("app.tracking.enabled", () -> "false");
+        registry.add("app.tracking.max-parcels-per-sweep", () -> String.valueOf(PARCELS));
+        for (String carrier : CARRIERS) {
+            String prefix = "app.tracking.carriers." + carrier.toLowerCase() + ".";
+            registry.add(prefix + "max-concurrency", () -> "16");
+            registry.add(prefix + "rate-per-second", () -> "0");
+        }
+    }
+
+    @AfterAll
+    static void stopCarrierServer() {
+        if (carrierServer != null) {
+            carrierServer.stop(0);
+            carrierServerExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("송장 N건 추적 갱신 - 순차 조회 대비 parcels/sec, p99")
+    void compareParcelsPerSecond() {
+        Order order = createOrder();
+        insertParcels(order.getId());
+
+        long sequentialStart = System.nanoTime();
+        for (int i = 0; i < SEQUENTIAL_SAMPLE; i++) {
+            carrierApiService.getTrackingInfo(CARRIERS[i % CARRIERS.length], trackingNumber(i));
+        }
+        long sequentialNanos = System.nanoTime() - sequentialStart;
+        double sequentialRate = SEQUENTIAL_SAMPLE / (sequentialNanos / 1e9);
+
+        TrackingRefreshSummary summary = trackingRefreshEngine.refreshDue();
+
+        System.out.printf("[benchmark] parcels=%d lookups=%d latency=%d ms sequential: %.0f parcels/sec, engine: %.0f parcels/sec (%d ms), p50 %d ms, p99 %d ms, x%.1f%n",
+            summary.getParcels(), summary.getLookups(), LATENCY_MS, sequentialRate,
+            summary.getParcelsPerSecond(), summary.getElapsedMillis(),
+            summary.getP50LatencyMillis(), summary.getP99LatencyMillis(),
+            summary.getParcelsPerSecond() / sequentialRate);
+
+        assertEquals(PARCELS, summary.getParcels());
+        assertEquals(PARCELS, summary.getResolved());
+        assertEquals(0, summary.getWriteFailures());
+        assertTrue(summary.getLookups() < PARCELS, "duplicate tracking numbers should share a lookup");
+        assertTrue(parcelRepository.findTrackingDue(
+            List.of(Parcel.ValidationStatus.PENDING, Parcel.ValidationStatus.VALID),
+            LocalDateTime.now(), LocalDateTime.now(), PageRequest.of(0, 1)).isEmpty(), "every parcel should be rescheduled");
+    }
+
+    /**
+     * 송장번호의 10% 는 다른 택배 건과 중복 (합포장 분할 등)
+     */
+    private void insertParcels(Long orderId) {
+        int distinct = PARCELS - PARCELS / 10;
+        LocalDateTime createdAt = LocalDateTime.now().minusHours(2);
+        List<Object[]> rows = new ArrayList<>(PARCELS);
+        for (int i = 0; i < PARCELS; i++) {
+            int number = i % distinct;
+            rows.add(new Object[] {orderId, CARRIERS[number % CARRIERS.length], trackingNumber(number),
+                Parcel.ValidationStatus.PENDING.name(), false, createdAt, createdAt});
+        }
+        batchInserter.insert(Parcel.class,
+            List.of("order", "carrier", "trackingNumber", "validationStatus", "isMatched", "createdAt", "updatedAt"), rows);
+    }
+
+    private static String trackingNumber(int number) {
+        return String.format("%012d", 600_000_000_000L + number);
+    }
+
+    private static void startCarrierServer() throws IOException {
+        if (carrierServer != null) {
+            return;
+        }
+        carrierServerExecutor = Executors.newFixedThreadPool(64);
+        carrierServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        carrierServer.setExecutor(carrierServerExecutor);
+        carrierServer.createContext("/cj", exchange -> respond(exchange, "application/json",
+            "{\"result\":\"Y\",\"trackingDetails\":[{\"stat\":\"" + stubStatus(exchange) + "\",\"location\":\"옥천HUB\","
+                + "\"timeString\":\"2026-10-17 09:00:00\",\"remark\":\"\"}]}"));
+        carrierServer.createContext("/lotte", exchange -> respond(exchange, "application/json",
+            "{\"result\":\"success\",\"data\":{\"lastStatus\":\"" + stubStatus(exchange) + "\",\"lastLocation\":\"대전터미널\","
+                + "\"lastTime\":\"2026-10-17 09:00:00\"}}"));
+        carrierServer.createContext("/hanjin", exchange -> respond(exchange, "text/html; charset=UTF-8",
+            "<html><body><td>배송중</td></body></html>"));
+        carrierServer.start();
+    }
+
+    /**
+     * 송장번호 끝자리가 0 이면 배달완료, 나머지는 배송중
+     */
+    private static String stubStatus(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getQuery();
+        return query != null && query.split("&")[0].endsWith("0") ? "배달완료" : "배송중";
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        try {
+            Thread.sleep(LATENCY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.getRequestBody().readAllBytes();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private Order createOrder() {
+        User user = new User();
+        user.setEmail("bench-tracking@ysc.test");
+        user.setPassword("benchmark");
+        user.setName("Benchmark");
+        user.setUserType(User.UserType.CORPORATE);
+        user.setStatus(User.UserStatus.ACTIVE);
+        user.setMemberCode("BT001");
+        user.setEmailVerified(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        user = userRepository.save(user);
+
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setUserId(user.getId());
+        request.setShippingType("SEA");
+        request.setCountry("TH");
+        request.setRecipientName("Recipient");
+        request.setRecipientAddress("Bangkok");
+
+        CreateOrderRequest.OrderItemRequest item = new CreateOrderRequest.OrderItemRequest();
+        item.setDescription("Item");
+        item.setQuantity(1);
+        item.setWeight(new BigDecimal("0.5"));
+        item.setUnitPrice(new BigDecimal("120"));
+        request.setOrderItems(List.of(item));
+
+        CreateOrderRequest.OrderBoxRequest box = new CreateOrderRequest.OrderBoxRequest();
+        box.setWidthCm(new BigDecimal("40"));
+        box.setHeightCm(new BigDecimal("30"));
+        box.setDepthCm(new BigDecimal("20"));
+        box.setWeightKg(new BigDecimal("3"));
+        request.setOrderBoxes(List.of(box));
+
+        return orderService.createOrder(request);
+    }
+}
@@ -0,0 +1,182 @@
+package com.ysc.lms.tracking;
+
+import com.ysc.lms.entity.Parcel.ValidationStatus;
+import com.ysc.lms.repository.ParcelRepository;
+import com.ysc.lms.service.CarrierApiService;
+import com.ysc.lms.service.CarrierApiService.TrackingResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 추적 갱신 1회 실행 결과 테스트 - 조회 시각은 고정, 택배사는 mock, parcels 반영은 행을 모으는 writer 로 대체합니다
+ * 택배사별 드레이너 1개, 요청 상한 없음으로 조회 순서를 고정합니다
+ */
+class TrackingRefreshEngineTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 17, 9, 0);
+
+    private final ParcelRepository parcelRepository = mock(ParcelRepository.class);
+    private final CarrierApiService carrierApiService = mock(CarrierApiService.class);
+    private final RecordingWriter writer = new RecordingWriter();
+    private final List<Object[]> dueRows = new ArrayList<>();
+    private final TrackingRefreshEngine engine = new TrackingRefreshEngine(parcelRepository, carrierApiService, writer,
+        new MockEnvironment(), false, 1000, 60, 2, 500, 15, 720, 0.25, 10, 2, 120, 1, 0);
+
+    /**
+     * 반영할 행을 parcel id 별로 모음 (마지막 값이 id)
+     */
+    static class RecordingWriter extends TrackingUpdateWriter {
+        final Map<Long, Object[]> results = new HashMap<>();
+        final Map<Long, LocalDateTime> reschedules = new HashMap<>();
+
+        RecordingWriter() {
+            super(null);
+        }
+
+        @Override
+        public synchronized void write(List<Object[]> resultRows, List<Object[]> rescheduleRows) {
+            resultRows.forEach(row -> results.put((Long) row[row.length - 1], row));
+            rescheduleRows.forEach(row -> reschedules.put((Long) row[1], (LocalDateTime) row[0]));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(parcelRepository.findTrackingDue(any(), any(), any(), any())).thenAnswer(invocation -> dueRows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    @DisplayName("다음 조회 시각 - 상태 유지 기간 × 0.25 를 15분~12시간으로 제한하고 10% 이내 지터")
+    void nextCheckAtBacksOffWithAge() {
+        assertWithin(engine.nextCheckAt(NOW.minusMinutes(10), NOW), 15);
+        assertWithin(engine.nextCheckAt(NOW.minusHours(8), NOW), 120);
+        assertWithin(engine.nextCheckAt(NOW.minusDays(10), NOW), 720);
+        // 상태 변경 시각이 조회 시각보다 늦어도 최소 간격
+        assertWithin(engine.nextCheckAt(NOW.plusMinutes(5), NOW), 15);
+    }
+
+    @Test
+    @DisplayName("같은 송장번호는 한 번만 조회해 모든 택배에 반영, 상태 변경 여부에 따라 간격 기준 시각 결정")
+    void resolvesSharedLookupsAndBacksOff() {
+        due(1L, "CJ", "1234567890", null, null, NOW.minusDays(1));
+        due(2L, "cj", " 1234567890 ", "배송중", NOW.minusHours(8), NOW.minusDays(1));
+        due(3L, "CJ", "1234567891", "배송중", NOW.minusHours(4), NOW.minusDays(1));
+        when(carrierApiService.lookupTrackingInfo("CJ", "1234567890"))
+            .thenReturn(TrackingResult.success("1234567890", "배송중", "옥천HUB", "09:00", List.of()));
+        when(carrierApiService.lookupTrackingInfo("CJ", "1234567891"))
+            .thenReturn(TrackingResult.success("1234567891", "배달완료", "서울", "08:50", List.of()));
+
+        TrackingRefreshSummary summary = engine.refresh(NOW);
+
+        assertEquals(3, summary.getParcels());
+        assertEquals(2, summary.getLookups());
+        assertEquals(3, summary.getResolved());
+        verify(carrierApiService, times(2)).lookupTrackingInfo(anyString(), anyString());
+
+        // 첫 조회 - 상태가 바뀌었으므로 지금부터 최소 간격
+        Object[] first = writer.results.get(1L);
+        assertEquals(ValidationStatus.VALID.name(), first[0]);
+        assertEquals("옥천HUB - 09:00", first[1]);
+        assertEquals(NOW, first[4]);
+        assertWithin((LocalDateTime) first[5], 15);
+        // 같은 상태 유지 - 기존 변경 시각(8시간 전) 기준 2시간 뒤
+        Object[] unchanged = writer.results.get(2L);
+        assertEquals(NOW.minusHours(8), unchanged[4]);
+        assertWithin((LocalDateTime) unchanged[5], 120);
+        // 배달완료 - 더 이상 조회하지 않음
+        Object[] delivered = writer.results.get(3L);
+        assertEquals(ValidationStatus.DELIVERED.name(), delivered[0]);
+        assertNull(delivered[5]);
+    }
+
+    @Test
+    @DisplayName("형식 오류는 조회 없이 무효, 조회 결과 없음은 첫 조회만 무효 나머지는 재조회 예약, 실패는 재시도 간격")
+    void classifiesInvalidNotFoundAndFailures() {
+        due(1L, "CJ", "12ab", null, null, NOW.minusDays(1));
+        due(2L, "LOTTE", "123456789012", null, null, NOW.minusDays(1));
+        due(3L, "LOTTE", "123456789013", "배송중", NOW.minusHours(8), NOW.minusDays(1));
+        due(4L, "HANJIN", "1234567890", "배송중", NOW.minusHours(8), NOW.minusDays(1));
+        when(carrierApiService.lookupTrackingInfo(eq("LOTTE"), anyString()))
+            .thenReturn(TrackingResult.notFound("조회 결과 없음"));
+        when(carrierApiService.lookupTrackingInfo(eq("HANJIN"), anyString()))
+            .thenThrow(new IllegalStateException("timeout"));
+
+        TrackingRefreshSummary summary = engine.refresh(NOW);
+
+        assertEquals(1, summary.getInvalid());
+        assertEquals(2, summary.getResolved());
+        assertEquals(1, summary.getFailed());
+        assertEquals(0, summary.getDeferred());
+        verify(carrierApiService, never()).lookupTrackingInfo(eq("CJ"), anyString());
+
+        assertEquals(ValidationStatus.INVALID.name(), writer.results.get(1L)[0]);
+        assertEquals(ValidationStatus.INVALID.name(), writer.results.get(2L)[0]);
+        assertEquals("조회 결과 없음", writer.results.get(2L)[1]);
+        assertWithin(writer.reschedules.get(3L), 120);
+        assertEquals(NOW.plusMinutes(10), writer.reschedules.get(4L));
+    }
+
+    @Test
+    @DisplayName("연속 실패로 차단되면 남은 송장은 택배사 호출 없이 차단 시간 뒤로 미룸, 다른 택배사는 영향 없음")
+    void defersRemainingLookupsWhileBreakerOpen() {
+        for (long id = 1; id <= 5; id++) {
+            due(id, "HANJIN", "12345678900" + id, "배송중", NOW.minusHours(8), NOW.minusDays(1));
+        }
+        due(6L, "CJ", "1234567890", "배송중", NOW.minusHours(8), NOW.minusDays(1));
+        when(carrierApiService.lookupTrackingInfo(eq("HANJIN"), anyString()))
+            .thenReturn(TrackingResult.error("503"));
+        when(carrierApiService.lookupTrackingInfo("CJ", "1234567890"))
+            .thenReturn(TrackingResult.success("1234567890", "배송중", "옥천HUB", "09:00", List.of()));
+
+        TrackingRefreshSummary summary = engine.refresh(NOW);
+
+        assertEquals(2, summary.getFailed());
+        assertEquals(3, summary.getDeferred());
+        assertEquals(1, summary.getResolved());
+        verify(carrierApiService, times(2)).lookupTrackingInfo(eq("HANJIN"), anyString());
+        assertEquals(NOW.plusMinutes(10), writer.reschedules.get(1L));
+        assertEquals(NOW.plusMinutes(10), writer.reschedules.get(2L));
+        for (long id = 3; id <= 5; id++) {
+            assertEquals(NOW.plusSeconds(120), writer.reschedules.get(id));
+        }
+
+        // 다음 실행에서도 차단 시간 안이면 조회하지 않음
+        TrackingRefreshSummary next = engine.refresh(NOW);
+        assertEquals(5, next.getDeferred());
+        verify(carrierApiService, times(2)).lookupTrackingInfo(eq("HANJIN"), anyString());
+    }
+
+    private void due(Long id, String carrier, String trackingNumber, String lastKnownStatus,
+                     LocalDateTime lastStatusChangedAt, LocalDateTime createdAt) {
+        dueRows.add(new Object[] {id, carrier, trackingNumber, lastKnownStatus, lastStatusChangedAt, createdAt});
+    }
+
+    /**
+     * 다음 조회 시각이 NOW + minutes ~ NOW + minutes * 1.1 안에 있는지
+     */
+    private static void assertWithin(LocalDateTime nextCheckAt, long minutes) {
+        assertNotNull(nextCheckAt);
+        assertFalse(nextCheckAt.isBefore(NOW.plusMinutes(minutes)), nextCheckAt.toString());
+        assertFalse(nextCheckAt.isAfter(NOW.plusMinutes(minutes + minutes / 10)), nextCheckAt.toString());
+    }
+}
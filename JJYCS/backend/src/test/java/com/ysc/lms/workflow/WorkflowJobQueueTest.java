@@ -0,0 +1,153 @@
+package com.ysc.lms.workflow;
+
+import com.ysc.lms.YscLmsApplication;
+import com.ysc.lms.entity.WorkflowJob;
+import com.ysc.lms.repository.WorkflowJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * workflow_jobs 큐 선점/임대/재시도 테스트 (H2)
+ * 테스트 프로필은 워커 폴링 주기를 늘려 두었으므로 큐 상태는 테스트만 변경합니다
+ */
+@SpringBootTest(classes = YscLmsApplication.class)
+@ActiveProfiles("test")
+class WorkflowJobQueueTest {
+
+    @Autowired
+    private WorkflowJobQueue jobQueue;
+
+    @Autowired
+    private WorkflowJobRepository jobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("실행 시각이 된 작업만 선점하고, 선점된 작업은 다른 워커가 다시 선점하지 못함")
+    void claimsDueJobsOnce() {
+        jobQueue.enqueue("instance-1", "start", null);
+        jobQueue.enqueue("instance-1", "review", LocalDateTime.now().minusMinutes(1));
+        jobQueue.enqueue("instance-1", "timer", LocalDateTime.now().plusHours(1));
+
+        List<WorkflowJob> claimed = jobQueue.claim("worker-a", 10);
+
+        assertEquals(2, claimed.size());
+        assertEquals("review", claimed.get(0).getNodeId());
+        for (WorkflowJob job : reload(claimed)) {
+            assertEquals(WorkflowJob.Status.RUNNING, job.getStatus());
+            assertEquals("worker-a", job.getClaimedBy());
+            assertNotNull(job.getClaimedAt());
+            assertEquals(1, job.getAttempts());
+        }
+        assertTrue(jobQueue.claim("worker-b", 10).isEmpty());
+        assertEquals(1, jobRepository.findAll().stream()
+            .filter(job -> job.getStatus() == WorkflowJob.Status.PENDING && "timer".equals(job.getNodeId()))
+            .count());
+    }
+
+    @Test
+    @DisplayName("선점 배치 크기 제한")
+    void claimRespectsLimit() {
+        for (int i = 0; i < 5; i++) {
+            jobQueue.enqueue("instance-2", "node-" + i, null);
+        }
+
+        assertEquals(2, jobQueue.claim("worker-a", 2).size());
+        assertEquals(3, jobQueue.claim("worker-b", 10).size());
+        assertTrue(jobQueue.claim("worker-c", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("실행 잠금은 선점한 워커만 획득")
+    void acquireRequiresOwnClaim() {
+        jobQueue.enqueue("instance-3", "start", null);
+        Long jobId = jobQueue.claim("worker-a", 1).get(0).getId();
+
+        assertFalse(transaction.execute(status -> jobQueue.acquire(jobId, "worker-b").isPresent()));
+        assertTrue(transaction.execute(status -> jobQueue.acquire(jobId, "worker-a").isPresent()));
+
+        transaction.executeWithoutResult(status -> jobQueue.complete(jobId));
+        assertTrue(jobRepository.findById(jobId).isEmpty());
+    }
+
+    @Test
+    @DisplayName("실패 시 시도 횟수에 비례한 지연 후 재시도, 최대 시도 후 FAILED")
+    void failReschedulesWithBackoffThenParks() {
+        jobQueue.enqueue("instance-4", "start", null);
+        Long jobId = jobQueue.claim("worker-a", 1).get(0).getId();
+
+        LocalDateTime before = LocalDateTime.now();
+        assertFalse(jobQueue.fail(jobId, "x".repeat(2000)));
+        WorkflowJob retried = jobRepository.findById(jobId).orElseThrow();
+        assertEquals(WorkflowJob.Status.PENDING, retried.getStatus());
+        assertNull(retried.getClaimedBy());
+        assertEquals(1000, retried.getLastError().length());
+        assertFalse(retried.getDueAt().isBefore(before.plusSeconds(30)));
+        assertTrue(jobQueue.claim("worker-a", 1).isEmpty());
+
+        // 재시도 소진 직전 상태로 만들고 다시 실패
+        retried.setDueAt(LocalDateTime.now().minusSeconds(1));
+        retried.setAttempts(4);
+        jobRepository.save(retried);
+        assertEquals(1, jobQueue.claim("worker-a", 1).size());
+        assertTrue(jobQueue.fail(jobId, "still failing"));
+        assertEquals(WorkflowJob.Status.FAILED, jobRepository.findById(jobId).orElseThrow().getStatus());
+        assertTrue(jobQueue.claim("worker-a", 1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("반납은 선점한 워커의 작업만 되돌리고 시도 횟수를 원복")
+    void releaseReturnsOwnClaimsOnly() {
+        jobQueue.enqueue("instance-5", "start", null);
+        Long jobId = jobQueue.claim("worker-a", 1).get(0).getId();
+
+        assertEquals(0, jobQueue.release(List.of(jobId), "worker-b"));
+        assertEquals(1, jobQueue.release(List.of(jobId), "worker-a"));
+        WorkflowJob released = jobRepository.findById(jobId).orElseThrow();
+        assertEquals(WorkflowJob.Status.PENDING, released.getStatus());
+        assertEquals(0, released.getAttempts());
+        assertNull(released.getClaimedBy());
+        assertEquals(0, jobQueue.release(List.of(), "worker-a"));
+    }
+
+    @Test
+    @DisplayName("임대 기간이 지난 선점은 대기 상태로 복구")
+    void releasesExpiredLeases() {
+        jobQueue.enqueue("instance-6", "start", null);
+        jobQueue.enqueue("instance-6", "next", null);
+        List<WorkflowJob> claimed = jobQueue.claim("worker-a", 2);
+        WorkflowJob expired = jobRepository.findById(claimed.get(0).getId()).orElseThrow();
+        expired.setClaimedAt(LocalDateTime.now().minusHours(1));
+        jobRepository.save(expired);
+
+        jobQueue.releaseExpiredClaims();
+
+        assertEquals(WorkflowJob.Status.PENDING, jobRepository.findById(expired.getId()).orElseThrow().getStatus());
+        assertEquals(WorkflowJob.Status.RUNNING, jobRepository.findById(claimed.get(1).getId()).orElseThrow().getStatus());
+        assertEquals(1, jobQueue.claim("worker-b", 10).size());
+    }
+
+    private List<WorkflowJob> reload(List<WorkflowJob> jobs) {
+        return jobRepository.findAllById(jobs.stream().map(WorkflowJob::getId).toList());
+    }
+}
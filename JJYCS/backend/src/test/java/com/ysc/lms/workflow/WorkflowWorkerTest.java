@@ -0,0 +1,123 @@
+package com.ysc.lms.workflow;
+
+import com.ysc.lms.entity.WorkflowJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * WorkflowWorker 선점/실행/반납 테스트
+ * 작업 큐와 엔진은 mock, 실행 풀은 크기를 조절할 수 있는 실제 ThreadPoolExecutor 를 사용합니다
+ */
+class WorkflowWorkerTest {
+
+    private final WorkflowEngine engine = mock(WorkflowEngine.class);
+    private final WorkflowJobQueue queue = mock(WorkflowJobQueue.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ThreadPoolExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("풀이 받을 수 있는 만큼만 선점하고 모두 실행")
+    void claimsUpToCapacity() throws InterruptedException {
+        executor = executor(2, 2);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(engine).runJob(any(), anyString());
+        when(queue.claim(anyString(), anyInt())).thenReturn(jobs(1, 3), jobs(4, 4), List.of());
+
+        WorkflowWorker worker = new WorkflowWorker(engine, queue, executor, 4, 3);
+        worker.poll();
+
+        verify(queue).claim(anyString(), eq(3));
+        verify(queue).claim(anyString(), eq(1));
+        verify(queue, times(2)).claim(anyString(), anyInt());
+        assertEquals(4, worker.inFlight());
+
+        // 여유가 없으면 선점하지 않음
+        worker.poll();
+        verify(queue, times(2)).claim(anyString(), anyInt());
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, worker.inFlight());
+        verify(queue, never()).release(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("풀이 거부한 작업과 같은 배치의 나머지는 즉시 반납하고 inFlight 를 되돌림")
+    void releasesRejectedJobs() {
+        // 실제 풀 용량(스레드 1 + 대기 1)보다 큰 capacity 로 거부 상황을 만든다
+        executor = executor(1, 1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(engine).runJob(any(), anyString());
+        when(queue.claim(anyString(), anyInt())).thenReturn(jobs(1, 4));
+        when(queue.release(any(), anyString())).thenReturn(2);
+
+        WorkflowWorker worker = new WorkflowWorker(engine, queue, executor, 4, 4);
+        worker.poll();
+
+        verify(queue).release(eq(List.of(3L, 4L)), anyString());
+        verify(queue, times(1)).claim(anyString(), anyInt());
+        assertEquals(2, worker.inFlight());
+    }
+
+    @Test
+    @DisplayName("실행 실패 시 작업 실패 기록, 재시도 소진이면 인스턴스 실패 처리")
+    void recordsFailures() throws InterruptedException {
+        executor = executor(1, 4);
+        doThrow(new IllegalStateException("boom")).when(engine).runJob(any(), anyString());
+        when(queue.claim(anyString(), anyInt())).thenReturn(jobs(1, 2), List.of());
+        when(queue.fail(1L, "boom")).thenReturn(false);
+        when(queue.fail(2L, "boom")).thenReturn(true);
+
+        WorkflowWorker worker = new WorkflowWorker(engine, queue, executor, 5, 5);
+        worker.poll();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        verify(queue).fail(1L, "boom");
+        verify(queue).fail(2L, "boom");
+        verify(engine, never()).failInstance(eq("instance-1"), anyString());
+        verify(engine).failInstance("instance-2", "boom");
+        assertEquals(0, worker.inFlight());
+    }
+
+    private static ThreadPoolExecutor executor(int poolSize, int queueCapacity) {
+        return new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static List<WorkflowJob> jobs(long fromId, long toId) {
+        List<WorkflowJob> jobs = new ArrayList<>();
+        for (long id = fromId; id <= toId; id++) {
+            WorkflowJob job = new WorkflowJob("instance-" + id, "node", null);
+            job.setId(id);
+            job.setStatus(WorkflowJob.Status.RUNNING);
+            job.setAttempts(1);
+            jobs.add(job);
+        }
+        return jobs;
+    }
+}